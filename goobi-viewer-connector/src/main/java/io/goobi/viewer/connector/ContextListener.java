@@ -49,6 +49,7 @@ public class ContextListener implements ServletContextListener {
     /** {@inheritDoc} */
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
+        DataManager.getInstance().shutdownSourceDocumentLoader();
         try {
             DataManager.getInstance().closeSearchIndex();
         } catch (IOException e) {
@@ -19,6 +19,7 @@ import java.io.IOException;
 
 import io.goobi.viewer.connector.utils.Configuration;
 import io.goobi.viewer.connector.utils.SolrSearchIndex;
+import io.goobi.viewer.connector.utils.SourceDocumentLoader;
 import io.goobi.viewer.model.translations.language.LanguageHelper;
 
 /**
@@ -37,6 +38,8 @@ public final class DataManager {
 
     private SolrSearchIndex searchIndex;
 
+    private volatile SourceDocumentLoader sourceDocumentLoader;
+
     private LanguageHelper languageHelper = io.goobi.viewer.controller.DataManager.getInstance().getLanguageHelper();
 
     /**
@@ -106,6 +109,36 @@ public final class DataManager {
         }
     }
 
+    /**
+     * <p>
+     * Getter for the field <code>sourceDocumentLoader</code>.
+     * </p>
+     *
+     * @return the sourceDocumentLoader
+     */
+    public SourceDocumentLoader getSourceDocumentLoader() {
+        SourceDocumentLoader loader = sourceDocumentLoader;
+        if (loader == null) {
+            synchronized (LOCK) {
+                loader = sourceDocumentLoader;
+                if (loader == null) {
+                    loader = new SourceDocumentLoader(getConfiguration().getSourceDocumentThreads(), getConfiguration().getSourceDocumentCacheSize(),
+                            getConfiguration().isSourceDocumentReadLocalFiles());
+                    sourceDocumentLoader = loader;
+                }
+            }
+        }
+
+        return loader;
+    }
+
+    public void shutdownSourceDocumentLoader() {
+        if (sourceDocumentLoader != null) {
+            sourceDocumentLoader.shutdown();
+            sourceDocumentLoader = null;
+        }
+    }
+
     /**
      * <p>
      * Getter for the field <code>languageHelper</code>.
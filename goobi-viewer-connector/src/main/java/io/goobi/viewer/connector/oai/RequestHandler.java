@@ -24,8 +24,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
-import com.thoughtworks.xstream.annotations.XStreamAlias;
-
 import io.goobi.viewer.connector.oai.enums.Metadata;
 import io.goobi.viewer.connector.oai.enums.Verb;
 import io.goobi.viewer.connector.utils.Utils;
@@ -40,18 +38,16 @@ public class RequestHandler {
 
     private static final Logger logger = LogManager.getLogger(RequestHandler.class);
 
-    @XStreamAlias("verb")
     private Verb verb = null;
-    @XStreamAlias("metadataPrefix")
     private Metadata metadataPrefix = null;
-    @XStreamAlias("identifier")
     private String identifier = null;
-    @XStreamAlias("from")
     private String from = null;
-    @XStreamAlias("until")
     private String until = null;
-    @XStreamAlias("set")
     private String set = null;
+    /** Solr cursor mark to continue from; only set when resuming a list request */
+    private String cursorMark = null;
+    /** Solr cursor mark following the current batch, to be encoded in the next resumption token */
+    private String nextCursorMark = null;
 
     /**
      * Handles the request in servlet.
@@ -81,7 +77,7 @@ public class RequestHandler {
     }
 
     /**
-     * Empty constructor for XStream.
+     * Empty constructor.
      */
     public RequestHandler() {
     }
@@ -280,4 +276,32 @@ public class RequestHandler {
     public void setSet(String set) {
         this.set = set;
     }
+
+    /**
+     * @return the cursorMark
+     */
+    public String getCursorMark() {
+        return cursorMark;
+    }
+
+    /**
+     * @param cursorMark the cursorMark to set
+     */
+    public void setCursorMark(String cursorMark) {
+        this.cursorMark = cursorMark;
+    }
+
+    /**
+     * @return the nextCursorMark
+     */
+    public String getNextCursorMark() {
+        return nextCursorMark;
+    }
+
+    /**
+     * @param nextCursorMark the nextCursorMark to set
+     */
+    public void setNextCursorMark(String nextCursorMark) {
+        this.nextCursorMark = nextCursorMark;
+    }
 }
@@ -15,65 +15,180 @@
  */
 package io.goobi.viewer.connector.oai.model;
 
-import java.util.regex.Pattern;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 
-import com.thoughtworks.xstream.annotations.XStreamAlias;
-import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.json.JSONException;
+import org.json.JSONObject;
 
 import io.goobi.viewer.connector.oai.RequestHandler;
+import io.goobi.viewer.connector.oai.enums.Metadata;
+import io.goobi.viewer.connector.oai.enums.Verb;
 
 /**
- * <p>ResumptionToken class.</p>
- *
+ * <p>
+ * Stateless OAI-PMH resumption token. All information needed to continue a list request (original request parameters, cursors and the Solr
+ * cursor mark) is encoded in the token value itself and signed with an HMAC, so that no server-side state needs to be kept and any node sharing
+ * the same secret can continue a harvest.
+ * </p>
+ * <p>
+ * Token format: <code>base64url(JSON payload) + "." + base64url(HMAC-SHA256 of the payload)</code>
+ * </p>
  */
-@XStreamAlias("ResumptionToken")
 public class ResumptionToken {
 
-    /** Constant <code>TOKEN_NAME_PREFIX="oai_"</code> */
-    public static final String TOKEN_NAME_PREFIX = "oai_";
-    
-    /** Constant <code>TOKEN_NAME_PATTERN</code> */
-    public static final Pattern TOKEN_NAME_PATTERN = Pattern.compile("^" + TOKEN_NAME_PREFIX + "\\d{13}$");
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final char SEPARATOR = '.';
+
+    private static final String KEY_HITS = "h";
+    private static final String KEY_RAW_HITS = "rh";
+    private static final String KEY_CURSOR = "c";
+    private static final String KEY_RAW_CURSOR = "rc";
+    private static final String KEY_CURSOR_MARK = "cm";
+    private static final String KEY_EXPIRATION_DATE = "exp";
+    private static final String KEY_VERB = "verb";
+    private static final String KEY_METADATA_PREFIX = "metadataPrefix";
+    private static final String KEY_FROM = "from";
+    private static final String KEY_UNTIL = "until";
+    private static final String KEY_SET = "set";
 
-    @XStreamAsAttribute
-    @XStreamAlias("tokenName")
-    private String tokenName;
     /** Total (virtual) hit number as communicated the client. */
-    @XStreamAlias("hits")
     private long hits;
     /** Total actual record number in the index. */
-    @XStreamAlias("rawHits")
     private long rawHits;
-    @XStreamAlias("cursor")
     private int virtualCursor;
-    @XStreamAlias("rawCursor")
     private int rawCursor;
-    @XStreamAlias("expirationDate")
+    /** Solr cursor mark of the next batch; null if the list is paged via row offset. */
+    private String cursorMark;
     private long expirationDate;
-    @XStreamAlias("handler")
     private RequestHandler handler;
 
     /**
-     * Creates a unique resumption token when number of hits is greater than list size.
+     * Creates a resumption token when number of hits is greater than list size.
      *
-     * @param tokenName a {@link java.lang.String} object.
      * @param hits a long.
      * @param rawHits a long.
      * @param virtualCursor a int.
      * @param rawCursor a int.
+     * @param cursorMark Solr cursor mark of the next batch
      * @param expirationDate a long.
      * @param handler a {@link io.goobi.viewer.connector.oai.RequestHandler} object.
      */
-    public ResumptionToken(String tokenName, long hits, long rawHits, int virtualCursor, int rawCursor, long expirationDate, RequestHandler handler) {
-        this.tokenName = tokenName;
+    public ResumptionToken(long hits, long rawHits, int virtualCursor, int rawCursor, String cursorMark, long expirationDate,
+            RequestHandler handler) {
         this.hits = hits;
         this.rawHits = rawHits;
         this.virtualCursor = virtualCursor;
         this.rawCursor = rawCursor;
+        this.cursorMark = cursorMark;
         this.expirationDate = expirationDate;
         this.handler = handler;
     }
 
+    /**
+     * Serializes and signs this token.
+     *
+     * @param secret Secret used for signing
+     * @return Token value to pass to the client
+     * @should encode and decode token correctly
+     */
+    public String encode(String secret) {
+        JSONObject json = new JSONObject();
+        json.put(KEY_HITS, hits);
+        json.put(KEY_RAW_HITS, rawHits);
+        json.put(KEY_CURSOR, virtualCursor);
+        json.put(KEY_RAW_CURSOR, rawCursor);
+        json.put(KEY_EXPIRATION_DATE, expirationDate);
+        if (cursorMark != null) {
+            json.put(KEY_CURSOR_MARK, cursorMark);
+        }
+        if (handler != null) {
+            if (handler.getVerb() != null) {
+                json.put(KEY_VERB, handler.getVerb().getTitle());
+            }
+            if (handler.getMetadataPrefix() != null) {
+                json.put(KEY_METADATA_PREFIX, handler.getMetadataPrefix().getMetadataPrefix());
+            }
+            json.put(KEY_FROM, handler.getFrom());
+            json.put(KEY_UNTIL, handler.getUntil());
+            json.put(KEY_SET, handler.getSet());
+        }
+
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(json.toString().getBytes(StandardCharsets.UTF_8));
+        return payload + SEPARATOR + Base64.getUrlEncoder().withoutPadding().encodeToString(sign(payload, secret));
+    }
+
+    /**
+     * Verifies the signature of the given token value and restores the token.
+     *
+     * @param token Token value as sent by the client
+     * @param secret Secret used for signing
+     * @return Decoded {@link ResumptionToken}
+     * @throws IllegalArgumentException if the token is malformed, its signature is invalid or it has expired
+     * @should throw IllegalArgumentException if signature invalid
+     * @should throw IllegalArgumentException if token malformed
+     * @should throw IllegalArgumentException if token expired
+     */
+    public static ResumptionToken decode(String token, String secret) {
+        if (token == null) {
+            throw new IllegalArgumentException("token may not be null");
+        }
+        int separatorIndex = token.indexOf(SEPARATOR);
+        if (separatorIndex <= 0 || separatorIndex == token.length() - 1) {
+            throw new IllegalArgumentException("Malformed resumption token");
+        }
+        String payload = token.substring(0, separatorIndex);
+        byte[] signature;
+        try {
+            signature = Base64.getUrlDecoder().decode(token.substring(separatorIndex + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed resumption token signature");
+        }
+        if (!MessageDigest.isEqual(sign(payload, secret), signature)) {
+            throw new IllegalArgumentException("Invalid resumption token signature");
+        }
+
+        try {
+            JSONObject json = new JSONObject(new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8));
+            RequestHandler handler = new RequestHandler();
+            handler.setVerb(Verb.getByTitle(json.optString(KEY_VERB, null)));
+            handler.setMetadataPrefix(Metadata.getByMetadataPrefix(json.optString(KEY_METADATA_PREFIX, null)));
+            handler.setFrom(json.optString(KEY_FROM, null));
+            handler.setUntil(json.optString(KEY_UNTIL, null));
+            handler.setSet(json.optString(KEY_SET, null));
+            ResumptionToken ret = new ResumptionToken(json.getLong(KEY_HITS), json.getLong(KEY_RAW_HITS), json.getInt(KEY_CURSOR),
+                    json.getInt(KEY_RAW_CURSOR), json.optString(KEY_CURSOR_MARK, null), json.getLong(KEY_EXPIRATION_DATE), handler);
+            if (ret.hasExpired()) {
+                throw new IllegalArgumentException("Resumption token has expired");
+            }
+            return ret;
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Malformed resumption token payload");
+        }
+    }
+
+    /**
+     *
+     * @param payload Encoded payload
+     * @param secret Secret used for signing
+     * @return HMAC of the payload
+     */
+    private static byte[] sign(String payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * <p>hasExpired.</p>
      *
@@ -174,21 +289,21 @@ public class ResumptionToken {
     }
 
     /**
-     * <p>Setter for the field <code>tokenName</code>.</p>
+     * <p>Getter for the field <code>cursorMark</code>.</p>
      *
-     * @param tokenName the tokenName to set
+     * @return the cursorMark
      */
-    public void setTokenName(String tokenName) {
-        this.tokenName = tokenName;
+    public String getCursorMark() {
+        return cursorMark;
     }
 
     /**
-     * <p>Getter for the field <code>tokenName</code>.</p>
+     * <p>Setter for the field <code>cursorMark</code>.</p>
      *
-     * @return the tokenName
+     * @param cursorMark the cursorMark to set
      */
-    public String getTokenName() {
-        return tokenName;
+    public void setCursorMark(String cursorMark) {
+        this.cursorMark = cursorMark;
     }
 
     /**
@@ -85,6 +85,7 @@ public class EpicurFormat extends Format {
         QueryResponse qr =
                 solr.getListRecords(Utils.filterDatestampFromRequest(handler), firstRawRow, useNumRows, true, additionalQuery, filterQuerySuffix,
                         fieldList, null);
+        handler.setNextCursorMark(qr.getNextCursorMark());
         SolrDocumentList records = qr.getResults();
         if (records.isEmpty()) {
             return new ErrorCode().getNoRecordsMatch();
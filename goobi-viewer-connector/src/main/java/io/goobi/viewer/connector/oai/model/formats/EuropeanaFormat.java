@@ -59,6 +59,7 @@ public class EuropeanaFormat extends OAIDCFormat {
         QueryResponse qr = solr.getListRecords(Utils.filterDatestampFromRequest(handler), firstRawRow, numRows, false,
                 SolrSearchTools.getAdditionalDocstructsQuerySuffix(DataManager.getInstance().getConfiguration().getAdditionalDocstructTypes()),
                 filterQuerySuffix, null, null);
+        handler.setNextCursorMark(qr.getNextCursorMark());
         if (qr.getResults().isEmpty()) {
             return new ErrorCode().getNoRecordsMatch();
         }
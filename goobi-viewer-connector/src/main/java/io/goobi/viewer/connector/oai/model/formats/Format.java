@@ -15,23 +15,12 @@
  */
 package io.goobi.viewer.connector.oai.model.formats;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -41,11 +30,6 @@ import org.apache.solr.common.SolrDocument;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
 
-import com.thoughtworks.xstream.XStream;
-import com.thoughtworks.xstream.converters.ConversionException;
-import com.thoughtworks.xstream.io.StreamException;
-import com.thoughtworks.xstream.io.xml.DomDriver;
-
 import io.goobi.viewer.connector.DataManager;
 import io.goobi.viewer.connector.oai.RequestHandler;
 import io.goobi.viewer.connector.oai.enums.Metadata;
@@ -90,6 +74,9 @@ public abstract class Format {
 
     protected static final String[] DATE_FIELDS = { SolrConstants.DATECREATED, SolrConstants.DATEUPDATED };
     protected static final String[] IDENTIFIER_FIELDS = { SolrConstants.PI, SolrConstants.PI_TOPSTRUCT };
+    /** Fields required by {@link io.goobi.viewer.connector.utils.SourceDocumentLoader} to locate source files. */
+    protected static final String[] SOURCE_DOCUMENT_FIELDS =
+            { SolrConstants.ACCESSCONDITION, SolrConstants.DATAREPOSITORY, SolrConstants.SOURCEDOCFORMAT };
 
     /** Constant <code>expiration=259200000L</code> */
     protected static long expiration = 259200000L; // 3 days
@@ -97,7 +84,6 @@ public abstract class Format {
     protected SolrSearchIndex solr = DataManager.getInstance().getSearchIndex();
 
     private static final String TAG_DESCRIPTION = "description";
-    private static final String XSTREAM_ALLOWED_TYPES_WILDCARD = "io.goobi.viewer.**";
 
 
     /**
@@ -326,6 +312,7 @@ public abstract class Format {
                     .getSearchIndex()
                     .getListIdentifiers(datestamp, firstRawRow, numRows, " AND " + versionDiscriminatorField + ":*", null,
                             Collections.singletonList(versionDiscriminatorField), filterQuerySuffix);
+            handler.setNextCursorMark(qr.getNextCursorMark());
             if (qr.getResults().isEmpty()) {
                 return new ErrorCode().getNoRecordsMatch();
             }
@@ -350,6 +337,7 @@ public abstract class Format {
         } else {
             // One OAI record for each record proper
             qr = DataManager.getInstance().getSearchIndex().getListIdentifiers(datestamp, firstRawRow, numRows, null, null, null, filterQuerySuffix);
+            handler.setNextCursorMark(qr.getNextCursorMark());
             if (qr.getResults().isEmpty()) {
                 return new ErrorCode().getNoRecordsMatch();
             }
@@ -499,37 +487,16 @@ public abstract class Format {
             RequestHandler handler) {
         long now = System.currentTimeMillis();
         long time = now + expiration;
-        ResumptionToken token = new ResumptionToken(ResumptionToken.TOKEN_NAME_PREFIX + System.currentTimeMillis(), virtualHits, rawHits,
-                virtualCursor, rawCursor, time, handler);
-        try {
-            saveToken(token);
+        ResumptionToken token =
+                new ResumptionToken(virtualHits, rawHits, virtualCursor, rawCursor, handler.getNextCursorMark(), time, handler);
 
-            Element eleResumptionToken = new Element("resumptionToken", OAI_NS);
-            eleResumptionToken.setAttribute("expirationDate", Utils.convertDate(time));
-            eleResumptionToken.setAttribute("completeListSize", String.valueOf(virtualHits));
-            eleResumptionToken.setAttribute("cursor", String.valueOf(outputCursor));
-            eleResumptionToken.setText(token.getTokenName());
-
-            return eleResumptionToken;
-        } catch (IOException e) {
-            logger.error(e.getMessage());
-            return null;
-        }
-    }
+        Element eleResumptionToken = new Element("resumptionToken", OAI_NS);
+        eleResumptionToken.setAttribute("expirationDate", Utils.convertDate(time));
+        eleResumptionToken.setAttribute("completeListSize", String.valueOf(virtualHits));
+        eleResumptionToken.setAttribute("cursor", String.valueOf(outputCursor));
+        eleResumptionToken.setText(token.encode(DataManager.getInstance().getConfiguration().getResumptionTokenSecret()));
 
-    /**
-     * 
-     * @param token
-     * @throws IOException
-     */
-    private static void saveToken(ResumptionToken token) throws IOException {
-        File f = new File(DataManager.getInstance().getConfiguration().getResumptionTokenFolder(), token.getTokenName());
-        XStream xStream = new XStream(new DomDriver());
-        xStream.allowTypesByWildcard(new String[] { XSTREAM_ALLOWED_TYPES_WILDCARD });
-        try (BufferedWriter outfile = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8))) {
-            xStream.toXML(token, outfile);
-            outfile.flush();
-        }
+        return eleResumptionToken;
     }
 
     /**
@@ -539,6 +506,7 @@ public abstract class Format {
      * @param filterQuerySuffix Filter query suffix for the client's session
      * @return a {@link org.jdom2.Element} object.
      * @should return error if resumption token name illegal
+     * @should return error if resumption token signature invalid
      */
     public static Element handleToken(String resumptionToken, String filterQuerySuffix) {
         if (resumptionToken == null) {
@@ -546,19 +514,21 @@ public abstract class Format {
         }
 
         logger.debug("Loading resumption token {}", resumptionToken.replaceAll("[\n\r\t]", "_"));
-        Matcher m = ResumptionToken.TOKEN_NAME_PATTERN.matcher(resumptionToken);
-        if (!m.find()) {
-            logger.warn("Illegal resumption token name: {}", resumptionToken);
+        ResumptionToken token;
+        try {
+            token = ResumptionToken.decode(resumptionToken, DataManager.getInstance().getConfiguration().getResumptionTokenSecret());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Illegal resumption token: {}", e.getMessage());
             return new ErrorCode().getBadResumptionToken();
         }
-        File f = new File(DataManager.getInstance().getConfiguration().getResumptionTokenFolder(), resumptionToken);
-        if (!f.exists()) {
-            logger.warn("Requested resumption token not found: {}", f.getName());
+        if (token.getHandler().getVerb() == null || token.getHandler().getMetadataPrefix() == null) {
+            logger.warn("Resumption token contains no verb or metadataPrefix.");
             return new ErrorCode().getBadResumptionToken();
         }
+        // Continue from the Solr cursor of the previous batch
+        token.getHandler().setCursorMark(token.getCursorMark());
 
         try {
-            ResumptionToken token = deserializeResumptionToken(f);
             Map<String, String> params = Utils.filterDatestampFromRequest(token.getHandler());
 
             long totalHits = 0;
@@ -588,10 +558,6 @@ public abstract class Format {
                 return format.createListRecords(token.getHandler(), token.getVirtualCursor(), token.getRawCursor(), hitsPerToken,
                         versionDiscriminatorField, filterQuerySuffix);
             }
-        } catch (StreamException | ConversionException e) {
-            // File cannot be de-serialized, so just delete it
-            logger.warn("Token '{}' could not be read, deleting...", f.getName());
-            FileUtils.deleteQuietly(f);
         } catch (IOException | SolrServerException e) {
             logger.error(e.getMessage());
         }
@@ -599,62 +565,6 @@ public abstract class Format {
         return new ErrorCode().getBadResumptionToken();
     }
 
-    /**
-     * 
-     * @param tokenFile
-     * @return {@link ResumptionToken}
-     * @throws FileNotFoundException
-     * @throws IOException
-     * @should deserialize token correctly
-     */
-    static ResumptionToken deserializeResumptionToken(File tokenFile) throws IOException {
-        try (FileInputStream fis = new FileInputStream(tokenFile); InputStreamReader isr = new InputStreamReader(fis);
-                BufferedReader infile = new BufferedReader(isr);) {
-            XStream xStream = new XStream(new DomDriver());
-            xStream.allowTypesByWildcard(new String[] { XSTREAM_ALLOWED_TYPES_WILDCARD });
-            xStream.processAnnotations(ResumptionToken.class);
-            return (ResumptionToken) xStream.fromXML(infile);
-        }
-    }
-
-    /**
-     * <p>
-     * removeExpiredTokens.
-     * </p>
-     */
-    public static void removeExpiredTokens() {
-        File tokenFolder = new File(DataManager.getInstance().getConfiguration().getResumptionTokenFolder());
-        if (tokenFolder.isDirectory()) {
-            int count = 0;
-            XStream xStream = new XStream(new DomDriver());
-            xStream.allowTypesByWildcard(new String[] { XSTREAM_ALLOWED_TYPES_WILDCARD });
-            for (File tokenFile : tokenFolder.listFiles()) {
-                if (tokenFile.isDirectory()) {
-                    continue;
-                }
-                try {
-                    ResumptionToken token = deserializeResumptionToken(tokenFile);
-                    if (token.hasExpired() && FileUtils.deleteQuietly(tokenFile)) {
-                        count++;
-                    }
-                } catch (StreamException | ConversionException e) {
-                    // File cannot be de-serialized, so just delete it
-                    logger.warn("Token '{}' could not be read, deleting...", tokenFile.getName());
-                    if (FileUtils.deleteQuietly(tokenFile)) {
-                        count++;
-                    }
-                } catch (FileNotFoundException e) {
-                    logger.error(e.getMessage());
-                } catch (IOException e) {
-                    logger.error(e.getMessage(), e);
-                }
-            }
-            if (count > 0) {
-                logger.info("{} expired resumption token(s) removed.", count);
-            }
-        }
-    }
-
     /**
      * Returns an instance of a format matching the given metadata prefix.
      *
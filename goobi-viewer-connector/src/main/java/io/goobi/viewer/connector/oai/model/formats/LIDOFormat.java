@@ -40,7 +40,6 @@ import io.goobi.viewer.connector.oai.RequestHandler;
 import io.goobi.viewer.connector.oai.enums.Metadata;
 import io.goobi.viewer.connector.oai.model.ErrorCode;
 import io.goobi.viewer.connector.utils.Utils;
-import io.goobi.viewer.controller.NetTools;
 import io.goobi.viewer.controller.XmlTools;
 import io.goobi.viewer.exceptions.HTTPException;
 import io.goobi.viewer.solr.SolrConstants;
@@ -67,9 +66,11 @@ public class LIDOFormat extends Format {
         List<String> fieldList = new ArrayList<>(Arrays.asList(IDENTIFIER_FIELDS));
         fieldList.addAll(Arrays.asList(DATE_FIELDS));
         fieldList.addAll(setSpecFields);
+        fieldList.addAll(Arrays.asList(SOURCE_DOCUMENT_FIELDS));
         QueryResponse qr =
                 solr.getListRecords(Utils.filterDatestampFromRequest(handler), firstRawRow, numRows, false, LIDO_FILTER_QUERY, filterQuerySuffix,
                         fieldList, null);
+        handler.setNextCursorMark(qr.getNextCursorMark());
         if (qr.getResults().isEmpty()) {
             return new ErrorCode().getNoRecordsMatch();
         }
@@ -87,6 +88,7 @@ public class LIDOFormat extends Format {
         List<String> fieldList = new ArrayList<>(Arrays.asList(IDENTIFIER_FIELDS));
         fieldList.addAll(Arrays.asList(DATE_FIELDS));
         fieldList.addAll(setSpecFields);
+        fieldList.addAll(Arrays.asList(SOURCE_DOCUMENT_FIELDS));
         try {
             SolrDocument doc = solr.getListRecord(handler.getIdentifier(), fieldList, filterQuerySuffix);
             if (doc == null) {
@@ -128,27 +130,22 @@ public class LIDOFormat extends Format {
                 xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
                 continue;
             }
-            String url = new StringBuilder(DataManager.getInstance().getConfiguration().getDocumentResolverUrl()).append(pi).toString();
-            String xml = null;
-            try {
-                xml = NetTools.getWebContentGET(url);
-            } catch (HTTPException | IOException e) {
-                logger.error("Could not retriee LIDO: {}", url);
-                xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
-                continue;
-            }
-
-            if (StringUtils.isEmpty(xml)) {
-                xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
-                continue;
-            }
-
-            Element eleRecord = generateLidoRecord(xml, doc, handler, setSpecFields, filterQuerySuffix);
-            if (eleRecord != null) {
-                xmlListRecords.addContent(eleRecord);
-            } else {
-                xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
-            }
+            // Retrieve source documents in parallel; the records are resolved in order while the response is written
+            final String recordPi = pi;
+            xmlListRecords.addContent(new PendingRecordElement(DataManager.getInstance().getSourceDocumentLoader().submit(() -> {
+                String xml = null;
+                try {
+                    xml = DataManager.getInstance().getSourceDocumentLoader().loadSourceDocument(recordPi, doc);
+                } catch (HTTPException | IOException e) {
+                    logger.error("Could not retrieve LIDO: {}", recordPi);
+                    return null;
+                }
+                if (StringUtils.isEmpty(xml)) {
+                    logger.error("LIDO document is empty: {}", recordPi);
+                    return null;
+                }
+                return generateLidoRecord(xml, doc, handler, setSpecFields, filterQuerySuffix);
+            })));
         }
 
         // Create resumption token
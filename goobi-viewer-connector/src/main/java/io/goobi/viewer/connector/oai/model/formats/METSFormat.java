@@ -40,7 +40,6 @@ import io.goobi.viewer.connector.oai.enums.Metadata;
 import io.goobi.viewer.connector.oai.model.ErrorCode;
 import io.goobi.viewer.connector.utils.Utils;
 import io.goobi.viewer.connector.utils.XmlConstants;
-import io.goobi.viewer.controller.NetTools;
 import io.goobi.viewer.controller.XmlTools;
 import io.goobi.viewer.exceptions.HTTPException;
 import io.goobi.viewer.solr.SolrConstants;
@@ -83,6 +82,7 @@ public class METSFormat extends Format {
         qr = DataManager.getInstance()
                 .getSearchIndex()
                 .getListIdentifiers(datestamp, firstRawRow, numRows, METS_FILTER_QUERY, fieldList, null, filterQuerySuffix);
+        handler.setNextCursorMark(qr.getNextCursorMark());
         if (qr.getResults().isEmpty()) {
             return new ErrorCode().getNoRecordsMatch();
         }
@@ -111,9 +111,11 @@ public class METSFormat extends Format {
         List<String> fieldList = new ArrayList<>(Arrays.asList(IDENTIFIER_FIELDS));
         fieldList.addAll(Arrays.asList(DATE_FIELDS));
         fieldList.addAll(setSpecFields);
+        fieldList.addAll(Arrays.asList(SOURCE_DOCUMENT_FIELDS));
         QueryResponse qr =
                 solr.getListRecords(Utils.filterDatestampFromRequest(handler), firstRawRow, numRows, false, METS_FILTER_QUERY, filterQuerySuffix,
                         fieldList, null);
+        handler.setNextCursorMark(qr.getNextCursorMark());
         if (qr.getResults().isEmpty()) {
             return new ErrorCode().getNoRecordsMatch();
         }
@@ -132,6 +134,7 @@ public class METSFormat extends Format {
         List<String> fieldList = new ArrayList<>(Arrays.asList(IDENTIFIER_FIELDS));
         fieldList.addAll(Arrays.asList(DATE_FIELDS));
         fieldList.addAll(setSpecFields);
+        fieldList.addAll(Arrays.asList(SOURCE_DOCUMENT_FIELDS));
         try {
             SolrDocument doc = solr.getListRecord(handler.getIdentifier(), fieldList, filterQuerySuffix);
             if (doc == null) {
@@ -174,28 +177,22 @@ public class METSFormat extends Format {
                 xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
                 continue;
             }
-            String url = new StringBuilder(DataManager.getInstance().getConfiguration().getDocumentResolverUrl()).append(pi).toString();
-            String xml = null;
-            try {
-                xml = NetTools.getWebContentGET(url);
-            } catch (HTTPException | IOException e) {
-                logger.error("Could not retrieve METS: {}", url);
-                xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
-                continue;
-            }
-
-            if (StringUtils.isEmpty(xml)) {
-                logger.error("METS document is empty: {}", url);
-                xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
-                continue;
-            }
-
-            Element eleRecord = generateMetsRecord(xml, doc, handler, setSpecFields, filterQuerySuffix);
-            if (eleRecord != null) {
-                xmlListRecords.addContent(eleRecord);
-            } else {
-                xmlListRecords.addContent(new ErrorCode().getIdDoesNotExist());
-            }
+            // Retrieve source documents in parallel; the records are resolved in order while the response is written
+            final String recordPi = pi;
+            xmlListRecords.addContent(new PendingRecordElement(DataManager.getInstance().getSourceDocumentLoader().submit(() -> {
+                String xml = null;
+                try {
+                    xml = DataManager.getInstance().getSourceDocumentLoader().loadSourceDocument(recordPi, doc);
+                } catch (HTTPException | IOException e) {
+                    logger.error("Could not retrieve METS: {}", recordPi);
+                    return null;
+                }
+                if (StringUtils.isEmpty(xml)) {
+                    logger.error("METS document is empty: {}", recordPi);
+                    return null;
+                }
+                return generateMetsRecord(xml, doc, handler, setSpecFields, filterQuerySuffix);
+            })));
         }
 
         // Create resumption token
@@ -87,6 +87,7 @@ public class OAIDCFormat extends Format {
                     SolrSearchTools.getAdditionalDocstructsQuerySuffix(DataManager.getInstance().getConfiguration().getAdditionalDocstructTypes())
                             + " AND " + versionDiscriminatorField + ":*",
                     filterQuerySuffix, null, Collections.singletonList(versionDiscriminatorField));
+            handler.setNextCursorMark(qr.getNextCursorMark());
             totalVirtualHits = SolrSearchTools.getFieldCount(qr, versionDiscriminatorField);
             totalRawHits = qr.getResults().getNumFound();
         } else {
@@ -94,6 +95,7 @@ public class OAIDCFormat extends Format {
             qr = solr.getListRecords(Utils.filterDatestampFromRequest(handler), firstRawRow, numRows, false,
                     SolrSearchTools.getAdditionalDocstructsQuerySuffix(DataManager.getInstance().getConfiguration().getAdditionalDocstructTypes()),
                     filterQuerySuffix, null, null);
+            handler.setNextCursorMark(qr.getNextCursorMark());
             totalRawHits = qr.getResults().getNumFound();
             totalVirtualHits = totalRawHits;
 
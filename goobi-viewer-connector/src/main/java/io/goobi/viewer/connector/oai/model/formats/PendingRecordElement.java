@@ -0,0 +1,73 @@
+/**
+ * This file is part of the Goobi viewer Connector - OAI-PMH and SRU interfaces for digital objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.connector.oai.model.formats;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jdom2.Element;
+
+import io.goobi.viewer.connector.oai.model.ErrorCode;
+import io.goobi.viewer.connector.utils.XmlConstants;
+
+/**
+ * Placeholder for an OAI record whose source document is still being retrieved. The final record element is produced asynchronously by
+ * {@link io.goobi.viewer.connector.utils.SourceDocumentLoader} and substituted when the response is written, so that the output of the first
+ * records can start while later ones are still being fetched.
+ */
+public class PendingRecordElement extends Element {
+
+    private static final long serialVersionUID = -3620960738425127385L;
+
+    private static final Logger logger = LogManager.getLogger(PendingRecordElement.class);
+
+    private final transient Future<Element> future;
+
+    /**
+     *
+     * @param future {@link Future} producing the record element; the result may be null if the record is not available
+     */
+    public PendingRecordElement(Future<Element> future) {
+        super(XmlConstants.ELE_NAME_RECORD, Format.OAI_NS);
+        this.future = future;
+    }
+
+    /**
+     * Waits for the record element to be produced.
+     *
+     * @return Record element; idDoesNotExist error element if the record could not be created
+     * @should return record element
+     * @should return error element if result null
+     * @should return error element if task failed
+     */
+    public Element resolve() {
+        try {
+            Element ret = future.get();
+            if (ret != null) {
+                return ret;
+            }
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("Could not create record: {}", e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+        }
+
+        return new ErrorCode().getIdDoesNotExist();
+    }
+}
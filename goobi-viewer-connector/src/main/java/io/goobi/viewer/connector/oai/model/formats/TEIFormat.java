@@ -38,7 +38,6 @@ import io.goobi.viewer.connector.oai.RequestHandler;
 import io.goobi.viewer.connector.oai.model.ErrorCode;
 import io.goobi.viewer.connector.utils.SolrSearchTools;
 import io.goobi.viewer.connector.utils.Utils;
-import io.goobi.viewer.controller.NetTools;
 import io.goobi.viewer.controller.XmlTools;
 import io.goobi.viewer.exceptions.HTTPException;
 import io.goobi.viewer.model.translations.language.Language;
@@ -70,12 +69,14 @@ public class TEIFormat extends Format {
             qr = solr.getListRecords(Utils.filterDatestampFromRequest(handler), firstRawRow, numRows, false,
                     " AND " + versionDiscriminatorField + ":*", filterQuerySuffix, fieldList,
                     Collections.singletonList(versionDiscriminatorField));
+            handler.setNextCursorMark(qr.getNextCursorMark());
             totalVirtualHits = SolrSearchTools.getFieldCount(qr, versionDiscriminatorField);
             totalRawHits = qr.getResults().getNumFound();
         } else {
             // One OAI record for each record proper
             qr = solr.getListRecords(Utils.filterDatestampFromRequest(handler), firstRawRow, numRows, false, null, filterQuerySuffix, fieldList,
                     null);
+            handler.setNextCursorMark(qr.getNextCursorMark());
             totalRawHits = qr.getResults().getNumFound();
             totalVirtualHits = totalRawHits;
         }
@@ -186,52 +187,10 @@ public class TEIFormat extends Format {
                             .append(version)
                             .toString();
                     logger.trace("api url: {}", url);
-                    String xml = NetTools.getWebContentGET(url);
-                    if (StringUtils.isEmpty(xml)) {
-                        xmlListRecords.addContent(new ErrorCode().getCannotDisseminateFormat());
-                        continue;
-                    }
-
-                    org.jdom2.Document xmlDoc = XmlTools.getDocumentFromString(xml, null);
-                    Element teiRoot = xmlDoc.getRootElement();
-                    Element newDoc;
-                    switch (handler.getMetadataPrefix()) {
-                        case TEI:
-                            newDoc = new Element("tei", namespace);
-                            newDoc.addNamespaceDeclaration(XSI_NS);
-                            newDoc.setAttribute(new Attribute("schemaLocation", handler.getMetadataPrefix().getSchema(), XSI_NS));
-                            break;
-                        case CMDI:
-                            newDoc = new Element("CMD", CMDI);
-                            newDoc.addNamespaceDeclaration(XSI_NS);
-                            newDoc.addNamespaceDeclaration(COMPONENTS);
-                            newDoc.setAttribute("CMDVersion", "1.2");
-                            newDoc.setAttribute(new Attribute("schemaLocation",
-                                    "http://www.clarin.eu/cmd/1 https://infra.clarin.eu/CMDI/1.x/xsd/cmd-envelop.xsd http://www.clarin.eu/cmd/1/profiles/clarin.eu:cr1:p_1380106710826 https://catalog.clarin.eu/ds/ComponentRegistry/rest/registry/1.x/profiles/clarin.eu:cr1:p_1380106710826/xsd",
-                                    XSI_NS));
-                            break;
-                        default:
-                            xmlListRecords.addContent(new ErrorCode().getCannotDisseminateFormat());
-                            continue;
-                    }
-
-                    newDoc.addContent(teiRoot.cloneContent());
-
-                    String iso3code = version;
-                    // Make sure to add the ISO-3 language code
-                    if (iso3code.length() == 2) {
-                        Language lang = DataManager.getInstance().getLanguageHelper().getLanguage(version);
-                        if (lang != null) {
-                            iso3code = lang.getIsoCode();
-                        }
-                    }
-                    Element rec = new Element("record", OAI_NS);
-                    Element header = getHeader(doc, null, handler, iso3code, setSpecFields, filterQuerySuffix);
-                    rec.addContent(header);
-                    Element metadata = new Element("metadata", OAI_NS);
-                    metadata.addContent(newDoc);
-                    rec.addContent(metadata);
-                    xmlListRecords.addContent(rec);
+                    // Retrieve documents in parallel; the records are resolved in order while the response is written
+                    xmlListRecords.addContent(new PendingRecordElement(DataManager.getInstance()
+                            .getSourceDocumentLoader()
+                            .submit(() -> generateTeiCmdiRecord(url, doc, version, namespace, handler, setSpecFields, filterQuerySuffix))));
                 }
             }
         } else {
@@ -253,6 +212,74 @@ public class TEIFormat extends Format {
         return xmlListRecords;
     }
 
+    /**
+     * Creates a single TEI or CMDI record for the given record version.
+     *
+     * @param url REST API URL of the document
+     * @param doc Record Solr document
+     * @param version Requested version (language code)
+     * @param namespace Metadata format namespace
+     * @param handler
+     * @param setSpecFields
+     * @param filterQuerySuffix Filter query suffix for the client's session
+     * @return Record element; error element if the document is unavailable
+     * @throws IOException
+     * @throws HTTPException
+     * @throws SolrServerException
+     */
+    private static Element generateTeiCmdiRecord(String url, SolrDocument doc, String version, Namespace namespace, RequestHandler handler,
+            List<String> setSpecFields, String filterQuerySuffix) throws IOException, HTTPException, SolrServerException {
+        String xml = DataManager.getInstance().getSourceDocumentLoader().loadUrl(url, doc);
+        if (StringUtils.isEmpty(xml)) {
+            return new ErrorCode().getCannotDisseminateFormat();
+        }
+
+        Element teiRoot;
+        try {
+            teiRoot = XmlTools.getDocumentFromString(xml, null).getRootElement();
+        } catch (JDOMException e) {
+            logger.error("{}", e.getMessage());
+            return new ErrorCode().getCannotDisseminateFormat();
+        }
+        Element newDoc;
+        switch (handler.getMetadataPrefix()) {
+            case TEI:
+                newDoc = new Element("tei", namespace);
+                newDoc.addNamespaceDeclaration(XSI_NS);
+                newDoc.setAttribute(new Attribute("schemaLocation", handler.getMetadataPrefix().getSchema(), XSI_NS));
+                break;
+            case CMDI:
+                newDoc = new Element("CMD", CMDI);
+                newDoc.addNamespaceDeclaration(XSI_NS);
+                newDoc.addNamespaceDeclaration(COMPONENTS);
+                newDoc.setAttribute("CMDVersion", "1.2");
+                newDoc.setAttribute(new Attribute("schemaLocation",
+                        "http://www.clarin.eu/cmd/1 https://infra.clarin.eu/CMDI/1.x/xsd/cmd-envelop.xsd http://www.clarin.eu/cmd/1/profiles/clarin.eu:cr1:p_1380106710826 https://catalog.clarin.eu/ds/ComponentRegistry/rest/registry/1.x/profiles/clarin.eu:cr1:p_1380106710826/xsd",
+                        XSI_NS));
+                break;
+            default:
+                return new ErrorCode().getCannotDisseminateFormat();
+        }
+
+        newDoc.addContent(teiRoot.cloneContent());
+
+        String iso3code = version;
+        // Make sure to add the ISO-3 language code
+        if (iso3code.length() == 2) {
+            Language lang = DataManager.getInstance().getLanguageHelper().getLanguage(version);
+            if (lang != null) {
+                iso3code = lang.getIsoCode();
+            }
+        }
+        Element rec = new Element("record", OAI_NS);
+        Element header = getHeader(doc, null, handler, iso3code, setSpecFields, filterQuerySuffix);
+        rec.addContent(header);
+        Element metadata = new Element("metadata", OAI_NS);
+        metadata.addContent(newDoc);
+        rec.addContent(metadata);
+        return rec;
+    }
+
     /**
      * Modified header generation where identifiers also contain the language code.
      * 
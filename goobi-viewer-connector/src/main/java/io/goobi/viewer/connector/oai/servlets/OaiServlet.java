@@ -138,7 +138,6 @@ public class OaiServlet extends HttpServlet {
                 String resumptionToken = request.getParameterValues(PARAM_RESUMPTION_TOKEN)[0];
                 requestType.setAttribute(PARAM_RESUMPTION_TOKEN, resumptionToken);
                 root.addContent(Format.handleToken(resumptionToken, filterQuerySuffix));
-                Format.removeExpiredTokens();
             } else {
                 switch (handler.getVerb()) {
                     case IDENTIFY:
@@ -272,7 +271,8 @@ public class OaiServlet extends HttpServlet {
         doc.setRootElement(root);
         org.jdom2.output.Format format = org.jdom2.output.Format.getPrettyFormat();
         format.setEncoding("utf-8");
-        XMLOutputter xmlOut = new XMLOutputter(format);
+        // Records whose source documents are still being retrieved are resolved and flushed one by one while writing
+        XMLOutputter xmlOut = new XMLOutputter(format, new StreamingOutputProcessor());
         try {
             if (handler.getMetadataPrefix() != null && handler.getMetadataPrefix().equals(Metadata.EPICUR)) {
                 String ueblerhack = xmlOut.outputString(doc);
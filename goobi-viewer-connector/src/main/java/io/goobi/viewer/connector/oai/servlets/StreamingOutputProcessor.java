@@ -0,0 +1,44 @@
+/**
+ * This file is part of the Goobi viewer Connector - OAI-PMH and SRU interfaces for digital objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.connector.oai.servlets;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.jdom2.Element;
+import org.jdom2.output.support.AbstractXMLOutputProcessor;
+import org.jdom2.output.support.FormatStack;
+import org.jdom2.util.NamespaceStack;
+
+import io.goobi.viewer.connector.oai.model.formats.PendingRecordElement;
+
+/**
+ * XML output processor that resolves {@link PendingRecordElement}s while writing and flushes the output after each of them, so clients receive
+ * the records of a response as soon as they are available rather than after all records have been created.
+ */
+class StreamingOutputProcessor extends AbstractXMLOutputProcessor {
+
+    /** {@inheritDoc} */
+    @Override
+    protected void printElement(Writer out, FormatStack fstack, NamespaceStack nstack, Element element) throws IOException {
+        if (element instanceof PendingRecordElement pending) {
+            super.printElement(out, fstack, nstack, pending.resolve());
+            out.flush();
+            return;
+        }
+        super.printElement(out, fstack, nstack, element);
+    }
+}
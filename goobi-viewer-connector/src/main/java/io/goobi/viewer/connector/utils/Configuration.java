@@ -16,7 +16,9 @@
 package io.goobi.viewer.connector.utils;
 
 import java.io.File;
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -62,6 +64,9 @@ public final class Configuration {
     protected ReloadingFileBasedConfigurationBuilder<XMLConfiguration> builder;
     protected ReloadingFileBasedConfigurationBuilder<XMLConfiguration> builderLocal;
 
+    /** Random resumption token secret used if none is configured */
+    private volatile String generatedResumptionTokenSecret = null;
+
     /**
      * <p>
      * Constructor for Configuration.
@@ -310,15 +315,29 @@ public final class Configuration {
     }
 
     /**
-     * <p>
-     * getResumptionTokenFolder.
-     * </p>
+     * Returns the secret used to sign resumption tokens. If none is configured, a random secret is generated once per JVM; tokens then become
+     * invalid after a restart and cannot be continued on other nodes.
      *
-     * @return folder for resumptionToken
+     * @return secret for signing resumption tokens
      * @should return correct value
      */
-    public String getResumptionTokenFolder() {
-        return getLocalString("resumptionTokenFolder", "/opt/digiverso/viewer/oai/token/");
+    public String getResumptionTokenSecret() {
+        String ret = getLocalString("resumptionTokenSecret", "");
+        if (StringUtils.isNotBlank(ret)) {
+            return ret;
+        }
+        if (generatedResumptionTokenSecret == null) {
+            synchronized (this) {
+                if (generatedResumptionTokenSecret == null) {
+                    logger.warn("No <resumptionTokenSecret> configured, using a random secret."
+                            + " Resumption tokens will not survive a restart and cannot be shared between nodes.");
+                    byte[] bytes = new byte[32];
+                    new SecureRandom().nextBytes(bytes);
+                    generatedResumptionTokenSecret = Base64.getEncoder().encodeToString(bytes);
+                }
+            }
+        }
+        return generatedResumptionTokenSecret;
     }
 
     /**
@@ -528,6 +547,37 @@ public final class Configuration {
         return getLocalString("documentResolverUrl", "http://localhost:8080/viewer/metsresolver?id=");
     }
 
+    /**
+     * Returns the maximum number of source documents (METS/LIDO/TEI/CMDI) retrieved in parallel for a ListRecords response.
+     *
+     * @return Number of threads; default 4
+     * @should return correct value
+     */
+    public int getSourceDocumentThreads() {
+        return getLocalInt("documentResolverUrl[@threads]", 4);
+    }
+
+    /**
+     * Returns the number of recently retrieved source documents kept in memory.
+     *
+     * @return Number of cached documents; default 20
+     * @should return correct value
+     */
+    public int getSourceDocumentCacheSize() {
+        return getLocalInt("documentResolverUrl[@cacheSize]", 20);
+    }
+
+    /**
+     * If true, source documents of open access records are read directly from the data repository (if available) instead of via the document
+     * resolver.
+     *
+     * @return true if local source files should be read; default true
+     * @should return correct value
+     */
+    public boolean isSourceDocumentReadLocalFiles() {
+        return getLocalBoolean("documentResolverUrl[@readLocalFiles]", true);
+    }
+
     /**
      * Returns a list of additional docstruct types "type" element.
      *
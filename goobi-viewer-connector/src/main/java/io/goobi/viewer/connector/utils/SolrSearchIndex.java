@@ -40,6 +40,7 @@ import org.apache.solr.client.solrj.response.FacetField.Count;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
 
 import io.goobi.viewer.connector.DataManager;
 import io.goobi.viewer.controller.StringTools;
@@ -70,6 +71,8 @@ public class SolrSearchIndex implements Closeable {
     private static final String PARAM_UNTIL = "until";
     private static final String PARAM_SET = "set";
     private static final String PARAM_METADATA_PREFIX = "metadataPrefix";
+    /** Parameter map key for the Solr cursor mark of a resumed list request */
+    public static final String PARAM_CURSOR_MARK = "cursorMark";
 
     private long lastPing = 0;
 
@@ -272,17 +275,51 @@ public class SolrSearchIndex implements Closeable {
     public QueryResponse search(String from, String until, String setSpec, String metadataPrefix, int firstRow, int numRows, boolean urnOnly,
             String additionalQuery, String filterQuerySuffix, List<String> fieldList, List<String> fieldStatistics)
             throws IOException, SolrServerException {
+        return search(from, until, setSpec, metadataPrefix, firstRow, numRows, urnOnly, additionalQuery, filterQuerySuffix, fieldList,
+                fieldStatistics, null);
+    }
+
+    /**
+     * Searches and returns a list of {@link org.apache.solr.common.SolrDocument}. If a cursor mark is given, deep paging is done via the Solr
+     * cursor instead of the row offset, which keeps the query time constant regardless of how far a harvester has progressed.
+     *
+     * @param from startdate
+     * @param until enddate
+     * @param setSpec a {@link java.lang.String} object.
+     * @param metadataPrefix a {@link java.lang.String} object.
+     * @param firstRow Row offset; ignored if cursorMark is set
+     * @param numRows a int.
+     * @param urnOnly a boolean.
+     * @param additionalQuery a {@link java.lang.String} object.
+     * @param filterQuerySuffix Filter query suffix for the client's session
+     * @param fieldList Optional list of fields to return.
+     * @param fieldStatistics a {@link java.util.List} object.
+     * @param cursorMark Optional Solr cursor mark
+     * @return list of hits as {@link org.apache.solr.common.SolrDocument}
+     * @throws java.io.IOException
+     * @throws org.apache.solr.client.solrj.SolrServerException
+     */
+    public QueryResponse search(String from, String until, String setSpec, String metadataPrefix, int firstRow, int numRows, boolean urnOnly,
+            String additionalQuery, String filterQuerySuffix, List<String> fieldList, List<String> fieldStatistics, String cursorMark)
+            throws IOException, SolrServerException {
         StringBuilder sbQuery = new StringBuilder(SolrSearchTools.buildQueryString(from, until, setSpec, metadataPrefix, urnOnly, additionalQuery));
         if (urnOnly) {
             sbQuery.append(" +(").append(SolrConstants.URN).append(":* ").append(SolrConstants.IMAGEURN_OAI).append(":*)");
         }
         sbQuery.append(filterQuerySuffix);
         logger.debug("OAI query: {}", StringTools.stripPatternBreakingChars(sbQuery.toString()));
-        logger.trace("start: {}, rows: {}", firstRow, numRows);
+        logger.trace("start: {}, rows: {}, cursorMark: {}", firstRow, numRows, cursorMark);
         SolrQuery solrQuery = new SolrQuery(sbQuery.toString());
-        solrQuery.setStart(firstRow);
         solrQuery.setRows(numRows);
         solrQuery.addSort(SolrConstants.DATECREATED, ORDER.asc);
+        if (cursorMark != null) {
+            // Cursor paging requires the unique key as tie breaker and start=0
+            solrQuery.setStart(0);
+            solrQuery.addSort(SolrConstants.IDDOC, ORDER.asc);
+            solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+        } else {
+            solrQuery.setStart(firstRow);
+        }
         if (fieldList != null && !fieldList.isEmpty()) {
             for (String field : fieldList) {
                 if (StringUtils.isNotEmpty(field)) {
@@ -320,7 +357,8 @@ public class SolrSearchIndex implements Closeable {
             List<String> fieldStatistics, String filterQuerySuffix) throws SolrServerException {
         try {
             return search(params.get(PARAM_FROM), params.get(PARAM_UNTIL), params.get(PARAM_SET), params.get(PARAM_METADATA_PREFIX),
-                    firstRawRow, numRows, false, additionalQuery, filterQuerySuffix, fieldList, fieldStatistics);
+                    firstRawRow, numRows, false, additionalQuery, filterQuerySuffix, fieldList, fieldStatistics,
+                    getCursorMark(params, firstRawRow));
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         }
@@ -346,7 +384,8 @@ public class SolrSearchIndex implements Closeable {
             String filterQuerySuffix, List<String> fieldList, List<String> fieldStatistics) throws SolrServerException {
         try {
             return search(params.get(PARAM_FROM), params.get(PARAM_UNTIL), params.get(PARAM_SET), params.get(PARAM_METADATA_PREFIX),
-                    firstRow, numRows, urnOnly, additionalQuery, filterQuerySuffix, fieldList, fieldStatistics);
+                    firstRow, numRows, urnOnly, additionalQuery, filterQuerySuffix, fieldList, fieldStatistics,
+                    getCursorMark(params, firstRow));
         } catch (IOException e) {
             logger.error(e.getMessage(), e);
         }
@@ -354,6 +393,25 @@ public class SolrSearchIndex implements Closeable {
         return null;
     }
 
+    /**
+     * Returns the cursor mark to use for a list request. The first batch of a list always starts a new cursor, so that its next cursor mark can
+     * be passed on in the resumption token.
+     *
+     * @param params Request parameters
+     * @param firstRow Row offset
+     * @return Cursor mark from params; start cursor mark if none given and firstRow is 0; null otherwise (offset paging)
+     * @should return cursor mark from params
+     * @should return start cursor mark for first batch
+     * @should return null if offset without cursor mark
+     */
+    static String getCursorMark(Map<String, String> params, int firstRow) {
+        String ret = params.get(PARAM_CURSOR_MARK);
+        if (ret == null && firstRow == 0) {
+            return CursorMarkParams.CURSOR_MARK_START;
+        }
+        return ret;
+    }
+
     /**
      * Searches for identifier and return {@link org.apache.solr.common.SolrDocument} identifier can be PPN or URN (doc or page).
      *
@@ -0,0 +1,248 @@
+/**
+ * This file is part of the Goobi viewer Connector - OAI-PMH and SRU interfaces for digital objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.connector.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrDocument;
+
+import io.goobi.viewer.connector.DataManager;
+import io.goobi.viewer.controller.DataFileTools;
+import io.goobi.viewer.controller.NetTools;
+import io.goobi.viewer.exceptions.HTTPException;
+import io.goobi.viewer.solr.SolrConstants;
+
+/**
+ * Retrieves source documents (METS, LIDO, TEI, CMDI) for OAI records. Retrieval tasks run on a bounded thread pool so that the documents of a
+ * ListRecords page are fetched in parallel, while the number of concurrent requests to the resolver stays limited. Recently retrieved
+ * documents are kept in a small LRU cache keyed by record identifier and DATEUPDATED, so repeated harvests of unchanged records do not hit
+ * the resolver again.
+ */
+public class SourceDocumentLoader {
+
+    private static final Logger logger = LogManager.getLogger(SourceDocumentLoader.class);
+
+    private final ExecutorService executor;
+    private final Map<String, String> cache;
+    private final boolean readLocalFiles;
+
+    /**
+     *
+     * @param threads Maximum number of parallel retrievals
+     * @param cacheSize Maximum number of cached documents
+     * @param readLocalFiles If true, source files of open access records are read directly from the data repository
+     */
+    public SourceDocumentLoader(int threads, int cacheSize, boolean readLocalFiles) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "oai-source-document-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 5406722374846473539L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.readLocalFiles = readLocalFiles;
+    }
+
+    /**
+     * Submits the given task to the retrieval thread pool.
+     *
+     * @param <T>
+     * @param task Task to run
+     * @return {@link Future} of the task
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        return executor.submit(task);
+    }
+
+    /**
+     * Loads the source document of the record with the given identifier. Open access records are read from the local data repository if
+     * enabled and the file exists; all other records are requested from the document resolver.
+     *
+     * @param pi Record identifier
+     * @param doc Solr document containing DATEUPDATED, ACCESSCONDITION, DATAREPOSITORY and SOURCEDOCFORMAT
+     * @return Source document XML; null if not available
+     * @throws IOException
+     * @throws HTTPException
+     */
+    public String loadSourceDocument(String pi, SolrDocument doc) throws IOException, HTTPException {
+        String key = buildCacheKey(pi, doc);
+        if (key != null) {
+            String cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        String xml = null;
+        if (readLocalFiles && isOpenAccess(doc)) {
+            Path path = getLocalSourceFilePath(pi, doc);
+            if (path != null && Files.isRegularFile(path)) {
+                logger.trace("Reading source file: {}", path);
+                xml = Files.readString(path, StandardCharsets.UTF_8);
+            }
+        }
+        if (xml == null) {
+            xml = NetTools.getWebContentGET(DataManager.getInstance().getConfiguration().getDocumentResolverUrl() + pi);
+        }
+
+        if (key != null && StringUtils.isNotEmpty(xml)) {
+            cache.put(key, xml);
+        }
+        return xml;
+    }
+
+    /**
+     * Loads an XML document from the given URL, using the cache if the record has not changed.
+     *
+     * @param url URL to request
+     * @param doc Solr document containing DATEUPDATED
+     * @return Response body
+     * @throws IOException
+     * @throws HTTPException
+     */
+    public String loadUrl(String url, SolrDocument doc) throws IOException, HTTPException {
+        String key = buildCacheKey(url, doc);
+        if (key != null) {
+            String cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        String xml = NetTools.getWebContentGET(url);
+        if (key != null && StringUtils.isNotEmpty(xml)) {
+            cache.put(key, xml);
+        }
+        return xml;
+    }
+
+    /**
+     * Stops accepting new tasks and waits briefly for running retrievals to complete.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        cache.clear();
+    }
+
+    /**
+     * @return Number of cached documents
+     */
+    int getCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     *
+     * @param id Record identifier or URL
+     * @param doc Solr document
+     * @return Cache key; null if the document has no DATEUPDATED value (changes could not be detected)
+     * @should return null if no dateupdated
+     * @should include latest dateupdated value
+     */
+    static String buildCacheKey(String id, SolrDocument doc) {
+        if (id == null || doc == null) {
+            return null;
+        }
+        Collection<Object> values = doc.getFieldValues(SolrConstants.DATEUPDATED);
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        long latest = 0;
+        for (Object value : values) {
+            if (value instanceof Long l && l > latest) {
+                latest = l;
+            }
+        }
+        return id + '@' + latest;
+    }
+
+    /**
+     * Local file access bypasses the resolver's access permission check and is therefore only allowed for open access records.
+     *
+     * @param doc Solr document
+     * @return true if all access conditions of the given record are open access; false otherwise
+     * @should return true if only open access
+     * @should return false if other access condition present
+     * @should return false if no access conditions
+     */
+    static boolean isOpenAccess(SolrDocument doc) {
+        if (doc == null) {
+            return false;
+        }
+        Collection<Object> values = doc.getFieldValues(SolrConstants.ACCESSCONDITION);
+        if (values == null || values.isEmpty()) {
+            return false;
+        }
+        for (Object value : values) {
+            if (!SolrConstants.OPEN_ACCESS_VALUE.equals(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * @param pi Record identifier
+     * @param doc Solr document
+     * @return {@link Path} to the source file in the data repository; null if it cannot be determined
+     */
+    private static Path getLocalSourceFilePath(String pi, SolrDocument doc) {
+        String format = (String) doc.getFirstValue(SolrConstants.SOURCEDOCFORMAT);
+        if (format == null) {
+            return null;
+        }
+        try {
+            return Paths.get(DataFileTools.getSourceFilePath(pi + ".xml", (String) doc.getFirstValue(SolrConstants.DATAREPOSITORY),
+                    format.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            logger.trace(e.getMessage());
+            return null;
+        }
+    }
+}
@@ -217,6 +217,9 @@ public final class Utils {
         if (requestHandler.getVerb() != null) {
             datestamp.put("verb", requestHandler.getVerb().getTitle());
         }
+        if (requestHandler.getCursorMark() != null) {
+            datestamp.put(SolrSearchIndex.PARAM_CURSOR_MARK, requestHandler.getCursorMark());
+        }
 
         return datestamp;
     }
@@ -0,0 +1,95 @@
+/**
+ * This file is part of the Goobi viewer Connector - OAI-PMH and SRU interfaces for digital objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.connector.oai.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.connector.oai.RequestHandler;
+import io.goobi.viewer.connector.oai.enums.Metadata;
+import io.goobi.viewer.connector.oai.enums.Verb;
+
+class ResumptionTokenTest {
+
+    private static final String SECRET = "secret";
+
+    private static ResumptionToken createToken(long expirationDate) {
+        RequestHandler handler = new RequestHandler();
+        handler.setVerb(Verb.LISTRECORDS);
+        handler.setMetadataPrefix(Metadata.METS);
+        handler.setFrom("2020-01-01");
+        handler.setSet("DC:foo");
+        return new ResumptionToken(120, 100, 30, 20, "AoEpMTIz", expirationDate, handler);
+    }
+
+    /**
+     * @see ResumptionToken#encode(String)
+     * @verifies encode and decode token correctly
+     */
+    @Test
+    void encode_shouldEncodeAndDecodeTokenCorrectly() {
+        long expirationDate = System.currentTimeMillis() + 60000;
+        String encoded = createToken(expirationDate).encode(SECRET);
+
+        ResumptionToken token = ResumptionToken.decode(encoded, SECRET);
+        Assertions.assertEquals(120, token.getHits());
+        Assertions.assertEquals(100, token.getRawHits());
+        Assertions.assertEquals(30, token.getVirtualCursor());
+        Assertions.assertEquals(20, token.getRawCursor());
+        Assertions.assertEquals("AoEpMTIz", token.getCursorMark());
+        Assertions.assertEquals(expirationDate, token.getExpirationDate());
+        Assertions.assertEquals(Verb.LISTRECORDS, token.getHandler().getVerb());
+        Assertions.assertEquals(Metadata.METS, token.getHandler().getMetadataPrefix());
+        Assertions.assertEquals("2020-01-01", token.getHandler().getFrom());
+        Assertions.assertNull(token.getHandler().getUntil());
+        Assertions.assertEquals("DC:foo", token.getHandler().getSet());
+    }
+
+    /**
+     * @see ResumptionToken#decode(String,String)
+     * @verifies throw IllegalArgumentException if signature invalid
+     */
+    @Test
+    void decode_shouldThrowIllegalArgumentExceptionIfSignatureInvalid() {
+        String encoded = createToken(System.currentTimeMillis() + 60000).encode(SECRET);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ResumptionToken.decode(encoded, "other"));
+
+        // Tampered payload
+        String tampered = "e30" + encoded.substring(encoded.indexOf('.'));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ResumptionToken.decode(tampered, SECRET));
+    }
+
+    /**
+     * @see ResumptionToken#decode(String,String)
+     * @verifies throw IllegalArgumentException if token malformed
+     */
+    @Test
+    void decode_shouldThrowIllegalArgumentExceptionIfTokenMalformed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ResumptionToken.decode("oai_1634822246437", SECRET));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ResumptionToken.decode("abc.", SECRET));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ResumptionToken.decode("abc.!!!", SECRET));
+    }
+
+    /**
+     * @see ResumptionToken#decode(String,String)
+     * @verifies throw IllegalArgumentException if token expired
+     */
+    @Test
+    void decode_shouldThrowIllegalArgumentExceptionIfTokenExpired() {
+        String encoded = createToken(System.currentTimeMillis() - 1000).encode(SECRET);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ResumptionToken.decode(encoded, SECRET));
+    }
+}
@@ -15,9 +15,6 @@
  */
 package io.goobi.viewer.connector.oai.model.formats;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 
 import org.jdom2.Element;
@@ -25,7 +22,6 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.goobi.viewer.connector.AbstractSolrEnabledTest;
-import io.goobi.viewer.connector.DataManager;
 import io.goobi.viewer.connector.oai.RequestHandler;
 import io.goobi.viewer.connector.oai.enums.Metadata;
 import io.goobi.viewer.connector.oai.enums.Verb;
@@ -65,9 +61,6 @@ class EpicurFormatTest extends AbstractSolrEnabledTest {
      */
     @Test
     void createListRecords_shouldReportVirtualHitsIncludingPageRecordsInResumptionToken() throws Exception {
-        Path tokenFolder = Paths.get(DataManager.getInstance().getConfiguration().getResumptionTokenFolder());
-        Files.createDirectories(tokenFolder);
-
         RequestHandler handler = listRecordsHandler();
         EpicurFormat format = new EpicurFormat();
 
@@ -75,18 +68,14 @@ class EpicurFormatTest extends AbstractSolrEnabledTest {
         Element listRecords = format.createListRecords(handler, 0, 0, 5, null, "");
         Element resumptionToken = listRecords.getChild("resumptionToken", Format.OAI_NS);
         Assertions.assertNotNull(resumptionToken, "Expected a resumption token for a partial batch");
-        try {
-            // completeListSize must equal the virtual total (document records + page records), not just the raw Solr document count.
-            long completeListSize = Long.parseLong(resumptionToken.getAttributeValue("completeListSize"));
-            Assertions.assertEquals(format.getCompleteListSize(Utils.filterDatestampFromRequest(handler), ""), completeListSize);
+        // completeListSize must equal the virtual total (document records + page records), not just the raw Solr document count.
+        long completeListSize = Long.parseLong(resumptionToken.getAttributeValue("completeListSize"));
+        Assertions.assertEquals(format.getCompleteListSize(Utils.filterDatestampFromRequest(handler), ""), completeListSize);
 
-            // The first batch emits more <record> elements than the raw document batch size, because each record also yields page records.
-            long emittedInFirstBatch = listRecords.getChildren("record", Format.OAI_NS).size();
-            Assertions.assertTrue(emittedInFirstBatch > 5, "Expected page records to inflate the batch beyond the raw document count");
-            Assertions.assertTrue(completeListSize >= emittedInFirstBatch);
-            Assertions.assertEquals("0", resumptionToken.getAttributeValue("cursor"));
-        } finally {
-            Files.deleteIfExists(tokenFolder.resolve(resumptionToken.getText()));
-        }
+        // The first batch emits more <record> elements than the raw document batch size, because each record also yields page records.
+        long emittedInFirstBatch = listRecords.getChildren("record", Format.OAI_NS).size();
+        Assertions.assertTrue(emittedInFirstBatch > 5, "Expected page records to inflate the batch beyond the raw document count");
+        Assertions.assertTrue(completeListSize >= emittedInFirstBatch);
+        Assertions.assertEquals("0", resumptionToken.getAttributeValue("cursor"));
     }
 }
@@ -15,11 +15,9 @@
  */
 package io.goobi.viewer.connector.oai.model.formats;
 
-import java.io.File;
 import java.util.List;
 import java.util.Locale;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.solr.common.SolrDocument;
 import org.jdom2.Element;
 import org.jdom2.Namespace;
@@ -29,6 +27,8 @@ import org.junit.jupiter.api.Test;
 import io.goobi.viewer.connector.AbstractSolrEnabledTest;
 import io.goobi.viewer.connector.DataManager;
 import io.goobi.viewer.connector.oai.RequestHandler;
+import io.goobi.viewer.connector.oai.enums.Metadata;
+import io.goobi.viewer.connector.oai.enums.Verb;
 import io.goobi.viewer.connector.oai.model.ResumptionToken;
 import io.goobi.viewer.solr.SolrConstants;
 
@@ -107,22 +107,14 @@ class FormatTest extends AbstractSolrEnabledTest {
      */
     @Test
     void createResumptionTokenAndElement_shouldConstructElementCorrectly() throws Exception {
-        File tokenFolder = new File(DataManager.getInstance().getConfiguration().getResumptionTokenFolder());
-        try {
-            if (!tokenFolder.exists()) {
-                tokenFolder.mkdirs();
-            }
-            Element ele = Format.createResumptionTokenAndElement(100, 10, 0, new RequestHandler());
-            Assertions.assertNotNull(ele);
-            Assertions.assertEquals("resumptionToken", ele.getName());
-            Assertions.assertNotNull(ele.getAttributeValue("expirationDate"));
-            Assertions.assertEquals("100", ele.getAttributeValue("completeListSize"));
-            Assertions.assertEquals("0", ele.getAttributeValue("cursor"));
-        } finally {
-            if (tokenFolder.isDirectory()) {
-                FileUtils.deleteDirectory(tokenFolder);
-            }
-        }
+        Element ele = Format.createResumptionTokenAndElement(100, 10, 0, new RequestHandler());
+        Assertions.assertNotNull(ele);
+        Assertions.assertEquals("resumptionToken", ele.getName());
+        Assertions.assertNotNull(ele.getAttributeValue("expirationDate"));
+        Assertions.assertEquals("100", ele.getAttributeValue("completeListSize"));
+        Assertions.assertEquals("0", ele.getAttributeValue("cursor"));
+        ResumptionToken token = ResumptionToken.decode(ele.getText(), DataManager.getInstance().getConfiguration().getResumptionTokenSecret());
+        Assertions.assertEquals(10, token.getRawCursor());
     }
 
     /**
@@ -136,6 +128,22 @@ class FormatTest extends AbstractSolrEnabledTest {
         Assertions.assertEquals("badResumptionToken", result.getAttributeValue("code"));
     }
 
+    /**
+     * @see Format#handleToken(String)
+     * @verifies return error if resumption token signature invalid
+     */
+    @Test
+    void handleToken_shouldReturnErrorIfResumptionTokenSignatureInvalid() {
+        RequestHandler handler = new RequestHandler();
+        handler.setVerb(Verb.LISTRECORDS);
+        handler.setMetadataPrefix(Metadata.OAI_DC);
+        String token = new ResumptionToken(100, 100, 10, 10, null, System.currentTimeMillis() + 60000, handler).encode("some-other-secret");
+
+        Element result = Format.handleToken(token, "");
+        Assertions.assertEquals("error", result.getName());
+        Assertions.assertEquals("badResumptionToken", result.getAttributeValue("code"));
+    }
+
     /**
      * @see Format#getHeader(SolrDocument,SolrDocument,RequestHandler,String,java.util.List,String)
      * @verifies use urn identifier if urn set
@@ -172,17 +180,4 @@ class FormatTest extends AbstractSolrEnabledTest {
         Assertions.assertNotNull(identifier);
         Assertions.assertTrue(identifier.contains("PPN123456789"), "Expected PI-based identifier, got: " + identifier);
     }
-
-    /**
-     * @see Format#deserializeResumptionToken(File)
-     * @verifies deserialize token correctly
-     */
-    @Test
-    void deserializeResumptionToken_shouldDeserializeTokenCorrectly() throws Exception {
-        File f = new File("src/test/resources/token/oai_1634822246437");
-        Assertions.assertTrue(f.isFile());
-
-        ResumptionToken token = Format.deserializeResumptionToken(f);
-        Assertions.assertNotNull(token);
-    }
 }
\ No newline at end of file
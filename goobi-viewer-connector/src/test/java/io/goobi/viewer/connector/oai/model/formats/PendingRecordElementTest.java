@@ -0,0 +1,58 @@
+/**
+ * This file is part of the Goobi viewer Connector - OAI-PMH and SRU interfaces for digital objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.connector.oai.model.formats;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.jdom2.Element;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.connector.AbstractTest;
+import io.goobi.viewer.connector.utils.XmlConstants;
+
+class PendingRecordElementTest extends AbstractTest {
+
+    /**
+     * @see PendingRecordElement#resolve()
+     * @verifies return record element
+     */
+    @Test
+    void resolve_shouldReturnRecordElement() {
+        Element rec = new Element(XmlConstants.ELE_NAME_RECORD, Format.OAI_NS);
+        Assertions.assertSame(rec, new PendingRecordElement(CompletableFuture.completedFuture(rec)).resolve());
+    }
+
+    /**
+     * @see PendingRecordElement#resolve()
+     * @verifies return error element if result null
+     */
+    @Test
+    void resolve_shouldReturnErrorElementIfResultNull() {
+        Element result = new PendingRecordElement(CompletableFuture.completedFuture(null)).resolve();
+        Assertions.assertEquals(XmlConstants.ELE_NAME_ERROR, result.getName());
+    }
+
+    /**
+     * @see PendingRecordElement#resolve()
+     * @verifies return error element if task failed
+     */
+    @Test
+    void resolve_shouldReturnErrorElementIfTaskFailed() {
+        Element result = new PendingRecordElement(CompletableFuture.failedFuture(new IllegalStateException("fail"))).resolve();
+        Assertions.assertEquals(XmlConstants.ELE_NAME_ERROR, result.getName());
+    }
+}
@@ -69,6 +69,33 @@ class ConfigurationTest extends AbstractTest {
         Assertions.assertEquals("http://localhost/viewer/metsresolver?id=", DataManager.getInstance().getConfiguration().getDocumentResolverUrl());
     }
 
+    /**
+     * @see Configuration#getSourceDocumentThreads()
+     * @verifies return correct value
+     */
+    @Test
+    void getSourceDocumentThreads_shouldReturnCorrectValue() {
+        Assertions.assertEquals(2, DataManager.getInstance().getConfiguration().getSourceDocumentThreads());
+    }
+
+    /**
+     * @see Configuration#getSourceDocumentCacheSize()
+     * @verifies return correct value
+     */
+    @Test
+    void getSourceDocumentCacheSize_shouldReturnCorrectValue() {
+        Assertions.assertEquals(5, DataManager.getInstance().getConfiguration().getSourceDocumentCacheSize());
+    }
+
+    /**
+     * @see Configuration#isSourceDocumentReadLocalFiles()
+     * @verifies return correct value
+     */
+    @Test
+    void isSourceDocumentReadLocalFiles_shouldReturnCorrectValue() {
+        Assertions.assertFalse(DataManager.getInstance().getConfiguration().isSourceDocumentReadLocalFiles());
+    }
+
     /**
      * @see Configuration#getEseDataProviderField()
      * @verifies return correct value
@@ -163,12 +190,12 @@ class ConfigurationTest extends AbstractTest {
     }
 
     /**
-     * @see Configuration#getResumptionTokenFolder()
+     * @see Configuration#getResumptionTokenSecret()
      * @verifies return correct value
      */
     @Test
-    void getResumptionTokenFolder_shouldReturnCorrectValue() {
-        Assertions.assertEquals("src/test/resources/oai/token/", DataManager.getInstance().getConfiguration().getResumptionTokenFolder());
+    void getResumptionTokenSecret_shouldReturnCorrectValue() {
+        Assertions.assertEquals("test-secret", DataManager.getInstance().getConfiguration().getResumptionTokenSecret());
     }
 
     /**
@@ -22,6 +22,7 @@ import java.util.Map;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -130,4 +131,31 @@ class SolrSearchIndexTest extends AbstractSolrEnabledTest {
         Assertions.assertEquals(4, result.size());
         Assertions.assertEquals("alto/lit30844/p0085.xml", result.get(1));
     }
-}
\ No newline at end of file
+
+    /**
+     * @see SolrSearchIndex#getCursorMark(Map,int)
+     * @verifies return cursor mark from params
+     */
+    @Test
+    void getCursorMark_shouldReturnCursorMarkFromParams() {
+        Assertions.assertEquals("AoE", SolrSearchIndex.getCursorMark(Collections.singletonMap(SolrSearchIndex.PARAM_CURSOR_MARK, "AoE"), 10));
+    }
+
+    /**
+     * @see SolrSearchIndex#getCursorMark(Map,int)
+     * @verifies return start cursor mark for first batch
+     */
+    @Test
+    void getCursorMark_shouldReturnStartCursorMarkForFirstBatch() {
+        Assertions.assertEquals(CursorMarkParams.CURSOR_MARK_START, SolrSearchIndex.getCursorMark(Collections.emptyMap(), 0));
+    }
+
+    /**
+     * @see SolrSearchIndex#getCursorMark(Map,int)
+     * @verifies return null if offset without cursor mark
+     */
+    @Test
+    void getCursorMark_shouldReturnNullIfOffsetWithoutCursorMark() {
+        Assertions.assertNull(SolrSearchIndex.getCursorMark(Collections.emptyMap(), 10));
+    }
+}
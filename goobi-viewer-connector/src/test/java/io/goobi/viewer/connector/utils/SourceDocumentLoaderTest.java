@@ -0,0 +1,80 @@
+/**
+ * This file is part of the Goobi viewer Connector - OAI-PMH and SRU interfaces for digital objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free
+ * Software Foundation; either version 2 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.connector.utils;
+
+import java.util.Arrays;
+
+import org.apache.solr.common.SolrDocument;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.solr.SolrConstants;
+
+class SourceDocumentLoaderTest {
+
+    /**
+     * @see SourceDocumentLoader#buildCacheKey(String,SolrDocument)
+     * @verifies return null if no dateupdated
+     */
+    @Test
+    void buildCacheKey_shouldReturnNullIfNoDateupdated() {
+        SolrDocument doc = new SolrDocument();
+        doc.setField(SolrConstants.PI, "PPN123");
+        Assertions.assertNull(SourceDocumentLoader.buildCacheKey("PPN123", doc));
+    }
+
+    /**
+     * @see SourceDocumentLoader#buildCacheKey(String,SolrDocument)
+     * @verifies include latest dateupdated value
+     */
+    @Test
+    void buildCacheKey_shouldIncludeLatestDateupdatedValue() {
+        SolrDocument doc = new SolrDocument();
+        doc.setField(SolrConstants.DATEUPDATED, Arrays.asList(10L, 30L, 20L));
+        Assertions.assertEquals("PPN123@30", SourceDocumentLoader.buildCacheKey("PPN123", doc));
+    }
+
+    /**
+     * @see SourceDocumentLoader#isOpenAccess(SolrDocument)
+     * @verifies return true if only open access
+     */
+    @Test
+    void isOpenAccess_shouldReturnTrueIfOnlyOpenAccess() {
+        SolrDocument doc = new SolrDocument();
+        doc.setField(SolrConstants.ACCESSCONDITION, SolrConstants.OPEN_ACCESS_VALUE);
+        Assertions.assertTrue(SourceDocumentLoader.isOpenAccess(doc));
+    }
+
+    /**
+     * @see SourceDocumentLoader#isOpenAccess(SolrDocument)
+     * @verifies return false if other access condition present
+     */
+    @Test
+    void isOpenAccess_shouldReturnFalseIfOtherAccessConditionPresent() {
+        SolrDocument doc = new SolrDocument();
+        doc.setField(SolrConstants.ACCESSCONDITION, Arrays.asList(SolrConstants.OPEN_ACCESS_VALUE, "restricted"));
+        Assertions.assertFalse(SourceDocumentLoader.isOpenAccess(doc));
+    }
+
+    /**
+     * @see SourceDocumentLoader#isOpenAccess(SolrDocument)
+     * @verifies return false if no access conditions
+     */
+    @Test
+    void isOpenAccess_shouldReturnFalseIfNoAccessConditions() {
+        Assertions.assertFalse(SourceDocumentLoader.isOpenAccess(new SolrDocument()));
+    }
+}
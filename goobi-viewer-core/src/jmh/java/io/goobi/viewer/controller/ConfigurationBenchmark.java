@@ -0,0 +1,77 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.goobi.viewer.AbstractTest;
+
+/**
+ * Throughput of scalar configuration getters served from the {@link ConfigurationSnapshot}, compared with resolving the same paths through
+ * the reloading builders on every call, as the getters did before the snapshot was introduced.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationBenchmark {
+
+    private Configuration config;
+
+    @Setup
+    public void setUp() {
+        config = new Configuration(AbstractTest.TEST_CONFIG_PATH);
+    }
+
+    @Benchmark
+    public void snapshotGetters(Blackhole bh) {
+        bh.consume(config.getThumbnailsWidth());
+        bh.consume(config.getViewerHome());
+        bh.consume(config.isRememberImageZoom());
+    }
+
+    @Benchmark
+    public void builderGetters(Blackhole bh) {
+        XMLConfiguration configLocal = config.getConfigLocal();
+        bh.consume(configLocal.getInt("viewer.thumbnailsWidth", config.getConfig().getInt("viewer.thumbnailsWidth", 100)));
+        configLocal = config.getConfigLocal();
+        bh.consume(configLocal.getString("viewerHome", config.getConfig().getString("viewerHome")));
+        configLocal = config.getConfigLocal();
+        bh.consume(configLocal.getBoolean("viewer.rememberImageZoom[@enabled]",
+                config.getConfig().getBoolean("viewer.rememberImageZoom[@enabled]", false)));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.goobi.viewer.AbstractTest;
+import io.goobi.viewer.controller.Configuration;
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.controller.sorting.AlphabeticComparator;
+import io.goobi.viewer.controller.sorting.AlphanumComparator;
+
+/**
+ * Time to collect and sort the values of a facet, using {@link FacetSorting.SortingMap} and, for comparison, the previous {@link TreeMap}
+ * ordered by the translating comparators. The facet sizes range from a typical field facet to a large author or place facet.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FacetSortingBenchmark {
+
+    private static final String FIELD = "MD_FOO";
+
+    @Param({ "50", "500", "5000" })
+    private int facetSize;
+
+    @Param({ "alphabetical", "alphanumerical" })
+    private String sortOrder;
+
+    private List<String> values;
+
+    @Setup
+    public void setUp() {
+        DataManager.getInstance().injectConfiguration(new Configuration(AbstractTest.TEST_CONFIG_PATH));
+        Random random = new Random(42);
+        String chars = "abcdefghijklmnopqrstuvwxyzäöüéÁ0123456789 -";
+        values = new ArrayList<>(facetSize);
+        for (int i = 0; i < facetSize; ++i) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(20);
+            for (int j = 0; j < length; ++j) {
+                char c = chars.charAt(random.nextInt(chars.length()));
+                sb.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+            }
+            values.add(sb.toString());
+        }
+    }
+
+    /**
+     * Repeated request for the same facet; labels and collation keys are served from the {@link io.goobi.viewer.controller.sorting.SortKeyCache}.
+     */
+    @Benchmark
+    public Map<String, Long> sortingMap() {
+        return fillSortingMap();
+    }
+
+    /**
+     * First request for a facet; all labels and collation keys have to be computed.
+     */
+    @Benchmark
+    public Map<String, Long> sortingMapColdCache() {
+        DataManager.getInstance().getSortKeyCache().invalidate();
+        return fillSortingMap();
+    }
+
+    @Benchmark
+    public Map<String, Long> treeMap() {
+        Comparator<String> comparator = "alphanumerical".equals(sortOrder)
+                ? new AlphanumComparator<>(FIELD, Locale.GERMAN, Function.identity())
+                : new AlphabeticComparator<>(FIELD, Locale.GERMAN, Function.identity());
+        Map<String, Long> map = new TreeMap<>(comparator);
+        for (String value : values) {
+            map.put(value, 1L);
+        }
+        return map;
+    }
+
+    private Map<String, Long> fillSortingMap() {
+        FacetSorting.SortingMap<String, Long> map = FacetSorting.getSortingMap(FIELD, sortOrder, Locale.GERMAN);
+        for (String value : values) {
+            map.put(value, 1L);
+        }
+        return map.getMap();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security.user;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to find all IP ranges containing a client address, using the {@link IpRangeMatcher} trie and, for comparison, the previous linear
+ * scan calling {@link IpRange#matchIp(String)} on each range. Ranges and addresses are drawn from the same few /8 networks so that lookups
+ * actually hit ranges.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IpRangeMatcherBenchmark {
+
+    private static final int ADDRESS_COUNT = 1024;
+
+    @Param({ "100", "1000", "5000" })
+    private int rangeCount;
+
+    private List<IpRange> ipRanges;
+    private IpRangeMatcher matcher;
+    private String[] addresses;
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ipRanges = new ArrayList<>(rangeCount);
+        for (int i = 0; i < rangeCount; ++i) {
+            IpRange ipRange = new IpRange();
+            ipRange.setName("range" + i);
+            ipRange.setSubnetMask(createAddress(random) + "/" + (8 + random.nextInt(25)));
+            ipRanges.add(ipRange);
+        }
+        matcher = new IpRangeMatcher(ipRanges);
+        addresses = new String[ADDRESS_COUNT];
+        for (int i = 0; i < ADDRESS_COUNT; ++i) {
+            addresses[i] = createAddress(random);
+        }
+    }
+
+    private static String createAddress(Random random) {
+        return (random.nextInt(4) + 10) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+    }
+
+    private String nextAddress() {
+        next = (next + 1) & (ADDRESS_COUNT - 1);
+        return addresses[next];
+    }
+
+    @Benchmark
+    public List<IpRange> matcher() {
+        return matcher.getMatchingIpRanges(nextAddress());
+    }
+
+    @Benchmark
+    public List<IpRange> linearScan() {
+        String address = nextAddress();
+        List<IpRange> ret = new ArrayList<>();
+        for (IpRange ipRange : ipRanges) {
+            if (ipRange.matchIp(address)) {
+                ret.add(ipRange);
+            }
+        }
+        return ret;
+    }
+}
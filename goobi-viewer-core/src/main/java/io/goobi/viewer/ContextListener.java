@@ -157,6 +157,13 @@ public class ContextListener implements ServletContextListener {
         UserEndpoint.shutdown();
         logger.info("UserEndpoint timers stopped.");
 
+        // Write pending usage statistics while the DAO is still open. A recorder that was never used is not created just to be shut down.
+        DataManager.getInstance().getExistingUsageStatisticsRecorder().ifPresent(recorder -> {
+            logger.info("Flushing usage statistics...");
+            recorder.shutdown();
+            logger.info("Usage statistics flushed.");
+        });
+
         logger.info("Shutting down DAO...");
         try {
             DataManager.getInstance().getDao().shutdown();
@@ -59,6 +59,12 @@ public final class FilterTools {
     public static final String ATTRIBUTE_FILENAME = "filename";
     public static final String ATTRIBUTE_LOGID = "logid";
     public static final String ATTRIBUTE_PAGENO = "pageno";
+    /** Entity tag of a cached response, evaluated by response filters for conditional requests. */
+    public static final String ATTRIBUTE_ETAG = "etag";
+    /** Modification date (milliseconds) of a cached response, evaluated by response filters for conditional requests. */
+    public static final String ATTRIBUTE_LAST_MODIFIED = "lastmodified";
+    /** {@link java.util.function.LongConsumer} notified with the number of bytes written for the response entity. */
+    public static final String ATTRIBUTE_SIZE_LISTENER = "sizelistener";
 
     public static final int PRIORITY_REDIRECT = 100;
 
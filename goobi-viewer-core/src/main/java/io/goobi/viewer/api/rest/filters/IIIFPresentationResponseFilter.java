@@ -23,11 +23,21 @@ package io.goobi.viewer.api.rest.filters;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.function.LongConsumer;
+
+import org.apache.commons.io.output.CountingOutputStream;
 
 import jakarta.ws.rs.container.ContainerRequestContext;
 import jakarta.ws.rs.container.ContainerResponseContext;
 import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.WriterInterceptor;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
 
 import de.intranda.api.iiif.presentation.v2.AbstractPresentationModelElement2;
 import de.intranda.api.iiif.presentation.v3.AbstractPresentationModelElement3;
@@ -37,13 +47,16 @@ import io.goobi.viewer.api.rest.bindings.IIIFPresentationBinding;
 import io.goobi.viewer.controller.NetTools;
 
 /**
- * Adds the @context property to all IIIF Presentation responses in the topmost json element.
+ * Adds the @context property to all IIIF Presentation responses in the topmost json element. Responses for which the resource has provided
+ * validators via the request attributes {@link FilterTools#ATTRIBUTE_ETAG} and {@link FilterTools#ATTRIBUTE_LAST_MODIFIED} also get ETag and
+ * Last-Modified headers, and conditional requests matching the entity tag are answered with 304. Resources which have set a
+ * {@link FilterTools#ATTRIBUTE_SIZE_LISTENER} are told the number of bytes written for the response entity.
  *
  * @author Florian Alpers
  */
 @Provider
 @IIIFPresentationBinding
-public class IIIFPresentationResponseFilter implements ContainerResponseFilter {
+public class IIIFPresentationResponseFilter implements ContainerResponseFilter, WriterInterceptor {
 
     public static final String CONTEXT_PRESENTATION_2 = "http://iiif.io/api/presentation/2/context.json";
     public static final String CONTEXT_PRESENTATION_3 = "http://iiif.io/api/presentation/3/context.json";
@@ -77,6 +90,55 @@ public class IIIFPresentationResponseFilter implements ContainerResponseFilter {
             element.addContext(CONTEXT_SEARCH);
         }
 
+        addValidators(request, response);
+    }
+
+    /**
+     * Adds ETag and Last-Modified headers to successful responses if the resource has provided them and replaces the response with 304 if the
+     * request's entity tag precondition is met. The modification date is the same for every licensee of a record, so If-Modified-Since alone
+     * must never produce a 304: a client whose access rights have changed would otherwise keep a manifest built for its previous rights.
+     *
+     * @param request JAX-RS request context
+     * @param response JAX-RS response context
+     */
+    static void addValidators(ContainerRequestContext request, ContainerResponseContext response) {
+        if (response.getStatus() != Response.Status.OK.getStatusCode()
+                || !(request.getProperty(FilterTools.ATTRIBUTE_ETAG) instanceof String etagValue)
+                || !(request.getProperty(FilterTools.ATTRIBUTE_LAST_MODIFIED) instanceof Long lastModifiedValue)) {
+            return;
+        }
+        EntityTag etag = new EntityTag(etagValue);
+        Date lastModified = new Date(lastModifiedValue);
+        response.getHeaders().putSingle(HttpHeaders.ETAG, etag);
+        response.getHeaders().putSingle(HttpHeaders.LAST_MODIFIED, lastModified);
+        // Manifests depend on the client's access permissions, so shared caches must not store them and clients must revalidate
+        response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod())) {
+            ResponseBuilder builder = request.getRequest().evaluatePreconditions(etag);
+            if (builder != null && builder.build().getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                response.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+                response.setEntity(null);
+                response.getHeaders().remove(NetTools.HTTP_HEADER_CONTENT_TYPE);
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @should report number of written bytes to size listener
+     * @should write entity unchanged without size listener
+     */
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        if (!(context.getProperty(FilterTools.ATTRIBUTE_SIZE_LISTENER) instanceof LongConsumer listener)) {
+            context.proceed();
+            return;
+        }
+        CountingOutputStream out = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(out);
+        context.proceed();
+        listener.accept(out.getByteCount());
     }
 
     /**
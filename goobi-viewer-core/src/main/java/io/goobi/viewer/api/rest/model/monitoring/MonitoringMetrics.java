@@ -0,0 +1,54 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.api.rest.model.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Data transfer object holding runtime metrics of the Goobi viewer, such as queue depths and cache counters, grouped by the component reporting
+ * them.
+ */
+public class MonitoringMetrics {
+
+    public static final String KEY_CMS_SNAPSHOT = "cmsSnapshot";
+    public static final String KEY_DATA_REPOSITORY_CACHE = "dataRepositoryCache";
+    public static final String KEY_SEARCH_HIT_HYDRATION = "searchHitHydration";
+    public static final String KEY_USAGE_STATISTICS = "usageStatistics";
+
+    private final Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+
+    /**
+     * Returns the metrics section of the given component, creating it if necessary.
+     *
+     * @param key name of the reporting component
+     * @return mutable map of metric names to values
+     */
+    public Map<String, Object> getSection(String key) {
+        return metrics.computeIfAbsent(key, k -> new LinkedHashMap<>());
+    }
+
+    
+    public Map<String, Map<String, Object>> getMetrics() {
+        return metrics;
+    }
+}
@@ -21,19 +21,23 @@
  */
 package io.goobi.viewer.api.rest.resourcebuilders;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -42,6 +46,9 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
@@ -97,6 +104,11 @@ public class TextResourceBuilder {
 
     private static final String EXCEPTION_NO_DOCUMENT_FOUND = "No document found with pi ";
 
+    private static final String REGEX_ALTO_EXTENSION = "(?i)\\.(alto|xml)";
+
+    /** Orders page files by file name regardless of the folder they were found in. */
+    private static final Comparator<java.nio.file.Path> FILE_NAME_COMPARATOR = Comparator.comparing(p -> p.getFileName().toString());
+
     /**
      * Zero-arg constructor.
      */
@@ -105,117 +117,56 @@ public class TextResourceBuilder {
     }
 
     /**
-     * Aggregate plain-text endpoint: concatenates the plain-text representation of every page of
-     * a record. Guarded against OOM via {@link Configuration#getMaxAggregateFulltextSize()}.
+     * Aggregate plain-text endpoint: streams the plain-text representation of every page of a record in page order. Pages are read (and
+     * converted from ALTO where no plaintext exists) one at a time while writing, so memory use does not depend on the size of the record.
      *
-     * @should throw IllegalRequestException if aggregate fulltext size exceeds limit
+     * @param pi persistent identifier of the work
+     * @param request {@link HttpServletRequest}
+     * @return {@link StreamingOutput}
      */
-    public String getFulltext(String pi, HttpServletRequest request)
-            throws IOException, PresentationException, IndexUnreachableException, IllegalRequestException {
-        Map<Path, String> map = this.getFulltextMap(pi, request);
-
-        // Cap aggregate response size to avoid OOM on very large works (same failure mode as
-        // getAltoDocument). We use length()*2 as a conservative UTF-16 byte upper bound for the
-        // in-heap cost (Java compact-strings may store as Latin-1, but the OOM-relevant peak is
-        // the UTF-16 size).
-        long limit = DataManager.getInstance().getConfiguration().getMaxAggregateFulltextSize();
-        long total = sumStringSizesOrThrow(pi, map.values(), limit, "plaintext.zip");
-
-        // 16L (not 16): keep the subtraction in long arithmetic so Math.min has two long operands.
-        // Result never overflows numerically (MAX_VALUE - 16 fits in int), but the long literal
-        // silences Sonar S2184 without changing semantics — the surrounding (int) cast is safe
-        // because Math.min caps the value at Integer.MAX_VALUE - 16L.
-        StringBuilder sb = new StringBuilder((int) Math.min(total, Integer.MAX_VALUE - 16L));
-        for (String pageText : map.values()) {
-            sb.append(pageText).append("\n\n");
-        }
-        // .trim() removed (peak-heap doubler on multi-MB strings).
-        return sb.toString();
+    public StreamingOutput getFulltextAsStream(String pi, HttpServletRequest request) {
+        Collection<java.nio.file.Path> sources = getFulltextSourceMap(pi, request).values();
+        return out -> writeFulltext(sources, out);
     }
 
     /**
-     * String-list counterpart to {@link #sumFileSizesOrThrow(String, List, long, String)}: sums
-     * an UTF-16 byte upper bound (length() * 2 + 4 for the {@code "\n\n"} separator) and throws
-     * if the running total exceeds the limit.
+     * Writes the text of the given pages, separated by blank lines.
      *
-     * Package-private for direct unit testing.
-     *
-     * @param pi persistent identifier (used only in the error message)
-     * @param pages page-text Strings to sum
-     * @param limit maximum allowed total bytes
-     * @param zipFallback short suffix of the streaming alternative endpoint, e.g.
-     *            {@code "plaintext.zip"}
-     * @return total in bytes if the limit was not exceeded
-     * @throws IllegalRequestException if the running total exceeds {@code limit}
-     * @should throw IllegalRequestException when sum exceeds limit
-     * @should return total when sum stays within limit
+     * @param sources Plaintext or ALTO files of the pages in page order
+     * @param out Target stream
+     * @throws IOException
+     * @should write text of all pages in order
      */
-    static long sumStringSizesOrThrow(String pi, java.util.Collection<String> pages, long limit, String zipFallback)
-            throws IllegalRequestException {
-        long total = 0;
-        for (String page : pages) {
-            total += (long) page.length() * 2 + 4;   // *2 for UTF-16, +4 for "\n\n" separator
-            if (total > limit) {
-                throw new IllegalRequestException(String.format(
-                        "Aggregate text size for record %s exceeds the configured limit of %d bytes (%d pages)."
-                                + " Use /api/v1/records/%s/%s instead.",
-                        pi, limit, pages.size(), pi, zipFallback));
+    static void writeFulltext(Collection<java.nio.file.Path> sources, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (java.nio.file.Path source : sources) {
+            String text = readFulltext(source);
+            if (text != null) {
+                writer.write(text);
+                writer.write("\n\n");
             }
         }
-        return total;
+        writer.flush();
     }
 
     /**
      *
      * @param pi persistent identifier of the work
      * @param request {@link HttpServletRequest}
-     * @return {@link StreamingOutput}
-     * @throws IOException
-     * @throws PresentationException
-     * @throws IndexUnreachableException
-     * @throws ContentLibException
+     * @return {@link StreamingOutput} writing one text file per page into a zip archive
+     * @throws ContentNotFoundException
      * @should throw ContentNotFoundException if no fulltext files found
      */
-    public StreamingOutput getFulltextAsZip(String pi, HttpServletRequest request)
-            throws IOException, PresentationException, IndexUnreachableException, ContentLibException {
+    public StreamingOutput getFulltextAsZip(String pi, HttpServletRequest request) throws ContentNotFoundException {
         logger.trace("getFulltextAsZip: {}", pi);
-        String filename = pi + "_plaintext.zip";
-        //        String foldername = DataManager.getInstance().getConfiguration().getFulltextFolder();
-        //        String crowdsourcingFolderName = DataManager.getInstance().getConfiguration().getFulltextCrowdsourcingFolder();
-        //        List<Path> files = getFiles(pi, foldername, crowdsourcingFolderName, null);
-        //        if (files.isEmpty()) {
-        // Fallback if no plaintext files found
-        File tempFolder = new File(DataManager.getInstance().getConfiguration().getTempFolder(), pi + "_fulltext_" + System.currentTimeMillis());
-        tempFolder.mkdir();
-        Map<Path, String> map = this.getFulltextMap(pi, request);
-        List<Path> tempFiles = new ArrayList<>();
-        for (Entry<Path, String> entry : map.entrySet()) {
-            String text = entry.getValue();
-            File tempFile = new File(tempFolder, FilenameUtils.getBaseName(entry.getKey().getFileName().toString()) + ".txt");
-            FileUtils.write(tempFile, text, StandardCharsets.UTF_8.name());
-            tempFiles.add(tempFile.toPath());
-        }
-        tempFiles.sort((f1, f2) -> f1.getFileName().toString().compareTo(f2.getFileName().toString()));
+        Map<java.nio.file.Path, java.nio.file.Path> sources = getFulltextSourceMap(pi, request);
 
-        // Return 404 if no fulltext files exist for this record instead of letting
-        // FileTools.compressZipFile throw an IllegalArgumentException
-        if (tempFiles.isEmpty()) {
+        // Return 404 if no fulltext files exist for this record instead of writing an empty archive
+        if (sources.isEmpty()) {
             throw new ContentNotFoundException("No fulltext files found for record " + pi);
         }
 
-        try {
-            return writeZipFile(tempFiles, filename);
-        } finally {
-            tempFiles.forEach(file -> {
-                try {
-                    Files.deleteIfExists(file);
-                } catch (IOException e) {
-                    logger.error("Error deleting temporary file {}", file);
-                }
-            });
-            Files.deleteIfExists(tempFolder.toPath());
-        }
-
+        return out -> writeZip(sources, ".txt", (fileName, text) -> text, out);
     }
 
     public StreamingOutput getAltoAsZip(String pi, HttpServletRequest request)
@@ -422,8 +373,8 @@ public class TextResourceBuilder {
                 throw new ContentNotFoundException(EXCEPTION_NO_DOCUMENT_FOUND + pi);
             }
 
-            Map<java.nio.file.Path, String> fulltexts = getFulltextMap(pi, request);
-            if (fulltexts.isEmpty()) {
+            Map<java.nio.file.Path, java.nio.file.Path> sources = getFulltextSourceMap(pi, request);
+            if (sources.isEmpty()) {
                 throw new ContentNotFoundException(StringConstants.EXCEPTION_RESOURCE_NOT_FOUND);
             }
 
@@ -431,11 +382,14 @@ public class TextResourceBuilder {
             TEIHeaderBuilder header = createTEIHeader(solrDoc);
             HtmlToTEIConvert textConverter = new HtmlToTEIConvert();
             try {
-                List<String> pages = fulltexts.entrySet()
-                        .stream()
-                        .sorted(Comparator.comparing(Map.Entry::getKey))
-                        .map(entry -> convert(textConverter, entry.getValue(), entry.getKey().toString()))
-                        .toList();
+                // Only the converted pages are kept; the raw page texts are read one at a time
+                List<String> pages = new ArrayList<>(sources.size());
+                for (Entry<java.nio.file.Path, java.nio.file.Path> entry : sources.entrySet()) {
+                    String text = readFulltext(entry.getValue());
+                    if (text != null) {
+                        pages.add(convert(textConverter, text, entry.getKey().toString()));
+                    }
+                }
 
                 Document xmlDoc = builder.build(header, pages);
                 return DocumentReader.getAsString(xmlDoc, Format.getPrettyFormat());
@@ -481,35 +435,23 @@ public class TextResourceBuilder {
             throw new ContentNotFoundException(EXCEPTION_NO_DOCUMENT_FOUND + pi);
         }
 
-        Map<java.nio.file.Path, String> fulltexts = getFulltextMap(pi, request);
-        if (fulltexts.isEmpty()) {
+        Map<java.nio.file.Path, java.nio.file.Path> sources = getFulltextSourceMap(pi, request);
+        if (sources.isEmpty()) {
             throw new ContentNotFoundException(StringConstants.EXCEPTION_RESOURCE_NOT_FOUND);
         }
 
         TEIBuilder builder = new TEIBuilder();
         TEIHeaderBuilder header = createTEIHeader(solrDoc);
         HtmlToTEIConvert textConverter = new HtmlToTEIConvert();
-        Map<java.nio.file.Path, String> teis = new LinkedHashMap<>();
 
-        try {
-            for (Entry<Path, String> entry : fulltexts.entrySet()) {
-                String filename = entry.getKey().getFileName().toString();
-                filename = FilenameUtils.removeExtension(filename) + ".xml";
-                String content = entry.getValue();
-                content = convert(textConverter, content, filename);
-                Document xmlDoc;
-                xmlDoc = builder.build(header, content);
-                String tei = DocumentReader.getAsString(xmlDoc, Format.getPrettyFormat());
-                teis.put(Paths.get(filename), tei);
+        // Pages are converted one at a time while the archive is written
+        return out -> writeZip(sources, ".xml", (fileName, text) -> {
+            try {
+                return DocumentReader.getAsString(builder.build(header, convert(textConverter, text, fileName)), Format.getPrettyFormat());
+            } catch (JDOMException | UncheckedPresentationException e) {
+                throw new IOException("Unable to convert " + fileName + " of " + pi + " to TEI", e);
             }
-            String filename = pi + "_tei.zip";
-            return writeZipFile(teis, filename);
-        } catch (JDOMException e) {
-            throw new ContentLibException("Unable to parse xml from tei content in " + pi, e);
-        } catch (UncheckedPresentationException e) {
-            throw new ContentLibException(e);
-        }
-
+        }, out);
     }
 
     /**
@@ -612,63 +554,111 @@ public class TextResourceBuilder {
      */
     public Map<java.nio.file.Path, String> getFulltextMap(String pi, HttpServletRequest request)
             throws IOException, PresentationException, IndexUnreachableException {
-        Map<java.nio.file.Path, String> ret = new TreeMap<>();
+        Map<java.nio.file.Path, String> ret = new TreeMap<>(FILE_NAME_COMPARATOR);
+        for (Entry<java.nio.file.Path, java.nio.file.Path> entry : getFulltextSourceMap(pi, request).entrySet()) {
+            String text = readFulltext(entry.getValue());
+            if (text != null) {
+                ret.put(entry.getKey(), text);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Collects the accessible full-text sources of all pages without reading them. Priority is given to plaintext files; pages without
+     * plaintext are filled in with their ALTO files, which {@link #readFulltext(java.nio.file.Path)} converts. Access conditions are checked
+     * for all files in one batch.
+     *
+     * @param pi persistent identifier of the work
+     * @param request current HTTP servlet request for access checking
+     * @return map of plaintext page file paths to the plaintext or ALTO file containing the text, ordered by file name
+     */
+    Map<java.nio.file.Path, java.nio.file.Path> getFulltextSourceMap(String pi, HttpServletRequest request) {
+        Map<java.nio.file.Path, java.nio.file.Path> ret = new TreeMap<>(FILE_NAME_COMPARATOR);
         // Replaced filesystem iteration with single Solr batch query for fulltext files.
         List<java.nio.file.Path> fulltextFiles = getFilesFromSolr(pi, SolrConstants.FILENAME_FULLTEXT,
                 DataManager.getInstance().getConfiguration().getFulltextCrowdsourcingFolder(),
                 DataManager.getInstance().getConfiguration().getFulltextFolder(), request);
 
-        Map<java.nio.file.Path, String> fileMapFromPlaintext = null;
+        // Add plaintext files first to know which pages already have text
+        final Set<String> fileNames = new HashSet<>();
         if (!fulltextFiles.isEmpty()) {
             logger.debug("{}: Collecting {} plaintext files from {}", pi, fulltextFiles.size(),
                     fulltextFiles.get(0).getParent().toAbsolutePath());
-            fileMapFromPlaintext = fulltextFiles.stream().collect(Collectors.toMap(p -> p, p -> {
-                try {
-                    return FileTools.getStringFromFile(p.toFile(), StringTools.DEFAULT_ENCODING);
-                } catch (IOException e) {
-                    logger.error("Error reading file {}", p, e);
-                    return "";
-                }
-            }));
-        }
-
-        // Add collected plaintext files first to know which pages already have text
-        final Set<String> fileNames = new HashSet<>();
-        if (fileMapFromPlaintext != null && !fileMapFromPlaintext.isEmpty()) {
-            for (Entry<Path, String> entry : fileMapFromPlaintext.entrySet()) {
-                ret.put(entry.getKey(), entry.getValue());
-                fileNames.add(entry.getKey().getFileName().toString());
-                logger.trace("Added {} from plain text", entry.getKey());
+            for (java.nio.file.Path p : fulltextFiles) {
+                ret.put(p, p);
+                fileNames.add(p.getFileName().toString());
             }
         }
 
-        // Only parse ALTO files for pages that have no plaintext yet (skip expensive XML parsing for pages with existing plaintext)
+        // Only use ALTO files for pages that have no plaintext (skip expensive XML parsing for pages with existing plaintext)
         List<java.nio.file.Path> altoFiles = getFilesFromSolr(pi, SolrConstants.FILENAME_ALTO,
                 DataManager.getInstance().getConfiguration().getAltoFolder(),
                 DataManager.getInstance().getConfiguration().getAltoFolder(), request);
-        if (!altoFiles.isEmpty()) {
-            // Filter out ALTO files for which plaintext already exists before parsing
-            List<java.nio.file.Path> altoFilesToConvert = altoFiles.stream()
-                    .filter(p -> {
-                        String txtName = p.getFileName().toString().replaceAll("(?i)\\.(alto|xml)", ".txt");
-                        return !fileNames.contains(txtName);
-                    })
-                    .toList();
-            logger.debug("{}: {} ALTO files found, {} need conversion ({} skipped due to existing plaintext)",
-                    pi, altoFiles.size(), altoFilesToConvert.size(), altoFiles.size() - altoFilesToConvert.size());
-            altoFilesToConvert.forEach(p -> {
-                        try {
-                            String text = ALTOTools.getFulltext(p, StringTools.DEFAULT_ENCODING);
-                            ret.put(Paths.get(p.toString().replaceAll("(?i)\\.(alto|xml)", ".txt")), text);
-                        } catch (IOException e) {
-                            logger.error("Error reading file {}", p, e);
-                        }
-                    });
+        int converted = 0;
+        for (java.nio.file.Path p : altoFiles) {
+            String txtName = p.getFileName().toString().replaceAll(REGEX_ALTO_EXTENSION, ".txt");
+            if (!fileNames.contains(txtName)) {
+                ret.put(Paths.get(p.toString().replaceAll(REGEX_ALTO_EXTENSION, ".txt")), p);
+                converted++;
+            }
         }
+        logger.debug("{}: {} ALTO files found, {} need conversion ({} skipped due to existing plaintext)",
+                pi, altoFiles.size(), converted, altoFiles.size() - converted);
 
         return ret;
     }
 
+    /**
+     * Reads the text of a single page from the given plaintext file or converts it from the given ALTO file.
+     *
+     * @param file Plaintext or ALTO file
+     * @return Page text; null if the file cannot be read
+     * @should read plaintext file
+     * @should convert alto file
+     */
+    static String readFulltext(java.nio.file.Path file) {
+        try {
+            if (file.getFileName().toString().matches(".*" + REGEX_ALTO_EXTENSION)) {
+                return ALTOTools.getFulltext(file, StringTools.DEFAULT_ENCODING);
+            }
+            return FileTools.getStringFromFile(file.toFile(), StringTools.DEFAULT_ENCODING);
+        } catch (IOException e) {
+            logger.error("Error reading file {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes one zip entry per page, reading and converting each page only when its entry is written.
+     *
+     * @param sources Map of plaintext page file paths to the plaintext or ALTO file containing the text
+     * @param extension File extension of the entries
+     * @param converter Converts the text of a page into the entry content
+     * @param out Target stream
+     * @throws IOException
+     * @should write one entry per page
+     */
+    static void writeZip(Map<java.nio.file.Path, java.nio.file.Path> sources, String extension, PageConverter converter, OutputStream out)
+            throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        zip.setLevel(Deflater.BEST_COMPRESSION);
+        for (Entry<java.nio.file.Path, java.nio.file.Path> entry : sources.entrySet()) {
+            String text = readFulltext(entry.getValue());
+            if (text == null) {
+                continue;
+            }
+            String fileName = FilenameUtils.getBaseName(entry.getKey().getFileName().toString()) + extension;
+            zip.putNextEntry(new ZipEntry(fileName));
+            zip.write(converter.convert(fileName, text).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        // Complete the archive without closing the response stream
+        zip.finish();
+        zip.flush();
+    }
+
     /**
      * Fetches the accessible file paths for a record by querying Solr for canonical filenames,
      * evaluating access conditions in memory (one batch Solr query total), and resolving each
@@ -965,42 +955,6 @@ public class TextResourceBuilder {
         return Collections.emptyList();
     }
 
-    /**
-     *
-     * @param contentMap map of file paths to their text content to include in the ZIP
-     * @param filename desired name of the resulting ZIP file
-     * @return {@link StreamingOutput}
-     * @throws ContentLibException
-     */
-    private static StreamingOutput writeZipFile(Map<Path, String> contentMap, String filename) throws ContentLibException {
-        File tempFile = new File(DataManager.getInstance().getConfiguration().getTempFolder(), filename);
-        try {
-            if (!tempFile.getParentFile().exists() && !tempFile.getParentFile().mkdirs()) {
-                throw new ContentLibException("Not allowed to create temp file directory " + tempFile.getParentFile());
-            }
-
-            FileTools.compressZipFile(contentMap, tempFile, 9);
-            return out -> {
-                try (FileInputStream in = new FileInputStream(tempFile)) {
-                    FileTools.copyStream(out, in);
-                    out.flush();
-                    out.close();
-                } catch (IOException e) {
-                    logger.trace(e.getMessage(), e);
-                } finally {
-                    if (tempFile.exists()) {
-                        FileUtils.deleteQuietly(tempFile);
-                    }
-                }
-            };
-        } catch (IOException e) {
-            if (tempFile.exists()) {
-                FileUtils.deleteQuietly(tempFile);
-            }
-            throw new ContentNotFoundException("Resource not found or not accessible", e);
-        }
-    }
-
     /**
      *
      * @param files list of file paths to include in the ZIP
@@ -1052,4 +1006,20 @@ public class TextResourceBuilder {
             throw new UncheckedPresentationException("Error converting the input from " + identifier, e);
         }
     }
+
+    /**
+     * Converts the text of a single page into the content of its zip entry.
+     */
+    @FunctionalInterface
+    interface PageConverter {
+
+        /**
+         *
+         * @param fileName Name of the zip entry
+         * @param text Page text
+         * @return Entry content
+         * @throws IOException
+         */
+        String convert(String fileName, String text) throws IOException;
+    }
 }
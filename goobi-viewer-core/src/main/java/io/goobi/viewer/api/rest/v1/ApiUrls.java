@@ -52,9 +52,11 @@ public class ApiUrls extends AbstractApiUrlManager {
     public static final String INDEX_STATISTICS = "/statistics";
     public static final String INDEX_SPATIAL_HEATMAP = "/spatial/heatmap/{solrField}";
     public static final String INDEX_SPATIAL_SEARCH = "/spatial/search/{solrField}";
+    public static final String INDEX_SPATIAL_TILE = "/spatial/tiles/{solrField}/{zoom}/{x}/{y}";
 
     public static final String MONITORING = "/monitoring";
     public static final String MONITORING_CORE_VERSION = "/version/core";
+    public static final String MONITORING_METRICS = "/metrics";
 
     public static final String RECORDS_RSS = "/records/rss";
     public static final String RECORDS_RSS_JSON = "/channel.json";
@@ -41,6 +41,7 @@ import io.goobi.viewer.api.rest.bindings.AuthorizationBinding;
 import io.goobi.viewer.api.rest.model.IResponseMessage;
 import io.goobi.viewer.api.rest.model.SuccessMessage;
 import io.goobi.viewer.api.rest.v1.ApiUrls;
+import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.model.job.download.PdfDownloadJob;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -132,6 +133,14 @@ public class CacheResource {
 
         // TODO delete all download jobs for all records here?
         new CacheUtils(cacheManager).emptyCache(content, thumbs, pdf);
+        // Access conditions may have changed with the re-indexed records
+        DataManager.getInstance().getAccessPermissionCache().invalidate();
+        DataManager.getInstance().getRssFeedCache().invalidate();
+        DataManager.getInstance().getCalendarYearCache().invalidate();
+        DataManager.getInstance().getGeoMapTileCache().invalidate();
+        DataManager.getInstance().getAutocompleteSuggester().invalidate();
+        DataManager.getInstance().getTocSkeletonCache().invalidate();
+        DataManager.getInstance().getManifestCache().invalidate();
 
         return new SuccessMessage(true, "Cache emptied successfully");
     }
@@ -169,6 +178,15 @@ public class CacheResource {
         }
 
         int deleted = new CacheUtils(cacheManager).deleteFromCache(pi, content, thumbs, pdf);
+        // Access conditions may have changed with the re-indexed record
+        DataManager.getInstance().getAccessPermissionCache().invalidateRecord(pi);
+        // The record may have been added to or removed from any feed, calendar year, map tile or TOC
+        DataManager.getInstance().getRssFeedCache().invalidate();
+        DataManager.getInstance().getCalendarYearCache().invalidate();
+        DataManager.getInstance().getGeoMapTileCache().invalidate();
+        DataManager.getInstance().getAutocompleteSuggester().invalidate();
+        DataManager.getInstance().getTocSkeletonCache().invalidate();
+        DataManager.getInstance().getManifestCache().invalidateRecord(pi);
 
         // Delete download jobs/files
         if (pdf) {
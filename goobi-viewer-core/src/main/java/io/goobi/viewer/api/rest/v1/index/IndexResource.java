@@ -26,9 +26,15 @@ import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_FIELDS;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_QUERY;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_SPATIAL_HEATMAP;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_SPATIAL_SEARCH;
+import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_SPATIAL_TILE;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_STATISTICS;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -50,6 +56,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.response.FacetField;
 import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.client.solrj.response.json.HeatmapJsonFacet;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrException;
 import org.json.JSONArray;
@@ -72,6 +79,9 @@ import io.goobi.viewer.exceptions.ViewerConfigurationException;
 import io.goobi.viewer.messages.ViewerResourceBundle;
 import io.goobi.viewer.model.maps.GeoMapFeature;
 import io.goobi.viewer.model.maps.GeoMapFeatureItem;
+import io.goobi.viewer.model.maps.GeoMapTile;
+import io.goobi.viewer.model.maps.GeoMapTileCache;
+import io.goobi.viewer.model.maps.GeoMapTileCache.TileKey;
 import io.goobi.viewer.model.maps.SolrSearchScope;
 import io.goobi.viewer.model.maps.features.AbstractFeatureDataProvider;
 import io.goobi.viewer.model.maps.features.FeatureGenerator;
@@ -83,6 +93,7 @@ import io.goobi.viewer.model.search.SearchHelper;
 import io.goobi.viewer.model.viewer.StringPair;
 import io.goobi.viewer.servlets.IdentifierResolver;
 import io.goobi.viewer.solr.SolrConstants;
+import io.goobi.viewer.solr.SolrDocumentCursor;
 import io.goobi.viewer.solr.SolrSearchIndex;
 import io.goobi.viewer.solr.SolrTools;
 import io.swagger.v3.oas.annotations.Operation;
@@ -102,6 +113,7 @@ import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.StreamingOutput;
 
 /**
  * REST resource providing search, field information, and statistical queries against the Solr index.
@@ -141,6 +153,20 @@ public class IndexResource {
         cachedFieldInfo = null;
     }
 
+    /**
+     * Number of documents fetched per cursor request and converted per chunk when streaming unlimited query results.
+     */
+    private static volatile int cursorBatchSize = SolrSearchIndex.CURSOR_BATCH_SIZE;
+
+    /**
+     * Test-only hook to lower the cursor batch size so that streaming across several batches can be tested against a small index.
+     *
+     * @param batchSize Number of documents per batch
+     */
+    static void setCursorBatchSizeForTesting(int batchSize) {
+        cursorBatchSize = batchSize;
+    }
+
     //limits of hits per clickable marker. This does not affect the number of total hits found by the heatmap
     private static final int MAX_RECORD_HITS = 50_000;
 
@@ -214,11 +240,12 @@ public class IndexResource {
     /**
      *
      * @param params query parameters including query, sort, facet, and result field configuration
-     * @return Records as JSON
+     * @return Records as JSON; unlimited result sets are streamed to the client batch by batch
      * @throws IndexUnreachableException
      * @throws ViewerConfigurationException
      * @throws DAOException
      * @throws IllegalRequestException
+     * @should stream unlimited results across several cursor batches
      */
     @POST
     @CORSBinding
@@ -231,13 +258,13 @@ public class IndexResource {
     @ApiResponse(responseCode = "200", description = "JSON object with matched documents and optional facets")
     @ApiResponse(responseCode = "400", description = "Illegal query or query parameters")
     @ApiResponse(responseCode = "500", description = "Solr index unreachable")
-    public String getRecordsForQuery(RecordsRequestParameters params)
+    public StreamingOutput getRecordsForQuery(RecordsRequestParameters params)
             throws IndexUnreachableException, ViewerConfigurationException, DAOException, IllegalRequestException {
         JSONObject ret = new JSONObject();
         if (params == null || params.getQuery() == null) {
             ret.put("status", HttpServletResponse.SC_BAD_REQUEST);
             ret.put("message", "Invalid JSON request object");
-            return ret.toString();
+            return asStreamingOutput(ret);
         }
 
         String query = SearchHelper.buildFinalQuery(params.getQuery(), params.isBoostTopLevelDocstructs(),
@@ -246,8 +273,12 @@ public class IndexResource {
         logger.trace("query: {}", query);
 
         int count = params.getCount();
+        // Unlimited requests without offset, randomization or expanded child hits are paged via cursorMark instead of requesting a
+        // single huge response from Solr. The date centric format groups across the whole result list and cannot be written per batch.
+        boolean useCursor = count < 0 && params.getOffset() == 0 && !params.isRandomize() && !params.isIncludeChildHits()
+                && !"datecentric".equals(params.getJsonFormat());
         if (count < 0) {
-            count = SolrSearchIndex.MAX_HITS;
+            count = useCursor ? 0 : SolrSearchIndex.MAX_HITS;
         }
 
         List<StringPair> sortFieldList = new ArrayList<>();
@@ -308,13 +339,21 @@ public class IndexResource {
                     DataManager.getInstance()
                             .getSearchIndex()
                             .search(query, params.getOffset(), count, sortFieldList, facetFields, fieldList, null, paramMap);
+            if (useCursor) {
+                // The query above only delivered numFound and facets; the documents are written to the response one batch at a time
+                SolrDocumentCursor cursor =
+                        DataManager.getInstance().getSearchIndex().openCursor(query, sortFieldList, fieldList, null, cursorBatchSize);
+                long numFound = response.getResults().getNumFound();
+                JSONArray facets = getFacetResults(response).orElse(null);
+                return out -> writeCursorResults(params, cursor, numFound, facets, out);
+            }
 
             JSONObject object = new JSONObject();
             object.put("numFound", response.getResults().getNumFound());
-            object.put("docs", getQueryResults(params, response));
+            object.put("docs", getQueryResults(params, response.getResults(), response.getExpandedResults()));
             getFacetResults(response).ifPresent(facets -> object.put("facets", facets));
 
-            return object.toString();
+            return asStreamingOutput(object);
         } catch (PresentationException e) {
             throw new IllegalRequestException(e.getMessage());
         }
@@ -413,32 +452,12 @@ public class IndexResource {
         }
         servletResponse.addHeader("Cache-Control", "max-age=300");
 
-        // Clean the user query, preserving a whitelisted "{!join ...}" prefix. A leading Solr
-        // local param must stay at the very start of the query string, so the query must NOT be
-        // wrapped in "+(...)" — doing so turns "{!join ...}" into an embedded (illegal) local
-        // param and Solr rejects it with a 400. When query is blank (e.g. ?query=), default to
-        // "*:*" to avoid an empty main query.
-        String mainQuery = SolrTools.cleanUpQuery(
-                StringTools.unescapeCriticalUrlChracters(
-                        org.apache.commons.lang3.StringUtils.isBlank(filterQuery) ? "*:*" : filterQuery));
-
-        // Exclude polygon docs (otherwise the heatmap saturates) and enforce the access-condition
-        // suffix as a *filter query*. Applying these as a filter rather than concatenating them
-        // into the main query means the constraint holds even when mainQuery is a "{!join ...}",
-        // which closes the GVC-2026-25 bypass: the previous "{!join"-prefix branch skipped
-        // getAllSuffixes entirely, letting an unauthenticated caller read across access conditions.
-        // Any user facetQuery is ANDed in as a further filter clause; getHeatMap() runs
-        // cleanUpQuery over the whole filter string.
-        StringBuilder resultFilter = new StringBuilder()
-                .append("+(*:* -MD_GEOJSON_POLYGON:* -MD_GPS_POLYGON:*)")
-                .append(SearchHelper.getAllSuffixes(servletRequest, true, true));
-        if (org.apache.commons.lang3.StringUtils.isNotBlank(facetQuery)) {
-            resultFilter.append(" +(").append(facetQuery).append(')');
-        }
+        String mainQuery = buildHeatmapQuery(filterQuery);
+        String resultFilter = buildHeatmapFilterQuery(facetQuery);
         try {
             return DataManager.getInstance()
                     .getSearchIndex()
-                    .getHeatMap(solrField, wktRegion, mainQuery, resultFilter.toString(), gridLevel);
+                    .getHeatMap(solrField, wktRegion, mainQuery, resultFilter, gridLevel);
         } catch (IllegalArgumentException e) {
             // HeatmapFacetMap.setGridLevel() throws IllegalArgumentException for out-of-range values
             throw new IllegalRequestException("Invalid heatmap parameters: " + e.getMessage());
@@ -457,6 +476,121 @@ public class IndexResource {
 
     }
 
+    /**
+     * Returns the documents within a single z/x/y map tile as clustered GeoJSON points. The clusters are computed from a Solr heatmap facet, so
+     * the number of returned features only depends on the tile size, never on the number of matching documents. Tiles are cached per query and
+     * access condition suffix in the {@link GeoMapTileCache}.
+     *
+     * @param solrField Solr field containing spatial coordinate data
+     * @param zoom Tile zoom level
+     * @param x Tile column
+     * @param y Tile row
+     * @param filterQuery additional Solr query to filter results
+     * @param facetQuery facetting expression applied to the results
+     * @return GeoJSON feature collection as {@link String}
+     * @throws IndexUnreachableException
+     * @throws IllegalRequestException
+     * @throws ContentNotFoundException
+     * @should return 400 when tile out of range
+     */
+    @GET
+    @Path(INDEX_SPATIAL_TILE)
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Returns the geospatial search results within a map tile as clustered GeoJson points", tags = { "index" })
+    @ApiResponse(responseCode = "200", description = "GeoJSON feature collection with one point per cluster, the size of which is given in"
+            + " the 'count' property")
+    @ApiResponse(responseCode = "400", description = "Invalid tile coordinates, Solr field name format or query syntax")
+    @ApiResponse(responseCode = "404", description = "Solr field not found in index")
+    @ApiResponse(responseCode = "500", description = "Solr index unreachable")
+    public String getClusteredTile(
+            @Parameter(description = "Solr field containing spatial coordinates",
+                    schema = @Schema(pattern = "^[A-Za-z_][A-Za-z0-9_]*$")) @PathParam("solrField") String solrField,
+            @Parameter(description = "Zoom level (0-" + GeoMapTile.MAX_ZOOM + ")") @PathParam("zoom") int zoom,
+            @Parameter(description = "Tile column") @PathParam("x") int x,
+            @Parameter(description = "Tile row, counted from the north") @PathParam("y") int y,
+            @Parameter(description = "Additional query to filter results by",
+                    schema = @Schema(pattern = "^[ -~]*$")) @QueryParam("query") @DefaultValue("*:*") String filterQuery,
+            @Parameter(description = "Facetting to be applied to results",
+                    schema = @Schema(pattern = "^[ -~]*$")) @QueryParam("facetQuery") @DefaultValue("") String facetQuery)
+            throws IndexUnreachableException, IllegalRequestException, ContentNotFoundException {
+        if (solrField == null || !solrField.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalRequestException("Not a valid Solr field name: " + solrField);
+        }
+        GeoMapTile tile;
+        try {
+            tile = new GeoMapTile(zoom, x, y);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalRequestException(e.getMessage());
+        }
+        servletResponse.addHeader("Cache-Control", "max-age=300");
+
+        String mainQuery = buildHeatmapQuery(filterQuery);
+        String resultFilter = buildHeatmapFilterQuery(facetQuery);
+        TileKey key = new TileKey(solrField, mainQuery, resultFilter, tile);
+        GeoMapTileCache cache = DataManager.getInstance().getGeoMapTileCache();
+        String ret = cache.get(key);
+        if (ret != null) {
+            return ret;
+        }
+        try {
+            HeatmapJsonFacet heatmap = DataManager.getInstance()
+                    .getSearchIndex()
+                    .getHeatMapFacet(solrField, tile.getWktRegion(), mainQuery, resultFilter, null, GeoMapTile.DIST_ERR_PCT);
+            if (heatmap == null) {
+                ret = tile.createClusters(null, 0, 0, 0, 0, 0, 0);
+            } else {
+                ret = tile.createClusters(heatmap.getCountGrid(), heatmap.getNumColumns(), heatmap.getNumRows(), heatmap.getMinX(),
+                        heatmap.getMaxX(), heatmap.getMinY(), heatmap.getMaxY());
+            }
+        } catch (IndexUnreachableException e) {
+            if (SolrTools.isQuerySyntaxError(e)) {
+                if (e.getMessage() != null
+                        && (e.getMessage().contains("undefined field") || e.getMessage().contains("field can't be found"))) {
+                    throw new ContentNotFoundException("Solr field not found in index: " + solrField);
+                }
+                throw new IllegalRequestException("Invalid Solr field or query: " + e.getMessage());
+            }
+            throw e;
+        }
+        cache.put(key, ret);
+
+        return ret;
+    }
+
+    /**
+     * Cleans the user query, preserving a whitelisted "{!join ...}" prefix. A leading Solr local param must stay at the very start of the query
+     * string, so the query must NOT be wrapped in "+(...)" — doing so turns "{!join ...}" into an embedded (illegal) local param and Solr
+     * rejects it with a 400. When query is blank (e.g. ?query=), defaults to "*:*" to avoid an empty main query.
+     *
+     * @param filterQuery Query parameter value
+     * @return Main query for heatmap facets
+     */
+    private static String buildHeatmapQuery(String filterQuery) {
+        return SolrTools.cleanUpQuery(
+                StringTools.unescapeCriticalUrlChracters(
+                        org.apache.commons.lang3.StringUtils.isBlank(filterQuery) ? "*:*" : filterQuery));
+    }
+
+    /**
+     * Excludes polygon docs (otherwise the heatmap saturates) and enforces the access-condition suffix as a *filter query*. Applying these as a
+     * filter rather than concatenating them into the main query means the constraint holds even when the main query is a "{!join ...}", which
+     * closes the GVC-2026-25 bypass: the previous "{!join"-prefix branch skipped getAllSuffixes entirely, letting an unauthenticated caller read
+     * across access conditions. Any user facetQuery is ANDed in as a further filter clause; getHeatMap() runs cleanUpQuery over the whole filter
+     * string.
+     *
+     * @param facetQuery Facet query parameter value
+     * @return Filter query for heatmap facets
+     */
+    private String buildHeatmapFilterQuery(String facetQuery) {
+        StringBuilder resultFilter = new StringBuilder()
+                .append("+(*:* -MD_GEOJSON_POLYGON:* -MD_GPS_POLYGON:*)")
+                .append(SearchHelper.getAllSuffixes(servletRequest, true, true));
+        if (org.apache.commons.lang3.StringUtils.isNotBlank(facetQuery)) {
+            resultFilter.append(" +(").append(facetQuery).append(')');
+        }
+        return resultFilter.toString();
+    }
+
     @GET
     @Path(INDEX_SPATIAL_SEARCH)
     @Produces({ MediaType.APPLICATION_JSON })
@@ -650,20 +784,75 @@ public class IndexResource {
         return Optional.empty();
     }
 
+    /**
+     * Writes the documents of the given cursor as a JSON object with the same structure as the non-streamed response. Documents are converted
+     * and written per batch, so only one batch is held in memory at a time.
+     *
+     * @param params request parameters
+     * @param cursor cursor over the matching documents
+     * @param numFound total number of hits
+     * @param facets facet results; may be null
+     * @param out response stream
+     * @throws IOException if writing fails or Solr cannot deliver a batch
+     */
+    private void writeCursorResults(RecordsRequestParameters params, SolrDocumentCursor cursor, long numFound, JSONArray facets,
+            OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write("{\"numFound\":" + numFound + ",\"docs\":[");
+        try {
+            boolean first = true;
+            SolrDocumentList batch = new SolrDocumentList();
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= cursor.getBatchSize() || !cursor.hasNext()) {
+                    JSONArray jsonArray = getQueryResults(params, batch, null);
+                    for (int i = 0; i < jsonArray.length(); i++) {
+                        if (!first) {
+                            writer.write(',');
+                        }
+                        jsonArray.getJSONObject(i).write(writer);
+                        first = false;
+                    }
+                    batch.clear();
+                }
+            }
+        } catch (PresentationException | IndexUnreachableException | DAOException | ViewerConfigurationException e) {
+            // The response has already been committed at this point, so the client receives a truncated document
+            logger.error("Streaming query results failed: {}", e.getMessage());
+            throw new IOException(e.getMessage(), e);
+        }
+        writer.write(']');
+        if (facets != null) {
+            writer.write(",\"facets\":");
+            facets.write(writer);
+        }
+        writer.write('}');
+        writer.flush();
+    }
+
+    /**
+     *
+     * @param json JSON object to write
+     * @return {@link StreamingOutput} writing the given object as UTF-8
+     */
+    private static StreamingOutput asStreamingOutput(JSONObject json) {
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        return out -> out.write(bytes);
+    }
+
     /**
      *
      * @param params original request parameters controlling output format and language
-     * @param response Solr query response containing matched documents
+     * @param result matched documents
+     * @param expanded expanded child documents per group; may be null
      * @return {@link JSONArray} with query results
      * @throws IndexUnreachableException
      * @throws PresentationException
      * @throws DAOException
      * @throws ViewerConfigurationException
      */
-    private JSONArray getQueryResults(RecordsRequestParameters params, QueryResponse response)
+    private JSONArray getQueryResults(RecordsRequestParameters params, SolrDocumentList result, Map<String, SolrDocumentList> expanded)
             throws IndexUnreachableException, PresentationException, DAOException, ViewerConfigurationException {
-        SolrDocumentList result = response.getResults();
-        Map<String, SolrDocumentList> expanded = response.getExpandedResults();
         logger.trace("hits: {}", result.size());
         JSONArray jsonArray = null;
         if (params.getJsonFormat() != null) {
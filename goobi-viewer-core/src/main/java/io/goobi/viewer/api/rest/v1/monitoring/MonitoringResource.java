@@ -34,13 +34,18 @@ import de.unigoettingen.sub.commons.contentlib.exceptions.ContentNotFoundExcepti
 import de.unigoettingen.sub.commons.contentlib.servlet.model.ApplicationInfo;
 import de.unigoettingen.sub.commons.contentlib.servlet.rest.ApplicationResource;
 import io.goobi.viewer.Version;
+import io.goobi.viewer.api.rest.model.monitoring.MonitoringMetrics;
 import io.goobi.viewer.api.rest.model.monitoring.MonitoringStatus;
 import io.goobi.viewer.api.rest.v1.ApiUrls;
 import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.controller.JsonTools;
 import io.goobi.viewer.controller.mq.MessageQueueManager;
 import io.goobi.viewer.exceptions.DAOException;
+import io.goobi.viewer.model.cms.CMSSnapshotCache;
+import io.goobi.viewer.model.search.SearchHitHydrationMetrics;
+import io.goobi.viewer.model.statistics.usage.UsageStatisticsRecorder;
 import io.goobi.viewer.modules.IModule;
+import io.goobi.viewer.solr.DataRepositoryCache;
 import io.goobi.viewer.solr.SolrTools;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -152,6 +157,92 @@ public class MonitoringResource {
         return ret;
     }
 
+    /**
+     * @return {@link MonitoringMetrics} as JSON
+     * @should return usage statistics metrics if recorder exists
+     * @should omit usage statistics if recorder does not exist
+     * @should return cms snapshot cache counters
+     * @should return data repository cache counters
+     * @should return search hit hydration stage times
+     */
+    @GET
+    @Path(ApiUrls.MONITORING_METRICS)
+    @Produces({ MediaType.APPLICATION_JSON })
+    @Operation(summary = "Reports runtime metrics such as pending usage statistics and cache counters", tags = { "monitoring" })
+    @ApiResponse(responseCode = "200", description = "Metrics grouped by reporting component. Components which have not been used yet are omitted")
+    public MonitoringMetrics getMetrics() {
+        MonitoringMetrics ret = new MonitoringMetrics();
+
+        // Usage statistics; the recorder is not created just for reporting its metrics
+        DataManager.getInstance()
+                .getExistingUsageStatisticsRecorder()
+                .ifPresent(recorder -> addUsageStatisticsMetrics(ret.getSection(MonitoringMetrics.KEY_USAGE_STATISTICS), recorder));
+
+        // CMS page path snapshot
+        addCmsSnapshotMetrics(ret.getSection(MonitoringMetrics.KEY_CMS_SNAPSHOT), DataManager.getInstance().getCmsSnapshotCache());
+
+        // Data repository names of records
+        addDataRepositoryMetrics(ret.getSection(MonitoringMetrics.KEY_DATA_REPOSITORY_CACHE),
+                DataManager.getInstance().getSearchIndex().getDataRepositoryCache());
+
+        // Prefetching for search result pages
+        addSearchHitHydrationMetrics(ret.getSection(MonitoringMetrics.KEY_SEARCH_HIT_HYDRATION),
+                DataManager.getInstance().getSearchHitHydrationMetrics());
+
+        return ret;
+    }
+
+    /**
+     * 
+     * @param section metrics section to populate
+     * @param metrics hydration statistics to report
+     */
+    private static void addSearchHitHydrationMetrics(Map<String, Object> section, SearchHitHydrationMetrics metrics) {
+        section.put("hydrations", metrics.getHydrationCount());
+        section.put("totalStageMillis", metrics.getTotalStageMillis());
+        section.put("lastStageMillis", metrics.getLastStageMillis());
+    }
+
+    /**
+     * 
+     * @param section metrics section to populate
+     * @param cache data repository cache to report
+     */
+    private static void addDataRepositoryMetrics(Map<String, Object> section, DataRepositoryCache cache) {
+        section.put("size", cache.getSize());
+        section.put("hits", cache.getHits());
+        section.put("negativeHits", cache.getNegativeHits());
+        section.put("misses", cache.getMisses());
+        section.put("coalescedLoads", cache.getCoalescedLoads());
+        section.put("evictions", cache.getEvictions());
+        section.put("hitRate", cache.getHitRate());
+    }
+
+    /**
+     * 
+     * @param section metrics section to populate
+     * @param cache snapshot cache to report
+     */
+    private static void addCmsSnapshotMetrics(Map<String, Object> section, CMSSnapshotCache cache) {
+        section.put("hits", cache.getHits());
+        section.put("misses", cache.getMisses());
+        section.put("rebuilds", cache.getRebuildCount());
+        section.put("lastRebuildMillis", cache.getLastRebuildMillis());
+    }
+
+    /**
+     * 
+     * @param section metrics section to populate
+     * @param recorder recorder holding the pending request counts
+     */
+    private static void addUsageStatisticsMetrics(Map<String, Object> section, UsageStatisticsRecorder recorder) {
+        section.put("pendingRequests", recorder.getPendingRequestCount());
+        section.put("pendingSessions", recorder.getPendingSessionCount());
+        section.put("flushedRequests", recorder.getFlushedRequestCount());
+        section.put("flushLagMillis", recorder.getFlushLag().toMillis());
+        section.put("lastFlushDurationMillis", recorder.getLastFlushDuration().toMillis());
+    }
+
     /**
      * 
      * @param versionMap map to populate with version and hash values
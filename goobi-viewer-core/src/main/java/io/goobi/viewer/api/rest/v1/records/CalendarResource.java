@@ -47,6 +47,8 @@ import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.controller.DateTools;
 import io.goobi.viewer.exceptions.IndexUnreachableException;
 import io.goobi.viewer.exceptions.PresentationException;
+import io.goobi.viewer.model.calendar.CalendarYearCache;
+import io.goobi.viewer.model.calendar.CalendarYearCache.YearKey;
 import io.goobi.viewer.solr.SolrConstants;
 import io.goobi.viewer.solr.SolrTools;
 import io.swagger.v3.oas.annotations.Operation;
@@ -134,6 +136,13 @@ public class CalendarResource {
         String query = "+" + piField + ":\"" + pi + "\" +" + SolrConstants.YEAR + ":\"" + year + "\" +" + SolrConstants.CALENDAR_DAY + ":*";
         logger.debug("Calendar query: {}", query);
 
+        CalendarYearCache cache = DataManager.getInstance().getCalendarYearCache();
+        YearKey key = new YearKey(String.valueOf(year), query);
+        String cached = cache.getIssueList(key);
+        if (cached != null) {
+            return Response.ok(cached, MediaType.APPLICATION_JSON).build();
+        }
+
         List<String> fieldList = List.of(
                 SolrConstants.PI_TOPSTRUCT,
                 SolrConstants.CALENDAR_DAY,
@@ -159,7 +168,10 @@ public class CalendarResource {
             jsonArray.put(entry);
         }
 
-        return Response.ok(jsonArray.toString(), MediaType.APPLICATION_JSON).build();
+        String ret = jsonArray.toString();
+        cache.putIssueList(key, ret);
+
+        return Response.ok(ret, MediaType.APPLICATION_JSON).build();
     }
 
     /**
@@ -21,6 +21,8 @@
  */
 package io.goobi.viewer.api.rest.v1.records;
 
+import java.util.Date;
+
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.ws.rs.GET;
@@ -28,7 +30,11 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.Response.ResponseBuilder;
 
 import de.unigoettingen.sub.commons.contentlib.exceptions.ContentLibException;
 import de.unigoettingen.sub.commons.contentlib.servlet.rest.CORSBinding;
@@ -36,6 +42,7 @@ import io.goobi.viewer.api.rest.bindings.ViewerRestServiceBinding;
 import io.goobi.viewer.api.rest.v1.ApiUrls;
 import io.goobi.viewer.model.rss.Channel;
 import io.goobi.viewer.model.rss.RSSFeed;
+import io.goobi.viewer.model.rss.RssFeedCache.CachedFeed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -54,6 +61,8 @@ public class RSSResource {
     private HttpServletRequest servletRequest;
     @Context
     private HttpServletResponse servletResponse;
+    @Context
+    private Request request;
 
     @GET
     @Produces({ MediaType.TEXT_XML })
@@ -62,9 +71,10 @@ public class RSSResource {
             summary = "Get an rss feed of the most recent records")
     @ApiResponse(responseCode = "200", description = "RSS feed in XML format",
             content = @Content(mediaType = MediaType.TEXT_XML))
+    @ApiResponse(responseCode = "304", description = "The feed has not changed since the version identified by If-None-Match")
     @ApiResponse(responseCode = "400", description = "The provided query parameter contains invalid Solr query syntax")
     @ApiResponse(responseCode = "500", description = "Solr index unreachable or internal error")
-    public String getRssFeed(
+    public Response getRssFeed(
             @Parameter(description = "Subtheme: Results are filtered to values within the given subtheme (optional)") 
             @QueryParam("subtheme") String subtheme,
             @Parameter(description = "Language of the returned metadata labels and values (optional)") 
@@ -81,8 +91,8 @@ public class RSSResource {
             @QueryParam("sortDescending") Boolean sortDescending)
             throws ContentLibException {
 
-        return RSSFeed.createRssFeedString(language, maxHits, subtheme, query, facets, servletRequest, sortField, sortDescending == null
-                || sortDescending);
+        return createResponse(RSSFeed.createCachedRssFeedString(language, maxHits, subtheme, query, facets, servletRequest, sortField,
+                sortDescending == null || sortDescending));
     }
 
     @GET
@@ -92,10 +102,11 @@ public class RSSResource {
             tags = { "records", "rss" },
             summary = "Get a JSON representation of an RSS feed of the most recent records")
     @ApiResponse(responseCode = "200", description = "RSS feed as JSON object",
-            content = @Content(mediaType = MediaType.APPLICATION_JSON))
+            content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Channel.class)))
+    @ApiResponse(responseCode = "304", description = "The feed has not changed since the version identified by If-None-Match")
     @ApiResponse(responseCode = "400", description = "The provided query parameter contains invalid Solr query syntax")
     @ApiResponse(responseCode = "500", description = "Solr index unreachable or internal error")
-    public Channel getRssJsonFeed(
+    public Response getRssJsonFeed(
             @Parameter(description = "Subtheme: Results are filtered to values within the given subtheme (optional)") 
             @QueryParam("subtheme") String subtheme,
             @Parameter(description = "Language of the returned metadata labels and values (optional)") @QueryParam("lang") String language,
@@ -111,8 +122,31 @@ public class RSSResource {
             @QueryParam("sortDescending") Boolean sortDescending)
             throws ContentLibException {
 
-        return RSSFeed.createRssResponse(language, maxHits, subtheme, query, facets, servletRequest, sortField,
-                sortDescending == null || sortDescending);
+        return createResponse(RSSFeed.createCachedRssResponse(language, maxHits, subtheme, query, facets, servletRequest, sortField,
+                sortDescending == null || sortDescending));
+    }
+
+    /**
+     * Returns 304 if the client's copy identified by If-None-Match is still current; otherwise the feed with its ETag and Last-Modified headers.
+     * The modification date is the newest creation date among the feed entries and does not change when entries are updated or deleted, so
+     * If-Modified-Since alone never produces a 304; Last-Modified is informational only.
+     *
+     * @param cachedFeed {@link CachedFeed} to return
+     * @return {@link Response}
+     */
+    private Response createResponse(CachedFeed cachedFeed) {
+        EntityTag etag = new EntityTag(cachedFeed.etag());
+        Date lastModified = cachedFeed.lastModified() > 0 ? new Date(cachedFeed.lastModified()) : null;
+        ResponseBuilder builder = request.evaluatePreconditions(etag);
+        if (builder == null) {
+            builder = Response.ok(cachedFeed.feed());
+        }
+        builder.tag(etag);
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+
+        return builder.build();
     }
 
 }
@@ -100,6 +100,8 @@ import io.goobi.viewer.exceptions.RecordNotFoundException;
 import io.goobi.viewer.exceptions.ViewerConfigurationException;
 import io.goobi.viewer.faces.validators.PIValidator;
 import io.goobi.viewer.messages.ViewerResourceBundle;
+import io.goobi.viewer.model.iiif.presentation.ManifestCache;
+import io.goobi.viewer.model.iiif.presentation.ManifestCache.ManifestKey;
 import io.goobi.viewer.model.iiif.presentation.v2.builder.BuildMode;
 import io.goobi.viewer.model.iiif.presentation.v2.builder.OpenAnnotationBuilder;
 import io.goobi.viewer.model.iiif.presentation.v2.builder.WebAnnotationBuilder;
@@ -323,6 +325,7 @@ public class RecordResource {
     @jakarta.ws.rs.Path(RECORDS_MANIFEST)
     @Produces({ MediaType.APPLICATION_JSON })
     @ApiResponse(responseCode = "200", description = "IIIF 2.1.1 manifest for the record")
+    @ApiResponse(responseCode = "304", description = "The manifest has not changed since the version identified by If-None-Match")
     @ApiResponse(responseCode = "400", description = "Invalid record identifier")
     // 403 is returned by AccessConditionRequestFilter when the record is not found in the Solr index
     @ApiResponse(responseCode = "403", description = "Access denied or record not accessible (e.g. record not found in index)")
@@ -349,7 +352,15 @@ public class RecordResource {
                 logger.error("Error forwarding manifest url", e);
             }
         }
-        return b.getManifest(pi, Collections.emptyList(), buildMode);
+        // Manifests are cached per licensee; the response filter answers conditional requests for them with 304
+        ManifestCache cache = DataManager.getInstance().getManifestCache();
+        ManifestKey key = ManifestCache.buildKey(pi, "2/" + buildMode.name() + "@" + urls.getApiUrl(), servletRequest);
+        IPresentationModelElement ret = cache.get(key, servletRequest);
+        if (ret == null) {
+            ret = b.getManifest(pi, Collections.emptyList(), buildMode);
+            cache.put(key, ret, servletRequest);
+        }
+        return ret;
     }
 
     @GET
@@ -400,21 +411,17 @@ public class RecordResource {
     @Produces({ MediaType.TEXT_PLAIN })
     @Operation(tags = { "records" }, summary = "Get entire plaintext of record within a single text file")
     @ApiResponse(responseCode = "200", description = "Full plaintext of the record")
-    @ApiResponse(responseCode = "400",
-            description = "Invalid record identifier, or aggregate response would exceed the configured size limit"
-                    + " (use /plaintext.zip instead)")
+    @ApiResponse(responseCode = "400", description = "Invalid record identifier")
     @ApiResponse(responseCode = "403", description = "Access to this record is restricted")
     @ApiResponse(responseCode = "404", description = "No record found for the given identifier")
     @CORSBinding
     @IIIFPresentationBinding
-    public String getPlaintext() throws PresentationException, IndexUnreachableException, IOException, ContentLibException {
-        // Declares ContentLibException so IllegalRequestException raised by the aggregate-size
-        // guard in TextResourceBuilder.getFulltext propagates to ContentExceptionMapper (HTTP 400).
+    public StreamingOutput getPlaintext() {
         if (servletResponse != null) {
             servletResponse.setCharacterEncoding(StringTools.DEFAULT_ENCODING);
         }
         TextResourceBuilder b = new TextResourceBuilder();
-        return b.getFulltext(pi, servletRequest);
+        return b.getFulltextAsStream(pi, servletRequest);
     }
 
     @GET
@@ -54,10 +54,13 @@ import io.goobi.viewer.api.rest.filters.FilterTools;
 import io.goobi.viewer.faces.validators.PIValidator;
 import io.goobi.viewer.api.rest.resourcebuilders.AnnotationsResourceBuilder;
 import io.goobi.viewer.api.rest.v2.ApiUrls;
+import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.exceptions.DAOException;
 import io.goobi.viewer.exceptions.IndexUnreachableException;
 import io.goobi.viewer.exceptions.PresentationException;
 import io.goobi.viewer.exceptions.ViewerConfigurationException;
+import io.goobi.viewer.model.iiif.presentation.ManifestCache;
+import io.goobi.viewer.model.iiif.presentation.ManifestCache.ManifestKey;
 import io.goobi.viewer.model.iiif.presentation.v3.builder.ManifestBuilder;
 import io.goobi.viewer.model.iiif.search.IIIFSearchBuilder;
 import io.swagger.v3.oas.annotations.Operation;
@@ -125,6 +128,8 @@ public class RecordResource {
     @jakarta.ws.rs.Path(RECORDS_MANIFEST)
     @Produces({ MediaType.APPLICATION_JSON })
     @Operation(tags = { "records", "iiif" }, summary = "Get IIIF 3.0 manifest for record")
+    @ApiResponse(responseCode = "200", description = "IIIF 3.0 manifest for the record")
+    @ApiResponse(responseCode = "304", description = "The manifest has not changed since the version identified by If-None-Match")
     @IIIFPresentationBinding
     public IPresentationModelElement getManifest()
             throws PresentationException, IndexUnreachableException, URISyntaxException, ViewerConfigurationException,
@@ -138,7 +143,15 @@ public class RecordResource {
         } catch (IOException e) {
             logger.error("Error forwarding manifest url", e);
         }
-        return new ManifestBuilder(urls, servletRequest).build(pi);
+        // Manifests are cached per licensee; the response filter answers conditional requests for them with 304
+        ManifestCache cache = DataManager.getInstance().getManifestCache();
+        ManifestKey key = ManifestCache.buildKey(pi, "3@" + urls.getApiUrl(), servletRequest);
+        IPresentationModelElement ret = cache.get(key, servletRequest);
+        if (ret == null) {
+            ret = new ManifestBuilder(urls, servletRequest).build(pi);
+            cache.put(key, ret, servletRequest);
+        }
+        return ret;
     }
 
     @GET
@@ -55,6 +55,7 @@ import io.goobi.viewer.api.rest.model.ner.NERTag;
 import io.goobi.viewer.api.rest.model.ner.NERTag.Type;
 import io.goobi.viewer.api.rest.model.ner.TagCount;
 import io.goobi.viewer.controller.model.alto.AltoTextReader;
+import io.goobi.viewer.controller.model.alto.AltoWordIndex;
 import io.goobi.viewer.controller.model.alto.CoordinateFinder;
 import io.goobi.viewer.controller.model.alto.NamedEntityEnricher;
 import io.goobi.viewer.controller.model.alto.TextEnricher;
@@ -316,22 +317,41 @@ public final class ALTOTools {
     public static List<String> getWordCoords(String altoString, String charset, Set<String> searchTerms, int proximitySearchDistance, int rotation,
             Dimension imageSize) {
         try {
-            CoordinateFinder finder = new CoordinateFinder(altoString, charset);
-            List<String> coords = finder.getWordCoords(searchTerms, proximitySearchDistance, rotation);
-            if (imageSize != null && !coords.isEmpty()) {
-                Dimension pageSize = finder.getPageSize();
-                if (pageSize.width > 0 && pageSize.height > 0
-                        && (pageSize.width != imageSize.width || pageSize.height != imageSize.height)) {
-                    coords = scaleCoords(coords, pageSize, imageSize);
-                }
-            }
-            return coords;
+            return getWordCoords(new CoordinateFinder(altoString, charset), searchTerms, proximitySearchDistance, rotation, imageSize);
         } catch (IOException | JDOMException e) {
             logger.error("Could not parse alto: {}", e.toString());
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Returns word coordinates from the given word index, scaled to the given actual image size.
+     *
+     * @param index word index of the ALTO page
+     * @param searchTerms set of terms whose coordinates to locate
+     * @param proximitySearchDistance maximum word distance for proximity search
+     * @param rotation image rotation in degrees
+     * @param imageSize actual image dimensions; if non-null and different from the ALTO page dimensions, coordinates are scaled proportionally
+     * @return a list of coordinate strings scaled to the actual image size
+     */
+    public static List<String> getWordCoords(AltoWordIndex index, Set<String> searchTerms, int proximitySearchDistance, int rotation,
+            Dimension imageSize) {
+        return getWordCoords(new CoordinateFinder(index), searchTerms, proximitySearchDistance, rotation, imageSize);
+    }
+
+    private static List<String> getWordCoords(CoordinateFinder finder, Set<String> searchTerms, int proximitySearchDistance, int rotation,
+            Dimension imageSize) {
+        List<String> coords = finder.getWordCoords(searchTerms, proximitySearchDistance, rotation);
+        if (imageSize != null && !coords.isEmpty()) {
+            Dimension pageSize = finder.getPageSize();
+            if (pageSize.width > 0 && pageSize.height > 0
+                    && (pageSize.width != imageSize.width || pageSize.height != imageSize.height)) {
+                coords = scaleCoords(coords, pageSize, imageSize);
+            }
+        }
+        return coords;
+    }
+
     /**
      * Scales a list of coordinate strings from one page size to another.
      *
@@ -459,23 +479,45 @@ public final class ALTOTools {
             return 0;
         }
 
-        // Word exists and has content
-        String content = eleWord.getContent();
+        return getMatchCount(getMatchContent(eleWord.getContent(), eleWord.getSubsContent()), words);
+    }
+
+    /**
+     * Normalizes the content of an ALTO word for matching against search terms.
+     *
+     * @param content Content of the word
+     * @param subsContent Complete content of a hyphenated word; may be null
+     * @return Content without diacritical marks and leading non-alphanumeric characters, or the complete content of a hyphenated word
+     * @should remove diacritical marks and leading punctuation
+     * @should return subs content for hyphenated words
+     */
+    public static String getMatchContent(String content, String subsContent) {
         // Normalize (remove diacritical marks)
-        content = StringTools.removeDiacriticalMarks(content);
+        String ret = StringTools.removeDiacriticalMarks(content != null ? content : "");
         // Clean up leading non-alphanumeric characters so that matching works
-        while (content.length() > 0 && !StringUtils.isAlphanumeric(content.substring(0, 1))) {
-            content = content.substring(1);
+        while (ret.length() > 0 && !StringUtils.isAlphanumeric(ret.substring(0, 1))) {
+            ret = ret.substring(1);
         }
         // replace content with complete content of hyphenated word if applicable
-        if (content.matches("\\S+")) {
-            String subsContent = eleWord.getSubsContent();
-            if (subsContent != null && !subsContent.isEmpty()) {
-                content = subsContent;
-            }
+        if (ret.matches("\\S+") && subsContent != null && !subsContent.isEmpty()) {
+            ret = subsContent;
+        }
+        return ret;
+    }
+
+    /**
+     * Counts the search words matching any word in the given normalized content.
+     *
+     * @param matchContent Normalized word content (see {@link #getMatchContent(String, String)})
+     * @param words array of search words to match against the content
+     * @return Number of matches
+     */
+    public static int getMatchCount(String matchContent, String[] words) {
+        if (matchContent == null || words == null || words.length == 0) {
+            return 0;
         }
 
-        String[] contents = content.trim().split("\\s+");
+        String[] contents = matchContent.trim().split("\\s+");
         int hits = 0;
         for (String altoWord : contents) {
             for (String searchWord : words) {
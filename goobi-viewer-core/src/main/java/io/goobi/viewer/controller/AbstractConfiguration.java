@@ -25,6 +25,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.XMLConfiguration;
@@ -44,12 +45,26 @@ public abstract class AbstractConfiguration {
 
     private static final String MSG_FALLBACK_DEFAULT_CONFIG = "{} - Disabling local configuration until next file reload.";
 
+    /**
+     * Interval in milliseconds in which the configuration builders are asked to check for modified files. The builders only look for modified
+     * files every few seconds anyway, so this does not noticeably delay picking up changes.
+     */
+    static final long SNAPSHOT_CHECK_INTERVAL = 1000;
+
     protected ReloadingFileBasedConfigurationBuilder<XMLConfiguration> builder;
     protected ReloadingFileBasedConfigurationBuilder<XMLConfiguration> builderLocal;
 
     protected boolean localConfigDisabled = false;
     protected long localConfigDisabledTimestamp = 0;
 
+    /** Resolved values of the currently loaded configuration files; replaced as a whole when a file is reloaded. */
+    private volatile ConfigurationSnapshot snapshot = null;
+    private final Object snapshotLock = new Object();
+    /** Incremented whenever a configuration file has been reloaded or a value has been overridden. */
+    private final AtomicLong generation = new AtomicLong();
+    /** Time after which the builders must be asked to check for modified files again. */
+    private volatile long nextReloadCheck = 0;
+
     /**
      *
      * @return {@link XMLConfiguration} that is synced with the current state of the config file
@@ -85,6 +100,60 @@ public abstract class AbstractConfiguration {
         return new XMLConfiguration();
     }
     
+    /**
+     * Returns the value snapshot for the currently loaded configuration files. Once per {@link #SNAPSHOT_CHECK_INTERVAL}, the builders are
+     * queried, which triggers their file change detection and thereby {@link #onConfigurationReloaded()}. Once the configuration generation
+     * has changed, the next snapshot is built with all values known so far and then replaces the current one.
+     *
+     * @return Current {@link ConfigurationSnapshot}
+     * @should return same snapshot until configuration changes
+     * @should return new snapshot after overrideValue
+     * @should return same snapshot if local configuration cannot be loaded
+     */
+    ConfigurationSnapshot getSnapshot() {
+        ConfigurationSnapshot current = snapshot;
+        if (current != null && current.getGeneration() == generation.get() && System.currentTimeMillis() < nextReloadCheck) {
+            return current;
+        }
+        synchronized (snapshotLock) {
+            long now = System.currentTimeMillis();
+            if (now >= nextReloadCheck) {
+                // Requesting the configurations lets the builders check for modified files
+                getConfig();
+                if (builderLocal != null) {
+                    getConfigLocal();
+                }
+                nextReloadCheck = now + SNAPSHOT_CHECK_INTERVAL;
+            }
+            current = snapshot;
+            long currentGeneration = generation.get();
+            if (current != null && current.getGeneration() == currentGeneration) {
+                return current;
+            }
+            XMLConfiguration config = getConfig();
+            // Without a (valid) local config file, getConfigLocal() returns a new empty instance each time; the snapshot keeps the one it got
+            XMLConfiguration configLocal = builderLocal != null ? getConfigLocal() : new XMLConfiguration();
+            current = current != null ? current.rebuild(currentGeneration, config, configLocal)
+                    : new ConfigurationSnapshot(currentGeneration, config, configLocal);
+            snapshot = current;
+            return current;
+        }
+    }
+
+    /**
+     * Called when a configuration builder has detected a modified file. The next access builds a new snapshot.
+     */
+    protected void onConfigurationReloaded() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Resolves all values again on next access, e.g. after configuration values have been changed in place.
+     */
+    protected void resetSnapshot() {
+        generation.incrementAndGet();
+    }
+
     public File getDefaultConfigFile() {
         return builder.getFileHandler().getFile().getAbsoluteFile();
     }
@@ -97,8 +166,12 @@ public abstract class AbstractConfiguration {
      * @return a int.
      */
     protected int getLocalInt(String inPath, int inDefault) {
+        return getSnapshot().get('i', inPath, inDefault, (config, configLocal) -> resolveLocalInt(config, configLocal, inPath, inDefault));
+    }
+
+    private static int resolveLocalInt(XMLConfiguration config, XMLConfiguration configLocal, String inPath, int inDefault) {
         try {
-            return getConfigLocal().getInt(inPath, getConfig().getInt(inPath, inDefault));
+            return configLocal.getInt(inPath, config.getInt(inPath, inDefault));
         } catch (ConversionException e) {
             logger.error("{}. Using default value {} instead.", e.getMessage(), inDefault);
             return inDefault;
@@ -115,7 +188,7 @@ public abstract class AbstractConfiguration {
      * @return a float.
      */
     protected float getLocalFloat(String inPath) {
-        return getConfigLocal().getFloat(inPath, getConfig().getFloat(inPath));
+        return getSnapshot().get('f', inPath, null, (config, configLocal) -> configLocal.getFloat(inPath, config.getFloat(inPath)));
     }
 
     /**
@@ -126,8 +199,12 @@ public abstract class AbstractConfiguration {
      * @return a float.
      */
     protected float getLocalFloat(String inPath, float inDefault) {
+        return getSnapshot().get('f', inPath, inDefault, (config, configLocal) -> resolveLocalFloat(config, configLocal, inPath, inDefault));
+    }
+
+    private static float resolveLocalFloat(XMLConfiguration config, XMLConfiguration configLocal, String inPath, float inDefault) {
         try {
-            return getConfigLocal().getFloat(inPath, getConfig().getFloat(inPath, inDefault));
+            return configLocal.getFloat(inPath, config.getFloat(inPath, inDefault));
         } catch (ConversionException e) {
             logger.error("{}. Using default value {} instead.", e.getMessage(), inDefault);
             return inDefault;
@@ -145,8 +222,12 @@ public abstract class AbstractConfiguration {
      * @return the configured string value at the given path, preferring local config over global config, or the default if not configured
      */
     protected String getLocalString(String inPath, String inDefault) {
+        return getSnapshot().get('s', inPath, inDefault, (config, configLocal) -> resolveLocalString(config, configLocal, inPath, inDefault));
+    }
+
+    private static String resolveLocalString(XMLConfiguration config, XMLConfiguration configLocal, String inPath, String inDefault) {
         try {
-            return getConfigLocal().getString(inPath, getConfig().getString(inPath, inDefault));
+            return configLocal.getString(inPath, config.getString(inPath, inDefault));
         } catch (NullPointerException | IllegalArgumentException e) {
             logger.error(e.getMessage(), e);
             return inDefault;
@@ -160,7 +241,7 @@ public abstract class AbstractConfiguration {
      * @return the configured string value at the given path, preferring local config over global config, or null if not configured
      */
     protected String getLocalString(String inPath) {
-        return getConfigLocal().getString(inPath, getConfig().getString(inPath));
+        return getSnapshot().get('s', inPath, null, (config, configLocal) -> configLocal.getString(inPath, config.getString(inPath)));
     }
 
     /**
@@ -170,7 +251,13 @@ public abstract class AbstractConfiguration {
      * @return a list of configuration node objects at the given path, preferring local config over global config
      */
     protected List<Object> getLocalNodeList(String inPath) {
-        List<Object> objects = getConfigLocal().getList(inPath, getConfig().getList(inPath));
+        // Return a copy, callers may modify the list
+        return new ArrayList<>(
+                getSnapshot().<List<Object>> get('n', inPath, null, (config, configLocal) -> resolveLocalNodeList(config, configLocal, inPath)));
+    }
+
+    private static List<Object> resolveLocalNodeList(XMLConfiguration config, XMLConfiguration configLocal, String inPath) {
+        List<Object> objects = configLocal.getList(inPath, config.getList(inPath));
         if (objects != null && !objects.isEmpty()) {
             List<Object> ret = new ArrayList<>(objects.size());
             for (Object obj : objects) {
@@ -216,7 +303,10 @@ public abstract class AbstractConfiguration {
      * @return configured list; defaultList if none found
      */
     protected List<String> getLocalList(String inPath, List<String> defaultList) {
-        return getLocalList(getConfigLocal(), getConfig(), inPath, defaultList);
+        // Return a copy, callers may modify the list
+        return new ArrayList<>(
+                getSnapshot().<List<String>> get('l', inPath, defaultList,
+                        (config, configLocal) -> getLocalList(configLocal, config, inPath, defaultList)));
     }
 
     /**
@@ -237,8 +327,12 @@ public abstract class AbstractConfiguration {
      * @return the boolean value at the given path, or inDefault if the path is not configured
      */
     protected boolean getLocalBoolean(String inPath, boolean inDefault) {
+        return getSnapshot().get('b', inPath, inDefault, (config, configLocal) -> resolveLocalBoolean(config, configLocal, inPath, inDefault));
+    }
+
+    private static boolean resolveLocalBoolean(XMLConfiguration config, XMLConfiguration configLocal, String inPath, boolean inDefault) {
         try {
-            return getConfigLocal().getBoolean(inPath, getConfig().getBoolean(inPath, inDefault));
+            return configLocal.getBoolean(inPath, config.getBoolean(inPath, inDefault));
         } catch (NullPointerException | IllegalArgumentException e) {
             logger.error(e.getMessage(), e);
             return inDefault;
@@ -325,5 +419,6 @@ public abstract class AbstractConfiguration {
     public void overrideValue(String property, Object value) {
         getConfig().setProperty(property, value);
         getConfigLocal().setProperty(property, value);
+        resetSnapshot();
     }
 }
@@ -196,6 +196,7 @@ public class Configuration extends AbstractConfiguration {
                         // after the default config file has been modified on disk.
                         if (builder.getReloadingController().checkForReloading(null)) {
                             facetFieldPropertyCache.clear();
+                            onConfigurationReloaded();
                         }
                     });
         } else {
@@ -227,6 +228,7 @@ public class Configuration extends AbstractConfiguration {
                             // Local config changed on disk — drop cached facet-field lookups so they get
                             // re-resolved against the freshly-parsed XML.
                             facetFieldPropertyCache.clear();
+                            onConfigurationReloaded();
                             if (System.currentTimeMillis() - localConfigDisabledTimestamp > 1000) {
                                 localConfigDisabled = false;
                                 logger.info("Local configuration file '{}' reloaded.", fileLocal.getAbsolutePath());
@@ -234,6 +236,8 @@ public class Configuration extends AbstractConfiguration {
                         }
                     });
         }
+        // Values resolved while determining the local config path did not take the local config into account yet
+        resetSnapshot();
 
         // Load stopwords
         try {
@@ -2428,6 +2432,16 @@ public class Configuration extends AbstractConfiguration {
         return getLocalBoolean("search.calendar[@enabled]", true);
     }
 
+    /**
+     * Time in seconds for which calendar hit counts and issue lists are cached.
+     *
+     * @should return correct value
+     * @return configured number of seconds; default is 3600; 0 disables the cache
+     */
+    public int getCalendarCacheTtl() {
+        return getLocalInt("search.calendar.cache[@ttl]", 3600);
+    }
+
     /**
      * getStaticQuerySuffix.
      *
@@ -3980,6 +3994,36 @@ public class Configuration extends AbstractConfiguration {
         return getLocalBoolean("accessConditions.fullAccessForLocalhost", false);
     }
 
+    /**
+     * isAccessPermissionCacheEnabled.
+     *
+     * @should return correct value
+     * @return true if access permission decisions are cached across sessions; false otherwise
+     */
+    public boolean isAccessPermissionCacheEnabled() {
+        return getLocalBoolean("accessConditions.permissionCache[@enabled]", true);
+    }
+
+    /**
+     * Maximum number of records for which access permission decisions are kept in the shared cache.
+     *
+     * @should return correct value
+     * @return configured number of records; default is 1000
+     */
+    public int getAccessPermissionCacheMaxRecords() {
+        return getLocalInt("accessConditions.permissionCache[@maxRecords]", 1000);
+    }
+
+    /**
+     * Time in seconds after which cached access permission decisions expire.
+     *
+     * @should return correct value
+     * @return configured number of seconds; default is 600
+     */
+    public int getAccessPermissionCacheTtl() {
+        return getLocalInt("accessConditions.permissionCache[@ttl]", 600);
+    }
+
     /**
      * isGeneratePdfInMessageQueue.
      *
@@ -4050,6 +4094,16 @@ public class Configuration extends AbstractConfiguration {
         return getLocalBoolean("pdf.docHierarchyPdfEnabled", false);
     }
 
+    /**
+     * Number of threads used to prerender single page PDF files. Values below 1 mean half the number of available processors.
+     *
+     * @should return correct value
+     * @return configured number of threads; default is 0
+     */
+    public int getPdfPrerenderThreads() {
+        return getLocalInt("pdf.prerenderThreads", 0);
+    }
+
     /**
      * isTitleEpubEnabled.
      *
@@ -4206,6 +4260,16 @@ public class Configuration extends AbstractConfiguration {
         return getLocalString("rss.copyright");
     }
 
+    /**
+     * Time in seconds for which rendered RSS feeds are cached.
+     *
+     * @should return correct value
+     * @return configured number of seconds; default is 300; 0 disables the cache
+     */
+    public int getRssCacheTtl() {
+        return getLocalInt("rss.cache[@ttl]", 300);
+    }
+
     /**
      * getThumbnailsWidth.
      *
@@ -4678,6 +4742,36 @@ public class Configuration extends AbstractConfiguration {
         return getLocalInt("performance.dataRepositoryCacheTTL", 10);
     }
 
+    /**
+     * Returns the maximum number of records for which data repository names are cached.
+     *
+     * @return Maximum number of records; default is 100000
+     * @should return correct value
+     */
+    public int getDataRepositoryCacheMaxEntries() {
+        return getLocalInt("performance.dataRepositoryCacheMaxEntries", 100000);
+    }
+
+    /**
+     * Returns the maximum total size of the ALTO word index sidecar files in the temp folder. The oldest files are deleted once it is exceeded.
+     *
+     * @return Maximum size in MB; 0 or less means no limit; default is 1024
+     * @should return correct value
+     */
+    public int getAltoWordIndexMaxSize() {
+        return getLocalInt("performance.altoWordIndexMaxSize", 1024);
+    }
+
+    /**
+     * Returns the maximum total size of the IIIF manifests held in memory by the manifest cache, measured by their JSON serialization.
+     *
+     * @return Maximum size in MB; 0 disables the cache; default is 64
+     * @should return correct value
+     */
+    public int getManifestCacheMaxSize() {
+        return getLocalInt("performance.manifestCacheMaxSize", 64);
+    }
+
     /**
      * isPreventProxyCaching.
      *
@@ -4713,18 +4807,6 @@ public class Configuration extends AbstractConfiguration {
         return getLocalInt("performance.maxAggregateAltoSize", 50_000_000);
     }
 
-    /**
-     * getMaxAggregateFulltextSize.
-     *
-     * Same as {@link #getMaxAggregateAltoSize()} but for the plain-text aggregate endpoint (/api/v1/records/{pi}/plaintext). Default 50 MB.
-     *
-     * @return configured limit in bytes; default 50 MB
-     * @should return correct value
-     */
-    public int getMaxAggregateFulltextSize() {
-        return getLocalInt("performance.maxAggregateFulltextSize", 50_000_000);
-    }
-
     /**
      * @return true if review mode is enabled for comments, false otherwise
      */
@@ -6516,6 +6598,24 @@ public class Configuration extends AbstractConfiguration {
         return getLocalBoolean("statistics[@enabled]", false);
     }
 
+    /**
+     *
+     * @return Interval in seconds in which recorded usage statistics are written to the database; default 30
+     * @should return correct value
+     */
+    public int getStatisticsFlushInterval() {
+        return getLocalInt("statistics[@flushInterval]", 30);
+    }
+
+    /**
+     *
+     * @return true if sitemap generation should only rewrite files containing changed records; default true
+     * @should return correct value
+     */
+    public boolean isSitemapIncrementalUpdate() {
+        return getLocalBoolean("sitemap[@incremental]", true);
+    }
+
     public String getCrawlerDetectionRegex() {
         return getLocalString("statistics.crawlerDetection[@regex]",
                 ".*[bB]ot.*|.*Yahoo! Slurp.*|.*Feedfetcher-Google.*|.*Apache-HttpClient.*|.*[Ss]pider.*|.*[Cc]rawler.*|.*nagios.*|.*Yandex.*");
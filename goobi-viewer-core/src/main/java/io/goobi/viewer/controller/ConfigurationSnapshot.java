@@ -0,0 +1,154 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.controller;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.configuration2.XMLConfiguration;
+
+/**
+ * Resolved configuration values for one generation of the loaded configuration files. A snapshot is bound to the {@link XMLConfiguration}
+ * instances it was created for and resolves every value against exactly these instances, so it never mixes values from different file
+ * versions. Values that have never been requested are resolved on first access; since they only depend on the bound instances, the snapshot
+ * behaves as an immutable view of that generation.
+ *
+ * <p>
+ * When {@link AbstractConfiguration} detects a reload, it creates the next snapshot via {@link #rebuild(long, XMLConfiguration, XMLConfiguration)},
+ * which eagerly resolves all values known so far against the new files before the snapshot is published.
+ * </p>
+ */
+class ConfigurationSnapshot {
+
+    /** Placeholder for resolved null values, which {@link ConcurrentHashMap} cannot hold. */
+    private static final Object NULL_VALUE = new Object();
+
+    private final long generation;
+    private final XMLConfiguration config;
+    private final XMLConfiguration configLocal;
+    private final Map<Key, Entry> values = new ConcurrentHashMap<>();
+
+    /**
+     *
+     * @param generation Configuration generation this snapshot was created for
+     * @param config Default configuration
+     * @param configLocal Local configuration; an empty configuration if there is none
+     */
+    ConfigurationSnapshot(long generation, XMLConfiguration config, XMLConfiguration configLocal) {
+        this.generation = generation;
+        this.config = config;
+        this.configLocal = configLocal;
+    }
+
+    /**
+     * Creates the snapshot for the next configuration generation and resolves all values requested from this snapshot against the new
+     * configuration.
+     *
+     * @param newGeneration Configuration generation of the new snapshot
+     * @param newConfig New default configuration
+     * @param newConfigLocal New local configuration
+     * @return New {@link ConfigurationSnapshot}
+     * @should resolve known values against new configuration
+     */
+    ConfigurationSnapshot rebuild(long newGeneration, XMLConfiguration newConfig, XMLConfiguration newConfigLocal) {
+        ConfigurationSnapshot ret = new ConfigurationSnapshot(newGeneration, newConfig, newConfigLocal);
+        for (Map.Entry<Key, Entry> entry : values.entrySet()) {
+            Resolver<?> resolver = entry.getValue().resolver();
+            ret.values.put(entry.getKey(), ret.resolve(resolver));
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the value for the given lookup, resolving and storing it on first access.
+     *
+     * @param type Value type discriminator, so that the same path can be looked up with different getters
+     * @param path XML configuration path
+     * @param defaultValue Default value passed to the getter
+     * @param resolver Resolves the value from the configurations bound to this snapshot
+     * @return Resolved value
+     * @should resolve value only once
+     * @should store null values
+     * @should distinguish different default values
+     * @should resolve against bound configurations
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(char type, String path, Object defaultValue, Resolver<T> resolver) {
+        Object ret = values.computeIfAbsent(new Key(type, path, defaultValue), k -> resolve(resolver)).value();
+        return ret == NULL_VALUE ? null : (T) ret;
+    }
+
+    private Entry resolve(Resolver<?> resolver) {
+        Object value = resolver.resolve(config, configLocal);
+        return new Entry(value != null ? value : NULL_VALUE, resolver);
+    }
+
+    /**
+     * @return Number of resolved values
+     */
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * @return Configuration generation this snapshot was created for
+     */
+    long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Resolves a single value.
+     *
+     * @param <T> Value type
+     */
+    @FunctionalInterface
+    interface Resolver<T> {
+
+        /**
+         *
+         * @param config Default configuration
+         * @param configLocal Local configuration
+         * @return Resolved value; may be null
+         */
+        T resolve(XMLConfiguration config, XMLConfiguration configLocal);
+    }
+
+    /**
+     * Lookup key.
+     *
+     * @param type Value type discriminator
+     * @param path XML configuration path
+     * @param defaultValue Default value passed to the getter
+     */
+    private record Key(char type, String path, Object defaultValue) {
+    }
+
+    /**
+     * Resolved value together with its resolver, so that it can be resolved again for the next generation.
+     *
+     * @param value Resolved value; {@link #NULL_VALUE} for null
+     * @param resolver Resolver that produced the value
+     */
+    private record Entry(Object value, Resolver<?> resolver) {
+    }
+}
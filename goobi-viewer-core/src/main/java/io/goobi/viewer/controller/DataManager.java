@@ -36,21 +36,32 @@ import org.apache.logging.log4j.Logger;
 
 import de.intranda.monitoring.timer.TimeAnalysis;
 import io.goobi.viewer.api.rest.model.tasks.TaskManager;
+import io.goobi.viewer.controller.sorting.SortKeyCache;
 import io.goobi.viewer.dao.IDAO;
 import io.goobi.viewer.dao.impl.JPADAO;
 import io.goobi.viewer.exceptions.DAOException;
 import io.goobi.viewer.exceptions.ModuleMissingException;
 import io.goobi.viewer.model.archives.ArchiveManager;
 import io.goobi.viewer.model.bookmark.SessionStoreBookmarkManager;
+import io.goobi.viewer.model.calendar.CalendarYearCache;
+import io.goobi.viewer.model.maps.GeoMapTileCache;
+import io.goobi.viewer.model.cms.CMSSnapshotCache;
 import io.goobi.viewer.model.crowdsourcing.campaigns.Campaign;
 import io.goobi.viewer.model.iiif.auth.BearerTokenManager;
+import io.goobi.viewer.model.iiif.presentation.ManifestCache;
+import io.goobi.viewer.model.rss.RssFeedCache;
+import io.goobi.viewer.model.search.AutocompleteSuggester;
+import io.goobi.viewer.model.search.SearchHitHydrationMetrics;
+import io.goobi.viewer.model.security.AccessPermissionCache;
 import io.goobi.viewer.model.security.LicenseTypeCache;
 import io.goobi.viewer.model.security.authentication.AuthResponseListener;
 import io.goobi.viewer.model.security.authentication.HttpAuthenticationProvider;
 import io.goobi.viewer.model.security.clients.ClientApplicationManager;
 import io.goobi.viewer.model.security.recordlock.RecordLockManager;
 import io.goobi.viewer.model.security.user.IpRangeCache;
+import io.goobi.viewer.model.security.user.UserEntitlementCache;
 import io.goobi.viewer.model.statistics.usage.UsageStatisticsRecorder;
+import io.goobi.viewer.model.toc.TocSkeletonCache;
 import io.goobi.viewer.model.translations.language.LanguageHelper;
 import io.goobi.viewer.modules.IModule;
 import io.goobi.viewer.modules.interfaces.DefaultURLBuilder;
@@ -80,6 +91,28 @@ public final class DataManager {
 
     private final IpRangeCache ipRangeCache = new IpRangeCache();
 
+    private final AccessPermissionCache accessPermissionCache = new AccessPermissionCache();
+
+    private final UserEntitlementCache userEntitlementCache = new UserEntitlementCache();
+
+    private final CMSSnapshotCache cmsSnapshotCache = new CMSSnapshotCache();
+
+    private final RssFeedCache rssFeedCache = new RssFeedCache();
+
+    private final CalendarYearCache calendarYearCache = new CalendarYearCache();
+
+    private final GeoMapTileCache geoMapTileCache = new GeoMapTileCache();
+
+    private final AutocompleteSuggester autocompleteSuggester = new AutocompleteSuggester();
+
+    private final TocSkeletonCache tocSkeletonCache = new TocSkeletonCache();
+
+    private final ManifestCache manifestCache = new ManifestCache();
+
+    private final SortKeyCache sortKeyCache = new SortKeyCache();
+
+    private final SearchHitHydrationMetrics searchHitHydrationMetrics = new SearchHitHydrationMetrics();
+
     private Configuration configuration;
 
     // volatile + double-checked locking so concurrent first-time callers cannot each create a
@@ -120,7 +153,7 @@ public final class DataManager {
 
     private SecurityManager securityManager = null;
 
-    private UsageStatisticsRecorder usageStatisticsRecorder = null;
+    private volatile UsageStatisticsRecorder usageStatisticsRecorder = null; //NOSONAR S3077 — DCL safe publication
 
     private BearerTokenManager bearerTokenManager = null;
 
@@ -378,6 +411,8 @@ public final class DataManager {
      */
     public void injectDao(IDAO dao) {
         this.dao = dao;
+        // Snapshots loaded from a different DAO are meaningless
+        userEntitlementCache.invalidate();
     }
 
     /**
@@ -522,6 +557,105 @@ public final class DataManager {
         return ipRangeCache;
     }
 
+    /**
+     * Returns the application-scoped {@link AccessPermissionCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public AccessPermissionCache getAccessPermissionCache() {
+        return accessPermissionCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link UserEntitlementCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public UserEntitlementCache getUserEntitlementCache() {
+        return userEntitlementCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link CMSSnapshotCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public CMSSnapshotCache getCmsSnapshotCache() {
+        return cmsSnapshotCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link RssFeedCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public RssFeedCache getRssFeedCache() {
+        return rssFeedCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link CalendarYearCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public CalendarYearCache getCalendarYearCache() {
+        return calendarYearCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link GeoMapTileCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public GeoMapTileCache getGeoMapTileCache() {
+        return geoMapTileCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link AutocompleteSuggester}.
+     *
+     * @return the singleton suggester instance; never null
+     */
+    public AutocompleteSuggester getAutocompleteSuggester() {
+        return autocompleteSuggester;
+    }
+
+    /**
+     * Returns the application-scoped {@link TocSkeletonCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public TocSkeletonCache getTocSkeletonCache() {
+        return tocSkeletonCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link ManifestCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public ManifestCache getManifestCache() {
+        return manifestCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link SortKeyCache}.
+     *
+     * @return the singleton cache instance; never null
+     */
+    public SortKeyCache getSortKeyCache() {
+        return sortKeyCache;
+    }
+
+    /**
+     * Returns the application-scoped {@link SearchHitHydrationMetrics}.
+     *
+     * @return the singleton metrics instance; never null
+     */
+    public SearchHitHydrationMetrics getSearchHitHydrationMetrics() {
+        return searchHitHydrationMetrics;
+    }
+
 
     public TimeAnalysis getTiming() {
         return timing;
@@ -595,13 +729,27 @@ public final class DataManager {
     public UsageStatisticsRecorder getUsageStatisticsRecorder() throws DAOException {
         if (usageStatisticsRecorder == null) {
             synchronized (LOCK) {
-                usageStatisticsRecorder = new UsageStatisticsRecorder(this.getDao(), this.getConfiguration(), this.getConfiguration().getTheme());
+                // Re-check: the recorder owns a flush scheduler, a second instance would orphan its pending counts. The scheduler itself is only
+                // started once a request is recorded while statistics are enabled.
+                if (usageStatisticsRecorder == null) {
+                    usageStatisticsRecorder =
+                            new UsageStatisticsRecorder(this.getDao(), this.getConfiguration(), this.getConfiguration().getTheme());
+                }
             }
         }
 
         return usageStatisticsRecorder;
     }
 
+    /**
+     * Returns the {@link UsageStatisticsRecorder} without creating it.
+     *
+     * @return the recorder if it has already been created; empty otherwise
+     */
+    public Optional<UsageStatisticsRecorder> getExistingUsageStatisticsRecorder() {
+        return Optional.ofNullable(usageStatisticsRecorder);
+    }
+
     public void setUsageStatisticsRecorder(UsageStatisticsRecorder usageStatisticsRecorder) {
         this.usageStatisticsRecorder = usageStatisticsRecorder;
     }
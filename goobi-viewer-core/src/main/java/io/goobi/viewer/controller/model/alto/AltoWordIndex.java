@@ -0,0 +1,638 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.controller.model.alto;
+
+import java.awt.Dimension;
+import java.awt.Rectangle;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jdom2.JDOMException;
+
+import de.intranda.digiverso.ocr.alto.model.structureclasses.Line;
+import de.intranda.digiverso.ocr.alto.model.structureclasses.Page;
+import de.intranda.digiverso.ocr.alto.model.structureclasses.lineelements.Word;
+import de.intranda.digiverso.ocr.alto.model.structureclasses.logical.AltoDocument;
+import de.intranda.digiverso.ocr.alto.model.superclasses.GeometricData;
+import de.intranda.digiverso.ocr.alto.utils.HyphenationLinker;
+import io.goobi.viewer.controller.ALTOTools;
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.model.annotation.AltoAnnotationBuilder;
+
+/**
+ * <p>
+ * Compact binary word index of a single ALTO page: all words in reading order with their content, the normalized form used for search term
+ * matching, packed coordinates, hyphenation links and line/block assignment. Content search, autocomplete and search term highlighting read
+ * the words from this index instead of parsing the ALTO document.
+ * </p>
+ *
+ * <p>
+ * The index is written lazily as a sidecar file into the temp folder on first use and memory-mapped on later reads. It records the
+ * modification date and size of its ALTO file and is rebuilt once either changes, so re-indexed or crowdsourced pages never return stale
+ * words. Sidecar files which are truncated or otherwise inconsistent are rebuilt as well. The total size of the sidecar folder is limited by
+ * {@link io.goobi.viewer.controller.Configuration#getAltoWordIndexMaxSize()}; the oldest files are deleted once it is exceeded.
+ * </p>
+ */
+public final class AltoWordIndex {
+
+    private static final Logger logger = LogManager.getLogger(AltoWordIndex.class);
+
+    /** Name of the sidecar folder within the temp folder. */
+    static final String FOLDER_NAME = "alto_word_index";
+
+    static final String FILE_EXTENSION = ".awi";
+
+    private static final int MAGIC = 0x41574931;
+    private static final int VERSION = 1;
+
+    /** Magic, version, source modification date and size, page width and height, word, line and string counts. */
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 * 5;
+    /** Coordinates (4), bounds (4), line, hyphenation part, content, subs content, match content and id. */
+    private static final int WORD_INTS = 14;
+    /** Bounds (4), id and block id. */
+    private static final int LINE_INTS = 6;
+
+    private static final int NO_COORDS = Integer.MIN_VALUE;
+
+    /** Number of sidecar files written between two checks of the sidecar folder size. */
+    private static final int SIZE_CHECK_INTERVAL = 500;
+
+    private static final AtomicInteger writesSinceSizeCheck = new AtomicInteger();
+    private static final AtomicBoolean sizeCheckRunning = new AtomicBoolean();
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int lineCount;
+    private final int wordsOffset;
+    private final int linesOffset;
+    private final int stringOffsetsOffset;
+    private final int stringsOffset;
+
+    /**
+     *
+     * @param buffer Serialized index
+     * @throws IOException if the buffer does not contain a complete index of the current version
+     * @should reject truncated index
+     */
+    AltoWordIndex(ByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not an ALTO word index of version " + VERSION);
+        }
+        int words = buffer.getInt(32);
+        int lines = buffer.getInt(36);
+        int stringCount = buffer.getInt(40);
+        if (words < 0 || lines < 0 || stringCount < 0) {
+            throw new IOException("Corrupt ALTO word index header");
+        }
+        // Computed as long so that corrupt counts cannot overflow into a seemingly valid offset
+        long stringsStart = HEADER_BYTES + (long) words * WORD_INTS * 4 + (long) lines * LINE_INTS * 4 + (stringCount + 1L) * 4;
+        if (stringsStart > buffer.limit()) {
+            throw new IOException("Truncated ALTO word index");
+        }
+        int stringBytes = buffer.getInt((int) stringsStart - 4);
+        if (stringBytes < 0 || stringsStart + stringBytes != buffer.limit()) {
+            throw new IOException("Truncated ALTO word index");
+        }
+        this.buffer = buffer;
+        this.wordCount = words;
+        this.lineCount = lines;
+        this.wordsOffset = HEADER_BYTES;
+        this.linesOffset = wordsOffset + wordCount * WORD_INTS * 4;
+        this.stringOffsetsOffset = linesOffset + lineCount * LINE_INTS * 4;
+        this.stringsOffset = (int) stringsStart;
+    }
+
+    /**
+     * Returns the word index of the given ALTO file, reading it from its sidecar file or building (and writing) it if there is no current one.
+     *
+     * @param altoFile ALTO file
+     * @return {@link AltoWordIndex}
+     * @throws IOException
+     * @throws JDOMException
+     * @should write sidecar file
+     * @should rebuild index if alto file changed
+     */
+    public static AltoWordIndex load(Path altoFile) throws IOException, JDOMException {
+        long lastModified = Files.getLastModifiedTime(altoFile).toMillis();
+        long size = Files.size(altoFile);
+        Path sidecar = getSidecarPath(altoFile);
+        AltoWordIndex ret = readSidecar(sidecar, lastModified, size);
+        if (ret != null) {
+            return ret;
+        }
+
+        AltoDocument doc = AltoDocument.getDocumentFromFile(altoFile.toFile());
+        new HyphenationLinker().linkWords(doc);
+        byte[] bytes = serialize(doc, lastModified, size);
+        try {
+            Files.createDirectories(sidecar.getParent());
+            // Unique temp file, so that concurrent builders of the same page never write into each other's file
+            Path tempFile = Files.createTempFile(sidecar.getParent(), sidecar.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, bytes);
+                Files.move(tempFile, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+            checkFolderSize();
+        } catch (IOException e) {
+            // The index is still usable from memory
+            logger.warn("Unable to write ALTO word index {}: {}", sidecar, e.getMessage());
+        }
+
+        return new AltoWordIndex(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Returns the word index of the given ALTO file only if a current sidecar file exists. The ALTO file itself is never parsed, so this is
+     * cheap enough for requests which touch many pages, such as autocomplete.
+     *
+     * @param altoFile ALTO file
+     * @return {@link AltoWordIndex}; null if there is no current sidecar file
+     * @throws IOException
+     * @should return null if no sidecar exists
+     * @should return index from existing sidecar
+     */
+    public static AltoWordIndex loadExisting(Path altoFile) throws IOException {
+        return readSidecar(getSidecarPath(altoFile), Files.getLastModifiedTime(altoFile).toMillis(), Files.size(altoFile));
+    }
+
+    /**
+     *
+     * @param sidecar Sidecar file
+     * @param lastModified Current modification date of the ALTO file
+     * @param size Current size of the ALTO file
+     * @return {@link AltoWordIndex} read from the sidecar file; null if it does not exist, is unreadable or outdated
+     */
+    private static AltoWordIndex readSidecar(Path sidecar, long lastModified, long size) {
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            AltoWordIndex ret = new AltoWordIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            if (ret.getSourceLastModified() == lastModified && ret.getSourceSize() == size) {
+                return ret;
+            }
+        } catch (IOException e) {
+            logger.debug("Discarding ALTO word index {}: {}", sidecar, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Enforces the configured size limit of the sidecar folder every {@link #SIZE_CHECK_INTERVAL} written files. Only one thread checks at a
+     * time; others continue without waiting.
+     */
+    private static void checkFolderSize() {
+        if (writesSinceSizeCheck.incrementAndGet() < SIZE_CHECK_INTERVAL || !sizeCheckRunning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            writesSinceSizeCheck.set(0);
+            long maxBytes = DataManager.getInstance().getConfiguration().getAltoWordIndexMaxSize() * 1024L * 1024L;
+            int deleted = enforceSizeLimit(Paths.get(DataManager.getInstance().getConfiguration().getTempFolder(), FOLDER_NAME), maxBytes);
+            if (deleted > 0) {
+                logger.info("Deleted {} ALTO word index files to stay within the configured size limit.", deleted);
+            }
+        } finally {
+            sizeCheckRunning.set(false);
+        }
+    }
+
+    /**
+     * Deletes the oldest files in the given folder until their total size is below 90% of the given limit. Deleted sidecar files are simply
+     * rebuilt on their next use.
+     *
+     * @param folder Sidecar folder
+     * @param maxBytes Maximum total size in bytes; 0 or less disables the limit
+     * @return Number of deleted files
+     * @should delete oldest files until below limit
+     * @should not delete anything if below limit
+     */
+    static int enforceSizeLimit(Path folder, long maxBytes) {
+        if (maxBytes <= 0 || !Files.isDirectory(folder)) {
+            return 0;
+        }
+        List<SidecarFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.forEach(path -> {
+                try {
+                    BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                    if (attrs.isRegularFile()) {
+                        files.add(new SidecarFile(path, attrs.size(), attrs.lastModifiedTime().toMillis()));
+                    }
+                } catch (IOException e) {
+                    // File deleted concurrently
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Unable to check size of ALTO word index folder {}: {}", folder, e.getMessage());
+            return 0;
+        }
+        long total = files.stream().mapToLong(SidecarFile::size).sum();
+        if (total <= maxBytes) {
+            return 0;
+        }
+
+        files.sort(Comparator.comparingLong(SidecarFile::lastModified));
+        long target = maxBytes / 10 * 9;
+        int deleted = 0;
+        for (SidecarFile file : files) {
+            if (total <= target) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(file.path());
+                total -= file.size();
+                deleted++;
+            } catch (IOException e) {
+                logger.debug("Unable to delete ALTO word index {}: {}", file.path(), e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Builds an in-memory index of the given ALTO document. Hyphenated words must already be linked.
+     *
+     * @param doc ALTO document
+     * @return {@link AltoWordIndex}
+     * @throws IOException
+     * @should index words with coordinates and lines
+     * @should link hyphenation parts
+     */
+    public static AltoWordIndex build(AltoDocument doc) throws IOException {
+        return new AltoWordIndex(ByteBuffer.wrap(serialize(doc, 0, 0)));
+    }
+
+    /**
+     *
+     * @param altoFile ALTO file
+     * @return Path of the sidecar file for the given ALTO file
+     * @should include folder and record names
+     */
+    static Path getSidecarPath(Path altoFile) {
+        Path parent = altoFile.toAbsolutePath().getParent();
+        String recordFolder = parent != null && parent.getFileName() != null ? parent.getFileName().toString() : "";
+        String contentFolder = parent != null && parent.getParent() != null && parent.getParent().getFileName() != null
+                ? parent.getParent().getFileName().toString() : "";
+        return Paths.get(DataManager.getInstance().getConfiguration().getTempFolder(), FOLDER_NAME, contentFolder, recordFolder,
+                altoFile.getFileName().toString() + FILE_EXTENSION);
+    }
+
+    /**
+     *
+     * @param doc ALTO document
+     * @param sourceLastModified Modification date of the ALTO file
+     * @param sourceSize Size of the ALTO file
+     * @return Serialized index
+     * @throws IOException
+     */
+    private static byte[] serialize(AltoDocument doc, long sourceLastModified, long sourceSize) throws IOException {
+        Page page = doc.getFirstPage();
+        Dimension pageSize = new Dimension(0, 0);
+        List<Line> lines = new ArrayList<>();
+        List<Word> words = new ArrayList<>();
+        if (page != null) {
+            try {
+                pageSize = new Dimension((int) page.getWidth(), (int) page.getHeight());
+            } catch (NullPointerException | NumberFormatException e) {
+                logger.error("Could not parse ALTO: No valid width or height specified in 'page' element.");
+            }
+            lines.addAll(page.getAllLinesAsList());
+            for (Line line : lines) {
+                words.addAll(line.getWords());
+            }
+        }
+
+        StringTable strings = new StringTable();
+        Map<Word, Integer> wordIndexes = new IdentityHashMap<>(words.size());
+        for (int i = 0; i < words.size(); ++i) {
+            wordIndexes.put(words.get(i), i);
+        }
+        Map<Line, Integer> lineIndexes = new IdentityHashMap<>(lines.size());
+        for (int i = 0; i < lines.size(); ++i) {
+            lineIndexes.put(lines.get(i), i);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + words.size() * WORD_INTS * 8);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(sourceLastModified);
+        out.writeLong(sourceSize);
+        out.writeInt(pageSize.width);
+        out.writeInt(pageSize.height);
+        out.writeInt(words.size());
+        out.writeInt(lines.size());
+        // String count is only known after the words and lines have been written
+        ByteArrayOutputStream body = new ByteArrayOutputStream(words.size() * WORD_INTS * 4);
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        for (Word word : words) {
+            writeCoords(bodyOut, ALTOTools.getALTOCoords(word));
+            writeBounds(bodyOut, word.getBounds());
+            Integer line = lineIndexes.get(word.getParent());
+            bodyOut.writeInt(line != null ? line : -1);
+            Integer hyphenationPart = word.getHyphenationPartNext() != null ? wordIndexes.get(word.getHyphenationPartNext()) : null;
+            bodyOut.writeInt(hyphenationPart != null ? hyphenationPart : -1);
+            String content = word.getContent() != null ? word.getContent() : "";
+            String subsContent = word.getSubsContent() != null && !word.getSubsContent().isEmpty() ? word.getSubsContent() : content;
+            bodyOut.writeInt(strings.add(content));
+            bodyOut.writeInt(strings.add(subsContent));
+            bodyOut.writeInt(strings.add(ALTOTools.getMatchContent(content, word.getSubsContent())));
+            bodyOut.writeInt(strings.add(word.getId() != null ? word.getId() : AltoAnnotationBuilder.buildId(word)));
+        }
+        for (Line line : lines) {
+            writeBounds(bodyOut, line.getBounds());
+            bodyOut.writeInt(strings.add(line.getId()));
+            Object block = line.getParent();
+            bodyOut.writeInt(strings.add(block instanceof GeometricData g ? g.getId() : null));
+        }
+        out.writeInt(strings.size());
+        body.writeTo(out);
+        strings.writeTo(out);
+        out.flush();
+
+        return bytes.toByteArray();
+    }
+
+    private static void writeCoords(DataOutputStream out, String coords) throws IOException {
+        String[] parts = coords != null ? coords.split(",") : new String[0];
+        if (parts.length != 4) {
+            for (int i = 0; i < 4; ++i) {
+                out.writeInt(NO_COORDS);
+            }
+            return;
+        }
+        for (String part : parts) {
+            out.writeInt(Integer.parseInt(part));
+        }
+    }
+
+    private static void writeBounds(DataOutputStream out, Rectangle bounds) throws IOException {
+        Rectangle r = bounds != null ? bounds : new Rectangle();
+        out.writeInt(r.x);
+        out.writeInt(r.y);
+        out.writeInt(r.width);
+        out.writeInt(r.height);
+    }
+
+    /**
+     * @return Modification date of the indexed ALTO file in milliseconds; 0 for in-memory indexes
+     */
+    long getSourceLastModified() {
+        return buffer.getLong(8);
+    }
+
+    /**
+     * @return Size of the indexed ALTO file in bytes; 0 for in-memory indexes
+     */
+    long getSourceSize() {
+        return buffer.getLong(16);
+    }
+
+    /**
+     * @return Page dimensions; 0x0 if the ALTO page has none
+     */
+    public Dimension getPageSize() {
+        return new Dimension(buffer.getInt(24), buffer.getInt(28));
+    }
+
+    /**
+     * @return Number of words on the page
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * @return Number of lines on the page
+     */
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return Content of the word
+     */
+    public String getContent(int word) {
+        return getString(getWordInt(word, 10));
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return Complete content of a hyphenated word; otherwise the content of the word
+     */
+    public String getSubsContent(int word) {
+        return getString(getWordInt(word, 11));
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return Normalized content used for search term matching (see {@link ALTOTools#getMatchContent(String, String)})
+     */
+    public String getMatchContent(int word) {
+        return getString(getWordInt(word, 12));
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return ALTO element ID of the word
+     */
+    public String getId(int word) {
+        return getString(getWordInt(word, 13));
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return Word coordinates as "x1,y1,x2,y2" (see {@link ALTOTools#getALTOCoords(GeometricData)}); null if the word has none
+     */
+    public String getCoords(int word) {
+        int x1 = getWordInt(word, 0);
+        if (x1 == NO_COORDS) {
+            return null;
+        }
+        return new StringBuilder().append(x1)
+                .append(',')
+                .append(getWordInt(word, 1))
+                .append(',')
+                .append(getWordInt(word, 2))
+                .append(',')
+                .append(getWordInt(word, 3))
+                .toString();
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return Bounds of the word element
+     */
+    public Rectangle getBounds(int word) {
+        return new Rectangle(getWordInt(word, 4), getWordInt(word, 5), getWordInt(word, 6), getWordInt(word, 7));
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return Index of the line containing the word; -1 if unknown
+     */
+    public int getLine(int word) {
+        return getWordInt(word, 8);
+    }
+
+    /**
+     *
+     * @param word Word index
+     * @return Index of the word containing the second part of a hyphenated word; -1 if the word is not hyphenated
+     */
+    public int getHyphenationPartNext(int word) {
+        return getWordInt(word, 9);
+    }
+
+    /**
+     *
+     * @param line Line index
+     * @return ALTO element ID of the line
+     */
+    public String getLineId(int line) {
+        return getString(getLineInt(line, 4));
+    }
+
+    /**
+     *
+     * @param line Line index
+     * @return ALTO element ID of the text block containing the line; null if unknown
+     */
+    public String getBlockId(int line) {
+        return getString(getLineInt(line, 5));
+    }
+
+    /**
+     *
+     * @param line Line index
+     * @return Bounds of the line element
+     */
+    public Rectangle getLineBounds(int line) {
+        return new Rectangle(getLineInt(line, 0), getLineInt(line, 1), getLineInt(line, 2), getLineInt(line, 3));
+    }
+
+    private int getWordInt(int word, int field) {
+        if (word < 0 || word >= wordCount) {
+            throw new IndexOutOfBoundsException(word);
+        }
+        return buffer.getInt(wordsOffset + (word * WORD_INTS + field) * 4);
+    }
+
+    private int getLineInt(int line, int field) {
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException(line);
+        }
+        return buffer.getInt(linesOffset + (line * LINE_INTS + field) * 4);
+    }
+
+    private String getString(int ref) {
+        if (ref < 0) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsetsOffset + ref * 4);
+        int end = buffer.getInt(stringOffsetsOffset + (ref + 1) * 4);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringsOffset + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A file in the sidecar folder.
+     *
+     * @param path File path
+     * @param size File size in bytes
+     * @param lastModified Modification date in milliseconds
+     */
+    private record SidecarFile(Path path, long size, long lastModified) {
+    }
+
+    /**
+     * Deduplicated UTF-8 strings referenced by position.
+     */
+    private static class StringTable {
+
+        private final Map<String, Integer> refs = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final List<Integer> offsets = new ArrayList<>();
+
+        /**
+         *
+         * @param s String to add; may be null
+         * @return Reference to the string; -1 for null
+         */
+        int add(String s) {
+            if (s == null) {
+                return -1;
+            }
+            return refs.computeIfAbsent(s, k -> {
+                offsets.add(bytes.size());
+                bytes.writeBytes(k.getBytes(StandardCharsets.UTF_8));
+                return offsets.size() - 1;
+            });
+        }
+
+        int size() {
+            return offsets.size();
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            for (int offset : offsets) {
+                out.writeInt(offset);
+            }
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        }
+    }
+}
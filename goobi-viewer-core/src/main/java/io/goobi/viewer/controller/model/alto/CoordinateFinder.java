@@ -35,67 +35,56 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.jdom2.JDOMException;
 
-import de.intranda.digiverso.ocr.alto.model.structureclasses.Line;
-import de.intranda.digiverso.ocr.alto.model.structureclasses.Page;
-import de.intranda.digiverso.ocr.alto.model.structureclasses.lineelements.Word;
 import de.intranda.digiverso.ocr.alto.model.structureclasses.logical.AltoDocument;
 import de.intranda.digiverso.ocr.alto.utils.HyphenationLinker;
 import io.goobi.viewer.controller.ALTOTools;
 import io.goobi.viewer.controller.StringTools;
 
 /**
- * Detects word coordinates in alto document.
+ * Detects word coordinates in alto document. Words are read from an {@link AltoWordIndex}, either built from the given ALTO document or
+ * loaded from the index sidecar file of the page.
  */
 public class CoordinateFinder {
 
     private static final Logger logger = LogManager.getLogger(CoordinateFinder.class);
 
-    private static final String CONTENT = "CONTENT";
-
-    private final AltoDocument document;
+    private final AltoWordIndex words;
 
     public CoordinateFinder(String altoString, String charset) throws IOException, JDOMException {
         if (altoString == null) {
             throw new IllegalArgumentException("altoDoc may not be null");
         }
-        this.document = AltoDocument.getDocumentFromString(altoString, StringUtils.isBlank(charset) ? StringTools.DEFAULT_ENCODING : charset);
+        AltoDocument document =
+                AltoDocument.getDocumentFromString(altoString, StringUtils.isBlank(charset) ? StringTools.DEFAULT_ENCODING : charset);
         HyphenationLinker linker = new HyphenationLinker();
-        linker.linkWords(this.document);
+        linker.linkWords(document);
+        this.words = AltoWordIndex.build(document);
     }
 
-    public List<String> getWordCoords(Set<String> searchTerms, int proximitySearchDistance, int rotation) {
-        return getWordCoordinates(searchTerms, proximitySearchDistance, rotation, getAllWords(), getPageSize());
+    /**
+     *
+     * @param words Word index of the page
+     */
+    public CoordinateFinder(AltoWordIndex words) {
+        if (words == null) {
+            throw new IllegalArgumentException("words may not be null");
+        }
+        this.words = words;
     }
 
-    public Dimension getPageSize() {
-        Dimension pageSize = new Dimension(0, 0);
-        try {
-            Page page = document.getFirstPage();
-            pageSize = new Dimension((int) page.getWidth(), (int) page.getHeight());
-        } catch (NullPointerException e) {
-            logger.error("Could not parse ALTO: No width or height specified in 'page' element.");
-        } catch (NumberFormatException e) {
-            logger.error("Could not parse ALTO: Could not parse page width or height.");
-        }
-        return pageSize;
+    public List<String> getWordCoords(Set<String> searchTerms, int proximitySearchDistance, int rotation) {
+        logger.trace("{} ALTO words found for this page.", words.getWordCount());
+        return getWordCoordinates(searchTerms, proximitySearchDistance, rotation, getPageSize());
     }
 
-    List<Word> getAllWords() {
-        List<Word> words = new ArrayList<>();
-        Page page = document.getFirstPage();
-        List<Line> lines = page.getAllLinesAsList();
-        for (Line line : lines) {
-            words.addAll(line.getWords());
-        }
-        logger.trace("{} ALTO words found for this page.", words.size());
-        return words;
+    public Dimension getPageSize() {
+        return words.getPageSize();
     }
 
     private List<String> getWordCoordinates(
             Set<String> searchTerms,
             int proximitySearchDistance,
             int rotation,
-            List<Word> words,
             Dimension pageSize) {
 
         List<String> coordList = new ArrayList<>();
@@ -111,7 +100,6 @@ public class CoordinateFinder {
                             searchWords,
                             proximitySearchDistance,
                             rotation,
-                            words,
                             pageSize));
         }
 
@@ -133,19 +121,17 @@ public class CoordinateFinder {
             String[] searchWords,
             int proximitySearchDistance,
             int rotation,
-            List<Word> words,
             Dimension pageSize) {
 
         List<String> results = new ArrayList<>();
 
         int nextIndex = -1;
-        for (int index = 0; index < words.size(); index++) {
+        for (int index = 0; index < words.getWordCount(); index++) {
             //if nextIndex is set, skip until index == nextIndex+1, i.e. to one word after the last match
             if (index <= nextIndex) {
                 continue;
             }
             MatchResult matchResult = tryMatchFromIndex(
-                    words,
                     index,
                     searchWords,
                     proximitySearchDistance,
@@ -162,7 +148,6 @@ public class CoordinateFinder {
     }
 
     private MatchResult tryMatchFromIndex(
-            List<Word> words,
             int startIndex,
             String[] searchWords,
             int proximitySearchDistance,
@@ -172,21 +157,19 @@ public class CoordinateFinder {
         List<String> coords = new ArrayList<>();
         int index = startIndex;
 
-        Word firstWord = words.get(index);
-        int totalHits = ALTOTools.getMatchALTOWord(firstWord, searchWords);
+        int totalHits = ALTOTools.getMatchCount(words.getMatchContent(index), searchWords);
 
         if (totalHits == 0) {
             return MatchResult.noMatch(startIndex);
         }
 
-        index = addWordAndHyphenation(firstWord, index, rotation, pageSize, coords, words);
+        index = addWordAndHyphenation(index, rotation, pageSize, coords);
 
         if (totalHits == searchWords.length) {
             return MatchResult.match(coords, index);
         }
 
         return continueProximityMatch(
-                words,
                 index,
                 totalHits,
                 searchWords,
@@ -197,7 +180,6 @@ public class CoordinateFinder {
     }
 
     private MatchResult continueProximityMatch(
-            List<Word> words,
             int initialIndex,
             int previousHits,
             String[] searchWords,
@@ -211,15 +193,14 @@ public class CoordinateFinder {
         int totalHits = previousHits;
 
         int nextIndex = -1;
-        while (totalHits < searchWords.length && index + 1 < words.size()) {
+        while (totalHits < searchWords.length && index + 1 < words.getWordCount()) {
             index++;
             if (index <= nextIndex) {
                 continue;
             }
-            Word nextWord = words.get(index);
 
-            int hits = ALTOTools.getMatchALTOWord(
-                    nextWord,
+            int hits = ALTOTools.getMatchCount(
+                    words.getMatchContent(index),
                     Arrays.copyOfRange(searchWords, totalHits, searchWords.length));
 
             if (hits == 0) {
@@ -231,7 +212,7 @@ public class CoordinateFinder {
             }
 
             totalHits += hits;
-            nextIndex = addWordAndHyphenation(nextWord, index, rotation, pageSize, coords, words);
+            nextIndex = addWordAndHyphenation(index, rotation, pageSize, coords);
         }
 
         return totalHits == searchWords.length
@@ -240,19 +221,18 @@ public class CoordinateFinder {
     }
 
     private int addWordAndHyphenation(
-            Word word,
             int index,
             int rotation,
             Dimension pageSize,
-            List<String> coords,
-            List<Word> words) {
+            List<String> coords) {
 
-        addWordCoords(rotation, pageSize, word, coords);
+        addWordCoords(rotation, pageSize, index, coords);
 
-        if (word.getHyphenationPartNext() != null
-                && word.getHyphenationPartNext().getContent().matches("\\S+")) {
+        int hyphenationPartNext = words.getHyphenationPartNext(index);
+        if (hyphenationPartNext >= 0
+                && words.getContent(hyphenationPartNext).matches("\\S+")) {
 
-            addWordCoords(rotation, pageSize, word.getHyphenationPartNext(), coords);
+            addWordCoords(rotation, pageSize, hyphenationPartNext, coords);
             return index + 1;
         }
 
@@ -263,12 +243,12 @@ public class CoordinateFinder {
      * 
      * @param rotation page rotation in degrees to apply to coordinates
      * @param pageSize dimensions of the page used for coordinate rotation
-     * @param eleWord ALTO word element from which to extract coordinates
+     * @param word index of the word from which to extract coordinates
      * @param tempList list to which the extracted coordinate string is appended
      * @return ALTO word coordinates as a {@link String}
      */
-    private String addWordCoords(int rotation, Dimension pageSize, Word eleWord, List<String> tempList) {
-        String coords = ALTOTools.getALTOCoords(eleWord);
+    private String addWordCoords(int rotation, Dimension pageSize, int word, List<String> tempList) {
+        String coords = words.getCoords(word);
         if (coords != null && rotation != 0) {
             try {
                 coords = ALTOTools.getRotatedCoordinates(coords, rotation, pageSize);
@@ -279,7 +259,7 @@ public class CoordinateFinder {
         if (coords != null) {
             tempList.add(coords);
             if (logger.isTraceEnabled()) {
-                logger.trace("ALTO word found: {} ({})", eleWord.getAttributeValue(CONTENT), coords);
+                logger.trace("ALTO word found: {} ({})", words.getContent(word), coords);
             }
         }
 
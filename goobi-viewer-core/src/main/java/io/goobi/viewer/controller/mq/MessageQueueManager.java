@@ -236,6 +236,17 @@ public class MessageQueueManager {
         return rv;
     }
 
+    /**
+     * Persists the given message with status {@link MessageStatus#PROCESSING} while its handler is still running, so that intermediate
+     * progress stored in its properties is visible in the admin backend.
+     *
+     * @param message message currently being handled
+     */
+    public void updateProgress(ViewerMessage message) {
+        updateMessageStatus(message, MessageStatus.PROCESSING);
+        notifyMessageQueueStateUpdate();
+    }
+
     public boolean initializeMessageServer() {
         return initializeMessageServer("localhost", SERVER_REGISTRY_PORT, 0);
     }
@@ -67,6 +67,7 @@ public class ViewerMessage {
 
     public static final String MESSAGE_PROPERTY_ERROR = "error";
     public static final String MESSAGE_PROPERTY_INFO = "result";
+    public static final String MESSAGE_PROPERTY_PROGRESS = "progress";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
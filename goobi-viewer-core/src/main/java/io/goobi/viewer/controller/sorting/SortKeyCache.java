@@ -0,0 +1,146 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.controller.sorting;
+
+import java.text.Collator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.goobi.viewer.messages.ViewerResourceBundle;
+
+/**
+ * <p>
+ * Application-scoped cache for the sort keys of facet values: the translated label and the {@link java.text.CollationKey} bytes of each value,
+ * per locale and field. Sorting a facet thus translates and collates each value once instead of once per comparison, and repeated requests
+ * for the same facet do not repeat the work at all.
+ * </p>
+ *
+ * <p>
+ * Collation keys are generated with the same collator as {@link AlphabeticComparator} (default instance, primary strength). All entries are
+ * dropped when a local messages file is reloaded or the maximum number of entries is reached.
+ * </p>
+ */
+public class SortKeyCache {
+
+    /** Upper bound for cached labels and for cached collation keys; all entries of the respective map are dropped once it is reached. */
+    static final int MAX_ENTRIES = 100000;
+
+    private final Map<Key, String> labels = new ConcurrentHashMap<>();
+    private final Map<Key, byte[]> collationKeys = new ConcurrentHashMap<>();
+    /** Collator used for all collation keys; RuleBasedCollator synchronizes key generation internally. */
+    private final Collator collator;
+    /** Local bundle generation the cached labels belong to. */
+    private volatile long bundleGeneration = ViewerResourceBundle.getLocalBundleGeneration();
+
+    /**
+     * Creates an empty cache.
+     */
+    public SortKeyCache() {
+        collator = Collator.getInstance();
+        collator.setStrength(Collator.PRIMARY);
+    }
+
+    /**
+     * Returns the translated label of the given value, translating it on the first request.
+     *
+     * @param field Facet field
+     * @param value Facet value
+     * @param locale Locale of the label
+     * @param translator Translator to use if the label is not yet cached
+     * @return Translated label
+     * @should translate each value only once
+     */
+    public String getLabel(String field, String value, Locale locale, ITranslator<String> translator) {
+        if (translator instanceof NoopTranslator) {
+            return translator.translate(value, locale);
+        }
+        checkBundleGeneration();
+        Key key = new Key(locale, field, value);
+        String ret = labels.get(key);
+        if (ret == null) {
+            ret = translator.translate(value, locale);
+            if (labels.size() >= MAX_ENTRIES) {
+                labels.clear();
+            }
+            labels.put(key, ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Returns the collation key bytes of the translated label of the given value. Comparing the returned arrays with
+     * {@link java.util.Arrays#compareUnsigned(byte[], byte[])} yields the same order as comparing the labels with {@link AlphabeticComparator}.
+     *
+     * @param field Facet field
+     * @param value Facet value
+     * @param locale Locale of the label
+     * @param translator Translator to use if the label is not yet cached
+     * @return Collation key bytes
+     * @should order keys like alphabetic comparator
+     */
+    public byte[] getCollationKey(String field, String value, Locale locale, ITranslator<String> translator) {
+        checkBundleGeneration();
+        Key key = new Key(locale, field, value);
+        byte[] ret = collationKeys.get(key);
+        if (ret == null) {
+            ret = collator.getCollationKey(getLabel(field, value, locale, translator)).toByteArray();
+            if (collationKeys.size() >= MAX_ENTRIES) {
+                collationKeys.clear();
+            }
+            collationKeys.put(key, ret);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Drops all cached labels and collation keys.
+     */
+    public void invalidate() {
+        labels.clear();
+        collationKeys.clear();
+    }
+
+    /**
+     *
+     * @return Number of cached collation keys
+     */
+    public int getSize() {
+        return collationKeys.size();
+    }
+
+    /**
+     * Drops all entries if a local messages file has been reloaded since they were cached.
+     */
+    private void checkBundleGeneration() {
+        long generation = ViewerResourceBundle.getLocalBundleGeneration();
+        if (generation != bundleGeneration) {
+            bundleGeneration = generation;
+            invalidate();
+        }
+    }
+
+    private record Key(Locale locale, String field, String value) {
+    }
+}
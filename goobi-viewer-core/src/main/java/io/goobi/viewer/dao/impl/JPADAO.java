@@ -151,6 +151,7 @@ public class JPADAO implements IDAO {
      * EntityManagerFactory for the persistence context. Only build once at application startup
      */
     private final EntityManagerFactory factory;
+    // Serializes CMS writes only; reads use their own EntityManager and stay unlocked (see CMSSnapshotCache)
     private Object cmsRequestLock = new Object();
     private Object crowdsourcingRequestLock = new Object();
     // Dedicated lock for ViewerMessage operations to prevent concurrent write deadlocks on mq_message_properties
@@ -592,6 +593,8 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.merge(user);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidateUser(user.getId());
+            DataManager.getInstance().getUserEntitlementCache().invalidateUser(user.getId());
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -611,6 +614,8 @@ public class JPADAO implements IDAO {
             User u = em.getReference(User.class, user.getId());
             em.remove(u);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidateUser(user.getId());
+            DataManager.getInstance().getUserEntitlementCache().invalidateUser(user.getId());
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -871,6 +876,8 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.persist(userGroup);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
         } catch (PersistenceException e) {
             handleException(em);
             return false;
@@ -895,6 +902,8 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.merge(userGroup);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -914,6 +923,8 @@ public class JPADAO implements IDAO {
             UserGroup o = em.getReference(UserGroup.class, userGroup.getId());
             em.remove(o);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (RollbackException e) {
             handleException(em);
@@ -1384,6 +1395,8 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.persist(userRole);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
         } catch (PersistenceException e) {
             handleException(em);
             return false;
@@ -1402,6 +1415,8 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.merge(userRole);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -1421,6 +1436,8 @@ public class JPADAO implements IDAO {
             UserRole o = em.getReference(UserRole.class, userRole.getId());
             em.remove(o);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -1690,6 +1707,8 @@ public class JPADAO implements IDAO {
             commitTransaction(em);
             // Invalidate LicenseTypeCache after successful commit (design doc 2026-04-22).
             DataManager.getInstance().getLicenseTypeCache().invalidate();
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
         } catch (PersistenceException e) {
             handleException(em);
             return false;
@@ -1714,6 +1733,8 @@ public class JPADAO implements IDAO {
             commitTransaction(em);
             // Invalidate LicenseTypeCache after successful commit (design doc 2026-04-22).
             DataManager.getInstance().getLicenseTypeCache().invalidate();
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -1739,6 +1760,8 @@ public class JPADAO implements IDAO {
             commitTransaction(em);
             // Invalidate LicenseTypeCache after successful commit (design doc 2026-04-22).
             DataManager.getInstance().getLicenseTypeCache().invalidate();
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -1897,6 +1920,8 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.persist(license);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
         } catch (PersistenceException e) {
             handleException(em);
             return false;
@@ -1915,6 +1940,8 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.merge(license);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -1934,6 +1961,8 @@ public class JPADAO implements IDAO {
             License o = em.getReference(License.class, license.getId());
             em.remove(o);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+            DataManager.getInstance().getUserEntitlementCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -2242,6 +2271,7 @@ public class JPADAO implements IDAO {
             commitTransaction(em);
             // Invalidate IpRangeCache after successful commit (design doc 2026-04-22).
             DataManager.getInstance().getIpRangeCache().invalidate();
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
         } catch (PersistenceException e) {
             handleException(em);
             return false;
@@ -2266,6 +2296,7 @@ public class JPADAO implements IDAO {
             commitTransaction(em);
             // Invalidate IpRangeCache after successful commit (design doc 2026-04-22).
             DataManager.getInstance().getIpRangeCache().invalidate();
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -2291,6 +2322,7 @@ public class JPADAO implements IDAO {
             commitTransaction(em);
             // Invalidate IpRangeCache after successful commit (design doc 2026-04-22).
             DataManager.getInstance().getIpRangeCache().invalidate();
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -3078,39 +3110,35 @@ public class JPADAO implements IDAO {
     @SuppressWarnings("unchecked")
     @Override
     public List<CMSPage> getAllCMSPages() throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT o FROM CMSPage o");
-                return q.getResultList();
-            } catch (PersistenceException e) {
-                logger.error(MSG_EXCEPTION_CMS, e.getMessage());
-                return new ArrayList<>();
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT o FROM CMSPage o");
+            return q.getResultList();
+        } catch (PersistenceException e) {
+            logger.error(MSG_EXCEPTION_CMS, e.getMessage());
+            return new ArrayList<>();
+        } finally {
+            close(em);
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public CMSPage getCmsPageForStaticPage(String pageName) throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT o FROM CMSPage o WHERE o.staticPageName = :pageName");
-                q.setParameter("pageName", pageName);
-                q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
-                if (!q.getResultList().isEmpty()) {
-                    return (CMSPage) q.getSingleResult();
-                }
-            } finally {
-                close(em);
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT o FROM CMSPage o WHERE o.staticPageName = :pageName");
+            q.setParameter("pageName", pageName);
+            q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
+            if (!q.getResultList().isEmpty()) {
+                return (CMSPage) q.getSingleResult();
             }
-            return null;
+        } finally {
+            close(em);
         }
+        return null;
     }
 
     /** {@inheritDoc} */
@@ -3118,49 +3146,47 @@ public class JPADAO implements IDAO {
     @Override
     public List<CMSPage> getCMSPages(int first, int pageSize, String sortField, boolean descending, Map<String, String> filters,
             List<Long> allowedTemplates, List<String> allowedSubthemes, List<String> allowedCategories) throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                StringBuilder sbQuery = new StringBuilder("SELECT DISTINCT a FROM CMSPage a");
-                StringBuilder order = new StringBuilder();
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            StringBuilder sbQuery = new StringBuilder("SELECT DISTINCT a FROM CMSPage a");
+            StringBuilder order = new StringBuilder();
 
-                Map<String, Object> params = new HashMap<>();
+            Map<String, Object> params = new HashMap<>();
 
-                String filterString = createFilterQuery2(null, filters, params);
-                String rightsFilterString = "";
-                try {
-                    rightsFilterString = createCMSPageFilter(params, "a", allowedTemplates, allowedSubthemes, allowedCategories);
-                    if (!rightsFilterString.isEmpty()) {
-                        rightsFilterString = (StringUtils.isBlank(filterString) ? QUERY_ELEMENT_WHERE : QUERY_ELEMENT_AND) + rightsFilterString;
-                    }
-                } catch (AccessDeniedException e) {
-                    //may not request any cms pages at all
-                    return Collections.emptyList();
+            String filterString = createFilterQuery2(null, filters, params);
+            String rightsFilterString = "";
+            try {
+                rightsFilterString = createCMSPageFilter(params, "a", allowedTemplates, allowedSubthemes, allowedCategories);
+                if (!rightsFilterString.isEmpty()) {
+                    rightsFilterString = (StringUtils.isBlank(filterString) ? QUERY_ELEMENT_WHERE : QUERY_ELEMENT_AND) + rightsFilterString;
                 }
+            } catch (AccessDeniedException e) {
+                //may not request any cms pages at all
+                return Collections.emptyList();
+            }
 
-                if (StringUtils.isNotEmpty(sortField)) {
-                    order.append(" ORDER BY a.").append(sortField);
-                    if (descending) {
-                        order.append(QUERY_ELEMENT_DESC);
-                    }
+            if (StringUtils.isNotEmpty(sortField)) {
+                order.append(" ORDER BY a.").append(sortField);
+                if (descending) {
+                    order.append(QUERY_ELEMENT_DESC);
                 }
-                sbQuery.append(filterString).append(rightsFilterString).append(order);
+            }
+            sbQuery.append(filterString).append(rightsFilterString).append(order);
 
-                logger.trace("CMS page query: {}", sbQuery);
-                Query q = em.createQuery(sbQuery.toString());
-                params.entrySet().forEach(entry -> q.setParameter(entry.getKey(), entry.getValue()));
-                q.setFirstResult(first);
-                q.setMaxResults(pageSize);
-                q.setFlushMode(FlushModeType.COMMIT);
+            logger.trace("CMS page query: {}", sbQuery);
+            Query q = em.createQuery(sbQuery.toString());
+            params.entrySet().forEach(entry -> q.setParameter(entry.getKey(), entry.getValue()));
+            q.setFirstResult(first);
+            q.setMaxResults(pageSize);
+            q.setFlushMode(FlushModeType.COMMIT);
 
-                return q.getResultList();
-            } catch (PersistenceException e) {
-                logger.error(MSG_EXCEPTION_CMS, e.getMessage());
-                return new ArrayList<>();
-            } finally {
-                close(em);
-            }
+            return q.getResultList();
+        } catch (PersistenceException e) {
+            logger.error(MSG_EXCEPTION_CMS, e.getMessage());
+            return new ArrayList<>();
+        } finally {
+            close(em);
         }
     }
 
@@ -3303,17 +3329,15 @@ public class JPADAO implements IDAO {
     /** {@inheritDoc} */
     @Override
     public CMSPage getCMSPage(long id) throws DAOException {
-        synchronized (cmsRequestLock) {
-            logger.trace("getCMSPage: {}", id);
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                return em.getReference(CMSPage.class, id);
-            } catch (EntityNotFoundException e) {
-                return null;
-            } finally {
-                close(em);
-            }
+        logger.trace("getCMSPage: {}", id);
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            return em.getReference(CMSPage.class, id);
+        } catch (EntityNotFoundException e) {
+            return null;
+        } finally {
+            close(em);
         }
     }
 
@@ -3321,16 +3345,14 @@ public class JPADAO implements IDAO {
     @SuppressWarnings("unchecked")
     @Override
     public List<CMSNavigationItem> getRelatedNavItem(CMSPage page) throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT o FROM CMSNavigationItem o WHERE o.cmsPage = :page");
-                q.setParameter("page", page);
-                return q.getResultList();
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT o FROM CMSNavigationItem o WHERE o.cmsPage = :page");
+            q.setParameter("page", page);
+            return q.getResultList();
+        } finally {
+            close(em);
         }
     }
 
@@ -3345,6 +3367,7 @@ public class JPADAO implements IDAO {
                 startTransaction(em);
                 em.persist(page);
                 commitTransaction(em);
+                DataManager.getInstance().getCmsSnapshotCache().invalidate();
                 return true;
             } catch (PersistenceException e) {
                 logger.error("Error adding cmsPage to database", e);
@@ -3366,6 +3389,7 @@ public class JPADAO implements IDAO {
                 startTransaction(em);
                 em.merge(page);
                 commitTransaction(em);
+                DataManager.getInstance().getCmsSnapshotCache().invalidate();
                 return true;
             } catch (PersistenceException | NullPointerException e) {
                 logger.error("Error saving page ", e);
@@ -3389,6 +3413,7 @@ public class JPADAO implements IDAO {
                 CMSPage o = em.getReference(CMSPage.class, page.getId());
                 em.remove(o);
                 commitTransaction(em);
+                DataManager.getInstance().getCmsSnapshotCache().invalidate();
                 return true;
             } catch (PersistenceException e) {
                 handleException(em);
@@ -3491,16 +3516,14 @@ public class JPADAO implements IDAO {
     /** {@inheritDoc} */
     @Override
     public PersistentCMSComponent getCMSComponent(Long id) throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                return em.getReference(PersistentCMSComponent.class, id);
-            } catch (EntityNotFoundException e) {
-                return null;
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            return em.getReference(PersistentCMSComponent.class, id);
+        } catch (EntityNotFoundException e) {
+            return null;
+        } finally {
+            close(em);
         }
     }
 
@@ -3508,20 +3531,18 @@ public class JPADAO implements IDAO {
     @SuppressWarnings("unchecked")
     @Override
     public List<CMSMediaItem> getAllCMSMediaItems() throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT o FROM CMSMediaItem o");
-                q.setFlushMode(FlushModeType.COMMIT);
-                q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
-                return q.getResultList();
-            } catch (PersistenceException e) {
-                logger.error(MSG_EXCEPTION_CMS, e.toString());
-                return new ArrayList<>();
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT o FROM CMSMediaItem o");
+            q.setFlushMode(FlushModeType.COMMIT);
+            q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
+            return q.getResultList();
+        } catch (PersistenceException e) {
+            logger.error(MSG_EXCEPTION_CMS, e.toString());
+            return new ArrayList<>();
+        } finally {
+            close(em);
         }
     }
 
@@ -3529,58 +3550,51 @@ public class JPADAO implements IDAO {
     @SuppressWarnings("unchecked")
     @Override
     public List<CMSMediaItem> getAllCMSCollectionItems() throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT o FROM CMSMediaItem o WHERE o.collection = true");
-                return q.getResultList();
-            } catch (PersistenceException e) {
-                logger.error(MSG_EXCEPTION_CMS, e.toString());
-                return new ArrayList<>();
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT o FROM CMSMediaItem o WHERE o.collection = true");
+            return q.getResultList();
+        } catch (PersistenceException e) {
+            logger.error(MSG_EXCEPTION_CMS, e.toString());
+            return new ArrayList<>();
+        } finally {
+            close(em);
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public CMSMediaItem getCMSMediaItemByFilename(String filename) throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT o FROM CMSMediaItem o WHERE o.fileName = :fileName");
-                q.setParameter("fileName", filename);
-                // q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
-                return (CMSMediaItem) q.getSingleResult();
-            } catch (NoResultException e) {
-                //nothing found; no biggie
-                return null;
-            } catch (PersistenceException e) {
-                logger.error("Exception \"{}\" when trying to get CMS media item with filename '{}'", e.toString(), filename);
-                return null;
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT o FROM CMSMediaItem o WHERE o.fileName = :fileName");
+            q.setParameter("fileName", filename);
+            // q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
+            return (CMSMediaItem) q.getSingleResult();
+        } catch (NoResultException e) {
+            //nothing found; no biggie
+            return null;
+        } catch (PersistenceException e) {
+            logger.error("Exception \"{}\" when trying to get CMS media item with filename '{}'", e.toString(), filename);
+            return null;
+        } finally {
+            close(em);
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public CMSMediaItem getCMSMediaItem(long id) throws DAOException {
-        synchronized (cmsRequestLock) {
-
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                return em.getReference(CMSMediaItem.class, id);
-            } catch (EntityNotFoundException e) {
-                return null;
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            return em.getReference(CMSMediaItem.class, id);
+        } catch (EntityNotFoundException e) {
+            return null;
+        } finally {
+            close(em);
         }
     }
 
@@ -3668,38 +3682,34 @@ public class JPADAO implements IDAO {
     @SuppressWarnings("unchecked")
     @Override
     public List<CMSNavigationItem> getAllTopCMSNavigationItems() throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT o FROM CMSNavigationItem o WHERE o.parentItem IS NULL");
-                q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
-                q.setFlushMode(FlushModeType.COMMIT);
-                List<CMSNavigationItem> list = q.getResultList();
-                Collections.sort(list);
-                return list;
-            } catch (PersistenceException e) {
-                logger.error(MSG_EXCEPTION_CMS, e.toString());
-                return new ArrayList<>();
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT o FROM CMSNavigationItem o WHERE o.parentItem IS NULL");
+            q.setHint(PARAM_STOREMODE, PARAM_STOREMODE_VALUE_REFRESH);
+            q.setFlushMode(FlushModeType.COMMIT);
+            List<CMSNavigationItem> list = q.getResultList();
+            Collections.sort(list);
+            return list;
+        } catch (PersistenceException e) {
+            logger.error(MSG_EXCEPTION_CMS, e.toString());
+            return new ArrayList<>();
+        } finally {
+            close(em);
         }
     }
 
     /** {@inheritDoc} */
     @Override
     public CMSNavigationItem getCMSNavigationItem(long id) throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                return em.find(CMSNavigationItem.class, id);
-            } catch (EntityNotFoundException e) {
-                return null;
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            return em.find(CMSNavigationItem.class, id);
+        } catch (EntityNotFoundException e) {
+            return null;
+        } finally {
+            close(em);
         }
     }
 
@@ -4480,6 +4490,7 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.persist(page);
             commitTransaction(em);
+            DataManager.getInstance().getCmsSnapshotCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -4498,6 +4509,7 @@ public class JPADAO implements IDAO {
             startTransaction(em);
             em.merge(page);
             commitTransaction(em);
+            DataManager.getInstance().getCmsSnapshotCache().invalidate();
             return true;
         } catch (PersistenceException e) {
             handleException(em);
@@ -4517,6 +4529,7 @@ public class JPADAO implements IDAO {
             CMSStaticPage o = em.getReference(CMSStaticPage.class, page.getId());
             em.remove(o);
             commitTransaction(em);
+            DataManager.getInstance().getCmsSnapshotCache().invalidate();
             return true;
         } catch (RollbackException | EntityNotFoundException e) {
             return false;
@@ -4704,16 +4717,14 @@ public class JPADAO implements IDAO {
     @Override
     @SuppressWarnings("unchecked")
     public List<CMSCollection> getCMSCollections(String solrField) throws DAOException {
-        synchronized (cmsRequestLock) {
-            preQuery();
-            EntityManager em = getEntityManager();
-            try {
-                Query q = em.createQuery("SELECT c FROM CMSCollection c WHERE c.solrField = :field");
-                q.setParameter("field", solrField);
-                return q.getResultList();
-            } finally {
-                close(em);
-            }
+        preQuery();
+        EntityManager em = getEntityManager();
+        try {
+            Query q = em.createQuery("SELECT c FROM CMSCollection c WHERE c.solrField = :field");
+            q.setParameter("field", solrField);
+            return q.getResultList();
+        } finally {
+            close(em);
         }
     }
 
@@ -6947,6 +6958,7 @@ public class JPADAO implements IDAO {
                 em.merge(client);
             }
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidateClient(client.getId());
             return true;
         } catch (PersistenceException e) {
             logger.error("Error saving client application", e);
@@ -6967,6 +6979,7 @@ public class JPADAO implements IDAO {
             ClientApplication o = em.getReference(ClientApplication.class, id);
             em.remove(o);
             commitTransaction(em);
+            DataManager.getInstance().getAccessPermissionCache().invalidateClient(id);
             return true;
         } catch (PersistenceException e) {
             handleException(em);
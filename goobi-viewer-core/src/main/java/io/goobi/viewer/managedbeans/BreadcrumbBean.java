@@ -49,7 +49,6 @@ import io.goobi.viewer.exceptions.RecordNotFoundException;
 import io.goobi.viewer.exceptions.ViewerConfigurationException;
 import io.goobi.viewer.managedbeans.utils.BeanUtils;
 import io.goobi.viewer.messages.Messages;
-import io.goobi.viewer.model.cms.CMSStaticPage;
 import io.goobi.viewer.model.cms.pages.CMSPage;
 import io.goobi.viewer.model.search.SearchFacets;
 import io.goobi.viewer.model.viewer.CompoundLabeledLink;
@@ -223,15 +222,15 @@ public class BreadcrumbBean implements Serializable {
                     break;
                 }
                 linkedPages.add(currentPage);
-                for (CMSStaticPage staticPage : DataManager.getInstance()
-                        .getDao()
-                        .getStaticPageForCMSPage(currentPage)) {
-                    if (PageType.index.name().equals(staticPage.getPageName())) {
+                for (String staticPageName : DataManager.getInstance()
+                        .getCmsSnapshotCache()
+                        .getStaticPageNames(currentPage.getId())) {
+                    if (PageType.index.name().equals(staticPageName)) {
                         // The current page is the start page, which is already the breadcrumb root
                         logger.trace("CMS index page found");
                         abort = true;
                         break;
-                    } else if (PageType.search.name().equals(staticPage.getPageName())) {
+                    } else if (PageType.search.name().equals(staticPageName)) {
                         // Use search result URL here instead of search 
                         logger.trace("Overriding search page");
                         SearchBean searchBean = BeanUtils.getSearchBean();
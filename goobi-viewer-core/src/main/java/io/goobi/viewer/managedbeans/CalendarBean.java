@@ -64,6 +64,9 @@ import io.goobi.viewer.model.calendar.CalendarItemMonth;
 import io.goobi.viewer.model.calendar.CalendarItemWeek;
 import io.goobi.viewer.model.calendar.CalendarItemYear;
 import io.goobi.viewer.model.calendar.CalendarRow;
+import io.goobi.viewer.model.calendar.CalendarYearCache;
+import io.goobi.viewer.model.calendar.CalendarYearCache.YearKey;
+import io.goobi.viewer.model.calendar.CalendarYearCache.YearView;
 import io.goobi.viewer.model.search.SearchHelper;
 import io.goobi.viewer.servlets.IdentifierResolver;
 import io.goobi.viewer.solr.SolrConstants;
@@ -804,8 +807,9 @@ public class CalendarBean implements Serializable {
 
     /**
      * Generates the data for each month of the selected year. <br/>
-     * It runs a facet search for YEARMONTH and YEARMONTHDAY for the current year. For each day of the year, the method checks if the count of the
-     * field YEARMONTHDAY is greater than 0. If this is the case, the day is an active element, otherwise it has no hits.
+     * The hit counts are taken from the {@link CalendarYearCache}, or loaded via {@link #loadYearView(String, String, String)} if not yet
+     * cached. For each day of the year, the method checks if the count of the field YEARMONTHDAY is greater than 0. If this is the case, the day
+     * is an active element, otherwise it has no hits.
      *
      * @param selectYear four-digit year string to populate data for
      * @param collection Solr collection filter value, or null for all
@@ -818,13 +822,9 @@ public class CalendarBean implements Serializable {
     public static List<CalendarItemMonth> populateMonthsWithDays(String selectYear, String collection, String filterQuery)
             throws PresentationException, IndexUnreachableException {
         List<CalendarItemMonth> monthList = new ArrayList<>();
-        QueryResponse resp = null;
         if (StringUtils.isEmpty(selectYear)) {
             return monthList;
         }
-        List<String> facetFields = new ArrayList<>();
-        facetFields.add(SolrConstants.CALENDAR_DAY);
-        facetFields.add(SolrConstants.CALENDAR_MONTH);
 
         StringBuilder sbSearchString = new StringBuilder();
         if (collection != null && !collection.isEmpty()) {
@@ -846,12 +846,15 @@ public class CalendarBean implements Serializable {
                     .append(filterQuery);
         }
 
-        resp = SearchHelper.searchCalendar(sbSearchString.toString(), facetFields, 0, false);
-
-        List<Count> dayFacets = resp.getFacetField(SolrConstants.CALENDAR_DAY) != null ? resp.getFacetField(SolrConstants.CALENDAR_DAY).getValues()
-                : new ArrayList<>();
-        List<Count> monthFacets = resp.getFacetField(SolrConstants.CALENDAR_MONTH).getValues() != null
-                ? resp.getFacetField(SolrConstants.CALENDAR_MONTH).getValues() : new ArrayList<>();
+        String query = sbSearchString.toString();
+        String suffixes = SearchHelper.getAllSuffixes();
+        CalendarYearCache cache = DataManager.getInstance().getCalendarYearCache();
+        YearKey key = new YearKey(selectYear, query + suffixes);
+        YearView yearView = cache.getYearView(key);
+        if (yearView == null) {
+            yearView = loadYearView(selectYear, query, suffixes);
+            cache.putYearView(key, yearView);
+        }
 
         CalendarItemMonth jan = new CalendarItemMonth("january", 1, 0);
         monthList.add(jan);
@@ -878,55 +881,8 @@ public class CalendarBean implements Serializable {
         CalendarItemMonth dec = new CalendarItemMonth("december", 12, 0);
         monthList.add(dec);
 
-        for (Count monthCount : monthFacets) {
-            if (monthCount.getName().length() < 6) {
-                logger.warn("{} facet name too short: {}", SolrConstants.CALENDAR_MONTH, monthCount.getName());
-                continue;
-            }
-            int monthNumber = Integer.parseInt(monthCount.getName().substring(4));
-            //            if (monthCount.getCount() > 0) {
-            //                logger.trace("{}: {}", monthCount.getName(), monthCount.getCount()); //NOSONAR Debug
-            //            }
-            switch (monthNumber) {
-                case 1:
-                    jan.setHits((int) monthCount.getCount());
-                    break;
-                case 2:
-                    feb.setHits((int) monthCount.getCount());
-                    break;
-                case 3:
-                    mar.setHits((int) monthCount.getCount());
-                    break;
-                case 4:
-                    apr.setHits((int) monthCount.getCount());
-                    break;
-                case 5:
-                    may.setHits((int) monthCount.getCount());
-                    break;
-                case 6:
-                    jun.setHits((int) monthCount.getCount());
-                    break;
-                case 7:
-                    jul.setHits((int) monthCount.getCount());
-                    break;
-                case 8:
-                    aug.setHits((int) monthCount.getCount());
-                    break;
-                case 9:
-                    sep.setHits((int) monthCount.getCount());
-                    break;
-                case 10:
-                    oct.setHits((int) monthCount.getCount());
-                    break;
-                case 11:
-                    nov.setHits((int) monthCount.getCount());
-                    break;
-                case 12:
-                    dec.setHits((int) monthCount.getCount());
-                    break;
-                default:
-                    break;
-            }
+        for (CalendarItemMonth monthItem : monthList) {
+            monthItem.setHits(yearView.getMonthHits(monthItem.getValue()));
         }
 
         for (CalendarItemMonth monthItem : monthList) {
@@ -953,41 +909,16 @@ public class CalendarBean implements Serializable {
                 String facetName = facetBuilder.toString();
 
                 CalendarItemDay dayItem = null;
-                for (Count count : dayFacets) {
-                    if (count.getName().equals(facetName)) {
-                        dayItem = new CalendarItemDay(String.valueOf(day), day, (int) count.getCount());
-                        String query = new StringBuilder().append('+')
-                                .append(SolrConstants.CALENDAR_DAY)
-                                .append(':')
-                                .append(selectYear)
-                                .append(monthItem.getFormattedValue())
-                                .append(dayItem.getFormattedValue()) + filterQuery;
-                        dayItem.setQuery(query);
-                        if (count.getCount() == 1) {
-                            try {
-                                SolrDocumentList docs = DataManager.getInstance().getSearchIndex()
-                                        .search(query + SearchHelper.getAllSuffixes(),
-                                                Arrays.asList(SolrConstants.PI_TOPSTRUCT, SolrConstants.THUMBPAGENO, SolrConstants.LOGID,
-                                                        SolrConstants.DOCSTRCT, SolrConstants.MIMETYPE, SolrConstants.ISWORK,
-                                                        SolrConstants.ISANCHOR, SolrConstants.DOCTYPE, SolrConstants.ORDER,
-                                                        SolrConstants.THUMBNAIL));
-                                if (docs != null && !docs.isEmpty()) {
-                                    SolrDocument doc = docs.get(0);
-                                    String pi = (String) doc.getFieldValue(SolrConstants.PI_TOPSTRUCT);
-                                    if (pi != null) {
-                                        String url = IdentifierResolver.constructUrl(doc, false);
-                                        if (url.startsWith("/")) {
-                                            url = url.substring(1);
-                                        }
-                                        dayItem.setSingleResultUrl(url);
-                                    }
-                                }
-                            } catch (PresentationException | IndexUnreachableException e) {
-                                logger.error("Could not resolve single result URL for calendar day {}: {}", facetName, e.getMessage());
-                            }
-                        }
-                        break;
-                    }
+                Integer dayHits = yearView.dayHits().get(facetName);
+                if (dayHits != null) {
+                    dayItem = new CalendarItemDay(String.valueOf(day), day, dayHits);
+                    dayItem.setQuery(new StringBuilder().append('+')
+                            .append(SolrConstants.CALENDAR_DAY)
+                            .append(':')
+                            .append(selectYear)
+                            .append(monthItem.getFormattedValue())
+                            .append(dayItem.getFormattedValue()) + filterQuery);
+                    dayItem.setSingleResultUrl(yearView.singleResultUrls().get(facetName));
                 }
                 if (dayItem == null) {
                     dayItem = new CalendarItemDay(String.valueOf(day), day, 0);
@@ -1034,6 +965,90 @@ public class CalendarBean implements Serializable {
         return monthList;
     }
 
+    /**
+     * Loads the hit counts for a calendar year. A facet search for YEARMONTH and YEARMONTHDAY is followed by a single query for the documents of
+     * all days with exactly one hit, whose record URLs are used as direct links.
+     *
+     * @param selectYear Four-digit year
+     * @param query Solr query for the year, without access condition suffixes
+     * @param suffixes Access condition suffixes
+     * @return {@link YearView}
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private static YearView loadYearView(String selectYear, String query, String suffixes)
+            throws PresentationException, IndexUnreachableException {
+        // Both YEARMONTH and YEARMONTHDAY values start with the year
+        QueryResponse resp = DataManager.getInstance()
+                .getSearchIndex()
+                .searchFacetsAndStatistics(query + suffixes, null, Arrays.asList(SolrConstants.CALENDAR_DAY, SolrConstants.CALENDAR_MONTH), 0,
+                        selectYear, null, false);
+
+        int[] monthHits = new int[13];
+        FacetField monthFacet = resp.getFacetField(SolrConstants.CALENDAR_MONTH);
+        if (monthFacet != null && monthFacet.getValues() != null) {
+            for (Count monthCount : monthFacet.getValues()) {
+                if (monthCount.getName().length() < 6) {
+                    logger.warn("{} facet name too short: {}", SolrConstants.CALENDAR_MONTH, monthCount.getName());
+                    continue;
+                }
+                int monthNumber = Integer.parseInt(monthCount.getName().substring(4));
+                if (monthNumber >= 1 && monthNumber <= 12) {
+                    monthHits[monthNumber] = (int) monthCount.getCount();
+                }
+            }
+        }
+
+        Map<String, Integer> dayHits = new HashMap<>();
+        List<String> singleHitDays = new ArrayList<>();
+        FacetField dayFacet = resp.getFacetField(SolrConstants.CALENDAR_DAY);
+        if (dayFacet != null && dayFacet.getValues() != null) {
+            for (Count dayCount : dayFacet.getValues()) {
+                dayHits.put(dayCount.getName(), (int) dayCount.getCount());
+                if (dayCount.getCount() == 1) {
+                    singleHitDays.add(dayCount.getName());
+                }
+            }
+        }
+
+        Map<String, String> singleResultUrls = new HashMap<>();
+        if (!singleHitDays.isEmpty()) {
+            try {
+                SolrDocumentList docs = DataManager.getInstance()
+                        .getSearchIndex()
+                        .search(new StringBuilder("+").append(SolrConstants.CALENDAR_DAY)
+                                .append(":(")
+                                .append(String.join(" ", singleHitDays))
+                                .append(") ")
+                                .append(query)
+                                .append(suffixes)
+                                .toString(), 0, singleHitDays.size(), null, null,
+                                Arrays.asList(SolrConstants.PI_TOPSTRUCT, SolrConstants.THUMBPAGENO, SolrConstants.LOGID, SolrConstants.DOCSTRCT,
+                                        SolrConstants.MIMETYPE, SolrConstants.ISWORK, SolrConstants.ISANCHOR, SolrConstants.DOCTYPE,
+                                        SolrConstants.ORDER, SolrConstants.THUMBNAIL, SolrConstants.CALENDAR_DAY))
+                        .getResults();
+                for (SolrDocument doc : docs) {
+                    if (doc.getFieldValue(SolrConstants.PI_TOPSTRUCT) == null || doc.getFieldValues(SolrConstants.CALENDAR_DAY) == null) {
+                        continue;
+                    }
+                    String url = IdentifierResolver.constructUrl(doc, false);
+                    if (url.startsWith("/")) {
+                        url = url.substring(1);
+                    }
+                    for (Object day : doc.getFieldValues(SolrConstants.CALENDAR_DAY)) {
+                        if (Integer.valueOf(1).equals(dayHits.get(String.valueOf(day)))) {
+                            singleResultUrls.put(String.valueOf(day), url);
+                        }
+                    }
+                }
+            } catch (PresentationException | IndexUnreachableException e) {
+                logger.error("Could not resolve single result URLs for calendar days: {}", e.getMessage());
+            }
+        }
+
+        return new YearView(monthHits, dayHits, singleResultUrls);
+    }
+
     /**
      * Add as many {@link CalendarItemDay}s to 'currentWeek' as there are days between the start of the month and the previous monday.
      * 
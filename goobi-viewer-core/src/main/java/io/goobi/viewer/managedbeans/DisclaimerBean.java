@@ -176,10 +176,8 @@ public class DisclaimerBean implements Serializable {
         List<UserGroup> userGroups = user.map(User::getAllUserGroups).orElse(Collections.emptyList());
         String ipAddress = navigationHelper.getSessionIPAddress();
         // Route through cache to avoid repeated DAO round-trips per request;
-        // guard against null IP (e.g. in test contexts where no real session exists)
-        List<IpRange> ipRanges = ipAddress == null ? Collections.emptyList()
-                : DataManager.getInstance().getIpRangeCache().getAllIpRanges().stream()
-                        .filter(range -> range.matchIp(ipAddress)).collect(Collectors.toList());
+        // a null IP (e.g. in test contexts where no real session exists) matches no range
+        List<IpRange> ipRanges = DataManager.getInstance().getIpRangeCache().getMatchingIpRanges(ipAddress);
 
         List<License> applyingLicenses = licenses.stream()
                 .filter(license -> {
@@ -333,6 +333,19 @@ public class GeoMapBean implements Serializable, IPolyglott {
                 .orElse("");
     }
 
+    /**
+     * getTileUrl.
+     *
+     * @return the URL template of the clustered spatial tile REST endpoint
+     */
+    public String getTileUrl() {
+        return DataManager.getInstance()
+                .getRestApiManager()
+                .getDataApiManager()
+                .map(urls -> urls.path(ApiUrls.INDEX, ApiUrls.INDEX_SPATIAL_TILE).build())
+                .orElse("");
+    }
+
     /**
      * getFeatureUrl.
      *
@@ -69,7 +69,6 @@ import io.goobi.viewer.exceptions.PresentationException;
 import io.goobi.viewer.exceptions.RedirectException;
 import io.goobi.viewer.managedbeans.utils.BeanUtils;
 import io.goobi.viewer.messages.ViewerResourceBundle;
-import io.goobi.viewer.model.cms.CMSStaticPage;
 import io.goobi.viewer.model.cms.pages.CMSPage;
 import io.goobi.viewer.model.crowdsourcing.campaigns.Campaign;
 import io.goobi.viewer.model.crowdsourcing.campaigns.CrowdsourcingStatus;
@@ -293,9 +292,10 @@ public class NavigationHelper implements Serializable {
      */
     public static String getCMSPageNavigationId(CMSPage cmsPage) {
         try {
-            Optional<CMSStaticPage> staticPage = DataManager.getInstance().getDao().getStaticPageForCMSPage(cmsPage).stream().findFirst();
-            if (staticPage.isPresent()) {
-                return staticPage.get().getPageName();
+            Optional<String> staticPageName =
+                    DataManager.getInstance().getCmsSnapshotCache().getStaticPageNames(cmsPage.getId()).stream().findFirst();
+            if (staticPageName.isPresent()) {
+                return staticPageName.get();
             }
         } catch (DAOException e) {
             //
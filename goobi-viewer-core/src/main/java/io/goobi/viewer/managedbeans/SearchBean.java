@@ -3360,6 +3360,19 @@ public class SearchBean implements SearchInterface, Serializable {
         return Collections.emptyList();
     }
 
+    /**
+     * isHitLocationsFromTiles.
+     *
+     * @return true if the geo facet map loads the search hits as clustered tiles instead of {@link #getHitsLocations()}; false otherwise
+     */
+    public boolean isHitLocationsFromTiles() {
+        if (this.currentSearch != null) {
+            return this.currentSearch.isHitLocationsFromTiles();
+        }
+
+        return DataManager.getInstance().getConfiguration().useHeatmapForFacetting();
+    }
+
     /**
      * Display the geo facet map if there are any hits available with geo coordinates.
      *
@@ -52,6 +52,7 @@ import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -107,6 +108,8 @@ public class ViewerResourceBundle extends ResourceBundle {
     protected static Map<Locale, ResourceBundle> localBundles = new ConcurrentHashMap<>();
     /** Constant <code>reloadNeededMap</code>. */
     protected static Map<String, Boolean> reloadNeededMap = new ConcurrentHashMap<>();
+    /** Incremented whenever a local bundle is (re)loaded, so that caches of translated values can detect stale entries. */
+    private static final AtomicLong localBundleGeneration = new AtomicLong();
     /** Constant <code>defaultLocale</code>. */
     protected static volatile Locale defaultLocale;
     private static List<Locale> allLocales = null;
@@ -260,6 +263,7 @@ public class ViewerResourceBundle extends ResourceBundle {
                         }
                     } finally {
                         reloadNeededMap.remove(locale.getLanguage());
+                        localBundleGeneration.incrementAndGet();
                     }
                 }
             }
@@ -268,6 +272,16 @@ public class ViewerResourceBundle extends ResourceBundle {
         return locale;
     }
 
+    /**
+     * Returns a counter that changes whenever a local resource bundle is loaded or reloaded. Caches of translated values can compare it to the
+     * value seen when they were filled to detect modified messages files.
+     *
+     * @return Current local bundle generation
+     */
+    public static long getLocalBundleGeneration() {
+        return localBundleGeneration.get();
+    }
+
     /**
      * @param inLocale locale to use, or null to fall back to faces context or ENGLISH
      * @return the passed inLocale if it is not null. Otherwise the current locale from the faces context, or ENGLISH if no faces context exists
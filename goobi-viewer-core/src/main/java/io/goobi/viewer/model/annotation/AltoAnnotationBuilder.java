@@ -131,15 +131,32 @@ public class AltoAnnotationBuilder {
      */
     public AbstractAnnotation createAnnotation(GeometricData element, String pi, Integer pageNo, IResource canvas, boolean urlOnlyTarget) {
         String id = Optional.ofNullable(element.getId()).orElse(buildId(element));
+        return createAnnotation(id, element.getContent(), element.getBounds(), pi, pageNo, canvas, urlOnlyTarget);
+    }
+
+    /**
+     * Creates an annotation for an ALTO element given by its ID, content and bounds.
+     *
+     * @param id ALTO element ID
+     * @param content text content of the element
+     * @param bounds bounds of the element on the page
+     * @param pi persistent identifier of the digitized work
+     * @param pageNo physical page number within the work
+     * @param canvas IIIF canvas resource to annotate
+     * @param urlOnlyTarget if true, use URI-only specific resources as annotation targets
+     * @return the annotation targeting the given area of the specified canvas
+     */
+    public AbstractAnnotation createAnnotation(String id, String content, Rectangle bounds, String pi, Integer pageNo, IResource canvas,
+            boolean urlOnlyTarget) {
         AbstractAnnotation anno;
         if ("oa".equalsIgnoreCase(format)) {
             anno = new OpenAnnotation(createAnnotationId(pi, pageNo, id));
-            anno.setBody(new TextualResource(element.getContent()));
+            anno.setBody(new TextualResource(content));
         } else {
             anno = new WebAnnotation(createAnnotationId(pi, pageNo, id));
-            anno.setBody(new de.intranda.api.annotation.wa.TextualResource(element.getContent()));
+            anno.setBody(new de.intranda.api.annotation.wa.TextualResource(content));
         }
-        anno.setTarget(createSpecificResource(canvas, element.getBounds(), urlOnlyTarget));
+        anno.setTarget(createSpecificResource(canvas, bounds, urlOnlyTarget));
         anno.setMotivation(Motivation.PAINTING);
         return anno;
     }
@@ -150,7 +167,7 @@ public class AltoAnnotationBuilder {
      * @param e the ALTO geometric element lacking an explicit id attribute
      * @return {@link String}
      */
-    private static String buildId(GeometricData e) {
+    public static String buildId(GeometricData e) {
         return e.getClass().getSimpleName() + "_" + e.getBounds().x + "_" + e.getBounds().y + "_" + e.getBounds().width + "_" + e.getBounds().height;
     }
 
@@ -23,6 +23,10 @@ package io.goobi.viewer.model.archives;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -66,6 +70,12 @@ public class ArchiveManager implements Serializable {
 
     private static final Logger logger = LogManager.getLogger(ArchiveManager.class);
 
+    /**
+     * Share of the maximum heap that must be free after the last garbage collection before another archive tree is loaded; otherwise all other
+     * loaded trees are evicted.
+     */
+    static final double MIN_FREE_HEAP_RATIO = 0.2;
+
     private final ArchiveParser eadParser;
 
     private DatabaseState databaseState = DatabaseState.NOT_INITIALIZED;
@@ -170,6 +180,9 @@ public class ArchiveManager implements Serializable {
         }
         // cached databases that are included in the response are removed from the cachedDatabases list.
         // If it is still not empty at this point, databases were removed
+        for (ArchiveResource removed : cachedDatabases.keySet()) {
+            eadParser.unloadArchive(removed.getResourceId());
+        }
         updated = updated || !cachedDatabases.isEmpty();
         logger.trace("initArchives END");
         return updated;
@@ -477,6 +490,7 @@ public class ArchiveManager implements Serializable {
                     }
                 }
                 if (reload) {
+                    evictArchivesIfLowOnMemory(useResource);
                     ArchiveTree archiveTree = loadDatabase(eadParser, useResource);
                     if (archiveTree != null) {
                         logger.trace("Tree generated");
@@ -491,6 +505,67 @@ public class ArchiveManager implements Serializable {
         }
     }
 
+    /**
+     * Unloads all archive trees except the given one if less than {@link #MIN_FREE_HEAP_RATIO} of the maximum heap was free after the last
+     * garbage collection. Whole archives are evicted since partially unloaded trees cannot be told apart from lazily loaded ones; evicted
+     * archives are reloaded on next access.
+     *
+     * @param keep Archive resource to keep
+     */
+    private void evictArchivesIfLowOnMemory(ArchiveResource keep) {
+        if (!isLowOnMemory(Runtime.getRuntime().maxMemory(), getHeapUsedAfterLastCollection())) {
+            return;
+        }
+        int count = 0;
+        for (Entry<ArchiveResource, ArchiveTree> entry : this.archives.entrySet()) {
+            if (entry.getValue() != null && !entry.getKey().equals(keep)) {
+                entry.setValue(null);
+                eadParser.unloadArchive(entry.getKey().getResourceId());
+                count++;
+            }
+        }
+        if (count > 0) {
+            logger.info("Low on memory, {} archive tree(s) evicted.", count);
+        }
+    }
+
+    /**
+     * Returns the heap still in use after the most recent garbage collection of each heap memory pool. Unlike {@code totalMemory() -
+     * freeMemory()}, this does not count garbage that simply has not been collected yet, so archives are not evicted just because the collector
+     * has not run recently.
+     *
+     * @return Used heap in bytes after the last collections; 0 if no collection has taken place yet
+     * @should return value between zero and maximum heap
+     */
+    static long getHeapUsedAfterLastCollection() {
+        long ret = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                // null if the pool does not support collection usage
+                MemoryUsage usage = pool.getCollectionUsage();
+                if (usage != null) {
+                    ret += usage.getUsed();
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     *
+     * @param maxMemory Maximum heap size in bytes
+     * @param usedMemory Used heap in bytes
+     * @return true if less than {@link #MIN_FREE_HEAP_RATIO} of the maximum heap is free; false otherwise
+     * @should return true if free share below minimum
+     * @should return false if free share above minimum
+     */
+    static boolean isLowOnMemory(long maxMemory, long usedMemory) {
+        if (maxMemory <= 0 || maxMemory == Long.MAX_VALUE) {
+            return false;
+        }
+        return (maxMemory - usedMemory) < maxMemory * MIN_FREE_HEAP_RATIO;
+    }
+
     /**
      * Check if the given resource is outdated compared to the last updated date from the server.
      *
@@ -620,6 +695,9 @@ public class ArchiveManager implements Serializable {
 
         for (ArchiveResource archiveResource : toRemove) {
             this.archives.remove(archiveResource);
+            if (eadParser != null) {
+                eadParser.unloadArchive(archiveResource.getResourceId());
+            }
         }
 
         return toRemove.size();
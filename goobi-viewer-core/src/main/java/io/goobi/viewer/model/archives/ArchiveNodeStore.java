@@ -0,0 +1,222 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.archives;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Compact, immutable skeleton of an indexed archive tree. Nodes are addressed by int IDs in load order; parents and children are kept in int
+ * arrays (children as offsets into a single array), IDDOCs in a sorted array for binary search and labels as interned strings. Full Solr
+ * documents with metadata are not part of the store and are only fetched for nodes that are actually displayed, so even archives with
+ * hundreds of thousands of nodes only cost a few dozen bytes per node. The labels and node IDs double as an in-memory search index.
+ */
+class ArchiveNodeStore implements Serializable {
+
+    private static final long serialVersionUID = 3207962585541097391L;
+
+    private final String[] iddocs;
+    private final String[] nodeIds;
+    private final String[] labels;
+    /** Parent node of each node; -1 for the root. */
+    private final int[] parents;
+    /** Children of node i are {@code children[childOffsets[i]]} to {@code children[childOffsets[i + 1] - 1]}, in archive order. */
+    private final int[] childOffsets;
+    private final int[] children;
+    /** IDDOCs in natural order, for binary search. */
+    private final String[] sortedIddocs;
+    /** Node of the IDDOC at the same position in {@link #sortedIddocs}. */
+    private final int[] sortedNodes;
+
+    private ArchiveNodeStore(Builder builder) {
+        int size = builder.iddocs.size();
+        this.iddocs = builder.iddocs.toArray(new String[size]);
+        this.nodeIds = builder.nodeIds.toArray(new String[size]);
+        this.labels = builder.labels.toArray(new String[size]);
+
+        // Sorted IDDOC index
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> iddocs[a].compareTo(iddocs[b]));
+        this.sortedIddocs = new String[size];
+        this.sortedNodes = new int[size];
+        for (int i = 0; i < size; ++i) {
+            sortedIddocs[i] = iddocs[order[i]];
+            sortedNodes[i] = order[i];
+        }
+
+        // Parents; nodes whose parent is unknown become roots
+        this.parents = new int[size];
+        int[] childCounts = new int[size];
+        for (int i = 0; i < size; ++i) {
+            String parentIddoc = builder.parentIddocs.get(i);
+            parents[i] = parentIddoc != null ? indexOf(parentIddoc) : -1;
+            if (parents[i] >= 0) {
+                childCounts[parents[i]]++;
+            }
+        }
+
+        // Children in load order (which is the archive order within each parent)
+        this.childOffsets = new int[size + 1];
+        for (int i = 0; i < size; ++i) {
+            childOffsets[i + 1] = childOffsets[i] + childCounts[i];
+        }
+        this.children = new int[childOffsets[size]];
+        int[] fill = Arrays.copyOf(childOffsets, size);
+        for (int i = 0; i < size; ++i) {
+            if (parents[i] >= 0) {
+                children[fill[parents[i]]++] = i;
+            }
+        }
+    }
+
+    /**
+     * @return Number of nodes
+     */
+    int size() {
+        return iddocs.length;
+    }
+
+    /**
+     *
+     * @param iddoc IDDOC to look up
+     * @return Node with the given IDDOC; -1 if not contained
+     * @should return correct node
+     * @should return -1 for unknown iddoc
+     */
+    int indexOf(String iddoc) {
+        if (iddoc == null) {
+            return -1;
+        }
+        int pos = Arrays.binarySearch(sortedIddocs, iddoc);
+        return pos >= 0 ? sortedNodes[pos] : -1;
+    }
+
+    /**
+     *
+     * @param iddoc IDDOC of the node
+     * @return true if the node with the given IDDOC has at least one child; false otherwise
+     */
+    boolean hasChildren(String iddoc) {
+        int node = indexOf(iddoc);
+        return node >= 0 && childOffsets[node + 1] > childOffsets[node];
+    }
+
+    /**
+     *
+     * @param iddoc IDDOC of the node
+     * @return IDDOCs of the node's children in archive order; empty if none
+     * @should return children in archive order
+     */
+    List<String> getChildIddocs(String iddoc) {
+        int node = indexOf(iddoc);
+        if (node < 0) {
+            return Collections.emptyList();
+        }
+        List<String> ret = new ArrayList<>(childOffsets[node + 1] - childOffsets[node]);
+        for (int i = childOffsets[node]; i < childOffsets[node + 1]; ++i) {
+            ret.add(iddocs[children[i]]);
+        }
+        return ret;
+    }
+
+    /**
+     *
+     * @param iddoc IDDOC of the node
+     * @return IDDOC of the node's parent; null if the node is a root or unknown
+     * @should return parent iddoc
+     */
+    String getParentIddoc(String iddoc) {
+        int node = indexOf(iddoc);
+        if (node < 0 || parents[node] < 0) {
+            return null;
+        }
+        return iddocs[parents[node]];
+    }
+
+    /**
+     * Finds all nodes whose node ID equals the search value or whose label contains it (ignoring case), i.e. the same criteria
+     * {@link ArchiveTree#search(String)} applies to loaded nodes.
+     *
+     * @param searchValue Search value
+     * @return IDDOCs of matching nodes in load order
+     * @should find nodes by label ignoring case
+     * @should find nodes by node id
+     */
+    List<String> findMatchingIddocs(String searchValue) {
+        if (StringUtils.isEmpty(searchValue)) {
+            return Collections.emptyList();
+        }
+        List<String> ret = new ArrayList<>();
+        for (int i = 0; i < iddocs.length; ++i) {
+            if (searchValue.equals(nodeIds[i]) || StringUtils.containsIgnoreCase(labels[i], searchValue)) {
+                ret.add(iddocs[i]);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Collects nodes in load order and builds an {@link ArchiveNodeStore}. Parents may be added after their children.
+     */
+    static class Builder {
+
+        private final List<String> iddocs = new ArrayList<>();
+        private final List<String> parentIddocs = new ArrayList<>();
+        private final List<String> nodeIds = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        /** Local intern pool, so that repeated labels (e.g. "Vol. 1") share a single instance without using the JVM string pool. */
+        private final Map<String, String> labelPool = new HashMap<>();
+
+        /**
+         *
+         * @param iddoc IDDOC of the node
+         * @param parentIddoc IDDOC of the parent node; null for the root
+         * @param nodeId EAD node ID; may be null
+         * @param label Label; may be null
+         * @return this
+         */
+        Builder add(String iddoc, String parentIddoc, String nodeId, String label) {
+            if (iddoc == null) {
+                throw new IllegalArgumentException("iddoc may not be null");
+            }
+            iddocs.add(iddoc);
+            parentIddocs.add(parentIddoc);
+            nodeIds.add(nodeId);
+            labels.add(label != null ? labelPool.computeIfAbsent(label, l -> l) : null);
+            return this;
+        }
+
+        ArchiveNodeStore build() {
+            return new ArchiveNodeStore(this);
+        }
+    }
+}
@@ -110,6 +110,15 @@ public abstract class ArchiveParser implements Serializable {
     public abstract ArchiveEntry loadDatabase(ArchiveResource database, int lazyLoadingThreshold)
             throws PresentationException, IndexUnreachableException, IllegalStateException, IOException, HTTPException;
 
+    /**
+     * Releases all data held for the given archive. Called when an archive tree is unloaded; the default implementation holds no such data.
+     *
+     * @param resourceId Archive resource ID
+     */
+    public void unloadArchive(String resourceId) {
+        // nothing to release
+    }
+
     public static String getIdForName(String name) {
         return name.replaceAll("(?i)\\.xml", "");
     }
@@ -25,6 +25,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -32,6 +33,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -48,7 +50,7 @@ import io.goobi.viewer.model.search.SearchHelper;
 import io.goobi.viewer.model.viewer.StringPair;
 import io.goobi.viewer.solr.SolrConstants;
 import io.goobi.viewer.solr.SolrConstants.DocType;
-import io.goobi.viewer.solr.SolrSearchIndex;
+import io.goobi.viewer.solr.SolrDocumentCursor;
 import io.goobi.viewer.solr.SolrTools;
 
 /**
@@ -69,14 +71,16 @@ public class SolrEADParser extends ArchiveParser {
     private static final String[] SOLR_FIELDS_ENTRIES = { SolrConstants.ACCESSCONDITION, SolrConstants.EAD_NODE_ID, SolrConstants.IDDOC,
             SolrConstants.IDDOC_PARENT, FIELD_ARCHIVE_ENTRY_LEVEL, FIELD_ARCHIVE_ENTRY_OTHERLEVEL, SolrConstants.LOGID, SolrConstants.PI_TOPSTRUCT,
             SolrConstants.TITLE };
+    /** Fields needed for the node skeleton of large archives. */
+    private static final List<String> SOLR_FIELDS_SKELETON =
+            Arrays.asList(SolrConstants.EAD_NODE_ID, SolrConstants.IDDOC, SolrConstants.IDDOC_PARENT, SolrConstants.TITLE);
 
-    private Map<String, Map<String, List<SolrDocument>>> archiveDocMap = new HashMap<>();
-    /** Map of IDDOCs and their parent IDDOCs. */
-    private Map<String, String> parentIddocMap = new HashMap<>();
-    /** Map of IDDOCs and loaded ArchiveEntry nodes. */
-    private Map<String, ArchiveEntry> loadedNodeMap = new HashMap<>();
-    /** Tracks EAD_NODE_ID values seen during the current loadDatabase() call to detect duplicates. */
-    private final Set<String> seenNodeIds = new HashSet<>();
+    /** Node skeletons of loaded archives, mapped to archive resource IDs. */
+    private Map<String, ArchiveNodeStore> nodeStores = new ConcurrentHashMap<>();
+    /** Loaded ArchiveEntry nodes mapped to their IDDOCs, per archive resource ID. */
+    private Map<String, Map<String, ArchiveEntry>> loadedNodeMaps = new ConcurrentHashMap<>();
+    /** Maximum number of IDDOCs per access check query in {@link #searchInUnparsedNodes(ArchiveEntry, String)}. */
+    private static final int MAX_IDDOCS_PER_QUERY = 500;
 
     /**
      * Gets the database names.
@@ -142,6 +146,7 @@ public class SolrEADParser extends ArchiveParser {
      * @return Root element of the loaded tree
      * @throws IndexUnreachableException
      * @throws PresentationException
+     * @should load complete trees when called concurrently
      */
     @Override
     public ArchiveEntry loadDatabase(ArchiveResource database, int lazyLoadingThreshold) throws PresentationException, IndexUnreachableException {
@@ -149,47 +154,73 @@ public class SolrEADParser extends ArchiveParser {
             throw new IllegalArgumentException("database may not be null");
         }
 
-        logger.trace("loadDatabase: {}", database.getResourceId());
-        seenNodeIds.clear();
+        String resourceId = database.getResourceId();
+        logger.trace("loadDatabase: {}", resourceId);
+        unloadArchive(resourceId);
         List<String> solrFields = getSolrFields();
-        SolrDocument topDoc =
-                DataManager.getInstance().getSearchIndex().getFirstDoc(SolrConstants.PI + ":\"" + database.getResourceId() + '"', solrFields);
+        SolrDocument topDoc = DataManager.getInstance().getSearchIndex().getFirstDoc(SolrConstants.PI + ":\"" + resourceId + '"', solrFields);
         if (topDoc != null) {
-            String query = "+" + SolrConstants.DOCTYPE + ":" + DocType.ARCHIVE.name() + " +" + SolrConstants.PI_TOPSTRUCT + ":\""
-                    + database.getResourceId() + "\" -" + SolrConstants.PI + ":\"" + database.getResourceId() + '"';
+            String query = "+" + SolrConstants.DOCTYPE + ":" + DocType.ARCHIVE.name() + " +" + SolrConstants.PI_TOPSTRUCT + ":\"" + resourceId
+                    + "\" -" + SolrConstants.PI + ":\"" + resourceId + '"';
             logger.trace("archive query: {}", query); //NOSONAR Debug
-            SolrDocumentList archiveDocs = DataManager.getInstance()
-                    .getSearchIndex()
-                    .search(query, SolrSearchIndex.MAX_HITS,
-                            Arrays.asList(new StringPair(SolrConstants.IDDOC_PARENT, "asc"), new StringPair(FIELD_ARCHIVE_ORDER, "asc")), solrFields);
-            logger.trace("Loaded {} archive docs.", archiveDocs.size());
-
-            Map<String, List<SolrDocument>> resourceArchiveDocMap = new HashMap<>();
-            archiveDocMap.put(database.getResourceId(), resourceArchiveDocMap);
+            long archiveDocCount = DataManager.getInstance().getSearchIndex().getHitCount(query);
+            boolean recursion = archiveDocCount < lazyLoadingThreshold;
+            if (!recursion) {
+                logger.debug("Using lazy loading due to the archive tree size ({} nodes).", archiveDocCount);
+            }
 
-            // Add all Solr docs for this archive to map
-            for (SolrDocument doc : archiveDocs) {
+            // Small archives are loaded completely, so all docs are fetched right away; for large archives only the node skeleton is fetched
+            // and full docs are loaded per level once the nodes are displayed
+            SolrDocumentCursor cursor = DataManager.getInstance()
+                    .getSearchIndex()
+                    .openCursor(query,
+                            Arrays.asList(new StringPair(SolrConstants.IDDOC_PARENT, "asc"), new StringPair(FIELD_ARCHIVE_ORDER, "asc")),
+                            recursion ? solrFields : SOLR_FIELDS_SKELETON, null);
+            ArchiveNodeStore.Builder builder = new ArchiveNodeStore.Builder().add(SolrTools.getSingleFieldStringValue(topDoc, SolrConstants.IDDOC),
+                    null, SolrTools.getSingleFieldStringValue(topDoc, SolrConstants.EAD_NODE_ID),
+                    SolrTools.getSingleFieldStringValue(topDoc, SolrConstants.TITLE));
+            Map<String, List<SolrDocument>> childDocs = recursion ? new HashMap<>() : null;
+            while (cursor.hasNext()) {
+                SolrDocument doc = cursor.next();
+                String iddoc = SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC);
                 String iddocParent = SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC_PARENT);
-                if (iddocParent != null) {
-                    List<SolrDocument> docList = resourceArchiveDocMap.computeIfAbsent(iddocParent, k -> new ArrayList<>());
-                    docList.add(doc);
-                    parentIddocMap.put(SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC), iddocParent);
-                }
-            }
-            try {
-                boolean recursion = archiveDocs.size() < lazyLoadingThreshold;
-                if (!recursion) {
-                    logger.debug("Using lazy loading due to the archive tree size ({} nodes).", archiveDocs.size());
+                if (iddoc != null && iddocParent != null) {
+                    builder.add(iddoc, iddocParent, SolrTools.getSingleFieldStringValue(doc, SolrConstants.EAD_NODE_ID),
+                            SolrTools.getSingleFieldStringValue(doc, SolrConstants.TITLE));
+                    if (childDocs != null) {
+                        childDocs.computeIfAbsent(iddocParent, k -> new ArrayList<>()).add(doc);
+                    }
                 }
-                return loadNode(0, 0, topDoc, null, recursion);
-            } finally {
-                logger.trace("Database loaded.");
             }
+            ArchiveNodeStore store = builder.build();
+            Map<String, ArchiveEntry> loadedNodes = new ConcurrentHashMap<>();
+            nodeStores.put(resourceId, store);
+            loadedNodeMaps.put(resourceId, loadedNodes);
+            logger.trace("Loaded {} archive nodes.", store.size());
+
+            // The prefetched docs, node store and loaded node map belong to this call only, so that concurrent loads (or unloads) of the same
+            // or other archives cannot replace or drop them halfway through the recursion
+            ArchiveEntry ret = loadNode(0, 0, topDoc, null, recursion, new LoadContext(childDocs, store, loadedNodes));
+            logger.trace("Database loaded.");
+            return ret;
         }
 
         return null;
     }
 
+    /**
+     * Drops the node skeleton and loaded nodes of the given archive.
+     *
+     * @param resourceId Archive resource ID
+     */
+    @Override
+    public void unloadArchive(String resourceId) {
+        if (resourceId != null) {
+            nodeStores.remove(resourceId);
+            loadedNodeMaps.remove(resourceId);
+        }
+    }
+
     /**
      * @param order position of this node within its parent's children
      * @param hierarchy depth level of this node in the tree
@@ -202,6 +233,23 @@ public class SolrEADParser extends ArchiveParser {
      */
     public ArchiveEntry loadNode(int order, int hierarchy, SolrDocument doc, Set<String> loadPath, boolean loadChildrenRecursively)
             throws PresentationException, IndexUnreachableException {
+        String pi = doc != null ? SolrTools.getSingleFieldStringValue(doc, SolrConstants.PI_TOPSTRUCT) : null;
+        return loadNode(order, hierarchy, doc, loadPath, loadChildrenRecursively, createLoadContext(pi));
+    }
+
+    /**
+     * @param order position of this node within its parent's children
+     * @param hierarchy depth level of this node in the tree
+     * @param doc Solr document representing this archive entry
+     * @param loadPath set of IDDOCs on the path to the search hit to load
+     * @param loadChildrenRecursively if true, child nodes are loaded recursively
+     * @param context State of the current load call
+     * @return {@link ArchiveEntry}
+     * @throws IndexUnreachableException
+     * @throws PresentationException
+     */
+    private ArchiveEntry loadNode(int order, int hierarchy, SolrDocument doc, Set<String> loadPath, boolean loadChildrenRecursively,
+            LoadContext context) throws PresentationException, IndexUnreachableException {
         // logger.trace("loadNode: {}", order); //NOSONAR Debug
         if (doc == null) {
             throw new IllegalArgumentException("doc may not be null");
@@ -211,7 +259,7 @@ public class SolrEADParser extends ArchiveParser {
 
         String id = SolrTools.getSingleFieldStringValue(doc, SolrConstants.EAD_NODE_ID);
         if (StringUtils.isNotEmpty(id)) {
-            if (!seenNodeIds.add(id)) {
+            if (!context.seenNodeIds().add(id)) {
                 logger.warn("Duplicate EAD node ID '{}' encountered while loading archive '{}'. "
                         + "Archive tree rendering and node lookups may be unreliable. "
                         + "Please ensure node IDs are unique in the source EAD document.",
@@ -271,11 +319,12 @@ public class SolrEADParser extends ArchiveParser {
 
         // get child elements
         String iddoc = SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC);
-        if (archiveDocMap.containsKey(entry.getTopstructPi()) && archiveDocMap.get(entry.getTopstructPi()).containsKey(iddoc)) {
-            // logger.trace("found {} children of {}", archiveDocMap.get(entry.getTopstructPi()).get(iddoc).size(), iddoc); //NOSONAR Debug
+        ArchiveNodeStore store = context.store();
+        if (store != null && store.hasChildren(iddoc)) {
             entry.setChildrenFound(true);
-            if (loadChildrenRecursively || (loadPath != null && !loadPath.isEmpty()) || entry.equals(entry.getRootNode())) {
-                loadChildren(entry, loadPath, loadChildrenRecursively);
+            // The parent is not yet attached at this point, so the root must be recognized by its hierarchy level
+            if (loadChildrenRecursively || (loadPath != null && loadPath.contains(iddoc)) || hierarchy == 0) {
+                loadChildren(entry, loadPath, loadChildrenRecursively, context);
             }
         }
 
@@ -284,7 +333,9 @@ public class SolrEADParser extends ArchiveParser {
             entry.setId(String.valueOf(UUID.randomUUID()));
         }
 
-        loadedNodeMap.put(iddoc, entry);
+        if (context.loadedNodes() != null && iddoc != null) {
+            context.loadedNodes().put(iddoc, entry);
+        }
 
         return entry;
     }
@@ -292,26 +343,34 @@ public class SolrEADParser extends ArchiveParser {
     /**
      *
      * @param entry the parent entry whose children are to be loaded
-     * @param loadPath set of IDDOCs on the path to the search hit
+     * @param loadPath set of IDDOCs on the path to the search hit; children are loaded for these nodes only
      * @param loadChildrenRecursively if true, child nodes are loaded recursively
      * @throws PresentationException
      * @throws IndexUnreachableException
      */
     public void loadChildren(ArchiveEntry entry, Set<String> loadPath, boolean loadChildrenRecursively)
             throws PresentationException, IndexUnreachableException {
+        loadChildren(entry, loadPath, loadChildrenRecursively, createLoadContext(entry.getTopstructPi()));
+    }
+
+    /**
+     *
+     * @param entry the parent entry whose children are to be loaded
+     * @param loadPath set of IDDOCs on the path to the search hit; children are loaded for these nodes only
+     * @param loadChildrenRecursively if true, child nodes are loaded recursively
+     * @param context State of the current load call
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private void loadChildren(ArchiveEntry entry, Set<String> loadPath, boolean loadChildrenRecursively, LoadContext context)
+            throws PresentationException, IndexUnreachableException {
         String iddoc = SolrTools.getSingleFieldStringValue(entry.getDoc(), SolrConstants.IDDOC);
-        boolean loadChildren = loadChildrenRecursively;
-        if (archiveDocMap.containsKey(entry.getTopstructPi()) && archiveDocMap.get(entry.getTopstructPi()).containsKey(iddoc)) {
-            // logger.trace("Loading {} children of {}", archiveDocMap.get(iddoc).size(), entry.getLabel()); //NOSONAR Debug
+        ArchiveNodeStore store = context.store();
+        if (store != null && store.hasChildren(iddoc)) {
             int subOrder = 0;
             int subHierarchy = entry.getHierarchyLevel() + 1;
-            for (SolrDocument c : archiveDocMap.get(entry.getTopstructPi()).get(iddoc)) {
-                if (!loadChildrenRecursively && loadPath != null) {
-                    String childIddoc = SolrTools.getSingleFieldStringValue(c, SolrConstants.IDDOC);
-                    loadChildren = loadPath.contains(childIddoc);
-                    logger.trace("Child {}: allow recursion due to it being on the search path.", childIddoc);
-                }
-                ArchiveEntry child = loadNode(subOrder, subHierarchy, c, loadPath, loadChildren);
+            for (SolrDocument c : getChildDocs(entry.getTopstructPi(), iddoc, context.childDocs())) {
+                ArchiveEntry child = loadNode(subOrder, subHierarchy, c, loadPath, loadChildrenRecursively, context);
                 entry.addSubEntry(child);
                 child.setParentNode(entry);
                 if (child.isContainsImage()) {
@@ -324,6 +383,50 @@ public class SolrEADParser extends ArchiveParser {
         }
     }
 
+    /**
+     * Creates the state for a load call that starts at an already loaded archive, using the archive's current node store and loaded node map.
+     *
+     * @param pi Archive resource ID
+     * @return {@link LoadContext}
+     */
+    private LoadContext createLoadContext(String pi) {
+        return new LoadContext(null, getNodeStore(pi), pi != null ? loadedNodeMaps.get(pi) : null);
+    }
+
+    /**
+     *
+     * @param pi Archive resource ID
+     * @return {@link ArchiveNodeStore} of the given archive; null if not loaded
+     */
+    ArchiveNodeStore getNodeStore(String pi) {
+        return pi != null ? nodeStores.get(pi) : null;
+    }
+
+    /**
+     * Returns the full child documents of the given node in archive order, either from the docs prefetched for a small archive or by
+     * querying them from the index.
+     *
+     * @param pi Archive resource ID
+     * @param iddoc Parent IDDOC
+     * @param prefetchedChildDocs Child docs mapped to parent IDDOCs, if the whole archive has been fetched; otherwise null
+     * @return List of child docs
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private static List<SolrDocument> getChildDocs(String pi, String iddoc, Map<String, List<SolrDocument>> prefetchedChildDocs)
+            throws PresentationException, IndexUnreachableException {
+        if (prefetchedChildDocs != null) {
+            return prefetchedChildDocs.getOrDefault(iddoc, Collections.emptyList());
+        }
+
+        String query = "+" + SolrConstants.DOCTYPE + ":" + DocType.ARCHIVE.name() + " +" + SolrConstants.PI_TOPSTRUCT + ":\"" + pi + "\" +"
+                + SolrConstants.IDDOC_PARENT + ":\"" + iddoc + '"';
+        return DataManager.getInstance()
+                .getSearchIndex()
+                .openCursor(query, Collections.singletonList(new StringPair(FIELD_ARCHIVE_ORDER, "asc")), getSolrFields(), null)
+                .toList();
+    }
+
     /**
      * 
      * @param iddoc Parent IDDOC
@@ -348,6 +451,10 @@ public class SolrEADParser extends ArchiveParser {
         return ret;
     }
 
+    /**
+     * Finds nodes matching the search value in the in-memory node index of the archive and loads the path from the nearest loaded ancestor
+     * down to each hit.
+     */
     @Override
     public boolean searchInUnparsedNodes(ArchiveEntry node, String searchValue) {
         logger.trace("searchInUnparsedNodes");
@@ -355,32 +462,32 @@ public class SolrEADParser extends ArchiveParser {
             throw new IllegalArgumentException("node may not be null");
         }
 
-        String query =
-                "+" + SolrConstants.PI_TOPSTRUCT + ":\"" + node.getTopstructPi() + "\" +" + SolrConstants.DOCTYPE + ":" + DocType.ARCHIVE.name()
-                        + " +(" + SolrConstants.EAD_NODE_ID + ":\"" + searchValue + "\" " + SolrConstants.TITLE + ":" + searchValue + ")"
-                        + SearchHelper.getAllSuffixes();
-        // logger.trace("Unparsed node search query: {}", query); //NOSONAR Debug
+        ArchiveNodeStore store = getNodeStore(node.getTopstructPi());
+        Map<String, ArchiveEntry> loadedNodes = loadedNodeMaps.get(node.getTopstructPi());
+        if (store == null || loadedNodes == null) {
+            return false;
+        }
 
         boolean ret = false;
         try {
-            SolrDocumentList result = DataManager.getInstance().getSearchIndex().search(query, SOLR_FIELDS_DATABASES);
-            for (SolrDocument doc : result) {
-                String iddoc = SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC);
-                if (!loadedNodeMap.containsKey(iddoc)) {
+            for (String iddoc : filterAccessibleIddocs(node.getTopstructPi(), store.findMatchingIddocs(searchValue))) {
+                if (!loadedNodes.containsKey(iddoc)) {
                     // Load tree from given node down to hit node
                     Set<String> loadPath = new HashSet<>();
-                    String parentIddoc = parentIddocMap.get(iddoc);
+                    String parentIddoc = store.getParentIddoc(iddoc);
                     if (parentIddoc != null) {
                         loadPath.add(parentIddoc);
-                        while (!loadedNodeMap.containsKey(parentIddoc) && parentIddocMap.get(parentIddoc) != null) {
-                            parentIddoc = parentIddocMap.get(parentIddoc);
+                        while (!loadedNodes.containsKey(parentIddoc) && store.getParentIddoc(parentIddoc) != null) {
+                            parentIddoc = store.getParentIddoc(parentIddoc);
                             loadPath.add(parentIddoc);
                             logger.trace("added parent iddoc to hierarchy: {}", parentIddoc);
                         }
-                        loadChildren(loadedNodeMap.get(parentIddoc), loadPath, false);
-                        ret = true;
+                        ArchiveEntry loadedAncestor = loadedNodes.get(parentIddoc);
+                        if (loadedAncestor != null && !loadedAncestor.isChildrenLoaded()) {
+                            loadChildren(loadedAncestor, loadPath, false);
+                            ret = true;
+                        }
                     }
-
                 }
             }
         } catch (PresentationException | IndexUnreachableException e) {
@@ -390,6 +497,46 @@ public class SolrEADParser extends ArchiveParser {
         return ret;
     }
 
+    /**
+     * Returns those of the given nodes that the current user may list, applying the same search suffixes (access conditions, collection
+     * blacklist, static query suffix) as the index search.
+     *
+     * @param pi Archive resource ID
+     * @param iddocs IDDOCs of the candidate nodes
+     * @return Accessible IDDOCs
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @should return empty list if no iddocs given
+     * @should only return iddocs of listable archive nodes in given order
+     * @should check iddocs in several batches
+     */
+    static List<String> filterAccessibleIddocs(String pi, List<String> iddocs) throws PresentationException, IndexUnreachableException {
+        if (iddocs.isEmpty()) {
+            return iddocs;
+        }
+
+        String suffixes = SearchHelper.getAllSuffixes();
+        Set<String> accessible = new HashSet<>(iddocs.size());
+        for (int i = 0; i < iddocs.size(); i += MAX_IDDOCS_PER_QUERY) {
+            List<String> batch = iddocs.subList(i, Math.min(i + MAX_IDDOCS_PER_QUERY, iddocs.size()));
+            String query = "+" + SolrConstants.PI_TOPSTRUCT + ":\"" + pi + "\" +" + SolrConstants.DOCTYPE + ":" + DocType.ARCHIVE.name() + " +"
+                    + SolrConstants.IDDOC + ":(" + String.join(" ", batch) + ")" + suffixes;
+            for (SolrDocument doc : DataManager.getInstance()
+                    .getSearchIndex()
+                    .search(query, batch.size(), null, Collections.singletonList(SolrConstants.IDDOC))) {
+                accessible.add(SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC));
+            }
+        }
+
+        List<String> ret = new ArrayList<>(accessible.size());
+        for (String iddoc : iddocs) {
+            if (accessible.contains(iddoc)) {
+                ret.add(iddoc);
+            }
+        }
+        return ret;
+    }
+
     /**
      * A.
      * 
@@ -421,4 +568,20 @@ public class SolrEADParser extends ArchiveParser {
     public String toString() {
         return getUrl();
     }
+
+    /**
+     * State of a single load call.
+     *
+     * @param childDocs Child docs mapped to parent IDDOCs if the whole archive has been fetched up front; otherwise null
+     * @param store Node skeleton of the archive being loaded; null if the archive is not loaded
+     * @param loadedNodes Map in which loaded entries are registered by IDDOC; may be null
+     * @param seenNodeIds EAD node IDs seen during this call, to detect duplicates
+     */
+    private record LoadContext(Map<String, List<SolrDocument>> childDocs, ArchiveNodeStore store, Map<String, ArchiveEntry> loadedNodes,
+            Set<String> seenNodeIds) {
+
+        LoadContext(Map<String, List<SolrDocument>> childDocs, ArchiveNodeStore store, Map<String, ArchiveEntry> loadedNodes) {
+            this(childDocs, store, loadedNodes, new HashSet<>());
+        }
+    }
 }
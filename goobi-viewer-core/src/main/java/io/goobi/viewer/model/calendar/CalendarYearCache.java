@@ -0,0 +1,213 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.calendar;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.goobi.viewer.controller.DataManager;
+
+/**
+ * <p>
+ * Application-scoped cache for computed calendar years: the day and month hit counts (plus the single-hit URLs) used by the calendar views and
+ * the issue lists served by the calendar REST endpoint. Entries are keyed on the year and the complete query, including access condition
+ * suffixes, so the same entry is never served to clients with different access rights.
+ * </p>
+ *
+ * <p>
+ * Each entry expires after the configured time to live; all entries are dropped when the indexer clears the cache via the cache REST endpoints
+ * after (re-)indexing records.
+ * </p>
+ */
+public class CalendarYearCache {
+
+    private static final Logger logger = LogManager.getLogger(CalendarYearCache.class);
+
+    /** Upper bound for cached entries of each kind; all entries of that kind are dropped once it is reached. */
+    static final int MAX_ENTRIES = 1000;
+
+    private final Map<YearKey, CachedEntry<YearView>> yearViews = new ConcurrentHashMap<>();
+
+    private final Map<YearKey, CachedEntry<String>> issueLists = new ConcurrentHashMap<>();
+
+    /** Fixed time to live in milliseconds; values below zero mean the configured value is used. */
+    private final long ttlMillis;
+
+    /**
+     * Creates a cache that reads its time to live from the configuration.
+     */
+    public CalendarYearCache() {
+        this(-1);
+    }
+
+    /**
+     *
+     * @param ttlMillis Time to live of each entry in milliseconds
+     */
+    CalendarYearCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * @param key {@link YearKey}
+     * @return Cached {@link YearView}; null if none is cached or the entry has expired
+     * @should return put year view
+     * @should return null for different query
+     * @should return null after ttl expired
+     */
+    public YearView getYearView(YearKey key) {
+        return get(yearViews, key);
+    }
+
+    /**
+     * @param key {@link YearKey}
+     * @param yearView {@link YearView} to cache
+     * @should drop all year views when full
+     * @should not cache if ttl is zero
+     */
+    public void putYearView(YearKey key, YearView yearView) {
+        put(yearViews, key, yearView);
+    }
+
+    /**
+     * @param key {@link YearKey}
+     * @return Cached issue list as JSON array string; null if none is cached or the entry has expired
+     */
+    public String getIssueList(YearKey key) {
+        return get(issueLists, key);
+    }
+
+    /**
+     * @param key {@link YearKey}
+     * @param issueList Issue list as JSON array string
+     */
+    public void putIssueList(YearKey key, String issueList) {
+        put(issueLists, key, issueList);
+    }
+
+    private static <T> T get(Map<YearKey, CachedEntry<T>> map, YearKey key) {
+        if (key == null) {
+            return null;
+        }
+        CachedEntry<T> cached = map.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expires() < System.currentTimeMillis()) {
+            map.remove(key, cached);
+            return null;
+        }
+
+        return cached.value();
+    }
+
+    private <T> void put(Map<YearKey, CachedEntry<T>> map, YearKey key, T value) {
+        long ttl = getTtlMillis();
+        if (key == null || value == null || ttl <= 0) {
+            return;
+        }
+        if (map.size() >= MAX_ENTRIES) {
+            map.clear();
+        }
+        map.put(key, new CachedEntry<>(value, System.currentTimeMillis() + ttl));
+    }
+
+    /**
+     * Drops all cached entries. Called when the index has changed.
+     *
+     * @should remove all entries
+     */
+    public void invalidate() {
+        yearViews.clear();
+        issueLists.clear();
+        logger.trace("Calendar year cache cleared.");
+    }
+
+    /**
+     *
+     * @return Number of cached year views
+     */
+    public int getYearViewCount() {
+        return yearViews.size();
+    }
+
+    private long getTtlMillis() {
+        return ttlMillis >= 0 ? ttlMillis : DataManager.getInstance().getConfiguration().getCalendarCacheTtl() * 1000L;
+    }
+
+    /**
+     *
+     * @param year Four-digit year
+     * @param query Complete Solr query for the year, including filter queries and access condition suffixes
+     */
+    public record YearKey(String year, String query) {
+    }
+
+    /**
+     * Hit counts of a calendar year. Instances are shared between requests and therefore immutable; the given array and maps are copied.
+     *
+     * @param monthHits Number of hits per month, indexed by month number (1-12)
+     * @param dayHits Number of hits per YEARMONTHDAY value
+     * @param singleResultUrls Record URLs of days with exactly one hit, mapped to their YEARMONTHDAY value
+     */
+    public record YearView(int[] monthHits, Map<String, Integer> dayHits, Map<String, String> singleResultUrls) {
+
+        /**
+         * @should copy given values
+         */
+        public YearView {
+            monthHits = monthHits.clone();
+            dayHits = Collections.unmodifiableMap(new HashMap<>(dayHits));
+            singleResultUrls = Collections.unmodifiableMap(new HashMap<>(singleResultUrls));
+        }
+
+        /**
+         * @return Copy of the number of hits per month, indexed by month number (1-12)
+         * @should return copy
+         */
+        @Override
+        public int[] monthHits() {
+            return monthHits.clone();
+        }
+
+        /**
+         * @param month Month number (1-12)
+         * @return Number of hits in the given month
+         */
+        public int getMonthHits(int month) {
+            return monthHits[month];
+        }
+    }
+
+    /**
+     *
+     * @param value Cached value
+     * @param expires Expiration timestamp in milliseconds
+     */
+    private record CachedEntry<T>(T value, long expires) {
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.cms;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.dao.IDAO;
+import io.goobi.viewer.exceptions.DAOException;
+import io.goobi.viewer.model.cms.pages.CMSPage;
+import io.goobi.viewer.model.urlresolution.ViewerPathBuilder;
+
+/**
+ * <p>
+ * Application-scoped, read-mostly snapshot of the CMS data needed to resolve every request URL: the persistent URLs of all CMS pages and the
+ * mapping between static pages and CMS pages. Without it, each page view loaded all CMS pages and static page mappings from the database.
+ * </p>
+ *
+ * <p>
+ * The snapshot only holds identifiers and strings, never shared {@link CMSPage} entities; callers load the resolved page via
+ * {@link IDAO#getCMSPage(long)}. Thread-safety: reads are lock-free via a {@code volatile} immutable snapshot. {@code JPADAO} write methods
+ * for CMS pages and static pages call {@link #invalidate()} after a successful commit, which bumps the version and schedules a rebuild on a
+ * background thread. A read that happens before the rebuild has finished builds the snapshot itself (counted as a miss), so a write is
+ * always visible to subsequent reads.
+ * </p>
+ *
+ * <p>
+ * Known limitation: changes made to the database outside the viewer's write path (e.g. direct SQL) are not detected until the next CMS write
+ * or a restart.
+ * </p>
+ */
+public class CMSSnapshotCache {
+
+    private static final Logger logger = LogManager.getLogger(CMSSnapshotCache.class);
+
+    // Single daemon thread; consecutive invalidations collapse into one rebuild because each rebuild checks the current version first
+    private static final ExecutorService REBUILD_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cms-snapshot-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Object loadLock = new Object();
+    private final AtomicLong version = new AtomicLong();
+    // S3077 false positive: the snapshot is immutable and replaced via a single volatile write (safe publication)
+    @SuppressWarnings("java:S3077")
+    private volatile Snapshot snapshot;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private volatile long lastRebuildMillis = 0;
+
+    /**
+     * Returns the ID of the CMS page whose persistent URL matches the beginning of the given path. Longer persistent URLs are preferred since
+     * they are a narrower match.
+     *
+     * @param servicePath Requested service path
+     * @return ID of the best matching CMS page; empty if none matches
+     * @throws DAOException
+     * @should return id of longest matching persistent url
+     * @should return empty if no persistent url matches
+     */
+    public Optional<Long> findCmsPageIdForPath(URI servicePath) throws DAOException {
+        for (PersistentUrl persistentUrl : snapshot().persistentUrls()) {
+            if (ViewerPathBuilder.startsWith(servicePath, persistentUrl.path())) {
+                return Optional.of(persistentUrl.cmsPageId());
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the ID of the CMS page that replaces the static page with the given name.
+     *
+     * @param pageName Static page name
+     * @return CMS page ID; empty if the static page is not mapped to a CMS page
+     * @throws DAOException
+     * @should return mapped cms page id
+     */
+    public Optional<Long> getCmsPageIdForStaticPage(String pageName) throws DAOException {
+        if (pageName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot().cmsPageIdsByStaticPageName().get(pageName));
+    }
+
+    /**
+     * Returns the names of all static pages that are replaced by the CMS page with the given ID.
+     *
+     * @param cmsPageId CMS page ID
+     * @return Immutable list of static page names; empty if none
+     * @throws DAOException
+     * @should return static page names for cms page
+     * @should return empty list for unmapped cms page
+     */
+    public List<String> getStaticPageNames(Long cmsPageId) throws DAOException {
+        if (cmsPageId == null) {
+            return Collections.emptyList();
+        }
+        return snapshot().staticPageNamesByCmsPageId().getOrDefault(cmsPageId, Collections.emptyList());
+    }
+
+    /**
+     * Marks the current snapshot as outdated and schedules a rebuild on a background thread. Called by {@code JPADAO} write methods after a
+     * successful commit.
+     *
+     * @should force rebuild on next read
+     */
+    public void invalidate() {
+        long newVersion = version.incrementAndGet();
+        try {
+            REBUILD_EXECUTOR.execute(() -> {
+                try {
+                    rebuildIfOutdated(newVersion);
+                } catch (DAOException e) {
+                    logger.error("CMS snapshot could not be rebuilt: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("CMS snapshot rebuild could not be scheduled: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return Number of reads served by an up-to-date snapshot
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of reads that had to build the snapshot themselves
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Number of snapshots built so far
+     */
+    public long getRebuildCount() {
+        return rebuildCount.get();
+    }
+
+    /**
+     * @return Duration of the last snapshot build in milliseconds
+     */
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+
+    private Snapshot snapshot() throws DAOException {
+        Snapshot local = this.snapshot;
+        if (local != null && local.version() == version.get()) {
+            hits.increment();
+            return local;
+        }
+        misses.increment();
+        return rebuildIfOutdated(version.get());
+    }
+
+    /**
+     *
+     * @param requiredVersion Minimum version the returned snapshot must have
+     * @return Snapshot with at least the required version
+     * @throws DAOException
+     */
+    private Snapshot rebuildIfOutdated(long requiredVersion) throws DAOException {
+        synchronized (loadLock) {
+            Snapshot local = this.snapshot;
+            if (local != null && local.version() >= requiredVersion) {
+                return local;
+            }
+            // Read the version before loading so that a write committed during the load leaves the snapshot outdated
+            long buildVersion = version.get();
+            long start = System.currentTimeMillis();
+            local = build(buildVersion, DataManager.getInstance().getDao());
+            lastRebuildMillis = System.currentTimeMillis() - start;
+            rebuildCount.incrementAndGet();
+            this.snapshot = local;
+            logger.trace("CMS snapshot version {} built in {} ms", buildVersion, lastRebuildMillis);
+            return local;
+        }
+    }
+
+    /**
+     *
+     * @param snapshotVersion Version of the snapshot to build
+     * @param dao {@link IDAO} to load the CMS data from
+     * @return New {@link Snapshot}
+     * @throws DAOException
+     */
+    static Snapshot build(long snapshotVersion, IDAO dao) throws DAOException {
+        List<PersistentUrl> persistentUrls = new ArrayList<>();
+        for (CMSPage page : dao.getAllCMSPages()) {
+            if (page.getId() != null && StringUtils.isNotBlank(page.getPersistentUrl())) {
+                persistentUrls.add(new PersistentUrl(page.getPersistentUrl().replaceAll("(^\\/)|(\\/$)", "").trim(), page.getId()));
+            }
+        }
+        // Check longer persistent URLs first because they have a narrower match and should be preferred (stable sort keeps DB order for ties)
+        persistentUrls.sort((u1, u2) -> Integer.compare(u2.path().length(), u1.path().length()));
+
+        Map<String, Long> cmsPageIdsByStaticPageName = new HashMap<>();
+        Map<Long, List<String>> staticPageNamesByCmsPageId = new HashMap<>();
+        for (CMSStaticPage staticPage : dao.getAllStaticPages()) {
+            Optional<Long> cmsPageId = staticPage.getCmsPageId();
+            if (cmsPageId.isPresent()) {
+                cmsPageIdsByStaticPageName.putIfAbsent(staticPage.getPageName(), cmsPageId.get());
+                staticPageNamesByCmsPageId.computeIfAbsent(cmsPageId.get(), k -> new ArrayList<>()).add(staticPage.getPageName());
+            }
+        }
+        Map<Long, List<String>> immutableNames = new HashMap<>(staticPageNamesByCmsPageId.size());
+        staticPageNamesByCmsPageId.forEach((id, names) -> immutableNames.put(id, List.copyOf(names)));
+
+        return new Snapshot(snapshotVersion, List.copyOf(persistentUrls), Map.copyOf(cmsPageIdsByStaticPageName), Map.copyOf(immutableNames));
+    }
+
+    /**
+     * Immutable CMS routing data of a given version.
+     *
+     * @param version Cache version the snapshot was built for
+     * @param persistentUrls Persistent URLs ordered by descending length
+     * @param cmsPageIdsByStaticPageName CMS page IDs mapped to static page names
+     * @param staticPageNamesByCmsPageId Static page names mapped to CMS page IDs
+     */
+    record Snapshot(long version, List<PersistentUrl> persistentUrls, Map<String, Long> cmsPageIdsByStaticPageName,
+            Map<Long, List<String>> staticPageNamesByCmsPageId) {
+    }
+
+    /**
+     * Persistent URL of a CMS page, without leading and trailing slashes.
+     *
+     * @param path Normalized persistent URL
+     * @param cmsPageId CMS page ID
+     */
+    record PersistentUrl(String path, long cmsPageId) {
+    }
+}
@@ -67,7 +67,6 @@ import io.goobi.viewer.exceptions.ViewerConfigurationException;
 import io.goobi.viewer.managedbeans.utils.BeanUtils;
 import io.goobi.viewer.model.cms.CMSCategory;
 import io.goobi.viewer.model.cms.CMSProperty;
-import io.goobi.viewer.model.cms.CMSStaticPage;
 import io.goobi.viewer.model.cms.Selectable;
 import io.goobi.viewer.model.cms.itemfunctionality.SearchFunctionality;
 import io.goobi.viewer.model.cms.pages.content.CMSComponent;
@@ -848,9 +847,9 @@ public class CMSPage implements Comparable<CMSPage>, Harvestable, IPolyglott, Se
 
         if (pretty) {
             try {
-                Optional<CMSStaticPage> staticPage = DataManager.getInstance().getDao().getStaticPageForCMSPage(this).stream().findFirst();
-                if (staticPage.isPresent()) {
-                    return staticPage.get().getPageName() + "/";
+                Optional<String> staticPageName = DataManager.getInstance().getCmsSnapshotCache().getStaticPageNames(getId()).stream().findFirst();
+                if (staticPageName.isPresent()) {
+                    return staticPageName.get() + "/";
                 }
             } catch (DAOException e) {
                 logger.error(e.toString(), e);
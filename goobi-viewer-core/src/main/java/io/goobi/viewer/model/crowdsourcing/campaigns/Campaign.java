@@ -33,14 +33,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Random;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -50,6 +47,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.BaseHttpSolrClient.RemoteSolrException;
+import org.apache.solr.client.solrj.response.FieldStatsInfo;
+import org.apache.solr.common.params.FacetParams;
 import org.eclipse.persistence.annotations.PrivateOwned;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -177,6 +176,8 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
     private static final String URI_ID_REGEX = ".*/crowdsourcing/campaigns/(\\d+)/?$";
 
     private static final Random RANDOM = new SecureRandom();
+    /** Number of random picks before {@link #getRandomizedTarget(CrowdsourcingStatus, String, User)} falls back to filtering all records. */
+    private static final int RANDOM_TARGET_ATTEMPTS = 20;
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -291,10 +292,20 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
     @JsonIgnore
     private List<String> solrQueryResults = null;
 
+    /** Positions of the PIs in {@link #solrQueryResults}; initialized together with the results. */
+    @Transient
+    @JsonIgnore
+    private Map<String, Integer> solrQueryResultPositions = null;
+
     @Transient
     @JsonIgnore
     private Integer pageCount = null;
 
+    /** Status index over {@link #statistics}; built on first use and kept up to date by the status setters. */
+    @Transient
+    @JsonIgnore
+    private CampaignStatusIndex statusIndex = null;
+
     /**
      * Empty constructor.
      */
@@ -325,6 +336,7 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
         this.selectedLocale = orig.selectedLocale;
         this.solrQuery = orig.solrQuery;
         this.solrQueryResults = orig.solrQueryResults;
+        this.solrQueryResultPositions = orig.solrQueryResultPositions;
         this.pageCount = orig.pageCount;
         this.visibility = orig.visibility;
         this.statistics = orig.statistics; //no need for deep copy since it can't be changed in campaign editor
@@ -409,14 +421,14 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
             // Validate campaign query before adding it
             try {
                 query += " +(" + solrQuery + ")";
-                int pages = DataManager.getInstance()
+                // Let Solr sum up the page numbers instead of fetching NUMPAGES of every record
+                FieldStatsInfo info = DataManager.getInstance()
                         .getSearchIndex()
-                        .search(query, Collections.singletonList(SolrConstants.NUMPAGES))
-                        .stream()
-                        .filter(doc -> doc.getFieldValue(SolrConstants.NUMPAGES) != null)
-                        .mapToInt(doc -> (Integer) doc.getFieldValue(SolrConstants.NUMPAGES))
-                        .sum();
-                this.pageCount = pages;
+                        .searchFacetsAndStatistics(query, null, Collections.singletonList(SolrConstants.NUMPAGES), 1,
+                                Collections.singletonMap(FacetParams.FACET, "false"), true)
+                        .getFieldStatsInfo()
+                        .get(SolrConstants.NUMPAGES);
+                this.pageCount = info != null && info.getSum() instanceof Number sum ? sum.intValue() : 0;
             } catch (RemoteSolrException | PresentationException | IndexUnreachableException e) {
                 logger.error(e.getMessage());
                 return 0;
@@ -434,30 +446,17 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @should do page-based count correctly
      */
     public long getNumRecordsForStatus(String status) {
-        if (status == null) {
+        CrowdsourcingStatus crowdsourcingStatus = CrowdsourcingStatus.forName(status);
+        if (crowdsourcingStatus == null) {
             return 0;
         }
 
-        long count = 0;
-        for (Entry<String, CampaignRecordStatistic> entry : statistics.entrySet()) {
-            CampaignRecordStatistic statistic = entry.getValue();
-            if (statistic == null) {
-                continue;
-            }
-            if (StatisticMode.PAGE.equals(statisticMode)) {
-                // Page-based count
-                for (String key : statistic.getPageStatistics().keySet()) {
-                    if (statistic.getPageStatistics().get(key).getStatus().name().equals(status)) {
-                        count++;
-                    }
-                }
-            } else if (statistic.getStatus() != null && statistic.getStatus().name().equals(status)) {
-                // Record-based count
-                count++;
-            }
+        if (StatisticMode.PAGE.equals(statisticMode)) {
+            // Page-based count
+            return getStatusIndex().getPageCount(crowdsourcingStatus);
         }
-
-        return count;
+        // Record-based count
+        return getStatusIndex().getRecordCount(crowdsourcingStatus);
     }
 
     /**
@@ -467,21 +466,8 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
      */
     public long getNumRecordsToAnnotate() throws IndexUnreachableException {
-        long all = getNumRecords();
-        long count = 0;
-        for (Entry<String, CampaignRecordStatistic> entry : statistics.entrySet()) {
-            CampaignRecordStatistic statistic = entry.getValue();
-            switch (statistic.getStatus()) {
-                case REVIEW:
-                case FINISHED:
-                    count++;
-                    break;
-                default:
-                    break;
-            }
-        }
-
-        return all - count;
+        CampaignStatusIndex index = getStatusIndex();
+        return getNumRecords() - index.getRecordCount(CrowdsourcingStatus.REVIEW) - index.getRecordCount(CrowdsourcingStatus.FINISHED);
     }
 
     /**
@@ -491,31 +477,7 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @throws io.goobi.viewer.exceptions.DAOException if any.
      */
     public long getContributorCount() throws DAOException {
-        Set<Long> userIds = new HashSet<>();
-        if (StatisticMode.PAGE.equals(statisticMode)) {
-            for (Entry<String, CampaignRecordStatistic> statisticsEntry : statistics.entrySet()) {
-                for (String key : statistics.get(statisticsEntry.getKey()).getPageStatistics().keySet()) {
-                    CampaignRecordPageStatistic pageStatistic = statisticsEntry.getValue().getPageStatistics().get(key);
-                    for (User u : pageStatistic.getAnnotators()) {
-                        userIds.add(u.getId());
-                    }
-                    for (User u : pageStatistic.getReviewers()) {
-                        userIds.add(u.getId());
-                    }
-                }
-            }
-        } else {
-            for (Entry<String, CampaignRecordStatistic> entry : statistics.entrySet()) {
-                for (User u : entry.getValue().getAnnotators()) {
-                    userIds.add(u.getId());
-                }
-                for (User u : entry.getValue().getReviewers()) {
-                    userIds.add(u.getId());
-                }
-            }
-        }
-
-        return userIds.size();
+        return getStatusIndex().getContributorCount(StatisticMode.PAGE.equals(statisticMode));
     }
 
     /**
@@ -523,23 +485,7 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @return true if this campaign has at least one annotation; false otherwise
      */
     public boolean isHasAnnotations() {
-        if (StatisticMode.PAGE.equals(statisticMode)) {
-            for (Entry<String, CampaignRecordStatistic> entry : statistics.entrySet()) {
-                for (String key : entry.getValue().getPageStatistics().keySet()) {
-                    if (!entry.getValue().getPageStatistics().get(key).getAnnotators().isEmpty()) {
-                        return true;
-                    }
-                }
-            }
-        } else {
-            for (Entry<String, CampaignRecordStatistic> entry : statistics.entrySet()) {
-                if (!entry.getValue().getAnnotators().isEmpty()) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return getStatusIndex().isHasAnnotations(StatisticMode.PAGE.equals(statisticMode));
     }
 
     /**
@@ -1088,6 +1034,7 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
     public void setSolrQuery(String solrQuery) {
         this.solrQuery = solrQuery;
         this.solrQueryResults = null;
+        this.solrQueryResultPositions = null;
         this.pageCount = null;
     }
 
@@ -1179,6 +1126,7 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      */
     public void setStatistics(Map<String, CampaignRecordStatistic> statistics) {
         this.statistics = statistics;
+        this.statusIndex = null;
     }
 
     /**
@@ -1255,7 +1203,32 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      */
     public String getRandomizedTarget(CrowdsourcingStatus status, String piToIgnore, User user)
             throws PresentationException, IndexUnreachableException {
-        List<String> pis = getSolrQueryResults().stream()
+        List<String> results = getSolrQueryResults();
+        if (results.isEmpty()) {
+            return "";
+        }
+        if (!CrowdsourcingStatus.ANNOTATE.equals(status)) {
+            // Candidates are exactly the indexed records with the given status
+            List<String> pis = getStatusIndex().getRecords(status, StatisticMode.PAGE.equals(statisticMode))
+                    .stream()
+                    .filter(solrQueryResultPositions::containsKey)
+                    .filter(result -> !result.equals(piToIgnore))
+                    .filter(result -> isEligibleToEdit(result, status, user))
+                    .toList();
+            if (pis.isEmpty()) {
+                return "";
+            }
+            return pis.get(RANDOM.nextInt(pis.size()));
+        }
+
+        // Most records are usually still open for annotation, so random picks hit a candidate after a few attempts
+        for (int i = 0; i < RANDOM_TARGET_ATTEMPTS; ++i) {
+            String pi = results.get(RANDOM.nextInt(results.size()));
+            if (!pi.equals(piToIgnore) && isRecordStatus(pi, status) && isEligibleToEdit(pi, status, user)) {
+                return pi;
+            }
+        }
+        List<String> pis = results.stream()
                 .filter(result -> !result.equals(piToIgnore))
                 .filter(result -> isRecordStatus(result, status))
                 .filter(result -> isEligibleToEdit(result, status, user))
@@ -1277,21 +1250,57 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
      */
     public String getNextTarget(CrowdsourcingStatus status, String currentPi, User user) throws PresentationException, IndexUnreachableException {
-        List<String> piList = getSolrQueryResults().stream()
-                .filter(result -> isRecordStatus(result, status))
-                .filter(result -> isEligibleToEdit(result, status, user))
-                .toList();
-        int currentIndex = piList.indexOf(currentPi);
-        if (piList.isEmpty()) {
-            return "";
+        getSolrQueryResults();
+        Integer currentIndex = currentPi != null ? solrQueryResultPositions.get(currentPi) : null;
+        if (currentIndex == null || !isRecordStatus(currentPi, status) || !isEligibleToEdit(currentPi, status, user)) {
+            // Current record is no candidate (anymore); start from the beginning
+            return Optional.ofNullable(findTarget(status, 0, user)).orElse("");
         }
-        if (currentIndex + 1 < piList.size()) {
-            return piList.get(currentIndex + 1);
-        } else if (currentIndex != 0) {
-            return piList.get(0);
-        } else {
-            return "";
+        String ret = findTarget(status, currentIndex + 1, user);
+        if (ret == null) {
+            ret = findTarget(status, 0, user);
+            if (currentPi.equals(ret)) {
+                return "";
+            }
+        }
+
+        return Optional.ofNullable(ret).orElse("");
+    }
+
+    /**
+     * Finds the first record in {@link #solrQueryResults}, starting at the given position, that has the given status and may be edited by the
+     * given user.
+     *
+     * @param status Desired record status
+     * @param fromIndex Position in {@link #solrQueryResults} to start at
+     * @param user User requesting the target
+     * @return PI of the found record; null if there is none
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private String findTarget(CrowdsourcingStatus status, int fromIndex, User user) throws PresentationException, IndexUnreachableException {
+        List<String> results = getSolrQueryResults();
+        if (!CrowdsourcingStatus.ANNOTATE.equals(status)) {
+            // Only look at the indexed records with the given status instead of walking the whole result list
+            String ret = null;
+            int retIndex = Integer.MAX_VALUE;
+            for (String pi : getStatusIndex().getRecords(status, StatisticMode.PAGE.equals(statisticMode))) {
+                Integer index = solrQueryResultPositions.get(pi);
+                if (index != null && index >= fromIndex && index < retIndex && isEligibleToEdit(pi, status, user)) {
+                    ret = pi;
+                    retIndex = index;
+                }
+            }
+            return ret;
         }
+        for (int i = fromIndex; i < results.size(); ++i) {
+            String pi = results.get(i);
+            if (isRecordStatus(pi, status) && isEligibleToEdit(pi, status, user)) {
+                return pi;
+            }
+        }
+
+        return null;
     }
 
     /**
@@ -1315,13 +1324,18 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
                     .stream()
                     .map(doc -> doc.getFieldValue(SolrConstants.PI).toString())
                     .collect(Collectors.toList());
-
+            Map<String, Integer> positions = new HashMap<>(this.solrQueryResults.size() * 4 / 3 + 1);
+            for (int i = 0; i < this.solrQueryResults.size(); ++i) {
+                positions.putIfAbsent(this.solrQueryResults.get(i), i);
+            }
+            this.solrQueryResultPositions = positions;
         }
         return this.solrQueryResults;
     }
 
     public void resetSolrQueryResults() {
         this.solrQueryResults = null;
+        this.solrQueryResultPositions = null;
     }
 
     /**
@@ -1367,10 +1381,7 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
      */
     public boolean hasRecordsToReview(User user) throws PresentationException, IndexUnreachableException {
-        return getSolrQueryResults().stream()
-                .filter(result -> isRecordStatus(result, CrowdsourcingStatus.REVIEW))
-                .filter(result -> isEligibleToEdit(result, CrowdsourcingStatus.REVIEW, user))
-                .count() > 0;
+        return findTarget(CrowdsourcingStatus.REVIEW, 0, user) != null;
     }
 
     /**
@@ -1382,10 +1393,7 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
      */
     public boolean hasRecordsToAnnotate(User user) throws PresentationException, IndexUnreachableException {
-        return getSolrQueryResults().stream()
-                .filter(result -> isRecordStatus(result, CrowdsourcingStatus.ANNOTATE))
-                .filter(result -> isEligibleToEdit(result, CrowdsourcingStatus.ANNOTATE, user))
-                .count() > 0;
+        return findTarget(CrowdsourcingStatus.ANNOTATE, 0, user) != null;
     }
 
     /**
@@ -1421,9 +1429,18 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @return true if record status for the given pi equals status; false otherwise. If no record
      */
     boolean isRecordStatus(String pi, CrowdsourcingStatus status) {
-        return Optional.ofNullable(statistics.get(pi))
-                .map(stat -> StatisticMode.RECORD.equals(this.statisticMode) ? status.equals(stat.getStatus()) : stat.containsPageStatus(status))
-                .orElse(CrowdsourcingStatus.ANNOTATE.equals(status));
+        CampaignRecordStatistic statistic = statistics.get(pi);
+        if (statistic == null) {
+            return CrowdsourcingStatus.ANNOTATE.equals(status);
+        }
+        if (StatisticMode.RECORD.equals(this.statisticMode)) {
+            return status.equals(statistic.getStatus());
+        }
+        if (getStatusIndex().hasPageStatus(pi, status)) {
+            return true;
+        }
+        // Pages without statistic are in ANNOTATE status
+        return CrowdsourcingStatus.ANNOTATE.equals(status) && statistic.containsPageStatus(status);
     }
 
     /**
@@ -1470,22 +1487,32 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
      * @param user optional user performing the annotation or review
      */
     public void setRecordStatus(String pi, CrowdsourcingStatus status, Optional<User> user) {
+        CampaignStatusIndex index = getStatusIndex();
         CampaignRecordStatistic statistic = statistics.get(pi);
-        if (statistic == null) {
+        boolean newRecord = statistic == null;
+        if (newRecord) {
             statistic = new CampaignRecordStatistic();
             statistic.setOwner(this);
             statistic.setDateCreated(LocalDateTime.now());
             statistic.setStatus(CrowdsourcingStatus.ANNOTATE);
         }
-        if (CrowdsourcingStatus.ANNOTATE.equals(statistic.getStatus())) {
+        CrowdsourcingStatus oldStatus = statistic.getStatus();
+        if (CrowdsourcingStatus.ANNOTATE.equals(oldStatus)) {
             user.ifPresent(statistic::addAnnotater);
+            user.ifPresent(u -> index.addAnnotator(u, false));
         } else {
             user.ifPresent(statistic::addReviewer);
+            user.ifPresent(u -> index.addReviewer(u, false));
         }
         statistic.setPi(pi);
         statistic.setStatus(status);
         statistic.setDateUpdated(LocalDateTime.now());
         statistics.put(pi, statistic);
+        if (newRecord) {
+            index.addRecord(pi, statistic);
+        } else {
+            index.changeRecordStatus(pi, oldStatus, status);
+        }
     }
 
     /**
@@ -1498,8 +1525,10 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
     public void setRecordPageStatus(String pi, int page, CrowdsourcingStatus status, Optional<User> user) {
         // logger.trace("setRecordPageStatus: {}/{}", pi, page); //NOSONAR Debug
         LocalDateTime now = LocalDateTime.now();
+        CampaignStatusIndex index = getStatusIndex();
         CampaignRecordStatistic statistic = statistics.get(pi);
-        if (statistic == null) {
+        boolean newRecord = statistic == null;
+        if (newRecord) {
             statistic = new CampaignRecordStatistic();
             statistic.setPi(pi);
             statistic.setOwner(this);
@@ -1509,7 +1538,8 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
 
         String key = pi + "_" + page;
         CampaignRecordPageStatistic pageStatistic = statistic.getPageStatistics().get(key);
-        if (pageStatistic == null) {
+        boolean newPage = pageStatistic == null;
+        if (newPage) {
             pageStatistic = new CampaignRecordPageStatistic();
             pageStatistic.setOwner(statistic);
             pageStatistic.setPi(pi);
@@ -1519,7 +1549,8 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
             pageStatistic.setStatus(CrowdsourcingStatus.ANNOTATE);
             statistic.getPageStatistics().put(key, pageStatistic);
         }
-        if (CrowdsourcingStatus.ANNOTATE.equals(pageStatistic.getStatus())) {
+        CrowdsourcingStatus oldStatus = pageStatistic.getStatus();
+        if (CrowdsourcingStatus.ANNOTATE.equals(oldStatus)) {
             user.ifPresent(pageStatistic::addAnnotater);
         } else {
             user.ifPresent(pageStatistic::addReviewer);
@@ -1529,6 +1560,31 @@ public class Campaign implements CMSMediaHolder, ILicenseType, IPolyglott, Seria
         pageStatistic.setDateUpdated(now);
         statistic.setDateUpdated(now);
         statistics.put(pi, statistic);
+        if (newRecord) {
+            index.addRecord(pi, statistic);
+        } else if (newPage) {
+            index.addPage(pi, pageStatistic);
+        } else {
+            index.changePageStatus(pi, oldStatus, status);
+            if (CrowdsourcingStatus.ANNOTATE.equals(oldStatus)) {
+                user.ifPresent(u -> index.addAnnotator(u, true));
+            } else {
+                user.ifPresent(u -> index.addReviewer(u, true));
+            }
+        }
+    }
+
+    /**
+     * Returns the status index over {@link #statistics}, building it if necessary. The index is rebuilt if the number of statistics no longer
+     * matches, i.e. if statistics have been added to the map without using the status setters.
+     *
+     * @return {@link CampaignStatusIndex}
+     */
+    private CampaignStatusIndex getStatusIndex() {
+        if (statusIndex == null || statusIndex.getRecordCount() != statistics.size()) {
+            statusIndex = CampaignStatusIndex.build(statistics);
+        }
+        return statusIndex;
     }
 
     /** {@inheritDoc} */
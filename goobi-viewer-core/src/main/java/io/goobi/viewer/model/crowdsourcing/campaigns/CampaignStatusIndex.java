@@ -0,0 +1,281 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.crowdsourcing.campaigns;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import io.goobi.viewer.model.security.user.User;
+
+/**
+ * <p>
+ * In-memory index over the {@link CampaignRecordStatistic}s of a {@link Campaign}. It holds:
+ * </p>
+ * <ul>
+ * <li>the number of records and pages per status;</li>
+ * <li>the records per record status and per contained page status;</li>
+ * <li>the contributing users.</li>
+ * </ul>
+ * <p>
+ * The index is built once from the statistics and then kept up to date by {@link Campaign#setRecordStatus(String, CrowdsourcingStatus,
+ * java.util.Optional)} and {@link Campaign#setRecordPageStatus(String, int, CrowdsourcingStatus, java.util.Optional)}, so progress numbers and
+ * target selection do not need to walk all statistics on every call.
+ * </p>
+ * <p>
+ * Records are only listed under the ANNOTATE page status if they have such a page statistic. Pages without a statistic are implicitly in
+ * ANNOTATE status as well, but that requires the page count of the record from Solr (see
+ * {@link CampaignRecordStatistic#containsPageStatus(CrowdsourcingStatus)}), so {@link Campaign} still checks such records one by one.
+ * </p>
+ */
+class CampaignStatusIndex implements Serializable {
+
+    private static final long serialVersionUID = 4310561790478231157L;
+
+    private final Map<CrowdsourcingStatus, Set<String>> recordsByStatus = new EnumMap<>(CrowdsourcingStatus.class);
+    private final Map<CrowdsourcingStatus, Set<String>> recordsByPageStatus = new EnumMap<>(CrowdsourcingStatus.class);
+    /** Number of pages per status for each record. */
+    private final Map<String, Map<CrowdsourcingStatus, Integer>> pageStatusCounts = new HashMap<>();
+    private final Map<CrowdsourcingStatus, Long> pageCounts = new EnumMap<>(CrowdsourcingStatus.class);
+    private final Set<Long> recordContributors = new HashSet<>();
+    private final Set<Long> pageContributors = new HashSet<>();
+    private boolean recordAnnotations = false;
+    private boolean pageAnnotations = false;
+    private int recordCount = 0;
+
+    /**
+     * Builds an index over the given statistics.
+     *
+     * @param statistics Record statistics mapped to their PI
+     * @return New {@link CampaignStatusIndex}
+     * @should index record and page statuses
+     * @should collect contributors
+     */
+    static CampaignStatusIndex build(Map<String, CampaignRecordStatistic> statistics) {
+        CampaignStatusIndex ret = new CampaignStatusIndex();
+        if (statistics != null) {
+            for (Entry<String, CampaignRecordStatistic> entry : statistics.entrySet()) {
+                ret.addRecord(entry.getKey(), entry.getValue());
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Adds a record that is not yet contained in the index, together with its page statistics and contributors.
+     *
+     * @param pi Record identifier
+     * @param statistic {@link CampaignRecordStatistic} of the record
+     */
+    void addRecord(String pi, CampaignRecordStatistic statistic) {
+        recordCount++;
+        if (statistic == null) {
+            return;
+        }
+        addToSet(recordsByStatus, statistic.getStatus(), pi);
+        for (User user : statistic.getAnnotators()) {
+            addAnnotator(user, false);
+        }
+        for (User user : statistic.getReviewers()) {
+            addReviewer(user, false);
+        }
+        for (CampaignRecordPageStatistic pageStatistic : statistic.getPageStatistics().values()) {
+            addPage(pi, pageStatistic);
+        }
+    }
+
+    /**
+     * Adds a page that is not yet contained in the index, together with its contributors.
+     *
+     * @param pi Record identifier
+     * @param pageStatistic {@link CampaignRecordPageStatistic} of the page
+     */
+    void addPage(String pi, CampaignRecordPageStatistic pageStatistic) {
+        if (pageStatistic == null) {
+            return;
+        }
+        changePageStatus(pi, null, pageStatistic.getStatus());
+        for (User user : pageStatistic.getAnnotators()) {
+            addAnnotator(user, true);
+        }
+        for (User user : pageStatistic.getReviewers()) {
+            addReviewer(user, true);
+        }
+    }
+
+    /**
+     * Moves an indexed record from one record status to another.
+     *
+     * @param pi Record identifier
+     * @param oldStatus Previous record status
+     * @param newStatus New record status
+     * @should move record to new status
+     */
+    void changeRecordStatus(String pi, CrowdsourcingStatus oldStatus, CrowdsourcingStatus newStatus) {
+        removeFromSet(recordsByStatus, oldStatus, pi);
+        addToSet(recordsByStatus, newStatus, pi);
+    }
+
+    /**
+     * Moves an indexed page from one status to another.
+     *
+     * @param pi Record identifier
+     * @param oldStatus Previous page status; null for pages that were not indexed yet
+     * @param newStatus New page status
+     * @should update page counts and records
+     */
+    void changePageStatus(String pi, CrowdsourcingStatus oldStatus, CrowdsourcingStatus newStatus) {
+        Map<CrowdsourcingStatus, Integer> counts = pageStatusCounts.computeIfAbsent(pi, k -> new EnumMap<>(CrowdsourcingStatus.class));
+        if (oldStatus != null) {
+            pageCounts.merge(oldStatus, -1L, Long::sum);
+            if (counts.merge(oldStatus, -1, Integer::sum) <= 0) {
+                counts.remove(oldStatus);
+                removeFromSet(recordsByPageStatus, oldStatus, pi);
+            }
+        }
+        if (newStatus != null) {
+            pageCounts.merge(newStatus, 1L, Long::sum);
+            counts.merge(newStatus, 1, Integer::sum);
+            addToSet(recordsByPageStatus, newStatus, pi);
+        }
+    }
+
+    /**
+     *
+     * @param user Annotating user
+     * @param page true if the user annotated a page statistic; false for record statistics
+     */
+    void addAnnotator(User user, boolean page) {
+        if (user == null) {
+            return;
+        }
+        if (page) {
+            pageContributors.add(user.getId());
+            pageAnnotations = true;
+        } else {
+            recordContributors.add(user.getId());
+            recordAnnotations = true;
+        }
+    }
+
+    /**
+     *
+     * @param user Reviewing user
+     * @param page true if the user reviewed a page statistic; false for record statistics
+     */
+    void addReviewer(User user, boolean page) {
+        if (user == null) {
+            return;
+        }
+        if (page) {
+            pageContributors.add(user.getId());
+        } else {
+            recordContributors.add(user.getId());
+        }
+    }
+
+    /**
+     *
+     * @param status Record status
+     * @return Number of records with the given record status
+     */
+    int getRecordCount(CrowdsourcingStatus status) {
+        return recordsByStatus.getOrDefault(status, Collections.emptySet()).size();
+    }
+
+    /**
+     *
+     * @param status Page status
+     * @return Number of pages with the given status
+     */
+    long getPageCount(CrowdsourcingStatus status) {
+        return pageCounts.getOrDefault(status, 0L);
+    }
+
+    /**
+     *
+     * @param status Status
+     * @param pageMode If true, records containing a page with the given status are returned; otherwise records with the given record status
+     * @return Unmodifiable set of record identifiers
+     */
+    Set<String> getRecords(CrowdsourcingStatus status, boolean pageMode) {
+        Set<String> ret = (pageMode ? recordsByPageStatus : recordsByStatus).get(status);
+        return ret != null ? Collections.unmodifiableSet(ret) : Collections.emptySet();
+    }
+
+    /**
+     *
+     * @param pi Record identifier
+     * @param status Page status
+     * @return true if the record has at least one page statistic with the given status; false otherwise
+     */
+    boolean hasPageStatus(String pi, CrowdsourcingStatus status) {
+        Set<String> records = recordsByPageStatus.get(status);
+        return records != null && records.contains(pi);
+    }
+
+    /**
+     *
+     * @param pageMode If true, contributors of page statistics are counted; otherwise contributors of record statistics
+     * @return Number of distinct annotating or reviewing users
+     */
+    int getContributorCount(boolean pageMode) {
+        return pageMode ? pageContributors.size() : recordContributors.size();
+    }
+
+    /**
+     *
+     * @param pageMode If true, page statistics are checked; otherwise record statistics
+     * @return true if at least one statistic has an annotator; false otherwise
+     */
+    boolean isHasAnnotations(boolean pageMode) {
+        return pageMode ? pageAnnotations : recordAnnotations;
+    }
+
+    /**
+     *
+     * @return Number of indexed records
+     */
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    private static void addToSet(Map<CrowdsourcingStatus, Set<String>> map, CrowdsourcingStatus status, String pi) {
+        if (status != null) {
+            map.computeIfAbsent(status, k -> new HashSet<>()).add(pi);
+        }
+    }
+
+    private static void removeFromSet(Map<CrowdsourcingStatus, Set<String>> map, CrowdsourcingStatus status, String pi) {
+        if (status != null) {
+            Set<String> set = map.get(status);
+            if (set != null) {
+                set.remove(pi);
+            }
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.iiif.presentation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrDocument;
+
+import de.intranda.api.iiif.presentation.IPresentationModelElement;
+import io.goobi.viewer.api.rest.filters.FilterTools;
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.controller.NetTools;
+import io.goobi.viewer.exceptions.DAOException;
+import io.goobi.viewer.exceptions.IndexUnreachableException;
+import io.goobi.viewer.exceptions.PresentationException;
+import io.goobi.viewer.model.security.AccessConditionUtils;
+import io.goobi.viewer.model.security.AccessPermissionCache;
+import io.goobi.viewer.model.security.clients.ClientApplicationManager;
+import io.goobi.viewer.solr.SolrConstants;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * <p>
+ * Application-scoped cache for IIIF Presentation manifests of records. Manifests contain resources depending on the access permissions of the
+ * client, so they are cached per licensee fingerprint (see {@link AccessPermissionCache#buildLicenseeKey}), API version and build mode, and
+ * are only reused as long as the record's {@code DATEUPDATED} value is unchanged. Labels contain all configured translations, so manifests
+ * are not kept per language. The cache is bounded both by the number of manifests and by their total serialized size (see
+ * {@link io.goobi.viewer.controller.Configuration#getManifestCacheMaxSize()}); least recently used manifests are evicted first. The size of a
+ * manifest is measured while the response filter writes it for the request that built it, so manifests are not serialized a second time
+ * just to be weighed; until then they only count against the maximum number of manifests.
+ * </p>
+ *
+ * <p>
+ * Cached and newly built manifests pass their entity tag and modification date to the {@code IIIFPresentationResponseFilter} via request
+ * attributes, which answers conditional requests with 304 based on the licensee-dependent entity tag. Requests with an Authorization header
+ * (IIIF auth tokens) are neither cached nor validated. The indexer drops the manifests of updated or deleted records via the cache REST
+ * endpoint.
+ * </p>
+ */
+public class ManifestCache {
+
+    private static final Logger logger = LogManager.getLogger(ManifestCache.class);
+
+    /** Maximum number of cached manifests. */
+    static final int MAX_MANIFESTS = 100;
+
+    /** Manifests in access order; guarded by itself. */
+    private final Map<ManifestKey, CachedManifest> manifests = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int maxManifests;
+    /** Fixed maximum total size in bytes; values below zero mean the configured value is used. */
+    private final long maxBytes;
+    /** Total measured size of all cached manifests in bytes; guarded by {@link #manifests}. */
+    private long totalBytes = 0;
+
+    /**
+     * Creates a cache with the default maximum number of manifests and the configured maximum size.
+     */
+    public ManifestCache() {
+        this(MAX_MANIFESTS, -1);
+    }
+
+    /**
+     *
+     * @param maxManifests Maximum number of cached manifests
+     * @param maxBytes Maximum total size of cached manifests in bytes
+     */
+    ManifestCache(int maxManifests, long maxBytes) {
+        this.maxManifests = maxManifests;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Builds the cache key for the manifest of the given record as requested by the given request.
+     *
+     * @param pi Record identifier
+     * @param variant API version, build mode and base URL of the manifest
+     * @param request Current request
+     * @return {@link ManifestKey}; null if the manifest may not be cached for this request
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @throws DAOException
+     */
+    public static ManifestKey buildKey(String pi, String variant, HttpServletRequest request)
+            throws PresentationException, IndexUnreachableException, DAOException {
+        if (StringUtils.isEmpty(pi) || request == null || request.getHeader("Authorization") != null) {
+            return null;
+        }
+        String licenseeKey = AccessPermissionCache.buildLicenseeKey(AccessConditionUtils.retrieveUserFromContext(request.getSession(false)),
+                NetTools.getIpAddress(request), ClientApplicationManager.getClientFromRequest(request));
+        if (licenseeKey == null) {
+            return null;
+        }
+        SolrDocument doc = DataManager.getInstance()
+                .getSearchIndex()
+                .getFirstDoc(SolrConstants.PI + ":\"" + pi + '"', Collections.singletonList(SolrConstants.DATEUPDATED));
+        long dateUpdated = doc != null ? getLatestDateUpdated(doc.getFieldValues(SolrConstants.DATEUPDATED)) : 0;
+        if (dateUpdated == 0) {
+            return null;
+        }
+
+        return new ManifestKey(pi, variant, licenseeKey, dateUpdated);
+    }
+
+    /**
+     *
+     * @param values DATEUPDATED values
+     * @return Latest value; 0 if none
+     * @should return latest value
+     * @should return zero if no values
+     */
+    static long getLatestDateUpdated(Collection<Object> values) {
+        long ret = 0;
+        if (values != null) {
+            for (Object value : values) {
+                if (value instanceof Long l && l > ret) {
+                    ret = l;
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the cached manifest for the given key and passes its validators to the response filter.
+     *
+     * @param key Manifest key; may be null
+     * @param request Current request
+     * @return Cached manifest; null if none is cached
+     * @should return put manifest
+     * @should return null for different licensee
+     * @should return null for newer record version
+     */
+    public IPresentationModelElement get(ManifestKey key, HttpServletRequest request) {
+        if (key == null) {
+            return null;
+        }
+        CachedManifest cached;
+        synchronized (manifests) {
+            cached = manifests.get(key);
+        }
+        if (cached == null) {
+            return null;
+        }
+        setValidators(cached, request);
+        logger.trace("Manifest found in cache: {}", key.pi());
+        return cached.manifest();
+    }
+
+    /**
+     * Caches the given manifest and passes its validators to the response filter. The filter reports the size of the serialized manifest
+     * back to {@link #updateSize(ManifestKey, IPresentationModelElement, long)} via the request attribute
+     * {@link FilterTools#ATTRIBUTE_SIZE_LISTENER}.
+     *
+     * @param key Manifest key; may be null
+     * @param manifest Manifest to cache
+     * @param request Current request
+     * @should evict least recently used manifest when full
+     * @should not cache manifest if max size is zero
+     * @should set validators as request attributes
+     * @should set size listener as request attribute
+     */
+    public void put(ManifestKey key, IPresentationModelElement manifest, HttpServletRequest request) {
+        if (key == null || manifest == null) {
+            return;
+        }
+        CachedManifest cached = new CachedManifest(manifest, buildETag(key), key.dateUpdated(), 0);
+        setValidators(cached, request);
+        long max = getMaxBytes();
+        if (max <= 0) {
+            return;
+        }
+        synchronized (manifests) {
+            // Drop manifests of previous record versions
+            remove(k -> k.pi().equals(key.pi()) && k.dateUpdated() != key.dateUpdated());
+            CachedManifest previous = manifests.put(key, cached);
+            if (previous != null) {
+                totalBytes -= previous.size();
+            }
+            evict(key, max);
+        }
+        if (request != null) {
+            request.setAttribute(FilterTools.ATTRIBUTE_SIZE_LISTENER, (LongConsumer) size -> updateSize(key, manifest, size));
+        }
+    }
+
+    /**
+     * Records the measured serialized size of a cached manifest and evicts least recently used manifests if the total size has become too
+     * large.
+     *
+     * @param key Manifest key
+     * @param manifest Manifest that has been serialized
+     * @param size Size of the serialized manifest in bytes
+     * @should evict least recently used manifests when max size exceeded
+     * @should remove manifest larger than max size
+     * @should ignore manifest no longer cached
+     */
+    void updateSize(ManifestKey key, IPresentationModelElement manifest, long size) {
+        long max = getMaxBytes();
+        synchronized (manifests) {
+            CachedManifest cached = manifests.get(key);
+            if (cached == null || cached.manifest() != manifest) {
+                return;
+            }
+            if (size > max) {
+                manifests.remove(key);
+                totalBytes -= cached.size();
+                logger.trace("Manifest removed from cache due to its size: {}", key.pi());
+                return;
+            }
+            manifests.put(key, new CachedManifest(manifest, cached.etag(), cached.lastModified(), size));
+            totalBytes += size - cached.size();
+            evict(key, max);
+        }
+    }
+
+    /**
+     * Drops all cached manifests of the given record.
+     *
+     * @param pi Record identifier
+     * @should remove only given record
+     */
+    public void invalidateRecord(String pi) {
+        if (pi == null) {
+            return;
+        }
+        synchronized (manifests) {
+            remove(k -> k.pi().equals(pi));
+        }
+    }
+
+    /**
+     * Drops all cached manifests.
+     */
+    public void invalidate() {
+        synchronized (manifests) {
+            manifests.clear();
+            totalBytes = 0;
+        }
+        logger.trace("Manifest cache cleared.");
+    }
+
+    /**
+     *
+     * @return Number of cached manifests
+     */
+    public int getSize() {
+        synchronized (manifests) {
+            return manifests.size();
+        }
+    }
+
+    /**
+     *
+     * @return Total measured size of all cached manifests in bytes
+     */
+    public long getTotalBytes() {
+        synchronized (manifests) {
+            return totalBytes;
+        }
+    }
+
+    /**
+     * Evicts least recently used manifests other than the given one until both limits are met. Callers must hold the lock on
+     * {@link #manifests}.
+     *
+     * @param keep Key of the manifest to keep
+     * @param max Maximum total size in bytes
+     */
+    private void evict(ManifestKey keep, long max) {
+        // Iteration order is access order, so the least recently used manifests come first
+        Iterator<Map.Entry<ManifestKey, CachedManifest>> iterator = manifests.entrySet().iterator();
+        while ((manifests.size() > maxManifests || totalBytes > max) && iterator.hasNext()) {
+            Map.Entry<ManifestKey, CachedManifest> eldest = iterator.next();
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes all manifests whose key matches the given filter. Callers must hold the lock on {@link #manifests}.
+     *
+     * @param filter Key filter
+     */
+    private void remove(Predicate<ManifestKey> filter) {
+        Iterator<Map.Entry<ManifestKey, CachedManifest>> iterator = manifests.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<ManifestKey, CachedManifest> entry = iterator.next();
+            if (filter.test(entry.getKey())) {
+                totalBytes -= entry.getValue().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    private long getMaxBytes() {
+        return maxBytes >= 0 ? maxBytes : DataManager.getInstance().getConfiguration().getManifestCacheMaxSize() * 1024L * 1024L;
+    }
+
+    /**
+     * The entity tag is the only validator that identifies the licensee, so the response filter evaluates conditional requests against it
+     * alone. It contains a cryptographic hash, so that different licensees practically never share one.
+     *
+     * @param key Manifest key
+     * @return Entity tag identifying the manifest content
+     * @should differ for different licensees
+     */
+    static String buildETag(ManifestKey key) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            byte[] hash = md.digest((key.variant() + '\n' + key.licenseeKey()).getBytes(StandardCharsets.UTF_8));
+            return Long.toHexString(key.dateUpdated()) + '-' + HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandated by the Java platform
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void setValidators(CachedManifest cached, HttpServletRequest request) {
+        if (request != null) {
+            request.setAttribute(FilterTools.ATTRIBUTE_ETAG, cached.etag());
+            request.setAttribute(FilterTools.ATTRIBUTE_LAST_MODIFIED, cached.lastModified());
+        }
+    }
+
+    /**
+     * Identifies a cached manifest.
+     *
+     * @param pi Record identifier
+     * @param variant API version, build mode and base URL of the manifest
+     * @param licenseeKey Licensee fingerprint
+     * @param dateUpdated Latest DATEUPDATED value of the record
+     */
+    public record ManifestKey(String pi, String variant, String licenseeKey, long dateUpdated) {
+    }
+
+    /**
+     * @param manifest Cached manifest; must not be modified
+     * @param etag Entity tag identifying the manifest content
+     * @param lastModified Modification date of the record in milliseconds
+     * @param size Measured size in bytes; 0 until the manifest has been serialized
+     */
+    private record CachedManifest(IPresentationModelElement manifest, String etag, long lastModified, long size) {
+    }
+}
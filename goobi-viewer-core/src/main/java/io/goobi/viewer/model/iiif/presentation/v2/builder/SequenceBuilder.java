@@ -88,7 +88,6 @@ import io.goobi.viewer.model.security.AccessConditionUtils;
 import io.goobi.viewer.model.security.PagePermissions;
 import io.goobi.viewer.solr.SolrConstants;
 import io.goobi.viewer.solr.SolrConstants.DocType;
-import io.goobi.viewer.solr.SolrSearchIndex;
 import io.goobi.viewer.model.viewer.PageType;
 import io.goobi.viewer.model.viewer.PhysicalElement;
 import io.goobi.viewer.model.viewer.StringPair;
@@ -640,8 +639,7 @@ public class SequenceBuilder extends AbstractBuilder {
                 + " +" + SolrConstants.DOCTYPE + ":" + DocType.PAGE;
         try {
             org.apache.solr.common.SolrDocumentList docs = DataManager.getInstance().getSearchIndex()
-                    .search(query, SolrSearchIndex.MAX_HITS, null,
-                            List.of(SolrConstants.ORDER, SolrConstants.WIDTH, SolrConstants.HEIGHT));
+                    .searchAll(query, null, List.of(SolrConstants.ORDER, SolrConstants.WIDTH, SolrConstants.HEIGHT));
             if (docs == null || docs.isEmpty()) {
                 return Map.of();
             }
@@ -72,7 +72,6 @@ import io.goobi.viewer.model.security.AccessConditionUtils;
 import io.goobi.viewer.model.security.PagePermissions;
 import io.goobi.viewer.solr.SolrConstants;
 import io.goobi.viewer.solr.SolrConstants.DocType;
-import io.goobi.viewer.solr.SolrSearchIndex;
 import io.goobi.viewer.model.viewer.PageType;
 import io.goobi.viewer.model.viewer.PhysicalElement;
 import io.goobi.viewer.model.viewer.StringPair;
@@ -150,8 +149,7 @@ public class CanvasBuilder extends AbstractBuilder {
                 + " +" + SolrConstants.DOCTYPE + ":" + DocType.PAGE;
         try {
             org.apache.solr.common.SolrDocumentList docs = DataManager.getInstance().getSearchIndex()
-                    .search(query, SolrSearchIndex.MAX_HITS, null,
-                            List.of(SolrConstants.ORDER, SolrConstants.WIDTH, SolrConstants.HEIGHT));
+                    .searchAll(query, null, List.of(SolrConstants.ORDER, SolrConstants.WIDTH, SolrConstants.HEIGHT));
             if (docs == null || docs.isEmpty()) {
                 return;
             }
@@ -51,6 +51,7 @@ import io.goobi.viewer.api.rest.AbstractApiUrlManager.ApiPath;
 import io.goobi.viewer.api.rest.v1.ApiUrls;
 import io.goobi.viewer.controller.DataFileTools;
 import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.controller.model.alto.AltoWordIndex;
 import io.goobi.viewer.exceptions.DAOException;
 import io.goobi.viewer.exceptions.IndexUnreachableException;
 import io.goobi.viewer.exceptions.PresentationException;
@@ -352,6 +353,9 @@ public class IIIFSearchBuilder {
 
         SearchTermList terms = new SearchTermList();
         if (StringUtils.isNotBlank(query)) {
+            if (motivation.isEmpty() || motivation.contains(Motivation.PAINTING)) {
+                terms.addAll(autoSuggestFulltext(query, getPi()));
+            }
             if (motivation.isEmpty() || motivation.contains(MOTIVATION_NON_PAINTING) || motivation.contains("describing")) {
                 terms.addAll(autoSuggestAnnotations(query, getPi(), request));
             }
@@ -614,7 +618,13 @@ public class IIIFSearchBuilder {
             converter.setPageNo(pageNo);
             try {
                 if (altoFile != null && Files.exists(altoFile)) {
-                    results.add(converter.getAnnotationsFromAlto(altoFile, queryRegex));
+                    AltoWordIndex words = AltoWordIndex.load(altoFile);
+                    if (words.getWordCount() > 0) {
+                        results.add(converter.getAnnotationsFromWordIndex(words, queryRegex, results.getNumHits(), firstIndex, numHits));
+                    } else {
+                        // ALTO without word elements
+                        results.add(converter.getAnnotationsFromAlto(altoFile, queryRegex));
+                    }
                 } else if (fulltextFile != null && Files.exists(fulltextFile)) {
                     String text = new String(Files.readAllBytes(fulltextFile), StandardCharsets.UTF_8.name());
                     results.add(converter.getAnnotationsFromFulltext(text, pi, pageNo, queryRegex, results.getNumHits(), firstIndex, numHits));
@@ -626,6 +636,43 @@ public class IIIFSearchBuilder {
         return results;
     }
 
+    /**
+     * Suggests fulltext words from the ALTO word indexes of the matching pages. Only pages whose index already exists are considered; building
+     * missing indexes would mean parsing the ALTO of every matching page on each keystroke.
+     *
+     * @param query search query string
+     * @param pi Record identifier
+     * @return {@link SearchTermList}
+     */
+    private SearchTermList autoSuggestFulltext(String query, String pi) {
+
+        StringBuilder queryBuilder = new StringBuilder();
+        queryBuilder.append(" +PI_TOPSTRUCT:").append(pi);
+        queryBuilder.append(" +DOCTYPE:PAGE");
+        queryBuilder.append(" +FULLTEXTAVAILABLE:true");
+        queryBuilder.append(" +FULLTEXT:").append(query).append("*");
+
+        SearchTermList terms = new SearchTermList();
+        String queryRegex = AbstractSearchParser.getAutoSuggestRegex(Pattern.quote(query));
+        try {
+            SolrDocumentList docList = DataManager.getInstance()
+                    .getSearchIndex()
+                    .search(queryBuilder.toString(), SolrSearchIndex.MAX_HITS, getPageSortFields(), FULLTEXTFIELDLIST);
+            for (SolrDocument doc : docList) {
+                Path altoFile = getPath(pi, SolrTools.getSingleFieldStringValue(doc, SolrConstants.FILENAME_ALTO));
+                if (altoFile != null && Files.exists(altoFile)) {
+                    AltoWordIndex words = AltoWordIndex.loadExisting(altoFile);
+                    if (words != null) {
+                        terms.addAll(converter.getSearchTerms(queryRegex, words, getMotivation()));
+                    }
+                }
+            }
+        } catch (PresentationException | IndexUnreachableException | IOException e) {
+            logger.error(e.toString(), e);
+        }
+        return terms;
+    }
+
     /**
      * Test if the given fieldName is included in the configuredFields or matches any of the contained wildcard fieldNames.
      *
@@ -72,6 +72,7 @@ import de.intranda.metadata.multilanguage.Metadata;
 import de.intranda.metadata.multilanguage.SimpleMetadataValue;
 import io.goobi.viewer.api.rest.AbstractApiUrlManager;
 import io.goobi.viewer.controller.HtmlSanitizer;
+import io.goobi.viewer.controller.model.alto.AltoWordIndex;
 import io.goobi.viewer.messages.ViewerResourceBundle;
 import io.goobi.viewer.model.annotation.AltoAnnotationBuilder;
 import io.goobi.viewer.model.annotation.comments.Comment;
@@ -331,6 +332,33 @@ public class SearchResultConverter {
         return results;
     }
 
+    /**
+     * Creates annotations for the matches of the given query within the given word index. All matches are counted, but only those within the
+     * range set by previousHitCount, firstIndex and numHits are converted into hits.
+     *
+     * @param words word index of the ALTO page
+     * @param query a regex; each match of the query within the page creates a {@link de.intranda.api.iiif.search.SearchHit} with one annotation
+     *            per matched word
+     * @param previousHitCount The number of hits already found in previous pages
+     * @param firstIndex The index of the first overall hit to be returned in the result itself
+     * @param numHits The maximal number of hits to be returned in the result itself
+     * @return A result list containing the hits within the given range; its hit count is the number of all matches on the page
+     * @should only convert hits within range
+     */
+    public AnnotationResultList getAnnotationsFromWordIndex(AltoWordIndex words, String query, long previousHitCount, int firstIndex,
+            int numHits) {
+        AnnotationResultList results = new AnnotationResultList();
+        List<int[]> matches = altoParser.findWordMatches(words, query);
+        for (int i = 0; i < matches.size(); ++i) {
+            long hitIndex = previousHitCount + i;
+            if (hitIndex >= firstIndex && hitIndex < (long) firstIndex + numHits) {
+                results.add(convertWordsToHit(words, matches.get(i)[0], matches.get(i)[1]));
+            }
+        }
+        results.setNumHits(matches.size());
+        return results;
+    }
+
     /**
      * Create annotations for all matches of the given query within the given text file Returns only a partial result if the firstIndex is larger than
      * 0 and numHits is smaller than the total number of hits.
@@ -399,6 +427,32 @@ public class SearchResultConverter {
         return terms;
     }
 
+    /**
+     * Get all words of the given word index matching the given regex as {@link SearchTerm SearchTerms}. The second part of a hyphenated word is
+     * not counted separately.
+     *
+     * @param regex A regex matching all words which should be returned as a searchTerm
+     * @param words word index of the ALTO page
+     * @param searchMotivation The motivation to be set for the search url of the searchTerms
+     * @return A list of search terms
+     * @should count hyphenated words once
+     */
+    public SearchTermList getSearchTerms(String regex, AltoWordIndex words, List<String> searchMotivation) {
+        SearchTermList terms = new SearchTermList();
+        Pattern pattern = Pattern.compile(AbstractSearchParser.getSingleWordRegex(regex));
+        for (int i = 0; i < words.getWordCount(); ++i) {
+            if (i > 0 && words.getHyphenationPartNext(i - 1) == i) {
+                continue;
+            }
+            Matcher matcher = pattern.matcher(words.getSubsContent(i));
+            if (matcher.find()) {
+                String match = matcher.group(1);
+                terms.add(new SearchTerm(getPresentationBuilder().getSearchURI(getPi(), match, searchMotivation), match, 1));
+            }
+        }
+        return terms;
+    }
+
     /**
      * Converts a list of also word elements to a search hit, containing an annotation for each word in the list.
      *
@@ -423,6 +477,38 @@ public class SearchResultConverter {
         return hit;
     }
 
+    /**
+     * Converts a range of words of a word index to a search hit, containing an annotation for each word in the range.
+     *
+     * @param words word index of the ALTO page
+     * @param first index of the first word of the hit
+     * @param last index of the last word of the hit
+     * @return A hit of the combined words
+     */
+    private SearchHit convertWordsToHit(AltoWordIndex words, int first, int last) {
+        SearchHit hit = new SearchHit();
+        IResource canvas = createSimpleCanvasResource(getPi(), getPageNo());
+        List<IAnnotation> annotations = new ArrayList<>(last - first + 1);
+        List<String> match = new ArrayList<>(last - first + 1);
+        for (int i = first; i <= last; ++i) {
+            annotations.add(
+                    altoBuilder.createAnnotation(words.getId(i), words.getContent(i), words.getBounds(i), getPi(), getPageNo(), canvas, true));
+            match.add(words.getSubsContent(i));
+        }
+        hit.setAnnotations(annotations);
+        hit.setMatch(String.join(" ", match));
+
+        String before = altoParser.getPrecedingText(words, first, MAX_TEXT_LENGTH);
+        String after = altoParser.getSucceedingText(words, last, MAX_TEXT_LENGTH);
+        if (StringUtils.isNotBlank(before)) {
+            hit.setBefore(before);
+        }
+        if (StringUtils.isNotBlank(after)) {
+            hit.setAfter(after);
+        }
+        return hit;
+    }
+
     /**
      * Creates a {@link de.intranda.api.iiif.search.SearchHit} of the text within the given position within the given lines.
      *
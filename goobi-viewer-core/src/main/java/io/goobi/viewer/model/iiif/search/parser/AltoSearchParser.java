@@ -35,6 +35,7 @@ import org.apache.commons.lang3.Range;
 import de.intranda.digiverso.ocr.alto.model.structureclasses.Line;
 import de.intranda.digiverso.ocr.alto.model.structureclasses.lineelements.Word;
 import de.intranda.digiverso.ocr.alto.model.structureclasses.logical.AltoDocument;
+import io.goobi.viewer.controller.model.alto.AltoWordIndex;
 
 /**
  * IIIF Search API parser that searches for matches within ALTO full-text documents.
@@ -73,6 +74,31 @@ public class AltoSearchParser extends AbstractSearchParser {
         return results;
     }
 
+    /**
+     * Finds matches of the given regex in the words of the given word index. Consecutive matching words are combined into a single match.
+     *
+     * @param words word index of an ALTO page
+     * @param regex regular expression to test each word's content
+     * @return a list of matches, each given as the indexes of its first and last word
+     * @should return word ranges of consecutive matches
+     */
+    public List<int[]> findWordMatches(AltoWordIndex words, String regex) {
+        Pattern pattern = Pattern.compile(regex);
+        List<int[]> results = new ArrayList<>();
+        int index = 0;
+        while (index < words.getWordCount()) {
+            if (pattern.matcher(words.getSubsContent(index)).matches()) {
+                int first = index;
+                while (index + 1 < words.getWordCount() && pattern.matcher(words.getSubsContent(index + 1)).matches()) {
+                    index++;
+                }
+                results.add(new int[] { first, index });
+            }
+            index++;
+        }
+        return results;
+    }
+
     /**
      * findLineMatches.
      *
@@ -238,4 +264,48 @@ public class AltoSearchParser extends AbstractSearchParser {
         return after.toString().trim();
     }
 
+    /**
+     * getPrecedingText.
+     *
+     * @param words word index of an ALTO page
+     * @param word index of the word whose preceding words on the same line to collect
+     * @param maxLength maximum character count of returned text
+     * @return the text content of words on the same line preceding the given word, up to maxLength characters
+     */
+    public String getPrecedingText(AltoWordIndex words, int word, int maxLength) {
+        int line = words.getLine(word);
+        StringBuilder before = new StringBuilder();
+        int index = word - 1;
+        while (index > -1 && words.getLine(index) == line && before.length() < maxLength) {
+            if (before.isEmpty() || !Character.isWhitespace(before.charAt(0))) {
+                before.insert(0, " ");
+            }
+            before.insert(0, words.getContent(index));
+            index--;
+        }
+        return before.toString().trim();
+    }
+
+    /**
+     * getSucceedingText.
+     *
+     * @param words word index of an ALTO page
+     * @param word index of the word whose following words on the same line to collect
+     * @param maxLength maximum character count of returned text
+     * @return the text content of words on the same line following the given word, up to maxLength characters
+     */
+    public String getSucceedingText(AltoWordIndex words, int word, int maxLength) {
+        int line = words.getLine(word);
+        StringBuilder after = new StringBuilder();
+        int index = word + 1;
+        while (index < words.getWordCount() && words.getLine(index) == line && after.length() < maxLength) {
+            if (after.isEmpty() || !Character.isWhitespace(after.charAt(after.length() - 1))) {
+                after.append(" ");
+            }
+            after.append(words.getContent(index));
+            index++;
+        }
+        return after.toString().trim();
+    }
+
 }
@@ -64,6 +64,8 @@ public class GeoMapUpdateHandler implements MessageHandler<MessageStatus> {
             } else if (dao == null) {
                 throw new PresentationException("DAO not loaded. Cannot load CMS Geomaps");
             } else {
+                // Clustered tiles are computed from the same queries as the feature sets
+                DataManager.getInstance().getGeoMapTileCache().invalidate();
                 for (GeoMap geomap : dao.getAllGeoMaps()) {
                     updateMapInCache(applicationBean, geomap);
                 }
@@ -76,6 +78,7 @@ public class GeoMapUpdateHandler implements MessageHandler<MessageStatus> {
     }
 
     public static void updateMapInCache(GeoMap geomap) throws PresentationException {
+        DataManager.getInstance().getGeoMapTileCache().invalidate();
         ApplicationBean applicationBean = BeanUtils.getPersistentStorageBean();
         if (applicationBean == null) {
             throw new PresentationException("PersistentStorageBean not loaded. Cannot store geomaps");
@@ -26,10 +26,19 @@ import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -40,6 +49,7 @@ import de.unigoettingen.sub.commons.contentlib.servlet.controller.GetPdfAction;
 import de.unigoettingen.sub.commons.contentlib.servlet.model.ContentServerConfiguration;
 import de.unigoettingen.sub.commons.contentlib.servlet.model.SinglePdfRequest;
 import de.unigoettingen.sub.commons.util.PathConverter;
+import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.controller.FileTools;
 import io.goobi.viewer.controller.ProcessDataResolver;
 import io.goobi.viewer.controller.mq.MessageHandler;
@@ -52,6 +62,8 @@ import io.goobi.viewer.model.job.TaskType;
 
 /**
  * Message handler that pre-renders PDF files for individual pages of a digitized record and stores them on disk for faster subsequent delivery.
+ * Pages are rendered in parallel by a bounded worker pool; pages whose PDF file is already up to date are skipped without being submitted. The
+ * number of processed pages is written to the message's {@link ViewerMessage#MESSAGE_PROPERTY_PROGRESS} property while the task is running.
  */
 public class PrerenderPdfMessageHandler implements MessageHandler<MessageStatus> {
 
@@ -60,17 +72,33 @@ public class PrerenderPdfMessageHandler implements MessageHandler<MessageStatus>
     private static final String MEDIA = "media";
     private static final String ALTO = "alto";
 
+    /** Minimum time in milliseconds between two persisted progress updates. */
+    private static final long PROGRESS_UPDATE_INTERVAL = 5000;
+
     private final ProcessDataResolver processDataResolver;
     private final ContentServerConfiguration contentServerConfiguration;
+    /** Number of worker threads; values below 1 mean the configured value is used. */
+    private final int threads;
 
     public PrerenderPdfMessageHandler() {
-        this.processDataResolver = new ProcessDataResolver();
-        this.contentServerConfiguration = ContentServerConfiguration.getInstance();
+        this(new ProcessDataResolver(), ContentServerConfiguration.getInstance(), 0);
     }
 
     public PrerenderPdfMessageHandler(ProcessDataResolver processDataResolver, ContentServerConfiguration contentServerConfiguration) {
+        this(processDataResolver, contentServerConfiguration, 0);
+    }
+
+    /**
+     *
+     * @param processDataResolver resolver for the record's data folders
+     * @param contentServerConfiguration content server configuration used for rendering
+     * @param threads number of worker threads; values below 1 mean the configured value is used
+     */
+    public PrerenderPdfMessageHandler(ProcessDataResolver processDataResolver, ContentServerConfiguration contentServerConfiguration,
+            int threads) {
         this.processDataResolver = processDataResolver;
         this.contentServerConfiguration = contentServerConfiguration;
+        this.threads = threads;
     }
 
     @Override
@@ -83,7 +111,7 @@ public class PrerenderPdfMessageHandler implements MessageHandler<MessageStatus>
         if (StringUtils.isNotBlank(pi)) {
             logger.trace("Starting task to prerender pdf files for PI {}, using config {}; force = {}", pi, this.contentServerConfiguration, force);
             try {
-                if (!createPdfFiles(pi, configVariant, force)) {
+                if (!createPdfFiles(pi, configVariant, force, new ProgressReporter(ticket, queueManager))) {
                     return MessageStatus.ERROR;
                 }
             } catch (IndexUnreachableException | PresentationException e) {
@@ -94,7 +122,8 @@ public class PrerenderPdfMessageHandler implements MessageHandler<MessageStatus>
         return MessageStatus.FINISH;
     }
 
-    private boolean createPdfFiles(String pi, String configVariant, boolean force) throws PresentationException, IndexUnreachableException {
+    private boolean createPdfFiles(String pi, String configVariant, boolean force, ProgressReporter progress)
+            throws PresentationException, IndexUnreachableException {
         Map<String, Path> dataFolders = processDataResolver.getDataFolders(pi, MEDIA, PDF, ALTO);
         Path imageFolder = dataFolders.get(MEDIA);
         Path pdfFolder = dataFolders.get(PDF);
@@ -104,13 +133,14 @@ public class PrerenderPdfMessageHandler implements MessageHandler<MessageStatus>
             if (imageFiles.isEmpty()) {
                 logger.trace("No images in {}. Abandoning task", imageFolder);
             } else {
-                return createPdfFiles(configVariant, pdfFolder, altoFolder, imageFiles, force);
+                return createPdfFiles(configVariant, imageFolder, pdfFolder, altoFolder, imageFiles, force, progress);
             }
         }
         return true;
     }
 
-    private boolean createPdfFiles(String configVariant, Path pdfFolder, Path altoFolder, List<Path> imageFiles, boolean force) {
+    private boolean createPdfFiles(String configVariant, Path imageFolder, Path pdfFolder, Path altoFolder, List<Path> imageFiles, boolean force,
+            ProgressReporter progress) {
         if (!Files.exists(pdfFolder)) {
             try {
                 Files.createDirectories(pdfFolder);
@@ -119,36 +149,128 @@ public class PrerenderPdfMessageHandler implements MessageHandler<MessageStatus>
                 return false;
             }
         }
+        // Identical for all pages of the record
+        Map<String, String> params = Map.of(
+                "config", configVariant,
+                "ignoreCache", "true",
+                "altoSource", Optional.ofNullable(altoFolder).map(f -> PathConverter.toURI(f.toAbsolutePath()).toString()).orElse(""),
+                "imageSource", PathConverter.toURI(imageFolder.toAbsolutePath()).toString());
+
+        // Cheap up-to-date check before anything is handed to the worker pool
+        List<Path> pending = new ArrayList<>(imageFiles.size());
         for (Path imagePath : imageFiles) {
-            try {
-                createPdfFile(imagePath, pdfFolder, altoFolder, configVariant, force);
-            } catch (PresentationException e) {
-                logger.error("Error creating pdf for {}. Abandoning task", imagePath);
-                return false;
+            Path pdfPath = getPdfPath(imagePath, pdfFolder);
+            if (force || !Files.exists(pdfPath) || FileTools.isYoungerThan(imagePath, pdfPath)) {
+                pending.add(imagePath);
+            } else {
+                logger.trace("No pdf created at {}, it already exists", pdfPath);
+            }
+        }
+        progress.start(imageFiles.size(), imageFiles.size() - pending.size());
+        if (pending.isEmpty()) {
+            return true;
+        }
+
+        int poolSize = Math.min(getThreads(), pending.size());
+        logger.debug("Prerendering {} of {} pdf files using {} threads", pending.size(), imageFiles.size(), poolSize);
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        List<Future<Path>> futures = new ArrayList<>(pending.size());
+        try {
+            CompletionService<Path> completionService = new ExecutorCompletionService<>(executor);
+            for (Path imagePath : pending) {
+                futures.add(completionService.submit(() -> {
+                    createPdfFile(imagePath, getPdfPath(imagePath, pdfFolder), params);
+                    return imagePath;
+                }));
+            }
+            for (int i = 0; i < pending.size(); ++i) {
+                try {
+                    completionService.take().get();
+                    progress.pageDone();
+                } catch (ExecutionException e) {
+                    logger.error("Error creating pdf. Abandoning task. Reason: {}", e.getCause().getMessage());
+                    return false;
+                }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Prerendering pdf files interrupted");
+            return false;
+        } finally {
+            // Drop pages that have not started yet, but let running renders finish; interrupting them would only leave temp files behind
+            for (Future<Path> future : futures) {
+                future.cancel(false);
+            }
+            executor.shutdown();
+            awaitTermination(executor);
         }
         return true;
     }
 
-    private boolean createPdfFile(Path imagePath, Path pdfFolder, Path altoFolder, String configVariant, boolean force) throws PresentationException {
-        Map<String, String> params = Map.of(
-                "config", configVariant,
-                "ignoreCache", "true",
-                "altoSource", Optional.ofNullable(altoFolder).map(f -> PathConverter.toURI(f.toAbsolutePath()).toString()).orElse(""),
-                "imageSource", PathConverter.toURI(imagePath.getParent().toAbsolutePath()).toString());
-        Path pdfPath = pdfFolder.resolve(FileTools.replaceExtension(imagePath.getFileName(), "pdf"));
-        if (force || !Files.exists(pdfPath) || FileTools.isYoungerThan(imagePath, pdfPath)) {
-            try (OutputStream out = Files.newOutputStream(pdfPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+    /**
+     * Waits until all running renders of the given executor have finished.
+     *
+     * @param executor Executor that has been shut down
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                logger.debug("Waiting for running pdf renders to finish");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path getPdfPath(Path imagePath, Path pdfFolder) {
+        return pdfFolder.resolve(FileTools.replaceExtension(imagePath.getFileName(), "pdf"));
+    }
+
+    /**
+     * Renders the pdf file of the given image into a temporary file in the pdf folder and moves it to its final name once it is complete, so
+     * that an aborted render never leaves a truncated pdf that looks up to date.
+     *
+     * @param imagePath Image file
+     * @param pdfPath Final pdf file
+     * @param params Rendering parameters
+     * @throws PresentationException
+     * @should not leave partial file on failure
+     */
+    void createPdfFile(Path imagePath, Path pdfPath, Map<String, String> params) throws PresentationException {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(pdfPath.getParent(), pdfPath.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile, StandardOpenOption.TRUNCATE_EXISTING)) {
                 SinglePdfRequest request = new SinglePdfRequest(imagePath.getFileName().toString(), params);
                 new GetPdfAction().writePdf(request, this.contentServerConfiguration, out);
-            } catch (ContentLibException | IOException | URISyntaxException e) {
-                throw new PresentationException("Failed to create pdf file {} from {}. Reason: {}", pdfPath, imagePath, e.toString());
             }
-            return true;
-        } else {
-            logger.trace("No pdf created at {}, it already exists", pdfPath);
-            return false;
+            Files.move(tempFile, pdfPath, StandardCopyOption.ATOMIC_MOVE);
+            tempFile = null;
+        } catch (ContentLibException | IOException | URISyntaxException e) {
+            throw new PresentationException("Failed to create pdf file {} from {}. Reason: {}", pdfPath, imagePath, e.toString());
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    logger.warn("Could not delete temporary pdf file {}: {}", tempFile, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @return Number of worker threads, limited to the number of available processors
+     * @should limit threads to available processors
+     */
+    int getThreads() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int ret = threads > 0 ? threads : DataManager.getInstance().getConfiguration().getPdfPrerenderThreads();
+        if (ret < 1) {
+            ret = processors / 2;
         }
+        return Math.max(1, Math.min(ret, processors));
     }
 
     @Override
@@ -156,4 +278,41 @@ public class PrerenderPdfMessageHandler implements MessageHandler<MessageStatus>
         return TaskType.PRERENDER_PDF.name();
     }
 
+    /**
+     * Writes the number of processed pages into the message properties and persists the message at most every
+     * {@link PrerenderPdfMessageHandler#PROGRESS_UPDATE_INTERVAL} milliseconds. Only used from the thread handling the message.
+     */
+    private static class ProgressReporter {
+
+        private final ViewerMessage message;
+        private final MessageQueueManager queueManager;
+        private int total;
+        private int done;
+        private long lastUpdate;
+
+        ProgressReporter(ViewerMessage message, MessageQueueManager queueManager) {
+            this.message = message;
+            this.queueManager = queueManager;
+        }
+
+        void start(int total, int skipped) {
+            this.total = total;
+            this.done = skipped;
+            update(true);
+        }
+
+        void pageDone() {
+            done++;
+            update(false);
+        }
+
+        private void update(boolean persist) {
+            message.getProperties().put(ViewerMessage.MESSAGE_PROPERTY_PROGRESS, done + "/" + total);
+            long now = System.currentTimeMillis();
+            if (queueManager != null && (persist || now - lastUpdate >= PROGRESS_UPDATE_INTERVAL)) {
+                queueManager.updateProgress(message);
+                lastUpdate = now;
+            }
+        }
+    }
 }
@@ -147,4 +147,13 @@ public abstract class FeatureSet implements Serializable {
     public abstract boolean isUseHeatmap();
     
     public abstract void setUseHeatmap(boolean useHeatmap);
+
+    /**
+     *
+     * @return true if the map loads the features of this set as clustered tiles instead of rendering {@link #getFeaturesAsString()}; false
+     *         otherwise
+     */
+    public boolean isLoadFeaturesFromTiles() {
+        return isUseHeatmap();
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.maps;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * A single map tile in the common z/x/y (Web Mercator) tiling scheme. Converts the tile into the WKT region of a Solr heatmap facet and the
+ * resulting heatmap grid into a GeoJSON feature collection with one clustered point per non-empty grid cell.
+ *
+ * @param zoom Zoom level
+ * @param x Tile column
+ * @param y Tile row, counted from the north
+ */
+public record GeoMapTile(int zoom, int x, int y) {
+
+    /** Highest supported zoom level. */
+    public static final int MAX_ZOOM = 22;
+
+    /**
+     * Heatmap cell size as a fraction of the tile diagonal; yields roughly 8 to 16 cells per tile side, depending on the spatial prefix tree of
+     * the field.
+     */
+    public static final double DIST_ERR_PCT = 0.08;
+
+    /**
+     * Maximum number of matching documents that are still rendered as individual map features. Maps over larger result sets load their hits as
+     * clustered tiles instead, so that the server never materializes all points at once.
+     */
+    public static final int MAX_UNCLUSTERED_HITS = 10_000;
+
+    /**
+     *
+     * @param zoom Zoom level
+     * @param x Tile column
+     * @param y Tile row, counted from the north
+     * @throws IllegalArgumentException if the tile does not exist at the given zoom level
+     * @should throw IllegalArgumentException if zoom out of range
+     * @should throw IllegalArgumentException if x or y out of range
+     */
+    public GeoMapTile {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new IllegalArgumentException("zoom must be between 0 and " + MAX_ZOOM);
+        }
+        long tiles = 1L << zoom;
+        if (x < 0 || x >= tiles || y < 0 || y >= tiles) {
+            throw new IllegalArgumentException("Tile " + x + "/" + y + " does not exist at zoom level " + zoom);
+        }
+    }
+
+    /**
+     * @return Western longitude of this tile
+     */
+    public double getMinLng() {
+        return tileToLng(x, zoom);
+    }
+
+    /**
+     * @return Eastern longitude of this tile
+     */
+    public double getMaxLng() {
+        return tileToLng(x + 1, zoom);
+    }
+
+    /**
+     * @return Southern latitude of this tile
+     */
+    public double getMinLat() {
+        return tileToLat(y + 1, zoom);
+    }
+
+    /**
+     * @return Northern latitude of this tile
+     */
+    public double getMaxLat() {
+        return tileToLat(y, zoom);
+    }
+
+    /**
+     *
+     * @return WKT range literal of this tile's bounding box, as expected by Solr heatmap facets
+     * @should return whole world for zoom 0
+     * @should return correct region
+     */
+    public String getWktRegion() {
+        return String.format(Locale.ROOT, "[\"%s %s\" TO \"%s %s\"]", format(getMinLng()), format(getMinLat()), format(getMaxLng()),
+                format(getMaxLat()));
+    }
+
+    /**
+     * Creates a GeoJSON feature collection containing one point per non-empty heatmap cell. The point is placed at the cell center and carries
+     * the number of contained documents in its {@code count} property; the cell itself is given as the feature's {@code bbox}, so that clients
+     * can query the documents of a single cluster. Since Solr extends the heatmap grid to full cells, cells whose center lies
+     * outside of this tile are skipped so that neighboring tiles do not report the same documents twice.
+     *
+     * @param grid Heatmap counts, rows ordered from north to south; rows may be null if empty
+     * @param columns Number of grid columns
+     * @param rows Number of grid rows
+     * @param minX Western longitude of the grid
+     * @param maxX Eastern longitude of the grid
+     * @param minY Southern latitude of the grid
+     * @param maxY Northern latitude of the grid
+     * @return GeoJSON feature collection as {@link String}
+     * @should create one feature per non empty cell
+     * @should add cell bounds to features
+     * @should skip cells outside of tile
+     * @should return empty collection for null grid
+     */
+    public String createClusters(List<List<Integer>> grid, int columns, int rows, double minX, double maxX, double minY, double maxY) {
+        JSONArray features = new JSONArray();
+        if (grid != null && columns > 0 && rows > 0) {
+            double cellWidth = (maxX - minX) / columns;
+            double cellHeight = (maxY - minY) / rows;
+            for (int row = 0; row < rows && row < grid.size(); row++) {
+                List<Integer> gridRow = grid.get(row);
+                if (gridRow == null) {
+                    continue;
+                }
+                double lat = maxY - (row + 0.5) * cellHeight;
+                if (lat < getMinLat() || lat >= getMaxLat()) {
+                    continue;
+                }
+                for (int column = 0; column < columns && column < gridRow.size(); column++) {
+                    Integer count = gridRow.get(column);
+                    double lng = minX + (column + 0.5) * cellWidth;
+                    if (count == null || count == 0 || lng < getMinLng() || lng >= getMaxLng()) {
+                        continue;
+                    }
+                    features.put(createPointFeature(lng, lat, cellWidth, cellHeight, count));
+                }
+            }
+        }
+
+        JSONObject ret = new JSONObject();
+        ret.put("type", "FeatureCollection");
+        ret.put("features", features);
+        return ret.toString();
+    }
+
+    private static JSONObject createPointFeature(double lng, double lat, double cellWidth, double cellHeight, int count) {
+        JSONObject geometry = new JSONObject();
+        geometry.put("type", "Point");
+        geometry.put("coordinates", new JSONArray().put(lng).put(lat));
+        JSONObject properties = new JSONObject();
+        properties.put("count", count);
+        JSONObject feature = new JSONObject();
+        feature.put("type", "Feature");
+        feature.put("bbox", new JSONArray().put(lng - cellWidth / 2).put(lat - cellHeight / 2).put(lng + cellWidth / 2).put(lat + cellHeight / 2));
+        feature.put("geometry", geometry);
+        feature.put("properties", properties);
+        return feature;
+    }
+
+    private static double tileToLng(int x, int zoom) {
+        return x / (double) (1L << zoom) * 360.0 - 180.0;
+    }
+
+    private static double tileToLat(int y, int zoom) {
+        double n = Math.PI - 2.0 * Math.PI * y / (1L << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+}
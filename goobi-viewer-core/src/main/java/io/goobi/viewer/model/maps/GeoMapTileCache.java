@@ -0,0 +1,139 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.maps;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>
+ * Application-scoped LRU cache for clustered geomap tiles (see {@link GeoMapTile}). Tiles are keyed by the coordinate field, the feature set
+ * query and the filter query including the access condition suffix of the requesting client, so clients with different access rights never
+ * share tiles.
+ * </p>
+ *
+ * <p>
+ * The cache is dropped by {@code GeoMapUpdateHandler} whenever the geomaps are refreshed and by the cache REST endpoints called by the indexer.
+ * </p>
+ */
+public class GeoMapTileCache {
+
+    private static final Logger logger = LogManager.getLogger(GeoMapTileCache.class);
+
+    /** Default upper bound for cached tiles; least recently used tiles are dropped once it is reached. */
+    static final int MAX_TILES = 10000;
+
+    /** Tiles in access order; guarded by itself. */
+    private final Map<TileKey, String> tiles;
+
+    /**
+     * Creates a cache holding up to {@link #MAX_TILES} tiles.
+     */
+    public GeoMapTileCache() {
+        this(MAX_TILES);
+    }
+
+    /**
+     *
+     * @param maxTiles Maximum number of tiles
+     */
+    GeoMapTileCache(int maxTiles) {
+        this.tiles = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TileKey, String> eldest) {
+                return size() > maxTiles;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached tile for the given key.
+     *
+     * @param key {@link TileKey}
+     * @return Cached GeoJSON feature collection; null if none is cached
+     * @should return put tile
+     * @should return null for different filter query
+     */
+    public String get(TileKey key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (tiles) {
+            return tiles.get(key);
+        }
+    }
+
+    /**
+     * Caches the given tile.
+     *
+     * @param key {@link TileKey}
+     * @param geoJson GeoJSON feature collection
+     * @should evict least recently used tile when full
+     */
+    public void put(TileKey key, String geoJson) {
+        if (key == null || geoJson == null) {
+            return;
+        }
+        synchronized (tiles) {
+            tiles.put(key, geoJson);
+        }
+    }
+
+    /**
+     * Drops all cached tiles.
+     *
+     * @should remove all tiles
+     */
+    public void invalidate() {
+        synchronized (tiles) {
+            tiles.clear();
+        }
+        logger.trace("Geomap tile cache cleared.");
+    }
+
+    /**
+     *
+     * @return Number of cached tiles
+     */
+    public int getSize() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    /**
+     * Cache key of a single tile.
+     *
+     * @param solrField Coordinate field
+     * @param query Feature set query
+     * @param filterQuery Filter query including the access condition suffix
+     * @param tile {@link GeoMapTile}
+     */
+    public record TileKey(String solrField, String query, String filterQuery, GeoMapTile tile) {
+    }
+}
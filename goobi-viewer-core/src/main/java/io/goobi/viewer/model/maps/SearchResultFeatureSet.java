@@ -138,6 +138,15 @@ public class SearchResultFeatureSet extends SolrFeatureSet {
         return "SEARCH_RESULTS";
     }
 
+    /**
+     * The tile layer only knows the query of this feature set and not the current search, so search result features are only loaded as tiles
+     * if the heatmap is enabled.
+     */
+    @Override
+    public boolean isLoadFeaturesFromTiles() {
+        return isUseHeatmap();
+    }
+
     @Override
     public FeatureSet copy() {
         return new SearchResultFeatureSet(this);
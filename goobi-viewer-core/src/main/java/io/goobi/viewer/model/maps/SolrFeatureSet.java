@@ -110,6 +110,9 @@ public class SolrFeatureSet extends FeatureSet {
     @Transient
     private GeomapItemFilter itemFilter;
 
+    @Transient
+    private Boolean loadFeaturesFromTiles = null;
+
     public SolrFeatureSet() {
         super();
     }
@@ -157,8 +160,8 @@ public class SolrFeatureSet extends FeatureSet {
     }
 
     protected String createFeaturesAsString(boolean escapeJson) throws PresentationException, IndexUnreachableException {
-        if (this.isUseHeatmap()) {
-            //No features required since they will be loaded dynamically with the heatmap
+        if (this.isLoadFeaturesFromTiles()) {
+            //No features required since they will be loaded dynamically as map tiles
             return "[]";
         }
         Collection<GeoMapFeature> featuresFromSolr = createFeatures();
@@ -294,6 +297,7 @@ public class SolrFeatureSet extends FeatureSet {
     public void setSolrQuery(String solrQuery) {
         this.solrQuery = solrQuery;
         this.featuresAsString = null;
+        this.loadFeaturesFromTiles = null;
     }
 
     public boolean hasSolrQuery() {
@@ -314,6 +318,7 @@ public class SolrFeatureSet extends FeatureSet {
     public void updateFeatures() {
         this.featuresAsString = null;
         this.itemFilter = null;
+        this.loadFeaturesFromTiles = null;
     }
 
     @Override
@@ -402,6 +407,7 @@ public class SolrFeatureSet extends FeatureSet {
 
     public void setMarkerGeneration(MarkerGenerationType markerGeneration) {
         this.markerGeneration = markerGeneration;
+        this.loadFeaturesFromTiles = null;
     }
 
     @Override
@@ -409,8 +415,41 @@ public class SolrFeatureSet extends FeatureSet {
         return this.markerGeneration == MarkerGenerationType.HEATMAP;
     }
 
+    /**
+     * Besides heatmap feature sets, feature sets whose query matches more than {@link GeoMapTile#MAX_UNCLUSTERED_HITS} documents are loaded as
+     * clustered tiles, since creating a feature for each of their documents would load the whole result set into memory on every map render.
+     *
+     * @return true if the map loads the features of this set as clustered tiles; false otherwise
+     * @should return true if heatmap is used
+     * @should return false if query matches few documents
+     */
+    @Override
+    public boolean isLoadFeaturesFromTiles() {
+        if (this.loadFeaturesFromTiles == null) {
+            this.loadFeaturesFromTiles = isUseHeatmap() || getHitCount() > GeoMapTile.MAX_UNCLUSTERED_HITS;
+        }
+        return this.loadFeaturesFromTiles;
+    }
+
+    /**
+     *
+     * @return Number of documents matching the query of this feature set; 0 if the query is blank or cannot be executed
+     */
+    private long getHitCount() {
+        if (StringUtils.isBlank(getSolrQuery())) {
+            return 0;
+        }
+        try {
+            return DataManager.getInstance().getSearchIndex().getHitCount(getSolrQuery());
+        } catch (PresentationException | IndexUnreachableException e) {
+            logger.error("Error counting geomap features: {}", e.getMessage());
+            return 0;
+        }
+    }
+
     @Override
     public void setUseHeatmap(boolean useHeatmap) {
         this.markerGeneration = useHeatmap ? MarkerGenerationType.HEATMAP : MarkerGenerationType.FEATURELIST;
+        this.loadFeaturesFromTiles = null;
     }
 }
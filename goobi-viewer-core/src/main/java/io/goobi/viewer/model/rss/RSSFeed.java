@@ -25,9 +25,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -58,6 +62,8 @@ import io.goobi.viewer.managedbeans.NavigationHelper;
 import io.goobi.viewer.managedbeans.utils.BeanUtils;
 import io.goobi.viewer.messages.ViewerResourceBundle;
 import io.goobi.viewer.model.bookmark.BookmarkList;
+import io.goobi.viewer.model.rss.RssFeedCache.CachedFeed;
+import io.goobi.viewer.model.rss.RssFeedCache.FeedKey;
 import io.goobi.viewer.model.search.SearchAggregationType;
 import io.goobi.viewer.model.search.SearchFacets;
 import io.goobi.viewer.model.search.SearchHelper;
@@ -92,6 +98,9 @@ public final class RSSFeed {
 
     private static final String HTML_STRONG_PUBLISHED = "<strong>Published: </strong>";
 
+    private static final String FORMAT_CHANNEL = "channel";
+    private static final String FORMAT_XML = "xml";
+
     
     private RSSFeed() {
         //
@@ -190,38 +199,15 @@ public final class RSSFeed {
         }
 
         logger.trace("Found {} RSS hits.", docs.size());
+        RelatedDocs relatedDocs = RelatedDocs.load(docs);
         for (SolrDocument doc : docs) {
             String docType = (String) doc.getFieldValue(SolrConstants.DOCTYPE);
             boolean anchor = doc.containsKey(SolrConstants.ISANCHOR) && ((Boolean) doc.getFieldValue(SolrConstants.ISANCHOR));
-            boolean child = !anchor
-                    && (DocType.DOCSTRCT.name().equals(docType) || doc.getFieldValue(SolrConstants.LOGID) != null)
-                    && (!doc.containsKey(SolrConstants.ISWORK) || !((Boolean) doc.getFieldValue(SolrConstants.ISWORK)));
-            boolean page = DocType.PAGE.name().equals(docType) || doc.containsKey(SolrConstants.ORDER);
-            SolrDocument topDoc = null;
-            SolrDocument ownerDoc = null;
-            if (child || page) {
-                // Find top level docstruct to extract metadata such as DATECREATED
-                List<SolrDocument> topDocs = DataManager.getInstance()
-                        .getSearchIndex()
-                        .search(new StringBuilder(SolrConstants.PI).append(':').append(doc.getFieldValue(SolrConstants.PI_TOPSTRUCT)).toString(), 0,
-                                1, null, null, Arrays.asList(FIELDS))
-                        .getResults();
-                if (!topDocs.isEmpty()) {
-                    topDoc = topDocs.get(0);
-                }
-                if (page) {
-                    // Find page owner docstruct to extract its metadata
-                    List<SolrDocument> ownerDocs = DataManager.getInstance()
-                            .getSearchIndex()
-                            .search(new StringBuilder(SolrConstants.IDDOC).append(':')
-                                    .append(doc.getFieldValue(SolrConstants.IDDOC_PARENT))
-                                    .toString(), 0, 1, null, null, Arrays.asList(FIELDS))
-                            .getResults();
-                    if (!ownerDocs.isEmpty()) {
-                        ownerDoc = ownerDocs.get(0);
-                    }
-                }
-            }
+            boolean child = isChild(doc);
+            boolean page = isPage(doc);
+            // Top level docstruct (to extract metadata such as DATECREATED) and page owner docstruct
+            SolrDocument topDoc = child || page ? relatedDocs.getTopDoc(doc) : null;
+            SolrDocument ownerDoc = page ? relatedDocs.getOwnerDoc(doc) : null;
 
             String pi = (String) doc.getFirstValue(SolrConstants.PI_TOPSTRUCT);
             SyndEntry entry = new SyndEntryImpl();
@@ -270,20 +256,12 @@ public final class RSSFeed {
                         label = (String) value;
                         break;
                     case SolrConstants.IDDOC_PARENT:
-                        // TODO This query is executed O(size of feed) times.
-                        SolrDocumentList hits = DataManager.getInstance()
-                                .getSearchIndex()
-                                .search(new StringBuilder(SolrConstants.IDDOC).append(':').append(value).toString(), 1, null,
-                                        Collections.singletonList(SolrConstants.LABEL));
-                        if (hits != null && hits.getNumFound() > 0) {
-                            SolrDocument parent = hits.get(0);
-                            Object fieldParentLabel = parent.getFieldValue(SolrConstants.LABEL);
-                            if (fieldParentLabel != null) {
-                                label = new StringBuilder((String) fieldParentLabel).append("; ").append(label).toString();
-                                bookSeries = new StringBuilder("<strong>Book series: </strong>").append((String) fieldParentLabel)
-                                        .append(StringConstants.HTML_BR)
-                                        .toString();
-                            }
+                        String parentLabel = relatedDocs.getLabel(value);
+                        if (parentLabel != null) {
+                            label = new StringBuilder(parentLabel).append("; ").append(label).toString();
+                            bookSeries = new StringBuilder("<strong>Book series: </strong>").append(parentLabel)
+                                    .append(StringConstants.HTML_BR)
+                                    .toString();
                         }
                         break;
                     case SolrConstants.PERSON_ONEFIELD:
@@ -436,6 +414,151 @@ public final class RSSFeed {
         return 1;
     }
 
+    /**
+     * @param doc Solr document to check
+     * @return true if doc is a docstruct below the top level; false otherwise
+     */
+    private static boolean isChild(SolrDocument doc) {
+        boolean anchor = doc.containsKey(SolrConstants.ISANCHOR) && ((Boolean) doc.getFieldValue(SolrConstants.ISANCHOR));
+        return !anchor
+                && (DocType.DOCSTRCT.name().equals(doc.getFieldValue(SolrConstants.DOCTYPE)) || doc.getFieldValue(SolrConstants.LOGID) != null)
+                && (!doc.containsKey(SolrConstants.ISWORK) || !((Boolean) doc.getFieldValue(SolrConstants.ISWORK)));
+    }
+
+    /**
+     * @param doc Solr document to check
+     * @return true if doc is a page; false otherwise
+     */
+    private static boolean isPage(SolrDocument doc) {
+        return DocType.PAGE.name().equals(doc.getFieldValue(SolrConstants.DOCTYPE)) || doc.containsKey(SolrConstants.ORDER);
+    }
+
+    /**
+     * Builds an entity tag from the newest entry date and the entry links, so that added, removed or re-ordered entries yield a different tag.
+     *
+     * @param lastModified Newest DATECREATED value among the feed entries
+     * @param links Entry links in feed order
+     * @return Entity tag value (without quotes)
+     * @should return same tag for same entries
+     * @should return different tag for different entries
+     */
+    static String buildEtag(long lastModified, List<String> links) {
+        return Long.toHexString(lastModified) + '-' + Integer.toHexString(links.hashCode()) + '-' + links.size();
+    }
+
+    /**
+     * Top level docs, page owner docs and parent labels of all hits of a feed. Each lookup type is resolved with a single batched
+     * <code>{!terms}</code> query instead of one query per hit.
+     */
+    private static final class RelatedDocs {
+
+        private final Map<String, SolrDocument> topDocsByPi;
+        private final Map<String, SolrDocument> docsByIddoc;
+
+        private RelatedDocs(Map<String, SolrDocument> topDocsByPi, Map<String, SolrDocument> docsByIddoc) {
+            this.topDocsByPi = topDocsByPi;
+            this.docsByIddoc = docsByIddoc;
+        }
+
+        /**
+         * Loads the top level and page owner docs of the given hits, followed by the docs whose labels are prepended to the entry labels
+         * (the IDDOC_PARENT of the hit or, if missing, of its owner or top level doc).
+         *
+         * @param docs Feed hits
+         * @return {@link RelatedDocs}
+         * @throws PresentationException
+         * @throws IndexUnreachableException
+         */
+        static RelatedDocs load(SolrDocumentList docs) throws PresentationException, IndexUnreachableException {
+            Set<String> topPis = new HashSet<>();
+            Set<String> ownerIddocs = new HashSet<>();
+            for (SolrDocument doc : docs) {
+                boolean page = isPage(doc);
+                if ((page || isChild(doc)) && doc.getFieldValue(SolrConstants.PI_TOPSTRUCT) != null) {
+                    topPis.add(String.valueOf(doc.getFieldValue(SolrConstants.PI_TOPSTRUCT)));
+                }
+                if (page && doc.getFieldValue(SolrConstants.IDDOC_PARENT) != null) {
+                    ownerIddocs.add(String.valueOf(doc.getFieldValue(SolrConstants.IDDOC_PARENT)));
+                }
+            }
+            RelatedDocs ret = new RelatedDocs(findDocs(SolrConstants.PI, topPis, Arrays.asList(FIELDS)),
+                    findDocs(SolrConstants.IDDOC, ownerIddocs, Arrays.asList(FIELDS)));
+
+            Set<String> parentIddocs = new HashSet<>();
+            for (SolrDocument doc : docs) {
+                boolean page = isPage(doc);
+                Object parentIddoc = doc.getFirstValue(SolrConstants.IDDOC_PARENT);
+                SolrDocument ownerDoc = page ? ret.getOwnerDoc(doc) : null;
+                if (parentIddoc == null && ownerDoc != null) {
+                    parentIddoc = ownerDoc.getFirstValue(SolrConstants.IDDOC_PARENT);
+                }
+                SolrDocument topDoc = page || isChild(doc) ? ret.getTopDoc(doc) : null;
+                if (parentIddoc == null && topDoc != null) {
+                    parentIddoc = topDoc.getFirstValue(SolrConstants.IDDOC_PARENT);
+                }
+                if (parentIddoc != null && !ret.docsByIddoc.containsKey(String.valueOf(parentIddoc))) {
+                    parentIddocs.add(String.valueOf(parentIddoc));
+                }
+            }
+            ret.docsByIddoc.putAll(findDocs(SolrConstants.IDDOC, parentIddocs, Arrays.asList(SolrConstants.IDDOC, SolrConstants.LABEL)));
+
+            return ret;
+        }
+
+        /**
+         *
+         * @param field Field to match
+         * @param values Values to match
+         * @param fieldList Fields to return
+         * @return Matching docs mapped to their value of the given field
+         * @throws PresentationException
+         * @throws IndexUnreachableException
+         */
+        private static Map<String, SolrDocument> findDocs(String field, Set<String> values, List<String> fieldList)
+                throws PresentationException, IndexUnreachableException {
+            Map<String, SolrDocument> ret = new HashMap<>();
+            if (values.isEmpty()) {
+                return ret;
+            }
+            String query = new StringBuilder("{!terms f=").append(field).append('}').append(String.join(",", values)).toString();
+            for (SolrDocument doc : DataManager.getInstance().getSearchIndex().search(query, 0, values.size(), null, null, fieldList).getResults()) {
+                Object value = doc.getFirstValue(field);
+                if (value != null) {
+                    ret.putIfAbsent(String.valueOf(value), doc);
+                }
+            }
+
+            return ret;
+        }
+
+        /**
+         * @param doc Feed hit
+         * @return Top level doc of the given hit; null if not found
+         */
+        SolrDocument getTopDoc(SolrDocument doc) {
+            Object pi = doc.getFieldValue(SolrConstants.PI_TOPSTRUCT);
+            return pi != null ? topDocsByPi.get(String.valueOf(pi)) : null;
+        }
+
+        /**
+         * @param doc Feed hit
+         * @return Owner doc of the given page; null if not found
+         */
+        SolrDocument getOwnerDoc(SolrDocument doc) {
+            Object iddoc = doc.getFieldValue(SolrConstants.IDDOC_PARENT);
+            return iddoc != null ? docsByIddoc.get(String.valueOf(iddoc)) : null;
+        }
+
+        /**
+         * @param iddoc IDDOC value
+         * @return LABEL of the doc with the given IDDOC; null if not found
+         */
+        String getLabel(Object iddoc) {
+            SolrDocument doc = docsByIddoc.get(String.valueOf(iddoc));
+            return doc != null ? (String) doc.getFirstValue(SolrConstants.LABEL) : null;
+        }
+    }
+
     /**
      * createRssFeed.
      *
@@ -503,38 +626,15 @@ public final class RSSFeed {
             return feed;
         }
 
+        RelatedDocs relatedDocs = RelatedDocs.load(docs);
         for (SolrDocument doc : docs) {
             String docType = (String) doc.getFieldValue(SolrConstants.DOCTYPE);
             boolean anchor = doc.containsKey(SolrConstants.ISANCHOR) && ((Boolean) doc.getFieldValue(SolrConstants.ISANCHOR));
-            boolean child = !anchor
-                    && (DocType.DOCSTRCT.name().equals(docType) || doc.getFieldValue(SolrConstants.LOGID) != null)
-                    && (!doc.containsKey(SolrConstants.ISWORK) || !((Boolean) doc.getFieldValue(SolrConstants.ISWORK)));
-            boolean page = DocType.PAGE.name().equals(docType) || doc.containsKey(SolrConstants.ORDER);
-            SolrDocument topDoc = null;
-            SolrDocument ownerDoc = null;
-            if (child || page) {
-                // Find top level docstruct to extract metadata such as DATECREATED
-                List<SolrDocument> topDocs = DataManager.getInstance()
-                        .getSearchIndex()
-                        .search(new StringBuilder(SolrConstants.PI).append(':').append(doc.getFieldValue(SolrConstants.PI_TOPSTRUCT)).toString(), 0,
-                                1, null, null, Arrays.asList(FIELDS))
-                        .getResults();
-                if (!topDocs.isEmpty()) {
-                    topDoc = topDocs.get(0);
-                }
-                if (page) {
-                    // Find page owner docstruct to extract its metadata
-                    List<SolrDocument> ownerDocs = DataManager.getInstance()
-                            .getSearchIndex()
-                            .search(new StringBuilder(SolrConstants.IDDOC).append(':')
-                                    .append(doc.getFieldValue(SolrConstants.IDDOC_PARENT))
-                                    .toString(), 0, 1, null, null, Arrays.asList(FIELDS))
-                            .getResults();
-                    if (!ownerDocs.isEmpty()) {
-                        ownerDoc = ownerDocs.get(0);
-                    }
-                }
-            }
+            boolean child = isChild(doc);
+            boolean page = isPage(doc);
+            // Top level docstruct (to extract metadata such as DATECREATED) and page owner docstruct
+            SolrDocument topDoc = child || page ? relatedDocs.getTopDoc(doc) : null;
+            SolrDocument ownerDoc = page ? relatedDocs.getOwnerDoc(doc) : null;
 
             String pi = (String) doc.getFirstValue(SolrConstants.PI_TOPSTRUCT);
             RssItem entry = new RssItem();
@@ -581,18 +681,10 @@ public final class RSSFeed {
                             label = (String) value;
                             break;
                         case SolrConstants.IDDOC_PARENT:
-                            // TODO This query is executed O(size of feed) times.
-                            SolrDocumentList hits = DataManager.getInstance()
-                                    .getSearchIndex()
-                                    .search(new StringBuilder(SolrConstants.IDDOC).append(':').append(value).toString(), 1, null,
-                                            Collections.singletonList(SolrConstants.LABEL));
-                            if (hits != null && hits.getNumFound() > 0) {
-                                SolrDocument parent = hits.get(0);
-                                Object fieldParentLabel = parent.getFieldValue(SolrConstants.LABEL);
-                                if (fieldParentLabel != null) {
-                                    label = new StringBuilder((String) fieldParentLabel).append("; ").append(label).toString();
-                                    bookSeries = fieldParentLabel.toString();
-                                }
+                            String parentLabel = relatedDocs.getLabel(value);
+                            if (parentLabel != null) {
+                                label = new StringBuilder(parentLabel).append("; ").append(label).toString();
+                                bookSeries = parentLabel;
                             }
                             break;
                         case SolrConstants.PERSON_ONEFIELD:
@@ -731,24 +823,48 @@ public final class RSSFeed {
      */
     public static Channel createRssResponse(final String language, final Integer maxHits, String subtheme, final String query, String facets,
             HttpServletRequest servletRequest, String sortField, boolean sortDescending) throws ContentLibException {
+        return (Channel) createCachedRssResponse(language, maxHits, subtheme, query, facets, servletRequest, sortField, sortDescending).feed();
+    }
+
+    /**
+     * Returns the {@link Channel} for the given parameters from the {@link RssFeedCache}, creating and caching it first if necessary.
+     *
+     * @param language BCP-47 language tag for feed language and translations
+     * @param maxHits maximum number of feed items to return
+     * @param subtheme subtheme/partner identifier to filter results
+     * @param query optional Solr query string to filter results
+     * @param facets active facet string to apply as filter queries
+     * @param servletRequest HTTP servlet request used to determine base URL and locale
+     * @param sortField Solr field name used for sorting
+     * @param sortDescending true to sort descending; false for ascending
+     * @return {@link CachedFeed} containing a {@link Channel}
+     * @throws ContentLibException
+     */
+    public static CachedFeed createCachedRssResponse(final String language, final Integer maxHits, String subtheme, final String query,
+            String facets, HttpServletRequest servletRequest, String sortField, boolean sortDescending) throws ContentLibException {
         try {
-            String q = createQuery(query, null, subtheme, servletRequest, false);
-            if (StringUtils.isNotBlank(q)) {
-                q = SearchHelper.buildFinalQuery(q, false, servletRequest, SearchAggregationType.NO_AGGREGATION);
+            String q = buildFinalQuery(query, subtheme, servletRequest, SearchAggregationType.NO_AGGREGATION);
+            List<String> filterQueries = buildFilterQueries(facets);
+            String rootPath = ServletUtils.getServletPathWithHostAsUrlFromRequest(servletRequest);
+            int maxItems = maxHits != null ? maxHits : DataManager.getInstance().getConfiguration().getRssFeedItems();
+            String lang = language != null ? language : servletRequest.getLocale().getLanguage();
+
+            FeedKey key = new FeedKey(FORMAT_CHANNEL, rootPath, q, filterQueries, lang, maxItems, sortField, sortDescending);
+            CachedFeed ret = DataManager.getInstance().getRssFeedCache().get(key);
+            if (ret != null) {
+                return ret;
             }
 
-            // Optional faceting
-            List<String> filterQueries = null;
-            if (StringUtils.isNotBlank(facets)) {
-                SearchFacets searchFacets = new SearchFacets();
-                searchFacets.setActiveFacetString(facets);
-                filterQueries = searchFacets.generateFacetFilterQueries(true);
+            Channel channel = RSSFeed.createRssFeed(rootPath, q, filterQueries, maxItems, lang, sortField, sortDescending);
+            long lastModified = 0;
+            List<String> links = new ArrayList<>(channel.getItems().size());
+            for (RssItem item : channel.getItems()) {
+                if (item.getPubDate() != null) {
+                    lastModified = Math.max(lastModified, item.getPubDate().getTime());
+                }
+                links.add(item.getLink());
             }
-
-            return RSSFeed.createRssFeed(ServletUtils.getServletPathWithHostAsUrlFromRequest(servletRequest),
-                    q, filterQueries, maxHits != null ? maxHits : DataManager.getInstance().getConfiguration().getRssFeedItems(),
-                    language != null ? language : servletRequest.getLocale().getLanguage(),
-                    sortField, sortDescending);
+            return DataManager.getInstance().getRssFeedCache().put(key, channel, lastModified, buildEtag(lastModified, links));
         } catch (PresentationException e) {
             // Treat Solr syntax errors caused by invalid query parameters as bad requests (400)
             if (e.getMessage() != null && e.getMessage().startsWith("Bad query")) {
@@ -784,11 +900,49 @@ public final class RSSFeed {
     public static String createRssFeedString(final String language, final Integer maxHits, String subtheme, final String query, String facets,
             HttpServletRequest servletRequest, String sortField, boolean sortDescending)
             throws ContentLibException {
+        return (String) createCachedRssFeedString(language, maxHits, subtheme, query, facets, servletRequest, sortField, sortDescending).feed();
+    }
+
+    /**
+     * Returns the serialized RSS feed for the given parameters from the {@link RssFeedCache}, creating and caching it first if necessary.
+     *
+     * @param language BCP-47 language tag for feed language and translations
+     * @param maxHits maximum number of feed items to return
+     * @param subtheme subtheme/partner identifier to filter results
+     * @param query optional Solr query string to filter results
+     * @param facets active facet string to apply as filter queries
+     * @param servletRequest HTTP servlet request used to determine base URL and locale
+     * @param sortField Solr field name used for sorting
+     * @param sortDescending true to sort descending; false for ascending
+     * @return {@link CachedFeed} containing the RSS feed as {@link String}
+     * @throws ContentLibException
+     */
+    public static CachedFeed createCachedRssFeedString(final String language, final Integer maxHits, String subtheme, final String query,
+            String facets, HttpServletRequest servletRequest, String sortField, boolean sortDescending) throws ContentLibException {
         try {
-            SyndFeedOutput output = new SyndFeedOutput();
-            return output
-                    .outputString(createRssFeed(language, maxHits, subtheme, query, facets, servletRequest, sortField, sortDescending));
+            String q = buildFinalQuery(query, subtheme, servletRequest, SearchAggregationType.AGGREGATE_TO_TOPSTRUCT);
+            List<String> filterQueries = buildFilterQueries(facets);
+            String rootPath = ServletUtils.getServletPathWithHostAsUrlFromRequest(servletRequest);
+            int maxItems = maxHits != null ? maxHits : DataManager.getInstance().getConfiguration().getRssFeedItems();
+            String lang = language != null ? language : servletRequest.getLocale().getLanguage();
+
+            FeedKey key = new FeedKey(FORMAT_XML, rootPath, q, filterQueries, lang, maxItems, sortField, sortDescending);
+            CachedFeed ret = DataManager.getInstance().getRssFeedCache().get(key);
+            if (ret != null) {
+                return ret;
+            }
 
+            SyndFeed feed = RSSFeed.createRss(rootPath, q, filterQueries, lang, maxItems, sortField, sortDescending);
+            long lastModified = 0;
+            List<String> links = new ArrayList<>(feed.getEntries().size());
+            for (SyndEntry entry : feed.getEntries()) {
+                if (entry.getPublishedDate() != null) {
+                    lastModified = Math.max(lastModified, entry.getPublishedDate().getTime());
+                }
+                links.add(entry.getLink());
+            }
+            String xml = new SyndFeedOutput().outputString(feed);
+            return DataManager.getInstance().getRssFeedCache().put(key, xml, lastModified, buildEtag(lastModified, links));
         } catch (PresentationException e) {
             // Treat Solr syntax errors caused by invalid query parameters as bad requests (400)
             if (e.getMessage() != null && e.getMessage().startsWith("Bad query")) {
@@ -827,23 +981,48 @@ public final class RSSFeed {
     public static SyndFeed createRssFeed(final String language, final Integer maxHits, String subtheme, final String query, String facets,
             HttpServletRequest servletRequest, String sortField, boolean sortDescending)
             throws PresentationException, IndexUnreachableException, ViewerConfigurationException, DAOException {
+        String q = buildFinalQuery(query, subtheme, servletRequest, SearchAggregationType.AGGREGATE_TO_TOPSTRUCT);
+
+        return RSSFeed.createRss(ServletUtils.getServletPathWithHostAsUrlFromRequest(servletRequest), q, buildFilterQueries(facets),
+                language != null ? language : servletRequest.getLocale().getLanguage(),
+                maxHits != null ? maxHits : DataManager.getInstance().getConfiguration().getRssFeedItems(), sortField, sortDescending);
+
+    }
+
+    /**
+     *
+     * @param query optional caller-supplied Solr query; if blank a default query is built
+     * @param subtheme subtheme/partner identifier used to restrict results
+     * @param servletRequest HTTP servlet request for building access suffixes
+     * @param aggregationType {@link SearchAggregationType}
+     * @return Final Solr query, including access condition suffixes
+     * @throws PresentationException
+     * @throws DAOException
+     */
+    private static String buildFinalQuery(final String query, String subtheme, HttpServletRequest servletRequest,
+            SearchAggregationType aggregationType) throws PresentationException, DAOException {
         String q = createQuery(query, null, subtheme, servletRequest, false);
         if (StringUtils.isNotBlank(q)) {
-            q = SearchHelper.buildFinalQuery(q, false, servletRequest, SearchAggregationType.AGGREGATE_TO_TOPSTRUCT);
+            q = SearchHelper.buildFinalQuery(q, false, servletRequest, aggregationType);
         }
 
+        return q;
+    }
+
+    /**
+     *
+     * @param facets active facet string to apply as filter queries
+     * @return Facet filter queries; null if no facets are given
+     */
+    private static List<String> buildFilterQueries(String facets) {
         // Optional faceting
-        List<String> filterQueries = null;
         if (StringUtils.isNotBlank(facets)) {
             SearchFacets searchFacets = new SearchFacets();
             searchFacets.setActiveFacetString(facets);
-            filterQueries = searchFacets.generateFacetFilterQueries(true);
+            return searchFacets.generateFacetFilterQueries(true);
         }
 
-        return RSSFeed.createRss(ServletUtils.getServletPathWithHostAsUrlFromRequest(servletRequest), q, filterQueries,
-                language != null ? language : servletRequest.getLocale().getLanguage(),
-                maxHits != null ? maxHits : DataManager.getInstance().getConfiguration().getRssFeedItems(), sortField, sortDescending);
-
+        return null;
     }
 
     /**
@@ -0,0 +1,169 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.rss;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.goobi.viewer.controller.DataManager;
+
+/**
+ * <p>
+ * Application-scoped cache for rendered RSS feeds. Feeds are keyed on everything they depend on, including the final Solr query with its access
+ * condition suffixes, so the same entry is never served to clients with different access rights.
+ * </p>
+ *
+ * <p>
+ * Each feed expires after the configured time to live; all feeds are dropped when the indexer clears the cache via the cache REST endpoints
+ * after (re-)indexing records.
+ * </p>
+ */
+public class RssFeedCache {
+
+    private static final Logger logger = LogManager.getLogger(RssFeedCache.class);
+
+    /** Upper bound for cached feeds; all feeds are dropped once it is reached. */
+    static final int MAX_FEEDS = 1000;
+
+    private final Map<FeedKey, CachedFeed> feeds = new ConcurrentHashMap<>();
+
+    /** Fixed time to live in milliseconds; values below zero mean the configured value is used. */
+    private final long ttlMillis;
+
+    /**
+     * Creates a cache that reads its time to live from the configuration.
+     */
+    public RssFeedCache() {
+        this(-1);
+    }
+
+    /**
+     *
+     * @param ttlMillis Time to live of each feed in milliseconds
+     */
+    RssFeedCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Returns the cached feed for the given key, if present and not expired.
+     *
+     * @param key {@link FeedKey}
+     * @return Cached {@link CachedFeed}; null if none is cached or caching is disabled
+     * @should return put feed
+     * @should return null for different key
+     * @should return null after ttl expired
+     */
+    public CachedFeed get(FeedKey key) {
+        if (key == null) {
+            return null;
+        }
+        CachedFeed cached = feeds.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expires() < System.currentTimeMillis()) {
+            feeds.remove(key, cached);
+            return null;
+        }
+
+        return cached;
+    }
+
+    /**
+     * Caches the given feed.
+     *
+     * @param key {@link FeedKey}
+     * @param feed Rendered feed
+     * @param lastModified Newest DATECREATED value among the feed entries; 0 if unknown
+     * @param etag Entity tag identifying the feed content
+     * @return The {@link CachedFeed} wrapping the given feed; also returned if caching is disabled
+     * @should not cache if ttl is zero
+     * @should drop all feeds when full
+     */
+    public CachedFeed put(FeedKey key, Object feed, long lastModified, String etag) {
+        long ttl = getTtlMillis();
+        CachedFeed ret = new CachedFeed(feed, lastModified, etag, System.currentTimeMillis() + ttl);
+        if (key == null || feed == null || ttl <= 0) {
+            return ret;
+        }
+        if (feeds.size() >= MAX_FEEDS) {
+            feeds.clear();
+        }
+        feeds.put(key, ret);
+
+        return ret;
+    }
+
+    /**
+     * Drops all cached feeds. Called when the index has changed.
+     *
+     * @should remove all feeds
+     */
+    public void invalidate() {
+        feeds.clear();
+        logger.trace("RSS feed cache cleared.");
+    }
+
+    /**
+     *
+     * @return Number of cached feeds
+     */
+    public int getSize() {
+        return feeds.size();
+    }
+
+    private long getTtlMillis() {
+        return ttlMillis >= 0 ? ttlMillis : DataManager.getInstance().getConfiguration().getRssCacheTtl() * 1000L;
+    }
+
+    /**
+     * Everything a rendered feed depends on.
+     *
+     * @param format Output format of the feed
+     * @param rootPath Base URL used in entry links
+     * @param query Final Solr query, including access condition suffixes
+     * @param filterQueries Facet filter queries
+     * @param language Language of the feed
+     * @param maxItems Maximum number of entries
+     * @param sortField Sort field
+     * @param sortDescending Sort order
+     */
+    public record FeedKey(String format, String rootPath, String query, List<String> filterQueries, String language, int maxItems,
+            String sortField, boolean sortDescending) {
+    }
+
+    /**
+     * A rendered feed together with its validators for conditional requests.
+     *
+     * @param feed Rendered feed; the type depends on {@link FeedKey#format()}
+     * @param lastModified Newest DATECREATED value among the feed entries; 0 if unknown
+     * @param etag Entity tag identifying the feed content
+     * @param expires Expiration timestamp in milliseconds
+     */
+    public record CachedFeed(Object feed, long lastModified, String etag, long expires) {
+    }
+}
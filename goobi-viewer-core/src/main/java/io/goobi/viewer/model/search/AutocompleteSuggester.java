@@ -0,0 +1,335 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.response.FacetField;
+import org.apache.solr.client.solrj.response.FacetField.Count;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.params.FacetParams;
+
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.exceptions.IndexUnreachableException;
+import io.goobi.viewer.exceptions.PresentationException;
+import io.goobi.viewer.solr.SolrConstants;
+
+/**
+ * <p>
+ * Application-scoped prefix suggester for the search autocomplete. For each distinct search filter suffix (which contains the access
+ * conditions of the requesting client), the most frequent {@code FACET_DEFAULT} terms of all accessible documents are loaded once into a
+ * sorted array. Prefix lookups are then answered from memory by a binary search, without querying Solr. Terms of documents a client may not
+ * list never end up in that client's partition.
+ * </p>
+ *
+ * <p>
+ * Partitions are loaded in a background thread; until a partition is available, {@link #suggest} returns null and the caller falls back to
+ * querying Solr. The same applies if a partition may not answer a lookup completely, i.e. if less frequent terms have been left out of it and
+ * fewer than {@link #MAX_SUGGESTIONS} of its terms match. {@link #invalidate()} marks all partitions as outdated; outdated partitions do not
+ * answer lookups and are reloaded in the background on their next use, at most once per {@link #REBUILD_INTERVAL_MILLIS}. At most
+ * {@link #MAX_PARTITIONS} partitions are kept; loading a further one evicts the least recently used partition.
+ * </p>
+ */
+public class AutocompleteSuggester {
+
+    private static final Logger logger = LogManager.getLogger(AutocompleteSuggester.class);
+
+    /** Maximum number of terms per partition; the most frequent terms are kept. */
+    static final int MAX_TERMS = 50000;
+    /** Maximum number of kept partitions; the least recently used partition is evicted once it is exceeded. */
+    static final int MAX_PARTITIONS = 8;
+    /** Maximum number of returned suggestions. */
+    static final int MAX_SUGGESTIONS = 100;
+    /** Minimum time between two loads of the same partition. */
+    static final long REBUILD_INTERVAL_MILLIS = 60000;
+
+    /** Partitions in access order; guarded by synchronizing on the map itself. */
+    private final Map<String, Suggestions> partitions = new LinkedHashMap<>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Suggestions> eldest) {
+            return size() > MAX_PARTITIONS;
+        }
+    };
+    /** Suffixes of partitions currently being loaded. */
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+    private final Executor executor;
+    private final SuggestionLoader loader;
+    private final long rebuildIntervalMillis;
+    private volatile long invalidated = 0;
+
+    /**
+     * Creates a suggester that loads partitions from Solr in a daemon thread.
+     */
+    public AutocompleteSuggester() {
+        this(Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "autocomplete-suggester");
+            t.setDaemon(true);
+            return t;
+        }), AutocompleteSuggester::loadFromIndex, REBUILD_INTERVAL_MILLIS);
+    }
+
+    /**
+     *
+     * @param executor Executor running partition loads
+     * @param loader Loads the partition for a suffix
+     * @param rebuildIntervalMillis Minimum time between two loads of the same partition
+     */
+    AutocompleteSuggester(Executor executor, SuggestionLoader loader, long rebuildIntervalMillis) {
+        this.executor = executor;
+        this.loader = loader;
+        this.rebuildIntervalMillis = rebuildIntervalMillis;
+    }
+
+    /**
+     * Returns suggestions for the given prefix from the partition of the given suffix. Schedules loading the partition if it is missing or
+     * outdated.
+     *
+     * @param prefix Lower case term prefix
+     * @param suffix Search filter suffix of the requesting client
+     * @return Terms starting with the prefix, most frequent first; null if the partition is not available, outdated or cannot answer completely
+     * @should return null until partition loaded
+     * @should return suggestions from loaded partition
+     * @should return null for outdated partition until reloaded
+     * @should return null if truncated partition has fewer matches than max suggestions
+     * @should evict least recently used partition
+     */
+    public List<String> suggest(String prefix, String suffix) {
+        if (prefix == null || suffix == null) {
+            return null;
+        }
+        Suggestions suggestions;
+        synchronized (partitions) {
+            suggestions = partitions.get(suffix);
+        }
+        boolean outdated = suggestions != null && suggestions.loaded() <= invalidated;
+        if (suggestions == null || (outdated && System.currentTimeMillis() - suggestions.loaded() >= rebuildIntervalMillis)) {
+            scheduleLoad(suffix);
+        }
+        if (suggestions == null || outdated) {
+            return null;
+        }
+        List<String> ret = suggestions.lookup(prefix, MAX_SUGGESTIONS);
+        if (ret.size() < MAX_SUGGESTIONS && suggestions.truncated()) {
+            // Less frequent terms that were left out may match as well
+            return null;
+        }
+
+        return ret;
+    }
+
+    /**
+     * Marks all partitions as outdated, e.g. after the index has been updated.
+     *
+     * @should mark partitions as outdated
+     */
+    public void invalidate() {
+        invalidated = System.currentTimeMillis();
+        logger.trace("Autocomplete suggestions marked as outdated.");
+    }
+
+    /**
+     *
+     * @return Number of loaded partitions
+     */
+    public int getPartitionCount() {
+        synchronized (partitions) {
+            return partitions.size();
+        }
+    }
+
+    /**
+     *
+     * @param suffix Search filter suffix
+     */
+    private void scheduleLoad(String suffix) {
+        // Do not queue up more loads than partitions can be kept
+        if (loading.size() >= MAX_PARTITIONS || !loading.add(suffix)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    long start = System.currentTimeMillis();
+                    Suggestions suggestions = loader.load(suffix);
+                    if (suggestions != null) {
+                        synchronized (partitions) {
+                            partitions.put(suffix, suggestions);
+                        }
+                        logger.debug("Autocomplete suggestions loaded ({} terms) in {} ms", suggestions.size(), System.currentTimeMillis() - start);
+                    }
+                } catch (PresentationException | IndexUnreachableException e) {
+                    logger.warn("Could not load autocomplete suggestions: {}", e.getMessage());
+                } finally {
+                    loading.remove(suffix);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            loading.remove(suffix);
+            logger.warn(e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the most frequent {@code FACET_DEFAULT} terms of all documents matching the given suffix.
+     *
+     * @param suffix Search filter suffix
+     * @return Loaded {@link Suggestions}
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    static Suggestions loadFromIndex(String suffix) throws PresentationException, IndexUnreachableException {
+        long loaded = System.currentTimeMillis();
+        QueryResponse response = DataManager.getInstance()
+                .getSearchIndex()
+                .searchFacetsAndStatistics("+" + SolrConstants.DEFAULT + ":*" + suffix, null,
+                        Collections.singletonList(SolrConstants.PREFIX_FACET + SolrConstants.DEFAULT), 1,
+                        Map.of(FacetParams.FACET_LIMIT, String.valueOf(MAX_TERMS), FacetParams.FACET_SORT, FacetParams.FACET_SORT_COUNT), false);
+        FacetField facetField = response.getFacetFields().get(0);
+        List<Count> values = facetField.getValues() != null ? facetField.getValues() : Collections.emptyList();
+        List<String> terms = new ArrayList<>(values.size());
+        List<Long> counts = new ArrayList<>(values.size());
+        for (Count count : values) {
+            terms.add(count.getName());
+            counts.add(count.getCount());
+        }
+
+        return Suggestions.create(terms, counts, values.size() >= MAX_TERMS, loaded);
+    }
+
+    /**
+     * Loads the suggestions of a single partition.
+     */
+    @FunctionalInterface
+    interface SuggestionLoader {
+
+        /**
+         *
+         * @param suffix Search filter suffix
+         * @return Loaded {@link Suggestions}
+         * @throws PresentationException
+         * @throws IndexUnreachableException
+         */
+        Suggestions load(String suffix) throws PresentationException, IndexUnreachableException;
+    }
+
+    /**
+     * Immutable term list of a single partition, sorted by the lower case term.
+     *
+     * @param keys Lower case terms in ascending order
+     * @param terms Terms in the order of {@link #keys}
+     * @param counts Document frequencies in the order of {@link #keys}
+     * @param truncated true if less frequent terms have been left out
+     * @param loaded Time when the terms were loaded
+     */
+    record Suggestions(String[] keys, String[] terms, long[] counts, boolean truncated, long loaded) {
+
+        /**
+         *
+         * @param terms Terms
+         * @param counts Document frequencies in the order of terms
+         * @param truncated true if less frequent terms have been left out
+         * @param loaded Time when the terms were loaded
+         * @return New {@link Suggestions}
+         */
+        static Suggestions create(List<String> terms, List<Long> counts, boolean truncated, long loaded) {
+            Integer[] order = new Integer[terms.size()];
+            String[] lowerTerms = new String[terms.size()];
+            for (int i = 0; i < order.length; ++i) {
+                order[i] = i;
+                lowerTerms[i] = terms.get(i).toLowerCase(Locale.ROOT);
+            }
+            Arrays.sort(order, Comparator.comparing(i -> lowerTerms[i]));
+            String[] keys = new String[order.length];
+            String[] sortedTerms = new String[order.length];
+            long[] sortedCounts = new long[order.length];
+            for (int i = 0; i < order.length; ++i) {
+                keys[i] = lowerTerms[order[i]];
+                sortedTerms[i] = terms.get(order[i]);
+                sortedCounts[i] = counts.get(order[i]);
+            }
+            return new Suggestions(keys, sortedTerms, sortedCounts, truncated, loaded);
+        }
+
+        /**
+         *
+         * @param prefix Lower case prefix
+         * @param max Maximum number of returned terms
+         * @return Distinct terms starting with the prefix, most frequent first
+         * @should return terms with prefix ordered by frequency
+         * @should respect max
+         * @should return empty list if no term matches
+         */
+        List<String> lookup(String prefix, int max) {
+            int from = Arrays.binarySearch(keys, prefix);
+            if (from < 0) {
+                from = -from - 1;
+            }
+            // With duplicate keys, the binary search may hit any of them
+            while (from > 0 && keys[from - 1].startsWith(prefix)) {
+                from--;
+            }
+            int to = from;
+            while (to < keys.length && keys[to].startsWith(prefix)) {
+                to++;
+            }
+            if (from == to) {
+                return Collections.emptyList();
+            }
+            Integer[] matches = new Integer[to - from];
+            for (int i = 0; i < matches.length; ++i) {
+                matches[i] = from + i;
+            }
+            Arrays.sort(matches, (i1, i2) -> Long.compare(counts[i2], counts[i1]));
+            Set<String> ret = new LinkedHashSet<>();
+            for (int i = 0; i < matches.length && ret.size() < max; ++i) {
+                ret.add(terms[matches[i]]);
+            }
+            return new ArrayList<>(ret);
+        }
+
+        /**
+         *
+         * @return Number of terms
+         */
+        int size() {
+            return keys.length;
+        }
+    }
+}
@@ -257,6 +257,27 @@ public class BrowseElement implements IAccessDeniedThumbnailOutput, Serializable
     BrowseElement(StructElement structElement, Map<String, List<Metadata>> metadataListMap, Locale locale, String fulltext,
             Map<String, Set<String>> searchTerms, ThumbnailHandler thumbs, User user)
             throws PresentationException, IndexUnreachableException, DAOException {
+        this(structElement, metadataListMap, locale, fulltext, searchTerms, thumbs, user, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param structElement {@link StructElement}
+     * @param metadataListMap map of metadata list type names to metadata lists
+     * @param locale locale for translations
+     * @param fulltext full-text content for the element
+     * @param searchTerms map of field names to sets of search terms for highlighting
+     * @param thumbs thumbnail handler for generating thumbnail URLs
+     * @param user The user for whom the thumbnail accessCondition is calculated. If null, it is fetched from the jsfContext if one exists
+     * @param hydrator Optional prefetched thumbnail pages of the result page
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @throws DAOException
+     */
+    BrowseElement(StructElement structElement, Map<String, List<Metadata>> metadataListMap, Locale locale, String fulltext,
+            Map<String, Set<String>> searchTerms, ThumbnailHandler thumbs, User user, SearchHitHydrator hydrator)
+            throws PresentationException, IndexUnreachableException, DAOException {
         if (structElement == null) {
             throw new IllegalArgumentException("structElement may not be null");
         }
@@ -290,7 +311,7 @@ public class BrowseElement implements IAccessDeniedThumbnailOutput, Serializable
 
         resolveMimeType(structElement);
         resolveImageNo(structElement);
-        initThumbnail(structElement, thumbs, user);
+        initThumbnail(structElement, thumbs, user, hydrator);
         initMediaFlags(structElement);
 
         this.url = generateUrl();
@@ -451,7 +472,7 @@ public class BrowseElement implements IAccessDeniedThumbnailOutput, Serializable
     /**
      * Resolves the thumbnail URL and checks thumbnail access permissions.
      */
-    private void initThumbnail(StructElement structElement, ThumbnailHandler thumbs, User user)
+    private void initThumbnail(StructElement structElement, ThumbnailHandler thumbs, User user, SearchHitHydrator hydrator)
             throws IndexUnreachableException, PresentationException, DAOException {
         if (thumbs == null) {
             return;
@@ -473,7 +494,10 @@ public class BrowseElement implements IAccessDeniedThumbnailOutput, Serializable
                 imageNo = StringUtils.isNotBlank(thumbPageNo) ? Integer.parseInt(thumbPageNo) : 1;
             }
         }
-        PhysicalElement pe = ThumbnailHandler.getPage(thumbnailPi, imageNo);
+        PhysicalElement pe = hydrator != null ? hydrator.getPage(thumbnailPi, imageNo) : null;
+        if (pe == null) {
+            pe = ThumbnailHandler.getPage(thumbnailPi, imageNo);
+        }
         if (pe != null) {
             accessPermissionThumbnail = pe.getAccessPermission(IPrivilegeHolder.PRIV_VIEW_THUMBNAILS, user);
         }
@@ -242,7 +242,7 @@ public class FacetItem implements Serializable, IFacetItem {
             List<IFacetItem> existingItemsCopy = new ArrayList<>(existingFacetsItems);
             for (IFacetItem item : existingItemsCopy) {
                 if (item instanceof FacetItem facetItem) {
-                    values.getMap().compute(item.getValue(), (k, v) -> v == null ? item.getCount() : v + item.getCount());
+                    values.merge(item.getValue(), item.getCount(), Long::sum);
                 }
             }
         }
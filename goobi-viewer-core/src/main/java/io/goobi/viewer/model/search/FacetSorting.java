@@ -21,19 +21,30 @@
  */
 package io.goobi.viewer.model.search;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
-import io.goobi.viewer.controller.sorting.AlphabeticComparator;
+import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.controller.sorting.AlphanumComparator;
+import io.goobi.viewer.controller.sorting.ITranslator;
 import io.goobi.viewer.controller.sorting.NumericComparator;
+import io.goobi.viewer.controller.sorting.SortKeyCache;
 
 /**
- * Class to create maps for facet values and their respective counts which are automatically sorted according to a given sort order. The maps are
- * returned as a SortedMap class to signal that the map takes care of sorting its members
+ * Class to create maps for facet values and their respective counts which are sorted according to a given sort order. The maps are returned as
+ * a SortingMap class to signal that the map takes care of sorting its members.
+ * <p>
+ * Values are sorted once when the map is read, not on every insertion. Alphabetical orders compare precomputed collation keys and alphanumerical
+ * orders compare precomputed labels, both taken from the application-wide {@link SortKeyCache}, so that each value is translated at most once.
  */
 public final class FacetSorting {
 
@@ -63,7 +74,7 @@ public final class FacetSorting {
      */
     public static final SortingMap<String, Long> getSortingMap(Map<String, Long> map, String sortOrder) {
         SortingMap<String, Long> sortingMap = getSortingMap("", sortOrder, null);
-        map.entrySet().forEach(entry -> sortingMap.getMap().put(entry.getKey(), entry.getValue()));
+        map.entrySet().forEach(entry -> sortingMap.put(entry.getKey(), entry.getValue()));
         return sortingMap;
     }
 
@@ -84,39 +95,118 @@ public final class FacetSorting {
      * @param sortOrder sorting order
      * @param locale the locale to use if translated values are to be used for ordering
      * @return a SortingMap, which automatically orders entries as they are added to the map
+     * @should sort alphabetically ignoring case and accents
+     * @should sort alphanumerically
+     * @should keep values that compare equal
+     * @should not merge values that only differ in case unlike a sorted map
+     * @should keep insertion order for count
      */
     public static SortingMap<String, Long> getSortingMap(String field, String sortOrder, Locale locale) {
-        return new SortingMap<>(getMap(field, sortOrder, locale));
+        return new SortingMap<>(getSorter(field, sortOrder, locale));
     }
 
-    private static Map<String, Long> getMap(String field, String sortOrder, Locale locale) {
+    /**
+     * 
+     * @param field Facet field
+     * @param sortOrder sorting order
+     * @param locale Locale for translated values
+     * @return Function that returns the given values in sort order; null if the insertion order is to be kept
+     */
+    private static UnaryOperator<List<String>> getSorter(String field, String sortOrder, Locale locale) {
         switch (sortOrder) {
             case "numerical":
             case "numerical_asc":
-                return new TreeMap<>(new NumericComparator<String>(Function.identity()));
+                return values -> sort(values, new NumericComparator<String>(Function.identity()));
             case "numerical_desc":
-                return new TreeMap<>(new NumericComparator<String>(false, Function.identity()));
+                return values -> sort(values, new NumericComparator<String>(false, Function.identity()));
             case "alphabetical":
             case "alphabetical_asc":
-                return new TreeMap<>(new AlphabeticComparator<String>(field, locale, Function.identity()));
+                return values -> sortByCollationKey(values, field, locale, true);
             case "alphabetical_desc":
-                return new TreeMap<>(new AlphabeticComparator<String>(field, locale, false, Function.identity()));
+                return values -> sortByCollationKey(values, field, locale, false);
             case "alphabetical_raw":
             case "alphabetical_raw_asc":
-                return new TreeMap<>();
+                return values -> sort(values, Comparator.naturalOrder());
             case "alphabetical_raw_desc":
-                return new TreeMap<>((a, b) -> b.compareTo(a));
+                return values -> sort(values, Comparator.reverseOrder());
             case "alphanumerical":
             case "natural":
             case "natural_asc":
-                return new TreeMap<>(new AlphanumComparator<String>(field, locale, Function.identity()));
+                return values -> sortByLabel(values, field, locale, true);
             case "alphanumerical_desc":
             case "natural_desc":
-                return new TreeMap<>(new AlphanumComparator<String>(field, locale, false, Function.identity()));
+                return values -> sortByLabel(values, field, locale, false);
             case "count":
             default:
-                return new LinkedHashMap<>();
+                return null;
+        }
+    }
+
+    private static List<String> sort(List<String> values, Comparator<String> comparator) {
+        values.sort(comparator);
+        return values;
+    }
+
+    /**
+     * Sorts the given values by the collation keys of their (translated) labels.
+     *
+     * @param values Values to sort
+     * @param field Facet field
+     * @param locale Locale for translated values
+     * @param asc If true, sort ascending; otherwise descending
+     * @return Sorted values
+     */
+    static List<String> sortByCollationKey(List<String> values, String field, Locale locale, boolean asc) {
+        SortKeyCache cache = DataManager.getInstance().getSortKeyCache();
+        ITranslator<String> translator = ITranslator.getTranslatorForFacetField(field, Function.identity());
+        byte[][] keys = new byte[values.size()][];
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = cache.getCollationKey(field, values.get(i), locale, translator);
         }
+        int reverse = asc ? 1 : -1;
+
+        return sortByIndex(values, (a, b) -> reverse * Arrays.compareUnsigned(keys[a], keys[b]));
+    }
+
+    /**
+     * Sorts the given values by their (translated) labels, using the natural sort order of {@link AlphanumComparator}.
+     *
+     * @param values Values to sort
+     * @param field Facet field
+     * @param locale Locale for translated values
+     * @param asc If true, sort ascending; otherwise descending
+     * @return Sorted values
+     */
+    static List<String> sortByLabel(List<String> values, String field, Locale locale, boolean asc) {
+        SortKeyCache cache = DataManager.getInstance().getSortKeyCache();
+        ITranslator<String> translator = ITranslator.getTranslatorForFacetField(field, Function.identity());
+        String[] labels = new String[values.size()];
+        for (int i = 0; i < labels.length; ++i) {
+            labels[i] = cache.getLabel(field, values.get(i), locale, translator);
+        }
+        AlphanumComparator<String> comparator = new AlphanumComparator<>(asc, locale, Function.identity());
+
+        return sortByIndex(values, (a, b) -> comparator.compare(labels[a], labels[b]));
+    }
+
+    /**
+     * 
+     * @param values Values to sort
+     * @param comparator Comparator for value indexes
+     * @return Values in the order of the sorted indexes; values whose indexes compare equal keep their original order
+     */
+    private static List<String> sortByIndex(List<String> values, Comparator<Integer> comparator) {
+        Integer[] indexes = new Integer[values.size()];
+        for (int i = 0; i < indexes.length; ++i) {
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, comparator);
+        List<String> ret = new ArrayList<>(indexes.length);
+        for (int index : indexes) {
+            ret.add(values.get(index));
+        }
+
+        return ret;
     }
 
     /**
@@ -127,19 +217,35 @@ public final class FacetSorting {
      */
     public static final class SortingMap<K, V> {
 
-        private final Map<K, V> map;
+        /** Entries in insertion order. */
+        private final Map<K, V> entries = new LinkedHashMap<>();
+        /** Returns the given keys in sort order; null if the insertion order is to be kept. */
+        private final UnaryOperator<List<K>> sorter;
+        /** Sorted entries; null if entries have been added since the last sort. */
+        private Map<K, V> sortedMap = null;
 
-        private SortingMap(Map<K, V> map) {
-            this.map = map;
+        private SortingMap(UnaryOperator<List<K>> sorter) {
+            this.sorter = sorter;
         }
 
         /**
-         * Get the underlying map.
+         * Returns the entries in sort order. The keys are sorted once after entries have been added, not on every call.
          *
-         * @return the underlying map backing this sorted facet structure
+         * @return Read-only map of the entries in sort order
          */
         public Map<K, V> getMap() {
-            return map;
+            if (sortedMap == null) {
+                if (sorter == null) {
+                    sortedMap = Collections.unmodifiableMap(entries);
+                } else {
+                    Map<K, V> map = new LinkedHashMap<>();
+                    for (K key : sorter.apply(new ArrayList<>(entries.keySet()))) {
+                        map.put(key, entries.get(key));
+                    }
+                    sortedMap = Collections.unmodifiableMap(map);
+                }
+            }
+            return sortedMap;
         }
 
         /**
@@ -149,7 +255,20 @@ public final class FacetSorting {
          * @param l value
          */
         public void put(K a, V l) {
-            this.map.put(a, l);
+            this.entries.put(a, l);
+            this.sortedMap = null;
+        }
+
+        /**
+         * Adds an entry to the underlying map or combines its value with the existing value.
+         *
+         * @param key key
+         * @param value value
+         * @param remappingFunction Function combining an existing value with the given value
+         */
+        public void merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+            this.entries.merge(key, value, remappingFunction);
+            this.sortedMap = null;
         }
     }
 
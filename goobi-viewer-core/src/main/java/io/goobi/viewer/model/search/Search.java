@@ -57,6 +57,7 @@ import io.goobi.viewer.exceptions.PresentationException;
 import io.goobi.viewer.exceptions.ViewerConfigurationException;
 import io.goobi.viewer.managedbeans.SearchBean;
 import io.goobi.viewer.managedbeans.utils.BeanUtils;
+import io.goobi.viewer.model.maps.GeoMapTile;
 import io.goobi.viewer.model.maps.IArea;
 import io.goobi.viewer.model.maps.Location;
 import io.goobi.viewer.model.maps.Point;
@@ -87,6 +88,11 @@ public class Search implements Serializable {
     /** Logger for this class. */
     private static final Logger logger = LogManager.getLogger(Search.class);
 
+    /** Fields required to show search hits on the geo facet map. */
+    private static final List<String> GEO_LOCATION_FIELDS = Arrays.asList(SolrConstants.IDDOC, SolrConstants.WKT_COORDS, SolrConstants.LABEL,
+            SolrConstants.PI_TOPSTRUCT, SolrConstants.ISANCHOR, SolrConstants.DOCSTRCT, SolrConstants.DOCTYPE, SolrConstants.BOOL_IMAGEAVAILABLE,
+            SolrConstants.MIMETYPE);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "search_id")
@@ -495,19 +501,10 @@ public class Search implements Serializable {
 
         }
 
-        List<String> fieldList = Arrays.asList(SolrConstants.IDDOC);
-        int maxResults = 0;
-        if (facets.getGeoFacetting().isActive()) {
-            fieldList = Arrays.asList(SolrConstants.IDDOC, SolrConstants.WKT_COORDS, SolrConstants.LABEL, SolrConstants.PI_TOPSTRUCT,
-                    SolrConstants.ISANCHOR, SolrConstants.DOCSTRCT, SolrConstants.DOCTYPE, SolrConstants.BOOL_IMAGEAVAILABLE,
-                    SolrConstants.MIMETYPE);
-            maxResults = DataManager.getInstance().getConfiguration().useHeatmapForFacetting() ? 0 : 100000; // limit max docs to avoid OOM
-        }
-
         // Search for hit count + facets
         QueryResponse resp = DataManager.getInstance()
                 .getSearchIndex()
-                .search(finalQuery, 0, maxResults, null, allFacetFields, fieldList, allFilterQueries, params);
+                .search(finalQuery, 0, 0, null, allFacetFields, Collections.singletonList(SolrConstants.IDDOC), allFilterQueries, params);
         if (resp.getResults() != null) {
             resultGroup.setHitsCount(resp.getResults().getNumFound());
             logger.trace("Pre-grouping search hits: {}", resultGroup.getHitsCount());
@@ -528,8 +525,18 @@ public class Search implements Serializable {
                         .getValues()
                         .stream()
                         .anyMatch(c -> c.getName().equalsIgnoreCase("true")));
-                if (DataManager.getInstance().getConfiguration().isShowSearchHitsInGeoFacetMap(facets.getGeoFacetting().getField())) {
-                    resultGroup.setHitLocationList(getLocations(facets.getGeoFacetting().getField(), resp.getResults()));
+                boolean showHits = DataManager.getInstance().getConfiguration().isShowSearchHitsInGeoFacetMap(facets.getGeoFacetting().getField());
+                long numFound = resp.getResults().getNumFound();
+                if (DataManager.getInstance().getConfiguration().useHeatmapForFacetting()
+                        || (showHits && numFound > GeoMapTile.MAX_UNCLUSTERED_HITS)) {
+                    // The facet map loads the hits as clustered tiles
+                    resultGroup.setHitLocationsFromTiles(true);
+                } else if (showHits && numFound > 0) {
+                    SolrDocumentList locationDocs = DataManager.getInstance()
+                            .getSearchIndex()
+                            .search(finalQuery, 0, (int) numFound, null, null, GEO_LOCATION_FIELDS, allFilterQueries, params)
+                            .getResults();
+                    resultGroup.setHitLocationList(getLocations(facets.getGeoFacetting().getField(), locationDocs));
                     resultGroup.getHitLocationList().sort((l1, l2) -> Double.compare(l2.getArea().getDiameter(), l1.getArea().getDiameter())); // TODO
                 }
             }
@@ -1348,6 +1355,19 @@ public class Search implements Serializable {
         return false;
     }
 
+    /**
+     *
+     * @return true if the geo facet map loads the hits of this search as clustered tiles instead of {@link #getHitsLocationList()}; false
+     *         otherwise
+     */
+    public boolean isHitLocationsFromTiles() {
+        if (!resultGroups.isEmpty()) {
+            return resultGroups.get(0).isHitLocationsFromTiles();
+        }
+
+        return false;
+    }
+
     /**
      * 
      * @return true if resultGroups larger than 1; false otherwise
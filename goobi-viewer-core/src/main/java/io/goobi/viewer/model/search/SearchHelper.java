@@ -88,6 +88,7 @@ import io.goobi.viewer.messages.ViewerResourceBundle;
 import io.goobi.viewer.model.export.ExportFieldConfiguration;
 import io.goobi.viewer.model.search.SearchQueryItem.SearchItemOperator;
 import io.goobi.viewer.model.security.AccessConditionUtils;
+import io.goobi.viewer.model.security.AccessPermissionCache;
 import io.goobi.viewer.model.security.IPrivilegeHolder;
 import io.goobi.viewer.model.security.LicenseType;
 import io.goobi.viewer.model.security.LicenseTypeCache;
@@ -299,7 +300,8 @@ public final class SearchHelper {
         List<SearchHit> ret = new ArrayList<>(resp.getResults().size());
         int count = first;
         ThumbnailHandler thumbs = BeanUtils.getImageDeliveryBean().getThumbs();
-        SearchHitFactory factory = new SearchHitFactory(searchTerms, sortFields, exportFields, proximitySearchDistance, thumbs, locale).setUser(user);
+        SearchHitFactory factory = new SearchHitFactory(searchTerms, sortFields, exportFields, proximitySearchDistance, thumbs, locale).setUser(user)
+                .setHydrator(SearchHitHydrator.hydrate(resp.getResults(), user));
         for (SolrDocument doc : resp.getResults()) {
             logger.trace("result iddoc: {}", doc.getFieldValue(SolrConstants.IDDOC));
             String fulltext = null;
@@ -443,6 +445,8 @@ public final class SearchHelper {
         if (user != null) {
             factory.setUser(user);
         }
+        // Prefetch thumbnail pages, first volumes and thumbnail permissions of all hits
+        factory.setHydrator(SearchHitHydrator.hydrate(resp.getResults(), user));
 
         int count = first;
         Map<String, SolrDocumentList> childDocsMap = resp.getExpandedResults();
@@ -1141,6 +1145,14 @@ public final class SearchHelper {
         List<String> ret = new ArrayList<>();
         try {
             String suggestLower = suggest.toLowerCase();
+            if (currentFacets == null || currentFacets.isEmpty()) {
+                // Without active facets, the suggestions only depend on the access conditions and can be served from memory
+                List<String> suggestions = DataManager.getInstance().getAutocompleteSuggester().suggest(suggestLower, getAllSuffixes());
+                if (suggestions != null) {
+                    logger.trace("Autocomplete size: {}", suggestions.size());
+                    return suggestions;
+                }
+            }
             StringBuilder sbQuery = new StringBuilder();
             sbQuery.append("+").append(SolrConstants.DEFAULT).append(':').append(ClientUtils.escapeQueryChars(suggestLower)).append('*');
             if (currentFacets != null && !currentFacets.isEmpty()) {
@@ -1256,12 +1268,10 @@ public final class SearchHelper {
     public static void updateFilterQuerySuffix(HttpServletRequest request, String privilege)
             throws IndexUnreachableException, PresentationException, DAOException {
         String filterQuerySuffix =
-                // Route through cache to avoid repeated DAO round-trips per request
-                getPersonalFilterQuerySuffix(DataManager.getInstance().getLicenseTypeCache().getRecordLicenseTypes(),
-                        (User) Optional.ofNullable(request)
-                                .map(HttpServletRequest::getSession)
-                                .map(session -> session.getAttribute("user"))
-                                .orElse(null),
+                getPersonalFilterQuerySuffix((User) Optional.ofNullable(request)
+                        .map(HttpServletRequest::getSession)
+                        .map(session -> session.getAttribute("user"))
+                        .orElse(null),
                         NetTools.getIpAddress(request),
                         ClientApplicationManager.getClientFromRequest(request), privilege);
         logger.trace("New filter query suffix: {}", filterQuerySuffix);
@@ -1272,6 +1282,40 @@ public final class SearchHelper {
         }
     }
 
+    /**
+     * Returns the personal search query filter suffix for the given user and IP address, evaluated against all record license types. If the
+     * {@link AccessPermissionCache} is enabled, the suffix is shared between all sessions with the same licensee fingerprint, so repeated
+     * evaluation of every license type is avoided and identical licensees send identical filter queries to Solr.
+     *
+     * @param user the currently authenticated user, or null for anonymous access
+     * @param ipAddress IP address of the requesting client
+     * @param client optional client application making the request
+     * @param privilege Privilege to check (Connector checks a different privilege)
+     * @return Solr query suffix restricting results to records the user may access
+     * @throws IndexUnreachableException
+     * @throws PresentationException
+     * @throws DAOException
+     * @should return same suffix as uncached evaluation
+     */
+    static String getPersonalFilterQuerySuffix(User user, String ipAddress, Optional<ClientApplication> client, String privilege)
+            throws IndexUnreachableException, PresentationException, DAOException {
+        // Route through cache to avoid repeated DAO round-trips per request
+        List<LicenseType> licenseTypes = DataManager.getInstance().getLicenseTypeCache().getRecordLicenseTypes();
+        if (privilege == null || !DataManager.getInstance().getConfiguration().isAccessPermissionCacheEnabled()) {
+            return getPersonalFilterQuerySuffix(licenseTypes, user, ipAddress, client, privilege);
+        }
+
+        String licenseeKey = AccessPermissionCache.buildLicenseeKey(user, ipAddress, client);
+        AccessPermissionCache cache = DataManager.getInstance().getAccessPermissionCache();
+        String ret = cache.getFilterQuerySuffix(privilege, licenseeKey);
+        if (ret == null) {
+            ret = getPersonalFilterQuerySuffix(licenseTypes, user, ipAddress, client, privilege);
+            cache.putFilterQuerySuffix(privilege, licenseeKey, ret);
+        }
+
+        return ret;
+    }
+
     /**
      * Constructs a personal search query filter suffix for the given user and IP address.
      *
@@ -2146,7 +2190,10 @@ public final class SearchHelper {
 
         if (!terms.isEmpty()) {
             ret = new ArrayList<>(terms.values());
-            if (comparator != null) {
+            if (comparator instanceof BrowseTermComparator browseTermComparator) {
+                // Determines each term's sort string once instead of once per comparison
+                browseTermComparator.sort(ret);
+            } else if (comparator != null) {
                 Collections.sort(ret, comparator);
             }
         }
@@ -3540,12 +3587,7 @@ public final class SearchHelper {
                 // ClientApplicationManager.getClientFromRequest here would invoke
                 // req.getSession() (without 'false') and thereby force-create a session,
                 // which contradicts the whole sessionless path.
-                return getPersonalFilterQuerySuffix(
-                        DataManager.getInstance().getLicenseTypeCache().getRecordLicenseTypes(),
-                        null,
-                        NetTools.getIpAddress(req),
-                        Optional.empty(),
-                        privilege);
+                return getPersonalFilterQuerySuffix(null, NetTools.getIpAddress(req), Optional.empty(), privilege);
             } catch (IndexUnreachableException | DAOException e) {
                 logger.error("Failed to compute sessionless filter query suffix, falling back to OPENACCESS-only", e);
             } catch (PresentationException e) {
@@ -83,6 +83,8 @@ public class SearchHitFactory {
             new HashSet<>(DataManager.getInstance().getConfiguration().getDisplayAdditionalMetadataNoHighlightFields());
     private int proximitySearchDistance;
     private User user;
+    /** Optional prefetched thumbnail data of the current result page. */
+    private SearchHitHydrator hydrator;
 
     private ThumbnailHandler thumbnailHandler;
     private Locale locale;
@@ -128,6 +130,9 @@ public class SearchHitFactory {
                         : SearchHelper.truncateFulltext(searchTerms.get(SolrConstants.FULLTEXT), fulltext,
                                 DataManager.getInstance().getConfiguration().getFulltextFragmentLength(), true, true, proximitySearchDistance);
         StructElement se = new StructElement((String) doc.getFieldValue(SolrConstants.IDDOC), doc, ownerDoc);
+        if (hydrator != null) {
+            hydrator.seedFirstVolume(se);
+        }
         String docstructType = se.getDocStructType();
         if (DocType.METADATA.name().equals(se.getMetadataValue(SolrConstants.DOCTYPE))) {
             docstructType = DocType.METADATA.name();
@@ -153,7 +158,7 @@ public class SearchHitFactory {
         Map<String, Set<String>> cleanedUpSearchTerms = getActualSearchTerms(searchTerms, searchedFields);
         BrowseElement browseElement = new BrowseElement(se, metadataListMap, locale,
                 (fulltextFragments != null && !fulltextFragments.isEmpty()) ? fulltextFragments.get(0) : null, cleanedUpSearchTerms,
-                thumbnailHandler, this.user);
+                thumbnailHandler, this.user, hydrator);
         // Add additional metadata fields that aren't configured for search hits but contain search term values
         if (DataManager.getInstance().getConfiguration().isDisplayAdditionalMetadataEnabled()) {
             Optional<String> labelValue = browseElement.getLabelAsMetadataValue().getValue();
@@ -278,6 +283,16 @@ public class SearchHitFactory {
         return this;
     }
 
+    /**
+     *
+     * @param hydrator Prefetched thumbnail data of the result page whose hits are created by this factory
+     * @return this
+     */
+    SearchHitFactory setHydrator(SearchHitHydrator hydrator) {
+        this.hydrator = hydrator;
+        return this;
+    }
+
     /**
      * Replaces any terms with a fuzzy search token with the matching strings found in the values of fields.
      *
@@ -0,0 +1,98 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.search;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application-scoped statistics of the {@link SearchHitHydrator}: the number of hydrated result pages and the accumulated and most recent
+ * duration of each hydration stage. Published through the monitoring REST endpoint.
+ */
+public class SearchHitHydrationMetrics {
+
+    /** Hydration stages in execution order. */
+    private static final List<String> STAGES = List.of(SearchHitHydrator.STAGE_FIRST_VOLUMES, SearchHitHydrator.STAGE_TOP_DOCS,
+            SearchHitHydrator.STAGE_DATA_REPOSITORIES, SearchHitHydrator.STAGE_PAGES, SearchHitHydrator.STAGE_PERMISSIONS);
+
+    private final LongAdder hydrations = new LongAdder();
+    /** Accumulated stage durations; the map itself is never modified after construction. */
+    private final Map<String, LongAdder> totalStageMillis;
+    private volatile Map<String, Long> lastStageMillis = Collections.emptyMap();
+
+    /**
+     * Creates empty statistics.
+     */
+    public SearchHitHydrationMetrics() {
+        Map<String, LongAdder> totals = new LinkedHashMap<>();
+        for (String stage : STAGES) {
+            totals.put(stage, new LongAdder());
+        }
+        this.totalStageMillis = Collections.unmodifiableMap(totals);
+    }
+
+    /**
+     * Adds the stage durations of a single hydration.
+     *
+     * @param stageTimes Duration of each stage in milliseconds
+     * @should accumulate stage times
+     * @should ignore unknown stages
+     */
+    void record(Map<String, Long> stageTimes) {
+        hydrations.increment();
+        for (Map.Entry<String, Long> entry : stageTimes.entrySet()) {
+            LongAdder total = totalStageMillis.get(entry.getKey());
+            if (total != null) {
+                total.add(entry.getValue());
+            }
+        }
+        lastStageMillis = Collections.unmodifiableMap(new LinkedHashMap<>(stageTimes));
+    }
+
+    /**
+     * @return Number of hydrated search result pages
+     */
+    public long getHydrationCount() {
+        return hydrations.sum();
+    }
+
+    /**
+     * @return Accumulated duration of each stage in milliseconds, in execution order
+     */
+    public Map<String, Long> getTotalStageMillis() {
+        Map<String, Long> ret = new LinkedHashMap<>();
+        for (Map.Entry<String, LongAdder> entry : totalStageMillis.entrySet()) {
+            ret.put(entry.getKey(), entry.getValue().sum());
+        }
+        return ret;
+    }
+
+    /**
+     * @return Duration of each stage of the most recent hydration in milliseconds, in execution order; empty if there has been none
+     */
+    public Map<String, Long> getLastStageMillis() {
+        return lastStageMillis;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.common.SolrDocument;
+
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.controller.NetTools;
+import io.goobi.viewer.controller.StringConstants;
+import io.goobi.viewer.controller.imaging.ThumbnailHandler;
+import io.goobi.viewer.exceptions.DAOException;
+import io.goobi.viewer.exceptions.IndexUnreachableException;
+import io.goobi.viewer.exceptions.PresentationException;
+import io.goobi.viewer.managedbeans.utils.BeanUtils;
+import io.goobi.viewer.model.security.AccessConditionUtils;
+import io.goobi.viewer.model.security.IPrivilegeHolder;
+import io.goobi.viewer.model.security.LicenseType;
+import io.goobi.viewer.model.security.clients.ClientApplication;
+import io.goobi.viewer.model.security.clients.ClientApplicationManager;
+import io.goobi.viewer.model.security.user.User;
+import io.goobi.viewer.model.viewer.PhysicalElement;
+import io.goobi.viewer.model.viewer.StringPair;
+import io.goobi.viewer.model.viewer.StructElement;
+import io.goobi.viewer.model.viewer.pageloader.AbstractPageLoader;
+import io.goobi.viewer.solr.SolrConstants;
+import io.goobi.viewer.solr.SolrConstants.DocType;
+import io.goobi.viewer.solr.SolrTools;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Prefetches everything the {@link BrowseElement}s of a search result page need for their thumbnails: the first volumes of anchor hits, the top
+ * level docs and thumbnail pages of all hits and the thumbnail access permissions of these pages. Each stage is resolved with a single batched
+ * query for the whole result page instead of several queries per hit. Hits that cannot be hydrated (e.g. groups or pages missing from the index)
+ * fall back to the regular per-hit lookups.
+ * <p>
+ * The data repository names of all hits are prefetched as well, since fulltext and ALTO file paths of hits are resolved through them.
+ */
+class SearchHitHydrator {
+
+    private static final Logger logger = LogManager.getLogger(SearchHitHydrator.class);
+
+    static final String STAGE_FIRST_VOLUMES = "firstVolumes";
+    static final String STAGE_TOP_DOCS = "topDocs";
+    static final String STAGE_DATA_REPOSITORIES = "dataRepositories";
+    static final String STAGE_PAGES = "pages";
+    static final String STAGE_PERMISSIONS = "permissions";
+
+    /** First volumes mapped to the IDDOC of their anchor. */
+    private final Map<String, StructElement> firstVolumes = new HashMap<>();
+    /** Top level elements mapped to their PI. */
+    private final Map<String, StructElement> topElements = new HashMap<>();
+    /** Thumbnail pages mapped to the record PI and page order. */
+    private Map<String, Map<Integer, PhysicalElement>> pages = Collections.emptyMap();
+    /** Duration of each stage in milliseconds, in execution order. */
+    private final Map<String, Long> stageTimes = new LinkedHashMap<>();
+
+    private SearchHitHydrator() {
+    }
+
+    /**
+     * Runs all hydration stages for the given search hit docs. Failures are logged and leave the affected hits to the per-hit lookups.
+     *
+     * @param docs Solr docs of the result page
+     * @param user User for whom thumbnail permissions are evaluated; if null, the user is fetched from the current session
+     * @return {@link SearchHitHydrator}
+     * @should prefetch thumbnail pages of all hits
+     * @should prefetch first volumes of anchors
+     * @should prefetch data repository names of all hits
+     * @should record stage times in application metrics
+     */
+    static SearchHitHydrator hydrate(Collection<SolrDocument> docs, User user) {
+        SearchHitHydrator ret = new SearchHitHydrator();
+        if (docs == null || docs.isEmpty()) {
+            return ret;
+        }
+
+        try {
+            long start = System.nanoTime();
+            if (StringConstants.ANCHOR_THUMBNAIL_MODE_FIRSTVOLUME.equals(DataManager.getInstance().getConfiguration().getAnchorThumbnailMode())) {
+                ret.loadFirstVolumes(docs);
+            }
+            start = ret.recordStage(STAGE_FIRST_VOLUMES, start);
+
+            Map<String, Set<Integer>> pageNos = ret.collectThumbnailPageNos(docs);
+            ret.loadTopElements(docs, pageNos.keySet());
+            start = ret.recordStage(STAGE_TOP_DOCS, start);
+
+            DataManager.getInstance().getSearchIndex().prefetchDataRepositoryNames(collectTopStructPis(docs));
+            start = ret.recordStage(STAGE_DATA_REPOSITORIES, start);
+
+            ret.pages = AbstractPageLoader.loadPages(pageNos, ret.topElements);
+            start = ret.recordStage(STAGE_PAGES, start);
+
+            ret.seedThumbnailPermissions(user);
+            ret.recordStage(STAGE_PERMISSIONS, start);
+        } catch (PresentationException | IndexUnreachableException | DAOException e) {
+            logger.warn("Search hit hydration incomplete: {}", e.getMessage());
+        }
+        logger.debug("Search hit hydration of {} hits (ms): {}", docs.size(), ret.stageTimes);
+        DataManager.getInstance().getSearchHitHydrationMetrics().record(ret.stageTimes);
+
+        return ret;
+    }
+
+    /**
+     * Loads the first volume of each anchor hit. Anchors are grouped by their volume sort configuration; each group is resolved with one query
+     * that collapses the volumes on their parent.
+     *
+     * @param docs Search hit docs
+     * @throws IndexUnreachableException
+     */
+    private void loadFirstVolumes(Collection<SolrDocument> docs) throws IndexUnreachableException {
+        Map<List<StringPair>, Set<String>> anchorIddocs = new HashMap<>();
+        for (SolrDocument doc : docs) {
+            if (Boolean.TRUE.equals(SolrTools.getAsBoolean(doc.getFieldValue(SolrConstants.ISANCHOR)))
+                    && doc.getFieldValue(SolrConstants.IDDOC) != null) {
+                List<StringPair> sortFields = DataManager.getInstance()
+                        .getConfiguration()
+                        .getTocVolumeSortFieldsForTemplate(SolrTools.getSingleFieldStringValue(doc, SolrConstants.DOCSTRCT));
+                anchorIddocs.computeIfAbsent(sortFields, k -> new HashSet<>()).add(SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC));
+            }
+        }
+
+        List<String> fields = new ArrayList<>(ThumbnailHandler.REQUIRED_SOLR_FIELDS);
+        fields.add(SolrConstants.IDDOC_PARENT);
+        for (Entry<List<StringPair>, Set<String>> entry : anchorIddocs.entrySet()) {
+            String query = new StringBuilder("{!terms f=").append(SolrConstants.IDDOC_PARENT)
+                    .append('}')
+                    .append(String.join(",", entry.getValue()))
+                    .toString();
+            StringBuilder sbCollapse = new StringBuilder("{!collapse field=").append(SolrConstants.IDDOC_PARENT);
+            if (entry.getKey() != null && !entry.getKey().isEmpty()) {
+                sbCollapse.append(" sort='")
+                        .append(entry.getKey().stream().map(sf -> sf.getOne() + " " + sf.getTwo()).collect(Collectors.joining(",")))
+                        .append('\'');
+            }
+            sbCollapse.append('}');
+            try {
+                for (SolrDocument doc : DataManager.getInstance()
+                        .getSearchIndex()
+                        .search(query, 0, entry.getValue().size(), null, null, fields, Collections.singletonList(sbCollapse.toString()), null)
+                        .getResults()) {
+                    String parentIddoc = SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC_PARENT);
+                    String iddoc = SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC);
+                    if (parentIddoc != null && StringUtils.isNotBlank(iddoc)) {
+                        firstVolumes.put(parentIddoc, new StructElement(iddoc, doc));
+                    }
+                }
+            } catch (PresentationException e) {
+                // Anchors of this group fall back to StructElement.getFirstVolume()
+                logger.warn("Could not prefetch first volumes: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Collects the thumbnail page of each hit, mirroring the page selection of {@link BrowseElement}: the page itself for page hits, the
+     * THUMBPAGENO of the first volume for anchors and the THUMBPAGENO of the hit for all other docstructs.
+     *
+     * @param docs Search hit docs
+     * @return Page orders mapped to the record PI
+     */
+    private Map<String, Set<Integer>> collectThumbnailPageNos(Collection<SolrDocument> docs) {
+        Map<String, Set<Integer>> ret = new HashMap<>();
+        for (SolrDocument doc : docs) {
+            String pi;
+            String pageNo;
+            if (Boolean.TRUE.equals(SolrTools.getAsBoolean(doc.getFieldValue(SolrConstants.ISANCHOR)))) {
+                StructElement volume = firstVolumes.get(SolrTools.getSingleFieldStringValue(doc, SolrConstants.IDDOC));
+                if (volume == null) {
+                    continue;
+                }
+                pi = volume.getPi();
+                pageNo = volume.getMetadataValue(SolrConstants.THUMBPAGENO);
+            } else if (DocType.GROUP.name().equals(doc.getFieldValue(SolrConstants.DOCTYPE))) {
+                continue;
+            } else {
+                pi = SolrTools.getSingleFieldStringValue(doc, SolrConstants.PI_TOPSTRUCT);
+                pageNo = SolrTools.getSingleFieldStringValue(doc, SolrConstants.ORDER);
+                if (StringUtils.isBlank(pageNo)) {
+                    pageNo = SolrTools.getSingleFieldStringValue(doc, SolrConstants.THUMBPAGENO);
+                }
+            }
+            if (StringUtils.isBlank(pi)) {
+                continue;
+            }
+            try {
+                ret.computeIfAbsent(pi, k -> new HashSet<>()).add(StringUtils.isNotBlank(pageNo) ? Integer.parseInt(pageNo) : 1);
+            } catch (NumberFormatException e) {
+                logger.debug("Invalid thumbnail page number for {}: {}", pi, pageNo);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Loads the top level elements of the given records. Top level docs that are part of the result page or first volumes are used as they are.
+     *
+     * @param docs Search hit docs
+     * @param pis Record identifiers
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private void loadTopElements(Collection<SolrDocument> docs, Set<String> pis) throws PresentationException, IndexUnreachableException {
+        for (SolrDocument doc : docs) {
+            String pi = SolrTools.getSingleFieldStringValue(doc, SolrConstants.PI);
+            if (pi != null && pis.contains(pi) && doc.getFieldValue(SolrConstants.IDDOC) != null) {
+                topElements.put(pi, new StructElement(doc));
+            }
+        }
+        for (StructElement volume : firstVolumes.values()) {
+            if (volume.getPi() != null) {
+                topElements.putIfAbsent(volume.getPi(), volume);
+            }
+        }
+
+        Set<String> missingPis = new HashSet<>(pis);
+        missingPis.removeAll(topElements.keySet());
+        if (missingPis.isEmpty()) {
+            return;
+        }
+        String query = new StringBuilder("{!terms f=").append(SolrConstants.PI).append('}').append(String.join(",", missingPis)).toString();
+        for (SolrDocument doc : DataManager.getInstance()
+                .getSearchIndex()
+                .search(query, missingPis.size(), null,
+                        List.of(SolrConstants.IDDOC, SolrConstants.PI, SolrConstants.DOCTYPE, SolrConstants.ISWORK, SolrConstants.ISANCHOR,
+                                SolrConstants.DATAREPOSITORY))) {
+            String pi = SolrTools.getSingleFieldStringValue(doc, SolrConstants.PI);
+            if (pi != null && doc.getFieldValue(SolrConstants.IDDOC) != null) {
+                topElements.put(pi, new StructElement(doc));
+            }
+        }
+    }
+
+    /**
+     * 
+     * @param docs Search hit docs
+     * @return Identifiers of the records the given docs belong to
+     */
+    private static Set<String> collectTopStructPis(Collection<SolrDocument> docs) {
+        Set<String> ret = new HashSet<>();
+        for (SolrDocument doc : docs) {
+            String pi = SolrTools.getSingleFieldStringValue(doc, SolrConstants.PI_TOPSTRUCT);
+            if (StringUtils.isNotEmpty(pi)) {
+                ret.add(pi);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Evaluates the thumbnail access permission of all prefetched pages in memory and seeds it into the pages, so that
+     * {@link PhysicalElement#getAccessPermission(String, User)} does not need to query the index for each page.
+     *
+     * @param user User for whom permissions are evaluated; if null, the user is fetched from the current session
+     * @throws IndexUnreachableException
+     * @throws DAOException
+     */
+    private void seedThumbnailPermissions(User user) throws IndexUnreachableException, DAOException {
+        if (pages.isEmpty()) {
+            return;
+        }
+
+        // Resolve shared context once for all pages
+        HttpServletRequest request = BeanUtils.getRequest();
+        User resolvedUser = user != null ? user : AccessConditionUtils.retrieveUserFromContext(request != null ? request.getSession() : null);
+        String ipAddress = NetTools.getIpAddress(request);
+        Optional<ClientApplication> client = ClientApplicationManager.getClientFromSession(request != null ? request.getSession() : null);
+        List<LicenseType> licenseTypes = DataManager.getInstance().getLicenseTypeCache().getRecordLicenseTypes();
+
+        for (Entry<String, Map<Integer, PhysicalElement>> entry : pages.entrySet()) {
+            for (PhysicalElement page : entry.getValue().values()) {
+                String query = new StringBuilder("+").append(SolrConstants.PI_TOPSTRUCT)
+                        .append(':')
+                        .append(entry.getKey())
+                        .append(" +")
+                        .append(SolrConstants.DOCTYPE)
+                        .append(':')
+                        .append(DocType.PAGE)
+                        .append(" +")
+                        .append(SolrConstants.ORDER)
+                        .append(':')
+                        .append(page.getOrder())
+                        .toString();
+                try {
+                    page.seedAccessPermission(IPrivilegeHolder.PRIV_VIEW_THUMBNAILS, AccessConditionUtils.checkAccessPermission(licenseTypes,
+                            page.getAccessConditions(), IPrivilegeHolder.PRIV_VIEW_THUMBNAILS, resolvedUser, ipAddress, client, query));
+                } catch (PresentationException e) {
+                    // Page falls back to the regular permission check
+                    logger.debug(StringConstants.LOG_PRESENTATION_EXCEPTION_THROWN_HERE, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private long recordStage(String stage, long start) {
+        long now = System.nanoTime();
+        stageTimes.put(stage, (now - start) / 1_000_000);
+        return now;
+    }
+
+    /**
+     * Sets the prefetched first volume of the given anchor element, if available.
+     *
+     * @param structElement Search hit element
+     */
+    void seedFirstVolume(StructElement structElement) {
+        if (structElement != null && structElement.isAnchor()) {
+            StructElement volume = firstVolumes.get(structElement.getLuceneId());
+            if (volume != null) {
+                structElement.setFirstVolume(volume);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param pi Record identifier
+     * @param order Page order
+     * @return Prefetched page; null if the page has not been prefetched
+     */
+    PhysicalElement getPage(String pi, int order) {
+        Map<Integer, PhysicalElement> recordPages = pages.get(pi);
+        return recordPages != null ? recordPages.get(order) : null;
+    }
+
+    /**
+     * @return Duration of each hydration stage in milliseconds, in execution order
+     */
+    Map<String, Long> getStageTimes() {
+        return stageTimes;
+    }
+}
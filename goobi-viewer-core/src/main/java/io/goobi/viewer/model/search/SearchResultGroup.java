@@ -51,6 +51,9 @@ public class SearchResultGroup implements Serializable {
 
     private boolean hasGeoLocationHits = false;
 
+    /** True if there are too many hits to list their locations, so that the geo facet map loads them as clustered tiles. */
+    private boolean hitLocationsFromTiles = false;
+
     /**
      * 
      * @param name name/identifier of this result group
@@ -165,6 +168,16 @@ public class SearchResultGroup implements Serializable {
     }
 
     
+    public boolean isHitLocationsFromTiles() {
+        return hitLocationsFromTiles;
+    }
+
+    
+    public void setHitLocationsFromTiles(boolean hitLocationsFromTiles) {
+        this.hitLocationsFromTiles = hitLocationsFromTiles;
+    }
+
+    
     public List<SearchHit> getHits() {
         return hits;
     }
@@ -61,12 +61,12 @@ import io.goobi.viewer.model.search.SearchHelper;
 import io.goobi.viewer.model.security.clients.ClientApplication;
 import io.goobi.viewer.model.security.clients.ClientApplicationManager;
 import io.goobi.viewer.model.security.user.IpRange;
+import io.goobi.viewer.model.security.user.IpRangeMatcher;
 import io.goobi.viewer.model.security.user.User;
 import io.goobi.viewer.model.security.user.UserGroup;
 import io.goobi.viewer.model.viewer.PhysicalElement;
 import io.goobi.viewer.solr.SolrConstants;
 import io.goobi.viewer.solr.SolrConstants.DocType;
-import io.goobi.viewer.solr.SolrSearchIndex;
 import io.goobi.viewer.solr.SolrTools;
 import jakarta.faces.context.FacesContext;
 import jakarta.servlet.http.HttpServletRequest;
@@ -307,10 +307,9 @@ public final class AccessConditionUtils {
         try {
             // Collect access conditions required by the page
             Map<String, Set<String>> requiredAccessConditions = new HashMap<>();
-            SolrDocumentList results = DataManager.getInstance()
-                    .getSearchIndex()
-                    .search(query, "*".equals(fileName) ? SolrSearchIndex.MAX_HITS : 1, null,
-                            Arrays.asList(SolrConstants.ACCESSCONDITION));
+            SolrDocumentList results = "*".equals(fileName)
+                    ? DataManager.getInstance().getSearchIndex().searchAll(query, null, Arrays.asList(SolrConstants.ACCESSCONDITION))
+                    : DataManager.getInstance().getSearchIndex().search(query, 1, null, Arrays.asList(SolrConstants.ACCESSCONDITION));
             if (results != null) {
                 if (results.isEmpty()) {
                     logger.debug("No hits for permission check query: {}", query); //NOSONAR this will help identify index inconsistencies
@@ -408,8 +407,7 @@ public final class AccessConditionUtils {
         try {
             SolrDocumentList pageDocs = DataManager.getInstance()
                     .getSearchIndex()
-                    .search(query, SolrSearchIndex.MAX_HITS, null,
-                            Arrays.asList(SolrConstants.ORDER, SolrConstants.ACCESSCONDITION));
+                    .searchAll(query, null, Arrays.asList(SolrConstants.ORDER, SolrConstants.ACCESSCONDITION));
             if (pageDocs == null || pageDocs.isEmpty()) {
                 return PagePermissions.EMPTY;
             }
@@ -515,9 +513,7 @@ public final class AccessConditionUtils {
         try {
             SolrDocumentList docs = DataManager.getInstance()
                     .getSearchIndex()
-                    .search(query, SolrSearchIndex.MAX_HITS, null,
-                            Arrays.asList(filenameField, SolrConstants.ACCESSCONDITION,
-                                    SolrConstants.ORDER));
+                    .searchAll(query, null, Arrays.asList(filenameField, SolrConstants.ACCESSCONDITION, SolrConstants.ORDER));
             if (docs == null || docs.isEmpty()) {
                 return Collections.emptyList();
             }
@@ -913,8 +909,7 @@ public final class AccessConditionUtils {
                 logger.trace(fetchQuery); //NOSONAR Debug
                 SolrDocumentList results = DataManager.getInstance()
                         .getSearchIndex()
-                        .search(fetchQuery, SolrSearchIndex.MAX_HITS, null,
-                                Arrays.asList(SolrConstants.LOGID, SolrConstants.ACCESSCONDITION, SolrConstants.PI_TOPSTRUCT));
+                        .searchAll(fetchQuery, null, Arrays.asList(SolrConstants.LOGID, SolrConstants.ACCESSCONDITION, SolrConstants.PI_TOPSTRUCT));
                 if (results == null) {
                     continue;
                 }
@@ -1275,7 +1270,8 @@ public final class AccessConditionUtils {
     }
 
     /**
-     * Checks access permission of the given privilege type for the given image and puts the permission status into the corresponding session map.
+     * Checks access permission of the given privilege type for the given image. The permission status is put into the application-wide
+     * {@link AccessPermissionCache} or, if that is disabled, into the corresponding session map.
      *
      * @param session HTTP session for caching permission results
      * @param pi persistent identifier of the record
@@ -1323,6 +1319,28 @@ public final class AccessConditionUtils {
             permissions = new HashMap<>();
             // logger.trace("PI has changed, old-pi PRIV_ attributes purged."); //NOSONAR Debug
         }
+
+        // Decisions do not depend on the session, so share them between all sessions with the same licensee
+        if (DataManager.getInstance().getConfiguration().isAccessPermissionCacheEnabled()) {
+            User resolvedUser = user != null ? user : retrieveUserFromContext(session);
+            String licenseeKey =
+                    AccessPermissionCache.buildLicenseeKey(resolvedUser, ipAddress, ClientApplicationManager.getClientFromSession(session));
+            if (licenseeKey != null) {
+                AccessPermissionCache permissionCache = DataManager.getInstance().getAccessPermissionCache();
+                AccessPermission ret = permissionCache.get(pi, contentFileName, privilegeType, licenseeKey);
+                if (ret == null) {
+                    ret = checkAccessPermissionByIdentifierAndFileName(pi, contentFileName, privilegeType, ipAddress, session, resolvedUser)
+                            .get(contentFileName);
+                    if (ret == null) {
+                        // No index hit; do not cache, the record may just not be indexed yet
+                        return AccessPermission.denied();
+                    }
+                    permissionCache.put(pi, contentFileName, privilegeType, licenseeKey, ret);
+                }
+                return ret;
+            }
+        }
+
         String key = new StringBuilder(pi).append('_').append(contentFileName).toString();
         // pi already checked -> look in the session
         // logger.debug("permissions key: {}: {}", key, permissions.get(key)); //NOSONAR Debug
@@ -1483,16 +1501,14 @@ public final class AccessConditionUtils {
                     return AccessPermission.granted();
                 }
                 // Check whether the requested privilege is allowed to this IP range (for all access conditions)
-                for (IpRange ipRange : DataManager.getInstance().getIpRangeCache().getAllIpRanges()) {
-                    if (ipRange.matchIp(remoteAddress)) {
-                        useIpRange = ipRange;
-                        AccessPermission access = ipRange.canSatisfyAllAccessConditions(useAccessConditions, privilegeName, null);
-                        if (access.isGranted()) {
-                            logger.trace("Access granted to {} via IP range {}", remoteAddress, ipRange.getName());
-                            access.checkSecondaryAccessRequirement(useAccessConditions, privilegeName, user, ipRange,
-                                    client.orElse(null));
-                            return access.setAccessTicketRequired(accessTicketRequired);
-                        }
+                for (IpRange ipRange : DataManager.getInstance().getIpRangeCache().getMatchingIpRanges(remoteAddress)) {
+                    useIpRange = ipRange;
+                    AccessPermission access = ipRange.canSatisfyAllAccessConditions(useAccessConditions, privilegeName, null);
+                    if (access.isGranted()) {
+                        logger.trace("Access granted to {} via IP range {}", remoteAddress, ipRange.getName());
+                        access.checkSecondaryAccessRequirement(useAccessConditions, privilegeName, user, ipRange,
+                                client.orElse(null));
+                        return access.setAccessTicketRequired(accessTicketRequired);
                     }
                 }
             }
@@ -1748,17 +1764,32 @@ public final class AccessConditionUtils {
      * @param user optional logged-in user to match against licenses
      * @param ipAddress client IP address used for IP range matching
      * @param type license type to query licenses for
-     * @param dao DAO instance used to retrieve licenses and IP ranges
+     * @param dao DAO instance used to retrieve licenses
      * @return List<License>
      * @throws DAOException
-     * @should return empty collection for given input
      */
     public static List<License> getApplyingLicenses(Optional<User> user, String ipAddress, LicenseType type, IDAO dao) throws DAOException {
+        return getApplyingLicenses(user, ipAddress, type, dao, DataManager.getInstance().getIpRangeCache().getMatcher());
+    }
+
+    /**
+     * List all licenses ("rights") that the given user and ipAddress is entitled to, matching the IP address with the given
+     * {@link IpRangeMatcher}.
+     * 
+     * @param user optional logged-in user to match against licenses
+     * @param ipAddress client IP address used for IP range matching
+     * @param type license type to query licenses for
+     * @param dao DAO instance used to retrieve licenses
+     * @param ipRangeMatcher matcher over all IP ranges
+     * @return List<License>
+     * @throws DAOException
+     * @should return empty collection for given input
+     */
+    static List<License> getApplyingLicenses(Optional<User> user, String ipAddress, LicenseType type, IDAO dao, IpRangeMatcher ipRangeMatcher)
+            throws DAOException {
         List<License> licenses = dao.getLicenses(type);
         List<UserGroup> userGroups = user.map(User::getAllUserGroups).orElse(Collections.emptyList());
-        // Use the injected DAO here (not the cache) to preserve testability via mock injection
-        List<IpRange> ipRangesApplyingToGivenIp =
-                dao.getAllIpRanges().stream().filter(range -> range.matchIp(ipAddress)).toList();
+        List<IpRange> ipRangesApplyingToGivenIp = ipRangeMatcher.getMatchingIpRanges(ipAddress);
 
         List<License> applyingLicenses = licenses.stream()
                 .filter(license -> {
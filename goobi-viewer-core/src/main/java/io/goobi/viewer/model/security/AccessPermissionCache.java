@@ -0,0 +1,347 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.controller.NetTools;
+import io.goobi.viewer.exceptions.DAOException;
+import io.goobi.viewer.model.security.clients.ClientApplication;
+import io.goobi.viewer.model.security.user.IpRange;
+import io.goobi.viewer.model.security.user.User;
+
+/**
+ * <p>
+ * Application-scoped cache for access permission decisions on record files and for personal search filter query suffixes. Decisions only
+ * depend on the record, the file, the privilege and the licensee (suffixes only on the privilege and the licensee), so they are shared between
+ * all sessions with the same licensee fingerprint (see {@link #buildLicenseeKey(User, String, Optional)}) instead of being re-evaluated in every
+ * new session.
+ * </p>
+ *
+ * <p>
+ * Records are kept in LRU order up to the configured maximum; each decision expires after the configured time to live. {@code JPADAO} write
+ * methods for licenses, license types, IP ranges, user groups, users and client applications invalidate the affected entries after a
+ * successful commit; the indexer invalidates single records via the cache REST endpoint.
+ * </p>
+ *
+ * <p>
+ * Known limitation: changes that are not reported this way (e.g. license date windows running out) only take effect once the cached decision
+ * has expired.
+ * </p>
+ */
+public class AccessPermissionCache {
+
+    private static final Logger logger = LogManager.getLogger(AccessPermissionCache.class);
+
+    /** Upper bound for cached decisions of a single record; the record's entries are dropped once it is reached. */
+    static final int MAX_ENTRIES_PER_RECORD = 10000;
+
+    /** Upper bound for cached filter query suffixes; all suffixes are dropped once it is reached. */
+    static final int MAX_FILTER_QUERY_SUFFIXES = 10000;
+
+    private static final String ANONYMOUS = "-";
+
+    /** Records in access order; guarded by itself. */
+    private final Map<String, Map<EntryKey, CachedPermission>> records = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Personal search filter query suffixes mapped to privilege and licensee fingerprint. */
+    private final Map<SuffixKey, CachedSuffix> filterQuerySuffixes = new ConcurrentHashMap<>();
+
+    /** Fixed maximum number of records; values below zero mean the configured value is used. */
+    private final int maxRecords;
+    /** Fixed time to live in milliseconds; values below zero mean the configured value is used. */
+    private final long ttlMillis;
+
+    /**
+     * Creates a cache that reads its limits from the configuration.
+     */
+    public AccessPermissionCache() {
+        this(-1, -1);
+    }
+
+    /**
+     *
+     * @param maxRecords Maximum number of records
+     * @param ttlMillis Time to live of each decision in milliseconds
+     */
+    AccessPermissionCache(int maxRecords, long ttlMillis) {
+        this.maxRecords = maxRecords;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Returns the cached decision for the given file, privilege and licensee, if present and not expired.
+     *
+     * @param pi Record identifier
+     * @param fileName Content file name
+     * @param privilegeName Privilege name
+     * @param licenseeKey Licensee fingerprint
+     * @return Cached {@link AccessPermission}; null if none is cached
+     * @should return put value
+     * @should return null for different licensee
+     * @should return null after ttl expired
+     */
+    public AccessPermission get(String pi, String fileName, String privilegeName, String licenseeKey) {
+        if (pi == null || licenseeKey == null) {
+            return null;
+        }
+        Map<EntryKey, CachedPermission> entries;
+        synchronized (records) {
+            entries = records.get(pi);
+        }
+        if (entries == null) {
+            return null;
+        }
+        EntryKey key = new EntryKey(fileName, privilegeName, licenseeKey);
+        CachedPermission cached = entries.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expires() < System.currentTimeMillis()) {
+            entries.remove(key, cached);
+            return null;
+        }
+
+        return cached.permission();
+    }
+
+    /**
+     * Caches the given decision.
+     *
+     * @param pi Record identifier
+     * @param fileName Content file name
+     * @param privilegeName Privilege name
+     * @param licenseeKey Licensee fingerprint
+     * @param permission {@link AccessPermission} to cache
+     * @should evict least recently used record when full
+     */
+    public void put(String pi, String fileName, String privilegeName, String licenseeKey, AccessPermission permission) {
+        if (pi == null || licenseeKey == null || permission == null) {
+            return;
+        }
+        long expires = System.currentTimeMillis() + getTtlMillis();
+        int max = getMaxRecords();
+        Map<EntryKey, CachedPermission> entries;
+        synchronized (records) {
+            entries = records.computeIfAbsent(pi, k -> new ConcurrentHashMap<>());
+            Iterator<String> iterator = records.keySet().iterator();
+            while (records.size() > max && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        if (entries.size() >= MAX_ENTRIES_PER_RECORD) {
+            entries.clear();
+        }
+        entries.put(new EntryKey(fileName, privilegeName, licenseeKey), new CachedPermission(permission, expires));
+    }
+
+    /**
+     * Returns the cached personal search filter query suffix for the given privilege and licensee, if present and not expired.
+     *
+     * @param privilegeName Privilege name
+     * @param licenseeKey Licensee fingerprint
+     * @return Cached suffix; null if none is cached
+     * @should return put suffix
+     * @should return null for different privilege
+     */
+    public String getFilterQuerySuffix(String privilegeName, String licenseeKey) {
+        if (privilegeName == null || licenseeKey == null) {
+            return null;
+        }
+        SuffixKey key = new SuffixKey(privilegeName, licenseeKey);
+        CachedSuffix cached = filterQuerySuffixes.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.expires() < System.currentTimeMillis()) {
+            filterQuerySuffixes.remove(key, cached);
+            return null;
+        }
+
+        return cached.suffix();
+    }
+
+    /**
+     * Caches the given personal search filter query suffix.
+     *
+     * @param privilegeName Privilege name
+     * @param licenseeKey Licensee fingerprint
+     * @param suffix Filter query suffix to cache
+     */
+    public void putFilterQuerySuffix(String privilegeName, String licenseeKey, String suffix) {
+        if (privilegeName == null || licenseeKey == null || suffix == null) {
+            return;
+        }
+        if (filterQuerySuffixes.size() >= MAX_FILTER_QUERY_SUFFIXES) {
+            filterQuerySuffixes.clear();
+        }
+        filterQuerySuffixes.put(new SuffixKey(privilegeName, licenseeKey), new CachedSuffix(suffix, System.currentTimeMillis() + getTtlMillis()));
+    }
+
+    /**
+     * Drops all cached decisions for the given record.
+     *
+     * @param pi Record identifier
+     * @should remove only given record
+     */
+    public void invalidateRecord(String pi) {
+        if (pi == null) {
+            return;
+        }
+        synchronized (records) {
+            records.remove(pi);
+        }
+    }
+
+    /**
+     * Drops all cached decisions and filter query suffixes for the given user.
+     *
+     * @param userId User ID
+     * @should remove only entries of given user
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        String prefix = "u" + userId + "|";
+        synchronized (records) {
+            for (Map<EntryKey, CachedPermission> entries : records.values()) {
+                entries.keySet().removeIf(key -> key.licenseeKey().startsWith(prefix));
+            }
+        }
+        filterQuerySuffixes.keySet().removeIf(key -> key.licenseeKey().startsWith(prefix));
+    }
+
+    /**
+     * Drops all cached decisions and filter query suffixes for the given client application.
+     *
+     * @param clientId Client application ID
+     * @should remove only entries of given client
+     */
+    public void invalidateClient(Long clientId) {
+        if (clientId == null) {
+            return;
+        }
+        String infix = "|" + clientId + "@";
+        synchronized (records) {
+            for (Map<EntryKey, CachedPermission> entries : records.values()) {
+                entries.keySet().removeIf(key -> key.licenseeKey().contains(infix));
+            }
+        }
+        filterQuerySuffixes.keySet().removeIf(key -> key.licenseeKey().contains(infix));
+    }
+
+    /**
+     * Drops all cached decisions and filter query suffixes. Called by {@code JPADAO} write methods after a successful commit.
+     *
+     * @should remove all records
+     * @should remove all filter query suffixes
+     */
+    public void invalidate() {
+        synchronized (records) {
+            records.clear();
+        }
+        filterQuerySuffixes.clear();
+        logger.trace("Access permission cache cleared.");
+    }
+
+    /**
+     *
+     * @return Number of records with cached decisions
+     */
+    public int getRecordCount() {
+        synchronized (records) {
+            return records.size();
+        }
+    }
+
+    /**
+     * Builds the fingerprint of everything except the record that an access permission decision depends on: the user, the IP ranges matching
+     * the client address, whether the client is localhost and the client application (together with the address, since client applications
+     * can be restricted to subnets).
+     *
+     * @param user Logged in user; may be null
+     * @param ipAddress Client IP address; may be null
+     * @param client Client application of the session
+     * @return Licensee fingerprint; null if no reliable fingerprint can be built
+     * @throws DAOException
+     * @should return same key for anonymous users without address
+     * @should include user id
+     * @should return null for unsaved user
+     * @should include client address for client applications
+     */
+    public static String buildLicenseeKey(User user, String ipAddress, Optional<ClientApplication> client) throws DAOException {
+        StringBuilder sb = new StringBuilder();
+        if (user == null) {
+            sb.append(ANONYMOUS);
+        } else if (user.getId() != null) {
+            sb.append('u').append(user.getId());
+        } else {
+            return null;
+        }
+        sb.append('|');
+        if (StringUtils.isNotEmpty(ipAddress)) {
+            if (NetTools.isIpAddressLocalhost(ipAddress)) {
+                sb.append('L');
+            }
+            for (IpRange ipRange : DataManager.getInstance().getIpRangeCache().getMatchingIpRanges(ipAddress)) {
+                sb.append(ipRange.getId()).append(',');
+            }
+        }
+        sb.append('|');
+        if (client != null && client.isPresent()) {
+            sb.append(client.get().getId()).append('@').append(ipAddress);
+        }
+
+        return sb.toString();
+    }
+
+    private int getMaxRecords() {
+        return maxRecords >= 0 ? maxRecords : DataManager.getInstance().getConfiguration().getAccessPermissionCacheMaxRecords();
+    }
+
+    private long getTtlMillis() {
+        return ttlMillis >= 0 ? ttlMillis : DataManager.getInstance().getConfiguration().getAccessPermissionCacheTtl() * 1000L;
+    }
+
+    private record EntryKey(String fileName, String privilegeName, String licenseeKey) {
+    }
+
+    private record CachedPermission(AccessPermission permission, long expires) {
+    }
+
+    private record SuffixKey(String privilegeName, String licenseeKey) {
+    }
+
+    private record CachedSuffix(String suffix, long expires) {
+    }
+}
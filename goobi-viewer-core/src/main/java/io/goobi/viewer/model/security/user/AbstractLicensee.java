@@ -76,7 +76,28 @@ public abstract class AbstractLicensee implements ILicensee {
             return AccessPermission.granted();
         }
 
-        for (License license : DataManager.getInstance().getDao().getLicenses(this)) {
+        return checkLicenses(DataManager.getInstance().getDao().getLicenses(this), licenseName, privilegeName, pi);
+    }
+
+    /**
+     * Checks whether one of the given licenses is of the given type and grants the given privilege.
+     *
+     * @param licenses Licenses to check
+     * @param licenseName License type name
+     * @param privilegeName Privilege name
+     * @param pi Record identifier for licenses with Solr conditions; may be null
+     * @return {@link AccessPermission} of the first granting license; denied if none grants the privilege
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    static AccessPermission checkLicenses(List<License> licenses, String licenseName, String privilegeName, String pi)
+            throws PresentationException, IndexUnreachableException {
+        // No privilege name given
+        if (StringUtils.isEmpty(privilegeName)) {
+            return AccessPermission.granted();
+        }
+
+        for (License license : licenses) {
             if (license.isValid() && license.getLicenseType().getName().equals(licenseName)) {
                 // LicenseType grants privilege
                 if (license.getLicenseType().getPrivileges().contains(privilegeName)) {
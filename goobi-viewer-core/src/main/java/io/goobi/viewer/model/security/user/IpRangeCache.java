@@ -52,7 +52,7 @@ public class IpRangeCache {
     // on miss a new immutable list is built under loadLock and atomically replaced via a single
     // volatile write (safe-publication idiom, JCIP §3.5.3). Reads stay lock-free.
     @SuppressWarnings("java:S3077")
-    private volatile List<IpRange> cache;
+    private volatile Snapshot cache;
 
     /**
      * Returns all {@link IpRange}s as an immutable list.
@@ -65,7 +65,33 @@ public class IpRangeCache {
      * @should initialise lazy collections
      */
     public List<IpRange> getAllIpRanges() throws DAOException {
-        return snapshot();
+        return snapshot().ipRanges();
+    }
+
+    /**
+     * Returns all {@link IpRange}s whose subnet contains the given address, using an {@link IpRangeMatcher} precompiled from the same
+     * snapshot as {@link #getAllIpRanges()}.
+     *
+     * @param ipAddress client IP address; may be null
+     * @return matching IP ranges in the order of {@link #getAllIpRanges()}; never null
+     * @throws DAOException if the underlying DAO load fails
+     * @should return matching IP ranges
+     * @should return empty list for null address
+     */
+    public List<IpRange> getMatchingIpRanges(String ipAddress) throws DAOException {
+        return snapshot().matcher().getMatchingIpRanges(ipAddress);
+    }
+
+    /**
+     * Returns the {@link IpRangeMatcher} precompiled from the current snapshot, for callers which match the same address against several
+     * collections of licenses.
+     *
+     * @return matcher over {@link #getAllIpRanges()}; never null
+     * @throws DAOException if the underlying DAO load fails
+     * @should return same matcher until invalidated
+     */
+    public IpRangeMatcher getMatcher() throws DAOException {
+        return snapshot().matcher();
     }
 
     /**
@@ -80,8 +106,8 @@ public class IpRangeCache {
         }
     }
 
-    private List<IpRange> snapshot() throws DAOException {
-        List<IpRange> local = this.cache;
+    private Snapshot snapshot() throws DAOException {
+        Snapshot local = this.cache;
         if (local != null) {
             return local;
         }
@@ -89,10 +115,14 @@ public class IpRangeCache {
             local = this.cache;
             if (local == null) {
                 IDAO dao = DataManager.getInstance().getDao();
-                local = List.copyOf(dao.getAllIpRangesHydrated());
+                List<IpRange> ipRanges = List.copyOf(dao.getAllIpRangesHydrated());
+                local = new Snapshot(ipRanges, new IpRangeMatcher(ipRanges));
                 this.cache = local;
             }
             return local;
         }
     }
+
+    private record Snapshot(List<IpRange> ipRanges, IpRangeMatcher matcher) {
+    }
 }
@@ -0,0 +1,205 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security.user;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.goobi.viewer.controller.NetTools;
+
+/**
+ * <p>
+ * Precompiled matcher that finds all {@link IpRange}s containing a given IPv4 address. The subnet masks are parsed once into a binary prefix
+ * trie, so a lookup walks at most 32 nodes regardless of the number of ranges, instead of parsing and testing every range's subnet mask via
+ * {@link IpRange#matchIp(String)}.
+ * </p>
+ *
+ * <p>
+ * Matching semantics are identical to {@link IpRange#matchIp(String)}: only IPv4 CIDR masks are supported, network and broadcast addresses
+ * are included, and the IPv6 localhost address is treated as IPv4 localhost. Ranges with unparseable subnet masks never match.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ */
+public class IpRangeMatcher {
+
+    private final Node root = new Node();
+    private final int size;
+
+    /**
+     *
+     * @param ipRanges IP ranges to match against; the order is preserved in the results of {@link #getMatchingIpRanges(String)}
+     */
+    public IpRangeMatcher(List<IpRange> ipRanges) {
+        int count = 0;
+        for (int i = 0; i < ipRanges.size(); ++i) {
+            IpRange ipRange = ipRanges.get(i);
+            if (ipRange == null || ipRange.getSubnetMask() == null) {
+                continue;
+            }
+            int slash = ipRange.getSubnetMask().indexOf('/');
+            if (slash < 0) {
+                continue;
+            }
+            long address = parseIpv4(ipRange.getSubnetMask().substring(0, slash));
+            int prefixLength = parsePrefixLength(ipRange.getSubnetMask().substring(slash + 1));
+            if (address < 0 || prefixLength < 0) {
+                continue;
+            }
+            Node node = root;
+            for (int bit = 0; bit < prefixLength; ++bit) {
+                int branch = (int) (address >>> (31 - bit)) & 1;
+                if (node.children[branch] == null) {
+                    node.children[branch] = new Node();
+                }
+                node = node.children[branch];
+            }
+            if (node.entries == null) {
+                node.entries = new ArrayList<>(1);
+            }
+            node.entries.add(new Entry(i, ipRange));
+            count++;
+        }
+        this.size = count;
+    }
+
+    /**
+     * Returns all IP ranges whose subnet contains the given address.
+     *
+     * @param ipAddress Client IP address
+     * @return Matching {@link IpRange}s in their original order; empty list if none match or the address is not a valid IPv4 address
+     * @should return all ranges containing address
+     * @should include network and broadcast addresses
+     * @should match IPv6 localhost to IPv4 mask
+     * @should return empty list for invalid address
+     * @should ignore invalid subnet masks
+     * @should preserve original order
+     */
+    public List<IpRange> getMatchingIpRanges(String ipAddress) {
+        if (ipAddress == null) {
+            return Collections.emptyList();
+        }
+        String ip = NetTools.ADDRESS_LOCALHOST_IPV6.equals(ipAddress) ? NetTools.ADDRESS_LOCALHOST_IPV4 : ipAddress;
+        long address = parseIpv4(ip);
+        if (address < 0) {
+            return Collections.emptyList();
+        }
+
+        List<Entry> matches = null;
+        Node node = root;
+        int bit = 0;
+        while (node != null) {
+            if (node.entries != null) {
+                if (matches == null) {
+                    matches = new ArrayList<>(node.entries);
+                } else {
+                    matches.addAll(node.entries);
+                }
+            }
+            if (bit == 32) {
+                break;
+            }
+            node = node.children[(int) (address >>> (31 - bit)) & 1];
+            bit++;
+        }
+        if (matches == null) {
+            return Collections.emptyList();
+        }
+        if (matches.size() > 1) {
+            matches.sort((e1, e2) -> Integer.compare(e1.index(), e2.index()));
+        }
+
+        return matches.stream().map(Entry::ipRange).toList();
+    }
+
+    /**
+     *
+     * @return Number of ranges with a valid subnet mask
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     *
+     * @param s Dotted quad IPv4 address
+     * @return Address as unsigned 32 bit value; -1 if s is not a valid IPv4 address
+     * @should parse valid addresses
+     * @should return -1 for invalid addresses
+     */
+    static long parseIpv4(String s) {
+        long ret = 0;
+        int octets = 0;
+        int value = -1;
+        int digits = 0;
+        for (int i = 0; i <= s.length(); ++i) {
+            char c = i < s.length() ? s.charAt(i) : '.';
+            if (c == '.') {
+                if (value < 0 || value > 255 || octets == 4) {
+                    return -1;
+                }
+                ret = (ret << 8) | value;
+                octets++;
+                value = -1;
+                digits = 0;
+            } else if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 255 || ++digits > 3) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+
+        return octets == 4 ? ret : -1;
+    }
+
+    private static int parsePrefixLength(String s) {
+        if (s.isEmpty() || s.length() > 2) {
+            return -1;
+        }
+        int ret = 0;
+        for (int i = 0; i < s.length(); ++i) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            ret = ret * 10 + (c - '0');
+        }
+
+        return ret <= 32 ? ret : -1;
+    }
+
+    private record Entry(int index, IpRange ipRange) {
+    }
+
+    private static class Node {
+
+        private final Node[] children = new Node[2];
+        /** Ranges ending at this node; null for inner nodes to keep the trie small. */
+        private List<Entry> entries;
+    }
+}
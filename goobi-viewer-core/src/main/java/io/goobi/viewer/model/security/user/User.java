@@ -322,7 +322,7 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
      * @throws io.goobi.viewer.exceptions.DAOException if any.
      */
     public List<UserGroup> getUserGroupOwnerships() throws DAOException {
-        return DataManager.getInstance().getDao().getUserGroups(this);
+        return new ArrayList<>(DataManager.getInstance().getUserEntitlementCache().get(this).getOwnedGroups());
     }
 
     /**
@@ -342,13 +342,7 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
      * @throws io.goobi.viewer.exceptions.DAOException if any.
      */
     public List<UserGroup> getUserGroupsWithMembership() throws DAOException {
-        List<UserGroup> ret = new ArrayList<>();
-        for (UserGroup ug : DataManager.getInstance().getDao().getAllUserGroups()) {
-            if (isGroupMember(ug)) {
-                ret.add(ug);
-            }
-        }
-        return ret;
+        return new ArrayList<>(DataManager.getInstance().getUserEntitlementCache().get(this).getMemberGroups());
     }
 
     /**
@@ -376,8 +370,9 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
      */
     public List<UserGroup> getAllUserGroups() {
         try {
-            List<UserGroup> ret = getUserGroupsWithMembership();
-            ret.addAll(getUserGroupOwnerships());
+            UserEntitlements entitlements = DataManager.getInstance().getUserEntitlementCache().get(this);
+            List<UserGroup> ret = new ArrayList<>(entitlements.getMemberGroups());
+            ret.addAll(entitlements.getOwnedGroups());
             return ret;
         } catch (DAOException e) {
             logger.error("Error getting user groups for user {}", this.id, e);
@@ -418,31 +413,14 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
                 return AccessPermission.granted();
             }
 
+        // Individual, group ownership and group membership licenses from the cached snapshot
+        UserEntitlements entitlements = DataManager.getInstance().getUserEntitlementCache().get(this);
         Map<String, AccessPermission> permissionMap = HashMap.newHashMap(requiredAccessConditions.size());
         for (String accessCondition : requiredAccessConditions) {
-            // Check individual licenses
-            AccessPermission access = hasLicense(accessCondition, privilegeName, pi);
+            AccessPermission access = entitlements.getAccessPermission(accessCondition, privilegeName, pi);
             if (access.isGranted()) {
                 permissionMap.put(accessCondition, access);
-                continue;
-            }
-            // Check group ownership licenses
-            for (UserGroup group : getUserGroupOwnerships()) {
-                access = group.hasLicense(accessCondition, privilegeName, pi);
-                if (access.isGranted()) {
-                    permissionMap.put(accessCondition, access);
-                    break;
-                }
-            }
-            // Check group membership licenses
-            for (UserGroup group : getUserGroupsWithMembership()) {
-                access = group.hasLicense(accessCondition, privilegeName, pi);
-                if (access.isGranted()) {
-                    permissionMap.put(accessCondition, access);
-                    break;
-                }
             }
-
         }
 
         return getAccessPermissionFromMap(permissionMap);
@@ -656,15 +634,7 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
             return true;
         }
 
-        List<License> allLicenses = new ArrayList<>(getLicenses());
-        try {
-            allLicenses.addAll(getUserGroupsWithMembership().stream().flatMap(g -> g.getLicenses().stream()).toList());
-        } catch (DAOException e) {
-            logger.error(e.getMessage(), e);
-        }
-
-        return allLicenses.stream()
-                .anyMatch(license -> LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName()) && license.isPrivCmsAllTemplates());
+        return getCmsLicenses().stream().anyMatch(License::isPrivCmsAllTemplates);
     }
 
     /**
@@ -688,32 +658,8 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
             return true;
         }
 
-        // Check user licenses
-        for (License license : getLicenses()) {
-            if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                continue;
-            }
-            if (license.getAllowedCmsTemplates().contains(template)) {
-                return true;
-            }
-        }
-
-        // Check user group licenses
-        try {
-            for (UserGroup userGroup : getUserGroupsWithMembership()) {
-                for (License license : userGroup.getLicenses()) {
-                    if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                        continue;
-                    }
-                    if (license.getAllowedCmsTemplates().contains(template)) {
-                        return true;
-                    }
-                }
-            }
-        } catch (DAOException e) {
-            logger.error(e.getMessage(), e);
-        }
-        return false;
+        // Check user and user group licenses
+        return getCmsLicenses().stream().anyMatch(license -> license.getAllowedCmsTemplates().contains(template));
     }
 
     /**
@@ -736,11 +682,8 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
         }
 
         Set<CMSPageTemplate> allowedTemplates = HashSet.newHashSet(allTemplates.size());
-        // Check user licenses
-        for (License license : getLicenses()) {
-            if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                continue;
-            }
+        // Check user and user group licenses
+        for (License license : getCmsLicenses()) {
             // If no restriction is set, return all values
             if (license.isPrivCmsAllTemplates()) {
                 return allTemplates;
@@ -749,25 +692,6 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
                 allowedTemplates.addAll(license.getAllowedCmsTemplates());
             }
         }
-        // Check user group licenses
-        try {
-            for (UserGroup userGroup : getUserGroupsWithMembership()) {
-                for (License license : userGroup.getLicenses()) {
-                    if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                        continue;
-                    }
-                    // If no restriction is set, return all values
-                    if (license.isPrivCmsAllTemplates()) {
-                        return allTemplates;
-                    }
-                    if (!license.getAllowedCmsTemplates().isEmpty()) {
-                        allowedTemplates.addAll(license.getAllowedCmsTemplates());
-                    }
-                }
-            }
-        } catch (DAOException e) {
-            logger.error(e.getMessage(), e);
-        }
         // allowedTemplateIds.add("template_general_generic");
         if (allowedTemplates.isEmpty()) {
             return Collections.emptyList();
@@ -800,15 +724,7 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
             return true;
         }
 
-        List<License> allLicenses = new ArrayList<>(getLicenses());
-        try {
-            allLicenses.addAll(getUserGroupsWithMembership().stream().flatMap(g -> g.getLicenses().stream()).toList());
-        } catch (DAOException e) {
-            logger.error(e.getMessage(), e);
-        }
-
-        return allLicenses.stream()
-                .anyMatch(license -> LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName()) && license.isPrivCmsAllCategories());
+        return getCmsLicenses().stream().anyMatch(License::isPrivCmsAllCategories);
     }
 
     /**
@@ -831,11 +747,8 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
         }
 
         List<CMSCategory> ret = new ArrayList<>(allCategories.size());
-        // Check user licenses
-        for (License license : getLicenses()) {
-            if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                continue;
-            }
+        // Check user and user group licenses
+        for (License license : getCmsLicenses()) {
             // If no restriction is set, return all values
             if (license.isPrivCmsAllCategories()) {
                 return allCategories;
@@ -844,25 +757,6 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
                 ret.addAll(license.getAllowedCategories());
             }
         }
-        // Check user group licenses
-        try {
-            for (UserGroup userGroup : getUserGroupsWithMembership()) {
-                for (License license : userGroup.getLicenses()) {
-                    if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                        continue;
-                    }
-                    // If no restriction is set, return all values
-                    if (license.isPrivCmsAllCategories()) {
-                        return allCategories;
-                    }
-                    if (!license.getAllowedCategories().isEmpty()) {
-                        ret.addAll(license.getAllowedCategories());
-                    }
-                }
-            }
-        } catch (DAOException e) {
-            logger.error(e.getMessage(), e);
-        }
 
         return ret;
     }
@@ -884,15 +778,7 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
             return true;
         }
 
-        List<License> allLicenses = new ArrayList<>(getLicenses());
-        try {
-            allLicenses.addAll(getUserGroupsWithMembership().stream().flatMap(g -> g.getLicenses().stream()).toList());
-        } catch (DAOException e) {
-            logger.error(e.getMessage(), e);
-        }
-
-        return allLicenses.stream()
-                .anyMatch(license -> LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName()) && license.isPrivCmsAllSubthemes());
+        return getCmsLicenses().stream().anyMatch(License::isPrivCmsAllSubthemes);
     }
 
     /**
@@ -915,11 +801,15 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
         }
 
         List<String> ret = new ArrayList<>(rawValues.size());
+        UserEntitlements entitlements;
+        try {
+            entitlements = DataManager.getInstance().getUserEntitlementCache().get(this);
+        } catch (DAOException e) {
+            logger.error(e.getMessage(), e);
+            return ret;
+        }
         // Check user licenses
-        for (License license : getLicenses()) {
-            if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                continue;
-            }
+        for (License license : entitlements.getUserLicenses(LicenseType.LICENSE_TYPE_CMS)) {
             // If no restriction is set, return all values
             if (license.isPrivCmsAllSubthemes()) {
                 return rawValues;
@@ -929,28 +819,36 @@ public class User extends AbstractLicensee implements HttpSessionBindingListener
             }
         }
         // Check user group licenses
-        try {
-            for (UserGroup userGroup : getUserGroupsWithMembership()) {
-                for (License license : userGroup.getLicenses()) {
-                    if (!LicenseType.LICENSE_TYPE_CMS.equals(license.getLicenseType().getName())) {
-                        continue;
-                    }
-                    // If no restriction is set, return all values
-                    if (license.isPrivCmsAllSubthemes()) {
-                        return rawValues;
-                    }
-                    if (license.isPrivCmsAllTemplates() || !license.getAllowedCmsTemplates().isEmpty()) {
-                        ret.addAll(license.getSubthemeDiscriminatorValues());
-                    }
-                }
+        for (License license : entitlements.getMemberGroupLicenses(LicenseType.LICENSE_TYPE_CMS)) {
+            // If no restriction is set, return all values
+            if (license.isPrivCmsAllSubthemes()) {
+                return rawValues;
+            }
+            if (license.isPrivCmsAllTemplates() || !license.getAllowedCmsTemplates().isEmpty()) {
+                ret.addAll(license.getSubthemeDiscriminatorValues());
             }
-        } catch (DAOException e) {
-            logger.error(e.getMessage(), e);
         }
 
         return ret;
     }
 
+    /**
+     * Returns the CMS licenses of this user and of the groups in which this user holds a membership from the cached {@link UserEntitlements}.
+     *
+     * @return CMS licenses of this user, followed by those of the groups with membership; empty if they cannot be loaded
+     */
+    private List<License> getCmsLicenses() {
+        try {
+            UserEntitlements entitlements = DataManager.getInstance().getUserEntitlementCache().get(this);
+            List<License> ret = new ArrayList<>(entitlements.getUserLicenses(LicenseType.LICENSE_TYPE_CMS));
+            ret.addAll(entitlements.getMemberGroupLicenses(LicenseType.LICENSE_TYPE_CMS));
+            return ret;
+        } catch (DAOException e) {
+            logger.error(e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Getter for the field <code>id</code>.
      *
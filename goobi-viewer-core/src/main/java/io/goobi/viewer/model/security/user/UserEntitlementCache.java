@@ -0,0 +1,121 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security.user;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.exceptions.DAOException;
+
+/**
+ * <p>
+ * Application-scoped cache for {@link UserEntitlements}, keyed by user ID. Each snapshot is built on the first privilege check after login or
+ * after a change and then shared by all access paths and sessions of the user.
+ * </p>
+ *
+ * <p>
+ * {@code JPADAO} write methods for users, user groups, user roles, licenses and license types invalidate the affected entries after a
+ * successful commit. Snapshots that were being built while an invalidation happened are discarded.
+ * </p>
+ */
+public class UserEntitlementCache {
+
+    private static final Logger logger = LogManager.getLogger(UserEntitlementCache.class);
+
+    /** Upper bound for cached snapshots; all snapshots are dropped once it is reached. */
+    static final int MAX_ENTRIES = 10000;
+
+    private final Map<Long, UserEntitlements> entries = new ConcurrentHashMap<>();
+    /** Incremented on every invalidation. */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Returns the entitlements of the given user, loading them on the first request.
+     *
+     * @param user User whose entitlements to return
+     * @return {@link UserEntitlements} of the user
+     * @throws DAOException
+     * @should return same instance on second call
+     * @should not cache unsaved user
+     * @should reload after invalidation
+     */
+    public UserEntitlements get(User user) throws DAOException {
+        if (user.getId() == null) {
+            return UserEntitlements.build(user, DataManager.getInstance().getDao());
+        }
+        UserEntitlements ret = entries.get(user.getId());
+        if (ret != null) {
+            return ret;
+        }
+
+        long gen = generation.get();
+        ret = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        if (gen == generation.get()) {
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+            entries.put(user.getId(), ret);
+            // An invalidation may have happened between the check and the put
+            if (gen != generation.get()) {
+                entries.remove(user.getId(), ret);
+            }
+        }
+
+        return ret;
+    }
+
+    /**
+     * Drops the snapshot of the given user.
+     *
+     * @param userId User ID
+     * @should remove only given user
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        generation.incrementAndGet();
+        entries.remove(userId);
+    }
+
+    /**
+     * Drops all snapshots. Called by {@code JPADAO} write methods after a successful commit.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+        logger.trace("User entitlement cache cleared.");
+    }
+
+    /**
+     *
+     * @return Number of cached snapshots
+     */
+    public int getSize() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security.user;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.goobi.viewer.dao.IDAO;
+import io.goobi.viewer.exceptions.DAOException;
+import io.goobi.viewer.exceptions.IndexUnreachableException;
+import io.goobi.viewer.exceptions.PresentationException;
+import io.goobi.viewer.model.security.AccessPermission;
+import io.goobi.viewer.model.security.License;
+
+/**
+ * <p>
+ * Immutable snapshot of everything a user is entitled to through the database: the groups the user owns or is a member of and the licenses of
+ * the user and of these groups, indexed by license type name. Built by {@link UserEntitlementCache} with one query per group instead of scanning
+ * all user groups and their memberships on every privilege check.
+ * </p>
+ *
+ * <p>
+ * License validity (date windows) and Solr conditions are still evaluated on each check, since they depend on the current time and the record.
+ * </p>
+ */
+public final class UserEntitlements {
+
+    private final Long userId;
+    private final List<UserGroup> ownedGroups;
+    private final List<UserGroup> memberGroups;
+    private final Set<Long> groupIds;
+    /** Licenses of the user, by license type name. */
+    private final Map<String, List<License>> userLicenses;
+    /** Licenses of owned groups in group order, by license type name. */
+    private final Map<String, List<License>> ownedGroupLicenses;
+    /** Licenses of groups with membership in group order, by license type name. */
+    private final Map<String, List<License>> memberGroupLicenses;
+
+    private UserEntitlements(Long userId, List<UserGroup> ownedGroups, List<UserGroup> memberGroups, Map<String, List<License>> userLicenses,
+            Map<String, List<License>> ownedGroupLicenses, Map<String, List<License>> memberGroupLicenses) {
+        this.userId = userId;
+        this.ownedGroups = Collections.unmodifiableList(ownedGroups);
+        this.memberGroups = Collections.unmodifiableList(memberGroups);
+        Set<Long> ids = new HashSet<>();
+        for (UserGroup group : ownedGroups) {
+            ids.add(group.getId());
+        }
+        for (UserGroup group : memberGroups) {
+            ids.add(group.getId());
+        }
+        this.groupIds = Collections.unmodifiableSet(ids);
+        this.userLicenses = userLicenses;
+        this.ownedGroupLicenses = ownedGroupLicenses;
+        this.memberGroupLicenses = memberGroupLicenses;
+    }
+
+    /**
+     * Loads the entitlements of the given user from the given DAO.
+     *
+     * @param user User whose entitlements to load
+     * @param dao DAO to load from
+     * @return New {@link UserEntitlements}
+     * @throws DAOException
+     * @should load owned and member groups
+     * @should index licenses by license type name
+     * @should return empty entitlements for unsaved user
+     */
+    static UserEntitlements build(User user, IDAO dao) throws DAOException {
+        if (user.getId() == null) {
+            // Unsaved users cannot own groups, be members or hold licenses
+            return new UserEntitlements(null, new ArrayList<>(), new ArrayList<>(), new HashMap<>(), new HashMap<>(), new HashMap<>());
+        }
+        List<UserGroup> ownedGroups = new ArrayList<>(dao.getUserGroups(user));
+        List<UserGroup> memberGroups = new ArrayList<>();
+        for (UserRole membership : dao.getUserRoles(null, user, null)) {
+            UserGroup group = membership.getUserGroup();
+            if (group != null && !memberGroups.contains(group)) {
+                memberGroups.add(group);
+            }
+        }
+
+        Map<String, List<License>> userLicenses = new HashMap<>();
+        indexLicenses(dao.getLicenses(user), userLicenses);
+        Map<String, List<License>> ownedGroupLicenses = new HashMap<>();
+        for (UserGroup group : ownedGroups) {
+            indexLicenses(dao.getLicenses(group), ownedGroupLicenses);
+        }
+        Map<String, List<License>> memberGroupLicenses = new HashMap<>();
+        for (UserGroup group : memberGroups) {
+            indexLicenses(dao.getLicenses(group), memberGroupLicenses);
+        }
+
+        return new UserEntitlements(user.getId(), ownedGroups, memberGroups, userLicenses, ownedGroupLicenses, memberGroupLicenses);
+    }
+
+    /**
+     * 
+     * @param licenses Licenses to add
+     * @param index Map of license type names to licenses
+     */
+    private static void indexLicenses(List<License> licenses, Map<String, List<License>> index) {
+        for (License license : licenses) {
+            if (license.getLicenseType() != null) {
+                index.computeIfAbsent(license.getLicenseType().getName(), k -> new ArrayList<>()).add(license);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the user holds a license of the given type with the given privilege, either directly or through an owned group or a group
+     * membership. A grant from a group membership takes precedence over one from an owned group.
+     *
+     * @param licenseTypeName License type name (access condition)
+     * @param privilegeName Privilege name
+     * @param pi Record identifier for licenses with Solr conditions; may be null
+     * @return {@link AccessPermission}
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @should grant privilege from user license
+     * @should grant privilege from group license
+     * @should deny privilege without license
+     */
+    public AccessPermission getAccessPermission(String licenseTypeName, String privilegeName, String pi)
+            throws PresentationException, IndexUnreachableException {
+        AccessPermission access = AbstractLicensee.checkLicenses(getLicenses(userLicenses, licenseTypeName), licenseTypeName, privilegeName, pi);
+        if (access.isGranted()) {
+            return access;
+        }
+        access = AbstractLicensee.checkLicenses(getLicenses(memberGroupLicenses, licenseTypeName), licenseTypeName, privilegeName, pi);
+        if (access.isGranted()) {
+            return access;
+        }
+
+        return AbstractLicensee.checkLicenses(getLicenses(ownedGroupLicenses, licenseTypeName), licenseTypeName, privilegeName, pi);
+    }
+
+    private static List<License> getLicenses(Map<String, List<License>> index, String licenseTypeName) {
+        return index.getOrDefault(licenseTypeName, Collections.emptyList());
+    }
+
+    /**
+     * @param licenseTypeName License type name
+     * @return Read-only list of the user's own licenses of the given type
+     * @should return licenses of given type
+     */
+    public List<License> getUserLicenses(String licenseTypeName) {
+        return Collections.unmodifiableList(getLicenses(userLicenses, licenseTypeName));
+    }
+
+    /**
+     * @param licenseTypeName License type name
+     * @return Read-only list of the licenses of the given type held by groups in which the user holds a membership, in group order
+     * @should return licenses of given type
+     */
+    public List<License> getMemberGroupLicenses(String licenseTypeName) {
+        return Collections.unmodifiableList(getLicenses(memberGroupLicenses, licenseTypeName));
+    }
+
+    /**
+     * @return ID of the user this snapshot belongs to
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return Read-only list of groups owned by the user
+     */
+    public List<UserGroup> getOwnedGroups() {
+        return ownedGroups;
+    }
+
+    /**
+     * @return Read-only list of groups in which the user holds a membership
+     */
+    public List<UserGroup> getMemberGroups() {
+        return memberGroups;
+    }
+
+    /**
+     * @return Read-only set of the IDs of all owned groups and groups with membership
+     */
+    public Set<Long> getGroupIds() {
+        return groupIds;
+    }
+}
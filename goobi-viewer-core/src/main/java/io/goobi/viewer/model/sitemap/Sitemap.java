@@ -23,57 +23,71 @@ package io.goobi.viewer.model.sitemap;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.solr.client.solrj.response.QueryResponse;
 import org.apache.solr.common.SolrDocument;
-import org.jdom2.Document;
-import org.jdom2.Element;
-import org.jdom2.Namespace;
 
 import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.controller.DateTools;
-import io.goobi.viewer.controller.FileTools;
-import io.goobi.viewer.controller.XmlTools;
 import io.goobi.viewer.exceptions.DAOException;
 import io.goobi.viewer.exceptions.IndexUnreachableException;
 import io.goobi.viewer.exceptions.PresentationException;
 import io.goobi.viewer.model.cms.pages.CMSPage;
 import io.goobi.viewer.model.search.SearchHelper;
+import io.goobi.viewer.model.sitemap.SitemapManifest.FileEntry;
+import io.goobi.viewer.model.sitemap.SitemapManifest.Segment;
 import io.goobi.viewer.model.viewer.PageType;
 import io.goobi.viewer.model.viewer.StringPair;
 import io.goobi.viewer.solr.SolrConstants;
 import io.goobi.viewer.solr.SolrConstants.DocType;
-import io.goobi.viewer.solr.SolrSearchIndex;
+import io.goobi.viewer.solr.SolrDocumentCursor;
+import io.goobi.viewer.solr.SolrTools;
 
 /**
- * Sitemap generation.
+ * Sitemap generation. Records are read from Solr via a cursor and their URLs are streamed directly into gzip-compressed sitemap files, so
+ * neither the full result set nor the XML documents are ever held in memory.
+ *
+ * <p>
+ * A {@link SitemapManifest} kept in the viewer's temp folder allows incremental regeneration: only the files of those DATECREATED segments
+ * are rewritten which contain records updated since the last run (according to DATEUPDATED) or whose record count has changed. Records
+ * without DATECREATED are always written to the first segment.
+ * </p>
  */
 public class Sitemap {
 
     private static final Logger logger = LogManager.getLogger(Sitemap.class);
 
-    static final Namespace NS_SITEMAP = Namespace.getNamespace(null, "http://www.sitemaps.org/schemas/sitemap/0.9");
+    static final String INDEX_FILE_NAME = "sitemap_index.xml";
+
+    /**
+     * DATEUPDATED values are set by the indexer, whose clock may differ from the viewer's. Records updated up to this many milliseconds before
+     * the last run are treated as changed.
+     */
+    private static final long CHANGE_DETECTION_MARGIN = 3600000L;
 
-    private String viewerRootUrl = "http://localhost:8080/viewer";
-    private Document docIndex = new Document();
-    private List<Document> docListSitemap = new ArrayList<>();
+    private static final List<String> RECORD_FIELDS = Arrays.asList(SolrConstants.PI, SolrConstants.DATECREATED, SolrConstants.DATEUPDATED,
+            SolrConstants.FULLTEXTAVAILABLE, SolrConstants.DOCTYPE, SolrConstants.ISANCHOR, SolrConstants.THUMBPAGENO);
+    private static final List<String> PAGE_FIELDS = Collections.singletonList(SolrConstants.ORDER);
 
-    private int index = -1;
-    private Document currentDocSitemap = null;
-    private Element eleCurrectIndexSitemap = null;
+    private String viewerRootUrl = "http://localhost:8080/viewer/";
+    private int nextFileNumber = 1;
+    private boolean interrupted = false;
 
     /**
-     * Generates sitemap files and writes them to the given outputPath (or web root).
+     * Generates sitemap files and writes them to the given outputPath (or web root). Only changed files are rewritten if incremental sitemap
+     * updates are enabled and the files of a previous run exist.
      *
      * @param viewerRootUrl Root URL of the Goobi viewer instance
      * @param outputPath Destination folder path for the sitemap files.
@@ -82,307 +96,416 @@ public class Sitemap {
      * @throws io.goobi.viewer.exceptions.PresentationException if any.
      * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
      * @throws io.goobi.viewer.exceptions.DAOException if any.
-     * @should sitemap
+     * @should create sitemap files
      */
     public List<File> generate(String viewerRootUrl, String outputPath)
             throws IOException, PresentationException, IndexUnreachableException, DAOException {
+        return generate(viewerRootUrl, outputPath, DataManager.getInstance().getConfiguration().isSitemapIncrementalUpdate());
+    }
+
+    /**
+     * Generates sitemap files and writes them to the given outputPath (or web root).
+     *
+     * @param viewerRootUrl Root URL of the Goobi viewer instance
+     * @param outputPath Destination folder path for the sitemap files.
+     * @param incremental If true, only files of changed segments are rewritten if a previous manifest exists
+     * @return File list
+     * @throws java.io.IOException if any.
+     * @throws io.goobi.viewer.exceptions.PresentationException if any.
+     * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
+     * @throws io.goobi.viewer.exceptions.DAOException if any.
+     */
+    public List<File> generate(String viewerRootUrl, String outputPath, boolean incremental)
+            throws IOException, PresentationException, IndexUnreachableException, DAOException {
+        return generate(viewerRootUrl, outputPath, incremental, SitemapManifest.getDefaultFile());
+    }
+
+    /**
+     * Generates sitemap files and writes them to the given outputPath (or web root).
+     *
+     * @param viewerRootUrl Root URL of the Goobi viewer instance
+     * @param outputPath Destination folder path for the sitemap files.
+     * @param incremental If true, only files of changed segments are rewritten if a previous manifest exists
+     * @param manifestFile File in which the {@link SitemapManifest} is kept between runs
+     * @return File list
+     * @throws IOException
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @throws DAOException
+     */
+    List<File> generate(String viewerRootUrl, String outputPath, boolean incremental, File manifestFile)
+            throws IOException, PresentationException, IndexUnreachableException, DAOException {
         setViewerRootUrl(viewerRootUrl);
+        File outputDir = new File(outputPath);
+        String absoluteOutputPath = outputDir.getAbsolutePath();
+        long runStart = System.currentTimeMillis();
+        interrupted = false;
+
+        // Manifests of older versions were written into the public sitemap folder
+        Files.deleteIfExists(new File(outputDir, SitemapManifest.FILE_NAME).toPath());
+
+        SitemapManifest previous = SitemapManifest.load(manifestFile);
+        if (previous != null && !Objects.equals(absoluteOutputPath, previous.getOutputPath())) {
+            // Manifest describes files in a different folder
+            previous = null;
+        }
+        SitemapManifest manifest = null;
+        if (incremental && previous != null && Objects.equals(this.viewerRootUrl, previous.getViewerRootUrl())) {
+            manifest = updateIncrementally(outputDir, previous, runStart);
+        }
+        if (manifest == null) {
+            logger.info("Sitemap: generating all sitemap files...");
+            nextFileNumber = 1;
+            List<FileEntry> cmsFiles = writeCmsPages(outputDir, null);
+            List<Segment> segments = writeRecords(outputDir, getRecordQuery(), null, null);
+            manifest = new SitemapManifest(this.viewerRootUrl, absoluteOutputPath, runStart, nextFileNumber, cmsFiles, segments);
+        }
+
+        logger.info("Sitemap: writing sitemap index to '{}'...", outputPath);
+        List<FileEntry> files = manifest.getAllFiles();
+        File indexFile = new File(outputDir, INDEX_FILE_NAME);
+        SitemapWriter.writeIndex(indexFile, this.viewerRootUrl, files);
+        if (previous != null) {
+            deleteObsoleteFiles(outputDir, previous, manifest);
+        }
+        if (interrupted) {
+            // Partially written; make sure the next run starts from scratch
+            SitemapManifest.delete(manifestFile);
+        } else {
+            manifest.save(manifestFile);
+        }
+
+        List<File> ret = new ArrayList<>(files.size() + 1);
+        ret.add(indexFile);
+        for (FileEntry file : files) {
+            ret.add(new File(outputDir, file.name()));
+        }
+        return ret;
+    }
+
+    /**
+     * Rewrites the CMS page files and all record segments changed since the previous run.
+     *
+     * @param outputDir Sitemap folder
+     * @param previous Manifest of the previous run
+     * @param runStart Start time of this run
+     * @return Updated {@link SitemapManifest}; null if an incremental update is not possible
+     * @throws IOException
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    SitemapManifest updateIncrementally(File outputDir, SitemapManifest previous, long runStart)
+            throws IOException, PresentationException, IndexUnreachableException {
+        List<Segment> segments = previous.getSegments();
+        if (segments.isEmpty()) {
+            return null;
+        }
+        String recordQuery = getRecordQuery();
+        boolean[] dirty = new boolean[segments.size()];
+
+        // Records updated since the last run, including deleted ones
+        String changedQuery = "+" + SolrConstants.PI + ":* +" + SolrConstants.DATEUPDATED + ":[" + (previous.getLastRun() - CHANGE_DETECTION_MARGIN)
+                + " TO *]";
+        SolrDocumentCursor cursor = DataManager.getInstance()
+                .getSearchIndex()
+                .openCursor(changedQuery, null, Collections.singletonList(SolrConstants.DATECREATED), null);
+        while (cursor.hasNext()) {
+            Long dateCreated = SolrTools.getSingleFieldLongValue(cursor.next(), SolrConstants.DATECREATED);
+            // Records without DATECREATED belong to the first segment
+            dirty[dateCreated != null ? previous.findSegmentIndex(dateCreated) : 0] = true;
+        }
 
-        // Sitemap index root
-        docIndex.setRootElement(new Element("sitemapindex", NS_SITEMAP));
+        // Records removed from the index or no longer listable since the last run
+        for (int i = 0; i < segments.size(); ++i) {
+            if (!dirty[i]
+                    && DataManager.getInstance().getSearchIndex().getHitCount(getSegmentQuery(recordQuery, segments, i)) != segments.get(i)
+                            .getRecordCount()) {
+                dirty[i] = true;
+            }
+        }
 
-        index = -1;
-        long timestampModified = 0;
-        if (index == -1) {
-            increment(timestampModified);
+        nextFileNumber = previous.getNextFileNumber();
+        List<FileEntry> cmsFiles = writeCmsPages(outputDir, fileNames(previous.getCmsFiles()));
+        List<Segment> newSegments = new ArrayList<>(segments.size());
+        int rewritten = 0;
+        for (int i = 0; i < segments.size(); ++i) {
+            Segment segment = segments.get(i);
+            if (dirty[i] && !interrupted) {
+                newSegments.addAll(
+                        writeRecords(outputDir, getSegmentQuery(recordQuery, segments, i), fileNames(segment.getFiles()), segment.getFromCreated()));
+                rewritten++;
+            } else {
+                newSegments.add(segment);
+            }
         }
+        logger.info("Sitemap: rewrote {} of {} record segments.", rewritten, segments.size());
+
+        return new SitemapManifest(this.viewerRootUrl, previous.getOutputPath(), runStart, nextFileNumber, cmsFiles, newSegments);
+    }
 
-        // CMS pages
-        try {
-            List<CMSPage> pages = DataManager.getInstance().getDao().getAllCMSPages();
-            if (!pages.isEmpty()) {
-                for (CMSPage page : pages) {
-                    String url = viewerRootUrl + "/" + page.getRelativeUrlPath();
-                    String dateUpdated = "";
+    /**
+     * Writes URLs for all CMS pages.
+     *
+     * @param outputDir Sitemap folder
+     * @param reusableFileNames File names to use before allocating new ones; may be null
+     * @return Written files
+     * @throws IOException
+     */
+    private List<FileEntry> writeCmsPages(File outputDir, Deque<String> reusableFileNames) throws IOException {
+        try (SitemapWriter writer = new SitemapWriter(outputDir, () -> nextFileName(reusableFileNames))) {
+            try {
+                for (CMSPage page : DataManager.getInstance().getDao().getAllCMSPages()) {
+                    long lastModified = 0;
                     if (page.getDateUpdated() != null) {
-                        dateUpdated = DateTools.format(page.getDateUpdated(), DateTools.FORMATTERISO8601DATE, false);
+                        lastModified = DateTools.getMillisFromLocalDateTime(page.getDateUpdated(), false);
                     } else if (page.getDateCreated() != null) {
-                        DateTools.format(page.getDateCreated(), DateTools.FORMATTERISO8601DATE, false);
+                        lastModified = DateTools.getMillisFromLocalDateTime(page.getDateCreated(), false);
                     }
-                    currentDocSitemap.getRootElement().addContent(createUrlElement(url, dateUpdated, "weekly", "0.5"));
-                    increment(timestampModified);
+                    writer.writeUrl(viewerRootUrl + page.getRelativeUrlPath(), lastModified);
                     logger.debug("Sitemap: added CMS page: {}", page.getTitle());
                 }
+            } catch (DAOException e) {
+                logger.warn("Sitemap: unable to read DAO, cannot include cms pages in sitemap", e);
             }
-        } catch (DAOException e) {
-            logger.warn("Sitemap: unable to read DAO, cannot include cms pages in sitemap", e);
+            writer.close();
+            return writer.getWrittenFiles();
         }
+    }
 
-        // Create query that filters out blacklisted collections and any records that do not allow listing by default
-        // (ignore any individual agent's privileges for the sitemap).
-        StringBuilder sbQuery = new StringBuilder();
-        sbQuery.append(SolrConstants.PI)
-                .append(":* AND NOT(")
-                .append(SolrConstants.DATEDELETED)
-                .append(":*)")
-                .append(SearchHelper.getAllSuffixes(null, true, true));
-        logger.debug("Sitemap: sitemap query: {}", sbQuery);
-        String[] fields = { SolrConstants.PI, SolrConstants.DATECREATED, SolrConstants.DATEUPDATED, SolrConstants.FULLTEXTAVAILABLE,
-                SolrConstants.DOCTYPE, SolrConstants.ISANCHOR, SolrConstants.THUMBPAGENO };
-        String[] pageFields = { SolrConstants.ORDER };
-
-        QueryResponse qr = DataManager.getInstance()
+    /**
+     * Streams the URLs of all records matching the given query into sitemap files. A new segment is started whenever the next record would
+     * no longer fit into the current file and its DATECREATED value differs from the previous record's, so that segments can later be
+     * regenerated independently by their DATECREATED range. Matching records without DATECREATED are written first, so that they always end up
+     * in the first segment, regardless of where the index sorts missing values.
+     *
+     * @param outputDir Sitemap folder
+     * @param query Record query
+     * @param reusableFileNames File names to use before allocating new ones; may be null
+     * @param rangeFrom DATECREATED lower bound to use for the first segment; if null, the first record's value is used
+     * @return Written segments
+     * @throws IOException
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private List<Segment> writeRecords(File outputDir, String query, Deque<String> reusableFileNames, Long rangeFrom)
+            throws IOException, PresentationException, IndexUnreachableException {
+        logger.debug("Sitemap: sitemap query: {}", query);
+        List<StringPair> sortFields = Collections.singletonList(new StringPair(SolrConstants.DATECREATED, "asc"));
+        Deque<SolrDocumentCursor> cursors = new ArrayDeque<>(2);
+        cursors.add(DataManager.getInstance()
                 .getSearchIndex()
-                .search(sbQuery.toString(), 0, SolrSearchIndex.MAX_HITS, Collections.singletonList(new StringPair(SolrConstants.DATECREATED, "asc")),
-                        null, null, Arrays.asList(fields), null, null);
-        logger.debug("Sitemap: found {} records.", qr.getResults().size());
+                .openCursor("(" + query + ") AND -" + SolrConstants.DATECREATED + ":*", null, RECORD_FIELDS, null));
+        cursors.add(DataManager.getInstance()
+                .getSearchIndex()
+                .openCursor("(" + query + ") AND " + SolrConstants.DATECREATED + ":*", sortFields, RECORD_FIELDS, null));
 
-        long latestTimestampModified = 0;
+        List<Segment> ret = new ArrayList<>();
+        SitemapWriter writer = null;
+        long segmentFrom = 0;
+        int segmentRecordCount = 0;
+        Long previousDateCreated = null;
         int recordIndex = 0;
         long start = System.nanoTime();
-        for (SolrDocument solrDoc : qr.getResults()) {
+        while (!cursors.isEmpty()) {
+            if (!cursors.peek().hasNext()) {
+                cursors.poll();
+                continue;
+            }
             if (Thread.interrupted()) {
+                interrupted = true;
                 break;
             }
-            String pi = (String) solrDoc.getFieldValue(SolrConstants.PI);
-            String dateModified = null;
-            Collection<Object> dateUpdatedValues = solrDoc.getFieldValues(SolrConstants.DATEUPDATED);
-            if (dateUpdatedValues != null && !dateUpdatedValues.isEmpty()) {
-                // Get latest DATEUPDATED values
-                for (Object dateUpdated : dateUpdatedValues) {
-                    if (((long) dateUpdated) > timestampModified) {
-                        timestampModified = (long) dateUpdated;
-                    }
-                }
-                dateModified =
-                        DateTools.format(DateTools.getLocalDateTimeFromMillis(timestampModified, false), DateTools.FORMATTERISO8601DATE, false);
-                if (timestampModified > latestTimestampModified) {
-                    latestTimestampModified = timestampModified;
-                    eleCurrectIndexSitemap.getChild("lastmod", NS_SITEMAP).setText(dateModified);
-                    //                        logger.debug("Sitemap: set latest modified date: " + dateModified);
-                }
+            SolrDocument solrDoc = cursors.peek().next();
+            Long dateCreated = SolrTools.getSingleFieldLongValue(solrDoc, SolrConstants.DATECREATED);
+            List<SitemapUrl> urls = getRecordUrls(solrDoc);
+            if (writer == null) {
+                writer = new SitemapWriter(outputDir, () -> nextFileName(reusableFileNames));
+                segmentFrom = rangeFrom != null ? rangeFrom : Objects.requireNonNullElse(dateCreated, 0L);
+            } else if (writer.getUrlCount() + urls.size() > SitemapWriter.MAX_URLS_PER_FILE && dateCreated != null
+                    && !dateCreated.equals(previousDateCreated)) {
+                writer.close();
+                ret.add(new Segment(segmentFrom, segmentRecordCount, writer.getWrittenFiles()));
+                writer = new SitemapWriter(outputDir, () -> nextFileName(reusableFileNames));
+                segmentFrom = dateCreated;
+                segmentRecordCount = 0;
             }
-            if (solrDoc.getFieldValue(SolrConstants.ISANCHOR) != null && (Boolean) solrDoc.getFieldValue(SolrConstants.ISANCHOR)) {
-                // Anchor
-
-                // Anchor TOC URL
-                currentDocSitemap.getRootElement().addContent(createUrlElement(pi, 1, dateModified, PageType.viewToc.getName(), "weekly", "0.5"));
-                increment(timestampModified);
-
-                // Anchor metadata URL
-                currentDocSitemap.getRootElement()
-                        .addContent(createUrlElement(pi, 1, dateModified, PageType.viewMetadata.getName(), "weekly", "0.5"));
-                increment(timestampModified);
-            } else if (DocType.GROUP.toString().equals(solrDoc.getFieldValue(SolrConstants.DOCTYPE))) {
-                // Group
-
-                // Group TOC URL
-                currentDocSitemap.getRootElement().addContent(createUrlElement(pi, 1, dateModified, PageType.viewToc.getName(), "weekly", "0.5"));
-                increment(timestampModified);
-            } else {
-                // RECORD
-                // Record object URL (representative page)
-                int recOrder = solrDoc.containsKey(SolrConstants.THUMBPAGENO) ? (int) solrDoc.getFieldValue(SolrConstants.THUMBPAGENO) : 1;
-                currentDocSitemap.getRootElement()
-                        .addContent(createUrlElement(pi, recOrder, dateModified, PageType.viewObject.getName(), "weekly", "0.5"));
-                increment(timestampModified);
-
-                // Record metadata URL
-                currentDocSitemap.getRootElement()
-                        .addContent(createUrlElement(pi, 1, dateModified, PageType.viewMetadata.getName(), "weekly", "0.5"));
-                increment(timestampModified);
-
-                // Record TOC URL
-                currentDocSitemap.getRootElement().addContent(createUrlElement(pi, 1, dateModified, PageType.viewToc.getName(), "weekly", "0.5"));
-                increment(timestampModified);
-
-                QueryResponse qrPages;
-                // PAGES
-                StringBuilder sbPagesQuery = new StringBuilder();
-                sbPagesQuery.append(SolrConstants.PI_TOPSTRUCT)
-                        .append(':')
-                        .append(pi)
-                        .append(" AND ")
-                        .append(SolrConstants.DOCTYPE)
-                        .append(':')
-                        .append(SolrConstants.DocType.PAGE)
-                        .append(" AND ")
-                        .append(SolrConstants.FULLTEXTAVAILABLE)
-                        .append(":true");
-                // logger.trace("Sitemap: pages query: {}", sbPagesQuery.toString()); //NOSONAR Debug
-                qrPages = DataManager.getInstance()
-                        .getSearchIndex()
-                        .search(sbPagesQuery.toString(), 0, SolrSearchIndex.MAX_HITS,
-                                Collections.singletonList(new StringPair(SolrConstants.ORDER, "asc")), null, null, Arrays.asList(pageFields), null,
-                                null);
-                if (!qrPages.getResults().isEmpty()) {
-                    logger.debug("Sitemap: found {} pages with full-text for '{}'.", qrPages.getResults().size(), pi);
-                    for (SolrDocument solrPageDoc : qrPages.getResults()) {
-                        int pageOrder = (int) solrPageDoc.getFieldValue(SolrConstants.ORDER);
-                        // Page full-text URL
-                        currentDocSitemap.getRootElement()
-                                .addContent(createUrlElement(pi, pageOrder, dateModified, PageType.viewFulltext.getName(), "weekly", "0.5"));
-                        increment(timestampModified);
-                    }
-                }
+            for (SitemapUrl url : urls) {
+                writer.writeUrl(url.loc(), url.lastModified());
             }
+            segmentRecordCount++;
+            previousDateCreated = dateCreated;
+
             recordIndex++;
-            if (recordIndex % 50 == 0) {
-                logger.debug("Sitemap: parsed record {}", recordIndex);
+            if (recordIndex % 1000 == 0) {
                 long end = System.nanoTime();
-                logger.debug("Sitemap: parsing 50 records took {}" + " seconds", ((end - start) / 1e9));
+                logger.debug("Sitemap: parsed record {}; parsing 1000 records took {} seconds", recordIndex, (end - start) / 1e9);
                 start = end;
             }
         }
+        if (writer != null) {
+            writer.close();
+            ret.add(new Segment(segmentFrom, segmentRecordCount, writer.getWrittenFiles()));
+        }
+        logger.debug("Sitemap: wrote {} records.", recordIndex);
 
-        logger.info("Sitemap: writing sitemap to '{}'...", outputPath);
-        return writeFiles(outputPath, docIndex, docListSitemap);
+        return ret;
     }
 
     /**
-     * Index counter for items per XML file.
+     * Collects all sitemap URLs for the given record (anchor, group or regular record including full-text pages).
      *
-     * @param timestamp millisecond timestamp for the lastmod element
+     * @param solrDoc Record Solr document
+     * @return List of URLs
+     * @throws PresentationException
+     * @throws IndexUnreachableException
      */
-    private void increment(long timestamp) {
-        index++;
-        if (index == 0 || index == 50000) {
-            // Create new sitemap doc
-            currentDocSitemap = new Document();
-            docListSitemap.add(currentDocSitemap);
-            Element eleUrlset = new Element("urlset", NS_SITEMAP);
-            currentDocSitemap.setRootElement(eleUrlset);
-
-            // Add new element to the index doc
-
-            eleCurrectIndexSitemap = new Element("sitemap", NS_SITEMAP);
-            docIndex.getRootElement().addContent(eleCurrectIndexSitemap);
-
-            // loc
-            Element eleLoc = new Element("loc", NS_SITEMAP);
-            eleCurrectIndexSitemap.addContent(eleLoc);
-            eleLoc.setText(viewerRootUrl + "sitemap" + docListSitemap.size() + ".xml.gz");
-
-            // lastmod
-            Element eleLastmod = new Element("lastmod", NS_SITEMAP);
-            eleCurrectIndexSitemap.addContent(eleLastmod);
-            if (timestamp > 0) {
-                // If switching sitemap files within a record, use the current record's timestamp
-                eleLastmod
-                        .setText(DateTools.format(DateTools.getLocalDateTimeFromMillis(timestamp, false), DateTools.FORMATTERISO8601DATE, false));
-            } else {
-                eleLastmod.setText("");
+    private List<SitemapUrl> getRecordUrls(SolrDocument solrDoc) throws PresentationException, IndexUnreachableException {
+        String pi = (String) solrDoc.getFieldValue(SolrConstants.PI);
+        long lastModified = 0;
+        Collection<Object> dateUpdatedValues = solrDoc.getFieldValues(SolrConstants.DATEUPDATED);
+        if (dateUpdatedValues != null) {
+            // Get latest DATEUPDATED value
+            for (Object dateUpdated : dateUpdatedValues) {
+                lastModified = Math.max(lastModified, (long) dateUpdated);
             }
+        }
 
-            index = 0;
+        List<SitemapUrl> ret = new ArrayList<>();
+        if (solrDoc.getFieldValue(SolrConstants.ISANCHOR) != null && (Boolean) solrDoc.getFieldValue(SolrConstants.ISANCHOR)) {
+            // Anchor TOC and metadata URLs
+            ret.add(new SitemapUrl(buildUrl(pi, 1, PageType.viewToc.getName()), lastModified));
+            ret.add(new SitemapUrl(buildUrl(pi, 1, PageType.viewMetadata.getName()), lastModified));
+        } else if (DocType.GROUP.toString().equals(solrDoc.getFieldValue(SolrConstants.DOCTYPE))) {
+            // Group TOC URL
+            ret.add(new SitemapUrl(buildUrl(pi, 1, PageType.viewToc.getName()), lastModified));
+        } else {
+            // Record object (representative page), metadata and TOC URLs
+            int recOrder = solrDoc.containsKey(SolrConstants.THUMBPAGENO) ? (int) solrDoc.getFieldValue(SolrConstants.THUMBPAGENO) : 1;
+            ret.add(new SitemapUrl(buildUrl(pi, recOrder, PageType.viewObject.getName()), lastModified));
+            ret.add(new SitemapUrl(buildUrl(pi, 1, PageType.viewMetadata.getName()), lastModified));
+            ret.add(new SitemapUrl(buildUrl(pi, 1, PageType.viewToc.getName()), lastModified));
+
+            // Page full-text URLs; skip the page query if the record is known to have no full-text
+            if (!Boolean.FALSE.equals(solrDoc.getFieldValue(SolrConstants.FULLTEXTAVAILABLE))) {
+                String pagesQuery = "+" + SolrConstants.PI_TOPSTRUCT + ':' + pi + " +" + SolrConstants.DOCTYPE + ':' + DocType.PAGE + " +"
+                        + SolrConstants.FULLTEXTAVAILABLE + ":true";
+                SolrDocumentCursor pageCursor = DataManager.getInstance()
+                        .getSearchIndex()
+                        .openCursor(pagesQuery, Collections.singletonList(new StringPair(SolrConstants.ORDER, "asc")), PAGE_FIELDS, null);
+                while (pageCursor.hasNext()) {
+                    int pageOrder = (int) pageCursor.next().getFieldValue(SolrConstants.ORDER);
+                    ret.add(new SitemapUrl(buildUrl(pi, pageOrder, PageType.viewFulltext.getName()), lastModified));
+                }
+            }
         }
+
+        return ret;
     }
 
     /**
-     * Creates an XML element containing a sitemap item.
+     * Creates a query that filters out blacklisted collections and any records that do not allow listing by default (ignore any individual
+     * agent's privileges for the sitemap).
      *
-     * @param pi Record identifier
-     * @param order Page number
-     * @param dateModified ISO date string for the lastmod element
-     * @param type Target page type
-     * @param changefreq sitemap change frequency value
-     * @param priority sitemap priority value
-     * @return Created {@link Element}
-     * @should create url correctly
+     * @return Solr query for all records to include
      */
-    Element createUrlElement(String pi, int order, String dateModified, String type, String changefreq, String priority) {
-        return createUrlElement(viewerRootUrl + type + '/' + pi + '/' + order + '/', dateModified, changefreq, priority);
+    private static String getRecordQuery() {
+        return new StringBuilder().append(SolrConstants.PI)
+                .append(":* AND NOT(")
+                .append(SolrConstants.DATEDELETED)
+                .append(":*)")
+                .append(SearchHelper.getAllSuffixes(null, true, true))
+                .toString();
     }
 
     /**
-     * Creates an XML element containing a sitemap item.
      *
-     * @param url Final URL
-     * @param dateModified ISO date string for the lastmod element
-     * @param changefreq sitemap change frequency value
-     * @param priority sitemap priority value
-     * @should create loc element correctly
-     * @should create lastmod element correctly
-     * @return Created {@link Element}
+     * @param recordQuery Query for all records
+     * @param segments Segments ordered by DATECREATED
+     * @param index Index of the segment
+     * @return recordQuery restricted to the DATECREATED range of the segment at the given index; the first segment also contains all records
+     *         without DATECREATED
+     * @should restrict query to segment range
+     * @should include records without datecreated in first segment
      */
-    Element createUrlElement(String url, String dateModified, String changefreq, String priority) {
-        Element eleUrl = new Element("url", NS_SITEMAP);
-
-        // loc
-        Element eleLoc = new Element("loc", NS_SITEMAP);
-        eleUrl.addContent(eleLoc);
-        eleLoc.setText(url);
-
-        // lastmod
-        if (dateModified != null) {
-            Element eleLastmod = new Element("lastmod", NS_SITEMAP);
-            eleUrl.addContent(eleLastmod);
-            eleLastmod.setText(dateModified);
+    static String getSegmentQuery(String recordQuery, List<Segment> segments, int index) {
+        String from = index == 0 ? "*" : String.valueOf(segments.get(index).getFromCreated());
+        String to = index == segments.size() - 1 ? "*]" : segments.get(index + 1).getFromCreated() + "}";
+        String range = SolrConstants.DATECREATED + ":[" + from + " TO " + to;
+        if (index == 0) {
+            range = "(" + range + " OR (*:* -" + SolrConstants.DATECREATED + ":*))";
         }
-
-        // changefreq
-        //        Element eleChangefreq = new Element("changefreq", nsSitemap);
-        //        eleUrl.addContent(eleChangefreq);
-        //        eleChangefreq.setText(changefreq);
-
-        // priority
-        //        Element elePriority = new Element("priority", nsSitemap);
-        //        eleUrl.addContent(elePriority);
-        //        elePriority.setText(priority);
-
-        return eleUrl;
+        return "(" + recordQuery + ") AND " + range;
     }
 
     /**
-     * Writes givent sitemap XML documents into the file system.
+     * Deletes sitemap files listed in the previous manifest which are no longer part of the current one.
      *
-     * @param outputDirPath destination directory path for all sitemap files
-     * @param docIndex sitemap index XML document to write
-     * @param docListSitemap list of sitemap XML documents to compress and write
-     * @should write index file correctly
-     * @should write gzip files correctly
-     * @return a list of written sitemap files (index file plus compressed sitemap files)
-     * @throws java.io.IOException if any.
+     * @param outputDir Sitemap folder
+     * @param previous Previous manifest
+     * @param current Current manifest
      */
-    protected List<File> writeFiles(String outputDirPath, Document docIndex, List<Document> docListSitemap) throws IOException {
-        List<File> ret = null;
-
-        // Write index file
-        File indexFile = new File(outputDirPath, "sitemap_index.xml");
-        XmlTools.writeXmlFile(docIndex, indexFile.getAbsolutePath());
-
-        // Write sitemap files
-        if (docListSitemap != null) {
-            ret = new ArrayList<>(docListSitemap.size());
-            ret.add(indexFile);
-            for (Document docSitemap : docListSitemap) {
-                int i = docListSitemap.indexOf(docSitemap) + 1;
-                File file = new File(outputDirPath, "sitemap" + i + ".xml");
-                file = XmlTools.writeXmlFile(docSitemap, file.getAbsolutePath());
-                if (file.exists()) {
-                    Map<File, String> fileMap = new HashMap<>();
-                    fileMap.put(file, "/");
-                    File gzipFile = new File(outputDirPath, "sitemap" + i + ".xml.gz");
-                    FileTools.compressGzipFile(file, gzipFile);
-                    ret.add(gzipFile);
-                    logger.info("Sitemap: file {} written to '{}'", i, gzipFile.getAbsolutePath());
-                    FileUtils.deleteQuietly(file);
+    private static void deleteObsoleteFiles(File outputDir, SitemapManifest previous, SitemapManifest current) {
+        Set<String> currentNames = new HashSet<>();
+        for (FileEntry file : current.getAllFiles()) {
+            currentNames.add(file.name());
+        }
+        for (FileEntry file : previous.getAllFiles()) {
+            if (!currentNames.contains(file.name())) {
+                try {
+                    Files.deleteIfExists(new File(outputDir, file.name()).toPath());
+                } catch (IOException e) {
+                    logger.warn("Sitemap: unable to delete obsolete file {}: {}", file.name(), e.getMessage());
                 }
-
             }
-        } else {
-            ret = new ArrayList<>(1);
-            ret.add(indexFile);
         }
+    }
+
+    /**
+     *
+     * @param reusableFileNames File names to use first; may be null
+     * @return Next file name
+     */
+    private String nextFileName(Deque<String> reusableFileNames) {
+        if (reusableFileNames != null && !reusableFileNames.isEmpty()) {
+            return reusableFileNames.poll();
+        }
+        return "sitemap" + nextFileNumber++ + ".xml.gz";
+    }
 
+    private static Deque<String> fileNames(List<FileEntry> files) {
+        Deque<String> ret = new ArrayDeque<>(files.size());
+        for (FileEntry file : files) {
+            ret.add(file.name());
+        }
         return ret;
     }
 
-    
+    /**
+     * Builds the URL of a record view.
+     *
+     * @param pi Record identifier
+     * @param order Page number
+     * @param type Target page type
+     * @return Absolute URL
+     * @should create url correctly
+     */
+    String buildUrl(String pi, int order, String type) {
+        return viewerRootUrl + type + '/' + pi + '/' + order + '/';
+    }
+
     void setViewerRootUrl(String viewerRootUrl) {
         this.viewerRootUrl = viewerRootUrl;
         if (this.viewerRootUrl != null && !this.viewerRootUrl.endsWith("/")) {
             this.viewerRootUrl += "/";
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A single sitemap URL with its modification timestamp.
+     *
+     * @param loc Absolute URL
+     * @param lastModified Modification timestamp in milliseconds; 0 if unknown
+     */
+    private record SitemapUrl(String loc, long lastModified) {
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.sitemap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import io.goobi.viewer.controller.DataManager;
+
+/**
+ * Describes the sitemap files written by the last sitemap generation run, so that the next run can rewrite only the files whose records have
+ * changed. Records are assigned to segments by contiguous DATECREATED ranges; a segment covers all records from its own
+ * {@link Segment#getFromCreated()} up to (excluding) the next segment's value and consists of one or more sitemap files. Records without a
+ * DATECREATED value always belong to the first segment.
+ *
+ * <p>
+ * The manifest is internal bookkeeping and is therefore kept in the viewer's temp folder rather than in the publicly served sitemap folder.
+ * </p>
+ */
+class SitemapManifest {
+
+    private static final Logger logger = LogManager.getLogger(SitemapManifest.class);
+
+    static final String FILE_NAME = "sitemap_manifest.json";
+
+    private static final int VERSION = 2;
+
+    private final String viewerRootUrl;
+    private final String outputPath;
+    private final long lastRun;
+    private final int nextFileNumber;
+    private final List<FileEntry> cmsFiles;
+    private final List<Segment> segments;
+
+    /**
+     *
+     * @param viewerRootUrl Root URL used in the sitemap files
+     * @param outputPath Absolute path of the folder containing the sitemap files
+     * @param lastRun Start time of the run that wrote the files
+     * @param nextFileNumber Next unused sitemap file number
+     * @param cmsFiles Files containing CMS page URLs
+     * @param segments Record segments ordered by DATECREATED
+     */
+    SitemapManifest(String viewerRootUrl, String outputPath, long lastRun, int nextFileNumber, List<FileEntry> cmsFiles, List<Segment> segments) {
+        this.viewerRootUrl = viewerRootUrl;
+        this.outputPath = outputPath;
+        this.lastRun = lastRun;
+        this.nextFileNumber = nextFileNumber;
+        this.cmsFiles = cmsFiles;
+        this.segments = segments;
+    }
+
+    /**
+     *
+     * @return Manifest file in the viewer's temp folder
+     */
+    static File getDefaultFile() {
+        return Paths.get(DataManager.getInstance().getConfiguration().getTempFolder(), "sitemap", FILE_NAME).toFile();
+    }
+
+    /**
+     * Loads the manifest from the given file.
+     *
+     * @param file Manifest file
+     * @return Loaded {@link SitemapManifest}; null if none exists or it cannot be read
+     */
+    static SitemapManifest load(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            JSONObject json = new JSONObject(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+            if (json.optInt("version") != VERSION) {
+                return null;
+            }
+            List<Segment> segments = new ArrayList<>();
+            JSONArray segmentArray = json.getJSONArray("segments");
+            for (int i = 0; i < segmentArray.length(); ++i) {
+                JSONObject segment = segmentArray.getJSONObject(i);
+                segments.add(new Segment(segment.getLong("fromCreated"), segment.getInt("recordCount"), readFiles(segment.getJSONArray("files"))));
+            }
+            return new SitemapManifest(json.optString("viewerRootUrl", null), json.optString("outputPath", null), json.getLong("lastRun"),
+                    json.getInt("nextFileNumber"), readFiles(json.getJSONArray("cmsFiles")), segments);
+        } catch (IOException | JSONException e) {
+            logger.warn("Sitemap: unable to read manifest {}: {}", file.getAbsolutePath(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes this manifest to the given file.
+     *
+     * @param file Manifest file
+     * @throws IOException
+     * @should write and load manifest correctly
+     */
+    void save(File file) throws IOException {
+        JSONObject json = new JSONObject();
+        json.put("version", VERSION);
+        json.put("viewerRootUrl", viewerRootUrl);
+        json.put("outputPath", outputPath);
+        json.put("lastRun", lastRun);
+        json.put("nextFileNumber", nextFileNumber);
+        json.put("cmsFiles", writeFiles(cmsFiles));
+        JSONArray segmentArray = new JSONArray();
+        for (Segment segment : segments) {
+            JSONObject jsonSegment = new JSONObject();
+            jsonSegment.put("fromCreated", segment.getFromCreated());
+            jsonSegment.put("recordCount", segment.getRecordCount());
+            jsonSegment.put("files", writeFiles(segment.getFiles()));
+            segmentArray.put(jsonSegment);
+        }
+        json.put("segments", segmentArray);
+
+        Path folder = file.getAbsoluteFile().toPath().getParent();
+        Files.createDirectories(folder);
+        Path tempFile = Files.createTempFile(folder, FILE_NAME, ".tmp");
+        try {
+            Files.writeString(tempFile, json.toString(), StandardCharsets.UTF_8);
+            Files.move(tempFile, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Deletes the given manifest file, forcing a full regeneration on the next run.
+     *
+     * @param file Manifest file
+     * @throws IOException
+     */
+    static void delete(File file) throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    private static List<FileEntry> readFiles(JSONArray array) {
+        List<FileEntry> ret = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); ++i) {
+            JSONObject file = array.getJSONObject(i);
+            ret.add(new FileEntry(file.getString("name"), file.getInt("urlCount"), file.getLong("lastModified")));
+        }
+        return ret;
+    }
+
+    private static JSONArray writeFiles(List<FileEntry> files) {
+        JSONArray ret = new JSONArray();
+        for (FileEntry file : files) {
+            JSONObject jsonFile = new JSONObject();
+            jsonFile.put("name", file.name());
+            jsonFile.put("urlCount", file.urlCount());
+            jsonFile.put("lastModified", file.lastModified());
+            ret.put(jsonFile);
+        }
+        return ret;
+    }
+
+    /**
+     * @return All sitemap files in index order
+     */
+    List<FileEntry> getAllFiles() {
+        List<FileEntry> ret = new ArrayList<>(cmsFiles);
+        for (Segment segment : segments) {
+            ret.addAll(segment.getFiles());
+        }
+        return ret;
+    }
+
+    /**
+     * Returns the index of the segment whose DATECREATED range contains the given value.
+     *
+     * @param dateCreated DATECREATED value
+     * @return Segment index; 0 for values before the first segment
+     * @should return correct segment index
+     */
+    int findSegmentIndex(long dateCreated) {
+        int ret = 0;
+        for (int i = 1; i < segments.size(); ++i) {
+            if (segments.get(i).getFromCreated() <= dateCreated) {
+                ret = i;
+            } else {
+                break;
+            }
+        }
+        return ret;
+    }
+
+    String getViewerRootUrl() {
+        return viewerRootUrl;
+    }
+
+    String getOutputPath() {
+        return outputPath;
+    }
+
+    long getLastRun() {
+        return lastRun;
+    }
+
+    int getNextFileNumber() {
+        return nextFileNumber;
+    }
+
+    List<FileEntry> getCmsFiles() {
+        return cmsFiles;
+    }
+
+    List<Segment> getSegments() {
+        return segments;
+    }
+
+    /**
+     * A single written sitemap file.
+     *
+     * @param name File name
+     * @param urlCount Number of URLs in the file
+     * @param lastModified Latest modification timestamp of the contained URLs; 0 if unknown
+     */
+    record FileEntry(String name, int urlCount, long lastModified) {
+    }
+
+    /**
+     * Records of a contiguous DATECREATED range and the sitemap files containing their URLs.
+     */
+    static class Segment {
+
+        private final long fromCreated;
+        private final int recordCount;
+        private final List<FileEntry> files;
+
+        /**
+         *
+         * @param fromCreated DATECREATED value of the first record in this segment
+         * @param recordCount Number of records in this segment
+         * @param files Sitemap files of this segment
+         */
+        Segment(long fromCreated, int recordCount, List<FileEntry> files) {
+            this.fromCreated = fromCreated;
+            this.recordCount = recordCount;
+            this.files = files;
+        }
+
+        long getFromCreated() {
+            return fromCreated;
+        }
+
+        int getRecordCount() {
+            return recordCount;
+        }
+
+        List<FileEntry> getFiles() {
+            return files;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.sitemap;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import io.goobi.viewer.controller.DateTools;
+import io.goobi.viewer.model.sitemap.SitemapManifest.FileEntry;
+
+/**
+ * Streams sitemap URL entries directly into gzip-compressed sitemap files, starting a new file whenever {@link #MAX_URLS_PER_FILE} is
+ * reached. Only the current file's output stream is held in memory. Each file is written under a temporary name and moved into place once
+ * complete, so crawlers never see partially written files.
+ */
+class SitemapWriter implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(SitemapWriter.class);
+
+    /** Maximum number of URLs per sitemap file allowed by the sitemap protocol. */
+    static final int MAX_URLS_PER_FILE = 50000;
+
+    static final String NS_SITEMAP = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final File outputDir;
+    private final Supplier<String> fileNameSupplier;
+    private final int maxUrlsPerFile;
+    private final List<FileEntry> writtenFiles = new ArrayList<>();
+
+    private String currentFileName = null;
+    private File currentTempFile = null;
+    private OutputStream currentOutputStream = null;
+    private XMLStreamWriter currentWriter = null;
+    private int currentUrlCount = 0;
+    private long currentLastModified = 0;
+    private int totalUrlCount = 0;
+
+    /**
+     *
+     * @param outputDir Folder to write the files to
+     * @param fileNameSupplier Supplies the file name for each new sitemap file
+     */
+    SitemapWriter(File outputDir, Supplier<String> fileNameSupplier) {
+        this(outputDir, fileNameSupplier, MAX_URLS_PER_FILE);
+    }
+
+    /**
+     *
+     * @param outputDir Folder to write the files to
+     * @param fileNameSupplier Supplies the file name for each new sitemap file
+     * @param maxUrlsPerFile Number of URLs after which a new file is started
+     */
+    SitemapWriter(File outputDir, Supplier<String> fileNameSupplier, int maxUrlsPerFile) {
+        this.outputDir = outputDir;
+        this.fileNameSupplier = fileNameSupplier;
+        this.maxUrlsPerFile = maxUrlsPerFile;
+    }
+
+    /**
+     * Writes a single &lt;url&gt; entry.
+     *
+     * @param loc Absolute URL
+     * @param lastModified Modification timestamp in milliseconds; 0 if unknown
+     * @throws IOException
+     * @should roll over to new file when limit reached
+     */
+    void writeUrl(String loc, long lastModified) throws IOException {
+        if (currentWriter == null || currentUrlCount >= maxUrlsPerFile) {
+            finishFile();
+            startFile();
+        }
+        try {
+            currentWriter.writeStartElement("url");
+            currentWriter.writeStartElement("loc");
+            currentWriter.writeCharacters(loc);
+            currentWriter.writeEndElement();
+            if (lastModified > 0) {
+                currentWriter.writeStartElement("lastmod");
+                currentWriter.writeCharacters(formatDate(lastModified));
+                currentWriter.writeEndElement();
+            }
+            currentWriter.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        currentUrlCount++;
+        totalUrlCount++;
+        if (lastModified > currentLastModified) {
+            currentLastModified = lastModified;
+        }
+    }
+
+    /**
+     * @return Number of URLs written by this writer
+     */
+    int getUrlCount() {
+        return totalUrlCount;
+    }
+
+    /**
+     * @return Files completed so far; the file currently being written is only included after {@link #close()}
+     */
+    List<FileEntry> getWrittenFiles() {
+        return writtenFiles;
+    }
+
+    /**
+     * Completes the current file.
+     */
+    @Override
+    public void close() throws IOException {
+        finishFile();
+    }
+
+    private void startFile() throws IOException {
+        currentFileName = fileNameSupplier.get();
+        currentTempFile = new File(outputDir, currentFileName + ".tmp");
+        currentOutputStream = new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(currentTempFile.toPath())));
+        try {
+            currentWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(currentOutputStream, "UTF-8");
+            currentWriter.writeStartDocument("UTF-8", "1.0");
+            currentWriter.writeStartElement("urlset");
+            currentWriter.writeDefaultNamespace(NS_SITEMAP);
+        } catch (XMLStreamException e) {
+            currentOutputStream.close();
+            throw new IOException(e);
+        }
+        currentUrlCount = 0;
+        currentLastModified = 0;
+    }
+
+    private void finishFile() throws IOException {
+        if (currentWriter == null) {
+            return;
+        }
+        try {
+            currentWriter.writeEndElement();
+            currentWriter.writeEndDocument();
+            currentWriter.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            currentOutputStream.close();
+            currentWriter = null;
+        }
+        File file = new File(outputDir, currentFileName);
+        Files.move(currentTempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        writtenFiles.add(new FileEntry(currentFileName, currentUrlCount, currentLastModified));
+        logger.info("Sitemap: file {} written ({} URLs)", file.getAbsolutePath(), currentUrlCount);
+    }
+
+    /**
+     * Writes the sitemap index file listing the given sitemap files.
+     *
+     * @param indexFile Index file to write
+     * @param viewerRootUrl Viewer root URL with trailing slash
+     * @param files Sitemap files to list
+     * @throws IOException
+     * @should write index file correctly
+     */
+    static void writeIndex(File indexFile, String viewerRootUrl, List<FileEntry> files) throws IOException {
+        File tempFile = new File(indexFile.getParentFile(), indexFile.getName() + ".tmp");
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+            XMLStreamWriter writer = XML_OUTPUT_FACTORY.createXMLStreamWriter(os, "UTF-8");
+            writer.writeStartDocument("UTF-8", "1.0");
+            writer.writeStartElement("sitemapindex");
+            writer.writeDefaultNamespace(NS_SITEMAP);
+            for (FileEntry file : files) {
+                writer.writeStartElement("sitemap");
+                writer.writeStartElement("loc");
+                writer.writeCharacters(viewerRootUrl + file.name());
+                writer.writeEndElement();
+                if (file.lastModified() > 0) {
+                    writer.writeStartElement("lastmod");
+                    writer.writeCharacters(formatDate(file.lastModified()));
+                    writer.writeEndElement();
+                }
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     *
+     * @param timestamp Milliseconds
+     * @return ISO 8601 date string
+     */
+    static String formatDate(long timestamp) {
+        return DateTools.format(DateTools.getLocalDateTimeFromMillis(timestamp, false), DateTools.FORMATTERISO8601DATE, false);
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.statistics.usage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory accumulator for the usage statistics requests of a single day which have not yet been written to the database. Increments are
+ * absorbed by {@link LongAdder}s inside {@link ConcurrentHashMap}s, so concurrent request threads never block each other. The pending counts
+ * are written to the database by {@link UsageStatisticsRecorder#flush()}, which reads them via {@link #snapshot(DeltaConsumer)} and only
+ * subtracts them via {@link #commit(Snapshot)} once the database update has succeeded.
+ */
+class PendingUsageStatistics {
+
+    private static final RequestType[] REQUEST_TYPES = RequestType.values();
+
+    /**
+     * The date the buffered requests were recorded.
+     */
+    private final LocalDate date;
+
+    /**
+     * Pending counts mapped to http session identifiers.
+     */
+    private final Map<String, PendingSession> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Number of increments recorded since the last drain.
+     */
+    private final LongAdder pendingIncrements = new LongAdder();
+
+    /**
+     * Number of request threads currently inside {@link #increment(RequestType, String, String, String, String)}.
+     */
+    private final LongAdder incrementsInProgress = new LongAdder();
+
+    /**
+     * Set once this buffer has been removed from the recorder. Increments are rejected afterwards and must go to a current buffer.
+     */
+    private volatile boolean retired = false;
+
+    /**
+     * @param date the {@link #date} to set
+     */
+    PendingUsageStatistics(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * @return the {@link #date}
+     */
+    LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Counts a single request. Never blocks and performs no I/O.
+     *
+     * @param type the {@link RequestType} of the request
+     * @param recordIdentifier the record identifier requested by the request
+     * @param sessionID the http session issuing the request
+     * @param userAgent the 'User-Agent' header value of the request
+     * @param clientIP the IP address from which the request is issued
+     * @return true if the request was counted; false if this buffer has been retired and the caller must retry with the current buffer
+     */
+    boolean increment(RequestType type, String recordIdentifier, String sessionID, String userAgent, String clientIP) {
+        incrementsInProgress.increment();
+        try {
+            if (retired) {
+                return false;
+            }
+            sessions.computeIfAbsent(sessionID, id -> new PendingSession(userAgent, clientIP))
+                    .getCounters(recordIdentifier)[type.ordinal()].increment();
+            pendingIncrements.increment();
+            return true;
+        } finally {
+            incrementsInProgress.decrement();
+        }
+    }
+
+    /**
+     * Rejects all further increments and waits until increments already in progress have completed. Must only be called after the buffer has
+     * been removed from the recorder, so that retrying request threads find a different buffer. Afterwards the counts no longer change.
+     */
+    void retire() {
+        retired = true;
+        while (incrementsInProgress.sum() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * @return Number of increments recorded since the last drain
+     */
+    long getPendingIncrements() {
+        return pendingIncrements.sum();
+    }
+
+    /**
+     * @return Number of sessions with buffered counts
+     */
+    int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Passes all counts recorded since the last commit to the given consumer without resetting them. The returned {@link Snapshot} must be
+     * passed to {@link #commit(Snapshot)} once the counts have been persisted; if persisting fails, the counts stay pending for the next attempt.
+     *
+     * @param consumer receives the non-zero deltas
+     * @return {@link Snapshot} of the passed deltas
+     */
+    Snapshot snapshot(DeltaConsumer consumer) {
+        Snapshot snapshot = new Snapshot();
+        for (Map.Entry<String, PendingSession> sessionEntry : sessions.entrySet()) {
+            PendingSession session = sessionEntry.getValue();
+            for (Map.Entry<String, LongAdder[]> recordEntry : session.records.entrySet()) {
+                LongAdder[] counters = recordEntry.getValue();
+                for (RequestType type : REQUEST_TYPES) {
+                    LongAdder counter = counters[type.ordinal()];
+                    long delta = counter.sum();
+                    if (delta > 0) {
+                        consumer.accept(sessionEntry.getKey(), session.userAgent, session.clientIP, type, recordEntry.getKey(), delta);
+                        snapshot.add(counter, delta);
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Subtracts the deltas of the given snapshot from the pending counts. Increments which happened after the snapshot was taken are retained
+     * for the next snapshot; none are lost.
+     *
+     * @param snapshot deltas which have been persisted
+     */
+    void commit(Snapshot snapshot) {
+        for (int i = 0; i < snapshot.counters.size(); i++) {
+            snapshot.counters.get(i).add(-snapshot.deltas.get(i));
+        }
+        pendingIncrements.add(-snapshot.total);
+    }
+
+    /**
+     * Deltas read by {@link PendingUsageStatistics#snapshot(DeltaConsumer)}, together with the counters they were read from.
+     */
+    static final class Snapshot {
+
+        private final List<LongAdder> counters = new ArrayList<>();
+        private final List<Long> deltas = new ArrayList<>();
+        private long total = 0;
+
+        private void add(LongAdder counter, long delta) {
+            counters.add(counter);
+            deltas.add(delta);
+            total += delta;
+        }
+
+        /**
+         * @return Sum of all deltas in this snapshot
+         */
+        long getTotal() {
+            return total;
+        }
+    }
+
+    /**
+     * Receives a request count delta drained from {@link PendingUsageStatistics}.
+     */
+    @FunctionalInterface
+    interface DeltaConsumer {
+        void accept(String sessionID, String userAgent, String clientIP, RequestType type, String recordIdentifier, long delta);
+    }
+
+    /**
+     * Pending counts of a single session. User agent and client IP are taken from the first request, like in {@link SessionUsageStatistics}.
+     */
+    private static class PendingSession {
+
+        private final String userAgent;
+        private final String clientIP;
+        private final Map<String, LongAdder[]> records = new ConcurrentHashMap<>();
+
+        PendingSession(String userAgent, String clientIP) {
+            this.userAgent = userAgent;
+            this.clientIP = clientIP;
+        }
+
+        LongAdder[] getCounters(String recordIdentifier) {
+            return records.computeIfAbsent(recordIdentifier, id -> {
+                LongAdder[] counters = new LongAdder[REQUEST_TYPES.length];
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] = new LongAdder();
+                }
+                return counters;
+            });
+        }
+    }
+}
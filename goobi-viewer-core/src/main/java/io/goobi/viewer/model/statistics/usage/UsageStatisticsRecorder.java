@@ -21,8 +21,21 @@
  */
 package io.goobi.viewer.model.statistics.usage;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -35,7 +48,9 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 /**
- * Class to be called on requests to be recorded in usage statistics. Stores and updates usage statistics in database on each request
+ * Class to be called on requests to be recorded in usage statistics. Requests are counted in memory without locking and written to the
+ * database in batches by {@link #flush()}, which runs periodically once {@link #start()} has been called, as well as on {@link #shutdown()}.
+ * The periodic flush is started with the first request recorded while statistics are enabled. No database access happens on the request path.
  * 
  * @author Florian Alpers
  */
@@ -58,9 +73,38 @@ public class UsageStatisticsRecorder {
      */
     private final String viewerName;
     /**
-     * Locks all calls to {@link #recordRequest(RequestType, String, String, String, String)}.
+     * Request counts not yet written to the database, mapped to the date they were recorded.
      */
-    private final Object dailyStatisticsLock = new Object();
+    private final ConcurrentMap<LocalDate, PendingUsageStatistics> pending = new ConcurrentHashMap<>();
+    /**
+     * Buffers of past days which have been removed from {@link #pending} but not yet written to the database. Only modified under
+     * {@link #flushLock}.
+     */
+    private final Queue<PendingUsageStatistics> retired = new ConcurrentLinkedQueue<>();
+    /**
+     * Serializes calls to {@link #flush()}. Never taken by request threads.
+     */
+    private final Object flushLock = new Object();
+    /**
+     * Time in milliseconds of the last completed flush.
+     */
+    private final AtomicLong lastFlushTime = new AtomicLong(System.currentTimeMillis());
+    /**
+     * Duration in milliseconds of the last completed flush.
+     */
+    private final AtomicLong lastFlushDuration = new AtomicLong(0);
+    /**
+     * Number of request counts written to the database since this recorder was created.
+     */
+    private final AtomicLong flushedRequestCount = new AtomicLong(0);
+    /**
+     * Periodically calls {@link #flush()}. Only set between {@link #start()} and {@link #shutdown()}.
+     */
+    private volatile ScheduledExecutorService flushScheduler = null;
+    /**
+     * Set by {@link #shutdown()}; prevents requests arriving during undeployment from starting a new flush scheduler.
+     */
+    private volatile boolean shutDown = false;
 
     /**
      * Default constructor.
@@ -75,6 +119,44 @@ public class UsageStatisticsRecorder {
         this.viewerName = viewerName;
     }
 
+    /**
+     * Starts periodically writing recorded requests to the database, using the interval configured in
+     * {@link Configuration#getStatisticsFlushInterval()}. Does nothing if already started or after {@link #shutdown()}.
+     */
+    public synchronized void start() {
+        if (flushScheduler == null && !shutDown) {
+            long interval = Math.max(1, config.getStatisticsFlushInterval());
+            flushScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "usage-statistics-flush");
+                t.setDaemon(true);
+                return t;
+            });
+            flushScheduler.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.SECONDS);
+            logger.debug("Usage statistics flush started ({}s interval)", interval);
+        }
+    }
+
+    /**
+     * Stops the periodic flush and writes all remaining recorded requests to the database. Should be called from the servlet context
+     * listener before the DAO is shut down.
+     */
+    public synchronized void shutdown() {
+        shutDown = true;
+        if (flushScheduler != null) {
+            flushScheduler.shutdown();
+            try {
+                if (!flushScheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                    flushScheduler.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                flushScheduler.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            flushScheduler = null;
+        }
+        flushSafely();
+    }
+
     /**
      * Checks if usage statistics are enabled by configuration.
      * 
@@ -94,6 +176,9 @@ public class UsageStatisticsRecorder {
      */
     public void recordRequest(RequestType type, String recordIdentifier, HttpServletRequest request) {
         if (isActive() && !NetTools.isCrawlerBotRequest(request)) {
+            if (flushScheduler == null && !shutDown) {
+                start();
+            }
             recordRequest(type, recordIdentifier,
                     Optional.ofNullable(request).map(HttpServletRequest::getSession).map(HttpSession::getId).orElse(null),
                     Optional.ofNullable(request).map(req -> req.getHeader(USER_AGENT_HEADER)).orElse(""), NetTools.getIpAddress(request));
@@ -101,34 +186,153 @@ public class UsageStatisticsRecorder {
     }
 
     /**
-     * Add a request to the internal request counts.
+     * Add a request to the internal request counts. The request is only counted in memory; it is written to the database with the next
+     * {@link #flush()}.
      * 
      * @param type the {@link RequestType} for which to count the request
      * @param recordIdentifier the record identifier requested by the request
      * @param sessionID The session issuing this request
      * @param userAgent the 'User-Agent' header value of the request
      * @param clientIP The IP Address from which the request is issued
+     * @should aggregate concurrent request counts correctly
      */
     protected void recordRequest(RequestType type, String recordIdentifier, String sessionID, String userAgent, String clientIP) {
-        if (sessionID != null) {
-            synchronized (dailyStatisticsLock) {
-                try {
-                    LocalDate date = LocalDate.now();
-                    DailySessionUsageStatistics stats = getStatistics(date);
-                    if (stats == null) {
-                        stats = initStatistics(date);
-                    }
-                    SessionUsageStatistics session = stats.getSession(sessionID);
-                    if (session == null) {
-                        session = new SessionUsageStatistics(sessionID, userAgent, clientIP);
-                        stats.addSession(session);
+        if (sessionID != null && recordIdentifier != null && type != null) {
+            String ua = userAgent != null ? userAgent : "";
+            String ip = clientIP != null ? clientIP : "";
+            // A buffer retired at day rollover between lookup and increment rejects the request, which is then counted in the current buffer
+            while (!pending.computeIfAbsent(LocalDate.now(), PendingUsageStatistics::new).increment(type, recordIdentifier, sessionID, ua, ip)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    /**
+     * Writes all request counts recorded since the last flush to the database, using one database update per recorded day. On day rollover,
+     * buffers of past days are swapped out of the map and retired before they are written, so no request can be added to them after their
+     * final write. Counts are only removed from the buffers once the database update has succeeded; after a failure they are written with the
+     * next flush.
+     * 
+     * @throws DAOException If an error occurred regarding the database
+     * @should write pending request counts to database
+     * @should keep pending request counts if database update fails
+     */
+    public void flush() throws DAOException {
+        synchronized (flushLock) {
+            long start = System.currentTimeMillis();
+            LocalDate today = LocalDate.now();
+            for (LocalDate date : pending.keySet()) {
+                if (date.isBefore(today)) {
+                    PendingUsageStatistics buffer = pending.remove(date);
+                    if (buffer != null) {
+                        buffer.retire();
+                        retired.add(buffer);
                     }
-                    session.incrementRequestCount(type, recordIdentifier);
-                    updateStatistics(stats);
-                } catch (DAOException e) {
-                    logger.error("Unable to record update usage statistics: {}", e.toString());
                 }
             }
+            long written = 0;
+            Iterator<PendingUsageStatistics> iterator = retired.iterator();
+            while (iterator.hasNext()) {
+                written += flush(iterator.next());
+                iterator.remove();
+            }
+            for (PendingUsageStatistics buffer : pending.values()) {
+                written += flush(buffer);
+            }
+            flushedRequestCount.addAndGet(written);
+            lastFlushTime.set(System.currentTimeMillis());
+            lastFlushDuration.set(lastFlushTime.get() - start);
+            if (written > 0) {
+                logger.trace("Wrote {} usage statistics request counts in {} ms", written, lastFlushDuration.get());
+            }
+        }
+    }
+
+    /**
+     * Number of requests recorded in memory which have not been written to the database yet.
+     * 
+     * @return the pending request count
+     */
+    public long getPendingRequestCount() {
+        return Stream.concat(retired.stream(), pending.values().stream()).mapToLong(PendingUsageStatistics::getPendingIncrements).sum();
+    }
+
+    /**
+     * Number of sessions with requests which have not been written to the database yet.
+     * 
+     * @return the pending session count
+     */
+    public int getPendingSessionCount() {
+        return Stream.concat(retired.stream(), pending.values().stream()).mapToInt(PendingUsageStatistics::getSessionCount).sum();
+    }
+
+    /**
+     * Time since the last completed flush, i.e. the maximum age of request counts which are not yet visible in the database.
+     * 
+     * @return the flush lag
+     */
+    public Duration getFlushLag() {
+        return Duration.ofMillis(System.currentTimeMillis() - lastFlushTime.get());
+    }
+
+    /**
+     * @return Duration of the last completed flush
+     */
+    public Duration getLastFlushDuration() {
+        return Duration.ofMillis(lastFlushDuration.get());
+    }
+
+    /**
+     * @return Number of request counts written to the database by this recorder
+     */
+    public long getFlushedRequestCount() {
+        return flushedRequestCount.get();
+    }
+
+    /**
+     * Writes the counts pending in the given buffer to the statistics entry for its date and removes them from the buffer once the update has
+     * succeeded.
+     * 
+     * @param buffer the pending counts to write
+     * @return number of request counts written
+     * @throws DAOException If an error occurred regarding the database
+     */
+    private long flush(PendingUsageStatistics buffer) throws DAOException {
+        if (buffer.getPendingIncrements() == 0) {
+            return 0;
+        }
+        Map<String, SessionUsageStatistics> updatedSessions = new HashMap<>();
+        DailySessionUsageStatistics stats = getStatistics(buffer.getDate());
+        if (stats == null) {
+            stats = initStatistics(buffer.getDate());
+        }
+        DailySessionUsageStatistics dailyStats = stats;
+        PendingUsageStatistics.Snapshot snapshot = buffer.snapshot((sessionID, userAgent, clientIP, type, recordIdentifier, delta) -> {
+            SessionUsageStatistics session = updatedSessions.computeIfAbsent(sessionID, id -> {
+                SessionUsageStatistics s = dailyStats.getSession(id);
+                if (s == null) {
+                    s = new SessionUsageStatistics(id, userAgent, clientIP);
+                    dailyStats.addSession(s);
+                }
+                return s;
+            });
+            session.setRecordRequectCount(type, recordIdentifier, session.getRecordRequestCount(type, recordIdentifier) + delta);
+        });
+        if (snapshot.getTotal() > 0) {
+            updateStatistics(dailyStats);
+            buffer.commit(snapshot);
+        }
+        return snapshot.getTotal();
+    }
+
+    /**
+     * Calls {@link #flush()} and logs errors instead of throwing them, so a failing flush does not cancel the periodic schedule.
+     */
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (DAOException | RuntimeException e) {
+            logger.error("Unable to write usage statistics: {}", e.toString());
         }
     }
 
@@ -165,17 +369,16 @@ public class UsageStatisticsRecorder {
      * @return the created statistics object
      * @throws DAOException If an error occurred regarding the database
      */
-    private synchronized DailySessionUsageStatistics initStatistics(LocalDate date) throws DAOException {
+    private DailySessionUsageStatistics initStatistics(LocalDate date) throws DAOException {
 
         DailySessionUsageStatistics existing = this.dao.getUsageStatistics(date);
         if (existing != null) {
             //statistics already exists, return this
             return existing;
-        } else {
-            DailySessionUsageStatistics stats = new DailySessionUsageStatistics(date, viewerName);
-            this.dao.addUsageStatistics(stats);
-            return stats;
         }
+        DailySessionUsageStatistics stats = new DailySessionUsageStatistics(date, viewerName);
+        this.dao.addUsageStatistics(stats);
+        return stats;
 
     }
 
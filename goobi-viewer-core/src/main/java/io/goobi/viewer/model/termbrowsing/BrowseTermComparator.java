@@ -24,7 +24,10 @@ package io.goobi.viewer.model.termbrowsing;
 import java.io.Serializable;
 import java.text.ParseException;
 import java.text.RuleBasedCollator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -74,40 +77,67 @@ public class BrowseTermComparator implements Comparator<BrowseTerm>, Serializabl
      */
     @Override
     public int compare(BrowseTerm o1, BrowseTerm o2) {
-        BrowseTerm o1a = o1;
-        BrowseTerm o2a = o2;
+        String ignoreChars = DataManager.getInstance().getConfiguration().getBrowsingMenuSortingIgnoreLeadingChars();
+        String relevantString1 = getSortString(o1, ignoreChars);
+        String relevantString2 = getSortString(o2, ignoreChars);
 
-        String relevantString1 = o1a.getTerm();
-        if (StringUtils.isNotEmpty(relevantString1)) {
-            Optional<String> translationValue = o1a.getTranslations() != null ? o1a.getTranslations().getValue(locale) : Optional.empty();
-            if (o1a.getSortTerm() != null) {
+        // logger.trace("Comparing '{}' to '{}' ({})", relevantString1, relevantString2, locale); //NOSONAR Debug
+        return comparator.compare(relevantString1, relevantString2);
+    }
+
+    /**
+     * Sorts the given terms in the same order as {@link #compare(BrowseTerm, BrowseTerm)}, but determines the sort string of each term only once
+     * instead of once per comparison.
+     *
+     * @param terms Terms to sort
+     * @should sort like compare
+     */
+    public void sort(List<BrowseTerm> terms) {
+        if (terms == null || terms.size() < 2) {
+            return;
+        }
+
+        String ignoreChars = DataManager.getInstance().getConfiguration().getBrowsingMenuSortingIgnoreLeadingChars();
+        String[] sortStrings = new String[terms.size()];
+        Integer[] indexes = new Integer[terms.size()];
+        for (int i = 0; i < sortStrings.length; ++i) {
+            sortStrings[i] = getSortString(terms.get(i), ignoreChars);
+            indexes[i] = i;
+        }
+        Arrays.sort(indexes, (a, b) -> comparator.compare(sortStrings[a], sortStrings[b]));
+
+        List<BrowseTerm> sorted = new ArrayList<>(terms.size());
+        for (int index : indexes) {
+            sorted.add(terms.get(index));
+        }
+        for (int i = 0; i < sorted.size(); ++i) {
+            terms.set(i, sorted.get(i));
+        }
+    }
+
+    /**
+     *
+     * @param term Browse term
+     * @param ignoreChars Optional string containing leading characters to ignore
+     * @return String by which the given term is sorted: the sort term, the translated term or the raw term
+     */
+    private String getSortString(BrowseTerm term, String ignoreChars) {
+        String ret = term.getTerm();
+        if (StringUtils.isNotEmpty(ret)) {
+            Optional<String> translationValue = term.getTranslations() != null ? term.getTranslations().getValue(locale) : Optional.empty();
+            if (term.getSortTerm() != null) {
                 // sort term
-                relevantString1 = o1a.getSortTerm().toLowerCase();
+                ret = term.getSortTerm().toLowerCase();
             } else if (translationValue.isPresent()) {
                 // translated term
-                relevantString1 = translationValue.get();
+                ret = translationValue.get();
             } else {
                 // raw term
-                relevantString1 = relevantString1.toLowerCase();
-            }
-        }
-        relevantString1 = normalizeString(relevantString1, DataManager.getInstance().getConfiguration().getBrowsingMenuSortingIgnoreLeadingChars());
-
-        String relevantString2 = o2a.getTerm();
-        if (StringUtils.isNotEmpty(relevantString2)) {
-            Optional<String> translationValue = o2a.getTranslations() != null ? o2a.getTranslations().getValue(locale) : Optional.empty();
-            if (o2a.getSortTerm() != null) {
-                relevantString2 = o2a.getSortTerm().toLowerCase();
-            } else if (translationValue.isPresent()) {
-                relevantString2 = translationValue.get();
-            } else {
-                relevantString2 = relevantString2.toLowerCase();
+                ret = ret.toLowerCase();
             }
         }
-        relevantString2 = normalizeString(relevantString2, DataManager.getInstance().getConfiguration().getBrowsingMenuSortingIgnoreLeadingChars());
 
-        // logger.trace("Comparing '{}' to '{}' ({})", relevantString1, relevantString2, locale); //NOSONAR Debug
-        return comparator.compare(relevantString1, relevantString2);
+        return normalizeString(ret, ignoreChars);
     }
 
     /**
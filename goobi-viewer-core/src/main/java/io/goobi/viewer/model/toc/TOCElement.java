@@ -22,6 +22,7 @@
 package io.goobi.viewer.model.toc;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -129,6 +130,36 @@ public class TOCElement implements IAccessDeniedThumbnailOutput, Serializable {
                         .buildPageUrl(topStructPi, pageNo != null ? Integer.valueOf(pageNo) : 1, logId, pageType, false);
     }
 
+    /**
+     * Creates a copy of the given element for a single TOC instance. Structural data is taken over; the tree state (visibility, expansion,
+     * IDs) is reset and the URL prefix is resolved for the current request. Used to hand out elements of cached TOC skeletons, which must
+     * not be modified.
+     *
+     * @param blueprint Element to copy
+     * @should copy structural data
+     * @should reset tree state
+     */
+    TOCElement(TOCElement blueprint) {
+        this.label = blueprint.label;
+        this.pageNo = blueprint.pageNo;
+        this.pageNoLabel = blueprint.pageNoLabel;
+        this.iddoc = blueprint.iddoc;
+        this.logId = blueprint.logId;
+        this.level = blueprint.level;
+        this.topStructPi = blueprint.topStructPi;
+        this.thumbnailUrl = blueprint.thumbnailUrl;
+        this.accessPermissionPdf = blueprint.accessPermissionPdf;
+        this.accessPermissionThumbnail = blueprint.accessPermissionThumbnail;
+        this.anchorOrGroup = blueprint.anchorOrGroup;
+        this.recordMimeType = blueprint.recordMimeType;
+        this.footerId = blueprint.footerId;
+        this.pageType = blueprint.pageType;
+        this.urlSuffix = blueprint.urlSuffix;
+        this.metadata.putAll(blueprint.metadata);
+        this.groupIds = blueprint.groupIds != null ? new ArrayList<>(blueprint.groupIds) : null;
+        urlPrefix = new StringBuilder().append(BeanUtils.getServletPathWithHostAsUrlFromJsfContext()).append('/').toString();
+    }
+
     /** {@inheritDoc} */
     @Override
     public int hashCode() {
@@ -64,6 +64,8 @@ import io.goobi.viewer.model.search.SearchHelper;
 import io.goobi.viewer.model.security.AccessConditionUtils;
 import io.goobi.viewer.model.security.AccessPermission;
 import io.goobi.viewer.model.security.IPrivilegeHolder;
+import io.goobi.viewer.model.toc.TocSkeletonCache.SkeletonKey;
+import io.goobi.viewer.model.toc.TocSkeletonCache.TocSkeleton;
 import io.goobi.viewer.model.viewer.StringPair;
 import io.goobi.viewer.model.viewer.StructElement;
 import io.goobi.viewer.solr.SolrConstants;
@@ -148,6 +150,7 @@ public final class TocMaker {
      * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
      * @throws io.goobi.viewer.exceptions.DAOException if any.
      * @should include anchor element full volume tree and sibling volume top elements in TOC
+     * @should return separate element copies for each call
      */
     public static Map<String, List<TOCElement>> generateToc(TOC toc, StructElement structElement, boolean addAllSiblings, String mimeType,
             int tocCurrentPage, int hitsPerPage) throws PresentationException, IndexUnreachableException, DAOException {
@@ -212,7 +215,8 @@ public final class TocMaker {
     }
 
     /**
-     * Builds a TOC tree for non-anchor and non-group documents. Adds clickable sibling elements, if so requested.
+     * Builds a TOC tree for non-anchor and non-group documents. Adds clickable sibling elements, if so requested. The structure is taken from
+     * the {@link TocSkeletonCache} if available; only the access permissions are resolved for each call.
      *
      * @param doc Solr document for the top-level record
      * @param structElement struct element representing the loaded record
@@ -227,6 +231,54 @@ public final class TocMaker {
     private static List<TOCElement> buildToc(SolrDocument doc, StructElement structElement, boolean addAllSiblings, String mimeType,
             boolean sourceFormatPdfAllowed) throws PresentationException, IndexUnreachableException, DAOException {
         logger.trace("buildToc");
+        TocSkeletonCache cache = DataManager.getInstance().getTocSkeletonCache();
+        SkeletonKey key = new SkeletonKey((String) doc.getFieldValue(SolrConstants.IDDOC), mimeType, addAllSiblings, false);
+        TocSkeleton skeleton = cache.get(key);
+        if (skeleton == null) {
+            skeleton = new TocSkeleton(buildTocSkeleton(doc, structElement, addAllSiblings, mimeType), null);
+            cache.put(key, skeleton);
+        } else {
+            logger.trace("TOC skeleton found in cache");
+        }
+
+        // Copy the elements, since the TOC modifies the tree state of its elements
+        List<TOCElement> ret = new ArrayList<>(skeleton.size());
+        Set<String> pis = new HashSet<>();
+        for (TOCElement element : skeleton.elements()) {
+            ret.add(new TOCElement(element));
+            if (element.getTopStructPi() != null) {
+                pis.add(element.getTopStructPi());
+            }
+        }
+
+        // ONE batch permission Solr query resolves permissions for all contained PIs at once.
+        boolean pdfNeeded = sourceFormatPdfAllowed && DataManager.getInstance().getConfiguration().isTocPdfEnabled();
+        Set<String> privileges = new HashSet<>();
+        privileges.add(IPrivilegeHolder.PRIV_VIEW_THUMBNAILS);
+        if (pdfNeeded) {
+            privileges.add(IPrivilegeHolder.PRIV_DOWNLOAD_PDF);
+        }
+        Map<String, Map<String, Map<String, AccessPermission>>> batchPermissions =
+                AccessConditionUtils.checkAccessPermissionsForPisAndPrivileges(pis, privileges, BeanUtils.getRequest());
+        applyPermissionsToTocElements(Collections.singletonList(ret), batchPermissions, pdfNeeded);
+
+        return ret;
+    }
+
+    /**
+     * Builds the TOC tree elements for non-anchor and non-group documents with default access permissions.
+     *
+     * @param doc Solr document for the top-level record
+     * @param structElement struct element representing the loaded record
+     * @param addAllSiblings whether to include sibling elements in the TOC
+     * @param mimeType mime type of the record, determines target URL
+     * @return Largest TOC tree of all configured ancestor fields
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @throws DAOException
+     */
+    private static List<TOCElement> buildTocSkeleton(SolrDocument doc, StructElement structElement, boolean addAllSiblings, String mimeType)
+            throws PresentationException, IndexUnreachableException, DAOException {
         List<List<TOCElement>> ret = new ArrayList<>();
 
         int level = 0;
@@ -239,10 +291,7 @@ public final class TocMaker {
             ancestorFields.add(0, SolrConstants.PI_PARENT);
         }
 
-        // Pass 1: walk every ancestor-field tree, accumulate every visited PI into collectedPis. Permissions
-        // on TOCElements stay at default values; Pass 3 applies them after Pass 2's batch lookup.
-        Set<String> collectedPis = new HashSet<>();
-
+        // Walk every ancestor-field tree. Permissions on TOCElements stay at default values; they are applied per call by buildToc.
         // int mainRecordLevel = 0; // currently not in use
         for (String ancestorField : ancestorFields) {
             logger.trace("ancestor field: {}", ancestorField);
@@ -276,31 +325,14 @@ public final class TocMaker {
                 }
                 //                mainDocumentChain.addAll(ancestorList);
                 SolrDocument topAncestor = ancestorList.get(ancestorList.size() - 1);
-                populateTocTree(tree, seen, mainDocumentChain, topAncestor, level, true, sourceFormatPdfAllowed, mimeType, ancestorField,
-                        addAllSiblings, footerId, collectedPis);
+                populateTocTree(tree, seen, mainDocumentChain, topAncestor, level, true, mimeType, ancestorField, addAllSiblings, footerId);
             } else {
                 // No ancestors found, just populate the main record TOC
-                populateTocTree(tree, seen, mainDocumentChain, doc, level, true, sourceFormatPdfAllowed, mimeType, ancestorField, addAllSiblings,
-                        footerId, collectedPis);
+                populateTocTree(tree, seen, mainDocumentChain, doc, level, true, mimeType, ancestorField, addAllSiblings, footerId);
             }
             ret.add(tree);
         }
 
-        // Pass 2: ONE batch permission Solr query resolves permissions for all collected PIs at once.
-        boolean pdfNeeded = sourceFormatPdfAllowed && DataManager.getInstance().getConfiguration().isTocPdfEnabled();
-        Set<String> privileges = new HashSet<>();
-        privileges.add(IPrivilegeHolder.PRIV_VIEW_THUMBNAILS);
-        if (pdfNeeded) {
-            privileges.add(IPrivilegeHolder.PRIV_DOWNLOAD_PDF);
-        }
-        Map<String, Map<String, Map<String, AccessPermission>>> batchPermissions =
-                AccessConditionUtils.checkAccessPermissionsForPisAndPrivileges(collectedPis, privileges, BeanUtils.getRequest());
-
-        // Pass 3: apply resolved permissions onto TOCElements that were built with defaults in Pass 1. Iterates
-        // every tree in `ret`, not only the bestTree picked below — keeping it ahead of the bestTree selection
-        // so a future change of selection logic does not silently leave elements with default permissions.
-        applyPermissionsToTocElements(ret, batchPermissions, pdfNeeded);
-
         // Return the largest TOC tree
         List<TOCElement> bestTree = null;
 
@@ -360,7 +392,7 @@ public final class TocMaker {
 
         SolrDocumentList groupMemberDocs = DataManager.getInstance()
                 .getSearchIndex()
-                .search(sbQuery.toString(), SolrSearchIndex.MAX_HITS, sortFields, returnFields);
+                .searchAll(sbQuery.toString(), sortFields, returnFields);
         if (groupMemberDocs == null || groupMemberDocs.isEmpty()) {
             logger.trace("No group records found for {}", groupIdValue);
             return;
@@ -490,7 +522,9 @@ public final class TocMaker {
     }
 
     /**
-     * Adds TOC elements for volumes that belong to the anchor document with the given IDDOC.
+     * Adds TOC elements for volumes that belong to the anchor document with the given IDDOC. The volume list is taken from the
+     * {@link TocSkeletonCache} if available, so that each TOC page is a view on the cached list; only the access permissions of the volumes
+     * on the requested page are resolved for each call.
      *
      * @param ret map to which TOC element lists are added per group
      * @param anchorDoc Solr document of the anchor record
@@ -515,8 +549,11 @@ public final class TocMaker {
             throw new IllegalArgumentException("page must be >=1");
         }
 
+        TocSkeletonCache cache = DataManager.getInstance().getTocSkeletonCache();
+        SkeletonKey skeletonKey = new SkeletonKey(iddoc, null, false, true);
+        TocSkeleton skeleton = cache.get(skeletonKey);
         String query = new StringBuilder(SolrConstants.IDDOC_PARENT).append(":\"").append(iddoc).append('"').toString();
-        int hits = (int) DataManager.getInstance().getSearchIndex().getHitCount(query);
+        int hits = skeleton != null ? skeleton.size() : (int) DataManager.getInstance().getSearchIndex().getHitCount(query);
         int offset = 0;
         int useHitsPerPage = hitsPerPage;
         if (useHitsPerPage <= 0) {
@@ -530,129 +567,81 @@ public final class TocMaker {
 
         }
 
-        List<String> volumeFieldList = getSolrFieldsToFetch("_VOLUMES");
-        //add group fields to display connections to groups (convolutes, series,...)
-        volumeFieldList.add(SolrConstants.PREFIX_GROUPID + "*");
-        // Add TOC volume grouping field for the given volume docstruct type to the list of fields to return
-        String tocGroupField = DataManager.getInstance().getConfiguration().getTocVolumeGroupFieldForTemplate(anchorDocstructType);
-        if (tocGroupField != null) {
-            volumeFieldList.add(tocGroupField);
-            logger.trace("group field: {}", tocGroupField);
-        }
-        // logger.trace("Volume query: {}", query);
-        QueryResponse queryResponse = DataManager.getInstance()
-                .getSearchIndex()
-                .search(query, offset, useHitsPerPage,
-                        DataManager.getInstance().getConfiguration().getTocVolumeSortFieldsForTemplate(anchorDocstructType), null, volumeFieldList);
-        if (queryResponse != null) {
-            HttpServletRequest request = BeanUtils.getRequest();
-            // logger.trace("Volumes found: {}", queryResponse.getResults().size());
-
-            // Collect PI → logId mapping from query results to enable pre-fetching permissions
-            Map<String, String> piToLogId = new LinkedHashMap<>();
-            for (SolrDocument doc : queryResponse.getResults()) {
-                String volPiKey = (String) doc.getFieldValue(SolrConstants.PI_TOPSTRUCT);
-                String volLogIdValue = (String) doc.getFieldValue(SolrConstants.LOGID);
-                if (volPiKey != null) {
-                    piToLogId.put(volPiKey, volLogIdValue);
-                }
+        List<TOCElement> volumes;
+        List<String> groupNames;
+        if (skeleton == null && hits > TocSkeletonCache.MAX_ANCHOR_VOLUMES) {
+            // Too many volumes to keep in memory; only load the requested page
+            TocSkeleton page = buildVolumeSkeleton(query, anchorDocstructType, topStructPiLocal, offset, useHitsPerPage);
+            volumes = page.elements();
+            groupNames = page.groupNames();
+        } else {
+            if (skeleton == null) {
+                skeleton = buildVolumeSkeleton(query, anchorDocstructType, topStructPiLocal, 0, Math.max(hits, 1));
+                cache.put(skeletonKey, skeleton);
+            } else {
+                logger.trace("Volume TOC skeleton found in cache");
             }
+            int end = (int) Math.min((long) offset + useHitsPerPage, skeleton.size());
+            volumes = skeleton.elements().subList(Math.min(offset, end), end);
+            groupNames = skeleton.groupNames().subList(Math.min(offset, end), end);
+        }
 
-            // Pre-fetch permissions outside the loop using the same (pi, logId) pairs as in the original code.
-            // This separates data retrieval from data processing and avoids duplicate checks for the same PI.
-            Map<String, Boolean> listPermissionMap = new HashMap<>();
-            Map<String, AccessPermission> pdfPermissionMap = new HashMap<>();
-            Map<String, AccessPermission> thumbnailPermissionMap = new HashMap<>();
-            if (FacesContext.getCurrentInstance() != null) {
-                for (Map.Entry<String, String> entry : piToLogId.entrySet()) {
-                    String volPi = entry.getKey();
-                    String volLogId = entry.getValue();
-                    try {
-                        listPermissionMap.put(volPi,
-                                AccessConditionUtils.checkAccessPermissionByIdentifierAndLogId(
-                                        volPi, null, IPrivilegeHolder.PRIV_LIST, request).isGranted());
-                        pdfPermissionMap.put(volPi,
-                                AccessConditionUtils.checkAccessPermissionByIdentifierAndLogId(
-                                        volPi, volLogId, IPrivilegeHolder.PRIV_DOWNLOAD_PDF, request));
-                        thumbnailPermissionMap.put(volPi,
-                                AccessConditionUtils.checkAccessPermissionByIdentifierAndLogId(
-                                        volPi, volLogId, IPrivilegeHolder.PRIV_VIEW_IMAGES, request));
-                    } catch (RecordNotFoundException e) {
-                        logger.error("Record not found in index during permission pre-fetch: {}", volPi);
-                        listPermissionMap.put(volPi, false);
-                    }
-                }
+        HttpServletRequest request = BeanUtils.getRequest();
+        // logger.trace("Volumes found: {}", volumes.size());
+
+        // Collect PI → logId mapping from the volumes on this page to enable pre-fetching permissions
+        Map<String, String> piToLogId = new LinkedHashMap<>();
+        for (TOCElement volume : volumes) {
+            if (volume.getTopStructPi() != null) {
+                piToLogId.put(volume.getTopStructPi(), volume.getLogId());
             }
+        }
 
-            for (SolrDocument volumeDoc : queryResponse.getResults()) {
-                String topStructPi = (String) volumeDoc.getFieldValue(SolrConstants.PI_TOPSTRUCT);
-                // Skip volumes that may not be listed (use pre-fetched map instead of per-volume Solr call)
-                if (FacesContext.getCurrentInstance() != null
-                        && !listPermissionMap.getOrDefault(topStructPi, false)) {
-                    continue;
-                }
-                // Determine the TOC group for this volume based on the grouping field, if configured
-                String groupName = StringConstants.DEFAULT_NAME;
-                if (tocGroupField != null) {
-                    String groupValue = String.valueOf(volumeDoc.getFieldValue(tocGroupField));
-                    if (StringUtils.isNotEmpty(groupValue)) {
-                        groupName = groupValue;
-                    }
-                }
-                //                logger.trace("group name: {}", groupName); //NOSONAR Debug
-                List<TOCElement> groupList = ret.get(groupName);
-                if (groupList == null) {
-                    groupList = new ArrayList<>();
-                    ret.put(groupName, groupList);
+        // Pre-fetch permissions outside the loop using the same (pi, logId) pairs as in the original code.
+        // This separates data retrieval from data processing and avoids duplicate checks for the same PI.
+        Map<String, Boolean> listPermissionMap = new HashMap<>();
+        Map<String, AccessPermission> pdfPermissionMap = new HashMap<>();
+        Map<String, AccessPermission> thumbnailPermissionMap = new HashMap<>();
+        if (FacesContext.getCurrentInstance() != null) {
+            for (Map.Entry<String, String> entry : piToLogId.entrySet()) {
+                String volPi = entry.getKey();
+                String volLogId = entry.getValue();
+                try {
+                    listPermissionMap.put(volPi,
+                            AccessConditionUtils.checkAccessPermissionByIdentifierAndLogId(
+                                    volPi, null, IPrivilegeHolder.PRIV_LIST, request).isGranted());
+                    pdfPermissionMap.put(volPi,
+                            AccessConditionUtils.checkAccessPermissionByIdentifierAndLogId(
+                                    volPi, volLogId, IPrivilegeHolder.PRIV_DOWNLOAD_PDF, request));
+                    thumbnailPermissionMap.put(volPi,
+                            AccessConditionUtils.checkAccessPermissionByIdentifierAndLogId(
+                                    volPi, volLogId, IPrivilegeHolder.PRIV_VIEW_IMAGES, request));
+                } catch (RecordNotFoundException e) {
+                    logger.error("Record not found in index during permission pre-fetch: {}", volPi);
+                    listPermissionMap.put(volPi, false);
                 }
+            }
+        }
 
-                String volumeIddoc = (String) volumeDoc.getFieldValue(SolrConstants.IDDOC);
-                String volumeLogId = (String) volumeDoc.getFieldValue(SolrConstants.LOGID);
-                String volumeMimeType = (String) volumeDoc.getFieldValue(SolrConstants.MIMETYPE);
-                logger.trace("volume mime type: {}", volumeMimeType);
-
-                ThumbnailHandler thumbs = BeanUtils.getImageDeliveryBean().getThumbs();
-                StructElement struct = new StructElement(volumeIddoc, volumeDoc);
-                String thumbnailUrl = thumbs.getThumbnailUrl(struct, ANCHOR_THUMBNAIL_WIDTH, ANCHOR_THUMBNAIL_HEIGHT);
-                int thumbPageNo =
-                        volumeDoc.getFieldValue(SolrConstants.THUMBPAGENO) != null ? (int) volumeDoc.getFieldValue(SolrConstants.THUMBPAGENO) : 1;
-                String thumbPageNoLabel = (String) volumeDoc.getFieldValue(SolrConstants.THUMBPAGENOLABEL);
-
-                String footerId = getFooterId(volumeDoc, DataManager.getInstance().getConfiguration().getWatermarkIdField());
-                String docStructType = (String) volumeDoc.getFieldValue(SolrConstants.DOCSTRCT);
-
-                IMetadataValue volumeLabel = buildLabel(volumeDoc, docStructType);
-                volumeLabel.mapEach(StringEscapeUtils::unescapeHtml4);
-                // Use pre-fetched permission maps instead of individual Solr calls per volume
-                boolean accessPermissionPdf = sourceFormatPdfAllowed
-                        && pdfPermissionMap.getOrDefault(topStructPi, AccessPermission.denied()).isGranted();
-                AccessPermission accessPermissionThumbnail =
-                        thumbnailPermissionMap.getOrDefault(topStructPi, AccessPermission.denied());
-                logger.trace("accessPermissionThumbnail: {}", accessPermissionThumbnail.isGranted());
-
-                TOCElement tocElement =
-                        new TOCElement(volumeLabel, String.valueOf(thumbPageNo), thumbPageNoLabel, volumeIddoc, volumeLogId, 1, topStructPi,
-                                thumbnailUrl, accessPermissionPdf, false, thumbnailUrl != null, volumeMimeType, docStructType, footerId);
-                tocElement.setAccessPermissionThumbnail(accessPermissionThumbnail);
-                tocElement.getMetadata().put(SolrConstants.DOCSTRCT, docStructType);
-                tocElement.getMetadata().put(SolrConstants.CURRENTNO, (String) volumeDoc.getFieldValue(SolrConstants.CURRENTNO));
-                tocElement.getMetadata().put(SolrConstants.TITLE, (String) volumeDoc.getFirstValue(SolrConstants.TITLE));
-                groupList.add(tocElement);
-                logger.trace("TOC element added: {}", tocElement.getTopStructPi());
-
-                // Collect group IDs to which this volume might belong
-                List<String> groupIds = new ArrayList<>();
-                for (String fieldName : volumeDoc.getFieldNames()) {
-                    if (fieldName.startsWith(SolrConstants.PREFIX_GROUPID)) {
-                        for (Object objValue : volumeDoc.getFieldValues(fieldName)) {
-                            if (!objValue.equals(topStructPiLocal)) {
-                                groupIds.add((String) objValue);
-                            }
-                        }
-                    }
-                }
-                tocElement.setGroupIds(groupIds);
+        for (int i = 0; i < volumes.size(); ++i) {
+            String topStructPi = volumes.get(i).getTopStructPi();
+            // Skip volumes that may not be listed (use pre-fetched map instead of per-volume Solr call)
+            if (FacesContext.getCurrentInstance() != null
+                    && !listPermissionMap.getOrDefault(topStructPi, false)) {
+                continue;
             }
+            List<TOCElement> groupList = ret.computeIfAbsent(groupNames.get(i), k -> new ArrayList<>());
+
+            // Use pre-fetched permission maps instead of individual Solr calls per volume
+            TOCElement tocElement = new TOCElement(volumes.get(i));
+            tocElement.setAccessPermissionPdf(sourceFormatPdfAllowed
+                    && pdfPermissionMap.getOrDefault(topStructPi, AccessPermission.denied()).isGranted());
+            AccessPermission accessPermissionThumbnail =
+                    thumbnailPermissionMap.getOrDefault(topStructPi, AccessPermission.denied());
+            logger.trace("accessPermissionThumbnail: {}", accessPermissionThumbnail.isGranted());
+            tocElement.setAccessPermissionThumbnail(accessPermissionThumbnail);
+            groupList.add(tocElement);
+            logger.trace("TOC element added: {}", tocElement.getTopStructPi());
         }
 
         // Add first volume's mime type to anchor
@@ -681,6 +670,96 @@ public final class TocMaker {
         return hits;
     }
 
+    /**
+     * Loads the volumes of an anchor and builds their TOC elements with default access permissions.
+     *
+     * @param query Solr query for the volumes
+     * @param anchorDocstructType Docstruct type of the anchor; determines the sorting and grouping of volumes
+     * @param anchorPi PI of the anchor
+     * @param offset Index of the first volume to load
+     * @param rows Number of volumes to load
+     * @return {@link TocSkeleton} with the volume elements and their TOC group names
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private static TocSkeleton buildVolumeSkeleton(String query, String anchorDocstructType, String anchorPi, int offset, int rows)
+            throws PresentationException, IndexUnreachableException {
+        List<String> volumeFieldList = getSolrFieldsToFetch("_VOLUMES");
+        //add group fields to display connections to groups (convolutes, series,...)
+        volumeFieldList.add(SolrConstants.PREFIX_GROUPID + "*");
+        // Add TOC volume grouping field for the given volume docstruct type to the list of fields to return
+        String tocGroupField = DataManager.getInstance().getConfiguration().getTocVolumeGroupFieldForTemplate(anchorDocstructType);
+        if (tocGroupField != null) {
+            volumeFieldList.add(tocGroupField);
+            logger.trace("group field: {}", tocGroupField);
+        }
+        // logger.trace("Volume query: {}", query);
+        QueryResponse queryResponse = DataManager.getInstance()
+                .getSearchIndex()
+                .search(query, offset, rows,
+                        DataManager.getInstance().getConfiguration().getTocVolumeSortFieldsForTemplate(anchorDocstructType), null, volumeFieldList);
+        List<TOCElement> elements = new ArrayList<>();
+        List<String> groupNames = new ArrayList<>();
+        if (queryResponse == null) {
+            return new TocSkeleton(elements, groupNames);
+        }
+
+        for (SolrDocument volumeDoc : queryResponse.getResults()) {
+            // Determine the TOC group for this volume based on the grouping field, if configured
+            String groupName = StringConstants.DEFAULT_NAME;
+            if (tocGroupField != null) {
+                String groupValue = String.valueOf(volumeDoc.getFieldValue(tocGroupField));
+                if (StringUtils.isNotEmpty(groupValue)) {
+                    groupName = groupValue;
+                }
+            }
+            //                logger.trace("group name: {}", groupName); //NOSONAR Debug
+
+            String volumeIddoc = (String) volumeDoc.getFieldValue(SolrConstants.IDDOC);
+            String volumeLogId = (String) volumeDoc.getFieldValue(SolrConstants.LOGID);
+            String volumeMimeType = (String) volumeDoc.getFieldValue(SolrConstants.MIMETYPE);
+            String topStructPi = (String) volumeDoc.getFieldValue(SolrConstants.PI_TOPSTRUCT);
+            logger.trace("volume mime type: {}", volumeMimeType);
+
+            ThumbnailHandler thumbs = BeanUtils.getImageDeliveryBean().getThumbs();
+            StructElement struct = new StructElement(volumeIddoc, volumeDoc);
+            String thumbnailUrl = thumbs.getThumbnailUrl(struct, ANCHOR_THUMBNAIL_WIDTH, ANCHOR_THUMBNAIL_HEIGHT);
+            int thumbPageNo =
+                    volumeDoc.getFieldValue(SolrConstants.THUMBPAGENO) != null ? (int) volumeDoc.getFieldValue(SolrConstants.THUMBPAGENO) : 1;
+            String thumbPageNoLabel = (String) volumeDoc.getFieldValue(SolrConstants.THUMBPAGENOLABEL);
+
+            String footerId = getFooterId(volumeDoc, DataManager.getInstance().getConfiguration().getWatermarkIdField());
+            String docStructType = (String) volumeDoc.getFieldValue(SolrConstants.DOCSTRCT);
+
+            IMetadataValue volumeLabel = buildLabel(volumeDoc, docStructType);
+            volumeLabel.mapEach(StringEscapeUtils::unescapeHtml4);
+
+            TOCElement tocElement =
+                    new TOCElement(volumeLabel, String.valueOf(thumbPageNo), thumbPageNoLabel, volumeIddoc, volumeLogId, 1, topStructPi,
+                            thumbnailUrl, false, false, thumbnailUrl != null, volumeMimeType, docStructType, footerId);
+            tocElement.getMetadata().put(SolrConstants.DOCSTRCT, docStructType);
+            tocElement.getMetadata().put(SolrConstants.CURRENTNO, (String) volumeDoc.getFieldValue(SolrConstants.CURRENTNO));
+            tocElement.getMetadata().put(SolrConstants.TITLE, (String) volumeDoc.getFirstValue(SolrConstants.TITLE));
+
+            // Collect group IDs to which this volume might belong
+            List<String> groupIds = new ArrayList<>();
+            for (String fieldName : volumeDoc.getFieldNames()) {
+                if (fieldName.startsWith(SolrConstants.PREFIX_GROUPID)) {
+                    for (Object objValue : volumeDoc.getFieldValues(fieldName)) {
+                        if (!objValue.equals(anchorPi)) {
+                            groupIds.add((String) objValue);
+                        }
+                    }
+                }
+            }
+            tocElement.setGroupIds(groupIds);
+            elements.add(tocElement);
+            groupNames.add(groupName);
+        }
+
+        return new TocSkeleton(elements, groupNames);
+    }
+
     /**
      * Returns {@code true} when {@code doc} represents an anchor or group whose calendar widget is the
      * primary navigation between its sibling records — in which case the TOC sibling-enumeration block
@@ -749,8 +828,7 @@ public final class TocMaker {
 
     /**
      * Recursively walks the TOC structure for one ancestor-field hierarchy, building TOCElement skeletons
-     * with default permissions (Pass 1 of the two-pass buildToc flow). Every visited PI is added to
-     * {@code collectedPis} so that Pass 2 can resolve all permissions in a single batch Solr query.
+     * with default permissions. Permissions are resolved by buildToc in a single batch Solr query.
      *
      * @param ret list to which TOC elements are added
      * @param seen set of already-added elements used for deduplication
@@ -758,29 +836,21 @@ public final class TocMaker {
      * @param doc Solr document of the current node to process
      * @param level current depth level in the TOC tree
      * @param addChildren whether to recurse into child struct elements
-     * @param sourceFormatPdfAllowed whether the source format allows PDF download
      * @param mimeType mime type of the record, determines target URL
      * @param ancestorField Solr field used to resolve ancestor/parent relationships
      * @param addAllSiblings whether to include sibling elements in the TOC
      * @param footerId watermark footer identifier for access conditions
-     * @param collectedPis mutable set to which every visited PI is added for batch permission resolution
      * @throws PresentationException
      * @throws IndexUnreachableException
      * @throws DAOException
      */
     private static void populateTocTree(List<TOCElement> ret, Set<TOCElement> seen, List<String> mainDocumentChain, SolrDocument doc, int level,
-            boolean addChildren, boolean sourceFormatPdfAllowed, String mimeType, String ancestorField, boolean addAllSiblings, String footerId,
-            Set<String> collectedPis)
+            boolean addChildren, String mimeType, String ancestorField, boolean addAllSiblings, String footerId)
             throws PresentationException, IndexUnreachableException, DAOException {
         Map<String, List<SolrDocument>> childrenMap = new HashMap<>();
         String pi = (String) doc.getFieldValue(SolrConstants.PI);
         if (pi == null) {
             logger.error("No PI found for: {}", doc.getFieldValue(SolrConstants.IDDOC));
-        } else {
-            // Pass 1: collect every visited PI so the post-walk batch query covers all of them.
-            // Permissions on TOCElements stay at their default values until applyPermissionsToTocElements
-            // applies them in Pass 3.
-            collectedPis.add(pi);
         }
         logger.trace("populateTocTree: {}; number of items in toc: {}", pi, ret.size());
 
@@ -803,9 +873,7 @@ public final class TocMaker {
             // TODO determine child docstruct type before fetching the child docs to determine the required fields
             SolrDocumentList docs = DataManager.getInstance()
                     .getSearchIndex()
-                    .search(query, 0, SolrSearchIndex.MAX_HITS, Collections.singletonList(new StringPair(SolrConstants.THUMBPAGENO, "asc")), null,
-                            null)
-                    .getResults();
+                    .searchAll(query, Collections.singletonList(new StringPair(SolrConstants.THUMBPAGENO, "asc")), null);
             logger.trace("Real children: {} (found: {})", query, docs.size());
             if (!docs.isEmpty()) {
                 for (SolrDocument childDoc : docs) {
@@ -820,7 +888,7 @@ public final class TocMaker {
             }
         }
 
-        // Pass 1: build TOCElement skeletons with default permissions. Permissions get applied in Pass 3 by
+        // Build TOCElement skeletons with default permissions. Permissions get applied per call by
         // applyPermissionsToTocElements.
         addTocElementsRecusively(ret, seen, childrenMap, doc, level, addChildren, Collections.emptyMap(),
                 Collections.emptyMap(), mimeType, footerId);
@@ -873,7 +941,7 @@ public final class TocMaker {
                 logger.trace("Sibling query: {}", siblingQuery);
                 SolrDocumentList childDocs = DataManager.getInstance()
                         .getSearchIndex()
-                        .search(siblingQuery, SolrSearchIndex.MAX_HITS,
+                        .searchAll(siblingQuery,
                                 DataManager.getInstance()
                                         .getConfiguration()
                                         .getTocVolumeSortFieldsForTemplate(SolrTools.getSingleFieldStringValue(doc, SolrConstants.DOCSTRCT)),
@@ -884,8 +952,8 @@ public final class TocMaker {
                     for (SolrDocument childDoc : childDocs) {
                         // Add child, if either all siblings are requested or the path leads to the main record
                         if (addSiblings || (mainDocumentChain != null && mainDocumentChain.contains(childDoc.getFieldValue(SolrConstants.IDDOC)))) {
-                            populateTocTree(ret, seen, mainDocumentChain, childDoc, level + 1, addChildren, sourceFormatPdfAllowed, mimeType,
-                                    ancestorField, addSiblings, footerId, collectedPis);
+                            populateTocTree(ret, seen, mainDocumentChain, childDoc, level + 1, addChildren, mimeType, ancestorField, addSiblings,
+                                    footerId);
                         }
                     }
                 }
@@ -1171,7 +1239,7 @@ public final class TocMaker {
 
     /**
      * Applies thumbnail and PDF permissions onto already-constructed TOCElements based on a per-PI batch result.
-     * Used by the two-pass buildToc flow to defer permission resolution until after structure assembly.
+     * Used by buildToc to apply the current user's permissions onto copies of the (cached) structure.
      *
      * @param trees list of per-ancestor-field TOCElement lists to update in place
      * @param batch result of AccessConditionUtils.checkAccessPermissionsForPisAndPrivileges keyed
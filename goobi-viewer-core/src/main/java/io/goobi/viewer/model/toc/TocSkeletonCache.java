@@ -0,0 +1,170 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.toc;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * <p>
+ * Application-scoped cache for the structural part of tables of contents. A skeleton contains the {@link TOCElement}s of a record TOC (or
+ * of all volumes of an anchor) as built from the index, with default access permissions. It only depends on the index and the configuration,
+ * so it is shared between all sessions; {@link TocMaker} hands out copies and applies the permissions of the current user to them. Labels
+ * contain all translations, so skeletons are not kept per language.
+ * </p>
+ *
+ * <p>
+ * Skeletons are kept in LRU order up to a total number of elements. Since indexing a record can change the TOCs of its anchor and sibling
+ * volumes, all skeletons are dropped via the cache REST endpoint whenever the indexer reports an update.
+ * </p>
+ */
+public class TocSkeletonCache {
+
+    private static final Logger logger = LogManager.getLogger(TocSkeletonCache.class);
+
+    /** Upper bound for the total number of cached elements. */
+    static final int MAX_ELEMENTS = 200000;
+    /** Anchors with more volumes are not cached; their TOC is loaded page by page instead. */
+    static final int MAX_ANCHOR_VOLUMES = 5000;
+
+    /** Skeletons in access order; guarded by itself. */
+    private final Map<SkeletonKey, TocSkeleton> skeletons = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxElements;
+    /** Total number of elements in all cached skeletons; guarded by {@link #skeletons}. */
+    private int elementCount = 0;
+
+    /**
+     * Creates a cache with the default maximum number of elements.
+     */
+    public TocSkeletonCache() {
+        this(MAX_ELEMENTS);
+    }
+
+    /**
+     *
+     * @param maxElements Maximum total number of cached elements
+     */
+    TocSkeletonCache(int maxElements) {
+        this.maxElements = maxElements;
+    }
+
+    /**
+     *
+     * @param key Skeleton key
+     * @return Cached {@link TocSkeleton}; null if none is cached
+     * @should return put skeleton
+     * @should return null for different key
+     */
+    TocSkeleton get(SkeletonKey key) {
+        synchronized (skeletons) {
+            return skeletons.get(key);
+        }
+    }
+
+    /**
+     * Caches the given skeleton, evicting the least recently used skeletons if the maximum number of elements is exceeded.
+     *
+     * @param key Skeleton key
+     * @param skeleton {@link TocSkeleton} to cache
+     * @should evict least recently used skeleton when full
+     * @should not cache skeleton larger than maximum
+     */
+    void put(SkeletonKey key, TocSkeleton skeleton) {
+        if (key == null || skeleton == null || skeleton.size() > maxElements) {
+            return;
+        }
+        synchronized (skeletons) {
+            TocSkeleton previous = skeletons.put(key, skeleton);
+            if (previous != null) {
+                elementCount -= previous.size();
+            }
+            elementCount += skeleton.size();
+            Iterator<TocSkeleton> iterator = skeletons.values().iterator();
+            while (elementCount > maxElements && iterator.hasNext()) {
+                elementCount -= iterator.next().size();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all cached skeletons.
+     *
+     * @should remove all skeletons
+     */
+    public void invalidate() {
+        synchronized (skeletons) {
+            skeletons.clear();
+            elementCount = 0;
+        }
+        logger.trace("TOC skeleton cache cleared.");
+    }
+
+    /**
+     *
+     * @return Number of cached skeletons
+     */
+    public int getSize() {
+        synchronized (skeletons) {
+            return skeletons.size();
+        }
+    }
+
+    /**
+     * Identifies a skeleton.
+     *
+     * @param iddoc IDDOC of the record or anchor
+     * @param mimeType Mime type passed to the TOC elements; null for anchors
+     * @param addAllSiblings Whether sibling records are included
+     * @param anchor true for the volume list of an anchor
+     */
+    record SkeletonKey(String iddoc, String mimeType, boolean addAllSiblings, boolean anchor) {
+    }
+
+    /**
+     * Immutable list of TOC elements. Elements must not be modified; {@link TOCElement#TOCElement(TOCElement)} creates modifiable copies.
+     *
+     * @param elements TOC elements in display order
+     * @param groupNames TOC group name of each element (anchor volumes only); null if all elements belong to the default group
+     */
+    record TocSkeleton(List<TOCElement> elements, List<String> groupNames) {
+
+        TocSkeleton {
+            elements = Collections.unmodifiableList(elements);
+            groupNames = groupNames != null ? Collections.unmodifiableList(groupNames) : null;
+        }
+
+        /**
+         *
+         * @return Number of elements
+         */
+        int size() {
+            return elements.size();
+        }
+    }
+}
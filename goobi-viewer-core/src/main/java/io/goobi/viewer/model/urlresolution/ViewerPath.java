@@ -206,11 +206,11 @@ public class ViewerPath implements Serializable {
         if (getCmsPage() != null) {
             try {
                 path = DataManager.getInstance()
-                        .getDao()
-                        .getStaticPageForCMSPage(getCmsPage())
+                        .getCmsSnapshotCache()
+                        .getStaticPageNames(getCmsPage().getId())
                         .stream()
                         .findFirst()
-                        .map(staticPage -> staticPage.getPageName().replaceAll("(^\\/)|(\\/$)", ""))
+                        .map(pageName -> pageName.replaceAll("(^\\/)|(\\/$)", ""))
                         .map(URI::create);
             } catch (DAOException e) {
                 //
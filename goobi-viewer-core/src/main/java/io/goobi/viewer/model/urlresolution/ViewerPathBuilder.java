@@ -39,7 +39,6 @@ import com.ocpsoft.pretty.PrettyContext;
 import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.controller.StringTools;
 import io.goobi.viewer.exceptions.DAOException;
-import io.goobi.viewer.model.cms.CMSStaticPage;
 import io.goobi.viewer.model.cms.pages.CMSPage;
 import io.goobi.viewer.model.crowdsourcing.campaigns.Campaign;
 import io.goobi.viewer.model.viewer.PageType;
@@ -170,10 +169,12 @@ public final class ViewerPathBuilder {
                 currentPath.setParameterPath(currentPath.getPagePath().relativize(servicePath));
                 currentPath.setPageType(pageType.get());
                 if (pageType.get().isHandledWithCms()) {
-                    Optional<CMSStaticPage> staticPage = DataManager.getInstance().getDao().getStaticPageForTypeType(pageType.get());
-                    Optional<CMSPage> oCmsPage = staticPage.map(sp -> sp.getCmsPage());
-                    if (oCmsPage.isPresent()) {
-                        currentPath.setCmsPage(oCmsPage.get());
+                    Optional<Long> cmsPageId = DataManager.getInstance().getCmsSnapshotCache().getCmsPageIdForStaticPage(pageType.get().getName());
+                    if (cmsPageId.isPresent()) {
+                        CMSPage cmsPage = DataManager.getInstance().getDao().getCMSPage(cmsPageId.get());
+                        if (cmsPage != null) {
+                            currentPath.setCmsPage(cmsPage);
+                        }
                     }
                 }
             } else {
@@ -200,22 +201,12 @@ public final class ViewerPathBuilder {
      * @throws io.goobi.viewer.exceptions.DAOException if any.
      */
     public static Optional<CMSPage> getCmsPage(URI servicePath) throws DAOException {
-
-        List<CMSPage> cmsPages = DataManager.getInstance().getDao().getAllCMSPages();
-        //check pages with longer persistent url first because they have a narrower match and should be preferred
-        Collections.sort(cmsPages,
-                (p1, p2) -> Integer.compare(StringTools.getLength(p2.getPersistentUrl()), StringTools.getLength(p1.getPersistentUrl())));
-        for (CMSPage cmsPage : cmsPages) {
-            String pagePath = cmsPage.getPersistentUrl();
-            if (StringUtils.isNotBlank(pagePath)) {
-                pagePath = pagePath.replaceAll("(^\\/)|(\\/$)", "").trim();
-                if (startsWith(servicePath, pagePath)) {
-                    return Optional.of(cmsPage);
-                }
-            }
+        // Persistent URLs are matched against the application-scoped snapshot; only the matching page is loaded
+        Optional<Long> cmsPageId = DataManager.getInstance().getCmsSnapshotCache().findCmsPageIdForPath(servicePath);
+        if (cmsPageId.isPresent()) {
+            return Optional.ofNullable(DataManager.getInstance().getDao().getCMSPage(cmsPageId.get()));
         }
         return Optional.empty();
-
     }
 
     /**
@@ -26,6 +26,8 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -67,6 +69,7 @@ import io.goobi.viewer.controller.NetTools;
 import io.goobi.viewer.controller.StringConstants;
 import io.goobi.viewer.controller.imaging.ThumbnailHandler;
 import io.goobi.viewer.controller.model.ViewAttributes;
+import io.goobi.viewer.controller.model.alto.AltoWordIndex;
 import io.goobi.viewer.exceptions.AccessDeniedException;
 import io.goobi.viewer.exceptions.DAOException;
 import io.goobi.viewer.exceptions.IndexUnreachableException;
@@ -1110,6 +1113,16 @@ public class PhysicalElement implements Comparable<PhysicalElement>, IAccessDeni
         }
         logger.trace("loadWordCoords: {}", searchTerms);
 
+        Dimension imageSize = (width > 0 && height > 0) ? new Dimension(width, height) : null;
+        if (altoText == null && wordCoordsFormat != CoordsFormat.NONE) {
+            // Read words from the precomputed index instead of parsing the ALTO document
+            AltoWordIndex words = loadAltoWordIndex();
+            if (words != null && words.getWordCount() > 0) {
+                wordCoordsFormat = CoordsFormat.ALTO;
+                return ALTOTools.getWordCoords(words, searchTerms, proximitySearchDistance, rotation, imageSize);
+            }
+        }
+
         if (altoText == null && wordCoordsFormat == CoordsFormat.UNCHECKED) {
             // Load XML document
             try {
@@ -1124,7 +1137,6 @@ public class PhysicalElement implements Comparable<PhysicalElement>, IAccessDeni
         }
 
         if (altoText != null) {
-            Dimension imageSize = (width > 0 && height > 0) ? new Dimension(width, height) : null;
             return ALTOTools.getWordCoords(altoText, altoCharset, searchTerms, proximitySearchDistance, rotation, imageSize);
         }
         wordCoordsFormat = CoordsFormat.NONE;
@@ -1132,6 +1144,28 @@ public class PhysicalElement implements Comparable<PhysicalElement>, IAccessDeni
         return Collections.emptyList();
     }
 
+    /**
+     * Loads the word index of this page's ALTO file, if fulltext access is permitted.
+     *
+     * @return {@link AltoWordIndex}; null if not available
+     */
+    private AltoWordIndex loadAltoWordIndex() {
+        if (altoFileName == null || !Boolean.TRUE.equals(isFulltextAccessPermission())) {
+            return null;
+        }
+        try {
+            Path altoFile = DataFileTools.getDataFilePath(pi, DataManager.getInstance().getConfiguration().getAltoCrowdsourcingFolder(),
+                    DataManager.getInstance().getConfiguration().getAltoFolder(), FileTools.getFilenameFromPathString(altoFileName));
+            if (altoFile != null && Files.isRegularFile(altoFile)) {
+                return AltoWordIndex.load(altoFile);
+            }
+        } catch (PresentationException | IndexUnreachableException | IOException | JDOMException e) {
+            logger.error("{} (pi={}, altoFileName={})", e.getMessage(), pi, altoFileName);
+        }
+
+        return null;
+    }
+
     /**
      * Loads ALTO data for this page via the REST service, if not yet loaded.
      *
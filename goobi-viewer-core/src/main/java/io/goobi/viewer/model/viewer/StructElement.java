@@ -92,6 +92,8 @@ public class StructElement extends StructElementStub implements Comparable<Struc
     private List<ShapeMetadata> shapeMetadata;
     private ComplexMetadataContainer metadataDocuments = null;
     private StructElement topStruct = null;
+    /** Prefetched first volume of this anchor; returned by {@link #getFirstVolume(List)} instead of querying the index. */
+    private StructElement firstVolume = null;
     /** True if this record has a right-to-left reading direction. */
     private boolean rtl = false;
     private MimeType mimeType = new MimeType();
@@ -935,6 +937,9 @@ public class StructElement extends StructElementStub implements Comparable<Struc
      * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
      */
     public StructElement getFirstVolume(List<String> fields) throws PresentationException, IndexUnreachableException {
+        if (firstVolume != null) {
+            return firstVolume;
+        }
 
         if (anchor) {
             List<StringPair> sortFields = DataManager.getInstance().getConfiguration().getTocVolumeSortFieldsForTemplate(getDocStructType());
@@ -979,6 +984,18 @@ public class StructElement extends StructElementStub implements Comparable<Struc
         return null;
     }
 
+    /**
+     * Sets a prefetched first volume for this anchor or group, so that {@link #getFirstVolume(List)} does not need to query the index. The volume
+     * document must contain all fields that callers of {@link #getFirstVolume(List)} request (usually
+     * {@link io.goobi.viewer.controller.imaging.ThumbnailHandler#REQUIRED_SOLR_FIELDS}).
+     *
+     * @param firstVolume Prefetched first volume
+     * @should return seeded volume without querying index
+     */
+    public void setFirstVolume(StructElement firstVolume) {
+        this.firstVolume = firstVolume;
+    }
+
     /**
      * getFirstPageFieldValue.
      *
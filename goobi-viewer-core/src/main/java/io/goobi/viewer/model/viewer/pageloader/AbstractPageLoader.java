@@ -24,9 +24,12 @@ package io.goobi.viewer.model.viewer.pageloader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -70,6 +73,9 @@ public abstract class AbstractPageLoader implements IPageLoader {
             SolrConstants.IMAGEURN, SolrConstants.WIDTH, SolrConstants.HEIGHT, SolrConstants.ACCESSCONDITION, SolrConstants.MDNUM_FILESIZE,
             SolrConstants.BOOL_IMAGEAVAILABLE, SolrConstants.BOOL_DOUBLE_IMAGE, "MD_*", "MD2_*", "MDNUM_*" };
 
+    /** Maximum number of pages loaded by a single query in {@link #loadPages(Map, Map)}; keeps the query below the boolean clause limit. */
+    static final int MAX_PAGES_PER_BATCH_QUERY = 200;
+
     /**
      * Creates and returns the appropriate loader instance for the given <code>StructElement</code>. Only creates loaders that load pages.
      *
@@ -225,6 +231,61 @@ public abstract class AbstractPageLoader implements IPageLoader {
         return loadPageFromDoc(result.get(0), pi, topElement, null);
     }
 
+    /**
+     * Loads the given pages of several records with as few Solr queries as possible (one per {@link #MAX_PAGES_PER_BATCH_QUERY} pages).
+     *
+     * @param pageNos Page orders to load, mapped to the record identifier
+     * @param topElements Optional top level <code>StructElement</code>s mapped to the record identifier; used as a data repository fallback
+     * @return Loaded pages, mapped to the record identifier and page order; pages that are not in the index are missing
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @should load requested pages of all records
+     * @should return empty map if no pages requested
+     */
+    public static Map<String, Map<Integer, PhysicalElement>> loadPages(Map<String, Set<Integer>> pageNos, Map<String, StructElement> topElements)
+            throws PresentationException, IndexUnreachableException {
+        Map<String, Map<Integer, PhysicalElement>> ret = new HashMap<>();
+        if (pageNos == null || pageNos.isEmpty()) {
+            return ret;
+        }
+
+        List<String> clauses = new ArrayList<>();
+        for (Entry<String, Set<Integer>> entry : pageNos.entrySet()) {
+            for (Integer order : entry.getValue()) {
+                clauses.add(new StringBuilder("(+").append(SolrConstants.PI_TOPSTRUCT)
+                        .append(":\"")
+                        .append(entry.getKey())
+                        .append("\" +")
+                        .append(SolrConstants.ORDER)
+                        .append(':')
+                        .append(order)
+                        .append(')')
+                        .toString());
+            }
+        }
+        List<String> fields = new ArrayList<>(Arrays.asList(FIELDS));
+        for (int i = 0; i < clauses.size(); i += MAX_PAGES_PER_BATCH_QUERY) {
+            List<String> chunk = clauses.subList(i, Math.min(i + MAX_PAGES_PER_BATCH_QUERY, clauses.size()));
+            String query = new StringBuilder("+").append(SolrConstants.DOCTYPE)
+                    .append(':')
+                    .append(DocType.PAGE)
+                    .append(" +(")
+                    .append(String.join(" ", chunk))
+                    .append(')')
+                    .toString();
+            for (SolrDocument doc : DataManager.getInstance().getSearchIndex().search(query, chunk.size(), null, fields)) {
+                String pi = (String) doc.getFirstValue(SolrConstants.PI_TOPSTRUCT);
+                if (pi == null || doc.getFieldValue(SolrConstants.ORDER) == null) {
+                    continue;
+                }
+                PhysicalElement page = loadPageFromDoc(doc, pi, topElements != null ? topElements.get(pi) : null, null);
+                ret.computeIfAbsent(pi, k -> new HashMap<>()).put(page.getOrder(), page);
+            }
+        }
+
+        return ret;
+    }
+
     /**
      * loadPageFromDoc.
      *
@@ -43,7 +43,7 @@ import io.goobi.viewer.model.viewer.StringPair;
 import io.goobi.viewer.model.viewer.StructElement;
 import io.goobi.viewer.solr.SolrConstants;
 import io.goobi.viewer.solr.SolrConstants.DocType;
-import io.goobi.viewer.solr.SolrSearchIndex;
+import io.goobi.viewer.solr.SolrDocumentCursor;
 import jakarta.faces.model.SelectItem;
 
 /**
@@ -144,12 +144,13 @@ public class LeanPageLoader extends AbstractPageLoader implements Serializable {
                     .append(SolrConstants.DOCTYPE)
                     .append(':')
                     .append(DocType.PAGE);
-            SolrDocumentList result = DataManager.getInstance()
+            SolrDocumentCursor cursor = DataManager.getInstance()
                     .getSearchIndex()
-                    .search(sbQuery.toString(), SolrSearchIndex.MAX_HITS, Collections.singletonList(new StringPair(SolrConstants.ORDER, "asc")),
-                            Arrays.asList(SELECT_ITEM_FIELDS));
+                    .openCursor(sbQuery.toString(), Collections.singletonList(new StringPair(SolrConstants.ORDER, "asc")),
+                            Arrays.asList(SELECT_ITEM_FIELDS), null);
             String labelTemplate = buildPageLabelTemplate(DataManager.getInstance().getConfiguration().getPageSelectionFormat(), locale);
-            for (SolrDocument doc : result) {
+            while (cursor.hasNext()) {
+                SolrDocument doc = cursor.next();
                 int order = (Integer) doc.getFieldValue(SolrConstants.ORDER);
                 String orderLabel = (String) doc.getFieldValue(SolrConstants.ORDERLABEL);
                 boolean fulltextAvailable =
@@ -0,0 +1,332 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.solr;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.exceptions.IndexUnreachableException;
+import io.goobi.viewer.exceptions.PresentationException;
+
+/**
+ * <p>
+ * Bounded, thread-safe cache for the data repository names of records, used to resolve the paths of media, ALTO, PDF and fulltext files.
+ * Records without a data repository (or not found in the index) are cached as negative entries, so that repeated lookups of unknown
+ * identifiers do not hit the index either.
+ * </p>
+ *
+ * <p>
+ * Entries are kept in LRU order up to the given maximum and expire after the given time to live. Concurrent lookups of the same identifier
+ * share a single index query. {@link #putAll(Map)} lets callers fill the cache for many records with one query.
+ * </p>
+ */
+public class DataRepositoryCache {
+
+    /** Fixed maximum number of entries; values below zero mean the configured value is used. */
+    private final int maxEntries;
+    /** Fixed time to live in milliseconds; values below zero mean the configured value is used. */
+    private final long ttlMillis;
+
+    /** Entries in access order; guarded by itself. */
+    private final Map<String, Entry> entries;
+    /** Lookups currently being loaded from the index. */
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder negativeHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Loads the data repository name of a single record from the index.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * 
+         * @param pi Record identifier
+         * @return Data repository name; null if the record has none or does not exist
+         * @throws PresentationException
+         * @throws IndexUnreachableException
+         */
+        String load(String pi) throws PresentationException, IndexUnreachableException;
+    }
+
+    /**
+     * Creates a cache that reads its limits from the configuration.
+     */
+    public DataRepositoryCache() {
+        this(-1, -1);
+    }
+
+    /**
+     *
+     * @param maxEntries Maximum number of cached records
+     * @param ttlMillis Time to live of each entry in milliseconds
+     */
+    DataRepositoryCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > getMaxEntries()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached data repository name of the given record, loading it with the given loader if it is not cached or has expired. If
+     * another thread is already loading the same record, its result is used instead of issuing another query.
+     *
+     * @param pi Record identifier
+     * @param loader Loader for missing entries
+     * @return Data repository name; null if the record has none or does not exist
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @should return cached value without loading
+     * @should cache negative entries
+     * @should reload expired entries
+     * @should evict least recently used entry when full
+     */
+    public String get(String pi, Loader loader) throws PresentationException, IndexUnreachableException {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(pi);
+        }
+        if (entry != null && !entry.isExpired(getTtlMillis())) {
+            if (entry.name() == null) {
+                negativeHits.increment();
+            } else {
+                hits.increment();
+            }
+            return entry.name();
+        }
+
+        misses.increment();
+        CompletableFuture<String> future = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(pi, future);
+        if (existing != null) {
+            coalescedLoads.increment();
+            return await(existing);
+        }
+        try {
+            String ret = loader.load(pi);
+            put(pi, ret);
+            future.complete(ret);
+            return ret;
+        } catch (PresentationException | IndexUnreachableException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(pi, future);
+        }
+    }
+
+    /**
+     * 
+     * @param future Load of another thread
+     * @return Loaded data repository name
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private static String await(CompletableFuture<String> future) throws PresentationException, IndexUnreachableException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IndexUnreachableException(e.getMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof PresentationException pe) {
+                throw pe;
+            }
+            if (cause instanceof IndexUnreachableException iue) {
+                throw iue;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new PresentationException(cause.getMessage());
+        }
+    }
+
+    /**
+     * Caches the given data repository name.
+     *
+     * @param pi Record identifier
+     * @param dataRepositoryName Data repository name; null for a negative entry
+     */
+    public void put(String pi, String dataRepositoryName) {
+        if (pi == null) {
+            return;
+        }
+        Entry entry = new Entry(dataRepositoryName, System.currentTimeMillis());
+        synchronized (entries) {
+            entries.put(pi, entry);
+        }
+    }
+
+    /**
+     * Caches the given data repository names at once.
+     *
+     * @param dataRepositoryNames Map of record identifiers to data repository names; null values are cached as negative entries
+     */
+    public void putAll(Map<String, String> dataRepositoryNames) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            for (Map.Entry<String, String> e : dataRepositoryNames.entrySet()) {
+                entries.put(e.getKey(), new Entry(e.getValue(), now));
+            }
+        }
+    }
+
+    /**
+     * Returns those of the given identifiers that are not cached or whose entries have expired.
+     *
+     * @param pis Record identifiers
+     * @return Identifiers that need to be loaded
+     * @should return only missing and expired identifiers
+     */
+    public Set<String> getMissing(Collection<String> pis) {
+        long ttl = getTtlMillis();
+        Set<String> ret = new LinkedHashSet<>();
+        synchronized (entries) {
+            for (String pi : pis) {
+                Entry entry = entries.get(pi);
+                if (entry == null || entry.isExpired(ttl)) {
+                    ret.add(pi);
+                }
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * 
+     * @return Copy of all cached entries; records without data repository are mapped to null
+     */
+    public Map<String, String> asMap() {
+        synchronized (entries) {
+            Map<String, String> ret = HashMap.newHashMap(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                ret.put(e.getKey(), e.getValue().name());
+            }
+            return ret;
+        }
+    }
+
+    /**
+     * Drops all entries.
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return Number of cached records
+     */
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return Number of lookups answered by a cached data repository name
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of lookups answered by a cached negative entry
+     */
+    public long getNegativeHits() {
+        return negativeHits.sum();
+    }
+
+    /**
+     * @return Number of lookups that were not cached or had expired
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return Number of misses that waited for another thread's query instead of issuing their own
+     */
+    public long getCoalescedLoads() {
+        return coalescedLoads.sum();
+    }
+
+    /**
+     * @return Number of entries evicted because the cache was full
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return Share of lookups answered from the cache (positive or negative); 0 if there have been no lookups
+     * @should return share of cached lookups
+     */
+    public double getHitRate() {
+        long cached = hits.sum() + negativeHits.sum();
+        long total = cached + misses.sum();
+        return total == 0 ? 0 : (double) cached / total;
+    }
+
+    private int getMaxEntries() {
+        return maxEntries >= 0 ? maxEntries : DataManager.getInstance().getConfiguration().getDataRepositoryCacheMaxEntries();
+    }
+
+    private long getTtlMillis() {
+        return ttlMillis >= 0 ? ttlMillis : DataManager.getInstance().getConfiguration().getDataRepositoryCacheTTL() * 60L * 1000;
+    }
+
+    private record Entry(String name, long fetched) {
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - fetched > ttlMillis;
+        }
+    }
+}
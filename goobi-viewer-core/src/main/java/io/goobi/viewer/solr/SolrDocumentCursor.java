@@ -0,0 +1,267 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.solr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
+
+import io.goobi.viewer.exceptions.IndexUnreachableException;
+import io.goobi.viewer.exceptions.PresentationException;
+import io.goobi.viewer.exceptions.UncheckedPresentationException;
+import io.goobi.viewer.model.viewer.StringPair;
+
+/**
+ * Iterates over all documents matching a Solr query using cursorMark deep paging. Only one batch of documents is held in memory at a time,
+ * so iterating over arbitrarily large result sets neither grows the heap nor makes Solr build huge responses. Instances are created via
+ * {@link SolrSearchIndex#openCursor(String, List, List, List)}.
+ *
+ * <p>
+ * Solr requires the sort of a cursor query to include the unique key field; {@link SolrConstants#IDDOC} is therefore always appended as the
+ * final tie breaker. Relevance ordering (explicitly requested or implied by the absence of sort fields) is kept by sorting on the score.
+ * </p>
+ */
+public class SolrDocumentCursor {
+
+    /** Solr pseudo field for relevance sorting. */
+    static final String SORT_SCORE = "score";
+
+    private final SolrSearchIndex searchIndex;
+    private final String query;
+    private final List<StringPair> sortFields;
+    private final List<String> fieldList;
+    private final List<String> filterQueries;
+    private final int batchSize;
+
+    private String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+    private Iterator<SolrDocument> currentBatch = Collections.emptyIterator();
+    private boolean exhausted = false;
+    private long numFound = -1;
+    private int batchesFetched = 0;
+
+    /**
+     *
+     * @param searchIndex {@link SolrSearchIndex} to query
+     * @param query Solr query string
+     * @param sortFields Optional field/order pairs for sorting
+     * @param fieldList If not null, only the fields in the list will be returned
+     * @param filterQueries Optional filter queries
+     * @param batchSize Number of documents to fetch per request
+     */
+    SolrDocumentCursor(SolrSearchIndex searchIndex, String query, List<StringPair> sortFields, List<String> fieldList, List<String> filterQueries,
+            int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        this.searchIndex = searchIndex;
+        this.query = query;
+        this.sortFields = buildCursorSortFields(sortFields);
+        this.fieldList = fieldList;
+        this.filterQueries = filterQueries;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     *
+     * @param sortFields requested sort fields
+     * @return Sort fields with relevance sorting expressed as score sorting, with {@link SolrConstants#IDDOC} as last sort field
+     * @should append IDDOC as last sort field
+     * @should not append IDDOC twice
+     * @should replace relevance sort field with score
+     * @should sort by score if no sort fields given
+     */
+    static List<StringPair> buildCursorSortFields(List<StringPair> sortFields) {
+        List<StringPair> ret = new ArrayList<>();
+        boolean uniqueKeyContained = false;
+        boolean scoreContained = false;
+        if (sortFields != null) {
+            for (StringPair sortField : sortFields) {
+                if (sortField == null || StringUtils.isEmpty(sortField.getOne()) || SolrConstants.SORT_RANDOM.equals(sortField.getOne())) {
+                    // Unseeded random sorting cannot be paged reliably with a cursor
+                    continue;
+                }
+                if (SolrConstants.SORT_RELEVANCE.equals(sortField.getOne()) || SORT_SCORE.equals(sortField.getOne())) {
+                    if (!scoreContained) {
+                        ret.add(new StringPair(SORT_SCORE, "desc"));
+                        scoreContained = true;
+                    }
+                    continue;
+                }
+                ret.add(new StringPair(sortField.getOne(), sortField.getTwo()));
+                if (SolrConstants.IDDOC.equals(sortField.getOne())) {
+                    uniqueKeyContained = true;
+                }
+            }
+        }
+        if (ret.isEmpty()) {
+            // Without explicit sort fields Solr orders by relevance, which includes any boosting contained in the query
+            ret.add(new StringPair(SORT_SCORE, "desc"));
+        }
+        if (!uniqueKeyContained) {
+            ret.add(new StringPair(SolrConstants.IDDOC, "asc"));
+        }
+
+        return ret;
+    }
+
+    /**
+     *
+     * @return true if there is at least one more document; false otherwise
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    public boolean hasNext() throws PresentationException, IndexUnreachableException {
+        while (!currentBatch.hasNext() && !exhausted) {
+            fetchNextBatch();
+        }
+        return currentBatch.hasNext();
+    }
+
+    /**
+     *
+     * @return The next document
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @throws NoSuchElementException if there are no more documents
+     */
+    public SolrDocument next() throws PresentationException, IndexUnreachableException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentBatch.next();
+    }
+
+    /**
+     * Passes each remaining document to the given consumer.
+     *
+     * @param action consumer to call for each document
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    public void forEachRemaining(Consumer<SolrDocument> action) throws PresentationException, IndexUnreachableException {
+        while (hasNext()) {
+            action.accept(currentBatch.next());
+        }
+    }
+
+    /**
+     * Collects all remaining documents into a list. Only use this where the result size is known to be bounded (e.g. pages of a single
+     * record); the benefit over a single large query is that Solr never has to build a response exceeding the batch size.
+     *
+     * @return {@link SolrDocumentList} containing all remaining documents
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    public SolrDocumentList toList() throws PresentationException, IndexUnreachableException {
+        SolrDocumentList ret = new SolrDocumentList();
+        forEachRemaining(ret::add);
+        ret.setNumFound(ret.size());
+        return ret;
+    }
+
+    /**
+     * Returns the remaining documents as a lazily fetched sequential {@link Stream}. Solr errors while fetching further batches are rethrown as
+     * {@link UncheckedPresentationException}, wrapping the original exception.
+     *
+     * @return {@link Stream} of remaining documents
+     */
+    public Stream<SolrDocument> stream() {
+        Iterator<SolrDocument> iterator = new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    return SolrDocumentCursor.this.hasNext();
+                } catch (PresentationException | IndexUnreachableException e) {
+                    throw new UncheckedPresentationException(e.getMessage(), e);
+                }
+            }
+
+            @Override
+            public SolrDocument next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return currentBatch.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     *
+     * @return Total number of hits for the query; -1 if no batch has been fetched yet
+     */
+    public long getNumFound() {
+        return numFound;
+    }
+
+    /**
+     * @return the batchSize
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the batchesFetched
+     */
+    public int getBatchesFetched() {
+        return batchesFetched;
+    }
+
+    /**
+     * Fetches the next batch of documents and advances the cursor mark.
+     *
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     */
+    private void fetchNextBatch() throws PresentationException, IndexUnreachableException {
+        QueryResponse resp = searchIndex.search(query, 0, batchSize, sortFields, null, null, fieldList, filterQueries,
+                Collections.singletonMap(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark));
+        batchesFetched++;
+        SolrDocumentList docs = resp.getResults();
+        if (numFound < 0) {
+            numFound = docs.getNumFound();
+        }
+        currentBatch = docs.iterator();
+        String nextCursorMark = resp.getNextCursorMark();
+        // Solr signals the end of the result set by returning the same cursor mark that was sent
+        if (nextCursorMark == null || nextCursorMark.equals(cursorMark) || docs.size() < batchSize) {
+            exhausted = true;
+        }
+        cursorMark = nextCursorMark;
+    }
+}
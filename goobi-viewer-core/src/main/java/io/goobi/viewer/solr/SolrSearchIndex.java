@@ -95,12 +95,16 @@ public class SolrSearchIndex implements java.io.Closeable {
 
     public static final int MAX_HITS_EXPANDED = 100000;
 
+    /** Default number of documents fetched per request by {@link SolrDocumentCursor}. */
+    public static final int CURSOR_BATCH_SIZE = 1000;
+
     private long lastPing = 0;
 
-    /** Application-scoped map containing already looked up data repository names of records. */
-    private Map<String, String> dataRepositoryNames = new HashMap<>();
-    /** Timestamps of when each data repository name was last fetched from Solr. */
-    private Map<String, Long> dataRepositoryTimestamps = new HashMap<>();
+    /** Maximum number of identifiers per query in {@link #prefetchDataRepositoryNames(Collection)}. */
+    static final int MAX_PIS_PER_DATA_REPOSITORY_QUERY = 500;
+
+    /** Application-scoped cache containing already looked up data repository names of records. */
+    private final DataRepositoryCache dataRepositoryCache = new DataRepositoryCache();
 
     private SolrClient client;
 
@@ -435,6 +439,52 @@ public class SolrSearchIndex implements java.io.Closeable {
         return search(query, 0, MAX_HITS, null, null, null).getResults();
     }
 
+    /**
+     * Opens a {@link SolrDocumentCursor} over all documents matching the given query, fetching {@link #CURSOR_BATCH_SIZE} documents per
+     * request. Use this instead of requesting {@link #MAX_HITS} rows when iterating over potentially large result sets.
+     *
+     * @param query Solr query string to execute
+     * @param sortFields Optional field/order pairs for sorting
+     * @param fieldList If not null, only the fields in the list will be returned.
+     * @param filterQueries Optional filter queries
+     * @return {@link SolrDocumentCursor}
+     * @should iterate over all hits in batches
+     */
+    public SolrDocumentCursor openCursor(String query, List<StringPair> sortFields, List<String> fieldList, List<String> filterQueries) {
+        return openCursor(query, sortFields, fieldList, filterQueries, CURSOR_BATCH_SIZE);
+    }
+
+    /**
+     * Opens a {@link SolrDocumentCursor} over all documents matching the given query.
+     *
+     * @param query Solr query string to execute
+     * @param sortFields Optional field/order pairs for sorting
+     * @param fieldList If not null, only the fields in the list will be returned.
+     * @param filterQueries Optional filter queries
+     * @param batchSize Number of documents to fetch per request
+     * @return {@link SolrDocumentCursor}
+     */
+    public SolrDocumentCursor openCursor(String query, List<StringPair> sortFields, List<String> fieldList, List<String> filterQueries,
+            int batchSize) {
+        return new SolrDocumentCursor(this, query, sortFields, fieldList, filterQueries, batchSize);
+    }
+
+    /**
+     * Returns all documents matching the given query, fetched in batches via cursorMark. Use for result sets which are bounded (e.g. all pages
+     * of a record), where the caller needs the complete list.
+     *
+     * @param query Solr query string to execute
+     * @param sortFields Optional field/order pairs for sorting
+     * @param fieldList If not null, only the fields in the list will be returned.
+     * @return {@link SolrDocumentList}
+     * @throws io.goobi.viewer.exceptions.PresentationException if any.
+     * @throws io.goobi.viewer.exceptions.IndexUnreachableException if any.
+     */
+    public SolrDocumentList searchAll(String query, List<StringPair> sortFields, List<String> fieldList)
+            throws PresentationException, IndexUnreachableException {
+        return openCursor(query, sortFields, fieldList, null).toList();
+    }
+
     /**
      * Retrieves the first document found by the given query.
      *
@@ -801,8 +851,8 @@ public class SolrSearchIndex implements java.io.Closeable {
     }
 
     /**
-     * Retrieves the repository name for the record with the given PI and persists it in a map. This method is package private to discourage clients
-     * from constructing data file paths manually instead of using Helper methods.
+     * Retrieves the repository name for the record with the given PI and persists it in the {@link DataRepositoryCache}. This method is package
+     * private to discourage clients from constructing data file paths manually instead of using Helper methods.
      *
      * @param pi persistent identifier of the record to look up
      * @return Data repository name for the record with the given identifier; null if not in a repository
@@ -811,14 +861,51 @@ public class SolrSearchIndex implements java.io.Closeable {
      * @should return value from map if available
      */
     public String findDataRepositoryName(String pi) throws PresentationException, IndexUnreachableException {
-        Long lastFetched = dataRepositoryTimestamps.get(pi);
-        long ttlMs = DataManager.getInstance().getConfiguration().getDataRepositoryCacheTTL() * 60L * 1000;
-        if (lastFetched == null || System.currentTimeMillis() - lastFetched > ttlMs) {
-            String dataRepositoryName = findDataRepository(pi);
-            updateDataRepositoryNames(pi, dataRepositoryName);
+        if (StringUtils.isEmpty(pi)) {
+            throw new IllegalArgumentException("pi may not be null or empty");
+        }
+
+        return dataRepositoryCache.get(pi, this::findDataRepository);
+    }
+
+    /**
+     * Loads the repository names of all given records that are not yet cached with as few queries as possible, so that the subsequent
+     * {@link #findDataRepositoryName(String)} calls for a result page or a batch of records do not query the index one record at a time.
+     * Records not found in the index are cached as negative entries.
+     *
+     * @param pis Record identifiers
+     * @throws PresentationException
+     * @throws IndexUnreachableException
+     * @should cache repository names of all given records
+     * @should cache negative entries for unknown records
+     */
+    public void prefetchDataRepositoryNames(Collection<String> pis) throws PresentationException, IndexUnreachableException {
+        if (pis == null || pis.isEmpty()) {
+            return;
         }
 
-        return dataRepositoryNames.get(pi);
+        List<String> missingPis = new ArrayList<>();
+        for (String pi : dataRepositoryCache.getMissing(pis)) {
+            // The terms query parser splits values at commas; such identifiers are left to single lookups
+            if (StringUtils.isNotEmpty(pi) && !pi.contains(",")) {
+                missingPis.add(pi);
+            }
+        }
+        for (int i = 0; i < missingPis.size(); i += MAX_PIS_PER_DATA_REPOSITORY_QUERY) {
+            List<String> batch = missingPis.subList(i, Math.min(i + MAX_PIS_PER_DATA_REPOSITORY_QUERY, missingPis.size()));
+            Map<String, String> names = HashMap.newHashMap(batch.size());
+            for (String pi : batch) {
+                names.put(pi, null);
+            }
+            String query = new StringBuilder("{!terms f=").append(SolrConstants.PI).append('}').append(String.join(",", batch)).toString();
+            for (SolrDocument doc : search(query, batch.size(), null, Arrays.asList(SolrConstants.PI, SolrConstants.DATAREPOSITORY))) {
+                String pi = SolrTools.getSingleFieldStringValue(doc, SolrConstants.PI);
+                if (names.containsKey(pi)) {
+                    names.put(pi, SolrTools.getSingleFieldStringValue(doc, SolrConstants.DATAREPOSITORY));
+                }
+            }
+            dataRepositoryCache.putAll(names);
+        }
     }
 
     /**
@@ -828,8 +915,7 @@ public class SolrSearchIndex implements java.io.Closeable {
      * @should store repository name for given PI replacing null with new value
      */
     public void updateDataRepositoryNames(String pi, String dataRepositoryName) {
-        dataRepositoryNames.put(pi, dataRepositoryName);
-        dataRepositoryTimestamps.put(pi, System.currentTimeMillis());
+        dataRepositoryCache.put(pi, dataRepositoryName);
     }
 
     /**
@@ -1336,12 +1422,36 @@ public class SolrSearchIndex implements java.io.Closeable {
      */
     public String getHeatMap(String solrField, String wktRegion, String query, String filterQuery, Integer gridLevel)
             throws IndexUnreachableException {
+        HeatmapJsonFacet heatmap = getHeatMapFacet(solrField, wktRegion, query, filterQuery, gridLevel, null);
+        if (heatmap != null) {
+            return getAsJson(heatmap);
+        }
+        return "{}";
+    }
+
+    /**
+     * Runs a heatmap facet query on the given spatial field. If neither <code>gridLevel</code> nor <code>distErrPct</code> is given, Solr picks
+     * the grid level from its default precision.
+     *
+     * @param solrField Solr field name containing the geospatial coordinates
+     * @param wktRegion WKT string defining the spatial region to compute the heatmap for
+     * @param query Solr query string to filter documents
+     * @param filterQuery additional Solr filter query string
+     * @param gridLevel heatmap grid level controlling resolution; may be null
+     * @param distErrPct cell size as a fraction of the region diagonal; only used if <code>gridLevel</code> is null
+     * @return {@link HeatmapJsonFacet}; null if Solr returned no heatmap
+     * @throws IndexUnreachableException
+     */
+    public HeatmapJsonFacet getHeatMapFacet(String solrField, String wktRegion, String query, String filterQuery, Integer gridLevel,
+            Double distErrPct) throws IndexUnreachableException {
 
         HeatmapFacetMap facetMap = new HeatmapFacetMap(solrField)
                 .setHeatmapFormat(HeatmapFacetMap.HeatmapFormat.INTS2D)
                 .setRegionQuery(wktRegion);
         if (gridLevel != null) {
             facetMap.setGridLevel(gridLevel);
+        } else if (distErrPct != null) {
+            facetMap.setDistErrPct(distErrPct);
         }
 
         final JsonQueryRequest request = new JsonQueryRequest()
@@ -1356,13 +1466,9 @@ public class SolrSearchIndex implements java.io.Closeable {
             // topLevelFacet may be null when Solr returns no JSON faceting data (e.g. for
             // unknown field names that Solr silently ignores instead of erroring out).
             if (topLevelFacet == null) {
-                return "{}";
-            }
-            final HeatmapJsonFacet heatmap = topLevelFacet.getHeatmapFacetByName("heatmapFacet");
-            if (heatmap != null) {
-                return getAsJson(heatmap);
+                return null;
             }
-            return "{}";
+            return topLevelFacet.getHeatmapFacetByName("heatmapFacet");
         } catch (SolrServerException | IOException e) {
             throw new IndexUnreachableException("Error getting facet heatmap: " + e.toString());
         } catch (RemoteSolrException e) {
@@ -1443,9 +1549,20 @@ public class SolrSearchIndex implements java.io.Closeable {
         return pageLoader.getPage(order);
     }
 
-    
+    /**
+     * 
+     * @return Copy of the cached data repository names; records without data repository are mapped to null
+     */
     public Map<String, String> getDataRepositoryNames() {
-        return dataRepositoryNames;
+        return dataRepositoryCache.asMap();
+    }
+
+    /**
+     * 
+     * @return {@link DataRepositoryCache} of this index, e.g. for hit rate metrics
+     */
+    public DataRepositoryCache getDataRepositoryCache() {
+        return dataRepositoryCache;
     }
 
     private class TermWeightComparator implements Comparator<String> {
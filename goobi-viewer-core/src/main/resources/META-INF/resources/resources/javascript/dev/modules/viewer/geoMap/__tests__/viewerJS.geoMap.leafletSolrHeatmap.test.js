@@ -0,0 +1,130 @@
+/**
+ * Unit tests for the tile loading of L.SolrHeatmap.
+ *
+ * Strategy: stub just enough of Leaflet (Class.extend, GeoJSON.extend) for the
+ * source to load via indirect eval, then exercise the static tile helpers and
+ * prototype methods on stub instances created with Object.create().
+ */
+const fs = require('fs');
+const path = require('path');
+
+function extend(props) {
+    const parent = this;
+    const Child = function () {};
+    Child.prototype = Object.assign(Object.create(parent.prototype || {}), props);
+    Child.extend = extend;
+    return Child;
+}
+
+global.L = {
+    Class: { prototype: {}, extend: extend },
+    GeoJSON: { prototype: {}, extend: extend },
+    setOptions: function (obj, options) {
+        obj.options = Object.assign({}, obj.options, options);
+        return obj.options;
+    },
+};
+(0, eval)(fs.readFileSync(path.resolve(__dirname, '..', 'viewerJS.geoMap.leafletSolrHeatmap.js'), 'utf8'));
+
+const SolrHeatmap = global.L.SolrHeatmap;
+
+/** Build a barebones SolrHeatmap-like object with the given options. */
+function makeHeatmap(options) {
+    const heatmap = Object.create(SolrHeatmap.prototype);
+    heatmap.options = Object.assign({}, SolrHeatmap.prototype.options, options || {});
+    heatmap._tileCache = {};
+    heatmap._tileRequest = 0;
+    return heatmap;
+}
+
+describe('lngToTileX', () => {
+    test('returns the single tile at zoom 0', () => {
+        expect(SolrHeatmap.lngToTileX(-180, 0)).toBe(0);
+        expect(SolrHeatmap.lngToTileX(180, 0)).toBe(0);
+    });
+
+    test('splits the world at the prime meridian at zoom 1', () => {
+        expect(SolrHeatmap.lngToTileX(-0.1, 1)).toBe(0);
+        expect(SolrHeatmap.lngToTileX(0.1, 1)).toBe(1);
+    });
+
+    test('clamps the eastern edge to the last tile', () => {
+        expect(SolrHeatmap.lngToTileX(180, 3)).toBe(7);
+    });
+});
+
+describe('latToTileY', () => {
+    test('counts rows from the north', () => {
+        expect(SolrHeatmap.latToTileY(45, 1)).toBe(0);
+        expect(SolrHeatmap.latToTileY(-45, 1)).toBe(1);
+    });
+
+    test('clamps latitudes beyond the mercator limit', () => {
+        expect(SolrHeatmap.latToTileY(90, 4)).toBe(0);
+        expect(SolrHeatmap.latToTileY(-90, 4)).toBe(15);
+    });
+});
+
+describe('getTiles', () => {
+    test('returns all tiles covering the bounds', () => {
+        const tiles = SolrHeatmap.getTiles(-10, -10, 10, 10, 2);
+        expect(tiles).toEqual([
+            { zoom: 2, x: 1, y: 1 },
+            { zoom: 2, x: 1, y: 2 },
+            { zoom: 2, x: 2, y: 1 },
+            { zoom: 2, x: 2, y: 2 },
+        ]);
+    });
+
+    test('does not wrap across the date line', () => {
+        const tiles = SolrHeatmap.getTiles(-400, -10, 400, 10, 1);
+        expect(tiles.map((tile) => tile.x)).toEqual([0, 0, 1, 1]);
+    });
+});
+
+describe('_getTileUrl', () => {
+    test('fills in field and tile coordinates and appends the queries', () => {
+        const heatmap = makeHeatmap({
+            tileUrl: '/viewer/api/v1/index/spatial/tiles/{solrField}/{zoom}/{x}/{y}',
+            field: 'WKT_COORDS',
+            filterQuery: 'BOOL_WKT_COORDS:*',
+            facetQuery: 'DC:a',
+        });
+        expect(heatmap._getTileUrl({ zoom: 3, x: 4, y: 2 })).toBe(
+            '/viewer/api/v1/index/spatial/tiles/WKT_COORDS/3/4/2?query=BOOL_WKT_COORDS:*&facetQuery=DC:a'
+        );
+    });
+
+    test('omits an empty facet query', () => {
+        const heatmap = makeHeatmap({ tileUrl: '/tiles/{solrField}/{zoom}/{x}/{y}', field: 'F', filterQuery: '*:*' });
+        expect(heatmap._getTileUrl({ zoom: 0, x: 0, y: 0 })).toBe('/tiles/F/0/0/0?query=*:*');
+    });
+});
+
+describe('_loadTile', () => {
+    afterEach(() => {
+        delete global.$;
+    });
+
+    test('requests each tile only once', async () => {
+        const ajax = jest.fn(() => Promise.resolve({ type: 'FeatureCollection', features: [] }));
+        global.$ = { ajax: ajax };
+        const heatmap = makeHeatmap({ tileUrl: '/tiles/{solrField}/{zoom}/{x}/{y}', field: 'F', filterQuery: '*:*' });
+        const tile = { zoom: 1, x: 0, y: 1 };
+        await heatmap._loadTile(tile);
+        await heatmap._loadTile({ zoom: 1, x: 0, y: 1 });
+        expect(ajax).toHaveBeenCalledTimes(1);
+    });
+
+    test('forgets failed tiles so they are requested again', async () => {
+        jest.spyOn(console, 'error').mockImplementation(() => {});
+        const ajax = jest.fn(() => Promise.reject(new Error('unreachable')));
+        global.$ = { ajax: ajax };
+        const heatmap = makeHeatmap({ tileUrl: '/tiles/{solrField}/{zoom}/{x}/{y}', field: 'F', filterQuery: '*:*' });
+        const result = await heatmap._loadTile({ zoom: 0, x: 0, y: 0 });
+        expect(result.features).toEqual([]);
+        await heatmap._loadTile({ zoom: 0, x: 0, y: 0 });
+        expect(ajax).toHaveBeenCalledTimes(2);
+        console.error.mockRestore();
+    });
+});
@@ -53,6 +53,7 @@ var viewerJS = (function (viewer) {
         heatmap: {
             enabled: false,
             heatmapUrl: '/viewer/api/v1/index/spatial/heatmap/{solrField}',
+            tileUrl: '/viewer/api/v1/index/spatial/tiles/{solrField}/{zoom}/{x}/{y}',
             featureUrl: '/viewer/api/v1/index/spatial/search/{solrField}',
             filterQuery: 'BOOL_WKT_COORDS:*',
             labelField: 'LABEL',
@@ -209,6 +210,7 @@ var viewerJS = (function (viewer) {
             labelField: this.config.heatmap.labelField,
             searchScope: this.config.heatmap.searchScope,
             queryAdapter: this.config.heatmap.queryAdapter,
+            tileUrl: this.config.heatmap.tileUrl,
             cluster: this.config.cluster,
         });
         this.heatmap.addTo(this.geoMap.map);
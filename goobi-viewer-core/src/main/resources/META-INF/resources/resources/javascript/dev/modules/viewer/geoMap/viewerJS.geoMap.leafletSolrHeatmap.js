@@ -216,6 +216,7 @@ if (typeof L !== 'undefined') {
             maxSampleSize: Number.MAX_SAFE_INTEGER, // for Jenks classification
             queryAdapter: 'default',
             queryRadius: 40, // In pixels, used for nearby query
+            tileUrl: undefined, // Clustered tiles endpoint; if set, clusters are loaded tile by tile and cached per zoom level
         },
 
         visible: true,
@@ -229,6 +230,8 @@ if (typeof L !== 'undefined') {
             _this._heatmapUrl = heatmapUrl;
             _this.featureUrl = featureUrl;
             _this._layers = {};
+            _this._tileCache = {};
+            _this._tileRequest = 0;
         },
 
         onAdd: function (map) {
@@ -441,20 +444,7 @@ if (typeof L !== 'undefined') {
 
         _createClusters: function (config) {
             var _this = this;
-            const clusterOptions = {
-                maxClusterRadius: config?.maxClusterRadius ?? 140,
-                spiderfyDistanceMultiplier: config?.spiderfyDistanceMultiplier ?? 1.0,
-                iconCreateFunction: function (cluster) {
-                    return _this._createMarker(_this._computeTotalChildHits(cluster));
-                },
-            };
-            if (config?.maxClusteringZoom) {
-                clusterOptions.disableClusteringAtZoom = config?.maxClusteringZoom;
-                clusterOptions.spiderfyOnMaxZoom = false;
-            }
-            // console.log("_createClusters", clusterOptions);
-            _this.clusterMarkers = new L.MarkerClusterGroup(clusterOptions);
-            _this.featureGroup.removeAllMarkers();
+            _this._initClusterGroup(config);
 
             $.each(_this.facetHeatmap.counts_ints2D, function (row, value) {
                 if (value === null) {
@@ -470,33 +460,86 @@ if (typeof L !== 'undefined') {
                         [_this._minLat(row), _this._minLng(column)],
                         [_this._maxLat(row), _this._maxLng(column)],
                     ]);
+                    _this._addClusterMarker(bounds, val);
+                });
+            });
 
-                    let marker = new L.Marker(bounds.getCenter(), {
-                        icon: L.divIcon({
-                            iconSize: [0, 0],
-                        }),
-                        count: val,
-                        bounds: bounds,
-                    });
-                    if (_this.queryAdapter.ajaxOptionsForSearchHits()) {
-                        marker.on('add', (e) => {
-                            setTimeout(() => _this._expandMarker(e.target), 0);
-                        });
+            _this._map.addLayer(_this.clusterMarkers);
+        },
+
+        /**
+         * Adds the clusters of the given tiles to the map. Each feature is a point carrying the number of hits in its
+         * 'count' property and the bounds of its heatmap cell as 'bbox' ([west, south, east, north])
+         */
+        _createTileClusters: function (collections, config) {
+            var _this = this;
+            _this._initClusterGroup(config);
+
+            collections.forEach(function (collection) {
+                (collection.features || []).forEach(function (feature) {
+                    var count = feature.properties ? feature.properties.count : 0;
+                    if (!count) {
+                        return;
+                    }
+                    var bounds;
+                    if (feature.bbox) {
+                        bounds = new L.latLngBounds([
+                            [feature.bbox[1], feature.bbox[0]],
+                            [feature.bbox[3], feature.bbox[2]],
+                        ]);
                     } else {
-                        marker = new L.Marker(bounds.getCenter(), {
-                            icon: _this.featureGroup.getMarkerIcon({ count: val }),
-                            count: val,
-                            bounds: bounds,
-                        });
+                        var point = L.latLng(feature.geometry.coordinates[1], feature.geometry.coordinates[0]);
+                        bounds = new L.latLngBounds([point, point]);
                     }
-                    //marker.on('click', e => _this._expandMarker(e.target));
-                    _this.clusterMarkers.addLayer(marker);
+                    _this._addClusterMarker(bounds, count);
                 });
             });
 
             _this._map.addLayer(_this.clusterMarkers);
         },
 
+        _initClusterGroup: function (config) {
+            var _this = this;
+            const clusterOptions = {
+                maxClusterRadius: config?.maxClusterRadius ?? 140,
+                spiderfyDistanceMultiplier: config?.spiderfyDistanceMultiplier ?? 1.0,
+                iconCreateFunction: function (cluster) {
+                    return _this._createMarker(_this._computeTotalChildHits(cluster));
+                },
+            };
+            if (config?.maxClusteringZoom) {
+                clusterOptions.disableClusteringAtZoom = config?.maxClusteringZoom;
+                clusterOptions.spiderfyOnMaxZoom = false;
+            }
+            // console.log("_initClusterGroup", clusterOptions);
+            _this.clusterMarkers = new L.MarkerClusterGroup(clusterOptions);
+            _this.featureGroup.removeAllMarkers();
+        },
+
+        _addClusterMarker: function (bounds, count) {
+            var _this = this;
+            let marker = new L.Marker(bounds.getCenter(), {
+                icon: L.divIcon({
+                    iconSize: [0, 0],
+                }),
+                count: count,
+                bounds: bounds,
+            });
+            if (_this.queryAdapter.ajaxOptionsForSearchHits()) {
+                marker.on('add', (e) => {
+                    setTimeout(() => _this._expandMarker(e.target), 0);
+                });
+            } else {
+                marker = new L.Marker(bounds.getCenter(), {
+                    icon: _this.featureGroup.getMarkerIcon({ count: count }),
+                    count: count,
+                    bounds: bounds,
+                });
+            }
+            //marker.on('click', e => _this._expandMarker(e.target));
+            _this.clusterMarkers.addLayer(marker);
+        },
+
         _expandMarker(marker) {
             var visibleOne = this.clusterMarkers.getVisibleParent(marker);
             if (visibleOne === marker) {
@@ -625,7 +668,9 @@ if (typeof L !== 'undefined') {
         },
 
         _getData: function () {
-            if (this.visible) {
+            if (this.visible && this.options.tileUrl && this.options.type === 'clusters') {
+                this._getTileData();
+            } else if (this.visible) {
                 var _this = this;
                 var startTime = Date.now();
                 var options = _this.queryAdapter.ajaxOptions();
@@ -639,6 +684,64 @@ if (typeof L !== 'undefined') {
             }
         },
 
+        /**
+         * Loads the clustered tiles covering the current map view. Tiles are requested in parallel and kept per zoom level,
+         * so panning only requests tiles which have not been loaded before
+         */
+        _getTileData: function () {
+            var _this = this;
+            var map = _this._map ? _this._map : _this._mapToAdd;
+            var zoom = Math.max(0, Math.min(L.SolrHeatmap.MAX_TILE_ZOOM, Math.round(map.getZoom())));
+            var bounds = map.getBounds();
+            var tiles = L.SolrHeatmap.getTiles(bounds.getWest(), bounds.getSouth(), bounds.getEast(), bounds.getNorth(), zoom);
+            if (_this._tileCacheZoom !== zoom) {
+                _this._tileCache = {};
+                _this._tileCacheZoom = zoom;
+            }
+            // Responses for an outdated map view are dropped
+            var request = ++_this._tileRequest;
+            var startTime = Date.now();
+            Promise.all(tiles.map((tile) => _this._loadTile(tile))).then((collections) => {
+                if (request !== _this._tileRequest) {
+                    return;
+                }
+                _this.responseTime = Date.now() - startTime;
+                _this.renderStart = Date.now();
+                _this._createTileClusters(collections, _this.options.cluster);
+                _this._setRenderTime();
+                _this.fireEvent('dataAdded', collections);
+            });
+        },
+
+        _loadTile: function (tile) {
+            var _this = this;
+            var key = tile.zoom + '/' + tile.x + '/' + tile.y;
+            if (!_this._tileCache[key]) {
+                _this._tileCache[key] = Promise.resolve($.ajax({ url: _this._getTileUrl(tile) })).catch((error) => {
+                    console.error('Error loading geomap tile ' + key, error);
+                    delete _this._tileCache[key];
+                    return { type: 'FeatureCollection', features: [] };
+                });
+            }
+            return _this._tileCache[key];
+        },
+
+        _getTileUrl: function (tile) {
+            let url =
+                this.options.tileUrl
+                    .replace('{solrField}', this.options.field)
+                    .replace('{zoom}', tile.zoom)
+                    .replace('{x}', tile.x)
+                    .replace('{y}', tile.y) +
+                '?' +
+                'query=' +
+                this.options.filterQuery;
+            if (this.options.facetQuery) {
+                url += '&facetQuery=' + this.options.facetQuery;
+            }
+            return url;
+        },
+
         _mapViewToEnvelope: function (bounds) {
             if (this._map === undefined) {
                 return ':"Intersects(ENVELOPE(-180, 180, 90, -90))"';
@@ -685,6 +788,46 @@ if (typeof L !== 'undefined') {
         },
     });
 
+    /**
+     * Highest zoom level for which clustered tiles are served
+     */
+    L.SolrHeatmap.MAX_TILE_ZOOM = 22;
+
+    /**
+     * Latitude limit of the web mercator projection used for tile coordinates
+     */
+    L.SolrHeatmap.MAX_TILE_LAT = 85.05112878;
+
+    L.SolrHeatmap.lngToTileX = function (lng, zoom) {
+        var tiles = Math.pow(2, zoom);
+        var x = Math.floor(((lng + 180) / 360) * tiles);
+        return Math.max(0, Math.min(tiles - 1, x));
+    };
+
+    L.SolrHeatmap.latToTileY = function (lat, zoom) {
+        var tiles = Math.pow(2, zoom);
+        var rad = (Math.max(-L.SolrHeatmap.MAX_TILE_LAT, Math.min(L.SolrHeatmap.MAX_TILE_LAT, lat)) * Math.PI) / 180;
+        var y = Math.floor(((1 - Math.log(Math.tan(rad) + 1 / Math.cos(rad)) / Math.PI) / 2) * tiles);
+        return Math.max(0, Math.min(tiles - 1, y));
+    };
+
+    /**
+     * Returns the tiles ({zoom, x, y}) covering the given bounds at the given zoom level. Longitudes beyond the date line are clamped
+     */
+    L.SolrHeatmap.getTiles = function (west, south, east, north, zoom) {
+        var minX = L.SolrHeatmap.lngToTileX(Math.max(-180, west), zoom);
+        var maxX = L.SolrHeatmap.lngToTileX(Math.min(180, east), zoom);
+        var minY = L.SolrHeatmap.latToTileY(north, zoom);
+        var maxY = L.SolrHeatmap.latToTileY(south, zoom);
+        var tiles = [];
+        for (var x = minX; x <= maxX; x++) {
+            for (var y = minY; y <= maxY; y++) {
+                tiles.push({ zoom: zoom, x: x, y: y });
+            }
+        }
+        return tiles;
+    };
+
     L.solrHeatmap = function (heatmapUrl, featureUrl, featureGroup, options) {
         return new L.SolrHeatmap(heatmapUrl, featureUrl, featureGroup, options);
     };
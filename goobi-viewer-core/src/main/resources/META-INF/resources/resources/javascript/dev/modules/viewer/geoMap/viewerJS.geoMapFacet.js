@@ -55,6 +55,7 @@ var viewerJS = (function (viewer) {
         heatmap: {
             enabled: true,
             heatmapUrl: '/viewer/api/v1/index/spatial/heatmap/{solrField}',
+            tileUrl: '/viewer/api/v1/index/spatial/tiles/{solrField}/{zoom}/{x}/{y}',
             featureUrl: '/viewer/api/v1/index/spatial/search/{solrField}',
             mainQuery: 'BOOL_WKT_COORDS:*',
             facetQuery: '',
@@ -143,6 +144,7 @@ var viewerJS = (function (viewer) {
             facetQuery: heatmapFacetQuery,
             labelField: this.config.heatmap.labelField,
             queryAdapter: 'goobiViewer',
+            tileUrl: this.config.heatmap.tileUrl,
         });
         heatmap.addTo(this.geoMap.map);
         return heatmap;
@@ -64,6 +64,8 @@ public abstract class AbstractDatabaseAndSolrEnabledTest extends AbstractSolrEna
         super.setUp();
         // databaseTester.setDataSet(new FlatXmlDataSetBuilder().setColumnSensing(true).build(new FileInputStream("resources/test_db_dataset.xml")));
         databaseTester.onSetup();
+        // The fixture has just been reloaded; drop snapshots of the previous test's data
+        invalidateDataManagerCaches();
     }
 
     @AfterEach
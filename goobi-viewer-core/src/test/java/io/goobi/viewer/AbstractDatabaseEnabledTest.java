@@ -64,6 +64,8 @@ public abstract class AbstractDatabaseEnabledTest extends AbstractTest {
     public void setUp() throws Exception {
         super.setUp();
         databaseTester.onSetup();
+        // The fixture has just been reloaded; drop snapshots of the previous test's data
+        invalidateDataManagerCaches();
     }
 
     @AfterEach
@@ -60,4 +60,24 @@ public abstract class AbstractTest {
         DataManager.getInstance().injectConfiguration(new Configuration(TEST_CONFIG_PATH));
     }
 
+    /**
+     * Drops all application-scoped caches held by {@link DataManager}. Tests that reload fixture data must call this afterwards, otherwise
+     * caches still hold data loaded by a previous test.
+     */
+    protected static void invalidateDataManagerCaches() {
+        DataManager dm = DataManager.getInstance();
+        dm.getLicenseTypeCache().invalidate();
+        dm.getIpRangeCache().invalidate();
+        dm.getAccessPermissionCache().invalidate();
+        dm.getCmsSnapshotCache().invalidate();
+        dm.getRssFeedCache().invalidate();
+        dm.getCalendarYearCache().invalidate();
+        dm.getGeoMapTileCache().invalidate();
+        dm.getAutocompleteSuggester().invalidate();
+        dm.getTocSkeletonCache().invalidate();
+        dm.getManifestCache().invalidate();
+        dm.getSortKeyCache().invalidate();
+        dm.getUserEntitlementCache().invalidate();
+    }
+
 }
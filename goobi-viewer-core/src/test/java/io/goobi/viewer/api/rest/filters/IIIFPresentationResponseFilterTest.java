@@ -0,0 +1,88 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.api.rest.filters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+
+class IIIFPresentationResponseFilterTest {
+
+    /**
+     *
+     * @param sizeListener Value of the size listener property
+     * @param out Response entity stream
+     * @return {@link WriterInterceptorContext} whose proceed() writes a short entity to the current output stream
+     * @throws IOException
+     */
+    private static WriterInterceptorContext createContext(Object sizeListener, OutputStream out) throws IOException {
+        WriterInterceptorContext context = Mockito.mock(WriterInterceptorContext.class);
+        OutputStream[] current = { out };
+        Mockito.when(context.getProperty(FilterTools.ATTRIBUTE_SIZE_LISTENER)).thenReturn(sizeListener);
+        Mockito.when(context.getOutputStream()).thenAnswer(invocation -> current[0]);
+        Mockito.doAnswer(invocation -> {
+            current[0] = invocation.getArgument(0);
+            return null;
+        }).when(context).setOutputStream(Mockito.any());
+        Mockito.doAnswer(invocation -> {
+            current[0].write("{\"id\":\"äöü\"}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(context).proceed();
+        return context;
+    }
+
+    /**
+     * @see IIIFPresentationResponseFilter#aroundWriteTo(WriterInterceptorContext)
+     * @verifies report number of written bytes to size listener
+     */
+    @Test
+    void aroundWriteTo_shouldReportNumberOfWrittenBytesToSizeListener() throws Exception {
+        AtomicLong size = new AtomicLong(-1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new IIIFPresentationResponseFilter().aroundWriteTo(createContext((LongConsumer) size::set, out));
+        assertEquals(out.size(), size.get());
+        assertEquals(15, size.get());
+    }
+
+    /**
+     * @see IIIFPresentationResponseFilter#aroundWriteTo(WriterInterceptorContext)
+     * @verifies write entity unchanged without size listener
+     */
+    @Test
+    void aroundWriteTo_shouldWriteEntityUnchangedWithoutSizeListener() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WriterInterceptorContext context = createContext(null, out);
+        new IIIFPresentationResponseFilter().aroundWriteTo(context);
+        Mockito.verify(context, Mockito.never()).setOutputStream(Mockito.any());
+        assertEquals("{\"id\":\"äöü\"}", out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -21,13 +21,22 @@
  */
 package io.goobi.viewer.api.rest.resourcebuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import de.unigoettingen.sub.commons.contentlib.exceptions.ContentNotFoundException;
@@ -100,42 +109,78 @@ class TextResourceBuilderTest extends AbstractDatabaseAndSolrEnabledTest {
     }
 
     /**
-     * @see TextResourceBuilder#sumStringSizesOrThrow(String, java.util.Collection, long, String)
-     * @verifies throw IllegalRequestException when sum exceeds limit
+     * @verifies throw ContentNotFoundException if no fulltext files found
      */
     @Test
-    void sumStringSizesOrThrow_shouldThrowIllegalRequestExceptionWhenSumExceedsLimit() throws Exception {
-        // Two 600-character pages -> 2 * 600 * 2 = 2400 in-heap UTF-16 bytes (plus separators);
-        // a 1024-byte limit must trip on the second page.
-        String page = "x".repeat(600);
-        Assertions.assertThrows(IllegalRequestException.class,
-                () -> TextResourceBuilder.sumStringSizesOrThrow(PI_KLEIUNIV, List.of(page, page), 1024L, "plaintext.zip"));
+    void getFulltextAsZip_shouldThrowContentNotFoundExceptionIfNoFulltextFilesFound() throws Exception {
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        HttpSession session = Mockito.mock(HttpSession.class);
+        Mockito.when(request.getSession()).thenReturn(session);
+        Mockito.when(session.getAttribute("userBean")).thenReturn(new UserBean());
+
+        // A record with no fulltext files must produce a 404 instead of an IllegalArgumentException
+        Assertions.assertThrows(ContentNotFoundException.class,
+                () -> new TextResourceBuilder().getFulltextAsZip("NONEXISTENT_PI_NO_FULLTEXT", request));
     }
 
     /**
-     * @see TextResourceBuilder#sumStringSizesOrThrow(String, java.util.Collection, long, String)
-     * @verifies return total when sum stays within limit
+     * @see TextResourceBuilder#readFulltext(Path)
+     * @verifies read plaintext file
      */
     @Test
-    void sumStringSizesOrThrow_shouldReturnTotalWhenSumStaysWithinLimit() throws Exception {
-        String page = "x".repeat(100);
-        long total = TextResourceBuilder.sumStringSizesOrThrow(PI_KLEIUNIV, List.of(page, page), 100_000L, "plaintext.zip");
-        // 2 pages of 100 chars: each contributes length()*2 + 4 (separator overhead) = 204
-        Assertions.assertEquals(2L * (100L * 2 + 4), total);
+    void readFulltext_shouldReadPlaintextFile(@TempDir Path tempDir) throws Exception {
+        Path file = Files.writeString(tempDir.resolve("00000001.txt"), "page one", StandardCharsets.UTF_8);
+        Assertions.assertEquals("page one", TextResourceBuilder.readFulltext(file));
     }
 
     /**
-     * @verifies throw ContentNotFoundException if no fulltext files found
+     * @see TextResourceBuilder#readFulltext(Path)
+     * @verifies convert alto file
      */
     @Test
-    void getFulltextAsZip_shouldThrowContentNotFoundExceptionIfNoFulltextFilesFound() throws Exception {
-        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
-        HttpSession session = Mockito.mock(HttpSession.class);
-        Mockito.when(request.getSession()).thenReturn(session);
-        Mockito.when(session.getAttribute("userBean")).thenReturn(new UserBean());
+    void readFulltext_shouldConvertAltoFile() throws Exception {
+        Path altoFile = Paths.get("src/test/resources/data/viewer/data/1/alto/PPN517154005/00000001.xml");
+        String text = TextResourceBuilder.readFulltext(altoFile);
+        Assertions.assertNotNull(text);
+        Assertions.assertFalse(text.isBlank());
+    }
 
-        // A record with no fulltext files must produce a 404 instead of an IllegalArgumentException
-        Assertions.assertThrows(ContentNotFoundException.class,
-                () -> new TextResourceBuilder().getFulltextAsZip("NONEXISTENT_PI_NO_FULLTEXT", request));
+    /**
+     * @see TextResourceBuilder#writeFulltext(java.util.Collection, java.io.OutputStream)
+     * @verifies write text of all pages in order
+     */
+    @Test
+    void writeFulltext_shouldWriteTextOfAllPagesInOrder(@TempDir Path tempDir) throws Exception {
+        Path file1 = Files.writeString(tempDir.resolve("00000001.txt"), "page one", StandardCharsets.UTF_8);
+        Path file2 = Files.writeString(tempDir.resolve("00000002.txt"), "page two", StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TextResourceBuilder.writeFulltext(List.of(file1, file2), out);
+        Assertions.assertEquals("page one\n\npage two\n\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @see TextResourceBuilder#writeZip(Map, String, TextResourceBuilder.PageConverter, java.io.OutputStream)
+     * @verifies write one entry per page
+     */
+    @Test
+    void writeZip_shouldWriteOneEntryPerPage(@TempDir Path tempDir) throws Exception {
+        Path file1 = Files.writeString(tempDir.resolve("00000001.txt"), "page one", StandardCharsets.UTF_8);
+        Path file2 = Files.writeString(tempDir.resolve("00000002.txt"), "page two", StandardCharsets.UTF_8);
+        Map<Path, Path> sources = new TreeMap<>();
+        sources.put(file1, file1);
+        sources.put(file2, file2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TextResourceBuilder.writeZip(sources, ".xml", (fileName, text) -> fileName + ":" + text, out);
+
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        Assertions.assertEquals(2, entries.size());
+        Assertions.assertEquals("00000001.xml:page one", entries.get("00000001.xml"));
+        Assertions.assertEquals("00000002.xml:page two", entries.get("00000002.xml"));
     }
 }
@@ -24,6 +24,7 @@ package io.goobi.viewer.api.rest.v1.index;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_QUERY;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_SPATIAL_HEATMAP;
+import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_SPATIAL_TILE;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_SPATIAL_SEARCH;
 import static io.goobi.viewer.api.rest.v1.ApiUrls.INDEX_STATISTICS;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -54,6 +55,7 @@ import io.goobi.viewer.api.rest.model.RecordsRequestParameters;
 import io.goobi.viewer.api.rest.model.index.SolrFieldInfo;
 import io.goobi.viewer.api.rest.v1.AbstractRestApiTest;
 import io.goobi.viewer.solr.SolrConstants;
+import io.goobi.viewer.solr.SolrSearchIndex;
 
 /**
  * @author florian
@@ -91,6 +93,7 @@ class IndexResourceTest extends AbstractRestApiTest {
         // serve-from-cache test) do not survive into unrelated tests in this class
         // or in other classes that share the JVM.
         IndexResource.invalidateAllIndexFieldsCacheForTesting();
+        IndexResource.setCursorBatchSizeForTesting(SolrSearchIndex.CURSOR_BATCH_SIZE);
         super.tearDown();
     }
 
@@ -136,6 +139,40 @@ class IndexResourceTest extends AbstractRestApiTest {
         }
     }
 
+    /**
+     * @verifies stream unlimited results across several cursor batches
+     * @see IndexResource#getRecordsForQuery(RecordsRequestParameters)
+     */
+    @Test
+    void getRecordsForQuery_shouldStreamUnlimitedResultsAcrossSeveralCursorBatches() {
+        IndexResource.setCursorBatchSizeForTesting(5);
+        params.setOffset(0);
+        params.setCount(-1);
+        params.setJsonFormat("recordcentric");
+        params.setQuery("+" + SolrConstants.ISWORK + ":true");
+        params.setSortFields(Stream.of(SolrConstants.PI).collect(Collectors.toList()));
+        params.setSortOrder("asc");
+        params.setResultFields(Stream.of(SolrConstants.PI, SolrConstants.IDDOC).collect(Collectors.toList()));
+        Entity<RecordsRequestParameters> entity = Entity.entity(params, MediaType.APPLICATION_JSON);
+        try (Response response = target(urls.path(INDEX, INDEX_QUERY).build())
+                .request()
+                .accept(MediaType.APPLICATION_JSON)
+                .post(entity)) {
+            assertEquals(200, response.getStatus(), "Should return status 200");
+            JSONObject answer = new JSONObject(response.readEntity(String.class));
+            int numFound = answer.getInt("numFound");
+            assertTrue(numFound > 10, "Test index must contain more than two batches of records");
+            JSONArray docs = answer.getJSONArray("docs");
+            assertEquals(numFound, docs.length());
+            String previousPi = "";
+            for (int i = 0; i < docs.length(); i++) {
+                String pi = docs.getJSONObject(i).getString(SolrConstants.PI);
+                assertTrue(pi.compareTo(previousPi) > 0, "Documents must be written once each in sort order");
+                previousPi = pi;
+            }
+        }
+    }
+
     /**
      * @verifies statistics
      * @see IndexResource#getStatistics()
@@ -176,6 +213,21 @@ class IndexResourceTest extends AbstractRestApiTest {
         }
     }
 
+    /**
+     * @verifies return 400 when tile out of range
+     * @see IndexResource#getClusteredTile
+     */
+    @Test
+    void getClusteredTile_shouldReturn400WhenTileOutOfRange() {
+        String url = urls.path(INDEX, INDEX_SPATIAL_TILE).params("WKT_COORDS", 2, 4, 0).build();
+        try (Response response = target(url)
+                .request()
+                .accept(MediaType.APPLICATION_JSON)
+                .get()) {
+            assertEquals(400, response.getStatus(), "Tile column outside of zoom level should return 400");
+        }
+    }
+
     /**
      * facetFields containing names that do not match the Solr field name pattern
      * ([A-Za-z][A-Za-z0-9_]*) must be rejected with 400 to prevent unhandled Solr errors.
@@ -0,0 +1,163 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.api.rest.v1.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.goobi.viewer.api.rest.model.monitoring.MonitoringMetrics;
+import io.goobi.viewer.api.rest.v1.AbstractRestApiTest;
+import io.goobi.viewer.api.rest.v1.ApiUrls;
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.model.cms.CMSSnapshotCache;
+import io.goobi.viewer.model.search.SearchHitHydrationMetrics;
+import io.goobi.viewer.model.statistics.usage.UsageStatisticsRecorder;
+import io.goobi.viewer.solr.DataRepositoryCache;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+class MonitoringResourceTest extends AbstractRestApiTest {
+
+    @Override
+    @AfterEach
+    public void tearDown() throws Exception {
+        DataManager.getInstance().setUsageStatisticsRecorder(null);
+        super.tearDown();
+    }
+
+    /**
+     * @see MonitoringResource#getMetrics()
+     * @verifies return usage statistics metrics if recorder exists
+     */
+    @Test
+    void getMetrics_shouldReturnUsageStatisticsMetricsIfRecorderExists() throws Exception {
+        UsageStatisticsRecorder recorder = Mockito.mock(UsageStatisticsRecorder.class);
+        Mockito.when(recorder.getPendingRequestCount()).thenReturn(42L);
+        Mockito.when(recorder.getPendingSessionCount()).thenReturn(3);
+        Mockito.when(recorder.getFlushedRequestCount()).thenReturn(1000L);
+        Mockito.when(recorder.getFlushLag()).thenReturn(Duration.ofSeconds(12));
+        Mockito.when(recorder.getLastFlushDuration()).thenReturn(Duration.ofMillis(250));
+        DataManager.getInstance().setUsageStatisticsRecorder(recorder);
+
+        JsonNode section = getMetrics().path("metrics").path(MonitoringMetrics.KEY_USAGE_STATISTICS);
+        assertEquals(42, section.path("pendingRequests").asLong());
+        assertEquals(3, section.path("pendingSessions").asInt());
+        assertEquals(1000, section.path("flushedRequests").asLong());
+        assertEquals(12000, section.path("flushLagMillis").asLong());
+        assertEquals(250, section.path("lastFlushDurationMillis").asLong());
+    }
+
+    /**
+     * @see MonitoringResource#getMetrics()
+     * @verifies omit usage statistics if recorder does not exist
+     */
+    @Test
+    void getMetrics_shouldOmitUsageStatisticsIfRecorderDoesNotExist() throws Exception {
+        DataManager.getInstance().setUsageStatisticsRecorder(null);
+
+        JsonNode metrics = getMetrics().path("metrics");
+        assertFalse(metrics.has(MonitoringMetrics.KEY_USAGE_STATISTICS));
+    }
+
+    /**
+     * @see MonitoringResource#getMetrics()
+     * @verifies return cms snapshot cache counters
+     */
+    @Test
+    void getMetrics_shouldReturnCmsSnapshotCacheCounters() throws Exception {
+        CMSSnapshotCache cache = DataManager.getInstance().getCmsSnapshotCache();
+        cache.getCmsPageIdForStaticPage("index");
+        cache.getCmsPageIdForStaticPage("index");
+
+        JsonNode section = getMetrics().path("metrics").path(MonitoringMetrics.KEY_CMS_SNAPSHOT);
+        assertEquals(cache.getHits(), section.path("hits").asLong());
+        assertEquals(cache.getMisses(), section.path("misses").asLong());
+        assertEquals(cache.getRebuildCount(), section.path("rebuilds").asLong());
+        assertEquals(cache.getLastRebuildMillis(), section.path("lastRebuildMillis").asLong());
+        assertTrue(section.path("hits").asLong() + section.path("misses").asLong() >= 2);
+    }
+
+    /**
+     * @see MonitoringResource#getMetrics()
+     * @verifies return data repository cache counters
+     */
+    @Test
+    void getMetrics_shouldReturnDataRepositoryCacheCounters() throws Exception {
+        DataRepositoryCache cache = DataManager.getInstance().getSearchIndex().getDataRepositoryCache();
+        cache.put("PPN_MONITORING", "repo1");
+        cache.get("PPN_MONITORING", pi -> "repo2");
+
+        JsonNode section = getMetrics().path("metrics").path(MonitoringMetrics.KEY_DATA_REPOSITORY_CACHE);
+        assertEquals(cache.getSize(), section.path("size").asInt());
+        assertEquals(cache.getHits(), section.path("hits").asLong());
+        assertEquals(cache.getNegativeHits(), section.path("negativeHits").asLong());
+        assertEquals(cache.getMisses(), section.path("misses").asLong());
+        assertEquals(cache.getCoalescedLoads(), section.path("coalescedLoads").asLong());
+        assertEquals(cache.getEvictions(), section.path("evictions").asLong());
+        assertEquals(cache.getHitRate(), section.path("hitRate").asDouble(), 0.0001);
+        assertTrue(section.path("hits").asLong() >= 1);
+    }
+
+    /**
+     * @see MonitoringResource#getMetrics()
+     * @verifies return search hit hydration stage times
+     */
+    @Test
+    void getMetrics_shouldReturnSearchHitHydrationStageTimes() throws Exception {
+        SearchHitHydrationMetrics metrics = DataManager.getInstance().getSearchHitHydrationMetrics();
+
+        JsonNode section = getMetrics().path("metrics").path(MonitoringMetrics.KEY_SEARCH_HIT_HYDRATION);
+        assertEquals(metrics.getHydrationCount(), section.path("hydrations").asLong());
+        for (Map.Entry<String, Long> entry : metrics.getTotalStageMillis().entrySet()) {
+            assertEquals(entry.getValue().longValue(), section.path("totalStageMillis").path(entry.getKey()).asLong());
+        }
+        assertTrue(section.has("lastStageMillis"));
+    }
+
+    /**
+     * 
+     * @return Parsed response of the metrics endpoint
+     * @throws Exception
+     */
+    private JsonNode getMetrics() throws Exception {
+        try (Response response = target(urls.path(ApiUrls.MONITORING, ApiUrls.MONITORING_METRICS).build())
+                .request()
+                .accept(MediaType.APPLICATION_JSON)
+                .get()) {
+            assertEquals(200, response.getStatus());
+            String entity = response.readEntity(String.class);
+            assertNotNull(entity);
+            return mapper.readTree(entity);
+        }
+    }
+}
@@ -27,6 +27,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -36,6 +40,7 @@ import io.goobi.viewer.api.rest.model.ErrorMessage;
 import io.goobi.viewer.api.rest.v1.AbstractRestApiTest;
 import io.goobi.viewer.model.rss.Channel;
 import io.goobi.viewer.model.rss.RssItem;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
@@ -170,6 +175,46 @@ class RSSResourceTest extends AbstractRestApiTest {
         }
     }
 
+    /**
+     * @verifies return status 304 if etag matches
+     */
+    @Test
+    void getRssFeed_shouldReturnStatus304IfEtagMatches() {
+        String etag;
+        try (Response response = target(urls.path(RECORDS_RSS).build())
+                .request()
+                .accept(MediaType.TEXT_XML)
+                .get()) {
+            assertEquals(200, response.getStatus(), "Should return status 200");
+            etag = response.getHeaderString(HttpHeaders.ETAG);
+            assertNotNull(etag, "Should return ETag header");
+        }
+        try (Response response = target(urls.path(RECORDS_RSS).build())
+                .request()
+                .accept(MediaType.TEXT_XML)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .get()) {
+            assertEquals(304, response.getStatus(), "Should return status 304");
+        }
+    }
+
+    /**
+     * @verifies return status 200 if only if-modified-since is sent
+     */
+    @Test
+    void getRssFeed_shouldReturnStatus200IfOnlyIfModifiedSinceIsSent() {
+        // A date in the future would satisfy any modification date check
+        String ifModifiedSince = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusDays(1));
+        try (Response response = target(urls.path(RECORDS_RSS).build())
+                .request()
+                .accept(MediaType.TEXT_XML)
+                .header(HttpHeaders.IF_MODIFIED_SINCE, ifModifiedSince)
+                .get()) {
+            assertEquals(200, response.getStatus(), "Should return status 200");
+            assertNotNull(response.getHeaderString(HttpHeaders.ETAG), "Should return ETag header");
+        }
+    }
+
     /**
      * @verifies return status 400 for invalid solr query
      */
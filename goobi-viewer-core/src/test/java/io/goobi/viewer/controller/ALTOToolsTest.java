@@ -273,6 +273,26 @@ class ALTOToolsTest extends AbstractTest {
         }
     }
 
+    /**
+     * @see ALTOTools#getMatchContent(String,String)
+     * @verifies remove diacritical marks and leading punctuation
+     */
+    @Test
+    void getMatchContent_shouldRemoveDiacriticalMarksAndLeadingPunctuation() {
+        assertEquals("Steigbugel", ALTOTools.getMatchContent("„Steigbügel", null));
+        assertEquals("", ALTOTools.getMatchContent(null, null));
+    }
+
+    /**
+     * @see ALTOTools#getMatchContent(String,String)
+     * @verifies return subs content for hyphenated words
+     */
+    @Test
+    void getMatchContent_shouldReturnSubsContentForHyphenatedWords() {
+        assertEquals("Runenrätsel", ALTOTools.getMatchContent("Runen¬", "Runenrätsel"));
+        assertEquals("Runen", ALTOTools.getMatchContent("Runen", ""));
+    }
+
     /**
      * @see ALTOTools#getFulltext(String,String,boolean)
      * @verifies return non-empty text from valid ALTO string
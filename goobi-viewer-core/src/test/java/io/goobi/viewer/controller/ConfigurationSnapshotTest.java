@@ -0,0 +1,122 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.controller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ConfigurationSnapshotTest {
+
+    /**
+     * @see ConfigurationSnapshot#get(char,String,Object,ConfigurationSnapshot.Resolver)
+     * @verifies resolve value only once
+     */
+    @Test
+    void get_shouldResolveValueOnlyOnce() {
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(0, new XMLConfiguration(), new XMLConfiguration());
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 3; ++i) {
+            Assertions.assertEquals(42, (int) snapshot.get('i', "foo.bar", 1, (config, configLocal) -> {
+                calls.incrementAndGet();
+                return 42;
+            }));
+        }
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(1, snapshot.size());
+    }
+
+    /**
+     * @see ConfigurationSnapshot#get(char,String,Object,ConfigurationSnapshot.Resolver)
+     * @verifies store null values
+     */
+    @Test
+    void get_shouldStoreNullValues() {
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(0, new XMLConfiguration(), new XMLConfiguration());
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 2; ++i) {
+            Assertions.assertNull(snapshot.get('s', "foo.bar", null, (config, configLocal) -> {
+                calls.incrementAndGet();
+                return null;
+            }));
+        }
+        Assertions.assertEquals(1, calls.get());
+    }
+
+    /**
+     * @see ConfigurationSnapshot#get(char,String,Object,ConfigurationSnapshot.Resolver)
+     * @verifies distinguish different default values
+     */
+    @Test
+    void get_shouldDistinguishDifferentDefaultValues() {
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(0, new XMLConfiguration(), new XMLConfiguration());
+        Assertions.assertEquals("one", snapshot.get('s', "foo.bar", "one", (config, configLocal) -> "one"));
+        Assertions.assertEquals("two", snapshot.get('s', "foo.bar", "two", (config, configLocal) -> "two"));
+        Assertions.assertEquals(true, snapshot.get('b', "foo.bar", "one", (config, configLocal) -> true));
+        Assertions.assertEquals(3, snapshot.size());
+    }
+
+    /**
+     * @see ConfigurationSnapshot#get(char,String,Object,ConfigurationSnapshot.Resolver)
+     * @verifies resolve against bound configurations
+     */
+    @Test
+    void get_shouldResolveAgainstBoundConfigurations() {
+        XMLConfiguration config = new XMLConfiguration();
+        config.setProperty("foo.bar", 1);
+        XMLConfiguration configLocal = new XMLConfiguration();
+        configLocal.setProperty("foo.baz", 2);
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(0, config, configLocal);
+        Assertions.assertEquals(1, (int) snapshot.get('i', "foo.bar", 0, (c, cl) -> c.getInt("foo.bar", 0)));
+        Assertions.assertEquals(2, (int) snapshot.get('i', "foo.baz", 0, (c, cl) -> cl.getInt("foo.baz", 0)));
+    }
+
+    /**
+     * @see ConfigurationSnapshot#rebuild(long,XMLConfiguration,XMLConfiguration)
+     * @verifies resolve known values against new configuration
+     */
+    @Test
+    void rebuild_shouldResolveKnownValuesAgainstNewConfiguration() {
+        XMLConfiguration config = new XMLConfiguration();
+        config.setProperty("foo.bar", 1);
+        ConfigurationSnapshot snapshot = new ConfigurationSnapshot(0, config, new XMLConfiguration());
+        AtomicInteger calls = new AtomicInteger();
+        ConfigurationSnapshot.Resolver<Integer> resolver = (c, cl) -> {
+            calls.incrementAndGet();
+            return c.getInt("foo.bar", 0);
+        };
+        Assertions.assertEquals(1, (int) snapshot.get('i', "foo.bar", 0, resolver));
+
+        XMLConfiguration newConfig = new XMLConfiguration();
+        newConfig.setProperty("foo.bar", 5);
+        ConfigurationSnapshot rebuilt = snapshot.rebuild(1, newConfig, new XMLConfiguration());
+        // Resolved eagerly during the rebuild
+        Assertions.assertEquals(2, calls.get());
+        Assertions.assertEquals(1, rebuilt.getGeneration());
+        Assertions.assertEquals(5, (int) rebuilt.get('i', "foo.bar", 0, resolver));
+        Assertions.assertEquals(2, calls.get());
+        // The previous snapshot is unaffected
+        Assertions.assertEquals(1, (int) snapshot.get('i', "foo.bar", 0, resolver));
+    }
+}
@@ -24,7 +24,9 @@ package io.goobi.viewer.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -32,6 +34,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -41,6 +45,9 @@ import java.util.Set;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
+import org.apache.commons.configuration2.XMLConfiguration;
+import org.apache.commons.configuration2.builder.ReloadingFileBasedConfigurationBuilder;
+import org.apache.commons.configuration2.builder.fluent.Parameters;
 import org.apache.commons.configuration2.tree.ImmutableNode;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -644,6 +651,33 @@ class ConfigurationTest extends AbstractTest {
         assertEquals(10, DataManager.getInstance().getConfiguration().getDataRepositoryCacheTTL());
     }
 
+    /**
+     * @see Configuration#getDataRepositoryCacheMaxEntries()
+     * @verifies return correct value
+     */
+    @Test
+    void getDataRepositoryCacheMaxEntries_shouldReturnCorrectValue() {
+        assertEquals(5000, DataManager.getInstance().getConfiguration().getDataRepositoryCacheMaxEntries());
+    }
+
+    /**
+     * @see Configuration#getAltoWordIndexMaxSize()
+     * @verifies return correct value
+     */
+    @Test
+    void getAltoWordIndexMaxSize_shouldReturnCorrectValue() {
+        assertEquals(256, DataManager.getInstance().getConfiguration().getAltoWordIndexMaxSize());
+    }
+
+    /**
+     * @see Configuration#getManifestCacheMaxSize()
+     * @verifies return correct value
+     */
+    @Test
+    void getManifestCacheMaxSize_shouldReturnCorrectValue() {
+        assertEquals(32, DataManager.getInstance().getConfiguration().getManifestCacheMaxSize());
+    }
+
     /**
      * @see Configuration#getDatabaseConnectionAttempts()
      * @verifies return correct value
@@ -689,6 +723,15 @@ class ConfigurationTest extends AbstractTest {
         assertEquals(25, DataManager.getInstance().getConfiguration().getRssFeedItems());
     }
 
+    /**
+     * @see Configuration#getRssCacheTtl()
+     * @verifies return correct value
+     */
+    @Test
+    void getRssCacheTtl_shouldReturnCorrectValue() {
+        assertEquals(120, DataManager.getInstance().getConfiguration().getRssCacheTtl());
+    }
+
     /**
      * @see Configuration#getRssTitle()
      * @verifies return correct value
@@ -1363,6 +1406,15 @@ class ConfigurationTest extends AbstractTest {
         assertEquals(true, DataManager.getInstance().getConfiguration().isDocHierarchyPdfEnabled());
     }
 
+    /**
+     * @see Configuration#getPdfPrerenderThreads()
+     * @verifies return correct value
+     */
+    @Test
+    void getPdfPrerenderThreads_shouldReturnCorrectValue() {
+        assertEquals(3, DataManager.getInstance().getConfiguration().getPdfPrerenderThreads());
+    }
+
     /**
      * @see Configuration#isTitleEpubEnabled()
      * @verifies return correct value
@@ -2280,6 +2332,15 @@ class ConfigurationTest extends AbstractTest {
         assertFalse(DataManager.getInstance().getConfiguration().isCalendarSearchEnabled());
     }
 
+    /**
+     * @see Configuration#getCalendarCacheTtl()
+     * @verifies return correct value
+     */
+    @Test
+    void getCalendarCacheTtl_shouldReturnCorrectValue() {
+        assertEquals(900, DataManager.getInstance().getConfiguration().getCalendarCacheTtl());
+    }
+
     /**
      * @see Configuration#isTimelineSearchEnabled()
      * @verifies return correct value
@@ -3053,6 +3114,33 @@ class ConfigurationTest extends AbstractTest {
         assertEquals(true, DataManager.getInstance().getConfiguration().isFullAccessForLocalhost());
     }
 
+    /**
+     * @see Configuration#isAccessPermissionCacheEnabled()
+     * @verifies return correct value
+     */
+    @Test
+    void isAccessPermissionCacheEnabled_shouldReturnCorrectValue() {
+        assertFalse(DataManager.getInstance().getConfiguration().isAccessPermissionCacheEnabled());
+    }
+
+    /**
+     * @see Configuration#getAccessPermissionCacheMaxRecords()
+     * @verifies return correct value
+     */
+    @Test
+    void getAccessPermissionCacheMaxRecords_shouldReturnCorrectValue() {
+        assertEquals(50, DataManager.getInstance().getConfiguration().getAccessPermissionCacheMaxRecords());
+    }
+
+    /**
+     * @see Configuration#getAccessPermissionCacheTtl()
+     * @verifies return correct value
+     */
+    @Test
+    void getAccessPermissionCacheTtl_shouldReturnCorrectValue() {
+        assertEquals(30, DataManager.getInstance().getConfiguration().getAccessPermissionCacheTtl());
+    }
+
     /**
      * @see Configuration#getDocstrctWhitelistFilterSuffix()
      * @verifies return correct value
@@ -4181,4 +4269,78 @@ class ConfigurationTest extends AbstractTest {
     void getTokenExpirationDays_shouldReturnDefaultValueOf7WhenNotConfigured() {
         assertEquals(7, DataManager.getInstance().getConfiguration().getTokenExpirationDays());
     }
+
+    /**
+     * @see Configuration#getStatisticsFlushInterval()
+     * @verifies return correct value
+     */
+    @Test
+    void getStatisticsFlushInterval_shouldReturnCorrectValue() {
+        assertEquals(60, DataManager.getInstance().getConfiguration().getStatisticsFlushInterval());
+    }
+
+    /**
+     * @see Configuration#isSitemapIncrementalUpdate()
+     * @verifies return correct value
+     */
+    @Test
+    void isSitemapIncrementalUpdate_shouldReturnCorrectValue() {
+        assertFalse(DataManager.getInstance().getConfiguration().isSitemapIncrementalUpdate());
+    }
+
+    /**
+     * @see AbstractConfiguration#getSnapshot()
+     * @verifies return same snapshot until configuration changes
+     */
+    @Test
+    void getSnapshot_shouldReturnSameSnapshotUntilConfigurationChanges() {
+        Configuration config = DataManager.getInstance().getConfiguration();
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        config.getViewerHome();
+        assertSame(snapshot, config.getSnapshot());
+        assertTrue(snapshot.size() > 0);
+    }
+
+    /**
+     * @see AbstractConfiguration#getSnapshot()
+     * @verifies return new snapshot after overrideValue
+     */
+    @Test
+    void getSnapshot_shouldReturnNewSnapshotAfterOverrideValue() {
+        Configuration config = DataManager.getInstance().getConfiguration();
+        assertEquals(9, config.getViewerThumbnailsPerPage());
+        ConfigurationSnapshot snapshot = config.getSnapshot();
+        config.overrideValue("viewer.thumbnailsPerPage", 12);
+        try {
+            assertNotSame(snapshot, config.getSnapshot());
+            assertEquals(12, config.getViewerThumbnailsPerPage());
+        } finally {
+            config.overrideValue("viewer.thumbnailsPerPage", 9);
+        }
+    }
+
+    /**
+     * @see AbstractConfiguration#getSnapshot()
+     * @verifies return same snapshot if local configuration cannot be loaded
+     */
+    @Test
+    void getSnapshot_shouldReturnSameSnapshotIfLocalConfigurationCannotBeLoaded() throws Exception {
+        Path localConfigFile = Files.createTempFile("config_viewer", ".xml");
+        try {
+            Files.writeString(localConfigFile, "<config><viewer>");
+            Configuration config = new Configuration(TEST_CONFIG_PATH);
+            config.builderLocal = new ReloadingFileBasedConfigurationBuilder<>(XMLConfiguration.class)
+                    .configure(new Parameters().properties().setFileName(localConfigFile.toAbsolutePath().toString()));
+            config.resetSnapshot();
+            assertEquals(9, config.getViewerThumbnailsPerPage());
+            ConfigurationSnapshot snapshot = config.getSnapshot();
+
+            // Let the snapshot check the builders again, which now return a new empty local configuration on each call
+            Thread.sleep(AbstractConfiguration.SNAPSHOT_CHECK_INTERVAL + 100);
+            assertSame(snapshot, config.getSnapshot());
+            assertEquals(9, config.getViewerThumbnailsPerPage());
+        } finally {
+            Files.deleteIfExists(localConfigFile);
+        }
+    }
 }
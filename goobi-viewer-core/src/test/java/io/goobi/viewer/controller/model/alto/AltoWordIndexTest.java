@@ -0,0 +1,291 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.controller.model.alto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.intranda.digiverso.ocr.alto.model.structureclasses.Line;
+import de.intranda.digiverso.ocr.alto.model.structureclasses.lineelements.Word;
+import de.intranda.digiverso.ocr.alto.model.structureclasses.logical.AltoDocument;
+import de.intranda.digiverso.ocr.alto.utils.HyphenationLinker;
+import io.goobi.viewer.AbstractTest;
+import io.goobi.viewer.controller.ALTOTools;
+import io.goobi.viewer.controller.DataManager;
+
+class AltoWordIndexTest extends AbstractTest {
+
+    private static final Path ALTO_FILE = Paths.get("src/test/resources/data/sample_alto.xml");
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void setUpBeforeClass() throws Exception {
+        AbstractTest.setUpClass();
+    }
+
+    /**
+     * @see AltoWordIndex#build(AltoDocument)
+     * @verifies index words with coordinates and lines
+     */
+    @Test
+    void build_shouldIndexWordsWithCoordinatesAndLines() throws Exception {
+        AltoDocument doc = AltoDocument.getDocumentFromFile(ALTO_FILE.toFile());
+        new HyphenationLinker().linkWords(doc);
+        AltoWordIndex index = AltoWordIndex.build(doc);
+
+        List<Line> lines = doc.getFirstPage().getAllLinesAsList();
+        Assertions.assertEquals(lines.size(), index.getLineCount());
+        Assertions.assertEquals((int) doc.getFirstPage().getWidth(), index.getPageSize().width);
+        Assertions.assertEquals((int) doc.getFirstPage().getHeight(), index.getPageSize().height);
+
+        int wordIndex = 0;
+        for (int lineIndex = 0; lineIndex < lines.size(); ++lineIndex) {
+            Line line = lines.get(lineIndex);
+            Assertions.assertEquals(line.getId(), index.getLineId(lineIndex));
+            for (Word word : line.getWords()) {
+                Assertions.assertEquals(word.getContent(), index.getContent(wordIndex));
+                Assertions.assertEquals(word.getId(), index.getId(wordIndex));
+                Assertions.assertEquals(ALTOTools.getALTOCoords(word), index.getCoords(wordIndex));
+                Assertions.assertEquals(word.getBounds(), index.getBounds(wordIndex));
+                Assertions.assertEquals(lineIndex, index.getLine(wordIndex));
+                wordIndex++;
+            }
+        }
+        Assertions.assertEquals(wordIndex, index.getWordCount());
+    }
+
+    /**
+     * @see AltoWordIndex#build(AltoDocument)
+     * @verifies link hyphenation parts
+     */
+    @Test
+    void build_shouldLinkHyphenationParts() throws Exception {
+        AltoDocument doc = AltoDocument.getDocumentFromFile(ALTO_FILE.toFile());
+        new HyphenationLinker().linkWords(doc);
+        AltoWordIndex index = AltoWordIndex.build(doc);
+
+        int first = -1;
+        for (int i = 0; i < index.getWordCount(); ++i) {
+            if ("Word_21".equals(index.getId(i))) {
+                first = i;
+                break;
+            }
+        }
+        Assertions.assertTrue(first >= 0);
+        int second = index.getHyphenationPartNext(first);
+        Assertions.assertEquals("Word_22", index.getId(second));
+        Assertions.assertEquals(-1, index.getHyphenationPartNext(second));
+        Assertions.assertNotEquals(index.getLine(first), index.getLine(second));
+    }
+
+    /**
+     * @see AltoWordIndex#getSidecarPath(Path)
+     * @verifies include folder and record names
+     */
+    @Test
+    void getSidecarPath_shouldIncludeFolderAndRecordNames() {
+        Path path = AltoWordIndex.getSidecarPath(Paths.get("/opt/digiverso/viewer/data/1/alto/PPN123/00000001.xml"));
+        Assertions.assertEquals(Paths.get(DataManager.getInstance().getConfiguration().getTempFolder(), AltoWordIndex.FOLDER_NAME, "alto", "PPN123",
+                "00000001.xml" + AltoWordIndex.FILE_EXTENSION), path);
+    }
+
+    /**
+     * @see AltoWordIndex#load(Path)
+     * @verifies write sidecar file
+     */
+    @Test
+    void load_shouldWriteSidecarFile() throws Exception {
+        Path altoFile = copyAltoFile("load_shouldWriteSidecarFile");
+        Path sidecar = AltoWordIndex.getSidecarPath(altoFile);
+        Files.deleteIfExists(sidecar);
+        try {
+            AltoWordIndex index = AltoWordIndex.load(altoFile);
+            Assertions.assertTrue(Files.isRegularFile(sidecar));
+
+            AltoWordIndex loaded = AltoWordIndex.load(altoFile);
+            Assertions.assertEquals(index.getWordCount(), loaded.getWordCount());
+            Assertions.assertEquals(index.getContent(index.getWordCount() - 1), loaded.getContent(loaded.getWordCount() - 1));
+            Assertions.assertEquals(Files.getLastModifiedTime(altoFile).toMillis(), loaded.getSourceLastModified());
+            Assertions.assertEquals(Files.size(altoFile), loaded.getSourceSize());
+        } finally {
+            Files.deleteIfExists(sidecar);
+        }
+    }
+
+    /**
+     * @see AltoWordIndex#load(Path)
+     * @verifies rebuild index if alto file changed
+     */
+    @Test
+    void load_shouldRebuildIndexIfAltoFileChanged() throws Exception {
+        Path altoFile = copyAltoFile("load_shouldRebuildIndexIfAltoFileChanged");
+        Path sidecar = AltoWordIndex.getSidecarPath(altoFile);
+        Files.deleteIfExists(sidecar);
+        try {
+            AltoWordIndex index = AltoWordIndex.load(altoFile);
+            Assertions.assertEquals("Hollywood!", index.getContent(13));
+
+            String alto = Files.readString(altoFile).replace("CONTENT=\"Hollywood!\"", "CONTENT=\"Babelsberg!\"");
+            Files.writeString(altoFile, alto);
+            Files.setLastModifiedTime(altoFile, FileTime.fromMillis(index.getSourceLastModified() + 1000));
+
+            Assertions.assertEquals("Babelsberg!", AltoWordIndex.load(altoFile).getContent(13));
+        } finally {
+            Files.deleteIfExists(sidecar);
+        }
+    }
+
+    /**
+     * @see AltoWordIndex#load(Path)
+     * @verifies rebuild truncated sidecar
+     */
+    @Test
+    void load_shouldRebuildTruncatedSidecar() throws Exception {
+        Path altoFile = copyAltoFile("load_shouldRebuildTruncatedSidecar");
+        Path sidecar = AltoWordIndex.getSidecarPath(altoFile);
+        Files.deleteIfExists(sidecar);
+        try {
+            int wordCount = AltoWordIndex.load(altoFile).getWordCount();
+            byte[] bytes = Files.readAllBytes(sidecar);
+            Files.write(sidecar, Arrays.copyOf(bytes, bytes.length / 2));
+
+            AltoWordIndex index = AltoWordIndex.load(altoFile);
+            Assertions.assertEquals(wordCount, index.getWordCount());
+            Assertions.assertEquals(bytes.length, Files.size(sidecar));
+        } finally {
+            Files.deleteIfExists(sidecar);
+        }
+    }
+
+    /**
+     * @see AltoWordIndex#AltoWordIndex(ByteBuffer)
+     * @verifies reject truncated index
+     */
+    @Test
+    void AltoWordIndex_shouldRejectTruncatedIndex() throws Exception {
+        Path altoFile = copyAltoFile("AltoWordIndex_shouldRejectTruncatedIndex");
+        Path sidecar = AltoWordIndex.getSidecarPath(altoFile);
+        Files.deleteIfExists(sidecar);
+        try {
+            AltoWordIndex.load(altoFile);
+            byte[] bytes = Files.readAllBytes(sidecar);
+            Assertions.assertNotNull(new AltoWordIndex(ByteBuffer.wrap(bytes)));
+            Assertions.assertThrows(IOException.class, () -> new AltoWordIndex(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 1))));
+            Assertions.assertThrows(IOException.class, () -> new AltoWordIndex(ByteBuffer.wrap(Arrays.copyOf(bytes, 60))));
+        } finally {
+            Files.deleteIfExists(sidecar);
+        }
+    }
+
+    /**
+     * @see AltoWordIndex#loadExisting(Path)
+     * @verifies return null if no sidecar exists
+     */
+    @Test
+    void loadExisting_shouldReturnNullIfNoSidecarExists() throws Exception {
+        Path altoFile = copyAltoFile("loadExisting_shouldReturnNullIfNoSidecarExists");
+        Path sidecar = AltoWordIndex.getSidecarPath(altoFile);
+        Files.deleteIfExists(sidecar);
+        Assertions.assertNull(AltoWordIndex.loadExisting(altoFile));
+        Assertions.assertFalse(Files.exists(sidecar));
+    }
+
+    /**
+     * @see AltoWordIndex#loadExisting(Path)
+     * @verifies return index from existing sidecar
+     */
+    @Test
+    void loadExisting_shouldReturnIndexFromExistingSidecar() throws Exception {
+        Path altoFile = copyAltoFile("loadExisting_shouldReturnIndexFromExistingSidecar");
+        Path sidecar = AltoWordIndex.getSidecarPath(altoFile);
+        Files.deleteIfExists(sidecar);
+        try {
+            AltoWordIndex index = AltoWordIndex.load(altoFile);
+            AltoWordIndex existing = AltoWordIndex.loadExisting(altoFile);
+            Assertions.assertNotNull(existing);
+            Assertions.assertEquals(index.getWordCount(), existing.getWordCount());
+        } finally {
+            Files.deleteIfExists(sidecar);
+        }
+    }
+
+    /**
+     * @see AltoWordIndex#enforceSizeLimit(Path,long)
+     * @verifies delete oldest files until below limit
+     */
+    @Test
+    void enforceSizeLimit_shouldDeleteOldestFilesUntilBelowLimit() throws Exception {
+        Path folder = Files.createDirectories(tempDir.resolve("index").resolve("alto"));
+        for (int i = 0; i < 10; ++i) {
+            Path file = Files.write(folder.resolve(i + AltoWordIndex.FILE_EXTENSION), new byte[100]);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1000000L + i * 1000));
+        }
+
+        Assertions.assertEquals(2, AltoWordIndex.enforceSizeLimit(tempDir.resolve("index"), 850));
+        Assertions.assertFalse(Files.exists(folder.resolve("0" + AltoWordIndex.FILE_EXTENSION)));
+        Assertions.assertFalse(Files.exists(folder.resolve("1" + AltoWordIndex.FILE_EXTENSION)));
+        Assertions.assertTrue(Files.exists(folder.resolve("2" + AltoWordIndex.FILE_EXTENSION)));
+    }
+
+    /**
+     * @see AltoWordIndex#enforceSizeLimit(Path,long)
+     * @verifies not delete anything if below limit
+     */
+    @Test
+    void enforceSizeLimit_shouldNotDeleteAnythingIfBelowLimit() throws Exception {
+        Path folder = Files.createDirectories(tempDir.resolve("index"));
+        for (int i = 0; i < 10; ++i) {
+            Files.write(folder.resolve(i + AltoWordIndex.FILE_EXTENSION), new byte[100]);
+        }
+
+        Assertions.assertEquals(0, AltoWordIndex.enforceSizeLimit(folder, 1000));
+        Assertions.assertEquals(0, AltoWordIndex.enforceSizeLimit(folder, 0));
+        try (Stream<Path> files = Files.list(folder)) {
+            Assertions.assertEquals(10, files.count());
+        }
+    }
+
+    /**
+     *
+     * @param recordFolder Name of the record folder
+     * @return Copy of the sample ALTO file in the given record folder
+     * @throws Exception
+     */
+    private Path copyAltoFile(String recordFolder) throws Exception {
+        Path folder = Files.createDirectories(tempDir.resolve("alto").resolve(recordFolder));
+        return Files.copy(ALTO_FILE, folder.resolve("00000001.xml"));
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.controller.sorting;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SortKeyCacheTest {
+
+    /**
+     * @see SortKeyCache#getLabel(String,String,Locale,ITranslator)
+     * @verifies translate each value only once
+     */
+    @Test
+    void getLabel_shouldTranslateEachValueOnlyOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        ITranslator<String> translator = (value, locale) -> {
+            calls.incrementAndGet();
+            return value.toUpperCase();
+        };
+        SortKeyCache cache = new SortKeyCache();
+        Assertions.assertEquals("FOO", cache.getLabel("MD_FOO", "foo", Locale.GERMAN, translator));
+        Assertions.assertEquals("FOO", cache.getLabel("MD_FOO", "foo", Locale.GERMAN, translator));
+        cache.getCollationKey("MD_FOO", "foo", Locale.GERMAN, translator);
+        Assertions.assertEquals(1, calls.get());
+
+        cache.getLabel("MD_FOO", "foo", Locale.ENGLISH, translator);
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    /**
+     * @see SortKeyCache#getCollationKey(String,String,Locale,ITranslator)
+     * @verifies order keys like alphabetic comparator
+     */
+    @Test
+    void getCollationKey_shouldOrderKeysLikeAlphabeticComparator() {
+        SortKeyCache cache = new SortKeyCache();
+        ITranslator<String> translator = new NoopTranslator<>(Function.identity());
+        AlphabeticComparator<String> comparator = new AlphabeticComparator<>(translator, Locale.GERMAN, true);
+        List<String> values = List.of("a", "A", "ä", "b", "Äpfel", "apfel", "Zebra", "zz", "1", "10", "2", "", "é", "e", "Straße", "strasse");
+        for (String value1 : values) {
+            for (String value2 : values) {
+                int expected = Integer.signum(comparator.compare(value1, value2));
+                int actual = Integer.signum(Arrays.compareUnsigned(cache.getCollationKey("MD_FOO", value1, Locale.GERMAN, translator),
+                        cache.getCollationKey("MD_FOO", value2, Locale.GERMAN, translator)));
+                Assertions.assertEquals(expected, actual, value1 + " / " + value2);
+            }
+        }
+    }
+}
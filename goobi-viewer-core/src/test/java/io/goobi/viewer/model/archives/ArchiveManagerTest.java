@@ -254,4 +254,35 @@ class ArchiveManagerTest extends AbstractSolrEnabledTest {
         // Predecessor of the second node points to the first node's PI
         assertEquals("A91x28075361251831020181205135958451", result2.getLeft().get());
     }
+
+    /**
+     * @see ArchiveManager#isLowOnMemory(long, long)
+     * @verifies return true if free share below minimum
+     */
+    @Test
+    void isLowOnMemory_shouldReturnTrueIfFreeShareBelowMinimum() {
+        Assertions.assertTrue(ArchiveManager.isLowOnMemory(1000, 900));
+    }
+
+    /**
+     * @see ArchiveManager#isLowOnMemory(long, long)
+     * @verifies return false if free share above minimum
+     */
+    @Test
+    void isLowOnMemory_shouldReturnFalseIfFreeShareAboveMinimum() {
+        Assertions.assertFalse(ArchiveManager.isLowOnMemory(1000, 500));
+        Assertions.assertFalse(ArchiveManager.isLowOnMemory(Long.MAX_VALUE, 500));
+    }
+
+    /**
+     * @see ArchiveManager#getHeapUsedAfterLastCollection()
+     * @verifies return value between zero and maximum heap
+     */
+    @Test
+    void getHeapUsedAfterLastCollection_shouldReturnValueBetweenZeroAndMaximumHeap() {
+        System.gc(); //NOSONAR Populate collection usage of the heap pools
+        long used = ArchiveManager.getHeapUsedAfterLastCollection();
+        Assertions.assertTrue(used >= 0);
+        Assertions.assertTrue(used <= Runtime.getRuntime().maxMemory());
+    }
 }
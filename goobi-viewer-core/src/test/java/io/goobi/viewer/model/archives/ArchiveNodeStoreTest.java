@@ -0,0 +1,111 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.archives;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ArchiveNodeStoreTest {
+
+    private ArchiveNodeStore store;
+
+    @BeforeEach
+    void setUp() {
+        // The child of the first series is added last to verify that children are grouped by parent
+        store = new ArchiveNodeStore.Builder().add("10", null, "root", "Archive")
+                .add("21", "10", "series1", "Series One")
+                .add("22", "10", "series2", "Series Two")
+                .add("31", "22", "file1", "Letter to Koch")
+                .add("32", "22", "file2", "Vol. 1")
+                .add("33", "21", "file3", "Vol. 1")
+                .build();
+    }
+
+    /**
+     * @see ArchiveNodeStore#indexOf(String)
+     * @verifies return correct node
+     */
+    @Test
+    void indexOf_shouldReturnCorrectNode() {
+        assertEquals(6, store.size());
+        assertEquals(0, store.indexOf("10"));
+        assertEquals(3, store.indexOf("31"));
+    }
+
+    /**
+     * @see ArchiveNodeStore#indexOf(String)
+     * @verifies return -1 for unknown iddoc
+     */
+    @Test
+    void indexOf_shouldReturnMinus1ForUnknownIddoc() {
+        assertEquals(-1, store.indexOf("99"));
+        assertEquals(-1, store.indexOf(null));
+    }
+
+    /**
+     * @see ArchiveNodeStore#getChildIddocs(String)
+     * @verifies return children in archive order
+     */
+    @Test
+    void getChildIddocs_shouldReturnChildrenInArchiveOrder() {
+        assertEquals(Arrays.asList("21", "22"), store.getChildIddocs("10"));
+        assertEquals(Arrays.asList("31", "32"), store.getChildIddocs("22"));
+        assertEquals(Collections.emptyList(), store.getChildIddocs("31"));
+        assertTrue(store.hasChildren("21"));
+    }
+
+    /**
+     * @see ArchiveNodeStore#getParentIddoc(String)
+     * @verifies return parent iddoc
+     */
+    @Test
+    void getParentIddoc_shouldReturnParentIddoc() {
+        assertEquals("22", store.getParentIddoc("32"));
+        assertNull(store.getParentIddoc("10"));
+    }
+
+    /**
+     * @see ArchiveNodeStore#findMatchingIddocs(String)
+     * @verifies find nodes by label ignoring case
+     */
+    @Test
+    void findMatchingIddocs_shouldFindNodesByLabelIgnoringCase() {
+        assertEquals(Arrays.asList("21", "22"), store.findMatchingIddocs("series"));
+        assertEquals(Arrays.asList("32", "33"), store.findMatchingIddocs("VOL."));
+    }
+
+    /**
+     * @see ArchiveNodeStore#findMatchingIddocs(String)
+     * @verifies find nodes by node id
+     */
+    @Test
+    void findMatchingIddocs_shouldFindNodesByNodeId() {
+        assertEquals(Collections.singletonList("31"), store.findMatchingIddocs("file1"));
+    }
+}
@@ -23,17 +23,30 @@ package io.goobi.viewer.model.archives;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
 import org.jdom2.Document;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import io.goobi.viewer.AbstractSolrEnabledTest;
+import io.goobi.viewer.controller.DataManager;
 import io.goobi.viewer.controller.DateTools;
+import io.goobi.viewer.solr.SolrConstants;
+import io.goobi.viewer.solr.SolrConstants.DocType;
 
 class SolrEADParserTest extends AbstractSolrEnabledTest {
 
@@ -68,4 +81,106 @@ class SolrEADParserTest extends AbstractSolrEnabledTest {
         Assertions.assertEquals("2024-02-28T14:29:55Z",
                 SolrEADParser.formatDate(DateTools.getMillisFromLocalDateTime(LocalDateTime.of(2024, 02, 28, 14, 29, 55), false)));
     }
+
+    /**
+     * @see SolrEADParser#loadDatabase(ArchiveResource,int)
+     * @verifies load complete trees when called concurrently
+     */
+    @Test
+    void loadDatabase_shouldLoadCompleteTreesWhenCalledConcurrently() throws Exception {
+        eadParser.updateAssociatedRecordMap();
+        ArchiveResource resource = eadParser.getPossibleDatabases().get(0);
+        int expected = countEntries(eadParser.loadDatabase(resource, Integer.MAX_VALUE));
+        assertTrue(expected > 1);
+
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<ArchiveEntry>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> eadParser.loadDatabase(resource, Integer.MAX_VALUE)));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        // Each call must have built its tree from its own prefetched docs and node store
+        for (Future<ArchiveEntry> f : futures) {
+            assertEquals(expected, countEntries(f.get()));
+        }
+        assertNotNull(eadParser.getNodeStore(resource.getResourceId()));
+    }
+
+    /**
+     * @see SolrEADParser#filterAccessibleIddocs(String,List)
+     * @verifies return empty list if no iddocs given
+     */
+    @Test
+    void filterAccessibleIddocs_shouldReturnEmptyListIfNoIddocsGiven() throws Exception {
+        assertTrue(SolrEADParser.filterAccessibleIddocs("Akte_Koch_-_Humboldt_Universitaet", Collections.emptyList()).isEmpty());
+    }
+
+    /**
+     * @see SolrEADParser#filterAccessibleIddocs(String,List)
+     * @verifies only return iddocs of listable archive nodes in given order
+     */
+    @Test
+    void filterAccessibleIddocs_shouldOnlyReturnIddocsOfListableArchiveNodesInGivenOrder() throws Exception {
+        List<String> archiveIddocs = getArchiveNodeIddocs("Akte_Koch_-_Humboldt_Universitaet", 2);
+        SolrDocument recordDoc = DataManager.getInstance().getSearchIndex().getFirstDoc(SolrConstants.PI + ":" + PI_KLEIUNIV, null);
+        assertNotNull(recordDoc);
+        String recordIddoc = (String) recordDoc.getFieldValue(SolrConstants.IDDOC);
+
+        List<String> result = SolrEADParser.filterAccessibleIddocs("Akte_Koch_-_Humboldt_Universitaet",
+                Arrays.asList(archiveIddocs.get(1), recordIddoc, archiveIddocs.get(0)));
+        assertEquals(Arrays.asList(archiveIddocs.get(1), archiveIddocs.get(0)), result);
+    }
+
+    /**
+     * @see SolrEADParser#filterAccessibleIddocs(String,List)
+     * @verifies check iddocs in several batches
+     */
+    @Test
+    void filterAccessibleIddocs_shouldCheckIddocsInSeveralBatches() throws Exception {
+        String archiveIddoc = getArchiveNodeIddocs("Akte_Koch_-_Humboldt_Universitaet", 1).get(0);
+        // Unknown IDDOCs first, so that the only existing node ends up in the second batch
+        List<String> iddocs = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            iddocs.add(String.valueOf(9_000_000_000L + i));
+        }
+        iddocs.add(archiveIddoc);
+
+        assertEquals(Collections.singletonList(archiveIddoc), SolrEADParser.filterAccessibleIddocs("Akte_Koch_-_Humboldt_Universitaet", iddocs));
+    }
+
+    /**
+     *
+     * @param pi Archive resource ID
+     * @param rows Number of IDDOCs to return
+     * @return IDDOCs of archive nodes below the root
+     * @throws Exception
+     */
+    private static List<String> getArchiveNodeIddocs(String pi, int rows) throws Exception {
+        SolrDocumentList docs = DataManager.getInstance()
+                .getSearchIndex()
+                .search("+" + SolrConstants.PI_TOPSTRUCT + ":\"" + pi + "\" +" + SolrConstants.DOCTYPE + ":" + DocType.ARCHIVE.name() + " -"
+                        + SolrConstants.PI + ":*", rows, null, Collections.singletonList(SolrConstants.IDDOC));
+        assertEquals(rows, docs.size());
+        List<String> ret = new ArrayList<>(rows);
+        for (SolrDocument doc : docs) {
+            ret.add((String) doc.getFieldValue(SolrConstants.IDDOC));
+        }
+        return ret;
+    }
+
+    /**
+     *
+     * @param entry Root entry
+     * @return Number of entries in the tree below and including the given entry
+     */
+    private static int countEntries(ArchiveEntry entry) {
+        int ret = 1;
+        for (ArchiveEntry child : entry.getSubEntryList()) {
+            ret += countEntries(child);
+        }
+        return ret;
+    }
 }
@@ -0,0 +1,154 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.calendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.model.calendar.CalendarYearCache.YearKey;
+import io.goobi.viewer.model.calendar.CalendarYearCache.YearView;
+
+class CalendarYearCacheTest {
+
+    private static final long TTL = 60000;
+
+    private static YearView createYearView() {
+        return new YearView(new int[13], Map.of("19000101", 1), Map.of("19000101", "image/PPN123/1/LOG_0003/"));
+    }
+
+    /**
+     * @see CalendarYearCache#getYearView(YearKey)
+     * @verifies return put year view
+     */
+    @Test
+    void getYearView_shouldReturnPutYearView() {
+        CalendarYearCache cache = new CalendarYearCache(TTL);
+        YearView yearView = createYearView();
+        cache.putYearView(new YearKey("1900", "+YEAR:1900"), yearView);
+        assertSame(yearView, cache.getYearView(new YearKey("1900", "+YEAR:1900")));
+        assertNull(cache.getYearView(new YearKey("1901", "+YEAR:1900")));
+    }
+
+    /**
+     * @see CalendarYearCache#getYearView(YearKey)
+     * @verifies return null for different query
+     */
+    @Test
+    void getYearView_shouldReturnNullForDifferentQuery() {
+        CalendarYearCache cache = new CalendarYearCache(TTL);
+        cache.putYearView(new YearKey("1900", "+YEAR:1900"), createYearView());
+        assertNull(cache.getYearView(new YearKey("1900", "+YEAR:1900 +ACCESSCONDITION:OPENACCESS")));
+    }
+
+    /**
+     * @see CalendarYearCache#getYearView(YearKey)
+     * @verifies return null after ttl expired
+     */
+    @Test
+    void getYearView_shouldReturnNullAfterTtlExpired() throws Exception {
+        CalendarYearCache cache = new CalendarYearCache(1);
+        cache.putYearView(new YearKey("1900", "+YEAR:1900"), createYearView());
+        Thread.sleep(10);
+        assertNull(cache.getYearView(new YearKey("1900", "+YEAR:1900")));
+        assertEquals(0, cache.getYearViewCount());
+    }
+
+    /**
+     * @see CalendarYearCache#putYearView(YearKey,YearView)
+     * @verifies not cache if ttl is zero
+     */
+    @Test
+    void putYearView_shouldNotCacheIfTtlIsZero() {
+        CalendarYearCache cache = new CalendarYearCache(0);
+        cache.putYearView(new YearKey("1900", "+YEAR:1900"), createYearView());
+        assertEquals(0, cache.getYearViewCount());
+        assertNull(cache.getYearView(new YearKey("1900", "+YEAR:1900")));
+    }
+
+    /**
+     * @see YearView#YearView(int[],Map,Map)
+     * @verifies copy given values
+     */
+    @Test
+    void YearView_shouldCopyGivenValues() {
+        int[] monthHits = new int[13];
+        Map<String, Integer> dayHits = new HashMap<>();
+        dayHits.put("19000101", 1);
+        YearView yearView = new YearView(monthHits, dayHits, Collections.emptyMap());
+        monthHits[1] = 5;
+        dayHits.put("19000102", 2);
+        assertEquals(0, yearView.getMonthHits(1));
+        assertEquals(1, yearView.dayHits().size());
+        assertThrows(UnsupportedOperationException.class, () -> yearView.dayHits().put("19000103", 3));
+    }
+
+    /**
+     * @see YearView#monthHits()
+     * @verifies return copy
+     */
+    @Test
+    void monthHits_shouldReturnCopy() {
+        YearView yearView = createYearView();
+        yearView.monthHits()[1] = 5;
+        assertEquals(0, yearView.getMonthHits(1));
+    }
+
+    /**
+     * @see CalendarYearCache#putYearView(YearKey,YearView)
+     * @verifies drop all year views when full
+     */
+    @Test
+    void putYearView_shouldDropAllYearViewsWhenFull() {
+        CalendarYearCache cache = new CalendarYearCache(TTL);
+        for (int i = 0; i < CalendarYearCache.MAX_ENTRIES; ++i) {
+            cache.putYearView(new YearKey(String.valueOf(i), "+YEAR:" + i), createYearView());
+        }
+        assertEquals(CalendarYearCache.MAX_ENTRIES, cache.getYearViewCount());
+        YearView yearView = new YearView(new int[13], Collections.emptyMap(), Collections.emptyMap());
+        cache.putYearView(new YearKey("1900", "+YEAR:1900"), yearView);
+        assertEquals(1, cache.getYearViewCount());
+        assertSame(yearView, cache.getYearView(new YearKey("1900", "+YEAR:1900")));
+    }
+
+    /**
+     * @see CalendarYearCache#invalidate()
+     * @verifies remove all entries
+     */
+    @Test
+    void invalidate_shouldRemoveAllEntries() {
+        CalendarYearCache cache = new CalendarYearCache(TTL);
+        cache.putYearView(new YearKey("1900", "+YEAR:1900"), createYearView());
+        cache.putIssueList(new YearKey("1900", "+PI_TOPSTRUCT:\"PPN123\""), "[]");
+        cache.invalidate();
+        assertEquals(0, cache.getYearViewCount());
+        assertNull(cache.getYearView(new YearKey("1900", "+YEAR:1900")));
+        assertNull(cache.getIssueList(new YearKey("1900", "+PI_TOPSTRUCT:\"PPN123\"")));
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.cms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.AbstractDatabaseEnabledTest;
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.model.cms.pages.CMSPage;
+
+/**
+ * Integration tests for {@link CMSSnapshotCache} against the H2 test fixture.
+ */
+class CMSSnapshotCacheTest extends AbstractDatabaseEnabledTest {
+
+    private CMSSnapshotCache cache;
+
+    @BeforeEach
+    void initCache() {
+        cache = new CMSSnapshotCache();
+    }
+
+    /**
+     * @see CMSSnapshotCache#findCmsPageIdForPath(URI)
+     * @verifies return id of longest matching persistent url
+     */
+    @Test
+    void findCmsPageIdForPath_shouldReturnIdOfLongestMatchingPersistentUrl() throws Exception {
+        setPersistentUrl(1, "foo");
+        setPersistentUrl(2, "foo/bar");
+
+        assertEquals(Optional.of(2L), cache.findCmsPageIdForPath(URI.create("foo/bar/1/")));
+        assertEquals(Optional.of(1L), cache.findCmsPageIdForPath(URI.create("foo/other/")));
+    }
+
+    /**
+     * @see CMSSnapshotCache#findCmsPageIdForPath(URI)
+     * @verifies return empty if no persistent url matches
+     */
+    @Test
+    void findCmsPageIdForPath_shouldReturnEmptyIfNoPersistentUrlMatches() throws Exception {
+        setPersistentUrl(1, "foo");
+
+        assertFalse(cache.findCmsPageIdForPath(URI.create("bar/")).isPresent());
+    }
+
+    /**
+     * @see CMSSnapshotCache#getCmsPageIdForStaticPage(String)
+     * @verifies return mapped cms page id
+     */
+    @Test
+    void getCmsPageIdForStaticPage_shouldReturnMappedCmsPageId() throws Exception {
+        assertEquals(Optional.of(1L), cache.getCmsPageIdForStaticPage("index"));
+        // Static page without CMS page
+        assertFalse(cache.getCmsPageIdForStaticPage("search").isPresent());
+    }
+
+    /**
+     * @see CMSSnapshotCache#getStaticPageNames(Long)
+     * @verifies return static page names for cms page
+     */
+    @Test
+    void getStaticPageNames_shouldReturnStaticPageNamesForCmsPage() throws Exception {
+        assertEquals(List.of("index"), cache.getStaticPageNames(1L));
+    }
+
+    /**
+     * @see CMSSnapshotCache#getStaticPageNames(Long)
+     * @verifies return empty list for unmapped cms page
+     */
+    @Test
+    void getStaticPageNames_shouldReturnEmptyListForUnmappedCmsPage() throws Exception {
+        assertEquals(Collections.emptyList(), cache.getStaticPageNames(2L));
+        assertEquals(Collections.emptyList(), cache.getStaticPageNames(null));
+    }
+
+    /**
+     * @see CMSSnapshotCache#invalidate()
+     * @verifies force rebuild on next read
+     */
+    @Test
+    void invalidate_shouldForceRebuildOnNextRead() throws Exception {
+        assertFalse(cache.findCmsPageIdForPath(URI.create("foo/")).isPresent());
+        assertEquals(1, cache.getRebuildCount());
+        assertEquals(1, cache.getMisses());
+        assertFalse(cache.findCmsPageIdForPath(URI.create("foo/")).isPresent());
+        assertEquals(1, cache.getHits());
+
+        setPersistentUrl(1, "foo");
+        cache.invalidate();
+
+        assertEquals(Optional.of(1L), cache.findCmsPageIdForPath(URI.create("foo/")));
+        assertTrue(cache.getRebuildCount() >= 2);
+    }
+
+    private static void setPersistentUrl(long cmsPageId, String persistentUrl) throws Exception {
+        CMSPage page = DataManager.getInstance().getDao().getCMSPage(cmsPageId);
+        page.setPersistentUrl(persistentUrl);
+        assertTrue(DataManager.getInstance().getDao().updateCMSPage(page));
+    }
+}
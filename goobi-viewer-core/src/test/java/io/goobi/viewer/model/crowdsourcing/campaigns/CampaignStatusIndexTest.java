@@ -0,0 +1,137 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.crowdsourcing.campaigns;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.model.security.user.User;
+
+class CampaignStatusIndexTest {
+
+    private static CampaignRecordStatistic createStatistic(CrowdsourcingStatus status, CrowdsourcingStatus... pageStatuses) {
+        CampaignRecordStatistic ret = new CampaignRecordStatistic();
+        ret.setStatus(status);
+        for (int i = 0; i < pageStatuses.length; ++i) {
+            CampaignRecordPageStatistic pageStatistic = new CampaignRecordPageStatistic();
+            pageStatistic.setPage(i + 1);
+            pageStatistic.setStatus(pageStatuses[i]);
+            ret.getPageStatistics().put(String.valueOf(i + 1), pageStatistic);
+        }
+        return ret;
+    }
+
+    private static User createUser(long id) {
+        User ret = new User();
+        ret.setId(id);
+        return ret;
+    }
+
+    /**
+     * @see CampaignStatusIndex#build(Map)
+     * @verifies index record and page statuses
+     */
+    @Test
+    void build_shouldIndexRecordAndPageStatuses() {
+        Map<String, CampaignRecordStatistic> statistics = new HashMap<>();
+        statistics.put("PI1", createStatistic(CrowdsourcingStatus.FINISHED, CrowdsourcingStatus.FINISHED, CrowdsourcingStatus.FINISHED));
+        statistics.put("PI2", createStatistic(CrowdsourcingStatus.REVIEW, CrowdsourcingStatus.FINISHED, CrowdsourcingStatus.REVIEW));
+        statistics.put("PI3", createStatistic(CrowdsourcingStatus.ANNOTATE));
+        CampaignStatusIndex index = CampaignStatusIndex.build(statistics);
+
+        assertEquals(3, index.getRecordCount());
+        assertEquals(1, index.getRecordCount(CrowdsourcingStatus.FINISHED));
+        assertEquals(1, index.getRecordCount(CrowdsourcingStatus.REVIEW));
+        assertEquals(1, index.getRecordCount(CrowdsourcingStatus.ANNOTATE));
+        assertEquals(3, index.getPageCount(CrowdsourcingStatus.FINISHED));
+        assertEquals(1, index.getPageCount(CrowdsourcingStatus.REVIEW));
+        assertEquals(Set.of("PI1", "PI2"), index.getRecords(CrowdsourcingStatus.FINISHED, true));
+        assertEquals(Set.of("PI1"), index.getRecords(CrowdsourcingStatus.FINISHED, false));
+        assertTrue(index.hasPageStatus("PI2", CrowdsourcingStatus.REVIEW));
+        assertFalse(index.hasPageStatus("PI1", CrowdsourcingStatus.REVIEW));
+    }
+
+    /**
+     * @see CampaignStatusIndex#build(Map)
+     * @verifies collect contributors
+     */
+    @Test
+    void build_shouldCollectContributors() {
+        CampaignRecordStatistic statistic1 = createStatistic(CrowdsourcingStatus.REVIEW);
+        statistic1.addAnnotater(createUser(1));
+        CampaignRecordStatistic statistic2 = createStatistic(CrowdsourcingStatus.FINISHED);
+        statistic2.addAnnotater(createUser(1));
+        statistic2.addReviewer(createUser(2));
+        CampaignRecordStatistic statistic3 = createStatistic(CrowdsourcingStatus.ANNOTATE, CrowdsourcingStatus.REVIEW);
+        statistic3.getPageStatistics().get("1").addReviewer(createUser(3));
+        Map<String, CampaignRecordStatistic> statistics = Map.of("PI1", statistic1, "PI2", statistic2, "PI3", statistic3);
+        CampaignStatusIndex index = CampaignStatusIndex.build(statistics);
+
+        assertEquals(2, index.getContributorCount(false));
+        assertTrue(index.isHasAnnotations(false));
+        assertEquals(1, index.getContributorCount(true));
+        assertFalse(index.isHasAnnotations(true));
+    }
+
+    /**
+     * @see CampaignStatusIndex#changeRecordStatus(String,CrowdsourcingStatus,CrowdsourcingStatus)
+     * @verifies move record to new status
+     */
+    @Test
+    void changeRecordStatus_shouldMoveRecordToNewStatus() {
+        CampaignStatusIndex index = CampaignStatusIndex.build(Map.of("PI1", createStatistic(CrowdsourcingStatus.ANNOTATE)));
+        index.changeRecordStatus("PI1", CrowdsourcingStatus.ANNOTATE, CrowdsourcingStatus.REVIEW);
+
+        assertEquals(0, index.getRecordCount(CrowdsourcingStatus.ANNOTATE));
+        assertEquals(1, index.getRecordCount(CrowdsourcingStatus.REVIEW));
+        assertEquals(Set.of("PI1"), index.getRecords(CrowdsourcingStatus.REVIEW, false));
+    }
+
+    /**
+     * @see CampaignStatusIndex#changePageStatus(String,CrowdsourcingStatus,CrowdsourcingStatus)
+     * @verifies update page counts and records
+     */
+    @Test
+    void changePageStatus_shouldUpdatePageCountsAndRecords() {
+        CampaignStatusIndex index =
+                CampaignStatusIndex.build(Map.of("PI1", createStatistic(CrowdsourcingStatus.ANNOTATE, CrowdsourcingStatus.REVIEW)));
+        index.changePageStatus("PI1", null, CrowdsourcingStatus.REVIEW);
+        assertEquals(2, index.getPageCount(CrowdsourcingStatus.REVIEW));
+
+        index.changePageStatus("PI1", CrowdsourcingStatus.REVIEW, CrowdsourcingStatus.FINISHED);
+        assertEquals(1, index.getPageCount(CrowdsourcingStatus.REVIEW));
+        assertTrue(index.hasPageStatus("PI1", CrowdsourcingStatus.REVIEW));
+
+        index.changePageStatus("PI1", CrowdsourcingStatus.REVIEW, CrowdsourcingStatus.FINISHED);
+        assertEquals(0, index.getPageCount(CrowdsourcingStatus.REVIEW));
+        assertEquals(2, index.getPageCount(CrowdsourcingStatus.FINISHED));
+        assertFalse(index.hasPageStatus("PI1", CrowdsourcingStatus.REVIEW));
+        assertTrue(index.hasPageStatus("PI1", CrowdsourcingStatus.FINISHED));
+    }
+}
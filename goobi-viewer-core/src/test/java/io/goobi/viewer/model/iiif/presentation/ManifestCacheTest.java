@@ -0,0 +1,272 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.iiif.presentation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.LongConsumer;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import de.intranda.api.iiif.presentation.IPresentationModelElement;
+import io.goobi.viewer.api.rest.filters.FilterTools;
+import io.goobi.viewer.model.iiif.presentation.ManifestCache.ManifestKey;
+import jakarta.servlet.http.HttpServletRequest;
+
+class ManifestCacheTest {
+
+    /**
+     *
+     * @param maxManifests Maximum number of cached manifests
+     * @return {@link ManifestCache} that is not limited by size
+     */
+    private static ManifestCache createCache(int maxManifests) {
+        return new ManifestCache(maxManifests, Long.MAX_VALUE);
+    }
+
+    /**
+     * @see ManifestCache#getLatestDateUpdated(java.util.Collection)
+     * @verifies return latest value
+     */
+    @Test
+    void getLatestDateUpdated_shouldReturnLatestValue() {
+        assertEquals(3L, ManifestCache.getLatestDateUpdated(Arrays.asList(1L, 3L, 2L)));
+    }
+
+    /**
+     * @see ManifestCache#getLatestDateUpdated(java.util.Collection)
+     * @verifies return zero if no values
+     */
+    @Test
+    void getLatestDateUpdated_shouldReturnZeroIfNoValues() {
+        assertEquals(0, ManifestCache.getLatestDateUpdated(null));
+        assertEquals(0, ManifestCache.getLatestDateUpdated(Collections.emptyList()));
+    }
+
+    /**
+     * @see ManifestCache#get(ManifestKey,HttpServletRequest)
+     * @verifies return put manifest
+     */
+    @Test
+    void get_shouldReturnPutManifest() {
+        ManifestCache cache = createCache(10);
+        IPresentationModelElement manifest = Mockito.mock(IPresentationModelElement.class);
+        cache.put(new ManifestKey("PPN123", "3", "-||", 100L), manifest, null);
+        assertSame(manifest, cache.get(new ManifestKey("PPN123", "3", "-||", 100L), null));
+        assertNull(cache.get(new ManifestKey("PPN123", "2", "-||", 100L), null));
+        assertNull(cache.get(null, null));
+    }
+
+    /**
+     * @see ManifestCache#get(ManifestKey,HttpServletRequest)
+     * @verifies return null for different licensee
+     */
+    @Test
+    void get_shouldReturnNullForDifferentLicensee() {
+        ManifestCache cache = createCache(10);
+        cache.put(new ManifestKey("PPN123", "3", "-||", 100L), Mockito.mock(IPresentationModelElement.class), null);
+        assertNull(cache.get(new ManifestKey("PPN123", "3", "u1||", 100L), null));
+    }
+
+    /**
+     * @see ManifestCache#get(ManifestKey,HttpServletRequest)
+     * @verifies return null for newer record version
+     */
+    @Test
+    void get_shouldReturnNullForNewerRecordVersion() {
+        ManifestCache cache = createCache(10);
+        cache.put(new ManifestKey("PPN123", "3", "-||", 100L), Mockito.mock(IPresentationModelElement.class), null);
+        assertNull(cache.get(new ManifestKey("PPN123", "3", "-||", 200L), null));
+
+        // Putting the new version drops the old one
+        cache.put(new ManifestKey("PPN123", "3", "-||", 200L), Mockito.mock(IPresentationModelElement.class), null);
+        assertEquals(1, cache.getSize());
+    }
+
+    /**
+     * @see ManifestCache#put(ManifestKey,IPresentationModelElement,HttpServletRequest)
+     * @verifies evict least recently used manifest when full
+     */
+    @Test
+    void put_shouldEvictLeastRecentlyUsedManifestWhenFull() {
+        ManifestCache cache = createCache(2);
+        ManifestKey key1 = new ManifestKey("PPN1", "3", "-||", 100L);
+        ManifestKey key2 = new ManifestKey("PPN2", "3", "-||", 100L);
+        ManifestKey key3 = new ManifestKey("PPN3", "3", "-||", 100L);
+        cache.put(key1, Mockito.mock(IPresentationModelElement.class), null);
+        cache.put(key2, Mockito.mock(IPresentationModelElement.class), null);
+        assertNotNull(cache.get(key1, null));
+        cache.put(key3, Mockito.mock(IPresentationModelElement.class), null);
+        assertEquals(2, cache.getSize());
+        assertNotNull(cache.get(key1, null));
+        assertNull(cache.get(key2, null));
+        assertNotNull(cache.get(key3, null));
+    }
+
+    /**
+     * @see ManifestCache#put(ManifestKey,IPresentationModelElement,HttpServletRequest)
+     * @verifies not cache manifest if max size is zero
+     */
+    @Test
+    void put_shouldNotCacheManifestIfMaxSizeIsZero() {
+        ManifestCache cache = new ManifestCache(10, 0);
+        ManifestKey key = new ManifestKey("PPN123", "3", "-||", 100L);
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        cache.put(key, Mockito.mock(IPresentationModelElement.class), request);
+        assertEquals(0, cache.getSize());
+        // The response can still be validated
+        Mockito.verify(request).setAttribute(FilterTools.ATTRIBUTE_ETAG, ManifestCache.buildETag(key));
+        Mockito.verify(request, Mockito.never()).setAttribute(Mockito.eq(FilterTools.ATTRIBUTE_SIZE_LISTENER), Mockito.any());
+    }
+
+    /**
+     * @see ManifestCache#put(ManifestKey,IPresentationModelElement,HttpServletRequest)
+     * @verifies set size listener as request attribute
+     */
+    @Test
+    void put_shouldSetSizeListenerAsRequestAttribute() {
+        ManifestCache cache = new ManifestCache(10, 100);
+        ManifestKey key = new ManifestKey("PPN123", "3", "-||", 100L);
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        cache.put(key, Mockito.mock(IPresentationModelElement.class), request);
+        assertEquals(0, cache.getTotalBytes());
+
+        ArgumentCaptor<Object> listener = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(request).setAttribute(Mockito.eq(FilterTools.ATTRIBUTE_SIZE_LISTENER), listener.capture());
+        ((LongConsumer) listener.getValue()).accept(40);
+        assertEquals(40, cache.getTotalBytes());
+    }
+
+    /**
+     * @see ManifestCache#put(ManifestKey,IPresentationModelElement,HttpServletRequest)
+     * @verifies set validators as request attributes
+     */
+    @Test
+    void put_shouldSetValidatorsAsRequestAttributes() {
+        ManifestCache cache = createCache(10);
+        ManifestKey key = new ManifestKey("PPN123", "3", "-||", 100L);
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        cache.put(key, Mockito.mock(IPresentationModelElement.class), request);
+        Mockito.verify(request).setAttribute(FilterTools.ATTRIBUTE_ETAG, ManifestCache.buildETag(key));
+        Mockito.verify(request).setAttribute(FilterTools.ATTRIBUTE_LAST_MODIFIED, 100L);
+    }
+
+    /**
+     * @see ManifestCache#updateSize(ManifestKey,IPresentationModelElement,long)
+     * @verifies evict least recently used manifests when max size exceeded
+     */
+    @Test
+    void updateSize_shouldEvictLeastRecentlyUsedManifestsWhenMaxSizeExceeded() {
+        ManifestCache cache = new ManifestCache(10, 100);
+        ManifestKey key1 = new ManifestKey("PPN1", "3", "-||", 100L);
+        ManifestKey key2 = new ManifestKey("PPN2", "3", "-||", 100L);
+        ManifestKey key3 = new ManifestKey("PPN3", "3", "-||", 100L);
+        IPresentationModelElement manifest1 = Mockito.mock(IPresentationModelElement.class);
+        IPresentationModelElement manifest2 = Mockito.mock(IPresentationModelElement.class);
+        IPresentationModelElement manifest3 = Mockito.mock(IPresentationModelElement.class);
+        cache.put(key1, manifest1, null);
+        cache.updateSize(key1, manifest1, 40);
+        cache.put(key2, manifest2, null);
+        cache.updateSize(key2, manifest2, 40);
+        assertNotNull(cache.get(key1, null));
+        cache.put(key3, manifest3, null);
+        // Not yet measured
+        assertEquals(3, cache.getSize());
+        cache.updateSize(key3, manifest3, 40);
+        assertEquals(2, cache.getSize());
+        assertEquals(80, cache.getTotalBytes());
+        assertNotNull(cache.get(key1, null));
+        assertNull(cache.get(key2, null));
+        assertNotNull(cache.get(key3, null));
+
+        cache.invalidateRecord("PPN1");
+        assertEquals(40, cache.getTotalBytes());
+    }
+
+    /**
+     * @see ManifestCache#updateSize(ManifestKey,IPresentationModelElement,long)
+     * @verifies remove manifest larger than max size
+     */
+    @Test
+    void updateSize_shouldRemoveManifestLargerThanMaxSize() {
+        ManifestCache cache = new ManifestCache(10, 100);
+        ManifestKey key = new ManifestKey("PPN123", "3", "-||", 100L);
+        IPresentationModelElement manifest = Mockito.mock(IPresentationModelElement.class);
+        cache.put(key, manifest, null);
+        cache.updateSize(key, manifest, 101);
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    /**
+     * @see ManifestCache#updateSize(ManifestKey,IPresentationModelElement,long)
+     * @verifies ignore manifest no longer cached
+     */
+    @Test
+    void updateSize_shouldIgnoreManifestNoLongerCached() {
+        ManifestCache cache = new ManifestCache(10, 100);
+        ManifestKey key = new ManifestKey("PPN123", "3", "-||", 100L);
+        IPresentationModelElement oldManifest = Mockito.mock(IPresentationModelElement.class);
+        IPresentationModelElement newManifest = Mockito.mock(IPresentationModelElement.class);
+        cache.put(key, oldManifest, null);
+        cache.put(key, newManifest, null);
+        cache.updateSize(key, oldManifest, 60);
+        assertEquals(0, cache.getTotalBytes());
+        cache.invalidate();
+        cache.updateSize(key, newManifest, 60);
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getTotalBytes());
+    }
+
+    /**
+     * @see ManifestCache#invalidateRecord(String)
+     * @verifies remove only given record
+     */
+    @Test
+    void invalidateRecord_shouldRemoveOnlyGivenRecord() {
+        ManifestCache cache = createCache(10);
+        cache.put(new ManifestKey("PPN1", "2", "-||", 100L), Mockito.mock(IPresentationModelElement.class), null);
+        cache.put(new ManifestKey("PPN1", "3", "-||", 100L), Mockito.mock(IPresentationModelElement.class), null);
+        cache.put(new ManifestKey("PPN2", "3", "-||", 100L), Mockito.mock(IPresentationModelElement.class), null);
+        cache.invalidateRecord("PPN1");
+        assertEquals(1, cache.getSize());
+        assertNotNull(cache.get(new ManifestKey("PPN2", "3", "-||", 100L), null));
+    }
+
+    /**
+     * @see ManifestCache#buildETag(ManifestKey)
+     * @verifies differ for different licensees
+     */
+    @Test
+    void buildETag_shouldDifferForDifferentLicensees() {
+        assertNotEquals(ManifestCache.buildETag(new ManifestKey("PPN123", "3", "-||", 100L)),
+                ManifestCache.buildETag(new ManifestKey("PPN123", "3", "u1||", 100L)));
+    }
+}
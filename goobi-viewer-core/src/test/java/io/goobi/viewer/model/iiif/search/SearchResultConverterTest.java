@@ -28,6 +28,8 @@ import static io.goobi.viewer.api.rest.v1.ApiUrls.ANNOTATIONS_COMMENT;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.solr.common.SolrDocument;
@@ -38,11 +40,15 @@ import org.junit.jupiter.api.Test;
 
 import de.intranda.api.annotation.oa.TextQuoteSelector;
 import de.intranda.api.iiif.search.SearchHit;
+import de.intranda.digiverso.ocr.alto.model.structureclasses.logical.AltoDocument;
+import de.intranda.digiverso.ocr.alto.utils.HyphenationLinker;
 import io.goobi.viewer.AbstractSolrEnabledTest;
 import io.goobi.viewer.api.rest.v1.ApiUrls;
 import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.controller.model.alto.AltoWordIndex;
 import io.goobi.viewer.model.annotation.comments.Comment;
 import io.goobi.viewer.model.iiif.search.model.AnnotationResultList;
+import io.goobi.viewer.model.iiif.search.model.SearchTermList;
 import io.goobi.viewer.model.iiif.search.parser.AbstractSearchParser;
 import io.goobi.viewer.solr.SolrConstants;
 
@@ -190,6 +196,49 @@ class SearchResultConverterTest extends AbstractSolrEnabledTest {
 
     }
 
+    /**
+     * @see SearchResultConverter#getAnnotationsFromWordIndex(AltoWordIndex, String, long, int, int)
+     * @verifies only convert hits within range
+     */
+    @Test
+    void getAnnotationsFromWordIndex_shouldOnlyConvertHitsWithinRange() throws Exception {
+        String queryRegex = AbstractSearchParser.getQueryRegex("Hollywood");
+        AltoWordIndex words = AltoWordIndex.build(AltoDocument.getDocumentFromFile(altoFile.toFile()));
+
+        AnnotationResultList results = converter.getAnnotationsFromWordIndex(words, queryRegex, 0, 0, 100);
+        Assertions.assertEquals(9, results.getNumHits());
+        Assertions.assertEquals(9, results.getHits().size());
+        Assertions.assertEquals("Hollywood!", results.getHits().get(0).getMatch());
+        String url = urls.path(ApiUrls.ANNOTATIONS, ApiUrls.ANNOTATIONS_ALTO).params(pi, pageNo, "Word_14").query("format", "oa").build();
+        Assertions.assertEquals(url, results.getHits().get(0).getAnnotations().get(0).getId().toString());
+
+        // Hits 5 to 7 overall, with 3 hits on previous pages
+        results = converter.getAnnotationsFromWordIndex(words, queryRegex, 3, 5, 3);
+        Assertions.assertEquals(9, results.getNumHits());
+        Assertions.assertEquals(3, results.getHits().size());
+    }
+
+    /**
+     * @see SearchResultConverter#getSearchTerms(String, AltoWordIndex, java.util.List)
+     * @verifies count hyphenated words once
+     */
+    @Test
+    void getSearchTerms_shouldCountHyphenatedWordsOnce() throws Exception {
+        AltoDocument doc = AltoDocument.getDocumentFromFile(altoFile.toFile());
+        new HyphenationLinker().linkWords(doc);
+        AltoWordIndex words = AltoWordIndex.build(doc);
+
+        SearchTermList terms =
+                converter.getSearchTerms(AbstractSearchParser.getAutoSuggestRegex(Pattern.quote("verdi")), words, Collections.emptyList());
+        Assertions.assertEquals(1, terms.size());
+        Assertions.assertEquals("verdirbt", terms.get(0).getMatch());
+        Assertions.assertEquals(1, terms.get(0).getCount());
+
+        terms = converter.getSearchTerms(AbstractSearchParser.getAutoSuggestRegex(Pattern.quote("Hollyw")), words, Collections.emptyList());
+        Assertions.assertEquals(1, terms.size());
+        Assertions.assertEquals(9, terms.get(0).getCount());
+    }
+
     /**
      * Test method for
      * {@link io.goobi.viewer.model.iiif.search.SearchResultConverter#getAnnotationsFromFulltext(java.lang.String, java.lang.String, java.lang.Integer, java.lang.String, long, int, int)}.
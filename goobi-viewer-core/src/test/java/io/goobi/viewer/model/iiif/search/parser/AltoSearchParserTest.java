@@ -38,6 +38,7 @@ import de.intranda.digiverso.ocr.alto.model.structureclasses.lineelements.Space;
 import de.intranda.digiverso.ocr.alto.model.structureclasses.lineelements.Word;
 import de.intranda.digiverso.ocr.alto.model.structureclasses.logical.AltoDocument;
 import de.intranda.digiverso.ocr.alto.utils.AltoCoords;
+import io.goobi.viewer.controller.model.alto.AltoWordIndex;
 
 /**
  * @author florian
@@ -167,6 +168,22 @@ class AltoSearchParserTest {
         Assertions.assertEquals(2, hits.get(1).size());
     }
 
+    /**
+     * @see AltoSearchParser#findWordMatches(AltoWordIndex, String)
+     * @verifies return word ranges of consecutive matches
+     */
+    @Test
+    void findWordMatches_shouldReturnWordRangesOfConsecutiveMatches() throws Exception {
+        String regex = AltoSearchParser.getQueryRegex("diese* schönste*");
+        AltoWordIndex words = AltoWordIndex.build(doc);
+        List<int[]> hits = parser.findWordMatches(words, regex);
+
+        Assertions.assertEquals(6, hits.size());
+        Assertions.assertEquals(hits.get(0)[0], hits.get(0)[1]);
+        Assertions.assertEquals(hits.get(1)[0] + 1, hits.get(1)[1]);
+        Assertions.assertTrue(words.getSubsContent(hits.get(1)[0]).toLowerCase().startsWith("diese"));
+    }
+
     /**
      * @verifies return collection with 6 elements
      */
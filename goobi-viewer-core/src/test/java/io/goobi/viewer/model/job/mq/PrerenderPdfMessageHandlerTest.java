@@ -22,13 +22,16 @@
 package io.goobi.viewer.model.job.mq;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.AfterEach;
@@ -67,7 +70,7 @@ class PrerenderPdfMessageHandlerTest {
         ProcessDataResolver processDataResolver = Mockito.mock(ProcessDataResolver.class);
         Mockito.when(processDataResolver.getDataFolders(pi, "media", "pdf", "alto")).thenReturn(Map.of("media", imageFolder, "pdf", pdfFolder));
 
-        PrerenderPdfMessageHandler handler = new PrerenderPdfMessageHandler(processDataResolver, contentServerConfig);
+        PrerenderPdfMessageHandler handler = new PrerenderPdfMessageHandler(processDataResolver, contentServerConfig, 4);
 
         ViewerMessage ticket = new ViewerMessage(TaskType.PRERENDER_PDF.name());
         ticket.getProperties().put("pi", pi);
@@ -78,9 +81,63 @@ class PrerenderPdfMessageHandlerTest {
         List<Path> pdfFiles = FileTools.listFiles(pdfFolder, FileTools.PDF_NAME_FILTER);
 
         assertEquals(imageFiles.size(), pdfFiles.size());
+        assertEquals("17/17", ticket.getProperties().get(ViewerMessage.MESSAGE_PROPERTY_PROGRESS));
 
     }
 
+    /**
+     * @verifies skip up to date pages
+     */
+    @Test
+    void call_shouldSkipUpToDatePages() throws PresentationException, IndexUnreachableException, IOException {
+        ContentServerConfiguration contentServerConfig = ContentServerConfiguration.getInstance(contentServerConfigPath.toString());
+        ProcessDataResolver processDataResolver = Mockito.mock(ProcessDataResolver.class);
+        Mockito.when(processDataResolver.getDataFolders(pi, "media", "pdf", "alto")).thenReturn(Map.of("media", imageFolder, "pdf", pdfFolder));
+        PrerenderPdfMessageHandler handler = new PrerenderPdfMessageHandler(processDataResolver, contentServerConfig, 2);
+
+        ViewerMessage ticket = new ViewerMessage(TaskType.PRERENDER_PDF.name());
+        ticket.getProperties().put("pi", pi);
+        ticket.getProperties().put("variant", "small");
+        assertEquals(MessageStatus.FINISH, handler.call(ticket, null));
+        List<Path> pdfFiles = FileTools.listFiles(pdfFolder, FileTools.PDF_NAME_FILTER);
+        assertEquals(17, pdfFiles.size());
+
+        // Second run without force must not touch the existing files
+        FileTime lastModified = Files.getLastModifiedTime(pdfFiles.get(0));
+        assertEquals(MessageStatus.FINISH, handler.call(ticket, null));
+        assertEquals(lastModified, Files.getLastModifiedTime(pdfFiles.get(0)));
+        assertEquals("17/17", ticket.getProperties().get(ViewerMessage.MESSAGE_PROPERTY_PROGRESS));
+    }
+
+    /**
+     * @verifies limit threads to available processors
+     */
+    @Test
+    void getThreads_shouldLimitThreadsToAvailableProcessors() {
+        PrerenderPdfMessageHandler handler = new PrerenderPdfMessageHandler(null, null, Integer.MAX_VALUE);
+        assertEquals(Runtime.getRuntime().availableProcessors(), handler.getThreads());
+        assertEquals(1, new PrerenderPdfMessageHandler(null, null, 1).getThreads());
+    }
+
+    /**
+     * @see PrerenderPdfMessageHandler#createPdfFile(Path,Path,Map)
+     * @verifies not leave partial file on failure
+     */
+    @Test
+    void createPdfFile_shouldNotLeavePartialFileOnFailure() throws IOException {
+        Files.createDirectories(pdfFolder);
+        ContentServerConfiguration contentServerConfig = ContentServerConfiguration.getInstance(contentServerConfigPath.toString());
+        PrerenderPdfMessageHandler handler = new PrerenderPdfMessageHandler(null, contentServerConfig, 1);
+        Path imagePath = imageFolder.resolve("missing.jpg");
+        Map<String, String> params = Map.of("config", "small", "ignoreCache", "true", "altoSource", "", "imageSource",
+                imageFolder.toUri().toString());
+
+        assertThrows(Exception.class, () -> handler.createPdfFile(imagePath, pdfFolder.resolve("missing.pdf"), params));
+        try (Stream<Path> files = Files.list(pdfFolder)) {
+            assertEquals(0, files.count());
+        }
+    }
+
     @AfterEach
     void cleanup() throws IOException {
         FileUtils.deleteDirectory(pdfFolder.toFile());
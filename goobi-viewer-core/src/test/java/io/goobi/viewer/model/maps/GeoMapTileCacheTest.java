@@ -0,0 +1,91 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.model.maps.GeoMapTileCache.TileKey;
+
+class GeoMapTileCacheTest {
+
+    private static TileKey createKey(String filterQuery, int x) {
+        return new TileKey("WKT_COORDS", "+DC:maps", filterQuery, new GeoMapTile(3, x, 2));
+    }
+
+    /**
+     * @see GeoMapTileCache#get(TileKey)
+     * @verifies return put tile
+     */
+    @Test
+    void get_shouldReturnPutTile() {
+        GeoMapTileCache cache = new GeoMapTileCache();
+        cache.put(createKey("+ACCESSCONDITION:OPENACCESS", 1), "{\"features\":[]}");
+        assertEquals("{\"features\":[]}", cache.get(createKey("+ACCESSCONDITION:OPENACCESS", 1)));
+        assertNull(cache.get(createKey("+ACCESSCONDITION:OPENACCESS", 2)));
+    }
+
+    /**
+     * @see GeoMapTileCache#get(TileKey)
+     * @verifies return null for different filter query
+     */
+    @Test
+    void get_shouldReturnNullForDifferentFilterQuery() {
+        GeoMapTileCache cache = new GeoMapTileCache();
+        cache.put(createKey("+ACCESSCONDITION:OPENACCESS", 1), "{\"features\":[]}");
+        assertNull(cache.get(createKey("", 1)));
+    }
+
+    /**
+     * @see GeoMapTileCache#put(TileKey,String)
+     * @verifies evict least recently used tile when full
+     */
+    @Test
+    void put_shouldEvictLeastRecentlyUsedTileWhenFull() {
+        GeoMapTileCache cache = new GeoMapTileCache(2);
+        cache.put(createKey("", 0), "0");
+        cache.put(createKey("", 1), "1");
+        // Access tile 0 so that tile 1 becomes the least recently used one
+        assertEquals("0", cache.get(createKey("", 0)));
+        cache.put(createKey("", 2), "2");
+        assertEquals(2, cache.getSize());
+        assertEquals("0", cache.get(createKey("", 0)));
+        assertNull(cache.get(createKey("", 1)));
+        assertEquals("2", cache.get(createKey("", 2)));
+    }
+
+    /**
+     * @see GeoMapTileCache#invalidate()
+     * @verifies remove all tiles
+     */
+    @Test
+    void invalidate_shouldRemoveAllTiles() {
+        GeoMapTileCache cache = new GeoMapTileCache();
+        cache.put(createKey("", 0), "0");
+        cache.put(createKey("", 1), "1");
+        cache.invalidate();
+        assertEquals(0, cache.getSize());
+        assertNull(cache.get(createKey("", 0)));
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.maps;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+class GeoMapTileTest {
+
+    /**
+     * @see GeoMapTile#GeoMapTile(int,int,int)
+     * @verifies throw IllegalArgumentException if zoom out of range
+     */
+    @Test
+    void GeoMapTile_shouldThrowIllegalArgumentExceptionIfZoomOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new GeoMapTile(-1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GeoMapTile(GeoMapTile.MAX_ZOOM + 1, 0, 0));
+    }
+
+    /**
+     * @see GeoMapTile#GeoMapTile(int,int,int)
+     * @verifies throw IllegalArgumentException if x or y out of range
+     */
+    @Test
+    void GeoMapTile_shouldThrowIllegalArgumentExceptionIfXOrYOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> new GeoMapTile(2, 4, 0));
+        assertThrows(IllegalArgumentException.class, () -> new GeoMapTile(2, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new GeoMapTile(2, -1, 0));
+    }
+
+    /**
+     * @see GeoMapTile#getWktRegion()
+     * @verifies return whole world for zoom 0
+     */
+    @Test
+    void getWktRegion_shouldReturnWholeWorldForZoom0() {
+        assertEquals("[\"-180.000000 -85.051129\" TO \"180.000000 85.051129\"]", new GeoMapTile(0, 0, 0).getWktRegion());
+    }
+
+    /**
+     * @see GeoMapTile#getWktRegion()
+     * @verifies return correct region
+     */
+    @Test
+    void getWktRegion_shouldReturnCorrectRegion() {
+        // North-eastern quarter of the world
+        assertEquals("[\"0.000000 0.000000\" TO \"180.000000 85.051129\"]", new GeoMapTile(1, 1, 0).getWktRegion());
+    }
+
+    /**
+     * @see GeoMapTile#createClusters(List,int,int,double,double,double,double)
+     * @verifies create one feature per non empty cell
+     */
+    @Test
+    void createClusters_shouldCreateOneFeaturePerNonEmptyCell() {
+        GeoMapTile tile = new GeoMapTile(1, 1, 0);
+        List<List<Integer>> grid = Arrays.asList(Arrays.asList(3, 0), null, Arrays.asList(0, 5));
+        JSONObject json = new JSONObject(tile.createClusters(grid, 2, 3, 0, 180, 0, 84));
+
+        assertEquals("FeatureCollection", json.getString("type"));
+        JSONArray features = json.getJSONArray("features");
+        assertEquals(2, features.length());
+        JSONObject first = features.getJSONObject(0);
+        assertEquals(3, first.getJSONObject("properties").getInt("count"));
+        JSONArray coordinates = first.getJSONObject("geometry").getJSONArray("coordinates");
+        assertEquals(45.0, coordinates.getDouble(0), 0.0001);
+        assertEquals(70.0, coordinates.getDouble(1), 0.0001);
+        assertEquals(5, features.getJSONObject(1).getJSONObject("properties").getInt("count"));
+    }
+
+    /**
+     * @see GeoMapTile#createClusters(List,int,int,double,double,double,double)
+     * @verifies add cell bounds to features
+     */
+    @Test
+    void createClusters_shouldAddCellBoundsToFeatures() {
+        GeoMapTile tile = new GeoMapTile(1, 1, 0);
+        List<List<Integer>> grid = Arrays.asList(Arrays.asList(3, 0), null, null);
+        JSONObject json = new JSONObject(tile.createClusters(grid, 2, 3, 0, 180, 0, 84));
+
+        // West, south, east, north of the north-western cell
+        JSONArray bbox = json.getJSONArray("features").getJSONObject(0).getJSONArray("bbox");
+        assertEquals(0.0, bbox.getDouble(0), 0.0001);
+        assertEquals(56.0, bbox.getDouble(1), 0.0001);
+        assertEquals(90.0, bbox.getDouble(2), 0.0001);
+        assertEquals(84.0, bbox.getDouble(3), 0.0001);
+    }
+
+    /**
+     * @see GeoMapTile#createClusters(List,int,int,double,double,double,double)
+     * @verifies skip cells outside of tile
+     */
+    @Test
+    void createClusters_shouldSkipCellsOutsideOfTile() {
+        GeoMapTile tile = new GeoMapTile(1, 1, 0);
+        // Grid extends to the west of the tile; only the eastern column belongs to it
+        List<List<Integer>> grid = List.of(List.of(7, 2));
+        JSONObject json = new JSONObject(tile.createClusters(grid, 2, 1, -180, 180, 0, 80));
+
+        JSONArray features = json.getJSONArray("features");
+        assertEquals(1, features.length());
+        assertEquals(2, features.getJSONObject(0).getJSONObject("properties").getInt("count"));
+    }
+
+    /**
+     * @see GeoMapTile#createClusters(List,int,int,double,double,double,double)
+     * @verifies return empty collection for null grid
+     */
+    @Test
+    void createClusters_shouldReturnEmptyCollectionForNullGrid() {
+        JSONObject json = new JSONObject(new GeoMapTile(0, 0, 0).createClusters(null, 0, 0, 0, 0, 0, 0));
+        assertEquals(0, json.getJSONArray("features").length());
+    }
+}
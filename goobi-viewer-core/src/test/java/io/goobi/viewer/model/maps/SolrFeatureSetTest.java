@@ -25,4 +25,28 @@ class SolrFeatureSetTest extends AbstractDatabaseAndSolrEnabledTest {
         Assertions.assertFalse(features.isEmpty());
     }
 
+    /**
+     * @verifies return true if heatmap is used
+     * @see SolrFeatureSet#isLoadFeaturesFromTiles()
+     */
+    @Test
+    void isLoadFeaturesFromTiles_shouldReturnTrueIfHeatmapIsUsed() {
+        SolrFeatureSet featureSet = new SolrFeatureSet();
+        featureSet.setSolrQuery("PI_TOPSTRUCT:AC03111335");
+        featureSet.setUseHeatmap(true);
+        Assertions.assertTrue(featureSet.isLoadFeaturesFromTiles());
+    }
+
+    /**
+     * @verifies return false if query matches few documents
+     * @see SolrFeatureSet#isLoadFeaturesFromTiles()
+     */
+    @Test
+    void isLoadFeaturesFromTiles_shouldReturnFalseIfQueryMatchesFewDocuments() {
+        SolrFeatureSet featureSet = new SolrFeatureSet();
+        featureSet.setSolrQuery("PI_TOPSTRUCT:AC03111335");
+        featureSet.setUseHeatmap(false);
+        Assertions.assertFalse(featureSet.isLoadFeaturesFromTiles());
+    }
+
 }
@@ -92,4 +92,26 @@ class RSSFeedTest extends AbstractDatabaseAndSolrEnabledTest {
             Assertions.assertNotNull(item.getTitle());
         }
     }
+
+    /**
+     * @see RSSFeed#buildEtag(long,List)
+     * @verifies return same tag for same entries
+     */
+    @Test
+    void buildEtag_shouldReturnSameTagForSameEntries() {
+        Assertions.assertEquals(RSSFeed.buildEtag(1000L, List.of("https://example.com/a", "https://example.com/b")),
+                RSSFeed.buildEtag(1000L, List.of("https://example.com/a", "https://example.com/b")));
+    }
+
+    /**
+     * @see RSSFeed#buildEtag(long,List)
+     * @verifies return different tag for different entries
+     */
+    @Test
+    void buildEtag_shouldReturnDifferentTagForDifferentEntries() {
+        String etag = RSSFeed.buildEtag(1000L, List.of("https://example.com/a", "https://example.com/b"));
+        Assertions.assertNotEquals(etag, RSSFeed.buildEtag(1000L, List.of("https://example.com/a")));
+        Assertions.assertNotEquals(etag, RSSFeed.buildEtag(2000L, List.of("https://example.com/a", "https://example.com/b")));
+        Assertions.assertNotEquals(etag, RSSFeed.buildEtag(1000L, List.of("https://example.com/b", "https://example.com/a")));
+    }
 }
@@ -0,0 +1,123 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.rss;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.model.rss.RssFeedCache.CachedFeed;
+import io.goobi.viewer.model.rss.RssFeedCache.FeedKey;
+
+class RssFeedCacheTest {
+
+    private static FeedKey createKey(String query) {
+        return new FeedKey("xml", "https://example.com/viewer", query, Collections.emptyList(), "en", 10, null, true);
+    }
+
+    /**
+     * @see RssFeedCache#get(FeedKey)
+     * @verifies return put feed
+     */
+    @Test
+    void get_shouldReturnPutFeed() {
+        RssFeedCache cache = new RssFeedCache(60000);
+        cache.put(createKey("+ISWORK:true"), "<rss/>", 1000L, "etag");
+        CachedFeed cached = cache.get(createKey("+ISWORK:true"));
+        assertNotNull(cached);
+        assertEquals("<rss/>", cached.feed());
+        assertEquals(1000L, cached.lastModified());
+        assertEquals("etag", cached.etag());
+    }
+
+    /**
+     * @see RssFeedCache#get(FeedKey)
+     * @verifies return null for different key
+     */
+    @Test
+    void get_shouldReturnNullForDifferentKey() {
+        RssFeedCache cache = new RssFeedCache(60000);
+        cache.put(createKey("+ISWORK:true"), "<rss/>", 1000L, "etag");
+        assertNull(cache.get(createKey("+ISWORK:true +ACCESSCONDITION:OPENACCESS")));
+        assertNull(cache.get(new FeedKey("channel", "https://example.com/viewer", "+ISWORK:true", Collections.emptyList(), "en", 10, null, true)));
+    }
+
+    /**
+     * @see RssFeedCache#get(FeedKey)
+     * @verifies return null after ttl expired
+     */
+    @Test
+    void get_shouldReturnNullAfterTtlExpired() throws Exception {
+        RssFeedCache cache = new RssFeedCache(1);
+        cache.put(createKey("+ISWORK:true"), "<rss/>", 1000L, "etag");
+        Thread.sleep(5);
+        assertNull(cache.get(createKey("+ISWORK:true")));
+    }
+
+    /**
+     * @see RssFeedCache#put(FeedKey,Object,long,String)
+     * @verifies not cache if ttl is zero
+     */
+    @Test
+    void put_shouldNotCacheIfTtlIsZero() {
+        RssFeedCache cache = new RssFeedCache(0);
+        CachedFeed cached = cache.put(createKey("+ISWORK:true"), "<rss/>", 1000L, "etag");
+        assertEquals("<rss/>", cached.feed());
+        assertEquals(0, cache.getSize());
+        assertNull(cache.get(createKey("+ISWORK:true")));
+    }
+
+    /**
+     * @see RssFeedCache#put(FeedKey,Object,long,String)
+     * @verifies drop all feeds when full
+     */
+    @Test
+    void put_shouldDropAllFeedsWhenFull() {
+        RssFeedCache cache = new RssFeedCache(60000);
+        for (int i = 0; i < RssFeedCache.MAX_FEEDS; ++i) {
+            cache.put(createKey("PI:" + i), "<rss/>", 0, "etag");
+        }
+        assertEquals(RssFeedCache.MAX_FEEDS, cache.getSize());
+        CachedFeed cached = cache.put(createKey("PI:new"), "<rss/>", 0, "etag");
+        assertEquals(1, cache.getSize());
+        assertSame(cached, cache.get(createKey("PI:new")));
+    }
+
+    /**
+     * @see RssFeedCache#invalidate()
+     * @verifies remove all feeds
+     */
+    @Test
+    void invalidate_shouldRemoveAllFeeds() {
+        RssFeedCache cache = new RssFeedCache(60000);
+        cache.put(createKey("PI:1"), "<rss/>", 0, "etag");
+        cache.put(createKey("PI:2"), "<rss/>", 0, "etag");
+        cache.invalidate();
+        assertEquals(0, cache.getSize());
+        assertNull(cache.get(createKey("PI:1")));
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.model.search.AutocompleteSuggester.Suggestions;
+
+class AutocompleteSuggesterTest {
+
+    private static Suggestions createSuggestions(String... terms) {
+        List<String> termList = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        for (int i = 0; i < terms.length; ++i) {
+            termList.add(terms[i]);
+            // Earlier terms are more frequent
+            counts.add((long) (terms.length - i));
+        }
+        return Suggestions.create(termList, counts, false, System.currentTimeMillis());
+    }
+
+    /**
+     * @see AutocompleteSuggester#suggest(String,String)
+     * @verifies return null until partition loaded
+     */
+    @Test
+    void suggest_shouldReturnNullUntilPartitionLoaded() {
+        List<Runnable> queue = new ArrayList<>();
+        AutocompleteSuggester suggester = new AutocompleteSuggester(queue::add, suffix -> createSuggestions("goobi"), 0);
+        assertNull(suggester.suggest("go", " +ACCESSCONDITION:OPENACCESS"));
+        // Repeated lookups do not schedule the same partition twice
+        assertNull(suggester.suggest("go", " +ACCESSCONDITION:OPENACCESS"));
+        assertEquals(1, queue.size());
+        queue.get(0).run();
+        assertEquals(List.of("goobi"), suggester.suggest("go", " +ACCESSCONDITION:OPENACCESS"));
+    }
+
+    /**
+     * @see AutocompleteSuggester#suggest(String,String)
+     * @verifies return suggestions from loaded partition
+     */
+    @Test
+    void suggest_shouldReturnSuggestionsFromLoadedPartition() {
+        AutocompleteSuggester suggester = new AutocompleteSuggester(Runnable::run,
+                suffix -> suffix.isEmpty() ? createSuggestions("Goobi", "viewer") : createSuggestions("intranda"), 0);
+        suggester.suggest("", "");
+        suggester.suggest("", " +ACCESSCONDITION:OPENACCESS");
+        assertEquals(List.of("Goobi"), suggester.suggest("goo", ""));
+        assertTrue(suggester.suggest("goo", " +ACCESSCONDITION:OPENACCESS").isEmpty());
+        assertEquals(List.of("intranda"), suggester.suggest("in", " +ACCESSCONDITION:OPENACCESS"));
+    }
+
+    /**
+     * @see AutocompleteSuggester#suggest(String,String)
+     * @verifies return null for outdated partition until reloaded
+     */
+    @Test
+    void suggest_shouldReturnNullForOutdatedPartitionUntilReloaded() throws Exception {
+        List<Runnable> queue = new ArrayList<>();
+        AtomicInteger loads = new AtomicInteger();
+        AutocompleteSuggester suggester = new AutocompleteSuggester(queue::add,
+                suffix -> loads.incrementAndGet() == 1 ? createSuggestions("goobi") : createSuggestions("goobi", "gothic"), 0);
+        suggester.suggest("go", "");
+        queue.remove(0).run();
+        assertEquals(List.of("goobi"), suggester.suggest("go", ""));
+        suggester.invalidate();
+        assertNull(suggester.suggest("go", ""));
+        assertNull(suggester.suggest("go", ""));
+        assertEquals(1, queue.size());
+        // Partitions loaded within the millisecond of the invalidation still count as outdated
+        Thread.sleep(2);
+        queue.remove(0).run();
+        assertEquals(List.of("goobi", "gothic"), suggester.suggest("go", ""));
+    }
+
+    /**
+     * @see AutocompleteSuggester#suggest(String,String)
+     * @verifies return null if truncated partition has fewer matches than max suggestions
+     */
+    @Test
+    void suggest_shouldReturnNullIfTruncatedPartitionHasFewerMatchesThanMaxSuggestions() {
+        List<String> terms = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        for (int i = 0; i < AutocompleteSuggester.MAX_SUGGESTIONS; ++i) {
+            terms.add("goobi" + i);
+            counts.add(1L);
+        }
+        terms.add("viewer");
+        counts.add(1L);
+        Suggestions truncated = Suggestions.create(terms, counts, true, System.currentTimeMillis());
+        AutocompleteSuggester suggester = new AutocompleteSuggester(Runnable::run, suffix -> truncated, 60000);
+        suggester.suggest("", "");
+        // Enough matches for a complete answer
+        assertEquals(AutocompleteSuggester.MAX_SUGGESTIONS, suggester.suggest("goo", "").size());
+        // A less frequent term starting with "vie" may have been left out
+        assertNull(suggester.suggest("vie", ""));
+        assertNull(suggester.suggest("x", ""));
+
+        // Complete partitions answer any lookup
+        AutocompleteSuggester complete = new AutocompleteSuggester(Runnable::run, suffix -> createSuggestions("viewer"), 60000);
+        complete.suggest("", "");
+        assertEquals(List.of("viewer"), complete.suggest("vie", ""));
+    }
+
+    /**
+     * @see AutocompleteSuggester#suggest(String,String)
+     * @verifies evict least recently used partition
+     */
+    @Test
+    void suggest_shouldEvictLeastRecentlyUsedPartition() {
+        AutocompleteSuggester suggester = new AutocompleteSuggester(Runnable::run, suffix -> createSuggestions("goobi"), 60000);
+        for (int i = 0; i < AutocompleteSuggester.MAX_PARTITIONS; ++i) {
+            suggester.suggest("go", " -DOCTYPE:" + i);
+        }
+        // Use the first partition so that the second one becomes the least recently used
+        assertEquals(List.of("goobi"), suggester.suggest("go", " -DOCTYPE:0"));
+
+        suggester.suggest("go", " -DOCTYPE:new");
+        assertEquals(AutocompleteSuggester.MAX_PARTITIONS, suggester.getPartitionCount());
+        assertEquals(List.of("goobi"), suggester.suggest("go", " -DOCTYPE:new"));
+        assertEquals(List.of("goobi"), suggester.suggest("go", " -DOCTYPE:0"));
+        // Evicted partition is reloaded on its next use
+        assertNull(suggester.suggest("go", " -DOCTYPE:1"));
+        assertEquals(List.of("goobi"), suggester.suggest("go", " -DOCTYPE:1"));
+    }
+
+    /**
+     * @see AutocompleteSuggester#invalidate()
+     * @verifies mark partitions as outdated
+     */
+    @Test
+    void invalidate_shouldMarkPartitionsAsOutdated() {
+        AtomicInteger loads = new AtomicInteger();
+        AutocompleteSuggester suggester = new AutocompleteSuggester(Runnable::run, suffix -> {
+            loads.incrementAndGet();
+            return createSuggestions("goobi");
+        }, 0);
+        suggester.suggest("go", "");
+        suggester.suggest("go", "");
+        assertEquals(1, loads.get());
+        suggester.invalidate();
+        suggester.suggest("go", "");
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * @see AutocompleteSuggester.Suggestions#lookup(String,int)
+     * @verifies return terms with prefix ordered by frequency
+     */
+    @Test
+    void lookup_shouldReturnTermsWithPrefixOrderedByFrequency() {
+        Suggestions suggestions = createSuggestions("Berlin", "bern", "Bonn", "berlin", "Beryll");
+        assertEquals(List.of("Berlin", "bern", "berlin", "Beryll"), suggestions.lookup("ber", 10));
+    }
+
+    /**
+     * @see AutocompleteSuggester.Suggestions#lookup(String,int)
+     * @verifies respect max
+     */
+    @Test
+    void lookup_shouldRespectMax() {
+        Suggestions suggestions = createSuggestions("aa", "ab", "ac", "ad");
+        assertEquals(List.of("aa", "ab"), suggestions.lookup("a", 2));
+    }
+
+    /**
+     * @see AutocompleteSuggester.Suggestions#lookup(String,int)
+     * @verifies return empty list if no term matches
+     */
+    @Test
+    void lookup_shouldReturnEmptyListIfNoTermMatches() {
+        Suggestions suggestions = createSuggestions("aa", "ab");
+        assertTrue(suggestions.lookup("b", 10).isEmpty());
+        assertTrue(createSuggestions().lookup("a", 10).isEmpty());
+    }
+}
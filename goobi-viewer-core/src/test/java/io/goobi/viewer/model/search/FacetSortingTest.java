@@ -21,6 +21,12 @@
  */
 package io.goobi.viewer.model.search;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TreeMap;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Assertions;
@@ -30,6 +36,7 @@ import org.junit.jupiter.api.Test;
 
 import io.goobi.viewer.AbstractTest;
 import io.goobi.viewer.controller.sorting.AlphabeticComparator;
+import io.goobi.viewer.controller.sorting.AlphanumComparator;
 import io.goobi.viewer.controller.sorting.NumericComparator;
 
 class FacetSortingTest extends AbstractTest {
@@ -40,6 +47,122 @@ class FacetSortingTest extends AbstractTest {
         super.setUp();
     }
 
+    /**
+     * @see FacetSorting#getSortingMap(String,String,Locale)
+     * @verifies sort alphabetically ignoring case and accents
+     */
+    @Test
+    void getSortingMap_shouldSortAlphabeticallyIgnoringCaseAndAccents() {
+        FacetSorting.SortingMap<String, Long> map = FacetSorting.getSortingMap("MD_FOO", "alphabetical", Locale.GERMAN);
+        map.put("c", 1L);
+        map.put("Ä", 2L);
+        map.put("b", 3L);
+        Assertions.assertEquals(List.of("Ä", "b", "c"), new ArrayList<>(map.getMap().keySet()));
+
+        FacetSorting.SortingMap<String, Long> descMap = FacetSorting.getSortingMap("MD_FOO", "alphabetical_desc", Locale.GERMAN);
+        descMap.put("Ä", 2L);
+        descMap.put("c", 1L);
+        descMap.put("b", 3L);
+        Assertions.assertEquals(List.of("c", "b", "Ä"), new ArrayList<>(descMap.getMap().keySet()));
+    }
+
+    /**
+     * @see FacetSorting#getSortingMap(String,String,Locale)
+     * @verifies sort alphanumerically
+     */
+    @Test
+    void getSortingMap_shouldSortAlphanumerically() {
+        FacetSorting.SortingMap<String, Long> map = FacetSorting.getSortingMap("MD_FOO", "alphanumerical", Locale.GERMAN);
+        map.put("item10", 1L);
+        map.put("item2", 1L);
+        map.put("item1", 1L);
+        Assertions.assertEquals(List.of("item1", "item2", "item10"), new ArrayList<>(map.getMap().keySet()));
+    }
+
+    /**
+     * @see FacetSorting#getSortingMap(String,String,Locale)
+     * @verifies keep values that compare equal
+     */
+    @Test
+    void getSortingMap_shouldKeepValuesThatCompareEqual() {
+        FacetSorting.SortingMap<String, Long> map = FacetSorting.getSortingMap("MD_FOO", "alphabetical", Locale.GERMAN);
+        map.put("a", 1L);
+        map.put("A", 2L);
+        Assertions.assertEquals(2, map.getMap().size());
+        Assertions.assertEquals(2L, map.getMap().get("A"));
+    }
+
+    /**
+     * @see FacetSorting#getSortingMap(String,String,Locale)
+     * @verifies not merge values that only differ in case unlike a sorted map
+     */
+    @Test
+    void getSortingMap_shouldNotMergeValuesThatOnlyDifferInCaseUnlikeASortedMap() {
+        // Before: facets were collected in a TreeMap ordered by the primary strength comparator, which kept the first key and the last count
+        TreeMap<String, Long> before = new TreeMap<>(new AlphabeticComparator<String>("MD_FOO", Locale.GERMAN, Function.identity()));
+        before.put("a", 1L);
+        before.put("A", 2L);
+        Assertions.assertEquals(List.of("a"), new ArrayList<>(before.keySet()));
+        Assertions.assertEquals(2L, before.get("a"));
+
+        // After: both values are kept with their own counts, in insertion order
+        FacetSorting.SortingMap<String, Long> after = FacetSorting.getSortingMap("MD_FOO", "alphabetical", Locale.GERMAN);
+        after.put("a", 1L);
+        after.put("A", 2L);
+        Assertions.assertEquals(List.of("a", "A"), new ArrayList<>(after.getMap().keySet()));
+        Assertions.assertEquals(1L, after.getMap().get("a"));
+        Assertions.assertEquals(2L, after.getMap().get("A"));
+    }
+
+    /**
+     * @see FacetSorting#getSortingMap(String,String,Locale)
+     * @verifies keep insertion order for count
+     */
+    @Test
+    void getSortingMap_shouldKeepInsertionOrderForCount() {
+        FacetSorting.SortingMap<String, Long> map = FacetSorting.getSortingMap("MD_FOO", "count", Locale.GERMAN);
+        map.put("b", 5L);
+        map.put("a", 3L);
+        map.merge("b", 1L, Long::sum);
+        Assertions.assertEquals(List.of("b", "a"), new ArrayList<>(map.getMap().keySet()));
+        Assertions.assertEquals(6L, map.getMap().get("b"));
+    }
+
+    /**
+     * Compares the order of a realistically sized facet with the order of the comparators used by the previous sorted map implementation.
+     */
+    @Test
+    void getSortingMap_shouldSortLargeFacetsLikeComparators() {
+        Random random = new Random(42);
+        String chars = "abcdefghijklmnopqrstuvwxyzäöüéÁ0123456789 -";
+        List<String> values = new ArrayList<>(5000);
+        for (int i = 0; i < 5000; ++i) {
+            StringBuilder sb = new StringBuilder();
+            int length = 1 + random.nextInt(20);
+            for (int j = 0; j < length; ++j) {
+                char c = chars.charAt(random.nextInt(chars.length()));
+                sb.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+            }
+            values.add(sb.toString());
+        }
+
+        FacetSorting.SortingMap<String, Long> alphabetical = FacetSorting.getSortingMap("MD_FOO", "alphabetical", Locale.GERMAN);
+        FacetSorting.SortingMap<String, Long> alphanumerical = FacetSorting.getSortingMap("MD_FOO", "alphanumerical", Locale.GERMAN);
+        for (String value : values) {
+            alphabetical.put(value, 1L);
+            alphanumerical.put(value, 1L);
+        }
+
+        List<String> expected = new ArrayList<>(alphabetical.getMap().size());
+        expected.addAll(new LinkedHashSet<>(values));
+        expected.sort(new AlphabeticComparator<String>("MD_FOO", Locale.GERMAN, Function.identity()));
+        Assertions.assertEquals(expected, new ArrayList<>(alphabetical.getMap().keySet()));
+
+        expected = new ArrayList<>(new LinkedHashSet<>(values));
+        expected.sort(new AlphanumComparator<String>("MD_FOO", Locale.GERMAN, Function.identity()));
+        Assertions.assertEquals(expected, new ArrayList<>(alphanumerical.getMap().keySet()));
+    }
+
     @Nested
     class AlphabeticComparatorTest extends AbstractTest {
 
@@ -211,6 +211,27 @@ class SearchHelperTest extends AbstractDatabaseAndSolrEnabledTest {
                 suffix);
     }
 
+    /**
+     * @see SearchHelper#getPersonalFilterQuerySuffix(User,String,Optional,String)
+     * @verifies return same suffix as uncached evaluation
+     */
+    @Test
+    void getPersonalFilterQuerySuffix_shouldReturnSameSuffixAsUncachedEvaluation() throws Exception {
+        String expected = SearchHelper.getPersonalFilterQuerySuffix(DataManager.getInstance().getDao().getRecordLicenseTypes(), null, null,
+                Optional.empty(), IPrivilegeHolder.PRIV_LIST);
+        DataManager.getInstance().getConfiguration().overrideValue("accessConditions.permissionCache[@enabled]", true);
+        DataManager.getInstance().getAccessPermissionCache().invalidate();
+        try {
+            String first = SearchHelper.getPersonalFilterQuerySuffix(null, null, Optional.empty(), IPrivilegeHolder.PRIV_LIST);
+            Assertions.assertEquals(expected, first);
+            // Second call is served from the shared cache
+            Assertions.assertSame(first, SearchHelper.getPersonalFilterQuerySuffix(null, null, Optional.empty(), IPrivilegeHolder.PRIV_LIST));
+        } finally {
+            DataManager.getInstance().getConfiguration().overrideValue("accessConditions.permissionCache[@enabled]", false);
+            DataManager.getInstance().getAccessPermissionCache().invalidate();
+        }
+    }
+
     /**
      * @verifies add overridden license types from user privilege
      */
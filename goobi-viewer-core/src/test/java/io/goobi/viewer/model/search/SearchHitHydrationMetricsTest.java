@@ -0,0 +1,72 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SearchHitHydrationMetricsTest {
+
+    /**
+     * @see SearchHitHydrationMetrics#record(Map)
+     * @verifies accumulate stage times
+     */
+    @Test
+    void record_shouldAccumulateStageTimes() {
+        SearchHitHydrationMetrics metrics = new SearchHitHydrationMetrics();
+        Map<String, Long> first = new LinkedHashMap<>();
+        first.put(SearchHitHydrator.STAGE_TOP_DOCS, 10L);
+        first.put(SearchHitHydrator.STAGE_PAGES, 5L);
+        metrics.record(first);
+        Map<String, Long> second = new LinkedHashMap<>();
+        second.put(SearchHitHydrator.STAGE_TOP_DOCS, 7L);
+        metrics.record(second);
+
+        assertEquals(2, metrics.getHydrationCount());
+        Map<String, Long> totals = metrics.getTotalStageMillis();
+        assertEquals(17L, totals.get(SearchHitHydrator.STAGE_TOP_DOCS));
+        assertEquals(5L, totals.get(SearchHitHydrator.STAGE_PAGES));
+        assertEquals(0L, totals.get(SearchHitHydrator.STAGE_PERMISSIONS));
+        // Stages are listed in execution order
+        assertEquals(List.of(SearchHitHydrator.STAGE_FIRST_VOLUMES, SearchHitHydrator.STAGE_TOP_DOCS, SearchHitHydrator.STAGE_DATA_REPOSITORIES,
+                SearchHitHydrator.STAGE_PAGES, SearchHitHydrator.STAGE_PERMISSIONS), List.copyOf(totals.keySet()));
+        assertEquals(second, metrics.getLastStageMillis());
+    }
+
+    /**
+     * @see SearchHitHydrationMetrics#record(Map)
+     * @verifies ignore unknown stages
+     */
+    @Test
+    void record_shouldIgnoreUnknownStages() {
+        SearchHitHydrationMetrics metrics = new SearchHitHydrationMetrics();
+        metrics.record(Map.of("unknown", 3L));
+        assertEquals(1, metrics.getHydrationCount());
+        assertFalse(metrics.getTotalStageMillis().containsKey("unknown"));
+    }
+}
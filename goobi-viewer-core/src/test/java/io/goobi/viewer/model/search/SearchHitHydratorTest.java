@@ -0,0 +1,102 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.search;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.solr.common.SolrDocument;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.AbstractDatabaseAndSolrEnabledTest;
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.model.viewer.PhysicalElement;
+import io.goobi.viewer.model.viewer.StructElement;
+import io.goobi.viewer.solr.SolrConstants;
+
+class SearchHitHydratorTest extends AbstractDatabaseAndSolrEnabledTest {
+
+    /**
+     * @see SearchHitHydrator#hydrate(java.util.Collection,io.goobi.viewer.model.security.user.User)
+     * @verifies prefetch thumbnail pages of all hits
+     */
+    @Test
+    void hydrate_shouldPrefetchThumbnailPagesOfAllHits() throws Exception {
+        SolrDocument doc = DataManager.getInstance().getSearchIndex().getDocumentByPI(PI_KLEIUNIV);
+        Assertions.assertNotNull(doc);
+        int thumbPageNo = Integer.parseInt(String.valueOf(doc.getFirstValue(SolrConstants.THUMBPAGENO)));
+
+        SearchHitHydrator hydrator = SearchHitHydrator.hydrate(List.of(doc), null);
+        PhysicalElement page = hydrator.getPage(PI_KLEIUNIV, thumbPageNo);
+        Assertions.assertNotNull(page);
+        Assertions.assertEquals(thumbPageNo, page.getOrder());
+        Assertions.assertTrue(hydrator.getStageTimes().containsKey(SearchHitHydrator.STAGE_PERMISSIONS));
+    }
+
+    /**
+     * @see SearchHitHydrator#hydrate(java.util.Collection,io.goobi.viewer.model.security.user.User)
+     * @verifies prefetch first volumes of anchors
+     */
+    @Test
+    void hydrate_shouldPrefetchFirstVolumesOfAnchors() throws Exception {
+        SolrDocument doc = DataManager.getInstance().getSearchIndex().getDocumentByPI("306653648");
+        Assertions.assertNotNull(doc);
+
+        SearchHitHydrator hydrator = SearchHitHydrator.hydrate(Collections.singletonList(doc), null);
+        StructElement se = new StructElement((String) doc.getFieldValue(SolrConstants.IDDOC), doc);
+        hydrator.seedFirstVolume(se);
+        StructElement volume = se.getFirstVolume(null);
+        Assertions.assertNotNull(volume);
+        Assertions.assertEquals("306653648_1891", volume.getPi());
+    }
+
+    /**
+     * @see SearchHitHydrator#hydrate(java.util.Collection,io.goobi.viewer.model.security.user.User)
+     * @verifies prefetch data repository names of all hits
+     */
+    @Test
+    void hydrate_shouldPrefetchDataRepositoryNamesOfAllHits() throws Exception {
+        SolrDocument doc = DataManager.getInstance().getSearchIndex().getDocumentByPI(PI_KLEIUNIV);
+        Assertions.assertNotNull(doc);
+        DataManager.getInstance().getSearchIndex().getDataRepositoryCache().invalidate();
+
+        SearchHitHydrator.hydrate(List.of(doc), null);
+        Assertions.assertTrue(DataManager.getInstance().getSearchIndex().getDataRepositoryCache().getMissing(List.of(PI_KLEIUNIV)).isEmpty());
+    }
+
+    /**
+     * @see SearchHitHydrator#hydrate(java.util.Collection,io.goobi.viewer.model.security.user.User)
+     * @verifies record stage times in application metrics
+     */
+    @Test
+    void hydrate_shouldRecordStageTimesInApplicationMetrics() throws Exception {
+        SolrDocument doc = DataManager.getInstance().getSearchIndex().getDocumentByPI(PI_KLEIUNIV);
+        Assertions.assertNotNull(doc);
+        SearchHitHydrationMetrics metrics = DataManager.getInstance().getSearchHitHydrationMetrics();
+        long hydrations = metrics.getHydrationCount();
+
+        SearchHitHydrator hydrator = SearchHitHydrator.hydrate(List.of(doc), null);
+        Assertions.assertEquals(hydrations + 1, metrics.getHydrationCount());
+        Assertions.assertEquals(hydrator.getStageTimes(), metrics.getLastStageMillis());
+    }
+}
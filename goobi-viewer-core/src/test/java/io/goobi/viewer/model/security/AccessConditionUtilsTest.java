@@ -60,6 +60,7 @@ import io.goobi.viewer.exceptions.RecordNotFoundException;
 import io.goobi.viewer.managedbeans.UserBean;
 import io.goobi.viewer.model.search.SearchHelper;
 import io.goobi.viewer.model.security.user.IpRange;
+import io.goobi.viewer.model.security.user.IpRangeMatcher;
 import io.goobi.viewer.model.security.user.User;
 import io.goobi.viewer.solr.SolrConstants;
 import jakarta.servlet.http.HttpSession;
@@ -461,6 +462,7 @@ class AccessConditionUtilsTest extends AbstractDatabaseAndSolrEnabledTest {
     }
 
     /**
+     * @see AccessConditionUtils#getApplyingLicenses(Optional,String,LicenseType,IDAO,IpRangeMatcher)
      * @verifies return empty collection for given input
      */
     @Test
@@ -480,14 +482,14 @@ class AccessConditionUtilsTest extends AbstractDatabaseAndSolrEnabledTest {
 
         IDAO dao = Mockito.mock(IDAO.class);
         Mockito.when(dao.getLicenses(licenseType)).thenReturn(Arrays.asList(license));
-        Mockito.when(dao.getAllIpRanges()).thenReturn(Arrays.asList(ipRangeMatch, ipRangeNoMatch));
+        IpRangeMatcher matcher = new IpRangeMatcher(Arrays.asList(ipRangeMatch, ipRangeNoMatch));
 
-        List<License> licenses = AccessConditionUtils.getApplyingLicenses(Optional.empty(), "192.168.0.10", licenseType, dao);
+        List<License> licenses = AccessConditionUtils.getApplyingLicenses(Optional.empty(), "192.168.0.10", licenseType, dao, matcher);
         assertFalse(licenses.isEmpty());
         assertEquals(license, licenses.get(0));
 
         license.setIpRange(ipRangeNoMatch);
-        licenses = AccessConditionUtils.getApplyingLicenses(Optional.empty(), "192.168.0.10", licenseType, dao);
+        licenses = AccessConditionUtils.getApplyingLicenses(Optional.empty(), "192.168.0.10", licenseType, dao, matcher);
         assertTrue(licenses.isEmpty());
     }
 
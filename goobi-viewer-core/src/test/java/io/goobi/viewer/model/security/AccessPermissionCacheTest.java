@@ -0,0 +1,232 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.AbstractDatabaseEnabledTest;
+import io.goobi.viewer.model.security.clients.ClientApplication;
+import io.goobi.viewer.model.security.user.User;
+
+class AccessPermissionCacheTest extends AbstractDatabaseEnabledTest {
+
+    /**
+     * @see AccessPermissionCache#get(String,String,String,String)
+     * @verifies return put value
+     */
+    @Test
+    void get_shouldReturnPutValue() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        AccessPermission permission = AccessPermission.granted();
+        cache.put("PPN123", "00000001.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", permission);
+        assertSame(permission, cache.get("PPN123", "00000001.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+        assertNull(cache.get("PPN123", "00000001.tif", IPrivilegeHolder.PRIV_DOWNLOAD_PDF, "-||"));
+        assertNull(cache.get("PPN123", "00000002.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#get(String,String,String,String)
+     * @verifies return null for different licensee
+     */
+    @Test
+    void get_shouldReturnNullForDifferentLicensee() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        cache.put("PPN123", "00000001.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.denied());
+        assertNull(cache.get("PPN123", "00000001.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "u1||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#get(String,String,String,String)
+     * @verifies return null after ttl expired
+     */
+    @Test
+    void get_shouldReturnNullAfterTtlExpired() throws Exception {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 0);
+        cache.put("PPN123", "00000001.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        Thread.sleep(5);
+        assertNull(cache.get("PPN123", "00000001.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#put(String,String,String,String,AccessPermission)
+     * @verifies evict least recently used record when full
+     */
+    @Test
+    void put_shouldEvictLeastRecentlyUsedRecordWhenFull() {
+        AccessPermissionCache cache = new AccessPermissionCache(2, 60000);
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        cache.put("PI2", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        // Touch PI1 so that PI2 becomes the eldest record
+        assertNotNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+        cache.put("PI3", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        assertEquals(2, cache.getRecordCount());
+        assertNotNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+        assertNull(cache.get("PI2", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+        assertNotNull(cache.get("PI3", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#invalidateRecord(String)
+     * @verifies remove only given record
+     */
+    @Test
+    void invalidateRecord_shouldRemoveOnlyGivenRecord() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        cache.put("PI2", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        cache.invalidateRecord("PI1");
+        assertNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+        assertNotNull(cache.get("PI2", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#invalidateUser(Long)
+     * @verifies remove only entries of given user
+     */
+    @Test
+    void invalidateUser_shouldRemoveOnlyEntriesOfGivenUser() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "u1||", AccessPermission.granted());
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "u11||", AccessPermission.granted());
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        cache.invalidateUser(1L);
+        assertNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "u1||"));
+        assertNotNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "u11||"));
+        assertNotNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#invalidateClient(Long)
+     * @verifies remove only entries of given client
+     */
+    @Test
+    void invalidateClient_shouldRemoveOnlyEntriesOfGivenClient() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||2@1.2.3.4", AccessPermission.granted());
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||3@1.2.3.4", AccessPermission.granted());
+        cache.invalidateClient(2L);
+        assertNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||2@1.2.3.4"));
+        assertNotNull(cache.get("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||3@1.2.3.4"));
+    }
+
+    /**
+     * @see AccessPermissionCache#invalidate()
+     * @verifies remove all records
+     */
+    @Test
+    void invalidate_shouldRemoveAllRecords() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        cache.put("PI1", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        cache.put("PI2", "1.tif", IPrivilegeHolder.PRIV_VIEW_IMAGES, "-||", AccessPermission.granted());
+        cache.invalidate();
+        assertEquals(0, cache.getRecordCount());
+    }
+
+    /**
+     * @see AccessPermissionCache#invalidate()
+     * @verifies remove all filter query suffixes
+     */
+    @Test
+    void invalidate_shouldRemoveAllFilterQuerySuffixes() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        cache.putFilterQuerySuffix(IPrivilegeHolder.PRIV_LIST, "-||", " +(ACCESSCONDITION:\"OPENACCESS\")");
+        cache.invalidate();
+        assertNull(cache.getFilterQuerySuffix(IPrivilegeHolder.PRIV_LIST, "-||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#getFilterQuerySuffix(String,String)
+     * @verifies return put suffix
+     */
+    @Test
+    void getFilterQuerySuffix_shouldReturnPutSuffix() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        String suffix = " +(ACCESSCONDITION:\"OPENACCESS\")";
+        cache.putFilterQuerySuffix(IPrivilegeHolder.PRIV_LIST, "u1||", suffix);
+        assertSame(suffix, cache.getFilterQuerySuffix(IPrivilegeHolder.PRIV_LIST, "u1||"));
+        assertNull(cache.getFilterQuerySuffix(IPrivilegeHolder.PRIV_LIST, "-||"));
+        cache.invalidateUser(1L);
+        assertNull(cache.getFilterQuerySuffix(IPrivilegeHolder.PRIV_LIST, "u1||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#getFilterQuerySuffix(String,String)
+     * @verifies return null for different privilege
+     */
+    @Test
+    void getFilterQuerySuffix_shouldReturnNullForDifferentPrivilege() {
+        AccessPermissionCache cache = new AccessPermissionCache(10, 60000);
+        cache.putFilterQuerySuffix(IPrivilegeHolder.PRIV_LIST, "-||", "");
+        assertNull(cache.getFilterQuerySuffix(IPrivilegeHolder.PRIV_DOWNLOAD_METADATA, "-||"));
+    }
+
+    /**
+     * @see AccessPermissionCache#buildLicenseeKey(User,String,Optional)
+     * @verifies return same key for anonymous users without address
+     */
+    @Test
+    void buildLicenseeKey_shouldReturnSameKeyForAnonymousUsersWithoutAddress() throws Exception {
+        assertEquals("-||", AccessPermissionCache.buildLicenseeKey(null, null, Optional.empty()));
+    }
+
+    /**
+     * @see AccessPermissionCache#buildLicenseeKey(User,String,Optional)
+     * @verifies include user id
+     */
+    @Test
+    void buildLicenseeKey_shouldIncludeUserId() throws Exception {
+        User user = new User();
+        user.setId(2L);
+        assertTrue(AccessPermissionCache.buildLicenseeKey(user, null, Optional.empty()).startsWith("u2|"));
+    }
+
+    /**
+     * @see AccessPermissionCache#buildLicenseeKey(User,String,Optional)
+     * @verifies return null for unsaved user
+     */
+    @Test
+    void buildLicenseeKey_shouldReturnNullForUnsavedUser() throws Exception {
+        assertNull(AccessPermissionCache.buildLicenseeKey(new User(), null, Optional.empty()));
+    }
+
+    /**
+     * @see AccessPermissionCache#buildLicenseeKey(User,String,Optional)
+     * @verifies include client address for client applications
+     */
+    @Test
+    void buildLicenseeKey_shouldIncludeClientAddressForClientApplications() throws Exception {
+        ClientApplication client = new ClientApplication("abc");
+        client.setId(5L);
+        String key = AccessPermissionCache.buildLicenseeKey(null, "1.2.3.4", Optional.of(client));
+        assertTrue(key.endsWith("|5@1.2.3.4"));
+        assertNotEquals(key, AccessPermissionCache.buildLicenseeKey(null, "1.2.3.5", Optional.of(client)));
+    }
+}
@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
@@ -89,6 +90,40 @@ class IpRangeCacheTest extends AbstractDatabaseEnabledTest {
         }
     }
 
+    /**
+     * @see IpRangeCache#getMatchingIpRanges(String)
+     * @verifies return matching IP ranges
+     */
+    @Test
+    void getMatchingIpRanges_shouldReturnMatchingIpRanges() throws Exception {
+        List<IpRange> result = cache.getMatchingIpRanges("1.2.3.200");
+        assertEquals(1, result.size());
+        assertEquals(Long.valueOf(1), result.get(0).getId());
+        assertEquals(1, cache.getMatchingIpRanges("127.0.0.1").size());
+    }
+
+    /**
+     * @see IpRangeCache#getMatchingIpRanges(String)
+     * @verifies return empty list for null address
+     */
+    @Test
+    void getMatchingIpRanges_shouldReturnEmptyListForNullAddress() throws Exception {
+        assertTrue(cache.getMatchingIpRanges(null).isEmpty());
+    }
+
+    /**
+     * @see IpRangeCache#getMatcher()
+     * @verifies return same matcher until invalidated
+     */
+    @Test
+    void getMatcher_shouldReturnSameMatcherUntilInvalidated() throws Exception {
+        IpRangeMatcher first = cache.getMatcher();
+        assertSame(first, cache.getMatcher());
+        assertEquals(1, first.getMatchingIpRanges("1.2.3.200").size());
+        cache.invalidate();
+        assertNotSame(first, cache.getMatcher());
+    }
+
     /**
      * @see IpRangeCache#invalidate()
      * @verifies force reload on next read
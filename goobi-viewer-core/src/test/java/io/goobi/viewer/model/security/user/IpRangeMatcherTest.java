@@ -0,0 +1,171 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.controller.NetTools;
+
+class IpRangeMatcherTest {
+
+    private static IpRange createIpRange(String name, String subnetMask) {
+        IpRange ret = new IpRange();
+        ret.setName(name);
+        ret.setSubnetMask(subnetMask);
+        return ret;
+    }
+
+    /**
+     * @see IpRangeMatcher#getMatchingIpRanges(String)
+     * @verifies return all ranges containing address
+     */
+    @Test
+    void getMatchingIpRanges_shouldReturnAllRangesContainingAddress() {
+        IpRange wide = createIpRange("wide", "10.0.0.0/8");
+        IpRange narrow = createIpRange("narrow", "10.1.2.0/24");
+        IpRange single = createIpRange("single", "10.1.2.3/32");
+        IpRange other = createIpRange("other", "192.168.0.0/16");
+        IpRangeMatcher matcher = new IpRangeMatcher(Arrays.asList(wide, narrow, single, other));
+        assertEquals(Arrays.asList(wide, narrow, single), matcher.getMatchingIpRanges("10.1.2.3"));
+        assertEquals(Arrays.asList(wide, narrow), matcher.getMatchingIpRanges("10.1.2.4"));
+        assertEquals(Arrays.asList(other), matcher.getMatchingIpRanges("192.168.100.1"));
+        assertTrue(matcher.getMatchingIpRanges("11.0.0.1").isEmpty());
+    }
+
+    /**
+     * @see IpRangeMatcher#getMatchingIpRanges(String)
+     * @verifies include network and broadcast addresses
+     */
+    @Test
+    void getMatchingIpRanges_shouldIncludeNetworkAndBroadcastAddresses() {
+        IpRange ipRange = createIpRange("range", "192.168.1.10/31");
+        IpRangeMatcher matcher = new IpRangeMatcher(List.of(ipRange));
+        assertEquals(1, matcher.getMatchingIpRanges("192.168.1.10").size());
+        assertEquals(1, matcher.getMatchingIpRanges("192.168.1.11").size());
+        assertTrue(matcher.getMatchingIpRanges("192.168.1.9").isEmpty());
+        assertTrue(matcher.getMatchingIpRanges("192.168.1.12").isEmpty());
+    }
+
+    /**
+     * @see IpRangeMatcher#getMatchingIpRanges(String)
+     * @verifies match IPv6 localhost to IPv4 mask
+     */
+    @Test
+    void getMatchingIpRanges_shouldMatchIPv6LocalhostToIPv4Mask() {
+        IpRangeMatcher matcher = new IpRangeMatcher(List.of(createIpRange("localhost", "127.0.0.1/32")));
+        assertEquals(1, matcher.getMatchingIpRanges(NetTools.ADDRESS_LOCALHOST_IPV6).size());
+    }
+
+    /**
+     * @see IpRangeMatcher#getMatchingIpRanges(String)
+     * @verifies return empty list for invalid address
+     */
+    @Test
+    void getMatchingIpRanges_shouldReturnEmptyListForInvalidAddress() {
+        IpRangeMatcher matcher = new IpRangeMatcher(List.of(createIpRange("all", "0.0.0.0/0")));
+        assertEquals(1, matcher.getMatchingIpRanges("8.8.8.8").size());
+        assertTrue(matcher.getMatchingIpRanges(null).isEmpty());
+        assertTrue(matcher.getMatchingIpRanges("").isEmpty());
+        assertTrue(matcher.getMatchingIpRanges("1.2.3").isEmpty());
+        assertTrue(matcher.getMatchingIpRanges("2001:db8::1").isEmpty());
+    }
+
+    /**
+     * @see IpRangeMatcher#IpRangeMatcher(List)
+     * @verifies ignore invalid subnet masks
+     */
+    @Test
+    void getMatchingIpRanges_shouldIgnoreInvalidSubnetMasks() {
+        IpRangeMatcher matcher = new IpRangeMatcher(Arrays.asList(createIpRange("noPrefix", "10.0.0.1"), createIpRange("badPrefix", "10.0.0.0/33"),
+                createIpRange("ipv6", "2001:db8::/32"), createIpRange("null", null), createIpRange("valid", "10.0.0.0/8")));
+        assertEquals(1, matcher.size());
+        assertEquals(1, matcher.getMatchingIpRanges("10.0.0.1").size());
+    }
+
+    /**
+     * @see IpRangeMatcher#getMatchingIpRanges(String)
+     * @verifies preserve original order
+     */
+    @Test
+    void getMatchingIpRanges_shouldPreserveOriginalOrder() {
+        IpRange narrow = createIpRange("narrow", "10.1.0.0/16");
+        IpRange wide = createIpRange("wide", "10.0.0.0/8");
+        List<IpRange> result = new IpRangeMatcher(Arrays.asList(narrow, wide)).getMatchingIpRanges("10.1.1.1");
+        assertEquals(2, result.size());
+        assertSame(narrow, result.get(0));
+        assertSame(wide, result.get(1));
+    }
+
+    /**
+     * Compares the matcher against {@link IpRange#matchIp(String)} for a consortium-sized set of ranges.
+     */
+    @Test
+    void getMatchingIpRanges_shouldReturnSameRangesAsMatchIpForManyRanges() {
+        Random random = new Random(42);
+        List<IpRange> ipRanges = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            String address = (random.nextInt(4) + 10) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            ipRanges.add(createIpRange("range" + i, address + "/" + (8 + random.nextInt(25))));
+        }
+        IpRangeMatcher matcher = new IpRangeMatcher(ipRanges);
+        assertEquals(ipRanges.size(), matcher.size());
+        for (int i = 0; i < 500; ++i) {
+            String address = (random.nextInt(4) + 10) + "." + random.nextInt(256) + "." + random.nextInt(256) + "." + random.nextInt(256);
+            List<IpRange> expected = ipRanges.stream().filter(r -> r.matchIp(address)).toList();
+            assertEquals(expected, matcher.getMatchingIpRanges(address), address);
+        }
+    }
+
+    /**
+     * @see IpRangeMatcher#parseIpv4(String)
+     * @verifies parse valid addresses
+     */
+    @Test
+    void parseIpv4_shouldParseValidAddresses() {
+        assertEquals(0L, IpRangeMatcher.parseIpv4("0.0.0.0"));
+        assertEquals(0xFFFFFFFFL, IpRangeMatcher.parseIpv4("255.255.255.255"));
+        assertEquals(0x0A010203L, IpRangeMatcher.parseIpv4("10.1.2.3"));
+    }
+
+    /**
+     * @see IpRangeMatcher#parseIpv4(String)
+     * @verifies return -1 for invalid addresses
+     */
+    @Test
+    void parseIpv4_shouldReturn1ForInvalidAddresses() {
+        assertEquals(-1L, IpRangeMatcher.parseIpv4("256.0.0.1"));
+        assertEquals(-1L, IpRangeMatcher.parseIpv4("1.2.3"));
+        assertEquals(-1L, IpRangeMatcher.parseIpv4("1.2.3.4.5"));
+        assertEquals(-1L, IpRangeMatcher.parseIpv4("1..3.4"));
+        assertEquals(-1L, IpRangeMatcher.parseIpv4("0001.2.3.4"));
+        assertEquals(-1L, IpRangeMatcher.parseIpv4("a.b.c.d"));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security.user;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.AbstractDatabaseEnabledTest;
+import io.goobi.viewer.controller.DataManager;
+
+class UserEntitlementCacheTest extends AbstractDatabaseEnabledTest {
+
+    private UserEntitlementCache cache;
+
+    @BeforeEach
+    void initCache() {
+        cache = new UserEntitlementCache();
+    }
+
+    /**
+     * @see UserEntitlementCache#get(User)
+     * @verifies return same instance on second call
+     */
+    @Test
+    void get_shouldReturnSameInstanceOnSecondCall() throws Exception {
+        User user = DataManager.getInstance().getDao().getUser(2);
+        UserEntitlements first = cache.get(user);
+        Assertions.assertSame(first, cache.get(user));
+        Assertions.assertEquals(1, cache.getSize());
+    }
+
+    /**
+     * @see UserEntitlementCache#get(User)
+     * @verifies not cache unsaved user
+     */
+    @Test
+    void get_shouldNotCacheUnsavedUser() throws Exception {
+        Assertions.assertNotNull(cache.get(new User()));
+        Assertions.assertEquals(0, cache.getSize());
+    }
+
+    /**
+     * @see UserEntitlementCache#get(User)
+     * @verifies reload after invalidation
+     */
+    @Test
+    void get_shouldReloadAfterInvalidation() throws Exception {
+        User user = DataManager.getInstance().getDao().getUser(2);
+        UserEntitlements first = cache.get(user);
+        cache.invalidate();
+        Assertions.assertEquals(0, cache.getSize());
+        Assertions.assertNotSame(first, cache.get(user));
+    }
+
+    /**
+     * @see UserEntitlementCache#invalidateUser(Long)
+     * @verifies remove only given user
+     */
+    @Test
+    void invalidateUser_shouldRemoveOnlyGivenUser() throws Exception {
+        User user1 = DataManager.getInstance().getDao().getUser(1);
+        User user2 = DataManager.getInstance().getDao().getUser(2);
+        cache.get(user1);
+        UserEntitlements entitlements2 = cache.get(user2);
+        cache.invalidateUser(1L);
+        Assertions.assertEquals(1, cache.getSize());
+        Assertions.assertSame(entitlements2, cache.get(user2));
+    }
+}
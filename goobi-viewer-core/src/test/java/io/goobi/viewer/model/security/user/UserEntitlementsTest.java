@@ -0,0 +1,145 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.security.user;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.AbstractDatabaseEnabledTest;
+import io.goobi.viewer.controller.DataManager;
+import io.goobi.viewer.model.security.IPrivilegeHolder;
+import io.goobi.viewer.model.security.License;
+
+class UserEntitlementsTest extends AbstractDatabaseEnabledTest {
+
+    /**
+     * @see UserEntitlements#build(User,IDAO)
+     * @verifies load owned and member groups
+     */
+    @Test
+    void build_shouldLoadOwnedAndMemberGroups() throws Exception {
+        User user = DataManager.getInstance().getDao().getUser(1);
+        Assertions.assertNotNull(user);
+        UserEntitlements entitlements = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        Assertions.assertEquals(3, entitlements.getOwnedGroups().size());
+        List<UserGroup> memberGroups = entitlements.getMemberGroups();
+        Assertions.assertEquals(1, memberGroups.size());
+        Assertions.assertEquals(3L, memberGroups.get(0).getId());
+        Assertions.assertEquals(3, entitlements.getGroupIds().size());
+    }
+
+    /**
+     * @see UserEntitlements#build(User,IDAO)
+     * @verifies index licenses by license type name
+     */
+    @Test
+    void build_shouldIndexLicensesByLicenseTypeName() throws Exception {
+        User user = DataManager.getInstance().getDao().getUser(2);
+        Assertions.assertNotNull(user);
+        UserEntitlements entitlements = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        Assertions.assertTrue(entitlements.getAccessPermission("license type 1 name", IPrivilegeHolder.PRIV_LIST, null).isGranted());
+        Assertions.assertFalse(entitlements.getAccessPermission("license type 2 name", IPrivilegeHolder.PRIV_LIST, null).isGranted());
+    }
+
+    /**
+     * @see UserEntitlements#build(User,IDAO)
+     * @verifies return empty entitlements for unsaved user
+     */
+    @Test
+    void build_shouldReturnEmptyEntitlementsForUnsavedUser() throws Exception {
+        UserEntitlements entitlements = UserEntitlements.build(new User(), DataManager.getInstance().getDao());
+        Assertions.assertTrue(entitlements.getOwnedGroups().isEmpty());
+        Assertions.assertTrue(entitlements.getMemberGroups().isEmpty());
+        Assertions.assertFalse(entitlements.getAccessPermission("license type 1 name", IPrivilegeHolder.PRIV_LIST, null).isGranted());
+    }
+
+    /**
+     * @see UserEntitlements#getAccessPermission(String,String,String)
+     * @verifies grant privilege from user license
+     */
+    @Test
+    void getAccessPermission_shouldGrantPrivilegeFromUserLicense() throws Exception {
+        User user = DataManager.getInstance().getDao().getUser(2);
+        UserEntitlements entitlements = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        Assertions.assertTrue(entitlements.getAccessPermission("license type 1 name", IPrivilegeHolder.PRIV_LIST, "PPN123").isGranted());
+    }
+
+    /**
+     * @see UserEntitlements#getAccessPermission(String,String,String)
+     * @verifies grant privilege from group license
+     */
+    @Test
+    void getAccessPermission_shouldGrantPrivilegeFromGroupLicense() throws Exception {
+        // User 2 is a member of group 1, which holds license 4
+        User user = DataManager.getInstance().getDao().getUser(2);
+        UserEntitlements entitlements = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        Assertions.assertTrue(
+                entitlements.getAccessPermission("license type 3 name", IPrivilegeHolder.PRIV_DOWNLOAD_METADATA, "PPN123").isGranted());
+    }
+
+    /**
+     * @see UserEntitlements#getAccessPermission(String,String,String)
+     * @verifies deny privilege without license
+     */
+    @Test
+    void getAccessPermission_shouldDenyPrivilegeWithoutLicense() throws Exception {
+        User user = DataManager.getInstance().getDao().getUser(2);
+        UserEntitlements entitlements = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        Assertions.assertFalse(entitlements.getAccessPermission("license type 1 name", IPrivilegeHolder.PRIV_VIEW_IMAGES, "PPN123").isGranted());
+    }
+
+    /**
+     * @see UserEntitlements#getUserLicenses(String)
+     * @verifies return licenses of given type
+     */
+    @Test
+    void getUserLicenses_shouldReturnLicensesOfGivenType() throws Exception {
+        User user = DataManager.getInstance().getDao().getUser(2);
+        UserEntitlements entitlements = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        List<License> licenses = entitlements.getUserLicenses("license type 1 name");
+        Assertions.assertFalse(licenses.isEmpty());
+        for (License license : licenses) {
+            Assertions.assertEquals("license type 1 name", license.getLicenseType().getName());
+        }
+        Assertions.assertTrue(entitlements.getUserLicenses("no such license type").isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> licenses.add(new License()));
+    }
+
+    /**
+     * @see UserEntitlements#getMemberGroupLicenses(String)
+     * @verifies return licenses of given type
+     */
+    @Test
+    void getMemberGroupLicenses_shouldReturnLicensesOfGivenType() throws Exception {
+        // User 2 is a member of group 1, which holds license 4
+        User user = DataManager.getInstance().getDao().getUser(2);
+        UserEntitlements entitlements = UserEntitlements.build(user, DataManager.getInstance().getDao());
+        List<License> licenses = entitlements.getMemberGroupLicenses("license type 3 name");
+        Assertions.assertFalse(licenses.isEmpty());
+        for (License license : licenses) {
+            Assertions.assertEquals("license type 3 name", license.getLicenseType().getName());
+        }
+        Assertions.assertTrue(entitlements.getMemberGroupLicenses("no such license type").isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.sitemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.goobi.viewer.model.sitemap.SitemapManifest.FileEntry;
+import io.goobi.viewer.model.sitemap.SitemapManifest.Segment;
+
+class SitemapManifestTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * @see SitemapManifest#save(java.io.File)
+     * @verifies write and load manifest correctly
+     */
+    @Test
+    void save_shouldWriteAndLoadManifestCorrectly() throws Exception {
+        SitemapManifest manifest = new SitemapManifest("https://foo.bar/", "/opt/digiverso/sitemap", 123L, 4,
+                Collections.singletonList(new FileEntry("sitemap1.xml.gz", 2, 100L)),
+                Arrays.asList(new Segment(10L, 5, Collections.singletonList(new FileEntry("sitemap2.xml.gz", 20, 200L))),
+                        new Segment(20L, 7, Arrays.asList(new FileEntry("sitemap3.xml.gz", 30, 300L)))));
+        File file = tempDir.resolve("manifest").resolve(SitemapManifest.FILE_NAME).toFile();
+        manifest.save(file);
+
+        SitemapManifest loaded = SitemapManifest.load(file);
+        assertNotNull(loaded);
+        assertEquals("https://foo.bar/", loaded.getViewerRootUrl());
+        assertEquals("/opt/digiverso/sitemap", loaded.getOutputPath());
+        assertEquals(123L, loaded.getLastRun());
+        assertEquals(4, loaded.getNextFileNumber());
+        assertEquals(manifest.getAllFiles(), loaded.getAllFiles());
+        assertEquals(2, loaded.getSegments().size());
+        assertEquals(20L, loaded.getSegments().get(1).getFromCreated());
+        assertEquals(7, loaded.getSegments().get(1).getRecordCount());
+    }
+
+    /**
+     * @see SitemapManifest#findSegmentIndex(long)
+     * @verifies return correct segment index
+     */
+    @Test
+    void findSegmentIndex_shouldReturnCorrectSegmentIndex() throws Exception {
+        SitemapManifest manifest = new SitemapManifest(null, null, 0, 1, Collections.emptyList(),
+                Arrays.asList(new Segment(10L, 1, Collections.emptyList()), new Segment(20L, 1, Collections.emptyList()),
+                        new Segment(30L, 1, Collections.emptyList())));
+        assertEquals(0, manifest.findSegmentIndex(5L));
+        assertEquals(0, manifest.findSegmentIndex(19L));
+        assertEquals(1, manifest.findSegmentIndex(20L));
+        assertEquals(2, manifest.findSegmentIndex(100L));
+    }
+}
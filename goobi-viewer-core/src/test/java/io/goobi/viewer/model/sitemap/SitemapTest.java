@@ -27,12 +27,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.jdom2.Element;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -40,46 +42,44 @@ import io.goobi.viewer.AbstractDatabaseAndSolrEnabledTest;
 import io.goobi.viewer.exceptions.DAOException;
 import io.goobi.viewer.exceptions.IndexUnreachableException;
 import io.goobi.viewer.exceptions.PresentationException;
+import io.goobi.viewer.model.sitemap.SitemapManifest.Segment;
 
 class SitemapTest extends AbstractDatabaseAndSolrEnabledTest {
 
     private static final Logger logger = LogManager.getLogger(SitemapTest.class);
 
     /**
-     * @see Sitemap#createUrlElement(String,int,String,String,String,String)
+     * @see Sitemap#buildUrl(String,int,String)
      * @verifies create url correctly
      */
     @Test
-    void createUrlElement_shouldCreateUrlCorrectly() throws Exception {
+    void buildUrl_shouldCreateUrlCorrectly() throws Exception {
         Sitemap sitemap = new Sitemap();
         sitemap.setViewerRootUrl("https://foo.bar");
-        Element eleUrl = sitemap.createUrlElement("PPN123",1, null, "object",    null, null);
-        Assertions.assertNotNull(eleUrl);
-        Assertions.assertEquals("https://foo.bar/object/PPN123/1/", eleUrl.getChildText("loc", Sitemap.NS_SITEMAP));
+        Assertions.assertEquals("https://foo.bar/object/PPN123/1/", sitemap.buildUrl("PPN123", 1, "object"));
     }
 
     /**
-     * @see Sitemap#createUrlElement(String,String,String,String)
-     * @verifies create loc element correctly
+     * @see Sitemap#getSegmentQuery(String,List,int)
+     * @verifies restrict query to segment range
      */
     @Test
-    void createUrlElement_shouldCreateLocElementCorrectly() throws Exception {
-        Sitemap sitemap = new Sitemap();
-        Element eleUrl = sitemap.createUrlElement("https://foo.bar", null, null, null);
-        Assertions.assertNotNull(eleUrl);
-        Assertions.assertEquals("https://foo.bar", eleUrl.getChildText("loc", Sitemap.NS_SITEMAP));
+    void getSegmentQuery_shouldRestrictQueryToSegmentRange() throws Exception {
+        List<Segment> segments = Arrays.asList(new Segment(10, 1, Collections.emptyList()), new Segment(20, 1, Collections.emptyList()),
+                new Segment(30, 1, Collections.emptyList()));
+        Assertions.assertEquals("(PI:*) AND (DATECREATED:[* TO 20} OR (*:* -DATECREATED:*))", Sitemap.getSegmentQuery("PI:*", segments, 0));
+        Assertions.assertEquals("(PI:*) AND DATECREATED:[20 TO 30}", Sitemap.getSegmentQuery("PI:*", segments, 1));
+        Assertions.assertEquals("(PI:*) AND DATECREATED:[30 TO *]", Sitemap.getSegmentQuery("PI:*", segments, 2));
     }
 
     /**
-     * @see Sitemap#createUrlElement(String,String,String,String)
-     * @verifies create lastmod element correctly
+     * @see Sitemap#getSegmentQuery(String,List,int)
+     * @verifies include records without datecreated in first segment
      */
     @Test
-    void createUrlElement_shouldCreateLastmodElementCorrectly() throws Exception {
-        Sitemap sitemap = new Sitemap();
-        Element eleUrl = sitemap.createUrlElement("https://foo.bar", "2018-08-21", null, null);
-        Assertions.assertNotNull(eleUrl);
-        Assertions.assertEquals("2018-08-21", eleUrl.getChildText("lastmod", Sitemap.NS_SITEMAP));
+    void getSegmentQuery_shouldIncludeRecordsWithoutDatecreatedInFirstSegment() throws Exception {
+        List<Segment> segments = Collections.singletonList(new Segment(10, 1, Collections.emptyList()));
+        Assertions.assertEquals("(PI:*) AND (DATECREATED:[* TO *] OR (*:* -DATECREATED:*))", Sitemap.getSegmentQuery("PI:*", segments, 0));
     }
 
     /**
@@ -0,0 +1,81 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.sitemap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.goobi.viewer.model.sitemap.SitemapManifest.FileEntry;
+
+class SitemapWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * @see SitemapWriter#writeUrl(String,long)
+     * @verifies roll over to new file when limit reached
+     */
+    @Test
+    void writeUrl_shouldRollOverToNewFileWhenLimitReached() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        try (SitemapWriter writer = new SitemapWriter(tempDir.toFile(), () -> "sitemap" + counter.incrementAndGet() + ".xml.gz", 2)) {
+            for (int i = 0; i < 5; ++i) {
+                writer.writeUrl("https://foo.bar/" + i, 0);
+            }
+            writer.close();
+            List<FileEntry> files = writer.getWrittenFiles();
+            assertEquals(3, files.size());
+            assertEquals(2, files.get(0).urlCount());
+            assertEquals(1, files.get(2).urlCount());
+            assertEquals(5, writer.getUrlCount());
+        }
+        assertTrue(Files.isRegularFile(tempDir.resolve("sitemap3.xml.gz")));
+        assertFalse(Files.exists(tempDir.resolve("sitemap3.xml.gz.tmp")));
+    }
+
+    /**
+     * @see SitemapWriter#writeIndex(File,String,List)
+     * @verifies write index file correctly
+     */
+    @Test
+    void writeIndex_shouldWriteIndexFileCorrectly() throws Exception {
+        File indexFile = tempDir.resolve("sitemap_index.xml").toFile();
+        SitemapWriter.writeIndex(indexFile, "https://foo.bar/",
+                Arrays.asList(new FileEntry("sitemap1.xml.gz", 1, 0), new FileEntry("sitemap2.xml.gz", 1, 1534802400000L)));
+        String xml = Files.readString(indexFile.toPath(), StandardCharsets.UTF_8);
+        assertTrue(xml.contains("<loc>https://foo.bar/sitemap1.xml.gz</loc>"));
+        assertTrue(xml.contains("<loc>https://foo.bar/sitemap2.xml.gz</loc><lastmod>2018-08-2"));
+    }
+}
@@ -22,6 +22,7 @@
 package io.goobi.viewer.model.statistics.usage;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.LocalDate;
 import java.util.Random;
@@ -29,6 +30,7 @@ import java.util.Random;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 import io.goobi.viewer.AbstractDatabaseEnabledTest;
 import io.goobi.viewer.controller.DataManager;
@@ -104,6 +106,7 @@ class UsageStatisticsRecorderTest extends AbstractDatabaseEnabledTest {
 
         thread1.join();
         thread2.join();
+        recorder.flush();
         DailySessionUsageStatistics stats = dao.getUsageStatistics(date);
 
         assertEquals(55L, stats.getTotalRequestCount(RequestType.RECORD_VIEW, pi1));
@@ -168,11 +171,65 @@ class UsageStatisticsRecorderTest extends AbstractDatabaseEnabledTest {
         
         thread1.join();
         thread2.join();
+        recorder.flush();
         DailySessionUsageStatistics stats = dao.getUsageStatistics(date);
         
         assertEquals(55l, stats.getTotalRequestCount(RequestType.RECORD_VIEW, pi1));
     }
 
+    /**
+     * @see UsageStatisticsRecorder#flush()
+     * @verifies write pending request counts to database
+     */
+    @Test
+    void flush_shouldWritePendingRequestCountsToDatabase() throws DAOException {
+        String pi = "PI_FLUSH";
+        String session = "sess_flush";
+
+        UsageStatisticsRecorder recorder = new UsageStatisticsRecorder(dao, DataManager.getInstance().getConfiguration(), "viewer.goobi.io");
+        for (int i = 0; i < 3; i++) {
+            recorder.recordRequest(RequestType.RECORD_VIEW, pi, session, "", "");
+        }
+        assertEquals(3L, recorder.getPendingRequestCount());
+
+        recorder.flush();
+        assertEquals(0L, recorder.getPendingRequestCount());
+        assertEquals(3L, dao.getUsageStatistics(LocalDate.now()).getTotalRequestCount(RequestType.RECORD_VIEW, pi));
+
+        // Only the delta since the last flush must be added
+        recorder.recordRequest(RequestType.RECORD_VIEW, pi, session, "", "");
+        recorder.flush();
+        assertEquals(4L, dao.getUsageStatistics(LocalDate.now()).getTotalRequestCount(RequestType.RECORD_VIEW, pi));
+        assertEquals(4L, recorder.getFlushedRequestCount());
+    }
+
+    /**
+     * @see UsageStatisticsRecorder#flush()
+     * @verifies keep pending request counts if database update fails
+     */
+    @Test
+    void flush_shouldKeepPendingRequestCountsIfDatabaseUpdateFails() throws DAOException {
+        DailySessionUsageStatistics stats = Mockito.mock(DailySessionUsageStatistics.class);
+        Mockito.when(stats.getId()).thenReturn(1L);
+        IDAO failingDao = Mockito.mock(IDAO.class);
+        Mockito.when(failingDao.getUsageStatistics(Mockito.any(LocalDate.class))).thenReturn(stats);
+        Mockito.when(failingDao.updateUsageStatistics(stats)).thenThrow(new DAOException("database unavailable")).thenReturn(true);
+
+        UsageStatisticsRecorder recorder =
+                new UsageStatisticsRecorder(failingDao, DataManager.getInstance().getConfiguration(), "viewer.goobi.io");
+        for (int i = 0; i < 3; i++) {
+            recorder.recordRequest(RequestType.RECORD_VIEW, "PI_FAIL", "sess_fail", "", "");
+        }
+
+        assertThrows(DAOException.class, recorder::flush);
+        assertEquals(3L, recorder.getPendingRequestCount());
+        assertEquals(0L, recorder.getFlushedRequestCount());
+
+        recorder.flush();
+        assertEquals(0L, recorder.getPendingRequestCount());
+        assertEquals(3L, recorder.getFlushedRequestCount());
+    }
+
     private void wait(Random random) throws InterruptedException {
         Thread.sleep(random.nextInt(100));
     }
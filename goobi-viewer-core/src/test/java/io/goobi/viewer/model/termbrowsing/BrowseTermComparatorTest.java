@@ -21,7 +21,9 @@
  */
 package io.goobi.viewer.model.termbrowsing;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -47,6 +49,25 @@ class BrowseTermComparatorTest extends AbstractTest {
         Assertions.assertEquals(-1, comparator.compare(new BrowseTerm("12foo", null, null), new BrowseTerm("123foo", null, null)));
     }
 
+    /**
+     * @see BrowseTermComparator#sort(List)
+     * @verifies sort like compare
+     */
+    @Test
+    void sort_shouldSortLikeCompare() throws Exception {
+        List<BrowseTerm> terms = new ArrayList<>();
+        for (String term : new String[] { "foo", "bar", "Ávila", "Azcárate", "foo123", "foo12", "123foo", "12foo", "[Zebra]" }) {
+            terms.add(new BrowseTerm(term, null, null));
+        }
+        terms.add(new BrowseTerm("zzz", "aaa", null));
+        BrowseTermComparator comparator = new BrowseTermComparator(null);
+        List<BrowseTerm> expected = new ArrayList<>(terms);
+        expected.sort(comparator);
+
+        comparator.sort(terms);
+        Assertions.assertEquals(expected, terms);
+    }
+
     /**
      * @verifies use sort term if provided
      */
@@ -71,6 +71,49 @@ class TOCElementTest extends AbstractDatabaseAndSolrEnabledTest {
 
     }
 
+    /**
+     * @see TOCElement#TOCElement(TOCElement)
+     * @verifies copy structural data
+     */
+    @Test
+    void TOCElement_shouldCopyStructuralData() throws Exception {
+        TOCElement blueprint = new TOCElement(new SimpleMetadataValue("Label"), "1", "first", "123", "LOG_0001", 2, "PPN123", null, true, false,
+                true, "image", null, "footer");
+        blueprint.getMetadata().put("MD_TITLE", "Title");
+        TOCElement copy = new TOCElement(blueprint);
+        Assertions.assertEquals(blueprint, copy);
+        Assertions.assertEquals("Label", copy.getLabel("en"));
+        Assertions.assertEquals("123", copy.getIddoc());
+        Assertions.assertEquals(2, copy.getLevel());
+        Assertions.assertEquals(blueprint.getUrl(), copy.getUrl());
+        Assertions.assertTrue(copy.isAccessPermissionPdf());
+        Assertions.assertEquals("Title", copy.getMetadataValue("MD_TITLE"));
+        // Metadata map is not shared
+        copy.getMetadata().put("MD_TITLE", "Other");
+        Assertions.assertEquals("Title", blueprint.getMetadataValue("MD_TITLE"));
+    }
+
+    /**
+     * @see TOCElement#TOCElement(TOCElement)
+     * @verifies reset tree state
+     */
+    @Test
+    void TOCElement_shouldResetTreeState() throws Exception {
+        TOCElement blueprint = new TOCElement(new SimpleMetadataValue("Label"), "1", "first", "123", "LOG_0001", 2, "PPN123", null, true, false,
+                true, "image", null, null);
+        blueprint.setVisible(false);
+        blueprint.setExpanded(true);
+        blueprint.setHasChild(true);
+        blueprint.setID(5);
+        blueprint.setParentId(4);
+        TOCElement copy = new TOCElement(blueprint);
+        Assertions.assertTrue(copy.isVisible());
+        Assertions.assertFalse(copy.isExpanded());
+        Assertions.assertFalse(copy.isHasChild());
+        Assertions.assertEquals(-1, copy.getID());
+        Assertions.assertEquals(-1, copy.getParentId());
+    }
+
     /**
      * @see TOCElement#getUrl()
      * @verifies return URL containing page type, PI, page number and logId for fullscreen view
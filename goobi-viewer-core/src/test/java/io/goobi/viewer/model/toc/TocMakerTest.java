@@ -111,6 +111,26 @@ class TocMakerTest extends AbstractDatabaseAndSolrEnabledTest {
         }
     }
 
+    /**
+     * @see TocMaker#generateToc(TOC, StructElement, boolean, String, int, int)
+     * @verifies return separate element copies for each call
+     */
+    @Test
+    void generateToc_shouldReturnSeparateElementCopiesForEachCall() throws Exception {
+        String iddoc = DataManager.getInstance().getSearchIndex().getIddocFromIdentifier("306653648_1891");
+        Assertions.assertNotNull(iddoc);
+        StructElement structElement = new StructElement(iddoc);
+        List<TOCElement> first = TocMaker.generateToc(new TOC(), structElement, false, "image/tiff", 1, -1).get(StringConstants.DEFAULT_NAME);
+        first.get(1).setVisible(false);
+        first.get(1).setExpanded(true);
+        List<TOCElement> second = TocMaker.generateToc(new TOC(), structElement, false, "image/tiff", 1, -1).get(StringConstants.DEFAULT_NAME);
+        Assertions.assertEquals(first.size(), second.size());
+        Assertions.assertEquals(first.get(1), second.get(1));
+        Assertions.assertNotSame(first.get(1), second.get(1));
+        Assertions.assertTrue(second.get(1).isVisible());
+        Assertions.assertFalse(second.get(1).isExpanded());
+    }
+
     /**
      * @see TocMaker#generateToc(TOC, StructElement, boolean, String, int, int)
      * @verifies return anchor plus all child volumes when generating anchor TOC
@@ -0,0 +1,109 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.model.toc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.model.toc.TocSkeletonCache.SkeletonKey;
+import io.goobi.viewer.model.toc.TocSkeletonCache.TocSkeleton;
+
+class TocSkeletonCacheTest {
+
+    /**
+     * Elements are not inspected by the cache, so placeholders suffice.
+     */
+    private static TocSkeleton createSkeleton(int size) {
+        return new TocSkeleton(Collections.nCopies(size, (TOCElement) null), null);
+    }
+
+    /**
+     * @see TocSkeletonCache#get(SkeletonKey)
+     * @verifies return put skeleton
+     */
+    @Test
+    void get_shouldReturnPutSkeleton() {
+        TocSkeletonCache cache = new TocSkeletonCache();
+        TocSkeleton skeleton = createSkeleton(3);
+        cache.put(new SkeletonKey("123", "image", true, false), skeleton);
+        assertSame(skeleton, cache.get(new SkeletonKey("123", "image", true, false)));
+    }
+
+    /**
+     * @see TocSkeletonCache#get(SkeletonKey)
+     * @verifies return null for different key
+     */
+    @Test
+    void get_shouldReturnNullForDifferentKey() {
+        TocSkeletonCache cache = new TocSkeletonCache();
+        cache.put(new SkeletonKey("123", "image", true, false), createSkeleton(3));
+        assertNull(cache.get(new SkeletonKey("123", "image", false, false)));
+        assertNull(cache.get(new SkeletonKey("123", null, false, true)));
+    }
+
+    /**
+     * @see TocSkeletonCache#put(SkeletonKey,TocSkeleton)
+     * @verifies evict least recently used skeleton when full
+     */
+    @Test
+    void put_shouldEvictLeastRecentlyUsedSkeletonWhenFull() {
+        TocSkeletonCache cache = new TocSkeletonCache(10);
+        cache.put(new SkeletonKey("1", null, false, true), createSkeleton(4));
+        cache.put(new SkeletonKey("2", null, false, true), createSkeleton(4));
+        // Access skeleton 1 so that skeleton 2 becomes the least recently used one
+        cache.get(new SkeletonKey("1", null, false, true));
+        cache.put(new SkeletonKey("3", null, false, true), createSkeleton(4));
+        assertEquals(2, cache.getSize());
+        assertNull(cache.get(new SkeletonKey("2", null, false, true)));
+    }
+
+    /**
+     * @see TocSkeletonCache#put(SkeletonKey,TocSkeleton)
+     * @verifies not cache skeleton larger than maximum
+     */
+    @Test
+    void put_shouldNotCacheSkeletonLargerThanMaximum() {
+        TocSkeletonCache cache = new TocSkeletonCache(10);
+        cache.put(new SkeletonKey("1", null, false, true), createSkeleton(4));
+        cache.put(new SkeletonKey("2", null, false, true), createSkeleton(11));
+        assertEquals(1, cache.getSize());
+        assertNull(cache.get(new SkeletonKey("2", null, false, true)));
+    }
+
+    /**
+     * @see TocSkeletonCache#invalidate()
+     * @verifies remove all skeletons
+     */
+    @Test
+    void invalidate_shouldRemoveAllSkeletons() {
+        TocSkeletonCache cache = new TocSkeletonCache();
+        cache.put(new SkeletonKey("1", null, false, true), createSkeleton(4));
+        cache.put(new SkeletonKey("2", "image", false, false), createSkeleton(4));
+        cache.invalidate();
+        assertEquals(0, cache.getSize());
+    }
+}
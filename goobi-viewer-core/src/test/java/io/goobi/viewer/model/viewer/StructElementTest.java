@@ -266,6 +266,18 @@ class StructElementTest extends AbstractSolrEnabledTest {
         Assertions.assertThrows(IllegalArgumentException.class, () -> element.getFirstVolumeFieldValue(null));
     }
 
+    /**
+     * @see StructElement#setFirstVolume(StructElement)
+     * @verifies return seeded volume without querying index
+     */
+    @Test
+    void setFirstVolume_shouldReturnSeededVolumeWithoutQueryingIndex() throws Exception {
+        StructElement element = new StructElement();
+        StructElement volume = new StructElement();
+        element.setFirstVolume(volume);
+        Assertions.assertSame(volume, element.getFirstVolume(null));
+    }
+
     /**
      * @verifies return true if element has children
      * @see StructElement#isHasChildren()
@@ -21,17 +21,21 @@
  */
 package io.goobi.viewer.model.viewer.pageloader;
 
+import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 import jakarta.faces.model.SelectItem;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import io.goobi.viewer.AbstractTest;
+import io.goobi.viewer.AbstractSolrEnabledTest;
+import io.goobi.viewer.model.viewer.PhysicalElement;
 import io.goobi.viewer.model.viewer.StructElement;
 
-class AbstractPageLoaderTest extends AbstractTest {
+class AbstractPageLoaderTest extends AbstractSolrEnabledTest {
 
     /**
      * @verifies replace numpages placeholder with actual page count in label format
@@ -76,4 +80,27 @@ class AbstractPageLoaderTest extends AbstractTest {
         Assertions.assertEquals("1-2: one - two", si.getLabel());
         Assertions.assertEquals("1-2", si.getValue());
     }
+
+    /**
+     * @see AbstractPageLoader#loadPages(Map,Map)
+     * @verifies load requested pages of all records
+     */
+    @Test
+    void loadPages_shouldLoadRequestedPagesOfAllRecords() throws Exception {
+        Map<String, Map<Integer, PhysicalElement>> result =
+                AbstractPageLoader.loadPages(Map.of(PI_KLEIUNIV, Set.of(1, 2), "NOTFOUND", Set.of(1)), null);
+        Assertions.assertEquals(1, result.size());
+        Assertions.assertEquals(2, result.get(PI_KLEIUNIV).size());
+        Assertions.assertEquals(1, result.get(PI_KLEIUNIV).get(1).getOrder());
+        Assertions.assertEquals(PI_KLEIUNIV, result.get(PI_KLEIUNIV).get(2).getPi());
+    }
+
+    /**
+     * @see AbstractPageLoader#loadPages(Map,Map)
+     * @verifies return empty map if no pages requested
+     */
+    @Test
+    void loadPages_shouldReturnEmptyMapIfNoPagesRequested() throws Exception {
+        Assertions.assertTrue(AbstractPageLoader.loadPages(Collections.emptyMap(), null).isEmpty());
+    }
 }
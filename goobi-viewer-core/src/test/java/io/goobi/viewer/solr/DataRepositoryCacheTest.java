@@ -0,0 +1,125 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.solr;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DataRepositoryCacheTest {
+
+    /**
+     * @see DataRepositoryCache#get(String,DataRepositoryCache.Loader)
+     * @verifies return cached value without loading
+     */
+    @Test
+    void get_shouldReturnCachedValueWithoutLoading() throws Exception {
+        DataRepositoryCache cache = new DataRepositoryCache(10, 60000);
+        cache.put("PPN123", "repo1");
+        Assertions.assertEquals("repo1", cache.get("PPN123", pi -> {
+            throw new IllegalStateException("should not load");
+        }));
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(0, cache.getMisses());
+    }
+
+    /**
+     * @see DataRepositoryCache#get(String,DataRepositoryCache.Loader)
+     * @verifies cache negative entries
+     */
+    @Test
+    void get_shouldCacheNegativeEntries() throws Exception {
+        DataRepositoryCache cache = new DataRepositoryCache(10, 60000);
+        AtomicInteger loads = new AtomicInteger();
+        DataRepositoryCache.Loader loader = pi -> {
+            loads.incrementAndGet();
+            return null;
+        };
+        Assertions.assertNull(cache.get("PPN123", loader));
+        Assertions.assertNull(cache.get("PPN123", loader));
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, cache.getNegativeHits());
+    }
+
+    /**
+     * @see DataRepositoryCache#get(String,DataRepositoryCache.Loader)
+     * @verifies reload expired entries
+     */
+    @Test
+    void get_shouldReloadExpiredEntries() throws Exception {
+        DataRepositoryCache cache = new DataRepositoryCache(10, 0);
+        cache.put("PPN123", "repo1");
+        Thread.sleep(5);
+        Assertions.assertEquals("repo2", cache.get("PPN123", pi -> "repo2"));
+        Assertions.assertEquals(1, cache.getMisses());
+    }
+
+    /**
+     * @see DataRepositoryCache#get(String,DataRepositoryCache.Loader)
+     * @verifies evict least recently used entry when full
+     */
+    @Test
+    void get_shouldEvictLeastRecentlyUsedEntryWhenFull() throws Exception {
+        DataRepositoryCache cache = new DataRepositoryCache(2, 60000);
+        cache.put("PPN1", "repo1");
+        cache.put("PPN2", "repo2");
+        // Touch PPN1 so that PPN2 becomes the eldest entry
+        cache.get("PPN1", pi -> null);
+        cache.put("PPN3", "repo3");
+        Assertions.assertEquals(2, cache.getSize());
+        Assertions.assertEquals(1, cache.getEvictions());
+        Map<String, String> map = cache.asMap();
+        Assertions.assertTrue(map.containsKey("PPN1"));
+        Assertions.assertFalse(map.containsKey("PPN2"));
+        Assertions.assertTrue(map.containsKey("PPN3"));
+    }
+
+    /**
+     * @see DataRepositoryCache#getMissing(java.util.Collection)
+     * @verifies return only missing and expired identifiers
+     */
+    @Test
+    void getMissing_shouldReturnOnlyMissingAndExpiredIdentifiers() {
+        DataRepositoryCache cache = new DataRepositoryCache(10, 60000);
+        cache.put("PPN1", "repo1");
+        cache.put("PPN2", null);
+        Assertions.assertEquals(List.of("PPN3"), List.copyOf(cache.getMissing(List.of("PPN1", "PPN2", "PPN3"))));
+    }
+
+    /**
+     * @see DataRepositoryCache#getHitRate()
+     * @verifies return share of cached lookups
+     */
+    @Test
+    void getHitRate_shouldReturnShareOfCachedLookups() throws Exception {
+        DataRepositoryCache cache = new DataRepositoryCache(10, 60000);
+        Assertions.assertEquals(0, cache.getHitRate(), 0.001);
+        cache.get("PPN1", pi -> "repo1");
+        cache.get("PPN1", pi -> "repo1");
+        cache.get("PPN1", pi -> "repo1");
+        cache.get("PPN2", pi -> null);
+        Assertions.assertEquals(0.5, cache.getHitRate(), 0.001);
+    }
+}
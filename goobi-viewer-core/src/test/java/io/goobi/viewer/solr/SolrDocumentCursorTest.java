@@ -0,0 +1,91 @@
+/*
+ * This file is part of the Goobi viewer - a content presentation and management
+ * application for digitized objects.
+ *
+ * Visit these websites for more information.
+ *          - http://www.intranda.com
+ *          - http://digiverso.com
+ *
+ * This program is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation; either version 2 of the License, or (at your option) any later
+ * version.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE.
+ * See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.goobi.viewer.solr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.goobi.viewer.model.viewer.StringPair;
+
+class SolrDocumentCursorTest {
+
+    /**
+     * @see SolrDocumentCursor#buildCursorSortFields(List)
+     * @verifies append IDDOC as last sort field
+     */
+    @Test
+    void buildCursorSortFields_shouldAppendIDDOCAsLastSortField() {
+        List<StringPair> result = SolrDocumentCursor.buildCursorSortFields(Arrays.asList(new StringPair(SolrConstants.ORDER, "asc")));
+        assertEquals(2, result.size());
+        assertEquals(SolrConstants.ORDER, result.get(0).getOne());
+        assertEquals(SolrConstants.IDDOC, result.get(1).getOne());
+
+        result = SolrDocumentCursor.buildCursorSortFields(null);
+        assertEquals(2, result.size());
+        assertEquals(SolrConstants.IDDOC, result.get(1).getOne());
+    }
+
+    /**
+     * @see SolrDocumentCursor#buildCursorSortFields(List)
+     * @verifies not append IDDOC twice
+     */
+    @Test
+    void buildCursorSortFields_shouldNotAppendIDDOCTwice() {
+        List<StringPair> result = SolrDocumentCursor.buildCursorSortFields(Arrays.asList(new StringPair(SolrConstants.IDDOC, "desc")));
+        assertEquals(1, result.size());
+        assertEquals("desc", result.get(0).getTwo());
+    }
+
+    /**
+     * @see SolrDocumentCursor#buildCursorSortFields(List)
+     * @verifies replace relevance sort field with score
+     */
+    @Test
+    void buildCursorSortFields_shouldReplaceRelevanceSortFieldWithScore() {
+        List<StringPair> result = SolrDocumentCursor.buildCursorSortFields(
+                Arrays.asList(new StringPair(SolrConstants.SORT_RELEVANCE, "asc"), new StringPair(SolrConstants.DATECREATED, "asc")));
+        assertEquals(3, result.size());
+        assertEquals(SolrDocumentCursor.SORT_SCORE, result.get(0).getOne());
+        assertEquals("desc", result.get(0).getTwo());
+        assertEquals(SolrConstants.DATECREATED, result.get(1).getOne());
+        assertEquals(SolrConstants.IDDOC, result.get(2).getOne());
+    }
+
+    /**
+     * @see SolrDocumentCursor#buildCursorSortFields(List)
+     * @verifies sort by score if no sort fields given
+     */
+    @Test
+    void buildCursorSortFields_shouldSortByScoreIfNoSortFieldsGiven() {
+        List<StringPair> result = SolrDocumentCursor.buildCursorSortFields(Collections.emptyList());
+        assertEquals(2, result.size());
+        assertEquals(SolrDocumentCursor.SORT_SCORE, result.get(0).getOne());
+        assertEquals("desc", result.get(0).getTwo());
+        assertEquals(SolrConstants.IDDOC, result.get(1).getOne());
+        assertEquals("asc", result.get(1).getTwo());
+    }
+}
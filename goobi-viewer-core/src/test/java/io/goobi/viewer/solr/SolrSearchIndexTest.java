@@ -261,6 +261,36 @@ class SolrSearchIndexTest extends AbstractSolrEnabledTest {
         Assertions.assertEquals("superrepo", DataManager.getInstance().getSearchIndex().findDataRepositoryName("PPN123"));
     }
 
+    /**
+     * @see SolrSearchIndex#prefetchDataRepositoryNames(java.util.Collection)
+     * @verifies cache repository names of all given records
+     */
+    @Test
+    void prefetchDataRepositoryNames_shouldCacheRepositoryNamesOfAllGivenRecords() throws Exception {
+        SolrSearchIndex searchIndex = DataManager.getInstance().getSearchIndex();
+        searchIndex.getDataRepositoryCache().invalidate();
+        searchIndex.prefetchDataRepositoryNames(List.of(PI_KLEIUNIV, "306653648"));
+        Assertions.assertTrue(searchIndex.getDataRepositoryCache().getMissing(List.of(PI_KLEIUNIV, "306653648")).isEmpty());
+        long misses = searchIndex.getDataRepositoryCache().getMisses();
+        searchIndex.findDataRepositoryName(PI_KLEIUNIV);
+        Assertions.assertEquals(misses, searchIndex.getDataRepositoryCache().getMisses());
+    }
+
+    /**
+     * @see SolrSearchIndex#prefetchDataRepositoryNames(java.util.Collection)
+     * @verifies cache negative entries for unknown records
+     */
+    @Test
+    void prefetchDataRepositoryNames_shouldCacheNegativeEntriesForUnknownRecords() throws Exception {
+        SolrSearchIndex searchIndex = DataManager.getInstance().getSearchIndex();
+        searchIndex.getDataRepositoryCache().invalidate();
+        searchIndex.prefetchDataRepositoryNames(List.of("NOTFOUND_PI"));
+        Assertions.assertTrue(searchIndex.getDataRepositoryNames().containsKey("NOTFOUND_PI"));
+        long negativeHits = searchIndex.getDataRepositoryCache().getNegativeHits();
+        Assertions.assertNull(searchIndex.findDataRepositoryName("NOTFOUND_PI"));
+        Assertions.assertEquals(negativeHits + 1, searchIndex.getDataRepositoryCache().getNegativeHits());
+    }
+
     /**
      * @see SolrSearchIndex#updateDataRepositoryNames(String,String)
      * @verifies store repository name for given PI replacing null with new value
@@ -343,4 +373,31 @@ class SolrSearchIndexTest extends AbstractSolrEnabledTest {
         assertEquals(JSONObject.NULL, rows.get(2));
         assertEquals(JSONObject.NULL, rows.get(3));
     }
+
+    /**
+     * @see SolrSearchIndex#openCursor(String,List,List,List)
+     * @verifies iterate over all hits in batches
+     */
+    @Test
+    void openCursor_shouldIterateOverAllHitsInBatches() throws Exception {
+        String query = "+" + SolrConstants.PI_TOPSTRUCT + ":" + PI_KLEIUNIV + " +" + SolrConstants.DOCTYPE + ":" + SolrConstants.DocType.PAGE;
+        long expected = DataManager.getInstance().getSearchIndex().getHitCount(query);
+        assertTrue(expected > 5);
+
+        SolrDocumentCursor cursor = DataManager.getInstance()
+                .getSearchIndex()
+                .openCursor(query, Collections.singletonList(new StringPair(SolrConstants.ORDER, "asc")),
+                        Collections.singletonList(SolrConstants.ORDER), null, 5);
+        int count = 0;
+        int previousOrder = 0;
+        while (cursor.hasNext()) {
+            int order = (int) cursor.next().getFieldValue(SolrConstants.ORDER);
+            assertTrue(order > previousOrder);
+            previousOrder = order;
+            count++;
+        }
+        assertEquals(expected, count);
+        assertEquals(expected, cursor.getNumFound());
+        assertTrue(cursor.getBatchesFetched() > 1);
+    }
 }